@@ -51,6 +51,34 @@ CREATE TABLE IF NOT EXISTS schema_index (
         REFERENCES schema_definition(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Schema二级索引表';
 
+-- ------------------------------------------------------------
+-- schema_index_version 二级索引版本计数器
+-- ------------------------------------------------------------
+-- id=1：每次写二级索引时在同一事务内递增，行锁持有到提交，保证变更版本按提交顺序分配
+-- id=2：变更日志清理下限，由清理任务写入，水位低于它的消费方需要重新加载快照
+CREATE TABLE IF NOT EXISTS schema_index_version (
+    id TINYINT NOT NULL COMMENT '1=当前最大变更版本，2=变更日志清理下限',
+    version BIGINT NOT NULL COMMENT '版本号',
+    PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Schema二级索引版本计数器';
+
+INSERT IGNORE INTO schema_index_version (id, version) VALUES (1, 0);
+
+-- ------------------------------------------------------------
+-- schema_index_change_log 二级索引变更日志
+-- ------------------------------------------------------------
+-- 记录每次索引重写和删除，供其他服务按版本增量同步（包括索引被清空和 Schema 被物理删除）
+-- 被同一 Schema 更新版本覆盖的记录和超过保留期的记录会被定期清理
+CREATE TABLE IF NOT EXISTS schema_index_change_log (
+    version BIGINT NOT NULL COMMENT '变更版本，来自 schema_index_version',
+    schema_id VARCHAR(64) NOT NULL COMMENT 'Schema ID',
+    content_version INT NOT NULL DEFAULT 0 COMMENT 'Schema内容版本号，物理删除时为0',
+    deleted TINYINT(1) NOT NULL DEFAULT 0 COMMENT 'Schema是否已删除',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '记录时间',
+    PRIMARY KEY (version),
+    INDEX idx_schema_version (schema_id, version)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Schema二级索引变更日志';
+
 -- ============================================================
 -- 3. schema_reference 引用关系表
 -- ============================================================
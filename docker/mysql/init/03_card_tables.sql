@@ -102,3 +102,72 @@ CREATE TABLE IF NOT EXISTS biz_rule_execution_log_meta (
 --     INDEX idx_status (status),
 --     INDEX idx_trace_id (trace_id)
 -- ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='规则执行日志表';
+
+-- ============================================================
+-- 4. event_outbox 事件发件箱表
+-- ============================================================
+-- 领域事件先写入本表，再由 EventOutboxRelay 批量发送到 Kafka，发送成功后删除
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id BIGINT AUTO_INCREMENT NOT NULL COMMENT '自增主键',
+    topic VARCHAR(128) NOT NULL COMMENT 'Kafka 主题',
+    partition_key VARCHAR(128) COMMENT 'Kafka 分区键',
+    event_class VARCHAR(255) NOT NULL COMMENT '事件类全名',
+    payload_format VARCHAR(32) NOT NULL COMMENT '消息体格式（如 smile/1）',
+    payload MEDIUMBLOB NOT NULL COMMENT '编码后的消息体',
+    owner VARCHAR(64) NOT NULL COMMENT '写入实例ID',
+    claim_token VARCHAR(64) COMMENT '认领批次令牌',
+    claimed_until DATETIME(3) COMMENT '认领过期时间',
+    created_at DATETIME(3) NOT NULL COMMENT '创建时间',
+    PRIMARY KEY (id),
+    INDEX idx_owner (owner),
+    INDEX idx_created_at (created_at),
+    INDEX idx_claim_token (claim_token)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='事件发件箱表';
+
+-- 发件箱实例心跳：写入实例超过接管时间没有心跳时，其未发送的事件由其他实例接管
+CREATE TABLE IF NOT EXISTS event_outbox_owner (
+    owner VARCHAR(64) NOT NULL COMMENT '实例ID',
+    heartbeat_at DATETIME(3) NOT NULL COMMENT '最近心跳时间',
+    PRIMARY KEY (owner),
+    INDEX idx_heartbeat_at (heartbeat_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='事件发件箱实例心跳表';
+
+-- ============================================================
+-- 5. card_import_job 卡片导入任务表
+-- ============================================================
+-- 记录导入进度（按分块检查点），实例崩溃后可从检查点恢复
+CREATE TABLE IF NOT EXISTS card_import_job (
+    id VARCHAR(64) NOT NULL COMMENT '任务ID',
+    org_id VARCHAR(64) NOT NULL COMMENT '组织ID',
+    card_type_id VARCHAR(64) NOT NULL COMMENT '实体类型ID',
+    operator_id VARCHAR(64) NOT NULL COMMENT '操作人ID',
+    file_name VARCHAR(255) NOT NULL COMMENT '原始文件名',
+    file_path VARCHAR(1024) NOT NULL COMMENT '本地文件路径',
+    status VARCHAR(32) NOT NULL COMMENT '状态：PENDING/RUNNING/COMPLETED/FAILED',
+    owner VARCHAR(128) NOT NULL COMMENT '执行实例',
+    processed_rows BIGINT NOT NULL DEFAULT 0 COMMENT '已处理数据行数',
+    success_count BIGINT NOT NULL DEFAULT 0 COMMENT '成功行数',
+    failed_count BIGINT NOT NULL DEFAULT 0 COMMENT '失败行数',
+    chunk_count INT NOT NULL DEFAULT 0 COMMENT '已完成分块数',
+    pending_card_ids MEDIUMTEXT COMMENT '写入中分块预分配的卡片ID',
+    ignored_columns TEXT COMMENT '被忽略的列',
+    error_message VARCHAR(1024) COMMENT '任务失败原因',
+    created_at DATETIME(3) NOT NULL COMMENT '创建时间',
+    updated_at DATETIME(3) NOT NULL COMMENT '最近进度更新时间',
+    finished_at DATETIME(3) COMMENT '结束时间',
+    PRIMARY KEY (id),
+    INDEX idx_status (status),
+    INDEX idx_operator_id (operator_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='卡片导入任务表';
+
+-- ============================================================
+-- 6. card_import_error 卡片导入行错误表
+-- ============================================================
+CREATE TABLE IF NOT EXISTS card_import_error (
+    id BIGINT AUTO_INCREMENT NOT NULL COMMENT '自增主键',
+    job_id VARCHAR(64) NOT NULL COMMENT '任务ID',
+    row_no BIGINT NOT NULL COMMENT '文件中的行号',
+    message VARCHAR(1024) NOT NULL COMMENT '错误信息',
+    PRIMARY KEY (id),
+    INDEX idx_job_row (job_id, row_no)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='卡片导入行错误表';
@@ -25,9 +25,67 @@ CREATE TABLE IF NOT EXISTS sys_file_meta (
     size BIGINT NOT NULL COMMENT '文件大小(字节)',
     content_type VARCHAR(128) COMMENT '内容类型',
     storage_plugin VARCHAR(32) NOT NULL COMMENT '存储插件ID: local, minio, aliyun, aws-s3',
+    content_hash VARCHAR(64) COMMENT '内容 SHA-256(十六进制)，为空表示独占对象，不参与去重',
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     INDEX idx_org_id (org_id),
     INDEX idx_category (category),
     INDEX idx_operator_id (operator_id),
     INDEX idx_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文件元数据表';
+
+-- ============================================================
+-- 2. sys_upload_session 分片上传会话表
+-- ============================================================
+-- 记录可续传的分片上传，客户端中断后按会话 ID 查询已上传分片继续上传
+CREATE TABLE IF NOT EXISTS sys_upload_session (
+    id VARCHAR(36) PRIMARY KEY COMMENT '会话ID',
+    org_id VARCHAR(36) NOT NULL COMMENT '组织ID',
+    operator_id VARCHAR(36) NOT NULL COMMENT '操作者ID（当前成员ID，不是用户ID）',
+    category VARCHAR(32) NOT NULL COMMENT '文件类别',
+    original_name VARCHAR(255) NOT NULL COMMENT '原始文件名',
+    content_type VARCHAR(128) COMMENT '内容类型',
+    total_size BIGINT NOT NULL COMMENT '文件总大小(字节)',
+    part_size BIGINT NOT NULL COMMENT '分片大小(字节)，最后一个分片可以更小',
+    part_count INT NOT NULL COMMENT '分片数量',
+    object_key VARCHAR(512) NOT NULL COMMENT '对象存储Key',
+    storage_plugin VARCHAR(32) NOT NULL COMMENT '存储插件ID',
+    plugin_upload_id VARCHAR(128) NOT NULL COMMENT '存储插件返回的分片上传ID',
+    status VARCHAR(16) NOT NULL COMMENT '状态: UPLOADING, COMPLETED, ABORTED',
+    file_id VARCHAR(36) COMMENT '完成后生成的文件ID',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    expires_at TIMESTAMP NOT NULL COMMENT '过期时间',
+    INDEX idx_status_expires (status, expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='分片上传会话表';
+
+-- ============================================================
+-- 3. sys_upload_session_part 分片上传分片表
+-- ============================================================
+-- 只记录校验通过的分片，同一分片重复上传时覆盖
+CREATE TABLE IF NOT EXISTS sys_upload_session_part (
+    id VARCHAR(36) PRIMARY KEY COMMENT '分片记录ID',
+    session_id VARCHAR(36) NOT NULL COMMENT '会话ID',
+    part_number INT NOT NULL COMMENT '分片号，从1开始',
+    size BIGINT NOT NULL COMMENT '分片大小(字节)',
+    checksum VARCHAR(64) NOT NULL COMMENT '分片 SHA-256 校验和(十六进制)',
+    etag VARCHAR(128) NOT NULL COMMENT '存储插件返回的分片ETag',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '上传时间',
+    UNIQUE KEY uk_session_part (session_id, part_number)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='分片上传分片表';
+
+-- ============================================================
+-- 4. sys_file_blob 文件内容表
+-- ============================================================
+-- 同一组织内内容相同的文件共用一个存储对象，ref_count 为引用该对象的文件元数据数量，归零时删除对象
+CREATE TABLE IF NOT EXISTS sys_file_blob (
+    id VARCHAR(36) PRIMARY KEY COMMENT '内容ID',
+    org_id VARCHAR(36) NOT NULL COMMENT '组织ID',
+    storage_plugin VARCHAR(32) NOT NULL COMMENT '存储插件ID',
+    content_hash VARCHAR(64) NOT NULL COMMENT '内容 SHA-256(十六进制)',
+    object_key VARCHAR(512) NOT NULL COMMENT '对象存储Key',
+    url VARCHAR(1024) NOT NULL COMMENT '访问URL',
+    size BIGINT NOT NULL COMMENT '大小(字节)',
+    content_type VARCHAR(128) COMMENT '首次上传时的内容类型',
+    ref_count INT NOT NULL COMMENT '引用数',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    UNIQUE KEY uk_org_plugin_hash (org_id, storage_plugin, content_hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文件内容表';
@@ -11,7 +11,8 @@ CREATE TABLE IF NOT EXISTS `workflow_instance` (
     `trigger_type` VARCHAR(20) NOT NULL COMMENT '触发类型',
     `current_node_ids` JSON COMMENT '当前活跃节点ID列表',
     `context_data` JSON COMMENT '流程上下文数据',
-    `definition_snapshot` JSON COMMENT '启动时的流程定义快照',
+    `definition_snapshot` JSON COMMENT '启动时的流程定义快照（旧数据，新实例只记录 definition_hash）',
+    `definition_hash` CHAR(64) COMMENT '启动时的流程定义快照哈希，关联 workflow_definition_snapshot',
     `definition_version` INT COMMENT '启动时的流程定义版本号',
     `started_by` BIGINT COMMENT '发起人ID',
     `completed_by` BIGINT COMMENT '完成人ID',
@@ -29,6 +30,16 @@ CREATE TABLE IF NOT EXISTS `workflow_instance` (
     KEY `idx_started_by` (`started_by`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='流程实例';
 
+-- 流程定义快照表（按内容哈希去重，同一版本定义的所有实例共用一份）
+CREATE TABLE IF NOT EXISTS `workflow_definition_snapshot` (
+    `definition_hash` CHAR(64) NOT NULL COMMENT '定义 JSON 的 SHA-256',
+    `workflow_id` VARCHAR(64) NOT NULL COMMENT '工作流定义ID',
+    `definition` JSON NOT NULL COMMENT '流程定义快照',
+    `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`definition_hash`),
+    KEY `idx_workflow_id` (`workflow_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='流程定义快照';
+
 -- 节点实例表
 CREATE TABLE IF NOT EXISTS `workflow_node_instance` (
     `id` BIGINT NOT NULL COMMENT '节点实例ID',
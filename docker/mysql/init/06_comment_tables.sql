@@ -28,6 +28,7 @@ CREATE TABLE IF NOT EXISTS comment (
     INDEX idx_org_card (org_id, card_id),
     INDEX idx_card_created (card_id, created_at),
     INDEX idx_parent (parent_id),
+    INDEX idx_root (root_id),
     INDEX idx_author (org_id, author_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='评论表';
 
@@ -0,0 +1,41 @@
+package cn.planka.api.card;
+
+import cn.planka.api.card.dto.CardExportFileDTO;
+import cn.planka.api.card.request.CardExportRequest;
+import cn.planka.common.result.Result;
+import feign.Response;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+/**
+ * 卡片导出 Feign 客户端接口
+ * <p>
+ * 导出文件以流的形式返回，调用方应边读边转发 {@link Response#body()}，不要整体读入内存。
+ */
+@FeignClient(name = "card-service", contextId = "cardExportClient", path = "/api/v1/cards/export")
+public interface CardExportClient {
+
+    /**
+     * 导出卡片，响应体为 CSV / XLSX 文件流
+     *
+     * @param operatorId 操作人ID（成员卡片ID）
+     * @param request    导出请求
+     * @return 原始响应，调用方负责关闭
+     */
+    @PostMapping
+    Response export(@RequestHeader("X-Member-Card-Id") String operatorId,
+                    @RequestBody CardExportRequest request);
+
+    /**
+     * 导出卡片到对象存储
+     *
+     * @param operatorId 操作人ID（成员卡片ID）
+     * @param request    导出请求
+     * @return 导出的文件
+     */
+    @PostMapping("/oss")
+    Result<CardExportFileDTO> exportToOss(@RequestHeader("X-Member-Card-Id") String operatorId,
+                                          @RequestBody CardExportRequest request);
+}
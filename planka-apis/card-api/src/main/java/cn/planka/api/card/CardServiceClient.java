@@ -146,6 +146,19 @@ public interface CardServiceClient {
     Result<PageResult<CardDTO>> pageQuery(@RequestHeader("X-Member-Card-Id") String operatorId,
                                           @RequestBody CardPageQueryRequest request);
 
+    /**
+     * 卡片联想搜索
+     * <p>
+     * 按标题或编号匹配活跃卡片，用于选择器输入即搜索的场景
+     *
+     * @param operatorId 操作人ID（成员卡片ID）
+     * @param request 联想搜索请求
+     * @return 分页结果（卡片只包含ID、实体类型和标题）
+     */
+    @PostMapping("/typeahead")
+    Result<PageResult<CardDTO>> typeahead(@RequestHeader("X-Member-Card-Id") String operatorId,
+                                          @RequestBody CardTypeaheadRequest request);
+
     /**
      * 查询卡片ID列表
      *
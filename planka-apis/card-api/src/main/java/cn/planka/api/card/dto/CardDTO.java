@@ -15,6 +15,8 @@ import java.util.*;
 
 /**
  * 统一的卡片表示（DTO形态）。
+ * <p>
+ * 便捷方法统一通过 getter 读取属性，子类可以按需延迟加载属性值。
  */
 @Getter
 @Setter
@@ -142,11 +144,9 @@ public class CardDTO {
         for (String linkFieldId : path.linkNodes()) {
             List<CardDTO> nextLevel = new ArrayList<>();
             for (CardDTO current : currentLevel) {
-                if (current.linkedCards != null) {
-                    Set<CardDTO> linked = current.linkedCards.get(linkFieldId);
-                    if (linked != null) {
-                        nextLevel.addAll(linked);
-                    }
+                Set<CardDTO> linked = current.getLinkedCards(linkFieldId);
+                if (linked != null) {
+                    nextLevel.addAll(linked);
                 }
             }
             if (nextLevel.isEmpty()) {
@@ -158,10 +158,11 @@ public class CardDTO {
     }
 
     public FieldValue<?> getFieldValue(String fieldId) {
-        if (fieldValues == null || fieldId == null) {
+        Map<String, FieldValue<?>> values = getFieldValues();
+        if (values == null || fieldId == null) {
             return null;
         }
-        return fieldValues.get(fieldId);
+        return values.get(fieldId);
     }
 
     /**
@@ -171,9 +172,10 @@ public class CardDTO {
      * @return 关联卡片集合，如果不存在返回 null
      */
     public Set<CardDTO> getLinkedCards(String linkFieldId) {
-        if (linkedCards == null || linkFieldId == null) {
+        Map<String, Set<CardDTO>> links = getLinkedCards();
+        if (links == null || linkFieldId == null) {
             return null;
         }
-        return linkedCards.get(linkFieldId);
+        return links.get(linkFieldId);
     }
 }
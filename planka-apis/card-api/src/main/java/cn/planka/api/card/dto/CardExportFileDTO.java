@@ -0,0 +1,24 @@
+package cn.planka.api.card.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 导出到对象存储的文件
+ */
+@Getter
+@Setter
+public class CardExportFileDTO {
+
+    /** 对象存储中的对象键 */
+    private String objectKey;
+
+    /** 文件名 */
+    private String fileName;
+
+    /** 导出的卡片数 */
+    private long rowCount;
+
+    /** 文件大小（字节） */
+    private long size;
+}
@@ -0,0 +1,54 @@
+package cn.planka.api.card.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 卡片导入任务DTO
+ */
+@Getter
+@Setter
+public class CardImportJobDTO {
+
+    /** 任务ID */
+    private String id;
+
+    /** 实体类型ID */
+    private String cardTypeId;
+
+    /** 原始文件名 */
+    private String fileName;
+
+    /** 任务状态：PENDING/RUNNING/COMPLETED/FAILED */
+    private String status;
+
+    /** 已处理的数据行数 */
+    private long processedRows;
+
+    /** 成功导入的行数 */
+    private long successCount;
+
+    /** 失败的行数 */
+    private long failedCount;
+
+    /** 已完成的分块数 */
+    private int chunkCount;
+
+    /** 未匹配到属性而被忽略的列 */
+    private List<String> ignoredColumns;
+
+    /** 任务失败原因 */
+    private String errorMessage;
+
+    /** 创建时间 */
+    private LocalDateTime createdAt;
+
+    /** 最近进度更新时间 */
+    private LocalDateTime updatedAt;
+
+    /** 结束时间 */
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,24 @@
+package cn.planka.api.card.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 卡片导出列
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardExportColumn {
+
+    /**
+     * 属性ID：title、description、内置属性（$ 开头）、自定义属性ID或关联属性ID
+     */
+    private String fieldId;
+
+    /**
+     * 表头，为空时使用属性名称
+     */
+    private String title;
+}
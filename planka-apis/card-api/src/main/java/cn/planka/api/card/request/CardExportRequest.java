@@ -0,0 +1,43 @@
+package cn.planka.api.card.request;
+
+import cn.planka.domain.schema.definition.condition.Condition;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 卡片导出请求
+ */
+@Data
+public class CardExportRequest {
+
+    /**
+     * 查询上下文
+     */
+    private QueryContext queryContext;
+
+    /**
+     * 查询范围
+     */
+    private QueryScope queryScope;
+
+    /**
+     * 查询条件
+     */
+    private Condition condition;
+
+    /**
+     * 导出的列，按顺序输出
+     */
+    private List<CardExportColumn> columns;
+
+    /**
+     * 文件格式：CSV / XLSX，默认 CSV
+     */
+    private String format;
+
+    /**
+     * 文件名（不含扩展名），为空时使用默认文件名
+     */
+    private String fileName;
+}
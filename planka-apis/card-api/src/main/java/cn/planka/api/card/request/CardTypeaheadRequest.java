@@ -0,0 +1,52 @@
+package cn.planka.api.card.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 卡片联想搜索请求
+ * <p>
+ * 用于成员选择器、关联卡片选择器等输入即搜索的场景，按标题或编号匹配活跃卡片
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardTypeaheadRequest {
+
+    /**
+     * 组织ID
+     */
+    @NotBlank(message = "组织ID不能为空")
+    private String orgId;
+
+    /**
+     * 实体类型ID列表
+     */
+    @NotEmpty(message = "实体类型不能为空")
+    private List<String> cardTypeIds;
+
+    /**
+     * 搜索关键词（匹配标题或编号）
+     */
+    @NotBlank(message = "搜索关键词不能为空")
+    private String keyword;
+
+    /**
+     * 页码（从 0 开始）
+     */
+    @Builder.Default
+    private Integer page = 0;
+
+    /**
+     * 每页大小
+     */
+    @Builder.Default
+    private Integer size = 20;
+}
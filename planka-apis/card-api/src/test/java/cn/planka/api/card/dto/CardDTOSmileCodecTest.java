@@ -0,0 +1,108 @@
+package cn.planka.api.card.dto;
+
+import cn.planka.common.feign.InternalSmileCodec;
+import cn.planka.common.feign.InternalSmileDecoder;
+import cn.planka.common.result.PageResult;
+import cn.planka.common.result.Result;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import cn.planka.domain.field.FieldValue;
+import cn.planka.domain.field.TextFieldValue;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CardDTO Smile 编解码")
+class CardDTOSmileCodecTest {
+
+    private static final Type PAGE_TYPE = new ParameterizedTypeReference<Result<PageResult<CardDTO>>>() {
+    }.getType();
+
+    private final ObjectMapper jsonMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static CardDTO card(int index) {
+        CardDTO card = new CardDTO();
+        card.setId(CardId.of(String.valueOf(1000 + index)));
+        card.setOrgId(OrgId.of("org-1"));
+        card.setTypeId(CardTypeId.of("type-a"));
+        card.setCodeInOrg(index);
+        card.setTitle(CardTitle.pure("卡片" + index));
+        card.setCreatedAt(LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(index));
+        Map<String, FieldValue<?>> fieldValues = new HashMap<>();
+        fieldValues.put("f1", new TextFieldValue("f1", "值" + index));
+        fieldValues.put("f2", new TextFieldValue("f2", "another value " + index));
+        card.setFieldValues(fieldValues);
+        return card;
+    }
+
+    private static Result<PageResult<CardDTO>> page(int size) {
+        List<CardDTO> cards = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            cards.add(card(i));
+        }
+        CardDTO parent = cards.get(0);
+        parent.setLinkedCards(Map.of("lt-1:SOURCE", Set.of(card(size))));
+        return Result.success(PageResult.of(cards, 1, size, 500));
+    }
+
+    private static Response response(String contentType, byte[] body) {
+        Request request = Request.create(Request.HttpMethod.POST, "http://card-service/api/v1/cards/page-query",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of("Content-Type", List.of(contentType)))
+                .body(body)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Smile 响应解码后与原数据一致，且体积小于 JSON")
+    void shouldRoundTripPageThroughSmile() throws Exception {
+        Result<PageResult<CardDTO>> original = page(100);
+        byte[] smile = InternalSmileCodec.createMapper(jsonMapper).writeValueAsBytes(original);
+        byte[] json = jsonMapper.writeValueAsBytes(original);
+
+        InternalSmileDecoder decoder = new InternalSmileDecoder((response, type) -> {
+            throw new AssertionError("Smile 响应不应交给 JSON 解码器");
+        }, jsonMapper);
+        Object decoded = decoder.decode(response(InternalSmileCodec.MEDIA_TYPE, smile), PAGE_TYPE);
+
+        assertThat(jsonMapper.readTree(jsonMapper.writeValueAsBytes(decoded)))
+                .isEqualTo(jsonMapper.readTree(json));
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("非 Smile 响应交给被包装的解码器")
+    void shouldDelegateNonSmileResponse() throws Exception {
+        Object marker = new Object();
+        InternalSmileDecoder decoder = new InternalSmileDecoder((response, type) -> marker, jsonMapper);
+
+        Object decoded = decoder.decode(response("application/json;charset=UTF-8", "{}".getBytes()), PAGE_TYPE);
+
+        assertThat(decoded).isSameAs(marker);
+    }
+}
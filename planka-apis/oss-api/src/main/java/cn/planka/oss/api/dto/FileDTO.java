@@ -36,5 +36,10 @@ public class FileDTO {
 
     private String contentType;
 
+    /**
+     * 缩略图 URL，仅支持生成缩略图的图片有值，可追加 size 参数选择尺寸
+     */
+    private String thumbnailUrl;
+
     private LocalDateTime createdAt;
 }
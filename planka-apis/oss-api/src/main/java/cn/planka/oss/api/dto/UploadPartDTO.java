@@ -0,0 +1,28 @@
+package cn.planka.oss.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 已上传分片 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadPartDTO {
+
+    /**
+     * 分片号，从 1 开始
+     */
+    private int partNumber;
+
+    private long size;
+
+    /**
+     * 分片 SHA-256 校验和（十六进制）
+     */
+    private String checksum;
+}
@@ -0,0 +1,43 @@
+package cn.planka.oss.api.dto;
+
+import cn.planka.oss.plugin.FileCategory;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 创建分片上传会话请求
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionCreateRequest {
+
+    @NotBlank
+    private String orgId;
+
+    /**
+     * 操作者 ID（当前用户在当前组织对应的成员卡 ID，即当前成员 ID，不是用户 ID）
+     */
+    @NotBlank
+    private String operatorId;
+
+    @NotNull
+    private FileCategory category;
+
+    @NotBlank
+    private String fileName;
+
+    private String contentType;
+
+    /**
+     * 文件总大小（字节）
+     */
+    @Positive
+    private long size;
+}
@@ -0,0 +1,51 @@
+package cn.planka.oss.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 分片上传会话 DTO
+ * <p>
+ * 客户端按 partSize 切分文件，续传时只需上传 uploadedParts 中缺少的分片。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDTO {
+
+    private String sessionId;
+
+    private String fileName;
+
+    /**
+     * 文件总大小（字节）
+     */
+    private long size;
+
+    /**
+     * 分片大小（字节），最后一个分片可以更小
+     */
+    private long partSize;
+
+    private int partCount;
+
+    private UploadSessionStatus status;
+
+    /**
+     * 已上传并校验通过的分片
+     */
+    private List<UploadPartDTO> uploadedParts;
+
+    /**
+     * 完成后生成的文件 ID
+     */
+    private String fileId;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,22 @@
+package cn.planka.oss.api.dto;
+
+/**
+ * 分片上传会话状态
+ */
+public enum UploadSessionStatus {
+
+    /**
+     * 上传中
+     */
+    UPLOADING,
+
+    /**
+     * 已完成
+     */
+    COMPLETED,
+
+    /**
+     * 已取消或已过期
+     */
+    ABORTED
+}
@@ -1,8 +1,10 @@
 package cn.planka.api.schema;
 
+import cn.planka.api.schema.dto.SecondaryIndexPageDTO;
 import cn.planka.common.result.Result;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.Map;
 import java.util.Set;
@@ -10,7 +12,8 @@ import java.util.Set;
 /**
  * 二级索引查询客户端
  * <p>
- * 用于服务启动时加载全量二级索引数据到本地内存。
+ * 用于服务启动时加载二级索引数据到本地内存：
+ * 先按高水位分页拉取快照，再从高水位开始增量补齐，之后由 Schema 事件维护。
  */
 @FeignClient(name = "schema-service", contextId = "secondaryIndexQueryClient")
 public interface SecondaryIndexQueryClient {
@@ -23,7 +26,45 @@ public interface SecondaryIndexQueryClient {
      * 例如: {"CARD_TYPE": {"cardTypeId1": ["fieldDefId1", "fieldDefId2"]}}
      *
      * @return 全量二级索引映射
+     * @deprecated 数据量随 Schema 总数线性增长，使用 {@link #getSnapshotPage} + {@link #getChangesSince} 替代
      */
+    @Deprecated
     @GetMapping("/api/v1/schemas/secondary-index/all")
     Result<Map<String, Map<String, Set<String>>>> getAllSecondaryIndexes();
+
+    /**
+     * 分页获取二级索引快照
+     *
+     * @param cursor        上一页返回的游标，首页传 null
+     * @param highWaterMark 首页返回的高水位，首页传 null 由服务端生成
+     * @param limit         每页 Schema 数量
+     * @return 快照分页
+     */
+    @GetMapping("/api/v1/schemas/secondary-index/snapshot")
+    Result<SecondaryIndexPageDTO> getSnapshotPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "highWaterMark", required = false) Long highWaterMark,
+            @RequestParam("limit") int limit);
+
+    /**
+     * 获取高水位之后发生变更的 Schema 的索引行
+     *
+     * @param sinceWaterMark 水位（不含）
+     * @param limit          最多返回的 Schema 数量
+     * @return 增量分页，highWaterMark 为本页覆盖到的水位
+     */
+    @GetMapping("/api/v1/schemas/secondary-index/changes")
+    Result<SecondaryIndexPageDTO> getChangesSince(
+            @RequestParam("sinceWaterMark") long sinceWaterMark,
+            @RequestParam("limit") int limit);
+
+    /**
+     * 按索引键查询 Schema ID 集合
+     * <p>
+     * 本地索引尚未预热完成时使用。
+     */
+    @GetMapping("/api/v1/schemas/secondary-index/lookup")
+    Result<Set<String>> getSchemaIds(
+            @RequestParam("indexType") String indexType,
+            @RequestParam("indexKey") String indexKey);
 }
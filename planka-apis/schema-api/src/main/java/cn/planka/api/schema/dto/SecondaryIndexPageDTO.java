@@ -0,0 +1,36 @@
+package cn.planka.api.schema.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 二级索引分页 DTO
+ * <p>
+ * 用于分页快照和增量同步：
+ * <ul>
+ *   <li>快照：按 schemaId 游标分页，同一 Schema 的索引行不会跨页；首页返回读取前的变更版本作为高水位</li>
+ *   <li>增量：返回变更版本大于指定水位的 Schema（含索引清空和物理删除），用于补齐快照期间的变更</li>
+ * </ul>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SecondaryIndexPageDTO {
+
+    /** 高水位（二级索引变更日志版本），后续分页和增量同步以此为准 */
+    private long highWaterMark;
+
+    /** 下一页游标（快照为 schemaId），无更多数据时为 null */
+    private String nextCursor;
+
+    /** 是否还有更多数据 */
+    private boolean hasMore;
+
+    /** 本页索引行 */
+    private List<SecondaryIndexRowDTO> rows;
+}
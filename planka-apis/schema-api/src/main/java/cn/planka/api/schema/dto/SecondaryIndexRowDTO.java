@@ -0,0 +1,35 @@
+package cn.planka.api.schema.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 二级索引行 DTO
+ * <p>
+ * 对应 schema_index 表的一行，并附带所属 Schema 的内容版本号和删除状态，
+ * 供消费方按版本合并快照与增量事件。
+ * 增量同步中 Schema 已无索引时返回墓碑行：indexType 和 indexKey 均为 null。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SecondaryIndexRowDTO {
+
+    /** Schema ID */
+    private String schemaId;
+
+    /** 索引类型（如 "CARD_TYPE"），墓碑行为 null */
+    private String indexType;
+
+    /** 索引值（如 cardTypeId） */
+    private String indexKey;
+
+    /** 所属 Schema 的内容版本号 */
+    private int contentVersion;
+
+    /** 所属 Schema 是否已删除（仅增量同步时返回） */
+    private boolean deleted;
+}
@@ -16,6 +16,8 @@ import org.springframework.stereotype.Component;
  * <p>
  * 监听 Schema 变更事件，实现缓存失效。
  * <p>
+ * 事件只携带 Schema 标识、版本号和二级索引键，完整定义在需要时通过 SchemaCacheService 按需加载。
+ * <p>
  * 使用两个不同的 Kafka consumer group：
  * - L1 失效：每个服务实例独立 group，确保所有实例都清除本地缓存
  * - L2 失效：所有实例共享同一 group，只有一个实例清除 Redis 缓存
@@ -50,15 +52,25 @@ public class SchemaCacheEventListener {
         }
 
         // 缓存失效（仅 Update/Delete 需要）
-        if (shouldEvict(event)) {
-            String schemaId = event.getSchemaId();
+        String schemaId = event.getSchemaId();
+        if (event instanceof SchemaUpdatedEvent) {
+            log.debug("L1 eviction: schemaId={}, type={}, version={}",
+                    schemaId, event.getSchemaType(), event.getContentVersion());
+            schemaCacheService.evictL1IfStale(schemaId, event.getContentVersion());
+        } else if (event instanceof SchemaDeletedEvent) {
             log.debug("L1 eviction: schemaId={}, type={}", schemaId, event.getSchemaType());
             schemaCacheService.evictL1(schemaId);
         }
 
         // 更新二级索引（Created/Updated/Deleted 都需要）
         if (shouldUpdateIndex(event)) {
-            secondaryIndexCache.updateIndex(event);
+            if (event.getSecondaryKeys() == null && !(event instanceof SchemaDeletedEvent)) {
+                // 旧格式事件未携带索引键，按需加载定义后重建索引
+                schemaCacheService.getById(schemaId)
+                        .ifPresent(def -> secondaryIndexCache.reindex(schemaId, event.getContentVersion(), def.secondKeys()));
+            } else {
+                secondaryIndexCache.updateIndex(event);
+            }
         }
     }
 
@@ -103,10 +115,14 @@ public class SchemaCacheEventListener {
 
     /**
      * 判断是否需要更新二级索引
+     * <p>
+     * 更新事件声明二级索引键未变化时跳过。
      */
     private boolean shouldUpdateIndex(SchemaEvent event) {
+        if (event instanceof SchemaUpdatedEvent updatedEvent) {
+            return updatedEvent.isSecondaryKeysChanged() || updatedEvent.getSecondaryKeys() == null;
+        }
         return event instanceof SchemaCreatedEvent
-                || event instanceof SchemaUpdatedEvent
                 || event instanceof SchemaDeletedEvent;
     }
 }
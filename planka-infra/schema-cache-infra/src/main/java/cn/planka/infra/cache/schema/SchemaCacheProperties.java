@@ -26,6 +26,11 @@ public class SchemaCacheProperties {
      */
     private L2Properties l2 = new L2Properties();
 
+    /**
+     * 二级索引缓存配置
+     */
+    private IndexProperties index = new IndexProperties();
+
     /**
      * L1 Caffeine 缓存配置
      */
@@ -59,4 +64,28 @@ public class SchemaCacheProperties {
          */
         private String keyPrefix = "schema:def:";
     }
+
+    /**
+     * 二级索引缓存配置
+     */
+    @Getter
+    @Setter
+    public static class IndexProperties {
+        /**
+         * 启动时是否阻塞等待索引加载完成
+         * <p>
+         * 设为 false 时在后台线程加载，加载完成前的查询按需回源 schema-service。
+         */
+        private boolean blockingBootstrap = true;
+
+        /**
+         * 快照和增量同步的分页大小（按 Schema 数量计）
+         */
+        private int pageSize = 2000;
+
+        /**
+         * 加载失败后的重试间隔
+         */
+        private Duration retryInterval = Duration.ofSeconds(5);
+    }
 }
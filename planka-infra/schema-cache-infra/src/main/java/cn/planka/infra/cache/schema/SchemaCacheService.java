@@ -44,6 +44,17 @@ public interface SchemaCacheService {
      */
     void evictL1(String schemaId);
 
+    /**
+     * 按版本失效指定 Schema 的 L1 本地缓存
+     * <p>
+     * 本地缓存的内容版本号已不低于 contentVersion 时保留缓存（如事件重复投递或已被按需加载刷新），
+     * 否则清除，下次访问时按需重新加载。
+     *
+     * @param schemaId       Schema ID
+     * @param contentVersion 事件中的内容版本号
+     */
+    void evictL1IfStale(String schemaId, int contentVersion);
+
     /**
      * 失效指定 Schema 的 L2 Redis 缓存
      * <p>
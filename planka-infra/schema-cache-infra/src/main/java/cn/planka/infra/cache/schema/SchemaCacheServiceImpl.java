@@ -4,6 +4,7 @@ import cn.planka.api.schema.SchemaServiceClient;
 import cn.planka.common.result.Result;
 import cn.planka.domain.schema.SchemaId;
 import cn.planka.domain.schema.SchemaType;
+import cn.planka.domain.schema.definition.AbstractSchemaDefinition;
 import cn.planka.domain.schema.definition.SchemaDefinition;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -190,6 +191,21 @@ public class SchemaCacheServiceImpl implements SchemaCacheService {
         log.debug("L1 cache evicted: schemaId={}", schemaId);
     }
 
+    @Override
+    public void evictL1IfStale(String schemaId, int contentVersion) {
+        if (schemaId == null || schemaId.isBlank()) {
+            return;
+        }
+        SchemaDefinition<?> cached = l1Cache.getIfPresent(schemaId);
+        if (cached instanceof AbstractSchemaDefinition<?> def
+                && contentVersion > 0
+                && def.getContentVersion() >= contentVersion) {
+            log.debug("L1 cache up to date, skip eviction: schemaId={}, version={}", schemaId, contentVersion);
+            return;
+        }
+        evictL1(schemaId);
+    }
+
     @Override
     public void evictL2(String schemaId) {
         if (schemaId == null || schemaId.isBlank()) {
@@ -1,116 +1,129 @@
 package cn.planka.infra.cache.schema;
 
 import cn.planka.api.schema.SecondaryIndexQueryClient;
+import cn.planka.api.schema.dto.SecondaryIndexPageDTO;
+import cn.planka.api.schema.dto.SecondaryIndexRowDTO;
 import cn.planka.common.result.Result;
-import cn.planka.domain.schema.definition.SchemaDefinition;
-import cn.planka.event.schema.SchemaCreatedEvent;
+import cn.planka.domain.schema.SchemaId;
 import cn.planka.event.schema.SchemaDeletedEvent;
 import cn.planka.event.schema.SchemaEvent;
-import cn.planka.event.schema.SchemaUpdatedEvent;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cn.planka.event.schema.SchemaIndexKey;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import java.util.HashSet;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Schema 二级索引缓存
  * <p>
  * 维护 Schema 二级索引的本地内存缓存：
- * - 启动时从 schema-service 加载全量索引
- * - 运行时通过 Kafka 事件增量更新
+ * - 启动时按高水位分页加载快照，再从高水位开始增量补齐快照期间的变更
+ * - 运行时通过 Kafka 事件增量更新（事件直接携带二级索引键，无需解析 Schema 内容）
+ * - 可配置为非阻塞启动，预热完成前的查询按需回源 schema-service
  * <p>
- * 索引结构: indexType -> (indexKey -> Set<schemaId>)
+ * 索引结构: indexType -> (indexKey -> 有序 schemaId 数组)
  * 例如: {"CARD_TYPE": {"cardTypeId1": ["fieldDefId1", "fieldDefId2"]}}
  * <p>
+ * 版本合并：每个 Schema 记录其内容版本号，快照只覆盖更旧的版本，
+ * 因此快照与事件的到达顺序不影响最终结果。
+ * <p>
  * 线程安全：
- * - 使用 ConcurrentHashMap 的原子操作保证并发安全
- * - 使用 CopyOnWriteArrayList 避免遍历时的 ConcurrentModificationException
+ * - 使用 ConcurrentHashMap.compute 原子操作保证并发安全
+ * - schemaId 数组写时复制，读取方拿到的数组不会再被修改
+ * <p>
+ * 内存：ID 字符串统一 intern，索引值使用数组而非每个键一个并发 Set。
  */
 @Slf4j
 @Component
 public class SecondaryIndexCache {
 
-    /** 内存索引: indexType -> (indexKey -> Set<schemaId>) */
-    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Set<String>>> indexMap = new ConcurrentHashMap<>();
+    private static final String[] NO_IDS = new String[0];
+    private static final IndexEntry[] NO_ENTRIES = new IndexEntry[0];
 
-    /** 反向索引: schemaId -> List<IndexEntry>，用于快速删除 */
-    private final ConcurrentHashMap<String, CopyOnWriteArrayList<IndexEntry>> reverseIndex = new ConcurrentHashMap<>();
+    /** 内存索引: indexType -> (indexKey -> 有序 schemaId 数组) */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String[]>> indexMap = new ConcurrentHashMap<>();
+
+    /** 反向索引: schemaId -> 索引状态（版本号 + 索引条目），用于快速删除和版本合并 */
+    private final ConcurrentHashMap<String, SchemaIndexState> reverseIndex = new ConcurrentHashMap<>();
 
     private final SecondaryIndexQueryClient indexQueryClient;
-    private final ObjectMapper objectMapper;
+    private final SchemaCacheProperties.IndexProperties properties;
+
+    /** 快照与增量补齐是否已完成 */
+    private volatile boolean warm;
 
-    public SecondaryIndexCache(SecondaryIndexQueryClient indexQueryClient, ObjectMapper objectMapper) {
+    /** 已同步到的索引高水位 */
+    private volatile long highWaterMark;
+
+    public SecondaryIndexCache(SecondaryIndexQueryClient indexQueryClient, SchemaCacheProperties properties) {
         this.indexQueryClient = indexQueryClient;
-        this.objectMapper = objectMapper;
+        this.properties = properties.getIndex();
     }
 
     @PostConstruct
     public void init() {
-        loadAllIndexesWithRetry();
+        if (properties.isBlockingBootstrap()) {
+            bootstrapWithRetry();
+            return;
+        }
+        Thread bootstrapThread = new Thread(this::bootstrapWithRetry, "secondary-index-bootstrap");
+        bootstrapThread.setDaemon(true);
+        bootstrapThread.start();
+        log.info("Secondary index bootstrap started in background, lookups fall back to schema-service until warm");
+    }
+
+    /**
+     * 应用就绪后（Kafka 监听器已启动）再从高水位补齐一次，覆盖快照结束到监听器启动之间的变更
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!warm) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (Exception e) {
+            log.warn("Secondary index catch-up after startup failed: {}", e.getMessage());
+        }
     }
 
     /**
-     * 启动时加载全量索引，失败时每隔 5 秒重试
+     * 加载快照并增量补齐，失败时按配置间隔重试
      */
-    private void loadAllIndexesWithRetry() {
+    private void bootstrapWithRetry() {
         int attempt = 0;
         while (true) {
             attempt++;
             try {
-                log.info("Loading all secondary indexes from schema-service (attempt {})...", attempt);
-                Result<Map<String, Map<String, Set<String>>>> result = indexQueryClient.getAllSecondaryIndexes();
-
-                if (result.isSuccess() && result.getData() != null) {
-                    Map<String, Map<String, Set<String>>> data = result.getData();
-
-                    // 清空现有索引
-                    indexMap.clear();
-                    reverseIndex.clear();
-
-                    // 加载新索引
-                    for (Map.Entry<String, Map<String, Set<String>>> typeEntry : data.entrySet()) {
-                        String indexType = typeEntry.getKey();
-                        ConcurrentHashMap<String, Set<String>> keyMap = new ConcurrentHashMap<>();
-
-                        for (Map.Entry<String, Set<String>> keyEntry : typeEntry.getValue().entrySet()) {
-                            String indexKey = keyEntry.getKey();
-                            Set<String> schemaIds = ConcurrentHashMap.newKeySet();
-                            schemaIds.addAll(keyEntry.getValue());
-                            keyMap.put(indexKey, schemaIds);
-
-                            // 构建反向索引
-                            for (String schemaId : keyEntry.getValue()) {
-                                reverseIndex
-                                        .computeIfAbsent(schemaId, k -> new CopyOnWriteArrayList<>())
-                                        .add(new IndexEntry(indexType, indexKey));
-                            }
-                        }
-
-                        indexMap.put(indexType, keyMap);
-                    }
-
-                    int totalEntries = reverseIndex.size();
-                    log.info("Successfully loaded secondary indexes: {} schema entries, {} index types",
-                            totalEntries, indexMap.size());
-                    return; // 加载成功，退出重试循环
-                } else {
-                    log.warn("Failed to load secondary indexes (attempt {}): {}", attempt, result.getMessage());
-                }
+                log.info("Loading secondary index snapshot from schema-service (attempt {})...", attempt);
+                long start = System.currentTimeMillis();
+                loadSnapshot();
+                catchUp();
+                warm = true;
+                purgeTombstones();
+                log.info("Successfully loaded secondary indexes: {} schema entries, {} index types, highWaterMark={}, {}ms",
+                        reverseIndex.size(), indexMap.size(), highWaterMark, System.currentTimeMillis() - start);
+                return;
             } catch (Exception e) {
                 log.error("Error loading secondary indexes (attempt {}): {}", attempt, e.getMessage());
             }
 
-            // 等待 5 秒后重试
             try {
-                log.info("Retrying in 5 seconds...");
-                Thread.sleep(5000);
+                log.info("Retrying in {} ms...", properties.getRetryInterval().toMillis());
+                Thread.sleep(properties.getRetryInterval().toMillis());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 log.error("Index loading interrupted, stopping retry", e);
@@ -119,157 +132,226 @@ public class SecondaryIndexCache {
         }
     }
 
+    /**
+     * 按 schemaId 游标分页加载截止于同一高水位的快照
+     */
+    private void loadSnapshot() {
+        String cursor = null;
+        Long snapshotWaterMark = null;
+        SecondaryIndexPageDTO page;
+        do {
+            page = requirePage(indexQueryClient.getSnapshotPage(cursor, snapshotWaterMark, properties.getPageSize()));
+            snapshotWaterMark = page.getHighWaterMark();
+            applyRows(page.getRows(), true);
+            cursor = page.getNextCursor();
+        } while (page.isHasMore() && cursor != null);
+        highWaterMark = snapshotWaterMark;
+    }
+
+    /**
+     * 从当前高水位开始拉取增量变更
+     */
+    private synchronized void catchUp() {
+        long mark = highWaterMark;
+        SecondaryIndexPageDTO page;
+        do {
+            page = requirePage(indexQueryClient.getChangesSince(mark, properties.getPageSize()));
+            applyRows(page.getRows(), false);
+            mark = Math.max(mark, page.getHighWaterMark());
+        } while (page.isHasMore());
+        highWaterMark = mark;
+    }
+
+    private SecondaryIndexPageDTO requirePage(Result<SecondaryIndexPageDTO> result) {
+        if (result == null || !result.isSuccess() || result.getData() == null) {
+            throw new IllegalStateException("Failed to load secondary index page: "
+                    + (result != null ? result.getMessage() : "null result"));
+        }
+        return result.getData();
+    }
+
+    /**
+     * 按 Schema 分组应用索引行（同一 Schema 的行在同一页内）
+     * <p>
+     * 墓碑行（indexType 为空）不产生索引条目，该 Schema 的索引将被移除。
+     */
+    private void applyRows(List<SecondaryIndexRowDTO> rows, boolean fromSnapshot) {
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        Map<String, List<SecondaryIndexRowDTO>> bySchema = new LinkedHashMap<>();
+        for (SecondaryIndexRowDTO row : rows) {
+            bySchema.computeIfAbsent(row.getSchemaId(), k -> new ArrayList<>()).add(row);
+        }
+        for (Map.Entry<String, List<SecondaryIndexRowDTO>> entry : bySchema.entrySet()) {
+            List<SecondaryIndexRowDTO> schemaRows = entry.getValue();
+            SecondaryIndexRowDTO first = schemaRows.get(0);
+            Set<IndexEntry> entries = new LinkedHashSet<>();
+            for (SecondaryIndexRowDTO row : schemaRows) {
+                if (row.getIndexType() == null) {
+                    continue;
+                }
+                entries.add(IndexEntry.of(row.getIndexType(), row.getIndexKey()));
+            }
+            apply(entry.getKey(), first.getContentVersion(), entries, first.isDeleted(), fromSnapshot);
+        }
+    }
+
+    /**
+     * 清除预热期间为拦截过期快照而保留的删除标记
+     */
+    private void purgeTombstones() {
+        reverseIndex.entrySet().removeIf(e -> e.getValue().entries().length == 0);
+    }
+
     /**
      * 根据索引类型和键值获取 Schema ID 集合
+     * <p>
+     * 索引尚未预热完成时回源 schema-service 查询。
      *
      * @param indexType 索引类型（如 "CARD_TYPE"）
      * @param indexKey  索引值（如 cardTypeId）
      * @return Schema ID 集合（不可变）
      */
     public Set<String> getSchemaIds(String indexType, String indexKey) {
-        ConcurrentHashMap<String, Set<String>> keyMap = indexMap.get(indexType);
+        if (!warm && !properties.isBlockingBootstrap()) {
+            Set<String> remote = lookupRemote(indexType, indexKey);
+            if (remote != null) {
+                return remote;
+            }
+        }
+        ConcurrentHashMap<String, String[]> keyMap = indexMap.get(indexType);
         if (keyMap == null) {
             return Set.of();
         }
-        Set<String> schemaIds = keyMap.get(indexKey);
-        return schemaIds != null ? Set.copyOf(schemaIds) : Set.of();
+        String[] schemaIds = keyMap.get(indexKey);
+        return schemaIds != null ? new ArrayBackedSet(schemaIds) : Set.of();
+    }
+
+    private Set<String> lookupRemote(String indexType, String indexKey) {
+        try {
+            Result<Set<String>> result = indexQueryClient.getSchemaIds(indexType, indexKey);
+            if (result.isSuccess() && result.getData() != null) {
+                return Set.copyOf(result.getData());
+            }
+        } catch (Exception e) {
+            log.warn("Secondary index remote lookup failed: indexType={}, indexKey={}, error={}",
+                    indexType, indexKey, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 索引是否已完成预热
+     */
+    public boolean isWarm() {
+        return warm;
     }
 
     /**
      * 更新索引（由 SchemaCacheEventListener 调用）
+     * <p>
+     * 事件未携带二级索引键（旧格式事件）时不做处理，由调用方加载定义后调用 {@link #reindex}。
      *
      * @param event Schema 事件
      */
     public void updateIndex(SchemaEvent event) {
-        if (event instanceof SchemaCreatedEvent createdEvent) {
-            handleSchemaCreated(createdEvent);
-        } else if (event instanceof SchemaUpdatedEvent updatedEvent) {
-            handleSchemaUpdated(updatedEvent);
-        } else if (event instanceof SchemaDeletedEvent) {
-            handleSchemaDeleted(event.getSchemaId());
+        if (event instanceof SchemaDeletedEvent) {
+            apply(event.getSchemaId(), event.getContentVersion(), Set.of(), true, false);
+        } else if (event.getSecondaryKeys() != null) {
+            apply(event.getSchemaId(), event.getContentVersion(), toEntries(event.getSecondaryKeys()), false, false);
         }
     }
 
     /**
-     * 处理 Schema 创建事件
+     * 使用 Schema 定义的二级索引键重建该 Schema 的索引
+     *
+     * @param schemaId       Schema ID
+     * @param contentVersion Schema 内容版本号，未知时传 0
+     * @param secondKeys     Schema 定义返回的二级索引键
      */
-    private void handleSchemaCreated(SchemaCreatedEvent event) {
-        String schemaId = event.getSchemaId();
-        String content = event.getContent();
-
-        Set<IndexEntry> newEntries = parseSecondaryKeys(schemaId, content);
-        if (newEntries == null || newEntries.isEmpty()) {
-            return;
-        }
-
-        CopyOnWriteArrayList<IndexEntry> entries = new CopyOnWriteArrayList<>();
-        for (IndexEntry entry : newEntries) {
-            addToIndexMap(entry.indexType(), entry.indexKey(), schemaId);
-            entries.add(entry);
-        }
-        reverseIndex.put(schemaId, entries);
-
-        log.debug("Created index for schema {}: {} entries", schemaId, entries.size());
+    public void reindex(String schemaId, int contentVersion, Set<SchemaId> secondKeys) {
+        apply(schemaId, contentVersion, toEntries(SchemaIndexKey.fromSchemaIds(secondKeys)), false, false);
     }
 
     /**
-     * 处理 Schema 更新事件
+     * 按版本替换指定 Schema 的索引条目
      * <p>
-     * 使用 ConcurrentHashMap.compute 原子操作确保删除和添加的一致性
+     * 使用 ConcurrentHashMap.compute 原子操作确保删除和添加的一致性。
+     * 预热完成前，删除和空索引以墓碑形式保留版本号，防止更旧的快照数据回写。
      */
-    private void handleSchemaUpdated(SchemaUpdatedEvent event) {
-        String schemaId = event.getSchemaId();
-        String afterContent = event.getAfterContent();
-
-        // 解析新的二级索引
-        Set<IndexEntry> newEntries = parseSecondaryKeys(schemaId, afterContent);
+    private void apply(String schemaId, int version, Set<IndexEntry> newEntries, boolean deleted, boolean fromSnapshot) {
+        String id = schemaId.intern();
+        reverseIndex.compute(id, (key, old) -> {
+            if (old != null && !supersedes(version, old.version(), fromSnapshot)) {
+                return old;
+            }
 
-        // 使用 compute 原子操作：删除旧索引并添加新索引
-        reverseIndex.compute(schemaId, (id, oldEntries) -> {
             // 1. 删除旧索引
-            if (oldEntries != null) {
-                for (IndexEntry entry : oldEntries) {
-                    removeFromIndexMap(entry.indexType(), entry.indexKey(), schemaId);
+            if (old != null) {
+                for (IndexEntry entry : old.entries()) {
+                    removeFromIndexMap(entry.indexType(), entry.indexKey(), id);
                 }
             }
 
             // 2. 添加新索引
-            if (newEntries == null || newEntries.isEmpty()) {
-                return null; // 返回 null 会从 map 中移除该 key
+            if (deleted || newEntries.isEmpty()) {
+                // 返回 null 会从 map 中移除该 key
+                return warm ? null : new SchemaIndexState(version, NO_ENTRIES);
             }
 
-            CopyOnWriteArrayList<IndexEntry> entries = new CopyOnWriteArrayList<>();
-            for (IndexEntry entry : newEntries) {
-                addToIndexMap(entry.indexType(), entry.indexKey(), schemaId);
-                entries.add(entry);
+            IndexEntry[] entries = newEntries.toArray(NO_ENTRIES);
+            for (IndexEntry entry : entries) {
+                addToIndexMap(entry.indexType(), entry.indexKey(), id);
             }
 
-            log.debug("Updated index for schema {}: {} entries", schemaId, entries.size());
-            return entries;
+            log.debug("Updated index for schema {}: {} entries, version={}", id, entries.length, version);
+            return new SchemaIndexState(version, entries);
         });
     }
 
     /**
-     * 解析 Schema 内容获取二级索引键
+     * 判断新数据是否应覆盖已有数据
+     * <p>
+     * 快照数据只覆盖严格更旧的版本；事件数据覆盖不更新的版本，版本未知（<=0）时总是覆盖。
      */
-    private Set<IndexEntry> parseSecondaryKeys(String schemaId, String content) {
-        if (content == null || content.isBlank()) {
-            return null;
-        }
-
-        try {
-            SchemaDefinition<?> schema = objectMapper.readValue(content, SchemaDefinition.class);
-            if (schema == null) {
-                return null;
-            }
-
-            var secondKeys = schema.secondKeys();
-            if (secondKeys == null || secondKeys.isEmpty()) {
-                return null;
-            }
-
-            Set<IndexEntry> entries = new HashSet<>();
-            for (var secondKey : secondKeys) {
-                String indexType = secondKey.schemaType().name();
-                String indexKey = secondKey.value();
-                entries.add(new IndexEntry(indexType, indexKey));
-            }
-            return entries;
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to parse schema content for indexing: schemaId={}", schemaId, e);
-            return null;
+    private boolean supersedes(int newVersion, int currentVersion, boolean fromSnapshot) {
+        if (fromSnapshot) {
+            return newVersion > currentVersion;
         }
+        return newVersion <= 0 || currentVersion <= 0 || newVersion >= currentVersion;
     }
 
-    /**
-     * 处理 Schema 删除事件
-     */
-    private void handleSchemaDeleted(String schemaId) {
-        // 使用 compute 原子操作删除索引
-        reverseIndex.compute(schemaId, (id, entries) -> {
-            if (entries != null) {
-                for (IndexEntry entry : entries) {
-                    removeFromIndexMap(entry.indexType(), entry.indexKey(), schemaId);
-                }
-            }
-            log.debug("Removed index for deleted schema: {}", schemaId);
-            return null; // 返回 null 会从 map 中移除该 key
-        });
+    private Set<IndexEntry> toEntries(List<SchemaIndexKey> keys) {
+        Set<IndexEntry> entries = new LinkedHashSet<>();
+        for (SchemaIndexKey key : keys) {
+            entries.add(IndexEntry.of(key.indexType(), key.indexKey()));
+        }
+        return entries;
     }
 
     /**
      * 从 indexMap 中移除指定的 schemaId
      */
     private void removeFromIndexMap(String indexType, String indexKey, String schemaId) {
-        ConcurrentHashMap<String, Set<String>> keyMap = indexMap.get(indexType);
+        ConcurrentHashMap<String, String[]> keyMap = indexMap.get(indexType);
         if (keyMap != null) {
             // 使用 compute 原子操作，避免 check-then-act 竞态
             keyMap.compute(indexKey, (key, schemaIds) -> {
                 if (schemaIds == null) {
                     return null;
                 }
-                schemaIds.remove(schemaId);
-                return schemaIds.isEmpty() ? null : schemaIds;
+                int pos = Arrays.binarySearch(schemaIds, schemaId);
+                if (pos < 0) {
+                    return schemaIds;
+                }
+                if (schemaIds.length == 1) {
+                    return null;
+                }
+                String[] updated = new String[schemaIds.length - 1];
+                System.arraycopy(schemaIds, 0, updated, 0, pos);
+                System.arraycopy(schemaIds, pos + 1, updated, pos, schemaIds.length - pos - 1);
+                return updated;
             });
         }
     }
@@ -280,12 +362,78 @@ public class SecondaryIndexCache {
     private void addToIndexMap(String indexType, String indexKey, String schemaId) {
         indexMap
                 .computeIfAbsent(indexType, k -> new ConcurrentHashMap<>())
-                .computeIfAbsent(indexKey, k -> ConcurrentHashMap.newKeySet())
-                .add(schemaId);
+                .compute(indexKey, (key, schemaIds) -> {
+                    String[] current = schemaIds != null ? schemaIds : NO_IDS;
+                    int pos = Arrays.binarySearch(current, schemaId);
+                    if (pos >= 0) {
+                        return current;
+                    }
+                    int insertAt = -pos - 1;
+                    String[] updated = new String[current.length + 1];
+                    System.arraycopy(current, 0, updated, 0, insertAt);
+                    updated[insertAt] = schemaId;
+                    System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+                    return updated;
+                });
     }
 
     /**
      * 索引条目记录
      */
-    private record IndexEntry(String indexType, String indexKey) {}
+    private record IndexEntry(String indexType, String indexKey) {
+
+        static IndexEntry of(String indexType, String indexKey) {
+            return new IndexEntry(indexType.intern(), indexKey.intern());
+        }
+    }
+
+    /**
+     * 单个 Schema 的索引状态
+     *
+     * @param version 内容版本号
+     * @param entries 索引条目，为空表示已删除或无索引（仅预热期间保留）
+     */
+    private record SchemaIndexState(int version, IndexEntry[] entries) {}
+
+    /**
+     * 基于有序不可变数组的只读 Set 视图，查询时无需复制
+     */
+    private static final class ArrayBackedSet extends AbstractSet<String> {
+
+        private final String[] values;
+
+        private ArrayBackedSet(String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String s && Arrays.binarySearch(values, s) >= 0;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < values.length;
+                }
+
+                @Override
+                public String next() {
+                    if (index >= values.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return values[index++];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package cn.planka.infra.cache.schema;
+
+import cn.planka.api.schema.SecondaryIndexQueryClient;
+import cn.planka.event.schema.SchemaCreatedEvent;
+import cn.planka.event.schema.SchemaDeletedEvent;
+import cn.planka.event.schema.SchemaIndexKey;
+import cn.planka.event.schema.SchemaUpdatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SchemaCacheEventListener 测试
+ * <p>
+ * 验证紧凑事件格式下的缓存失效与二级索引维护
+ */
+class SchemaCacheEventListenerTest {
+
+    private static final String INDEX_TYPE = "CARD_TYPE";
+
+    private SchemaCacheService schemaCacheService;
+    private SecondaryIndexCache secondaryIndexCache;
+    private ObjectMapper objectMapper;
+    private SchemaCacheEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        schemaCacheService = mock(SchemaCacheService.class);
+        secondaryIndexCache = new SecondaryIndexCache(mock(SecondaryIndexQueryClient.class), new SchemaCacheProperties());
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        listener = new SchemaCacheEventListener(schemaCacheService, secondaryIndexCache, objectMapper);
+    }
+
+    @Test
+    @DisplayName("创建事件直接使用事件中的索引键建立索引")
+    void created_shouldIndexFromEventKeys() throws Exception {
+        SchemaCreatedEvent event = new SchemaCreatedEvent("org1", "user1", null, null, "field-1");
+        event.withContentVersion(1).withSecondaryKeys(List.of(new SchemaIndexKey(INDEX_TYPE, "type-1")));
+
+        listener.handleL1Eviction(objectMapper.writeValueAsString(event));
+
+        assertThat(secondaryIndexCache.getSchemaIds(INDEX_TYPE, "type-1")).containsExactly("field-1");
+        verify(schemaCacheService, never()).getById(any(String.class));
+    }
+
+    @Test
+    @DisplayName("更新事件按版本失效本地缓存，索引键未变化时不修改索引")
+    void updatedWithoutKeyChange_shouldKeepIndex() throws Exception {
+        secondaryIndexCache.reindex("field-1", 2, Set.of());
+        SchemaUpdatedEvent event = new SchemaUpdatedEvent("org1", "user1", null, null,
+                "field-1", List.of("name"), false);
+        event.withContentVersion(3).withSecondaryKeys(List.of(new SchemaIndexKey(INDEX_TYPE, "type-2")));
+
+        listener.handleL1Eviction(objectMapper.writeValueAsString(event));
+
+        verify(schemaCacheService).evictL1IfStale("field-1", 3);
+        assertThat(secondaryIndexCache.getSchemaIds(INDEX_TYPE, "type-2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("旧格式更新事件未携带索引键时按需加载定义")
+    void legacyUpdated_shouldFetchDefinitionOnDemand() {
+        String legacyMessage = """
+                {"eventType":"schema.updated","orgId":"org1","operatorId":"user1","schemaId":"field-1",
+                 "afterContent":"{}","newVersion":2}
+                """;
+        when(schemaCacheService.getById("field-1")).thenReturn(Optional.empty());
+
+        listener.handleL1Eviction(legacyMessage);
+
+        verify(schemaCacheService).getById("field-1");
+    }
+
+    @Test
+    @DisplayName("删除事件直接失效缓存并移除索引")
+    void deleted_shouldEvictAndRemoveIndex() throws Exception {
+        SchemaCreatedEvent created = new SchemaCreatedEvent("org1", "user1", null, null, "field-1");
+        created.withSecondaryKeys(List.of(new SchemaIndexKey(INDEX_TYPE, "type-1")));
+        secondaryIndexCache.updateIndex(created);
+
+        SchemaDeletedEvent event = new SchemaDeletedEvent("org1", "user1", null, null, "field-1");
+        event.withContentVersion(3);
+        listener.handleL1Eviction(objectMapper.writeValueAsString(event));
+
+        verify(schemaCacheService).evictL1("field-1");
+        assertThat(secondaryIndexCache.getSchemaIds(INDEX_TYPE, "type-1")).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package cn.planka.infra.cache.schema;
+
+import cn.planka.api.schema.SecondaryIndexQueryClient;
+import cn.planka.api.schema.dto.SecondaryIndexPageDTO;
+import cn.planka.api.schema.dto.SecondaryIndexRowDTO;
+import cn.planka.common.result.Result;
+import cn.planka.event.schema.SchemaIndexKey;
+import cn.planka.event.schema.SchemaUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SecondaryIndexCache 启动加载测试
+ * <p>
+ * 验证分页快照、高水位增量补齐以及快照与事件的版本合并
+ */
+class SecondaryIndexCacheBootstrapTest {
+
+    private static final String INDEX_TYPE = "CARD_TYPE";
+
+    private SecondaryIndexQueryClient client;
+    private SchemaCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(SecondaryIndexQueryClient.class);
+        properties = new SchemaCacheProperties();
+        properties.getIndex().setPageSize(2);
+    }
+
+    @Test
+    @DisplayName("分页加载快照后从高水位增量补齐")
+    void bootstrap_shouldLoadPagedSnapshotThenCatchUp() {
+        when(client.getSnapshotPage(isNull(), isNull(), anyInt())).thenReturn(Result.success(
+                page(100L, "s2", true, row("s1", "type-1", 1), row("s2", "type-1", 1))));
+        when(client.getSnapshotPage(eq("s2"), eq(100L), anyInt())).thenReturn(Result.success(
+                page(100L, null, false, row("s3", "type-2", 1))));
+        SecondaryIndexRowDTO deleted = row("s1", "type-1", 2);
+        deleted.setDeleted(true);
+        when(client.getChangesSince(eq(100L), anyInt())).thenReturn(Result.success(
+                page(120L, null, false, deleted, row("s4", "type-2", 1))));
+
+        SecondaryIndexCache cache = new SecondaryIndexCache(client, properties);
+        cache.init();
+
+        assertThat(cache.isWarm()).isTrue();
+        assertThat(cache.getSchemaIds(INDEX_TYPE, "type-1")).containsExactly("s2");
+        assertThat(cache.getSchemaIds(INDEX_TYPE, "type-2")).containsExactlyInAnyOrder("s3", "s4");
+        verify(client).getChangesSince(eq(100L), anyInt());
+    }
+
+    @Test
+    @DisplayName("增量墓碑行移除被物理删除或索引清空的 Schema")
+    void catchUp_shouldRemoveSchemasByTombstone() {
+        when(client.getSnapshotPage(isNull(), isNull(), anyInt())).thenReturn(Result.success(
+                page(100L, null, false, row("s1", "type-1", 1), row("s2", "type-1", 1))));
+        SecondaryIndexRowDTO purged = tombstone("s1", 0);
+        purged.setDeleted(true);
+        when(client.getChangesSince(eq(100L), anyInt())).thenReturn(Result.success(
+                page(102L, null, false, purged, tombstone("s2", 2))));
+
+        SecondaryIndexCache cache = new SecondaryIndexCache(client, properties);
+        cache.init();
+
+        assertThat(cache.isWarm()).isTrue();
+        assertThat(cache.getSchemaIds(INDEX_TYPE, "type-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("快照中的旧版本不应覆盖已通过事件应用的新版本")
+    void staleSnapshot_shouldNotOverrideNewerEvent() {
+        SecondaryIndexCache cache = new SecondaryIndexCache(client, properties);
+
+        SchemaUpdatedEvent event = new SchemaUpdatedEvent("org1", "user1", null, null, "s1");
+        event.withContentVersion(3).withSecondaryKeys(List.of(new SchemaIndexKey(INDEX_TYPE, "type-new")));
+        cache.updateIndex(event);
+
+        when(client.getSnapshotPage(isNull(), isNull(), anyInt())).thenReturn(Result.success(
+                page(10L, null, false, row("s1", "type-old", 2))));
+        when(client.getChangesSince(eq(10L), anyInt())).thenReturn(Result.success(page(10L, null, false)));
+        cache.init();
+
+        assertThat(cache.getSchemaIds(INDEX_TYPE, "type-new")).containsExactly("s1");
+        assertThat(cache.getSchemaIds(INDEX_TYPE, "type-old")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("非阻塞模式下预热完成前回源查询")
+    void nonBlocking_shouldLookupRemoteUntilWarm() {
+        properties.getIndex().setBlockingBootstrap(false);
+        when(client.getSchemaIds(INDEX_TYPE, "type-1")).thenReturn(Result.success(Set.of("remote-1")));
+
+        SecondaryIndexCache cache = new SecondaryIndexCache(client, properties);
+
+        assertThat(cache.isWarm()).isFalse();
+        assertThat(cache.getSchemaIds(INDEX_TYPE, "type-1")).containsExactly("remote-1");
+    }
+
+    private SecondaryIndexRowDTO row(String schemaId, String indexKey, int version) {
+        return SecondaryIndexRowDTO.builder()
+                .schemaId(schemaId)
+                .indexType(INDEX_TYPE)
+                .indexKey(indexKey)
+                .contentVersion(version)
+                .build();
+    }
+
+    private SecondaryIndexRowDTO tombstone(String schemaId, int version) {
+        return SecondaryIndexRowDTO.builder()
+                .schemaId(schemaId)
+                .contentVersion(version)
+                .build();
+    }
+
+    private SecondaryIndexPageDTO page(long highWaterMark, String nextCursor, boolean hasMore,
+                                       SecondaryIndexRowDTO... rows) {
+        return SecondaryIndexPageDTO.builder()
+                .highWaterMark(highWaterMark)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .rows(List.of(rows))
+                .build();
+    }
+}
@@ -1,11 +1,13 @@
 package cn.planka.infra.cache.schema;
 
 import cn.planka.api.schema.SecondaryIndexQueryClient;
+import cn.planka.api.schema.dto.SecondaryIndexPageDTO;
+import cn.planka.api.schema.dto.SecondaryIndexRowDTO;
 import cn.planka.common.result.Result;
 import cn.planka.event.schema.SchemaCreatedEvent;
 import cn.planka.event.schema.SchemaDeletedEvent;
+import cn.planka.event.schema.SchemaIndexKey;
 import cn.planka.event.schema.SchemaUpdatedEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.RepeatedTest;
@@ -17,6 +19,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -29,7 +34,6 @@ class SecondaryIndexCacheConcurrencyTest {
 
     private SecondaryIndexCache cache;
     private SecondaryIndexQueryClient mockClient;
-    private ObjectMapper objectMapper;
 
     private static final String INDEX_TYPE = "CARD_TYPE";
     private static final int THREAD_COUNT = 20;
@@ -38,10 +42,10 @@ class SecondaryIndexCacheConcurrencyTest {
     @BeforeEach
     void setUp() {
         mockClient = mock(SecondaryIndexQueryClient.class);
-        objectMapper = new ObjectMapper();
 
         // 返回空索引，避免初始化时的网络调用
-        when(mockClient.getAllSecondaryIndexes()).thenReturn(Result.success(new HashMap<>()));
+        when(mockClient.getSnapshotPage(any(), any(), anyInt())).thenReturn(Result.success(emptyPage()));
+        when(mockClient.getChangesSince(anyLong(), anyInt())).thenReturn(Result.success(emptyPage()));
     }
 
     /**
@@ -51,7 +55,7 @@ class SecondaryIndexCacheConcurrencyTest {
     @RepeatedTest(5)
     @DisplayName("并发读写不应抛出异常")
     void concurrentReadWrite_shouldNotThrowException() throws Exception {
-        cache = new SecondaryIndexCache(mockClient, objectMapper);
+        cache = new SecondaryIndexCache(mockClient, new SchemaCacheProperties());
 
         ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
         CountDownLatch startLatch = new CountDownLatch(1);
@@ -104,7 +108,7 @@ class SecondaryIndexCacheConcurrencyTest {
     @RepeatedTest(10)
     @DisplayName("并发更新同一schema应保持数据一致性")
     void concurrentUpdateSameSchema_shouldMaintainConsistency() throws Exception {
-        cache = new SecondaryIndexCache(mockClient, objectMapper);
+        cache = new SecondaryIndexCache(mockClient, new SchemaCacheProperties());
 
         ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
         CountDownLatch startLatch = new CountDownLatch(1);
@@ -177,19 +181,26 @@ class SecondaryIndexCacheConcurrencyTest {
     @DisplayName("并发删除不应抛出异常")
     void concurrentDelete_shouldNotThrowException() throws Exception {
         // 先初始化一些数据
-        Map<String, Map<String, Set<String>>> initialData = new HashMap<>();
-        Map<String, Set<String>> keyMap = new ConcurrentHashMap<>();
+        List<SecondaryIndexRowDTO> rows = new ArrayList<>();
         for (int i = 0; i < 100; i++) {
-            Set<String> schemaIds = ConcurrentHashMap.newKeySet();
             for (int j = 0; j < 10; j++) {
-                schemaIds.add("schema-" + i + "-" + j);
+                rows.add(SecondaryIndexRowDTO.builder()
+                        .schemaId("schema-" + i + "-" + j)
+                        .indexType(INDEX_TYPE)
+                        .indexKey("cardType-" + i)
+                        .contentVersion(1)
+                        .build());
             }
-            keyMap.put("cardType-" + i, schemaIds);
         }
-        initialData.put(INDEX_TYPE, keyMap);
+        SecondaryIndexPageDTO snapshot = SecondaryIndexPageDTO.builder()
+                .highWaterMark(rows.size())
+                .rows(rows)
+                .build();
 
-        when(mockClient.getAllSecondaryIndexes()).thenReturn(Result.success(initialData));
-        cache = new SecondaryIndexCache(mockClient, objectMapper);
+        when(mockClient.getSnapshotPage(any(), any(), anyInt())).thenReturn(Result.success(snapshot));
+        cache = new SecondaryIndexCache(mockClient, new SchemaCacheProperties());
+        cache.init();
+        assertThat(cache.getSchemaIds(INDEX_TYPE, "cardType-0")).hasSize(10);
 
         ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
         CountDownLatch startLatch = new CountDownLatch(1);
@@ -233,7 +244,7 @@ class SecondaryIndexCacheConcurrencyTest {
     @RepeatedTest(10)
     @DisplayName("并发删除应正确清空数据")
     void concurrentDelete_shouldRemoveAllData() throws Exception {
-        cache = new SecondaryIndexCache(mockClient, objectMapper);
+        cache = new SecondaryIndexCache(mockClient, new SchemaCacheProperties());
 
         String indexKey = "shared-cardType";
         int totalSchemas = 100;
@@ -291,7 +302,7 @@ class SecondaryIndexCacheConcurrencyTest {
     @Test
     @DisplayName("高并发压力测试")
     void highConcurrencyStressTest() throws Exception {
-        cache = new SecondaryIndexCache(mockClient, objectMapper);
+        cache = new SecondaryIndexCache(mockClient, new SchemaCacheProperties());
 
         int threadCount = 50;
         int opsPerThread = 200;
@@ -365,7 +376,7 @@ class SecondaryIndexCacheConcurrencyTest {
     @DisplayName("遍历时的并发修改异常测试")
     void iterationConcurrentModification_shouldNotThrowCME() throws Exception {
         // 初始化一个 schema 有多个索引条目
-        cache = new SecondaryIndexCache(mockClient, objectMapper);
+        cache = new SecondaryIndexCache(mockClient, new SchemaCacheProperties());
 
         String schemaId = "multi-index-schema";
 
@@ -438,7 +449,7 @@ class SecondaryIndexCacheConcurrencyTest {
     @RepeatedTest(10)
     @DisplayName("并发执行新增、删除、更新应保持数据一致性")
     void concurrentCreateUpdateDelete_shouldMaintainConsistency() throws Exception {
-        cache = new SecondaryIndexCache(mockClient, objectMapper);
+        cache = new SecondaryIndexCache(mockClient, new SchemaCacheProperties());
 
         int schemaCount = 100;
         String indexKey = "shared-cardType";
@@ -510,24 +521,14 @@ class SecondaryIndexCacheConcurrencyTest {
     private SchemaUpdatedEvent createUpdateEvent(String schemaId, String indexKey) {
         SchemaUpdatedEvent event = new SchemaUpdatedEvent(
                 "org1", "user1", "127.0.0.1", "trace1", schemaId);
-
-        // 构造一个包含 cardTypeIds 的 JSON
-        // secondKeys() 方法会根据 cardTypeIds 计算出二级索引
-        String afterContent = String.format("""
-                {
-                    "schemaSubType": "TEXT_FIELD",
-                    "id": "%s",
-                    "orgId": "org1",
-                    "name": "Test Field",
-                    "systemField": false,
-                    "cardTypeId": "%s",
-                    "fieldId": "field-%s"
-                }
-                """, schemaId, indexKey, schemaId);
-        event.setAfterContent(afterContent);
+        event.withSecondaryKeys(List.of(new SchemaIndexKey(INDEX_TYPE, indexKey)));
         return event;
     }
 
+    private SecondaryIndexPageDTO emptyPage() {
+        return SecondaryIndexPageDTO.builder().rows(List.of()).build();
+    }
+
     private SchemaDeletedEvent createDeleteEvent(String schemaId) {
         return new SchemaDeletedEvent(
                 "org1", "user1", "127.0.0.1", "trace1", schemaId);
@@ -536,19 +537,7 @@ class SecondaryIndexCacheConcurrencyTest {
     private SchemaCreatedEvent createCreateEvent(String schemaId, String indexKey) {
         SchemaCreatedEvent event = new SchemaCreatedEvent(
                 "org1", "user1", "127.0.0.1", "trace1", schemaId);
-
-        String content = String.format("""
-                {
-                    "schemaSubType": "TEXT_FIELD",
-                    "id": "%s",
-                    "orgId": "org1",
-                    "name": "Test Field",
-                    "systemField": false,
-                    "cardTypeId": "%s",
-                    "fieldId": "field-%s"
-                }
-                """, schemaId, indexKey, schemaId);
-        event.setContent(content);
+        event.withSecondaryKeys(List.of(new SchemaIndexKey(INDEX_TYPE, indexKey)));
         return event;
     }
 }
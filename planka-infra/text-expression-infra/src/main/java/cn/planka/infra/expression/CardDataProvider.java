@@ -4,6 +4,9 @@ import cn.planka.api.card.dto.CardDTO;
 import cn.planka.api.card.request.Yield;
 import cn.planka.domain.card.CardId;
 
+import java.util.List;
+import java.util.Objects;
+
 /**
  * 卡片数据提供者接口
  * <p>
@@ -19,4 +22,20 @@ public interface CardDataProvider {
      * @return 卡片数据，不存在时返回 null
      */
     CardDTO findCardById(CardId cardId, Yield yield);
+
+    /**
+     * 根据卡片ID列表和Yield批量查询卡片数据
+     * <p>
+     * 默认实现逐个查询，实现方应覆盖为一次批量查询。
+     *
+     * @param cardIds 卡片ID列表
+     * @param yield   查询返回定义
+     * @return 查到的卡片数据，不保证顺序，不存在的卡片不返回
+     */
+    default List<CardDTO> findCardsByIds(List<CardId> cardIds, Yield yield) {
+        return cardIds.stream()
+                .map(cardId -> findCardById(cardId, yield))
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
@@ -0,0 +1,338 @@
+package cn.planka.infra.expression;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.Yield;
+import cn.planka.api.card.request.YieldField;
+import cn.planka.api.card.request.YieldLink;
+import cn.planka.domain.field.FieldValue;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 编译后的文本表达式模板
+ * <p>
+ * 模板只扫描一次，拆分为文本片段和表达式片段，并预先算出当前卡片和成员卡需要查询的 Yield。
+ * 编译结果不可变，可在线程间共享，渲染时按片段顺序拼接。
+ */
+@Slf4j
+final class CompiledTextExpression {
+
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+
+    private static final String SOURCE_CARD = "card";
+    private static final String SOURCE_MEMBER = "member";
+    private static final String SOURCE_SYSTEM = "system";
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final List<Segment> segments;
+    private final boolean hasExpressions;
+    private final Yield cardYield;
+    private final Yield memberYield;
+
+    private CompiledTextExpression(List<Segment> segments, boolean hasExpressions,
+                                   Yield cardYield, Yield memberYield) {
+        this.segments = segments;
+        this.hasExpressions = hasExpressions;
+        this.cardYield = cardYield;
+        this.memberYield = memberYield;
+    }
+
+    /**
+     * 编译模板字符串
+     */
+    static CompiledTextExpression compile(String templateString) {
+        List<Segment> segments = new ArrayList<>();
+        Set<String> cardFieldIds = new HashSet<>();
+        Set<String> memberFieldIds = new HashSet<>();
+        Map<String, Set<String>> linkedCardFields = new HashMap<>();
+        boolean needsCard = false;
+        boolean needsMember = false;
+        boolean hasExpressions = false;
+
+        Matcher matcher = EXPRESSION_PATTERN.matcher(templateString);
+        int last = 0;
+        while (matcher.find()) {
+            hasExpressions = true;
+            if (matcher.start() > last) {
+                segments.add(new Literal(templateString.substring(last, matcher.start())));
+            }
+            last = matcher.end();
+
+            String expression = matcher.group(1);
+            String[] parts = expression.split("\\.");
+            if (parts.length == 0) {
+                segments.add(new Literal("${" + expression + "}"));
+                continue;
+            }
+
+            switch (parts[0]) {
+                case SOURCE_CARD -> {
+                    needsCard = true;
+                    if (parts.length == 1) {
+                        // ${card}
+                        segments.add(new CardTitle(expression));
+                    } else if (parts.length == 2) {
+                        // ${card.fieldId}
+                        cardFieldIds.add(parts[1]);
+                        segments.add(new CardField(expression, parts[1]));
+                    } else {
+                        // ${card.linkFieldId.fieldId}
+                        linkedCardFields.computeIfAbsent(parts[1], k -> new HashSet<>()).add(parts[2]);
+                        segments.add(new LinkedCardField(expression, parts[1], parts[2]));
+                    }
+                }
+                case SOURCE_MEMBER -> {
+                    needsMember = true;
+                    if (parts.length == 1) {
+                        // ${member}
+                        segments.add(new MemberTitle(expression));
+                    } else {
+                        // ${member.fieldId}
+                        memberFieldIds.add(parts[1]);
+                        segments.add(new MemberField(expression, parts[1]));
+                    }
+                }
+                case SOURCE_SYSTEM -> segments.add(parts.length < 2
+                        ? new Literal("")
+                        : new SystemVariable(expression, parts[1]));
+                default -> {
+                    log.warn("未知的表达式源: {}", parts[0]);
+                    segments.add(new Literal("${" + expression + "}"));
+                }
+            }
+        }
+        if (last < templateString.length()) {
+            segments.add(new Literal(templateString.substring(last)));
+        }
+
+        Yield cardYield = needsCard ? buildYield(cardFieldIds, linkedCardFields) : null;
+        Yield memberYield = needsMember ? buildYield(memberFieldIds, Map.of()) : null;
+        return new CompiledTextExpression(List.copyOf(segments), hasExpressions, cardYield, memberYield);
+    }
+
+    boolean hasExpressions() {
+        return hasExpressions;
+    }
+
+    boolean needsCard() {
+        return cardYield != null;
+    }
+
+    boolean needsMember() {
+        return memberYield != null;
+    }
+
+    Yield cardYield() {
+        return cardYield;
+    }
+
+    Yield memberYield() {
+        return memberYield;
+    }
+
+    /**
+     * 用已加载的卡片数据渲染模板
+     *
+     * @param currentCard 当前卡片，可为 null
+     * @param memberCard  成员卡，可为 null
+     */
+    String render(CardDTO currentCard, CardDTO memberCard) {
+        StringBuilder result = new StringBuilder();
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                result.append(literal.text());
+                continue;
+            }
+            Expression expression = (Expression) segment;
+            try {
+                String value = expression.evaluate(currentCard, memberCard);
+                if (value != null) {
+                    result.append(value);
+                }
+            } catch (Exception e) {
+                log.error("解析表达式失败: expression={}, error={}", expression.source(), e.getMessage());
+                result.append("${").append(expression.source()).append('}');
+            }
+        }
+        return result.toString();
+    }
+
+    private static Yield buildYield(Set<String> fieldIds, Map<String, Set<String>> linkedCardFields) {
+        Yield yield = new Yield();
+
+        if (fieldIds.isEmpty()) {
+            yield.setField(YieldField.basic());
+        } else {
+            YieldField yieldField = new YieldField();
+            yieldField.setFieldIds(fieldIds);
+            yieldField.setIncludeDescription(fieldIds.contains("description"));
+            yield.setField(yieldField);
+        }
+
+        if (!linkedCardFields.isEmpty()) {
+            List<YieldLink> links = new ArrayList<>();
+            for (Map.Entry<String, Set<String>> entry : linkedCardFields.entrySet()) {
+                YieldLink link = new YieldLink();
+                link.setLinkFieldId(entry.getKey());
+                Yield targetYield = new Yield();
+                YieldField targetField = new YieldField();
+                targetField.setFieldIds(entry.getValue());
+                targetYield.setField(targetField);
+                link.setTargetYield(targetYield);
+                links.add(link);
+            }
+            yield.setLinks(links);
+        }
+
+        return yield;
+    }
+
+    private static String getCardTitle(CardDTO card) {
+        if (card == null || card.getTitle() == null) {
+            return "";
+        }
+        return card.getTitle().getValue() != null ? card.getTitle().getValue() : "";
+    }
+
+    private static String getCardFieldValue(CardDTO card, String fieldId) {
+        if (card == null) {
+            return "";
+        }
+
+        return switch (fieldId) {
+            case "id" -> card.getId() != null ? card.getId().value() : "";
+            case "code" -> card.getCode();
+            case "title" -> getCardTitle(card);
+            case "description" -> card.getDescription() != null ? card.getDescription().getValue() : "";
+            case "statusId" -> card.getStatusId() != null ? card.getStatusId().value() : "";
+            case "createdAt" -> formatDateTime(card.getCreatedAt());
+            case "updatedAt" -> formatDateTime(card.getUpdatedAt());
+            default -> getCustomFieldValue(card, fieldId);
+        };
+    }
+
+    private static String getCustomFieldValue(CardDTO card, String fieldId) {
+        if (card.getFieldValues() == null) {
+            return "";
+        }
+        FieldValue<?> fieldValue = card.getFieldValues().get(fieldId);
+        if (fieldValue == null || fieldValue.getValue() == null) {
+            return "";
+        }
+        return String.valueOf(fieldValue.getValue());
+    }
+
+    private static String formatDateTime(Object dateTime) {
+        if (dateTime == null) {
+            return "";
+        }
+        if (dateTime instanceof LocalDateTime ldt) {
+            return ldt.format(DATE_TIME_FORMATTER);
+        }
+        if (dateTime instanceof Long timestamp) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault())
+                    .format(DATE_TIME_FORMATTER);
+        }
+        return String.valueOf(dateTime);
+    }
+
+    private sealed interface Segment permits Literal, Expression {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private sealed interface Expression extends Segment
+            permits CardTitle, CardField, LinkedCardField, MemberTitle, MemberField, SystemVariable {
+
+        /**
+         * 表达式原文（不含 ${}），解析失败时原样输出
+         */
+        String source();
+
+        String evaluate(CardDTO currentCard, CardDTO memberCard);
+    }
+
+    /**
+     * ${card} -> 卡片标题
+     */
+    private record CardTitle(String source) implements Expression {
+        @Override
+        public String evaluate(CardDTO currentCard, CardDTO memberCard) {
+            return getCardTitle(currentCard);
+        }
+    }
+
+    /**
+     * ${card.fieldId} -> 字段值
+     */
+    private record CardField(String source, String fieldId) implements Expression {
+        @Override
+        public String evaluate(CardDTO currentCard, CardDTO memberCard) {
+            return getCardFieldValue(currentCard, fieldId);
+        }
+    }
+
+    /**
+     * ${card.linkFieldId.fieldId} -> 第一张关联卡片的字段值
+     */
+    private record LinkedCardField(String source, String linkFieldId, String fieldId) implements Expression {
+        @Override
+        public String evaluate(CardDTO currentCard, CardDTO memberCard) {
+            if (currentCard == null || currentCard.getLinkedCards() == null) {
+                return "";
+            }
+            Set<CardDTO> linkedCards = currentCard.getLinkedCards().get(linkFieldId);
+            if (linkedCards == null || linkedCards.isEmpty()) {
+                return "";
+            }
+            return getCardFieldValue(linkedCards.iterator().next(), fieldId);
+        }
+    }
+
+    /**
+     * ${member} -> 成员卡片标题
+     */
+    private record MemberTitle(String source) implements Expression {
+        @Override
+        public String evaluate(CardDTO currentCard, CardDTO memberCard) {
+            return getCardTitle(memberCard);
+        }
+    }
+
+    /**
+     * ${member.fieldId} -> 成员字段值
+     */
+    private record MemberField(String source, String fieldId) implements Expression {
+        @Override
+        public String evaluate(CardDTO currentCard, CardDTO memberCard) {
+            return getCardFieldValue(memberCard, fieldId);
+        }
+    }
+
+    /**
+     * ${system.currentYear|currentMonth|currentDate|currentTime} -> 渲染时的系统时间
+     */
+    private record SystemVariable(String source, String variable) implements Expression {
+        @Override
+        public String evaluate(CardDTO currentCard, CardDTO memberCard) {
+            return switch (variable) {
+                case "currentTime" -> LocalDateTime.now().format(DATE_TIME_FORMATTER);
+                case "currentDate" -> LocalDate.now().format(DATE_FORMATTER);
+                case "currentYear" -> String.valueOf(LocalDate.now().getYear());
+                case "currentMonth" -> String.valueOf(LocalDate.now().getMonthValue());
+                default -> "";
+            };
+        }
+    }
+}
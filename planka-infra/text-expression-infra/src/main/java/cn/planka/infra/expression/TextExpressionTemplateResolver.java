@@ -1,22 +1,14 @@
 package cn.planka.infra.expression;
 
 import cn.planka.api.card.dto.CardDTO;
-import cn.planka.api.card.request.Yield;
-import cn.planka.api.card.request.YieldField;
-import cn.planka.api.card.request.YieldLink;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.expression.TextExpressionTemplate;
-import cn.planka.domain.field.FieldValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 公共文本表达式模板解析器
@@ -34,20 +26,22 @@ import java.util.regex.Pattern;
  *   <li>${member.fieldId} - 当前成员字段值</li>
  *   <li>${system.currentTime} - 系统变量（currentYear, currentMonth, currentDate, currentTime）</li>
  * </ul>
+ * <p>
+ * 模板首次使用时编译为 {@link CompiledTextExpression} 并按模板字符串缓存，之后的解析不再扫描模板。
+ * 对一批卡片渲染同一模板时使用 {@link #resolveBatch}，卡片数据一次批量加载。
  */
-@Slf4j
 @Component
 @RequiredArgsConstructor
 public class TextExpressionTemplateResolver {
 
-    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
-
-    private static final String SOURCE_CARD = "card";
-    private static final String SOURCE_MEMBER = "member";
-    private static final String SOURCE_SYSTEM = "system";
+    private static final int MAX_COMPILED_TEMPLATES = 2_000;
 
     private final CardDataProvider cardDataProvider;
 
+    private final Cache<String, CompiledTextExpression> compiledTemplates = Caffeine.newBuilder()
+            .maximumSize(MAX_COMPILED_TEMPLATES)
+            .build();
+
     /**
      * 解析模板，替换 ${xxx} 占位符
      *
@@ -76,275 +70,88 @@ public class TextExpressionTemplateResolver {
             return templateString;
         }
 
-        if (!EXPRESSION_PATTERN.matcher(templateString).find()) {
+        CompiledTextExpression compiled = compile(templateString);
+        if (!compiled.hasExpressions()) {
             return templateString;
         }
 
-        YieldPair yieldPair = buildYieldsFromTemplate(templateString);
-
         // 懒加载：仅在需要时查询
         CardDTO currentCard = null;
-        CardDTO memberCard = null;
-
-        if (yieldPair.needsCard() && cardId != null) {
-            currentCard = cardDataProvider.findCardById(cardId, yieldPair.cardYield());
-        }
-        if (yieldPair.needsMember() && memberCardId != null) {
-            memberCard = cardDataProvider.findCardById(memberCardId, yieldPair.memberYield());
-        }
-
-        return replaceExpressions(templateString, currentCard, memberCard);
-    }
-
-    private String replaceExpressions(String templateString, CardDTO currentCard, CardDTO memberCard) {
-        StringBuffer result = new StringBuffer();
-        Matcher matcher = EXPRESSION_PATTERN.matcher(templateString);
-
-        while (matcher.find()) {
-            String expression = matcher.group(1);
-            String replacement = evaluateExpression(expression, currentCard, memberCard);
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement != null ? replacement : ""));
-        }
-        matcher.appendTail(result);
-
-        return result.toString();
-    }
-
-    private String evaluateExpression(String expression, CardDTO currentCard, CardDTO memberCard) {
-        if (expression == null || expression.isEmpty()) {
-            return "";
-        }
-
-        String[] parts = expression.split("\\.");
-        if (parts.length == 0) {
-            return "${" + expression + "}";
-        }
-
-        String source = parts[0];
-
-        try {
-            return switch (source) {
-                case SOURCE_CARD -> evaluateCardExpression(parts, currentCard);
-                case SOURCE_MEMBER -> evaluateMemberExpression(parts, memberCard);
-                case SOURCE_SYSTEM -> evaluateSystemExpression(parts);
-                default -> {
-                    log.warn("未知的表达式源: {}", source);
-                    yield "${" + expression + "}";
-                }
-            };
-        } catch (Exception e) {
-            log.error("解析表达式失败: expression={}, error={}", expression, e.getMessage());
-            return "${" + expression + "}";
-        }
-    }
-
-    /**
-     * 解析 card 源表达式
-     * ${card} -> 卡片标题
-     * ${card.title} -> 字段值
-     * ${card.linkFieldId.fieldId} -> 关联卡片字段值
-     */
-    private String evaluateCardExpression(String[] parts, CardDTO currentCard) {
-        if (parts.length == 1) {
-            // ${card}
-            return getCardTitle(currentCard);
-        }
-
-        if (currentCard == null) {
-            return "";
-        }
-
-        if (parts.length == 2) {
-            // ${card.fieldId}
-            return getCardFieldValue(currentCard, parts[1]);
-        }
-
-        // ${card.linkFieldId.fieldId} - 多级路径，获取关联卡片字段
-        String linkFieldId = parts[1];
-        String targetFieldId = parts[2];
-
-        if (currentCard.getLinkedCards() == null) {
-            return "";
-        }
-
-        Set<CardDTO> linkedCards = currentCard.getLinkedCards().get(linkFieldId);
-        if (linkedCards == null || linkedCards.isEmpty()) {
-            return "";
+        if (compiled.needsCard() && cardId != null) {
+            currentCard = cardDataProvider.findCardById(cardId, compiled.cardYield());
         }
+        CardDTO memberCard = loadMemberCard(compiled, memberCardId);
 
-        CardDTO firstLinkedCard = linkedCards.iterator().next();
-        return getCardFieldValue(firstLinkedCard, targetFieldId);
+        return compiled.render(currentCard, memberCard);
     }
 
     /**
-     * 解析 member 源表达式
-     * ${member} -> 成员卡片标题
-     * ${member.name} -> 成员字段值
+     * 对多张卡片渲染同一模板
+     *
+     * @param template     文本表达式模板
+     * @param cardIds      当前卡片ID列表
+     * @param memberCardId 当前操作人的成员卡ID
+     * @return 卡片ID到解析结果，按 cardIds 顺序；模板为空时返回空 Map
      */
-    private String evaluateMemberExpression(String[] parts, CardDTO memberCard) {
-        if (parts.length == 1) {
-            // ${member}
-            return getCardTitle(memberCard);
+    public Map<CardId, String> resolveBatch(TextExpressionTemplate template, Collection<CardId> cardIds,
+                                            CardId memberCardId) {
+        if (template == null || template.template() == null) {
+            return Map.of();
         }
-
-        // ${member.fieldId}
-        return getCardFieldValue(memberCard, parts[1]);
+        return resolveBatch(template.template(), cardIds, memberCardId);
     }
 
     /**
-     * 解析 system 源表达式
-     * ${system.currentYear} -> 当前年份
-     * ${system.currentMonth} -> 当前月份
-     * ${system.currentDate} -> 当前日期
-     * ${system.currentTime} -> 当前时间
+     * 对多张卡片渲染同一模板字符串
+     * <p>
+     * 模板需要的卡片数据（含关联卡片字段）一次批量查询，成员卡只查询一次。
+     * 查不到的卡片按空卡片渲染，与 {@link #resolve(String, CardId, CardId)} 一致。
+     *
+     * @param templateString 模板字符串
+     * @param cardIds        当前卡片ID列表
+     * @param memberCardId   当前操作人的成员卡ID
+     * @return 卡片ID到解析结果，按 cardIds 顺序
      */
-    private String evaluateSystemExpression(String[] parts) {
-        if (parts.length < 2) {
-            return "";
+    public Map<CardId, String> resolveBatch(String templateString, Collection<CardId> cardIds,
+                                            CardId memberCardId) {
+        Map<CardId, String> results = new LinkedHashMap<>();
+        if (cardIds == null || cardIds.isEmpty()) {
+            return results;
         }
-
-        String variable = parts[1];
-        return switch (variable) {
-            case "currentTime" -> LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            case "currentDate" -> LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            case "currentYear" -> String.valueOf(LocalDate.now().getYear());
-            case "currentMonth" -> String.valueOf(LocalDate.now().getMonthValue());
-            default -> "";
-        };
-    }
-
-    /**
-     * 从模板中解析出需要的 Yield 对
-     */
-    private YieldPair buildYieldsFromTemplate(String templateString) {
-        Set<String> cardFieldIds = new HashSet<>();
-        Set<String> memberFieldIds = new HashSet<>();
-        Map<String, Set<String>> linkedCardFields = new HashMap<>();
-        boolean needsCard = false;
-        boolean needsMember = false;
-
-        Matcher matcher = EXPRESSION_PATTERN.matcher(templateString);
-        while (matcher.find()) {
-            String expression = matcher.group(1);
-            String[] parts = expression.split("\\.");
-            if (parts.length == 0) {
-                continue;
-            }
-
-            String source = parts[0];
-
-            switch (source) {
-                case SOURCE_CARD -> {
-                    needsCard = true;
-                    if (parts.length == 2) {
-                        // ${card.fieldId}
-                        cardFieldIds.add(parts[1]);
-                    } else if (parts.length >= 3) {
-                        // ${card.linkFieldId.fieldId}
-                        String linkFieldId = parts[1];
-                        String fieldId = parts[2];
-                        linkedCardFields.computeIfAbsent(linkFieldId, k -> new HashSet<>()).add(fieldId);
-                    }
-                }
-                case SOURCE_MEMBER -> {
-                    needsMember = true;
-                    if (parts.length >= 2) {
-                        memberFieldIds.add(parts[1]);
-                    }
-                }
-                case SOURCE_SYSTEM -> {
-                    // 系统变量不需要查询卡片数据
-                }
-                default -> log.warn("未知的表达式源: {}", source);
-            }
+        if (templateString == null || templateString.isEmpty()) {
+            cardIds.forEach(cardId -> results.put(cardId, templateString));
+            return results;
         }
 
-        Yield cardYield = needsCard ? buildYield(cardFieldIds, linkedCardFields) : null;
-        Yield memberYield = needsMember ? buildYield(memberFieldIds, Map.of()) : null;
-
-        return new YieldPair(cardYield, memberYield, needsCard, needsMember);
-    }
-
-    private Yield buildYield(Set<String> fieldIds, Map<String, Set<String>> linkedCardFields) {
-        Yield yield = new Yield();
-
-        if (fieldIds.isEmpty()) {
-            yield.setField(YieldField.basic());
-        } else {
-            YieldField yieldField = new YieldField();
-            yieldField.setFieldIds(fieldIds);
-            yieldField.setIncludeDescription(fieldIds.contains("description"));
-            yield.setField(yieldField);
+        CompiledTextExpression compiled = compile(templateString);
+        if (!compiled.hasExpressions()) {
+            cardIds.forEach(cardId -> results.put(cardId, templateString));
+            return results;
         }
 
-        if (!linkedCardFields.isEmpty()) {
-            List<YieldLink> links = new ArrayList<>();
-            for (Map.Entry<String, Set<String>> entry : linkedCardFields.entrySet()) {
-                YieldLink link = new YieldLink();
-                link.setLinkFieldId(entry.getKey());
-                Yield targetYield = new Yield();
-                YieldField targetField = new YieldField();
-                targetField.setFieldIds(entry.getValue());
-                targetYield.setField(targetField);
-                link.setTargetYield(targetYield);
-                links.add(link);
+        Map<CardId, CardDTO> cards = new HashMap<>();
+        if (compiled.needsCard()) {
+            List<CardId> distinctIds = cardIds.stream().filter(Objects::nonNull).distinct().toList();
+            for (CardDTO card : cardDataProvider.findCardsByIds(distinctIds, compiled.cardYield())) {
+                cards.put(card.getId(), card);
             }
-            yield.setLinks(links);
         }
+        CardDTO memberCard = loadMemberCard(compiled, memberCardId);
 
-        return yield;
-    }
-
-    private String getCardTitle(CardDTO card) {
-        if (card == null || card.getTitle() == null) {
-            return "";
+        for (CardId cardId : cardIds) {
+            results.put(cardId, compiled.render(cards.get(cardId), memberCard));
         }
-        return card.getTitle().getValue() != null ? card.getTitle().getValue() : "";
+        return results;
     }
 
-    private String getCardFieldValue(CardDTO card, String fieldId) {
-        if (card == null) {
-            return "";
-        }
-
-        return switch (fieldId) {
-            case "id" -> card.getId() != null ? card.getId().value() : "";
-            case "code" -> card.getCode();
-            case "title" -> getCardTitle(card);
-            case "description" -> card.getDescription() != null ? card.getDescription().getValue() : "";
-            case "statusId" -> card.getStatusId() != null ? card.getStatusId().value() : "";
-            case "createdAt" -> formatDateTime(card.getCreatedAt());
-            case "updatedAt" -> formatDateTime(card.getUpdatedAt());
-            default -> getCustomFieldValue(card, fieldId);
-        };
-    }
-
-    private String getCustomFieldValue(CardDTO card, String fieldId) {
-        if (card.getFieldValues() == null) {
-            return "";
-        }
-        FieldValue<?> fieldValue = card.getFieldValues().get(fieldId);
-        if (fieldValue == null || fieldValue.getValue() == null) {
-            return "";
-        }
-        return String.valueOf(fieldValue.getValue());
+    private CompiledTextExpression compile(String templateString) {
+        return compiledTemplates.get(templateString, CompiledTextExpression::compile);
     }
 
-    private String formatDateTime(Object dateTime) {
-        if (dateTime == null) {
-            return "";
-        }
-        if (dateTime instanceof LocalDateTime ldt) {
-            return ldt.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    private CardDTO loadMemberCard(CompiledTextExpression compiled, CardId memberCardId) {
+        if (compiled.needsMember() && memberCardId != null) {
+            return cardDataProvider.findCardById(memberCardId, compiled.memberYield());
         }
-        if (dateTime instanceof Long timestamp) {
-            return LocalDateTime.ofInstant(
-                    java.time.Instant.ofEpochMilli(timestamp),
-                    java.time.ZoneId.systemDefault()
-            ).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        }
-        return String.valueOf(dateTime);
+        return null;
     }
-
-    private record YieldPair(Yield cardYield, Yield memberYield, boolean needsCard, boolean needsMember) {}
 }
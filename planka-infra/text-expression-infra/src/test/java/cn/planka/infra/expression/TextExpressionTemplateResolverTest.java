@@ -10,11 +10,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -254,4 +256,71 @@ class TextExpressionTemplateResolverTest {
         String expectedMonth = String.valueOf(LocalDate.now().getMonthValue());
         assertThat(result).isEqualTo(expectedMonth + "月");
     }
+
+    @Test
+    @DisplayName("同一模板重复解析复用编译结果和 Yield")
+    void resolve_reusesCompiledTemplate() {
+        CardId cardId = CardId.of(1001L);
+
+        CardDTO card = new CardDTO();
+        card.setId(cardId);
+        card.setTitle(CardTitle.pure("需求A"));
+
+        ArgumentCaptor<Yield> yieldCaptor = ArgumentCaptor.forClass(Yield.class);
+        when(cardDataProvider.findCardById(eq(cardId), yieldCaptor.capture())).thenReturn(card);
+
+        assertThat(resolver.resolve("卡片：${card}", cardId, null)).isEqualTo("卡片：需求A");
+        assertThat(resolver.resolve("卡片：${card}", cardId, null)).isEqualTo("卡片：需求A");
+
+        List<Yield> yields = yieldCaptor.getAllValues();
+        assertThat(yields).hasSize(2);
+        assertThat(yields.get(0)).isSameAs(yields.get(1));
+    }
+
+    @Test
+    @DisplayName("批量解析只批量查询一次卡片和一次成员卡")
+    void resolveBatch_loadsCardsInOneQuery() {
+        CardId cardId1 = CardId.of(1001L);
+        CardId cardId2 = CardId.of(1002L);
+        CardId missingCardId = CardId.of(1003L);
+        CardId memberCardId = CardId.of(2001L);
+
+        CardDTO card1 = new CardDTO();
+        card1.setId(cardId1);
+        card1.setTitle(CardTitle.pure("需求A"));
+        card1.setFieldValues(Map.of("priority", new TextFieldValue("priority", "高")));
+
+        CardDTO card2 = new CardDTO();
+        card2.setId(cardId2);
+        card2.setTitle(CardTitle.pure("需求B"));
+
+        CardDTO memberCard = new CardDTO();
+        memberCard.setId(memberCardId);
+        memberCard.setTitle(CardTitle.pure("李四"));
+
+        when(cardDataProvider.findCardsByIds(eq(List.of(cardId1, cardId2, missingCardId)), any(Yield.class)))
+                .thenReturn(List.of(card2, card1));
+        when(cardDataProvider.findCardById(eq(memberCardId), any(Yield.class))).thenReturn(memberCard);
+
+        Map<CardId, String> results = resolver.resolveBatch(
+                "${member} 更新了 ${card}（${card.priority}）",
+                List.of(cardId1, cardId2, missingCardId), memberCardId);
+
+        assertThat(results).containsExactly(
+                Map.entry(cardId1, "李四 更新了 需求A（高）"),
+                Map.entry(cardId2, "李四 更新了 需求B（）"),
+                Map.entry(missingCardId, "李四 更新了 （）"));
+        verify(cardDataProvider, times(1)).findCardsByIds(any(), any(Yield.class));
+        verify(cardDataProvider, times(1)).findCardById(any(), any(Yield.class));
+    }
+
+    @Test
+    @DisplayName("批量解析纯文本模板不查询数据")
+    void resolveBatch_returnsPlainText_whenNoExpressions() {
+        Map<CardId, String> results = resolver.resolveBatch(
+                "纯文本", List.of(CardId.of(1L), CardId.of(2L)), CardId.of(3L));
+
+        assertThat(results).containsOnlyKeys(CardId.of(1L), CardId.of(2L)).containsValue("纯文本");
+        verifyNoInteractions(cardDataProvider);
+    }
 }
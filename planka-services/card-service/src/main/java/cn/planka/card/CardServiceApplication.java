@@ -9,7 +9,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 @SpringBootApplication(scanBasePackages = {"cn.planka"})
 @MapperScan({"cn.planka.card.mapper","cn.planka.card.workflow.repository"})
 @EnableDiscoveryClient
-@EnableFeignClients(basePackages = "cn.planka.api")
+@EnableFeignClients(basePackages = {"cn.planka.api", "cn.planka.oss.api"})
 public class CardServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(CardServiceApplication.class);
@@ -0,0 +1,44 @@
+package cn.planka.card.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 卡片详情并行加载配置
+ */
+@Slf4j
+@Configuration
+public class CardDetailAsyncConfig {
+
+    /**
+     * 卡片详情加载线程池
+     * <p>
+     * 详情页的各项数据在此线程池中并行加载。线程池和队列都有上限，
+     * 饱和时由调用线程直接执行，退化为串行加载而不是拒绝请求。
+     */
+    @Bean(name = "cardDetailExecutor")
+    public Executor cardDetailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(256);
+        executor.setThreadNamePrefix("card-detail-");
+        executor.setKeepAliveSeconds(60);
+
+        // 拒绝策略：调用者运行
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        executor.initialize();
+        log.info("初始化卡片详情加载线程池: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
+                executor.getCorePoolSize(), executor.getMaxPoolSize(), 256);
+        return executor;
+    }
+}
@@ -0,0 +1,13 @@
+package cn.planka.card.config;
+
+import cn.planka.card.service.export.CardExportProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 卡片导出配置
+ */
+@Configuration
+@EnableConfigurationProperties(CardExportProperties.class)
+public class CardExportConfig {
+}
@@ -0,0 +1,69 @@
+package cn.planka.card.config;
+
+import cn.planka.card.service.cardimport.CardImportProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 卡片导入配置
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(CardImportProperties.class)
+public class CardImportConfig {
+
+    /**
+     * 导入任务线程池
+     * <p>
+     * 每个导入任务占用一个线程，线程数即同时执行的任务数，其余任务排队等待。
+     */
+    @Bean(name = "cardImportExecutor")
+    public Executor cardImportExecutor(CardImportProperties properties) {
+        int threads = Math.max(1, properties.getMaxConcurrentJobs());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("card-import-");
+
+        // 拒绝策略：抛出异常，由提交方把任务记为失败
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+
+        executor.initialize();
+        log.info("初始化卡片导入线程池: poolSize={}", threads);
+        return executor;
+    }
+
+    /**
+     * 导入行校验线程池
+     * <p>
+     * 分块内的行在此线程池中并行转换和校验，饱和时由任务线程直接执行。
+     */
+    @Bean(name = "cardImportValidationExecutor")
+    public Executor cardImportValidationExecutor(CardImportProperties properties) {
+        int threads = Math.max(1, properties.getValidationParallelism());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("card-import-validate-");
+
+        // 拒绝策略：调用者运行
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        executor.initialize();
+        log.info("初始化导入行校验线程池: poolSize={}", threads);
+        return executor;
+    }
+}
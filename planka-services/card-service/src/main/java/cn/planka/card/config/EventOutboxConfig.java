@@ -0,0 +1,63 @@
+package cn.planka.card.config;
+
+import cn.planka.card.event.outbox.EventOutboxProperties;
+import cn.planka.card.event.outbox.EventOutboxRelay;
+import cn.planka.card.event.outbox.OutboxEventPublisher;
+import cn.planka.card.mapper.EventOutboxMapper;
+import cn.planka.event.codec.EventPayloadCodec;
+import cn.planka.event.publisher.EventPublisher;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Map;
+
+/**
+ * 事件发件箱配置
+ * <p>
+ * 启用后发件箱发布器作为主 EventPublisher，事件先写入 event_outbox 表再由中继批量发送。
+ * 中继使用独立的 Producer（不注册为 Bean，避免覆盖 Spring Boot 默认的 KafkaTemplate），
+ * 在 spring.kafka.producer 配置的基础上按吞吐调整 linger、batch 和压缩，并开启幂等发送。
+ */
+@Configuration
+@EnableConfigurationProperties(EventOutboxProperties.class)
+@ConditionalOnProperty(prefix = "planka.event.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EventOutboxConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EventOutboxRelay eventOutboxRelay(EventOutboxMapper outboxMapper,
+                                             KafkaProperties kafkaProperties,
+                                             ObjectProvider<SslBundles> sslBundles,
+                                             EventOutboxProperties properties) {
+        Map<String, Object> producerProps = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, properties.getProducer().getLingerMs());
+        producerProps.put(ProducerConfig.BATCH_SIZE_CONFIG, properties.getProducer().getBatchSize());
+        producerProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.getProducer().getCompressionType());
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        KafkaTemplate<String, byte[]> kafkaTemplate =
+                new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps));
+        return new EventOutboxRelay(outboxMapper, kafkaTemplate, properties);
+    }
+
+    @Bean
+    @Primary
+    public EventPublisher outboxEventPublisher(EventOutboxMapper outboxMapper,
+                                               EventOutboxRelay relay,
+                                               EventOutboxProperties properties) {
+        return new OutboxEventPublisher(outboxMapper, new EventPayloadCodec(), properties.getPayloadFormat(), relay);
+    }
+}
@@ -1,6 +1,7 @@
 package cn.planka.card.config;
 
 import cn.planka.event.card.CardEvent;
+import cn.planka.event.codec.EventPayloadDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,9 +42,9 @@ public class KafkaConfig {
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, EventPayloadDeserializer.class);
 
-        // 配置 JSON 反序列化
+        // 配置 JSON 反序列化（按消息格式头兼容 JSON / Smile）
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "cn.planka.event,cn.planka.event.card");
         props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, true);
 
@@ -54,7 +55,7 @@ public class KafkaConfig {
 
         return new DefaultKafkaConsumerFactory<>(props,
                 new StringDeserializer(),
-                new JsonDeserializer<>(CardEvent.class, false));
+                new EventPayloadDeserializer<>(CardEvent.class, false));
     }
 
     /**
@@ -0,0 +1,20 @@
+package cn.planka.card.config;
+
+import cn.planka.card.service.outbound.OutboundHttpClient;
+import cn.planka.card.service.outbound.OutboundHttpProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 外部接口调用配置
+ */
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class OutboundHttpConfig {
+
+    @Bean(destroyMethod = "close")
+    public OutboundHttpClient outboundHttpClient(OutboundHttpProperties properties) {
+        return new OutboundHttpClient(properties);
+    }
+}
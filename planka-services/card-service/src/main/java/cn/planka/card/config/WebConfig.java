@@ -0,0 +1,30 @@
+package cn.planka.card.config;
+
+import cn.planka.common.feign.InternalSmileCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Web 配置
+ * <p>
+ * 追加 Smile 消息转换器：内部服务通过 Accept 头协商获得二进制响应，卡片分页等大响应的体积和序列化开销更低。
+ * 转换器位于 JSON 之后，未显式要求 Smile 的外部调用方（含 Accept: *&#47;*）仍返回 JSON。
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public WebConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(InternalSmileCodec.createConverter(objectMapper));
+    }
+}
@@ -1,15 +1,24 @@
 package cn.planka.card.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import zgraph.driver.ZgraphCardQueryClient;
 import zgraph.driver.ZgraphClient;
+import zgraph.driver.ZgraphLinkQueryClient;
 import zgraph.driver.ZgraphWriteClient;
 import zgraph.driver.config.ZgraphClientConfig;
+import zgraph.driver.metrics.ZgraphMetricsRecorder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Zgraph 客户端配置
@@ -17,6 +26,8 @@ import java.util.List;
 @Configuration
 public class ZgraphConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(ZgraphConfig.class);
+
     @Bean
     @ConfigurationProperties(prefix = "zgraph")
     public ZgraphProperties zgraphProperties() {
@@ -58,15 +69,48 @@ public class ZgraphConfig {
             if (conn.getAcquireTimeoutMillis() > 0) {
                 poolBuilder.acquireTimeoutMillis(conn.getAcquireTimeoutMillis());
             }
+            if (conn.getMinIdlePerAddress() > 0) {
+                poolBuilder.minIdlePerAddress(conn.getMinIdlePerAddress());
+            }
+            if (conn.getKeepaliveIntervalMillis() > 0) {
+                poolBuilder.keepaliveIntervalMillis(conn.getKeepaliveIntervalMillis());
+            }
+            poolBuilder.preferNativeTransport(conn.isPreferNativeTransport());
             builder.channelPoolConfig(poolBuilder.build());
         }
 
+        // 配置写请求合并
+        if (properties.getWriteCoalesce() != null) {
+            ZgraphProperties.WriteCoalesceConfig coalesce = properties.getWriteCoalesce();
+            builder.writeCoalesceConfig(new ZgraphClientConfig.WriteCoalesceConfig(
+                    coalesce.isEnabled(), coalesce.getWindowMillis(), coalesce.getMaxBatchSize()));
+        }
+
         return builder.build();
     }
 
+    /**
+     * zgraph 客户端指标：存在 MeterRegistry（引入 actuator 等）时输出到 Micrometer，否则不记录
+     */
+    @Bean
+    public ZgraphMetricsRecorder zgraphMetricsRecorder(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry != null ? new ZgraphMicrometerMetricsRecorder(registry) : ZgraphMetricsRecorder.NOOP;
+    }
+
     @Bean(destroyMethod = "close")
-    public ZgraphClient zgraphClient(ZgraphClientConfig config) {
-        return new ZgraphClient(config);
+    public ZgraphClient zgraphClient(ZgraphClientConfig config, ZgraphMetricsRecorder zgraphMetricsRecorder) {
+        ZgraphClient client = new ZgraphClient(config, zgraphMetricsRecorder);
+        // 等待连接预热完成再对外提供服务，zgraph 不可用时不阻塞启动
+        try {
+            client.getWarmUpFuture().get(config.getConnectionConfig().getAcquireTimeoutMillis(),
+                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("zgraph 连接预热未在超时时间内完成，继续启动: {}", e.toString());
+        }
+        return client;
     }
 
     @Bean
@@ -79,6 +123,11 @@ public class ZgraphConfig {
         return new ZgraphWriteClient(client);
     }
 
+    @Bean
+    public ZgraphLinkQueryClient zgraphLinkQueryClient(ZgraphClient client) {
+        return new ZgraphLinkQueryClient(client);
+    }
+
     /**
      * Zgraph 配置属性类
      */
@@ -87,6 +136,7 @@ public class ZgraphConfig {
         private String username = "zgraph";
         private String password = "zgraph";
         private ConnectionConfig connection;
+        private WriteCoalesceConfig writeCoalesce;
 
         public List<ServerAddress> getServers() {
             return servers;
@@ -120,6 +170,14 @@ public class ZgraphConfig {
             this.connection = connection;
         }
 
+        public WriteCoalesceConfig getWriteCoalesce() {
+            return writeCoalesce;
+        }
+
+        public void setWriteCoalesce(WriteCoalesceConfig writeCoalesce) {
+            this.writeCoalesce = writeCoalesce;
+        }
+
         public static class ServerAddress {
             private String host = "127.0.0.1";
             private int port = 3897;
@@ -144,6 +202,9 @@ public class ZgraphConfig {
         public static class ConnectionConfig {
             private int maxPoolSize = 10;
             private int acquireTimeoutMillis = 5000;
+            private int minIdlePerAddress = 0;
+            private int keepaliveIntervalMillis = 20000;
+            private boolean preferNativeTransport = true;
 
             public int getMaxPoolSize() {
                 return maxPoolSize;
@@ -160,6 +221,60 @@ public class ZgraphConfig {
             public void setAcquireTimeoutMillis(int acquireTimeoutMillis) {
                 this.acquireTimeoutMillis = acquireTimeoutMillis;
             }
+
+            public int getMinIdlePerAddress() {
+                return minIdlePerAddress;
+            }
+
+            public void setMinIdlePerAddress(int minIdlePerAddress) {
+                this.minIdlePerAddress = minIdlePerAddress;
+            }
+
+            public int getKeepaliveIntervalMillis() {
+                return keepaliveIntervalMillis;
+            }
+
+            public void setKeepaliveIntervalMillis(int keepaliveIntervalMillis) {
+                this.keepaliveIntervalMillis = keepaliveIntervalMillis;
+            }
+
+            public boolean isPreferNativeTransport() {
+                return preferNativeTransport;
+            }
+
+            public void setPreferNativeTransport(boolean preferNativeTransport) {
+                this.preferNativeTransport = preferNativeTransport;
+            }
+        }
+
+        public static class WriteCoalesceConfig {
+            private boolean enabled = false;
+            private int windowMillis = 2;
+            private int maxBatchSize = 200;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getWindowMillis() {
+                return windowMillis;
+            }
+
+            public void setWindowMillis(int windowMillis) {
+                this.windowMillis = windowMillis;
+            }
+
+            public int getMaxBatchSize() {
+                return maxBatchSize;
+            }
+
+            public void setMaxBatchSize(int maxBatchSize) {
+                this.maxBatchSize = maxBatchSize;
+            }
         }
     }
 }
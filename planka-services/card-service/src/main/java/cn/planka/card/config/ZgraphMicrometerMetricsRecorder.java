@@ -0,0 +1,90 @@
+package cn.planka.card.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import zgraph.driver.metrics.ZgraphMetricsRecorder;
+import zgraph.driver.metrics.ZgraphPoolStats;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 把 zgraph 客户端指标桥接到 Micrometer
+ * <p>
+ * 指标：
+ * <ul>
+ *     <li>zgraph.client.requests：请求耗时直方图，标签 type / address / outcome（超时次数即 outcome=timeout 的计数）</li>
+ *     <li>zgraph.client.pool.acquire：获取连接等待耗时直方图，标签 outcome</li>
+ *     <li>zgraph.client.frame.size：帧大小分布，标签 type / direction</li>
+ *     <li>zgraph.client.pool.active / alive / max、zgraph.client.pool.created：连接池状态</li>
+ * </ul>
+ * Meter 按标签组合缓存，避免在 Netty IO 线程上重复构建。
+ */
+public class ZgraphMicrometerMetricsRecorder implements ZgraphMetricsRecorder {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final Map<Boolean, Timer> acquireTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> frameSummaries = new ConcurrentHashMap<>();
+
+    public ZgraphMicrometerMetricsRecorder(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordRequest(String requestType, String address, Outcome outcome, long latencyNanos) {
+        String key = requestType + "|" + address + "|" + outcome;
+        requestTimers.computeIfAbsent(key, k -> Timer.builder("zgraph.client.requests")
+                        .description("zgraph 请求耗时")
+                        .tag("type", requestType)
+                        .tag("address", address)
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordPoolAcquire(boolean success, long waitNanos) {
+        acquireTimers.computeIfAbsent(success, k -> Timer.builder("zgraph.client.pool.acquire")
+                        .description("从 zgraph 连接池获取连接的等待耗时")
+                        .tag("outcome", success ? "success" : "failure")
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFrameSize(String requestType, Direction direction, int bytes) {
+        String key = requestType + "|" + direction;
+        frameSummaries.computeIfAbsent(key, k -> DistributionSummary.builder("zgraph.client.frame.size")
+                        .description("zgraph 请求/响应帧大小")
+                        .baseUnit("bytes")
+                        .tag("type", requestType)
+                        .tag("direction", direction.name().toLowerCase(Locale.ROOT))
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(bytes);
+    }
+
+    @Override
+    public void bindPoolStats(ZgraphPoolStats poolStats) {
+        Gauge.builder("zgraph.client.pool.active", poolStats, ZgraphPoolStats::activeConnections)
+                .description("使用中的连接数")
+                .register(registry);
+        Gauge.builder("zgraph.client.pool.alive", poolStats, ZgraphPoolStats::aliveConnections)
+                .description("存活的连接数")
+                .register(registry);
+        Gauge.builder("zgraph.client.pool.max", poolStats, ZgraphPoolStats::maxConnections)
+                .description("连接池最大连接数")
+                .register(registry);
+        FunctionCounter.builder("zgraph.client.pool.created", poolStats, ZgraphPoolStats::totalCreatedConnections)
+                .description("累计创建的连接数")
+                .register(registry);
+    }
+}
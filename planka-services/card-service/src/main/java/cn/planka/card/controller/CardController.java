@@ -150,6 +150,14 @@ public class CardController implements CardServiceClient {
         return cardQueryService.pageQuery(request);
     }
 
+    @Override
+    @PostMapping("/typeahead")
+    public Result<PageResult<CardDTO>> typeahead(
+            @RequestHeader("X-Member-Card-Id") String operatorId,
+            @RequestBody CardTypeaheadRequest request) {
+        return cardQueryService.typeahead(request, operatorId);
+    }
+
     @Override
     @PostMapping("/query-ids")
     public Result<List<String>> queryIds(
@@ -0,0 +1,88 @@
+package cn.planka.card.controller;
+
+import cn.planka.api.card.dto.CardExportFileDTO;
+import cn.planka.api.card.request.CardExportRequest;
+import cn.planka.card.service.export.CardExportService;
+import cn.planka.common.exception.CommonErrorCode;
+import cn.planka.common.result.Result;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 卡片导出接口
+ * <p>
+ * 导出文件直接写入响应流；准备阶段失败时返回 JSON 格式的 {@link Result} 和对应的 HTTP 状态码。
+ */
+@RestController
+@RequestMapping("/api/v1/cards/export")
+public class CardExportController {
+
+    private final CardExportService cardExportService;
+    private final ObjectMapper objectMapper;
+
+    public CardExportController(CardExportService cardExportService, ObjectMapper objectMapper) {
+        this.cardExportService = cardExportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 导出卡片为 CSV / XLSX 文件流
+     */
+    @PostMapping
+    public void export(
+            @RequestHeader("X-Org-Id") String orgId,
+            @RequestHeader("X-Member-Card-Id") String operatorId,
+            @RequestBody CardExportRequest request,
+            HttpServletResponse response) throws IOException {
+        Result<CardExportService.CardExport> opened = cardExportService.open(request, orgId, operatorId);
+        if (!opened.isSuccess()) {
+            response.setStatus(httpStatusOf(opened.getCode()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), opened);
+            return;
+        }
+
+        try (CardExportService.CardExport export = opened.getData()) {
+            response.setContentType(export.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(export.getFileName(), StandardCharsets.UTF_8)
+                    .build()
+                    .toString());
+            OutputStream out = response.getOutputStream();
+            export.writeTo(out);
+            out.flush();
+        }
+    }
+
+    /**
+     * 导出卡片到对象存储
+     */
+    @PostMapping("/oss")
+    public Result<CardExportFileDTO> exportToOss(
+            @RequestHeader("X-Org-Id") String orgId,
+            @RequestHeader("X-Member-Card-Id") String operatorId,
+            @RequestBody CardExportRequest request) {
+        return cardExportService.exportToOss(request, orgId, operatorId);
+    }
+
+    private static int httpStatusOf(String code) {
+        if (CardExportService.EXPORT_BUSY.equals(code)) {
+            return 429;
+        }
+        for (CommonErrorCode errorCode : CommonErrorCode.values()) {
+            if (errorCode.getCode().equals(code)) {
+                return errorCode.getHttpStatus();
+            }
+        }
+        return HttpServletResponse.SC_BAD_REQUEST;
+    }
+}
@@ -1,7 +1,74 @@
 package cn.planka.card.controller;
 
+import cn.planka.api.card.dto.CardImportJobDTO;
+import cn.planka.card.service.cardimport.CardImportService;
+import cn.planka.common.result.Result;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * 卡片导入接口
+ * <p>
+ * 上传文件后立即返回导入任务，通过任务接口查询进度，导入结束后可下载行错误报告。
  */
+@RestController
+@RequestMapping("/api/v1/cards/import")
 public class CardImportController {
+
+    private final CardImportService cardImportService;
+
+    public CardImportController(CardImportService cardImportService) {
+        this.cardImportService = cardImportService;
+    }
+
+    /**
+     * 上传 CSV / XLSX 文件并创建导入任务
+     */
+    @PostMapping(consumes = "multipart/form-data")
+    public Result<CardImportJobDTO> start(
+            @RequestHeader("X-Org-Id") String orgId,
+            @RequestHeader("X-Member-Card-Id") String operatorId,
+            @RequestParam("typeId") String typeId,
+            @RequestParam("file") MultipartFile file) {
+        return cardImportService.start(file, OrgId.of(orgId), CardTypeId.of(typeId), CardId.of(operatorId));
+    }
+
+    /**
+     * 查询导入任务进度
+     */
+    @GetMapping("/{jobId}")
+    public Result<CardImportJobDTO> getJob(
+            @RequestHeader("X-Org-Id") String orgId,
+            @PathVariable("jobId") String jobId) {
+        return cardImportService.getJob(jobId, orgId);
+    }
+
+    /**
+     * 下载行错误报告（CSV）
+     */
+    @GetMapping("/{jobId}/errors")
+    public void downloadErrors(
+            @RequestHeader("X-Org-Id") String orgId,
+            @PathVariable("jobId") String jobId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-errors-" + jobId + ".csv\"");
+        Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+        // BOM，便于 Excel 识别编码
+        writer.write('\uFEFF');
+        if (!cardImportService.writeErrorReport(jobId, orgId, writer)) {
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
 }
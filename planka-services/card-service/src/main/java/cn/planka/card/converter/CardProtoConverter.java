@@ -36,47 +36,14 @@ public class CardProtoConverter {
 
     /**
      * 将 proto Card 转换为 CardDTO
+     * <p>
+     * 返回延迟解码的 {@link ProtoBackedCardDTO}，属性值、关联卡片等在首次访问时才解码。
      */
     public static CardDTO toCardDTO(Card protoCard) {
         if (protoCard == null) {
             return null;
         }
-
-        CardDTO dto = new CardDTO();
-
-        // 标识信息
-        dto.setId(CardId.of(String.valueOf(protoCard.getId())));
-        dto.setCodeInOrg(protoCard.getCodeInOrg());
-        dto.setCustomCode(protoCard.getCustomCode().isEmpty() ? null : protoCard.getCustomCode());
-        dto.setOrgId(OrgId.of(protoCard.getOrgId()));
-        dto.setTypeId(CardTypeId.of(protoCard.getTypeId()));
-
-        // 基本信息
-        dto.setTitle(TitleConverter.fromProto(protoCard.getTitle()));
-        dto.setDescription(fromProtoDescription(protoCard.getDescription()));
-
-        // 状态信息
-        dto.setCardCycle(QueryScopeConverter.fromProtoCardState(protoCard.getState()));
-        if (!protoCard.getStreamId().isEmpty()) {
-            dto.setStreamId(StreamId.of(protoCard.getStreamId()));
-        }
-        if (!protoCard.getStatusId().isEmpty()) {
-            dto.setStatusId(StatusId.of(protoCard.getStatusId()));
-        }
-
-        // 属性值
-        dto.setFieldValues(FieldValueConverter.fromProtoMap(protoCard.getCustomFieldValueMapMap()));
-
-        // 关联卡片
-        dto.setLinkedCards(toLinkedCardsMap(protoCard.getLinkCardMapMap()));
-
-        // 审计信息
-        dto.setCreatedAt(toLocalDateTime(protoCard.getCreatedAt()));
-        dto.setUpdatedAt(toLocalDateTime(protoCard.getUpdatedAt()));
-        dto.setAbandonedAt(protoCard.getDiscardedAt() > 0 ? toLocalDateTime(protoCard.getDiscardedAt()) : null);
-        dto.setArchivedAt(protoCard.getArchivedAt() > 0 ? toLocalDateTime(protoCard.getArchivedAt()) : null);
-
-        return dto;
+        return new ProtoBackedCardDTO(protoCard);
     }
 
     /**
@@ -98,7 +65,7 @@ public class CardProtoConverter {
      * proto 的 key 格式为 "ltId:Src" 或 "ltId:Dest"，
      * 转换后的 key 格式为 "ltId:SOURCE" 或 "ltId:TARGET"
      */
-    private static Map<String, Set<CardDTO>> toLinkedCardsMap(Map<String, CardList> linkCardMap) {
+    static Map<String, Set<CardDTO>> toLinkedCardsMap(Map<String, CardList> linkCardMap) {
         if (linkCardMap == null || linkCardMap.isEmpty()) {
             return new HashMap<>();
         }
@@ -150,7 +117,7 @@ public class CardProtoConverter {
     /**
      * 时间戳转 LocalDateTime
      */
-    private static LocalDateTime toLocalDateTime(long timestamp) {
+    static LocalDateTime toLocalDateTime(long timestamp) {
         if (timestamp <= 0) {
             return null;
         }
@@ -247,7 +214,7 @@ public class CardProtoConverter {
     /**
      * 从 proto Description 转换为 CardDescription
      */
-    private static CardDescription fromProtoDescription(String protoDescription) {
+    static CardDescription fromProtoDescription(String protoDescription) {
         if (protoDescription == null || protoDescription.isEmpty()) {
             return null;
         }
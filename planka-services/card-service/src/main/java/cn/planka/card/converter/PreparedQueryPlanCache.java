@@ -0,0 +1,165 @@
+package cn.planka.card.converter;
+
+import cn.planka.api.card.request.CardQueryRequest;
+import cn.planka.api.card.request.QueryScope;
+import cn.planka.api.card.request.Yield;
+import cn.planka.card.service.evaluator.ConditionResolver;
+import cn.planka.domain.schema.definition.condition.Condition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 预编译查询计划缓存
+ * <p>
+ * 视图驱动的查询中，queryScope/condition/yield 只取决于视图定义，同一视图版本的每次请求都会重复
+ * 条件解析和 proto 转换。这里以 queryScope/condition/yield 一次序列化（Map 键排序）得到的字节作为计划键，
+ * 把它们编译成 proto 片段缓存起来，每次请求只需绑定查询上下文（操作人）和排序分页。
+ * 计划键完全由服务端根据请求内容计算，并按完整字节比较而不是摘要，不同的查询不会共用同一个计划。
+ * <p>
+ * 动态日期（关键日期、最近/未来时间）按自然日解析，包含动态日期的计划记录编译日期，跨天后重新编译；
+ * 引用值（如当前操作人）由 zgraph 按查询上下文解析，不影响编译结果。
+ */
+@Component
+public class PreparedQueryPlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreparedQueryPlanCache.class);
+
+    private static final int MAX_PLANS = 10_000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    private final ConditionResolver conditionResolver;
+    private final ObjectWriter keyWriter;
+    private final Cache<PlanKey, PreparedQueryPlan> plans;
+
+    public PreparedQueryPlanCache(ConditionResolver conditionResolver, ObjectMapper objectMapper) {
+        this.conditionResolver = conditionResolver;
+        this.keyWriter = objectMapper.writer()
+                .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.plans = Caffeine.newBuilder()
+                .maximumSize(MAX_PLANS)
+                .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+                .build();
+    }
+
+    /**
+     * 获取请求对应的预编译计划
+     * <p>
+     * 计划键无法计算时直接编译，不进入缓存。
+     *
+     * @param request 查询请求
+     * @return 编译后的查询计划
+     */
+    public PreparedQueryPlan prepare(CardQueryRequest request) {
+        PlanKey planKey = planKey(request);
+        if (planKey == null) {
+            return compile(request, LocalDate.now());
+        }
+
+        LocalDate today = LocalDate.now();
+        PreparedQueryPlan plan = plans.get(planKey, key -> compile(request, today));
+        if (plan.isStale(today)) {
+            plan = compile(request, today);
+            plans.put(planKey, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * 当前缓存的计划数量
+     */
+    public long size() {
+        return plans.estimatedSize();
+    }
+
+    /**
+     * 计算计划键：queryScope/condition/yield 一次序列化（Map 键排序）的字节
+     */
+    PlanKey planKey(CardQueryRequest request) {
+        try {
+            return new PlanKey(keyWriter.writeValueAsBytes(
+                    new PlanSource(request.getQueryScope(), request.getCondition(), request.getYield())));
+        } catch (Exception e) {
+            logger.warn("计算查询计划键失败，跳过计划缓存", e);
+            return null;
+        }
+    }
+
+    private PreparedQueryPlan compile(CardQueryRequest request, LocalDate today) {
+        QueryScope queryScope = request.getQueryScope();
+        Condition condition = request.getCondition();
+        Yield yield = request.getYield();
+
+        boolean dynamic = conditionResolver.hasDynamicValue(condition);
+        return new PreparedQueryPlan(
+                queryScope != null ? QueryScopeConverter.toProto(queryScope) : null,
+                condition != null ? toProtoCondition(condition) : null,
+                yield != null ? YieldConverter.toProto(yield) : null,
+                dynamic ? today : null);
+    }
+
+    private zgraph.driver.proto.query.Condition toProtoCondition(Condition condition) {
+        if (condition.isEmpty()) {
+            return zgraph.driver.proto.query.Condition.getDefaultInstance();
+        }
+        // 先解析条件（转换动态日期为静态日期）
+        return ConditionConverter.toProto(conditionResolver.resolve(condition));
+    }
+
+    /**
+     * 编译后的查询计划
+     *
+     * @param queryScope 查询范围，请求未指定时为 null
+     * @param condition  已解析动态日期的条件，请求未指定时为 null
+     * @param yield      返回定义，请求未指定时为 null
+     * @param resolvedOn 动态日期的解析日期，不含动态日期时为 null
+     */
+    public record PreparedQueryPlan(zgraph.driver.proto.query.QueryScope queryScope,
+                                    zgraph.driver.proto.query.Condition condition,
+                                    zgraph.driver.proto.query.Yield yield,
+                                    LocalDate resolvedOn) {
+
+        boolean isStale(LocalDate today) {
+            return resolvedOn != null && !resolvedOn.equals(today);
+        }
+    }
+
+    /**
+     * 参与计划键计算的请求部分
+     */
+    private record PlanSource(QueryScope queryScope, Condition condition, Yield yield) {
+    }
+
+    /**
+     * 计划键，按序列化字节的内容比较
+     */
+    static final class PlanKey {
+
+        private final byte[] bytes;
+        private final int hash;
+
+        PlanKey(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof PlanKey other && hash == other.hash && Arrays.equals(bytes, other.bytes));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package cn.planka.card.converter;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.domain.card.CardDescription;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import cn.planka.domain.field.FieldValue;
+import cn.planka.domain.stream.StatusId;
+import cn.planka.domain.stream.StreamId;
+import zgraph.driver.proto.model.Card;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 基于 proto Card 的延迟解码卡片
+ * <p>
+ * 标识和状态等轻量属性在构造时解码；标题、描述、属性值、关联卡片和时间在首次访问时解码并缓存。
+ * {@link #getFieldValue(String)} 只解码被访问的单个属性，权限校验、规则触发、条件计算等只读取少量属性的
+ * 调用方不再为整张卡片的属性和关联卡片分配对象；关联卡片本身也是延迟解码的。
+ * <p>
+ * 对外序列化（Jackson 通过 getter 读取）时自然完成全部解码，也可以通过 {@link #materialize()} 显式转为普通
+ * {@link CardDTO}。setter 覆盖对应属性的解码结果。并发首次访问可能重复解码，结果一致；setter 应只在
+ * 卡片被共享前调用。
+ */
+public class ProtoBackedCardDTO extends CardDTO {
+
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 1 << 1;
+    private static final int FIELD_VALUES = 1 << 2;
+    private static final int LINKED_CARDS = 1 << 3;
+    private static final int CREATED_AT = 1 << 4;
+    private static final int UPDATED_AT = 1 << 5;
+    private static final int ABANDONED_AT = 1 << 6;
+    private static final int ARCHIVED_AT = 1 << 7;
+
+    private final Card protoCard;
+    private volatile int loaded;
+    /**
+     * 通过 getFieldValue 单独解码过的属性值，完整解码时复用
+     */
+    private volatile Map<String, FieldValue<?>> decodedFields;
+
+    ProtoBackedCardDTO(Card protoCard) {
+        this.protoCard = protoCard;
+
+        super.setId(CardId.of(String.valueOf(protoCard.getId())));
+        super.setCodeInOrg(protoCard.getCodeInOrg());
+        super.setCustomCode(protoCard.getCustomCode().isEmpty() ? null : protoCard.getCustomCode());
+        super.setOrgId(OrgId.of(protoCard.getOrgId()));
+        super.setTypeId(CardTypeId.of(protoCard.getTypeId()));
+        super.setCardCycle(QueryScopeConverter.fromProtoCardState(protoCard.getState()));
+        if (!protoCard.getStreamId().isEmpty()) {
+            super.setStreamId(StreamId.of(protoCard.getStreamId()));
+        }
+        if (!protoCard.getStatusId().isEmpty()) {
+            super.setStatusId(StatusId.of(protoCard.getStatusId()));
+        }
+    }
+
+    /**
+     * 完整解码为普通 CardDTO（关联卡片递归转换）
+     */
+    public CardDTO materialize() {
+        CardDTO dto = new CardDTO();
+        dto.setId(getId());
+        dto.setCodeInOrg(getCodeInOrg());
+        dto.setCustomCode(getCustomCode());
+        dto.setOrgId(getOrgId());
+        dto.setTypeId(getTypeId());
+        dto.setTitle(getTitle());
+        dto.setDescription(getDescription());
+        dto.setCardCycle(getCardCycle());
+        dto.setStreamId(getStreamId());
+        dto.setStatusId(getStatusId());
+        dto.setFieldValues(getFieldValues());
+        dto.setLinkedCardPermissions(getLinkedCardPermissions());
+        dto.setCreatedAt(getCreatedAt());
+        dto.setUpdatedAt(getUpdatedAt());
+        dto.setAbandonedAt(getAbandonedAt());
+        dto.setArchivedAt(getArchivedAt());
+
+        Map<String, Set<CardDTO>> linkedCards = getLinkedCards();
+        if (linkedCards != null) {
+            Map<String, Set<CardDTO>> materialized = new HashMap<>();
+            linkedCards.forEach((linkFieldId, cards) -> materialized.put(linkFieldId, cards == null ? null
+                    : cards.stream()
+                    .map(card -> card instanceof ProtoBackedCardDTO lazy ? lazy.materialize() : card)
+                    .collect(Collectors.toCollection(HashSet::new))));
+            dto.setLinkedCards(materialized);
+        }
+        return dto;
+    }
+
+    // ==================== 延迟解码 ====================
+
+    @Override
+    public CardTitle getTitle() {
+        if (isNotLoaded(TITLE)) {
+            super.setTitle(TitleConverter.fromProto(protoCard.getTitle()));
+            markLoaded(TITLE);
+        }
+        return super.getTitle();
+    }
+
+    @Override
+    public CardDescription getDescription() {
+        if (isNotLoaded(DESCRIPTION)) {
+            super.setDescription(CardProtoConverter.fromProtoDescription(protoCard.getDescription()));
+            markLoaded(DESCRIPTION);
+        }
+        return super.getDescription();
+    }
+
+    @Override
+    public Map<String, FieldValue<?>> getFieldValues() {
+        if (isNotLoaded(FIELD_VALUES)) {
+            Map<String, FieldValue<?>> values = FieldValueConverter.fromProtoMap(protoCard.getCustomFieldValueMapMap());
+            Map<String, FieldValue<?>> decoded = decodedFields;
+            if (decoded != null) {
+                // 保持与已通过 getFieldValue 返回的对象一致
+                values.putAll(decoded);
+            }
+            super.setFieldValues(values);
+            markLoaded(FIELD_VALUES);
+        }
+        return super.getFieldValues();
+    }
+
+    @Override
+    public FieldValue<?> getFieldValue(String fieldId) {
+        if (fieldId == null) {
+            return null;
+        }
+        if (!isNotLoaded(FIELD_VALUES)) {
+            return super.getFieldValue(fieldId);
+        }
+        Map<String, FieldValue<?>> decoded = decodedFields;
+        if (decoded != null) {
+            FieldValue<?> cached = decoded.get(fieldId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        zgraph.driver.proto.field.FieldValue protoValue = protoCard.getCustomFieldValueMapMap().get(fieldId);
+        if (protoValue == null) {
+            return null;
+        }
+        FieldValue<?> value = FieldValueConverter.fromProto(protoValue);
+        if (value != null) {
+            if (decoded == null) {
+                synchronized (this) {
+                    if (decodedFields == null) {
+                        decodedFields = new ConcurrentHashMap<>();
+                    }
+                    decoded = decodedFields;
+                }
+            }
+            FieldValue<?> existing = decoded.putIfAbsent(fieldId, value);
+            return existing != null ? existing : value;
+        }
+        return null;
+    }
+
+    @Override
+    public Map<String, Set<CardDTO>> getLinkedCards() {
+        if (isNotLoaded(LINKED_CARDS)) {
+            super.setLinkedCards(CardProtoConverter.toLinkedCardsMap(protoCard.getLinkCardMapMap()));
+            markLoaded(LINKED_CARDS);
+        }
+        return super.getLinkedCards();
+    }
+
+    @Override
+    public LocalDateTime getCreatedAt() {
+        if (isNotLoaded(CREATED_AT)) {
+            super.setCreatedAt(CardProtoConverter.toLocalDateTime(protoCard.getCreatedAt()));
+            markLoaded(CREATED_AT);
+        }
+        return super.getCreatedAt();
+    }
+
+    @Override
+    public LocalDateTime getUpdatedAt() {
+        if (isNotLoaded(UPDATED_AT)) {
+            super.setUpdatedAt(CardProtoConverter.toLocalDateTime(protoCard.getUpdatedAt()));
+            markLoaded(UPDATED_AT);
+        }
+        return super.getUpdatedAt();
+    }
+
+    @Override
+    public LocalDateTime getAbandonedAt() {
+        if (isNotLoaded(ABANDONED_AT)) {
+            super.setAbandonedAt(CardProtoConverter.toLocalDateTime(protoCard.getDiscardedAt()));
+            markLoaded(ABANDONED_AT);
+        }
+        return super.getAbandonedAt();
+    }
+
+    @Override
+    public LocalDateTime getArchivedAt() {
+        if (isNotLoaded(ARCHIVED_AT)) {
+            super.setArchivedAt(CardProtoConverter.toLocalDateTime(protoCard.getArchivedAt()));
+            markLoaded(ARCHIVED_AT);
+        }
+        return super.getArchivedAt();
+    }
+
+    // ==================== setter 覆盖解码结果 ====================
+
+    @Override
+    public void setTitle(CardTitle title) {
+        super.setTitle(title);
+        markLoaded(TITLE);
+    }
+
+    @Override
+    public void setDescription(CardDescription description) {
+        super.setDescription(description);
+        markLoaded(DESCRIPTION);
+    }
+
+    @Override
+    public void setFieldValues(Map<String, FieldValue<?>> fieldValues) {
+        super.setFieldValues(fieldValues);
+        markLoaded(FIELD_VALUES);
+    }
+
+    @Override
+    public void setLinkedCards(Map<String, Set<CardDTO>> linkedCards) {
+        super.setLinkedCards(linkedCards);
+        markLoaded(LINKED_CARDS);
+    }
+
+    @Override
+    public void setCreatedAt(LocalDateTime createdAt) {
+        super.setCreatedAt(createdAt);
+        markLoaded(CREATED_AT);
+    }
+
+    @Override
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        super.setUpdatedAt(updatedAt);
+        markLoaded(UPDATED_AT);
+    }
+
+    @Override
+    public void setAbandonedAt(LocalDateTime abandonedAt) {
+        super.setAbandonedAt(abandonedAt);
+        markLoaded(ABANDONED_AT);
+    }
+
+    @Override
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        super.setArchivedAt(archivedAt);
+        markLoaded(ARCHIVED_AT);
+    }
+
+    private boolean isNotLoaded(int bit) {
+        return (loaded & bit) == 0;
+    }
+
+    private synchronized void markLoaded(int bit) {
+        loaded |= bit;
+    }
+}
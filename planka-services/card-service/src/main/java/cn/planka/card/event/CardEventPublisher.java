@@ -4,6 +4,7 @@ import cn.planka.api.card.dto.CardDTO;
 import cn.planka.api.card.request.MoveCardRequest;
 import cn.planka.api.card.request.UpdateCardRequest;
 import cn.planka.card.model.CardEntity;
+import cn.planka.card.service.core.CardTypeVersionTracker;
 import cn.planka.card.service.flowrecord.ValueStreamHelper;
 import cn.planka.domain.card.CardTypeId;
 import cn.planka.domain.field.FieldValue;
@@ -43,17 +44,38 @@ public class CardEventPublisher {
     private final EventPublisher eventPublisher;
     private final ValueStreamHelper valueStreamHelper;
     private final ValueStreamCacheQuery valueStreamCacheQuery;
+    private final CardTypeVersionTracker versionTracker;
     public CardEventPublisher(EventPublisher eventPublisher,
-                              ValueStreamHelper valueStreamHelper, ValueStreamCacheQuery valueStreamCacheQuery) {
+                              ValueStreamHelper valueStreamHelper, ValueStreamCacheQuery valueStreamCacheQuery,
+                              CardTypeVersionTracker versionTracker) {
         this.eventPublisher = eventPublisher;
         this.valueStreamHelper = valueStreamHelper;
         this.valueStreamCacheQuery = valueStreamCacheQuery;
+        this.versionTracker = versionTracker;
     }
 
     /**
      * 发布卡片创建事件
      */
     public void publishCreated(CardEntity cardEntity, String operatorId) {
+        eventPublisher.publishAsync(buildCreatedEvent(cardEntity, operatorId));
+    }
+
+    /**
+     * 批量发布卡片创建事件
+     */
+    public void publishAllCreated(List<CardEntity> cardEntities, String operatorId) {
+        if (cardEntities.isEmpty()) {
+            return;
+        }
+        List<CardCreatedEvent> events = cardEntities.stream()
+                .map(cardEntity -> buildCreatedEvent(cardEntity, operatorId))
+                .toList();
+        eventPublisher.publishAll(events);
+        logger.debug("批量发布卡片创建事件: count={}", events.size());
+    }
+
+    private CardCreatedEvent buildCreatedEvent(CardEntity cardEntity, String operatorId) {
         CardCreatedEvent event = new CardCreatedEvent(
                 cardEntity.getOrgId().value(),
                 operatorId,
@@ -71,8 +93,7 @@ public class CardEventPublisher {
         event.setStatusId(cardEntity.getStatusId() != null ? cardEntity.getStatusId().value() : null);
         event.setFieldValues(cardEntity.getFieldValues());
         event.setCreatedAt(cardEntity.getCreatedAt());
-
-        eventPublisher.publishAsync(applyOperationSource(event));
+        return prepareForPublish(event);
     }
 
     /**
@@ -92,7 +113,7 @@ public class CardEventPublisher {
         detectFieldValueChanges(event, existingCard, request);
 
         if (event.hasChanges()) {
-            eventPublisher.publishAsync(applyOperationSource(event));
+            eventPublisher.publishAsync(prepareForPublish(event));
             logger.debug("发布卡片更新事件: cardId={}", existingCard.getId());
         }
     }
@@ -108,14 +129,14 @@ public class CardEventPublisher {
                 existingCard.getStatusId(),
                 request.toStatusId(),
                 operatorId);
-        eventPublisher.publishAsync(applyOperationSource(event));
+        eventPublisher.publishAsync(prepareForPublish(event));
     }
 
     /**
      * 批量发布卡片移动事件
      */
     public void publishAllMoved(List<CardMovedEvent> events) {
-        events.forEach(this::applyOperationSource);
+        events.forEach(this::prepareForPublish);
         eventPublisher.publishAll(events);
     }
 
@@ -130,7 +151,7 @@ public class CardEventPublisher {
                 null,
                 card.getTypeId().value(),
                 card.getId().value());
-        eventPublisher.publishAsync(applyOperationSource(event));
+        eventPublisher.publishAsync(prepareForPublish(event));
         logger.debug("发布卡片存档事件: cardId={}", card.getId());
     }
 
@@ -139,7 +160,7 @@ public class CardEventPublisher {
      */
     public void publishAllArchived(List<CardDTO> cards, String operatorId, String sourceIp) {
         List<CardArchivedEvent> events = cards.stream()
-                .map(card -> applyOperationSource(new CardArchivedEvent(
+                .map(card -> prepareForPublish(new CardArchivedEvent(
                         card.getOrgId().value(),
                         operatorId,
                         sourceIp,
@@ -163,7 +184,7 @@ public class CardEventPublisher {
                 card.getTypeId().value(),
                 card.getId().value(),
                 reason);
-        eventPublisher.publishAsync(applyOperationSource(event));
+        eventPublisher.publishAsync(prepareForPublish(event));
         logger.debug("发布卡片回收事件: cardId={}", card.getId());
     }
 
@@ -172,7 +193,7 @@ public class CardEventPublisher {
      */
     public void publishAllAbandoned(List<CardDTO> cards, String operatorId, String sourceIp, String reason) {
         List<CardAbandonedEvent> events = cards.stream()
-                .map(card -> applyOperationSource(new CardAbandonedEvent(
+                .map(card -> prepareForPublish(new CardAbandonedEvent(
                         card.getOrgId().value(),
                         operatorId,
                         sourceIp,
@@ -196,7 +217,7 @@ public class CardEventPublisher {
                 null,
                 card.getTypeId().value(),
                 card.getId().value());
-        eventPublisher.publishAsync(applyOperationSource(event));
+        eventPublisher.publishAsync(prepareForPublish(event));
         logger.debug("发布卡片还原事件: cardId={}", card.getId());
     }
 
@@ -205,7 +226,7 @@ public class CardEventPublisher {
      */
     public void publishAllRestored(List<CardDTO> cards, String operatorId, String sourceIp) {
         List<CardRestoredEvent> events = cards.stream()
-                .map(card -> applyOperationSource(new CardRestoredEvent(
+                .map(card -> prepareForPublish(new CardRestoredEvent(
                         card.getOrgId().value(),
                         operatorId,
                         sourceIp,
@@ -320,12 +341,14 @@ public class CardEventPublisher {
     }
 
     /**
-     * 应用操作来源上下文到事件
+     * 发布前处理事件
      * <p>
      * 从 OperationSourceContext 获取当前线程的操作来源（如业务规则、API调用等），
      * 并设置到事件中。如果没有设置操作来源，默认使用用户操作来源。
+     * 同时同步递增本地实体类型版本，写操作返回后的查询不会命中旧的查询结果缓存。
      */
-    private <T extends CardEvent> T applyOperationSource(T event) {
+    private <T extends CardEvent> T prepareForPublish(T event) {
+        versionTracker.bumpAffected(event);
         return event.withOperationSource(OperationSourceContext.current());
     }
 }
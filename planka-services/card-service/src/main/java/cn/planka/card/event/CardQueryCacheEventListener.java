@@ -0,0 +1,37 @@
+package cn.planka.card.event;
+
+import cn.planka.card.service.core.CardTypeVersionTracker;
+import cn.planka.event.card.CardEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 查询结果缓存失效监听器
+ * <p>
+ * 每个服务实例独立消费卡片事件，递增受影响实体类型的版本，使本地查询结果缓存失效。
+ * 本实例的写操作已在发布事件时同步递增，这里主要处理其他实例的写操作。
+ * 使用 latest 策略，重启时本地缓存为空，无需处理历史消息。
+ */
+@Component
+public class CardQueryCacheEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardQueryCacheEventListener.class);
+
+    private final CardTypeVersionTracker versionTracker;
+
+    public CardQueryCacheEventListener(CardTypeVersionTracker versionTracker) {
+        this.versionTracker = versionTracker;
+    }
+
+    @KafkaListener(topics = "planka-card-events",
+            groupId = "${spring.application.name}-card-query-cache-#{@schemaCacheInstanceId}",
+            containerFactory = "cardEventListenerContainerFactory",
+            properties = "auto.offset.reset=latest")
+    public void handleCardEvent(CardEvent event) {
+        logger.debug("Bump card type versions: type={}, cardId={}, cardTypeId={}",
+                event.getEventType(), event.getCardId(), event.getCardTypeId());
+        versionTracker.bumpAffected(event);
+    }
+}
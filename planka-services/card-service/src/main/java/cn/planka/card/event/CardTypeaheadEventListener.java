@@ -0,0 +1,77 @@
+package cn.planka.card.event;
+
+import cn.planka.card.service.typeahead.CardTypeaheadIndex;
+import cn.planka.domain.field.BuiltinField;
+import cn.planka.event.card.CardAbandonedEvent;
+import cn.planka.event.card.CardArchivedEvent;
+import cn.planka.event.card.CardCreatedEvent;
+import cn.planka.event.card.CardEvent;
+import cn.planka.event.card.CardRestoredEvent;
+import cn.planka.event.card.CardUpdatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 联想索引维护监听器
+ * <p>
+ * 每个服务实例独立消费卡片事件，增量维护本地联想索引：
+ * 创建事件直接写入，标题或编号（customCode）变更和恢复回查最新数据，存档和丢弃从索引移除。
+ * 使用 latest 策略，重启时索引为空，分片在首次检索时重新构建。
+ */
+@Component
+public class CardTypeaheadEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardTypeaheadEventListener.class);
+
+    private final CardTypeaheadIndex typeaheadIndex;
+
+    public CardTypeaheadEventListener(CardTypeaheadIndex typeaheadIndex) {
+        this.typeaheadIndex = typeaheadIndex;
+    }
+
+    @KafkaListener(topics = "planka-card-events",
+            groupId = "${spring.application.name}-card-typeahead-#{@schemaCacheInstanceId}",
+            containerFactory = "cardEventListenerContainerFactory",
+            properties = "auto.offset.reset=latest")
+    public void handleCardEvent(CardEvent event) {
+        try {
+            if (event instanceof CardCreatedEvent created) {
+                String code = codeOf(created);
+                if (code != null) {
+                    typeaheadIndex.onCardCreated(created.getOrgId(), created.getCardTypeId(), created.getCardId(),
+                            created.getTitle(), code, created.getCreatedAt());
+                } else {
+                    // 事件未携带编号时不直接写入，回查最新数据，避免把无效编号写入索引
+                    typeaheadIndex.onCardChanged(created.getOrgId(), created.getCardTypeId(), created.getCardId());
+                }
+            } else if (event instanceof CardUpdatedEvent updated) {
+                if (updated.getTitleChange() != null || changesCode(updated)) {
+                    typeaheadIndex.onCardChanged(updated.getOrgId(), updated.getCardTypeId(), updated.getCardId());
+                }
+            } else if (event instanceof CardRestoredEvent) {
+                typeaheadIndex.onCardChanged(event.getOrgId(), event.getCardTypeId(), event.getCardId());
+            } else if (event instanceof CardArchivedEvent || event instanceof CardAbandonedEvent) {
+                typeaheadIndex.onCardRemoved(event.getOrgId(), event.getCardTypeId(), event.getCardId());
+            }
+        } catch (Exception e) {
+            logger.warn("更新联想索引失败: type={}, cardId={}", event.getEventType(), event.getCardId(), e);
+        }
+    }
+
+    /**
+     * 卡片编号：优先自定义编号，其次内置编号；内置编号未赋值（为 0）时返回 null
+     */
+    private static String codeOf(CardCreatedEvent event) {
+        if (event.getCustomCode() != null && !event.getCustomCode().isBlank()) {
+            return event.getCustomCode();
+        }
+        return event.getCodeInOrg() > 0 ? String.valueOf(event.getCodeInOrg()) : null;
+    }
+
+    private boolean changesCode(CardUpdatedEvent event) {
+        return event.getFieldChanges() != null && event.getFieldChanges().stream()
+                .anyMatch(change -> BuiltinField.CODE.getFieldId().equals(change.getFieldId()));
+    }
+}
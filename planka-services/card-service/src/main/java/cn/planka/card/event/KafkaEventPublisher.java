@@ -13,7 +13,8 @@ import java.util.List;
 /**
  * Kafka 事件发布器实现
  * <p>
- * 将领域事件发布到 Kafka，封装 Kafka 相关细节
+ * 将领域事件发布到 Kafka，封装 Kafka 相关细节。
+ * 启用事件发件箱（planka.event.outbox.enabled）时由 OutboxEventPublisher 取代为主发布器。
  */
 @Component
 public class KafkaEventPublisher implements EventPublisher {
@@ -0,0 +1,64 @@
+package cn.planka.card.event.outbox;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事件发件箱实体
+ */
+@Data
+@TableName("event_outbox")
+public class EventOutboxEntity {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * Kafka 主题
+     */
+    private String topic;
+
+    /**
+     * Kafka 分区键
+     */
+    private String partitionKey;
+
+    /**
+     * 事件类全名（写入 __TypeId__ 消息头）
+     */
+    private String eventClass;
+
+    /**
+     * 消息体格式头（如 smile/1）
+     */
+    private String payloadFormat;
+
+    /**
+     * 编码后的消息体
+     */
+    private byte[] payload;
+
+    /**
+     * 写入该事件的实例ID
+     */
+    private String owner;
+
+    /**
+     * 当前认领批次的令牌
+     */
+    private String claimToken;
+
+    /**
+     * 认领过期时间，过期后可被重新认领
+     */
+    private LocalDateTime claimedUntil;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,84 @@
+package cn.planka.card.event.outbox;
+
+import cn.planka.event.codec.EventPayloadFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 事件发件箱配置属性
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "planka.event.outbox")
+public class EventOutboxProperties {
+
+    /**
+     * 是否启用发件箱；关闭时事件直接由 KafkaEventPublisher 发送
+     */
+    private boolean enabled = true;
+
+    /**
+     * 消息体格式；滚动升级期间消费者未全部更新时使用 JSON
+     */
+    private EventPayloadFormat payloadFormat = EventPayloadFormat.SMILE;
+
+    /**
+     * 每批认领并发送的最大事件数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 没有新事件通知时的轮询间隔
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * 认领有效期，发送失败的事件在过期后重新发送
+     */
+    private Duration claimLease = Duration.ofSeconds(30);
+
+    /**
+     * 实例心跳间隔，心跳记录在 event_outbox_owner 表中
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+    /**
+     * 写入实例超过该时间没有心跳时，其未发送的事件由其他实例接管；应为心跳间隔的数倍
+     */
+    private Duration orphanTakeoverAfter = Duration.ofMinutes(1);
+
+    /**
+     * 等待一批事件发送完成的超时时间
+     */
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Producer 配置（仅用于发件箱的 Producer）
+     */
+    private ProducerProperties producer = new ProducerProperties();
+
+    /**
+     * 发件箱 Producer 配置，按吞吐调优
+     */
+    @Getter
+    @Setter
+    public static class ProducerProperties {
+        /**
+         * 批次等待时间
+         */
+        private int lingerMs = 20;
+
+        /**
+         * 单分区批次大小（字节）
+         */
+        private int batchSize = 256 * 1024;
+
+        /**
+         * 压缩算法
+         */
+        private String compressionType = "lz4";
+    }
+}
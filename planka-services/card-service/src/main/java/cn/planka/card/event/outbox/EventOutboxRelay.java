@@ -0,0 +1,236 @@
+package cn.planka.card.event.outbox;
+
+import cn.planka.card.mapper.EventOutboxMapper;
+import cn.planka.common.util.StringUtils;
+import cn.planka.event.codec.EventPayloadFormat;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 发件箱中继
+ * <p>
+ * 单个后台线程循环执行：认领一批事件 → 全部交给 Producer 异步发送（由 linger/batch 合并、压缩）→
+ * 等待整批确认 → 删除发送成功的事件。有新事件写入时立即唤醒，否则按轮询间隔检查。
+ * <p>
+ * 投递语义为至少一次：批次在第一个发送失败的事件处截断，之前的事件删除，之后的事件（即使已发送成功）
+ * 释放认领后按原顺序重新发送，保证不会越过失败事件先送达。
+ * 每个实例优先发送自己写入的事件，保持与直接发送时相同的顺序；实例定期写入心跳，
+ * 写入实例的心跳超过接管时间未更新时，其遗留的事件才由其他实例接管。
+ */
+public class EventOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventOutboxRelay.class);
+
+    private final EventOutboxMapper outboxMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final EventOutboxProperties properties;
+    private final String owner = StringUtils.uuid();
+    private final Semaphore signal = new Semaphore(0);
+
+    private volatile boolean running;
+    private Thread worker;
+    private long lastHeartbeatNanos;
+
+    public EventOutboxRelay(EventOutboxMapper outboxMapper,
+                            KafkaTemplate<String, byte[]> kafkaTemplate,
+                            EventOutboxProperties properties) {
+        this.outboxMapper = outboxMapper;
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * 本实例ID，写入发件箱的事件以此标识归属
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        // 先登记心跳，避免本实例写入的事件在首次心跳前被其他实例视为遗留事件
+        try {
+            heartbeat();
+        } catch (Exception e) {
+            logger.warn("Failed to register event outbox heartbeat: {}", e.getMessage());
+        }
+        worker = new Thread(this::runLoop, "event-outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Event outbox relay started: owner={}", owner);
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(properties.getSendTimeout().toMillis());
+            if (worker.isAlive()) {
+                // 工作线程仍在发送，再次发送会与其并发，剩余事件在心跳过期后由其他实例接管
+                logger.warn("Event outbox relay worker did not stop in time, skip final drain: owner={}", owner);
+            } else {
+                // 尽力发送剩余事件，未发送的由其他实例或重启后接管
+                drainOnce();
+                outboxMapper.deleteOwner(owner);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Failed to drain event outbox on shutdown: {}", e.getMessage());
+        } finally {
+            if (kafkaTemplate.getProducerFactory() instanceof DisposableBean disposable) {
+                try {
+                    disposable.destroy();
+                } catch (Exception e) {
+                    logger.warn("Failed to close outbox producer: {}", e.getMessage());
+                }
+            }
+        }
+        logger.info("Event outbox relay stopped: owner={}", owner);
+    }
+
+    /**
+     * 通知中继有新事件写入
+     */
+    public void wakeUp() {
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
+
+    private void runLoop() {
+        long pollMillis = properties.getPollInterval().toMillis();
+        while (running) {
+            try {
+                heartbeatIfDue();
+                int drained = drainOnce();
+                if (drained < properties.getBatchSize()) {
+                    signal.tryAcquire(pollMillis, TimeUnit.MILLISECONDS);
+                    signal.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Event outbox relay failed, will retry", e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(pollMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void heartbeatIfDue() {
+        if (System.nanoTime() - lastHeartbeatNanos >= properties.getHeartbeatInterval().toNanos()) {
+            heartbeat();
+        }
+    }
+
+    private void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        outboxMapper.heartbeat(owner, now);
+        lastHeartbeatNanos = System.nanoTime();
+        // 没有心跳记录与心跳过期等价，清理时留足余量即可
+        outboxMapper.deleteStaleOwners(now.minus(properties.getOrphanTakeoverAfter().multipliedBy(10)));
+    }
+
+    /**
+     * 认领并发送一批事件
+     *
+     * @return 本批发送成功并删除的事件数，小于批次大小时中继等待下一次轮询
+     */
+    int drainOnce() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        String token = StringUtils.uuid();
+        int claimed = outboxMapper.claim(token,
+                now.plus(properties.getClaimLease()),
+                now,
+                owner,
+                now.minus(properties.getOrphanTakeoverAfter()),
+                properties.getBatchSize());
+        if (claimed == 0) {
+            return 0;
+        }
+
+        List<EventOutboxEntity> entries = outboxMapper.findByClaimToken(token);
+        List<Long> sentIds = send(entries);
+        if (!sentIds.isEmpty()) {
+            outboxMapper.deleteByIds(sentIds);
+        }
+        if (sentIds.size() < entries.size()) {
+            outboxMapper.releaseClaim(token);
+            logger.warn("Event outbox batch stopped at first failure, remaining events released: sent={}, released={}",
+                    sentIds.size(), entries.size() - sentIds.size());
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Event outbox batch sent: count={}", sentIds.size());
+        }
+        return sentIds.size();
+    }
+
+    /**
+     * 发送一批事件
+     *
+     * @return 从批次开头起连续发送成功的事件ID
+     */
+    private List<Long> send(List<EventOutboxEntity> entries) throws InterruptedException {
+        List<CompletableFuture<?>> futures = new ArrayList<>(entries.size());
+        for (EventOutboxEntity entry : entries) {
+            futures.add(send(entry));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // 逐条检查结果，在第一个失败或未完成的事件处截断
+        }
+
+        List<Long> sentIds = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            CompletableFuture<?> future = futures.get(i);
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                break;
+            }
+            sentIds.add(entries.get(i).getId());
+        }
+        return sentIds;
+    }
+
+    private CompletableFuture<?> send(EventOutboxEntity entry) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                entry.getEventClass().getBytes(StandardCharsets.UTF_8));
+        headers.add(EventPayloadFormat.HEADER, entry.getPayloadFormat().getBytes(StandardCharsets.UTF_8));
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(
+                entry.getTopic(), null, entry.getPartitionKey(), entry.getPayload(), headers);
+        try {
+            return kafkaTemplate.send(record);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package cn.planka.card.event.outbox;
+
+import cn.planka.card.mapper.EventOutboxMapper;
+import cn.planka.event.DomainEvent;
+import cn.planka.event.codec.EventPayloadCodec;
+import cn.planka.event.codec.EventPayloadFormat;
+import cn.planka.event.publisher.EventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 发件箱事件发布器
+ * <p>
+ * 事件编码后写入本地 event_outbox 表即返回，由 {@link EventOutboxRelay} 批量发送到 Kafka：
+ * <ul>
+ *     <li>Kafka 的延迟和抖动不再出现在写请求路径上</li>
+ *     <li>Broker 不可用时事件保留在发件箱中，恢复后继续发送，不会丢失</li>
+ *     <li>批量操作的事件一次批量写入，由 Producer 按批次压缩发送</li>
+ * </ul>
+ * 同步与异步发布语义相同：写入发件箱成功即发布成功，写入失败抛出异常。
+ */
+public class OutboxEventPublisher implements EventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxEventPublisher.class);
+
+    /**
+     * 单条 INSERT 语句的最大行数
+     */
+    private static final int INSERT_CHUNK_SIZE = 200;
+
+    private final EventOutboxMapper outboxMapper;
+    private final EventPayloadCodec codec;
+    private final EventPayloadFormat payloadFormat;
+    private final EventOutboxRelay relay;
+
+    public OutboxEventPublisher(EventOutboxMapper outboxMapper,
+                                EventPayloadCodec codec,
+                                EventPayloadFormat payloadFormat,
+                                EventOutboxRelay relay) {
+        this.outboxMapper = outboxMapper;
+        this.codec = codec;
+        this.payloadFormat = payloadFormat;
+        this.relay = relay;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        publishAll(List.of(event));
+    }
+
+    @Override
+    public void publishAll(List<? extends DomainEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<EventOutboxEntity> entries = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            entries.add(toEntry(event, now));
+        }
+        try {
+            for (int from = 0; from < entries.size(); from += INSERT_CHUNK_SIZE) {
+                outboxMapper.insertBatch(entries.subList(from, Math.min(from + INSERT_CHUNK_SIZE, entries.size())));
+            }
+        } catch (Exception e) {
+            logger.error("Failed to append events to outbox: count={}, firstType={}",
+                    events.size(), events.get(0).getEventType(), e);
+            throw new RuntimeException("Failed to publish event", e);
+        }
+        logger.debug("Appended {} events to outbox", entries.size());
+        relay.wakeUp();
+    }
+
+    private EventOutboxEntity toEntry(DomainEvent event, LocalDateTime now) {
+        EventOutboxEntity entry = new EventOutboxEntity();
+        entry.setTopic(event.getTopic());
+        entry.setPartitionKey(event.getPartitionKey());
+        entry.setEventClass(event.getClass().getName());
+        entry.setPayloadFormat(payloadFormat.getHeaderValue());
+        entry.setPayload(codec.encode(event, payloadFormat));
+        entry.setOwner(relay.getOwner());
+        entry.setCreatedAt(now);
+        return entry;
+    }
+}
@@ -0,0 +1,33 @@
+package cn.planka.card.mapper;
+
+import cn.planka.card.service.cardimport.CardImportErrorEntity;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 卡片导入行错误 Mapper
+ */
+@Mapper
+public interface CardImportErrorMapper {
+
+    /**
+     * 批量写入行错误
+     */
+    @Insert({"<script>",
+            "INSERT INTO card_import_error (job_id, row_no, message) VALUES ",
+            "<foreach collection='errors' item='e' separator=','>",
+            "(#{e.jobId}, #{e.rowNo}, #{e.message})",
+            "</foreach>",
+            "</script>"})
+    int insertBatch(@Param("errors") List<CardImportErrorEntity> errors);
+
+    /**
+     * 按行号分页查询行错误
+     */
+    @Select("SELECT job_id, row_no, message FROM card_import_error " +
+            "WHERE job_id = #{jobId} AND row_no > #{afterRow} ORDER BY row_no LIMIT #{limit}")
+    List<CardImportErrorEntity> findByJobId(@Param("jobId") String jobId,
+                                            @Param("afterRow") long afterRow,
+                                            @Param("limit") int limit);
+}
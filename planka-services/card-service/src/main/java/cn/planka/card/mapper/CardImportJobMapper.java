@@ -0,0 +1,39 @@
+package cn.planka.card.mapper;
+
+import cn.planka.card.service.cardimport.CardImportJobEntity;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 卡片导入任务 Mapper
+ */
+@Mapper
+public interface CardImportJobMapper extends BaseMapper<CardImportJobEntity> {
+
+    /**
+     * 查询未结束的任务
+     */
+    @Select("SELECT * FROM card_import_job WHERE status IN ('PENDING', 'RUNNING') ORDER BY created_at")
+    List<CardImportJobEntity> findUnfinished();
+
+    /**
+     * 认领任务
+     * <p>
+     * 只能认领本实例的任务，或超过接管时间未更新进度的任务（原实例已下线）。
+     *
+     * @return 认领成功返回 1
+     */
+    @Update("UPDATE card_import_job SET owner = #{owner}, updated_at = #{now} " +
+            "WHERE id = #{id} AND status IN ('PENDING', 'RUNNING') " +
+            "AND (owner = #{owner} OR updated_at < #{staleBefore})")
+    int claim(@Param("id") String id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,78 @@
+package cn.planka.card.mapper;
+
+import cn.planka.card.event.outbox.EventOutboxEntity;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 事件发件箱 Mapper
+ */
+@Mapper
+public interface EventOutboxMapper extends BaseMapper<EventOutboxEntity> {
+
+    /**
+     * 批量写入待发送事件
+     */
+    @Insert({"<script>",
+            "INSERT INTO event_outbox (topic, partition_key, event_class, payload_format, payload, owner, created_at) VALUES ",
+            "<foreach collection='entries' item='e' separator=','>",
+            "(#{e.topic}, #{e.partitionKey}, #{e.eventClass}, #{e.payloadFormat}, #{e.payload}, #{e.owner}, #{e.createdAt})",
+            "</foreach>",
+            "</script>"})
+    int insertBatch(@Param("entries") List<EventOutboxEntity> entries);
+
+    /**
+     * 认领一批待发送事件
+     * <p>
+     * 只认领本实例写入的事件，或写入实例在接管时间内没有心跳（已下线）的事件；
+     * 认领过期的事件可被重新认领。按事件存在时间判断会让存活实例积压的事件被提前接管，打乱发送顺序。
+     *
+     * @param heartbeatAfter 写入实例的最近心跳早于该时间即视为下线
+     * @return 认领的行数
+     */
+    @Update("UPDATE event_outbox SET claim_token = #{token}, claimed_until = #{claimedUntil} " +
+            "WHERE (claimed_until IS NULL OR claimed_until < #{now}) " +
+            "AND (owner = #{owner} OR NOT EXISTS (SELECT 1 FROM event_outbox_owner o " +
+            "WHERE o.owner = event_outbox.owner AND o.heartbeat_at >= #{heartbeatAfter})) " +
+            "ORDER BY id LIMIT #{limit}")
+    int claim(@Param("token") String token,
+              @Param("claimedUntil") LocalDateTime claimedUntil,
+              @Param("now") LocalDateTime now,
+              @Param("owner") String owner,
+              @Param("heartbeatAfter") LocalDateTime heartbeatAfter,
+              @Param("limit") int limit);
+
+    /**
+     * 查询认领批次中的事件
+     */
+    @Select("SELECT * FROM event_outbox WHERE claim_token = #{token} ORDER BY id")
+    List<EventOutboxEntity> findByClaimToken(@Param("token") String token);
+
+    /**
+     * 释放认领批次中剩余的事件，使其可以立即被重新认领
+     */
+    @Update("UPDATE event_outbox SET claim_token = NULL, claimed_until = NULL WHERE claim_token = #{token}")
+    int releaseClaim(@Param("token") String token);
+
+    /**
+     * 记录实例心跳
+     */
+    @Insert("INSERT INTO event_outbox_owner (owner, heartbeat_at) VALUES (#{owner}, #{now}) " +
+            "ON DUPLICATE KEY UPDATE heartbeat_at = VALUES(heartbeat_at)")
+    int heartbeat(@Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * 删除实例心跳（实例正常停止，剩余事件立即可被接管）
+     */
+    @Delete("DELETE FROM event_outbox_owner WHERE owner = #{owner}")
+    int deleteOwner(@Param("owner") String owner);
+
+    /**
+     * 清理长时间没有心跳的实例记录（没有心跳记录的实例同样视为下线）
+     */
+    @Delete("DELETE FROM event_outbox_owner WHERE heartbeat_at < #{before}")
+    int deleteStaleOwners(@Param("before") LocalDateTime before);
+}
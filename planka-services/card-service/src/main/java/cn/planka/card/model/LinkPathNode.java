@@ -0,0 +1,21 @@
+package cn.planka.card.model;
+
+import cn.planka.domain.card.CardTitle;
+
+import java.util.List;
+
+/**
+ * 关联路径查询返回的卡片节点
+ *
+ * @param cardId      卡片ID
+ * @param cardTypeId  实体类型ID
+ * @param fromCardIds 上一跳中与该卡片相连的卡片ID，起点为空
+ * @param title       卡片标题，未要求返回时为 null
+ */
+public record LinkPathNode(
+        String cardId,
+        String cardTypeId,
+        List<String> fromCardIds,
+        CardTitle title
+) {
+}
@@ -0,0 +1,60 @@
+package cn.planka.card.model;
+
+import java.util.List;
+
+/**
+ * 关联路径查询
+ * <p>
+ * 从起点出发，按顺序沿每一跳的关联属性遍历，一次返回每一跳可达的卡片。
+ *
+ * @param startCardIds      起点卡片ID，与 startCardTypeId 二选一
+ * @param startCardTypeId   起点实体类型，该类型下的活跃卡片作为起点
+ * @param startIncludeTitle 起点卡片是否返回标题
+ * @param hops              按顺序遍历的每一跳
+ */
+public record LinkPathQuery(
+        List<String> startCardIds,
+        String startCardTypeId,
+        boolean startIncludeTitle,
+        List<Hop> hops
+) {
+
+    /**
+     * 从指定卡片出发
+     */
+    public static LinkPathQuery fromCards(List<String> cardIds, List<Hop> hops) {
+        return new LinkPathQuery(cardIds, null, false, hops);
+    }
+
+    /**
+     * 从实体类型下的所有活跃卡片出发
+     */
+    public static LinkPathQuery fromActiveCardsOfType(String cardTypeId, boolean includeTitle, List<Hop> hops) {
+        return new LinkPathQuery(List.of(), cardTypeId, includeTitle, hops);
+    }
+
+    /**
+     * 路径中的一跳
+     *
+     * @param linkFieldId  上一跳卡片一侧的关联属性ID
+     * @param cardTypeId   只保留该实体类型的卡片，为 null 不过滤
+     * @param activeOnly   是否只保留活跃卡片，为 false 时保留活跃和归档卡片，丢弃的卡片始终不出现在路径中
+     * @param includeTitle 是否返回标题
+     * @param limit        本跳最多返回的卡片数，0 表示不限制
+     */
+    public record Hop(
+            String linkFieldId,
+            String cardTypeId,
+            boolean activeOnly,
+            boolean includeTitle,
+            int limit
+    ) {
+
+        /**
+         * 沿关联属性前进一跳，不按实体类型过滤、不返回标题
+         */
+        public static Hop follow(String linkFieldId) {
+            return new Hop(linkFieldId, null, false, false, 0);
+        }
+    }
+}
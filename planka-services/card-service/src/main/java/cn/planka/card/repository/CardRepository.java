@@ -29,6 +29,16 @@ public interface CardRepository {
      */
     CardId create(CardEntity cardEntity);
 
+    /**
+     * 创建卡片并同时创建其关联关系
+     * <p>
+     * 卡片和所有关联关系在一次请求中原子写入，任一失败则整体失败
+     *
+     * @param cardEntity               卡片实体
+     * @param targetCardIdsByLinkField 每个 linkFieldId（当前卡片一侧）对应的对端卡片ID列表
+     */
+    CardId createWithLinks(CardEntity cardEntity, Map<String, List<String>> targetCardIdsByLinkField);
+
     /**
      * 更新卡片
      */
@@ -44,6 +54,16 @@ public interface CardRepository {
      */
     List<CardId> batchCreate(List<CardEntity> cardEntities);
 
+    /**
+     * 批量创建多张卡片的关联关系
+     * <p>
+     * 所有关联关系在一次请求中写入
+     *
+     * @param targetCardIdsByLinkFieldByCard 每张卡片的 linkFieldId（该卡片一侧）对应的对端卡片ID列表
+     * @return 创建成功的关联数
+     */
+    int batchCreateLinks(Map<CardId, Map<String, List<String>>> targetCardIdsByLinkFieldByCard);
+
     /**
      * 批量更新卡片
      */
@@ -0,0 +1,24 @@
+package cn.planka.card.repository;
+
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.card.model.LinkPathNode;
+import cn.planka.card.model.LinkPathQuery;
+
+import java.util.List;
+
+/**
+ * 关联路径仓储接口
+ */
+public interface LinkPathRepository {
+
+    /**
+     * 关联路径查询
+     * <p>
+     * 所有跳在一次请求中完成遍历，查询耗时与跳数无关；服务端不支持路径查询时回退为逐跳查询
+     *
+     * @param query        路径查询
+     * @param queryContext 查询上下文（组织、操作人），回退为逐跳查询时用于查询卡片
+     * @return 每一跳的卡片节点，下标 0 为起点，下标 i 为第 i 跳；长度为跳数 + 1
+     */
+    List<List<LinkPathNode>> queryPath(LinkPathQuery query, QueryContext queryContext);
+}
@@ -8,6 +8,8 @@ import cn.planka.card.service.evaluator.ConditionResolver;
 import cn.planka.common.result.PageResult;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.link.LinkFieldIdUtils;
+import cn.planka.domain.link.LinkPosition;
 import cn.planka.domain.schema.definition.condition.Condition;
 import cn.planka.domain.stream.StatusId;
 import cn.planka.domain.stream.StreamId;
@@ -18,7 +20,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import zgraph.driver.ZgraphCardQueryClient;
 import zgraph.driver.ZgraphWriteClient;
+import zgraph.driver.exception.UnsupportedRequestException;
 import zgraph.driver.proto.model.Card;
+import zgraph.driver.proto.model.Link;
 import zgraph.driver.proto.query.CardQueryResponse;
 import zgraph.driver.proto.write.*;
 
@@ -43,12 +47,20 @@ public class ZgraphCardRepository implements CardRepository {
     private final ZgraphCardQueryClient queryClient;
     private final ZgraphWriteClient writeClient;
     private final ConditionResolver conditionResolver;
+    private final PreparedQueryPlanCache preparedQueryPlanCache;
+
+    /**
+     * 服务端是否支持 create_card_with_links，旧版本服务端不支持时回退为先建卡再建关联
+     */
+    private volatile boolean createWithLinksSupported = true;
 
     public ZgraphCardRepository(ZgraphCardQueryClient queryClient, ZgraphWriteClient writeClient,
-                                ConditionResolver conditionResolver) {
+                                ConditionResolver conditionResolver,
+                                PreparedQueryPlanCache preparedQueryPlanCache) {
         this.queryClient = queryClient;
         this.writeClient = writeClient;
         this.conditionResolver = conditionResolver;
+        this.preparedQueryPlanCache = preparedQueryPlanCache;
     }
 
     /**
@@ -90,6 +102,53 @@ public class ZgraphCardRepository implements CardRepository {
         }
     }
 
+    @Override
+    public CardId createWithLinks(CardEntity cardEntity, Map<String, List<String>> targetCardIdsByLinkField) {
+        if (!createWithLinksSupported) {
+            return createThenLink(cardEntity, targetCardIdsByLinkField);
+        }
+        long cardId = Long.parseLong(cardEntity.getId().value());
+        CreateCardWithLinksRequest.Builder requestBuilder = CreateCardWithLinksRequest.newBuilder()
+                .setCard(CardProtoConverter.toProtoCard(cardEntity))
+                .addAllLinks(toLinks(cardId, targetCardIdsByLinkField));
+
+        try {
+            CompletableFuture<BatchCardCommonResponse> future =
+                    writeClient.createCardWithLinks(requestBuilder.build());
+            BatchCardCommonResponse response = future.get(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            if (response.getSuccess() > 0) {
+                logger.info("创建卡片成功，cardId: {}, 关联数: {}", cardId, requestBuilder.getLinksCount());
+                return cardEntity.getId();
+            } else {
+                throw new RuntimeException("创建卡片失败");
+            }
+        } catch (ExecutionException e) {
+            if (UnsupportedRequestException.isCausedBy(e)) {
+                logger.warn("zgraph 服务端不支持 create_card_with_links，回退为先创建卡片再创建关联");
+                createWithLinksSupported = false;
+                return createThenLink(cardEntity, targetCardIdsByLinkField);
+            }
+            logger.error("创建卡片失败", e);
+            throw new RuntimeException("创建卡片失败: " + e.getMessage(), e);
+        } catch (InterruptedException | TimeoutException e) {
+            logger.error("创建卡片失败", e);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("创建卡片失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 旧版本服务端的创建路径：先创建卡片，再批量创建关联（非原子）
+     */
+    private CardId createThenLink(CardEntity cardEntity, Map<String, List<String>> targetCardIdsByLinkField) {
+        CardId cardId = create(cardEntity);
+        if (targetCardIdsByLinkField != null && !targetCardIdsByLinkField.isEmpty()) {
+            batchCreateLinks(Map.of(cardId, targetCardIdsByLinkField));
+        }
+        return cardId;
+    }
+
     @Override
     public void update(CardEntity cardEntity) {
         batchUpdate(List.of(cardEntity));
@@ -137,6 +196,27 @@ public class ZgraphCardRepository implements CardRepository {
         }
     }
 
+
+    @Override
+    public int batchCreateLinks(Map<CardId, Map<String, List<String>>> targetCardIdsByLinkFieldByCard) {
+        BatchCreateLinkRequest.Builder requestBuilder = BatchCreateLinkRequest.newBuilder();
+        targetCardIdsByLinkFieldByCard.forEach((cardId, targetCardIdsByLinkField) ->
+                requestBuilder.addAllLinks(toLinks(Long.parseLong(cardId.value()), targetCardIdsByLinkField)));
+        if (requestBuilder.getLinksCount() == 0) {
+            return 0;
+        }
+
+        try {
+            CompletableFuture<BatchLinkCommonResponse> future = writeClient.batchCreateLink(requestBuilder.build());
+            BatchLinkCommonResponse response = future.get(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            logger.info("批量创建关联关系完成，成功: {}, 失败: {}", response.getSuccess(), response.getFailedLinksCount());
+            return response.getSuccess();
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            logger.error("批量创建关联关系失败", e);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("批量创建关联关系失败: " + e.getMessage(), e);
+        }
+    }
     @Override
     public BatchCardCommonResponse batchUpdate(List<CardEntity> cardEntities) {
         if (cardEntities == null || cardEntities.isEmpty()) {
@@ -457,14 +537,17 @@ public class ZgraphCardRepository implements CardRepository {
         if (request.getQueryContext() != null) {
             builder.setQueryContext(QueryContextConverter.toProto(request.getQueryContext()));
         }
-        if (request.getQueryScope() != null) {
-            builder.setQueryScope(QueryScopeConverter.toProto(request.getQueryScope()));
+
+        // 查询范围、条件、返回定义走预编译计划，只有上下文和排序分页按请求绑定
+        PreparedQueryPlanCache.PreparedQueryPlan plan = preparedQueryPlanCache.prepare(request);
+        if (plan.queryScope() != null) {
+            builder.setQueryScope(plan.queryScope());
         }
-        if (request.getCondition() != null) {
-            builder.setCondition(toProtoCondition(request.getCondition()));
+        if (plan.condition() != null) {
+            builder.setCondition(plan.condition());
         }
-        if (request.getYield() != null) {
-            builder.setYield(YieldConverter.toProto(request.getYield()));
+        if (plan.yield() != null) {
+            builder.setYield(plan.yield());
         }
         if (sortAndPage != null) {
             builder.setSortAndPage(SortAndPageConverter.toProto(sortAndPage));
@@ -557,4 +640,24 @@ public class ZgraphCardRepository implements CardRepository {
                 card.getStatusId()
         );
     }
+
+    /**
+     * 把一张卡片各 linkFieldId 上的对端卡片转换为关联关系
+     */
+    private static List<Link> toLinks(long cardId, Map<String, List<String>> targetCardIdsByLinkField) {
+        List<Link> links = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : targetCardIdsByLinkField.entrySet()) {
+            String linkTypeId = LinkFieldIdUtils.getLinkTypeId(entry.getKey());
+            boolean source = LinkFieldIdUtils.getPosition(entry.getKey()) == LinkPosition.SOURCE;
+            for (String targetCardId : new LinkedHashSet<>(entry.getValue())) {
+                long peerId = Long.parseLong(targetCardId);
+                links.add(Link.newBuilder()
+                        .setLtId(linkTypeId)
+                        .setSrcId(source ? cardId : peerId)
+                        .setDestId(source ? peerId : cardId)
+                        .build());
+            }
+        }
+        return links;
+    }
 }
@@ -0,0 +1,249 @@
+package cn.planka.card.repository.impl;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardQueryRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.card.request.QueryScope;
+import cn.planka.api.card.request.Yield;
+import cn.planka.api.card.request.YieldField;
+import cn.planka.api.card.request.YieldLink;
+import cn.planka.card.converter.TitleConverter;
+import cn.planka.card.model.LinkPathNode;
+import cn.planka.card.model.LinkPathQuery;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.card.repository.LinkPathRepository;
+import cn.planka.domain.card.CardCycle;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.link.LinkFieldIdUtils;
+import cn.planka.domain.link.LinkPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import zgraph.driver.ZgraphLinkQueryClient;
+import zgraph.driver.exception.UnsupportedRequestException;
+import zgraph.driver.proto.common.CardState;
+import zgraph.driver.proto.linkquery.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 基于 Zgraph 的关联路径仓储实现
+ */
+@Repository
+public class ZgraphLinkPathRepository implements LinkPathRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZgraphLinkPathRepository.class);
+
+    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    private final ZgraphLinkQueryClient linkQueryClient;
+    private final CardRepository cardRepository;
+
+    /**
+     * 服务端是否支持 path_query，旧版本服务端不支持时回退为逐跳查询卡片及其关联卡片
+     */
+    private volatile boolean pathQuerySupported = true;
+
+    public ZgraphLinkPathRepository(ZgraphLinkQueryClient linkQueryClient, CardRepository cardRepository) {
+        this.linkQueryClient = linkQueryClient;
+        this.cardRepository = cardRepository;
+    }
+
+    @Override
+    public List<List<LinkPathNode>> queryPath(LinkPathQuery query, QueryContext queryContext) {
+        if (!pathQuerySupported) {
+            return queryPathByHops(query, queryContext);
+        }
+        PathQueryRequest request = toProto(query);
+        try {
+            PathQueryResponse response = linkQueryClient.queryPath(request)
+                    .get(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            List<List<LinkPathNode>> result = new ArrayList<>(query.hops().size() + 1);
+            for (PathHopResult hop : response.getHopsList()) {
+                List<LinkPathNode> nodes = new ArrayList<>(hop.getNodesCount());
+                for (PathNodeResult node : hop.getNodesList()) {
+                    nodes.add(fromProto(node));
+                }
+                result.add(nodes);
+            }
+            return padHops(result, query);
+        } catch (ExecutionException e) {
+            if (UnsupportedRequestException.isCausedBy(e)) {
+                logger.warn("zgraph 服务端不支持 path_query，回退为逐跳查询关联卡片");
+                pathQuerySupported = false;
+                return queryPathByHops(query, queryContext);
+            }
+            logger.error("关联路径查询失败", e);
+            throw new RuntimeException("关联路径查询失败: " + e.getMessage(), e);
+        } catch (InterruptedException | TimeoutException e) {
+            logger.error("关联路径查询失败", e);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("关联路径查询失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 旧版本服务端的遍历路径：每一跳查询上一跳卡片及其在该关联属性上的关联卡片，请求次数随跳数增长
+     */
+    private List<List<LinkPathNode>> queryPathByHops(LinkPathQuery query, QueryContext queryContext) {
+        String operatorId = queryContext != null ? queryContext.getOperatorId() : null;
+        List<List<LinkPathNode>> result = new ArrayList<>(query.hops().size() + 1);
+        List<CardDTO> startCards = query.startCardTypeId() != null
+                ? cardRepository.query(activeCardsOfTypeRequest(query.startCardTypeId(), queryContext))
+                : cardRepository.findByIds(query.startCardIds().stream().map(CardId::of).toList(),
+                basicYield(null), operatorId);
+        List<LinkPathNode> current = startCards.stream()
+                .map(card -> toNode(card, List.of(), query.startIncludeTitle()))
+                .toList();
+        result.add(current);
+
+        for (LinkPathQuery.Hop hop : query.hops()) {
+            if (current.isEmpty()) {
+                break;
+            }
+            List<CardId> currentIds = current.stream().map(node -> CardId.of(node.cardId())).toList();
+            Map<String, CardDTO> reached = new LinkedHashMap<>();
+            Map<String, List<String>> fromCardIds = new LinkedHashMap<>();
+            for (CardDTO card : cardRepository.findByIds(currentIds, basicYield(hop.linkFieldId()), operatorId)) {
+                Set<CardDTO> linkedCards = card.getLinkedCards(hop.linkFieldId());
+                if (linkedCards == null) {
+                    continue;
+                }
+                for (CardDTO linked : linkedCards) {
+                    if (!matches(linked, hop)) {
+                        continue;
+                    }
+                    String linkedId = linked.getId().asStr();
+                    reached.putIfAbsent(linkedId, linked);
+                    List<String> from = fromCardIds.computeIfAbsent(linkedId, k -> new ArrayList<>());
+                    if (!from.contains(card.getId().asStr())) {
+                        from.add(card.getId().asStr());
+                    }
+                }
+            }
+
+            List<LinkPathNode> nodes = new ArrayList<>();
+            for (CardDTO linked : reached.values()) {
+                if (hop.limit() > 0 && nodes.size() >= hop.limit()) {
+                    break;
+                }
+                nodes.add(toNode(linked, fromCardIds.get(linked.getId().asStr()), hop.includeTitle()));
+            }
+            result.add(nodes);
+            current = nodes;
+        }
+        return padHops(result, query);
+    }
+
+    /**
+     * 服务端在某一跳没有节点时可以省略之后的跳，这里补齐为空列表
+     */
+    private static List<List<LinkPathNode>> padHops(List<List<LinkPathNode>> result, LinkPathQuery query) {
+        while (result.size() < query.hops().size() + 1) {
+            result.add(List.of());
+        }
+        return result;
+    }
+
+    private static boolean matches(CardDTO card, LinkPathQuery.Hop hop) {
+        if (hop.cardTypeId() != null
+                && (card.getTypeId() == null || !hop.cardTypeId().equals(card.getTypeId().value()))) {
+            return false;
+        }
+        if (hop.activeOnly()) {
+            return card.getCardCycle() == CardCycle.ACTIVE;
+        }
+        return card.getCardCycle() != CardCycle.DISCARDED;
+    }
+
+    private static LinkPathNode toNode(CardDTO card, List<String> fromCardIds, boolean includeTitle) {
+        return new LinkPathNode(
+                card.getId().asStr(),
+                card.getTypeId() != null ? card.getTypeId().value() : null,
+                fromCardIds,
+                includeTitle ? card.getTitle() : null);
+    }
+
+    private static CardQueryRequest activeCardsOfTypeRequest(String cardTypeId, QueryContext queryContext) {
+        CardQueryRequest request = new CardQueryRequest();
+        request.setQueryContext(queryContext != null ? queryContext : new QueryContext());
+        QueryScope scope = new QueryScope();
+        scope.setCardTypeIds(List.of(cardTypeId));
+        scope.setCardCycles(List.of(CardCycle.ACTIVE));
+        request.setQueryScope(scope);
+        request.setYield(basicYield(null));
+        return request;
+    }
+
+    /**
+     * 只返回卡片基础信息，linkFieldId 不为空时同时返回该关联属性上的关联卡片
+     */
+    private static Yield basicYield(String linkFieldId) {
+        Yield yield = new Yield();
+        YieldField field = new YieldField();
+        field.setAllFields(false);
+        yield.setField(field);
+        if (linkFieldId != null) {
+            YieldLink link = new YieldLink();
+            link.setLinkFieldId(linkFieldId);
+            yield.setLinks(List.of(link));
+        }
+        return yield;
+    }
+
+    private static PathQueryRequest toProto(LinkPathQuery query) {
+        PathQueryRequest.Builder builder = PathQueryRequest.newBuilder()
+                .setStartProjection(HopProjection.newBuilder().setContainsTitle(query.startIncludeTitle()));
+        if (query.startCardTypeId() != null) {
+            builder.setStartScope(PathStartScope.newBuilder()
+                    .addCardTypeIds(query.startCardTypeId())
+                    .addStates(CardState.Active));
+        } else {
+            for (String cardId : query.startCardIds()) {
+                builder.addStartCardIds(Long.parseLong(cardId));
+            }
+        }
+
+        for (LinkPathQuery.Hop hop : query.hops()) {
+            LinkPosition position = LinkFieldIdUtils.getPosition(hop.linkFieldId());
+            PathHop.Builder hopBuilder = PathHop.newBuilder()
+                    .setLtWithPosition(LtWithPosition.newBuilder()
+                            .setLtId(LinkFieldIdUtils.getLinkTypeId(hop.linkFieldId()))
+                            .setPosition(position == LinkPosition.SOURCE
+                                    ? zgraph.driver.proto.common.LinkPosition.Src
+                                    : zgraph.driver.proto.common.LinkPosition.Dest))
+                    .setProjection(HopProjection.newBuilder().setContainsTitle(hop.includeTitle()))
+                    .setLimit(hop.limit());
+            if (hop.cardTypeId() != null) {
+                hopBuilder.addCardTypeIds(hop.cardTypeId());
+            }
+            // 显式指定状态，不依赖服务端对空状态的默认处理，丢弃的卡片不参与遍历
+            hopBuilder.addStates(CardState.Active);
+            if (!hop.activeOnly()) {
+                hopBuilder.addStates(CardState.Archived);
+            }
+            builder.addHops(hopBuilder);
+        }
+        return builder.build();
+    }
+
+    private static LinkPathNode fromProto(PathNodeResult node) {
+        List<String> fromCardIds = new ArrayList<>(node.getFromCardIdsCount());
+        for (long fromCardId : node.getFromCardIdsList()) {
+            fromCardIds.add(String.valueOf(fromCardId));
+        }
+        return new LinkPathNode(
+                String.valueOf(node.getCardId()),
+                node.getTypeId(),
+                fromCardIds,
+                node.hasTitle() ? TitleConverter.fromProto(node.getTitle()) : null);
+    }
+}
@@ -9,6 +9,9 @@ import cn.planka.api.card.request.UpdateLinkRequest;
 import cn.planka.card.repository.CardRepository;
 import cn.planka.card.service.core.CardService;
 import cn.planka.card.service.core.LinkCardService;
+import cn.planka.card.service.outbound.OutboundHttpClient;
+import cn.planka.card.service.outbound.OutboundHttpRequest;
+import cn.planka.card.service.outbound.OutboundHttpResponse;
 import cn.planka.common.exception.CommonErrorCode;
 import cn.planka.common.result.Result;
 import cn.planka.domain.card.CardId;
@@ -29,11 +32,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 卡片动作执行服务
@@ -51,6 +59,7 @@ public class CardActionExecutionService {
     private final LinkCardService linkCardService;
     private final TextExpressionTemplateResolver templateResolver;
     private final ObjectMapper objectMapper;
+    private final OutboundHttpClient outboundHttpClient;
 
     /**
      * 获取卡片可用的动作列表
@@ -182,7 +191,7 @@ public class CardActionExecutionService {
         } else if (executionType instanceof NavigateToPageExecution navigate) {
             return executeNavigate(navigate, card);
         } else if (executionType instanceof CallExternalApiExecution callApi) {
-            return executeCallExternalApi(callApi, card);
+            return executeCallExternalApi(callApi, card, operatorId);
         } else if (executionType instanceof TriggerBuiltInExecution triggerBuiltIn) {
             return executeBuiltInAction(triggerBuiltIn.getBuiltInActionType(), card, operatorId, userInputs);
         } else if (executionType instanceof CreateLinkedCardExecution createLinked) {
@@ -775,15 +784,50 @@ public class CardActionExecutionService {
      */
     private ActionExecutionResult executeCallExternalApi(
             CallExternalApiExecution execution,
-            CardDTO card) {
+            CardDTO card,
+            CardId operatorId) {
 
-        // TODO: 实现外部接口调用逻辑
-        // 包括变量替换、HTTP请求、响应处理等
+        String url = templateResolver.resolve(execution.getUrl(), card.getId(), operatorId);
+        log.info("执行调用外部接口动作: cardId={}, url={}", card.getId(), url);
+
+        OutboundHttpRequest request;
+        try {
+            Map<String, String> headers = new LinkedHashMap<>();
+            headers.put("Content-Type", "application/json");
+            if (execution.getHeaders() != null) {
+                execution.getHeaders().forEach((name, value) ->
+                        headers.put(name, templateResolver.resolve(value, card.getId(), operatorId)));
+            }
+            String body = templateResolver.resolve(execution.getBodyTemplate(), card.getId(), operatorId);
+            Duration timeout = execution.getTimeoutMs() > 0 ? Duration.ofMillis(execution.getTimeoutMs()) : null;
+            request = new OutboundHttpRequest(execution.getMethod().name(), URI.create(url), headers, body, timeout);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ActionExecutionResult.error("接口地址无效: " + url);
+        }
 
-        log.info("执行调用外部接口动作: cardId={}, url={}",
-                card.getId(), execution.getUrl());
+        CompletableFuture<OutboundHttpResponse> future = outboundHttpClient.send(request);
+        if (!execution.isWaitForResponse()) {
+            future.whenComplete((response, error) -> {
+                if (error != null) {
+                    log.warn("异步调用外部接口失败: cardId={}, url={}, error={}",
+                            card.getId(), url, error.getMessage());
+                }
+            });
+            return ActionExecutionResult.success("接口调用已提交");
+        }
 
-        return ActionExecutionResult.success("接口调用成功");
+        try {
+            OutboundHttpResponse response = future.join();
+            if (!response.is2xxSuccessful()) {
+                return ActionExecutionResult.error("接口返回非成功状态码: " + response.statusCode());
+            }
+            return ActionExecutionResult.success("接口调用成功", response.body());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("调用外部接口失败: cardId={}, url={}, error={}",
+                    card.getId(), url, cause.getMessage());
+            return ActionExecutionResult.error("接口调用失败: " + cause.getMessage());
+        }
     }
 
     /**
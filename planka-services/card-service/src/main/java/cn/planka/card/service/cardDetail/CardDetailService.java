@@ -7,11 +7,13 @@ import cn.planka.api.card.request.YieldField;
 import cn.planka.api.card.request.YieldLink;
 import cn.planka.api.schema.service.FieldConfigQueryService;
 import cn.planka.card.service.core.CardQueryService;
+import cn.planka.common.exception.CommonErrorCode;
 import cn.planka.common.result.Result;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.card.CardTypeId;
 import cn.planka.domain.link.LinkFieldIdUtils;
 import cn.planka.domain.schema.definition.cardtype.CardTypeDefinition;
+import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
 import cn.planka.domain.schema.definition.stream.StatusConfig;
 import cn.planka.domain.schema.definition.stream.StepConfig;
 import cn.planka.domain.schema.definition.stream.ValueStreamDefinition;
@@ -23,14 +25,21 @@ import cn.planka.domain.schema.definition.template.detail.FieldItemConfig;
 import cn.planka.domain.schema.definition.template.detail.SectionConfig;
 import cn.planka.domain.schema.definition.template.detail.TabConfig;
 import cn.planka.domain.stream.StatusId;
+import cn.planka.infra.cache.card.CardCacheService;
+import cn.planka.infra.cache.card.model.CardBasicInfo;
 import cn.planka.infra.cache.schema.SchemaCacheService;
 import cn.planka.infra.cache.schema.query.CardDetailTemplateCacheQuery;
 import cn.planka.infra.cache.schema.query.ValueStreamCacheQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 卡片详情服务
@@ -42,31 +51,51 @@ public class CardDetailService {
 
     private static final Logger logger = LoggerFactory.getLogger(CardDetailService.class);
 
+    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
     private final CardQueryService cardQueryService;
+    private final CardCacheService cardCacheService;
     private final FieldConfigQueryService fieldConfigQueryService;
     private final FieldControlService fieldControlService;
     private final FieldRenderConfigService fieldRenderConfigService;
     private final SchemaCacheService schemaCacheService;
     private final ValueStreamCacheQuery valueStreamCacheQuery;
     private final CardDetailTemplateCacheQuery cardDetailTemplateCacheQuery;
+    private final Executor executor;
 
     public CardDetailService(CardQueryService cardQueryService,
+                             CardCacheService cardCacheService,
                              FieldConfigQueryService fieldConfigQueryService,
                              FieldControlService fieldControlService,
                              FieldRenderConfigService fieldRenderConfigService,
                              SchemaCacheService schemaCacheService,
-                             ValueStreamCacheQuery valueStreamCacheQuery, CardDetailTemplateCacheQuery cardDetailTemplateCacheQuery) {
+                             ValueStreamCacheQuery valueStreamCacheQuery,
+                             CardDetailTemplateCacheQuery cardDetailTemplateCacheQuery,
+                             @Qualifier("cardDetailExecutor") Executor executor) {
         this.cardQueryService = cardQueryService;
+        this.cardCacheService = cardCacheService;
         this.fieldConfigQueryService = fieldConfigQueryService;
         this.fieldControlService = fieldControlService;
         this.fieldRenderConfigService = fieldRenderConfigService;
         this.schemaCacheService = schemaCacheService;
         this.valueStreamCacheQuery = valueStreamCacheQuery;
         this.cardDetailTemplateCacheQuery = cardDetailTemplateCacheQuery;
+        this.executor = executor;
     }
 
     /**
      * 获取卡片详情（含模板、字段渲染配置和字段控制配置）
+     * <p>
+     * 从缓存取得实体类型后，各项数据按依赖关系并行加载：
+     * <pre>
+     * 字段配置 ──┬─→ 字段渲染元数据
+     *           ├─→ 字段控制配置
+     *           └─→ 默认模板（未配置模板时）
+     * 详情模板 ────→ Yield ─→ 卡片数据 ─┐
+     * 价值流定义 ───────────────────────┴─→ 价值流状态信息
+     * 实体类型信息
+     * </pre>
+     * 卡片数据（含关联卡片）只查询一次，总耗时接近最慢的一条依赖链。
      *
      * @param cardId     卡片ID
      * @param operatorId 操作人ID
@@ -76,64 +105,78 @@ public class CardDetailService {
         try {
             CardId operatorCardId = CardId.of(operatorId);
 
-            // 1. 先用简单的 Yield 获取卡片基本信息（主要是 typeId）
-            Result<CardDTO> basicCardResult = cardQueryService.findById(cardId, Yield.basic(), operatorCardId);
-            if (!basicCardResult.isSuccess()) {
-                return Result.failure(basicCardResult.getCode(), basicCardResult.getMessage());
+            // 1. 从缓存获取实体类型
+            Optional<CardBasicInfo> basicInfo = cardCacheService.getBasicInfoById(cardId);
+            if (basicInfo.isEmpty()) {
+                return Result.failure(CommonErrorCode.NOT_FOUND, "卡片不存在");
             }
-            CardTypeId cardTypeId = basicCardResult.getData().getTypeId();
-
-            // 2. 获取字段配置
-            List<cn.planka.domain.schema.definition.fieldconfig.FieldConfig> domainFieldConfigs =
-                    fieldConfigQueryService.getFieldConfigs(cardTypeId.value());
-
-            // 3. 获取详情模板，如果没有则创建默认模板
-            CardDetailTemplateDefinition templateDef = getTemplateDefinition(cardTypeId, domainFieldConfigs);
-
-            // 4. 根据模板构建 Yield
-            Yield yield = buildYieldFromTemplate(templateDef);
-
-            // 5. 用完整的 Yield 获取卡片数据（包含关联卡片）
-            Result<CardDTO> cardResult = cardQueryService.findById(cardId, yield, operatorCardId);
+            CardTypeId cardTypeId = basicInfo.get().cardTypeId();
+
+            // 2. 字段配置及其派生数据
+            CompletableFuture<List<FieldConfig>> fieldConfigsFuture = CompletableFuture.supplyAsync(
+                    () -> fieldConfigQueryService.getFieldConfigs(cardTypeId.value()), executor);
+            CompletableFuture<List<CardDetailResponse.FieldRenderMetaDTO>> fieldRenderMetasFuture =
+                    fieldConfigsFuture.thenApplyAsync(
+                            configs -> fieldRenderConfigService.toRenderMetas(configs, cardId, operatorCardId),
+                            executor);
+            CompletableFuture<Map<String, CardDetailResponse.FieldControlDTO>> fieldControlsFuture =
+                    fieldConfigsFuture.thenApplyAsync(
+                            configs -> fieldControlService.computeFieldControls(configs, operatorId), executor);
+
+            // 3. 详情模板 → 卡片数据（包含关联卡片），配置了模板时不等待字段配置
+            CompletableFuture<CardDetailTemplateDefinition> templateFuture = CompletableFuture
+                    .supplyAsync(() -> findConfiguredTemplate(cardTypeId), executor)
+                    .thenCompose(selected -> selected
+                            .map(CompletableFuture::completedFuture)
+                            .orElseGet(() -> fieldConfigsFuture.thenApply(DefaultCardDetailTemplateBuilder::build)));
+            CompletableFuture<Result<CardDTO>> cardFuture = templateFuture.thenApplyAsync(
+                    templateDef -> cardQueryService.findById(cardId, buildYieldFromTemplate(templateDef), operatorCardId),
+                    executor);
+
+            // 4. 实体类型信息和价值流定义
+            CompletableFuture<CardDetailResponse.CardTypeInfoDTO> cardTypeInfoFuture = CompletableFuture.supplyAsync(
+                    () -> getCardTypeInfo(cardTypeId.value()), executor);
+            CompletableFuture<Optional<ValueStreamDefinition>> valueStreamFuture = CompletableFuture.supplyAsync(
+                    () -> getValueStream(cardTypeId), executor);
+
+            CompletableFuture.allOf(fieldRenderMetasFuture, fieldControlsFuture, cardFuture,
+                            cardTypeInfoFuture, valueStreamFuture)
+                    .get(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            Result<CardDTO> cardResult = cardFuture.join();
             if (!cardResult.isSuccess()) {
                 return Result.failure(cardResult.getCode(), cardResult.getMessage());
             }
             CardDTO card = cardResult.getData();
 
-            // 6. 转换模板为 DTO
-            CardDetailResponse.DetailTemplateDTO template = convertToDTO(templateDef);
-
-            // 7. 转换为字段渲染元数据（与列表视图统一的 FieldRenderConfig）
-            List<CardDetailResponse.FieldRenderMetaDTO> fieldRenderMetas =
-                    fieldRenderConfigService.toRenderMetas(domainFieldConfigs, cardId, operatorCardId);
-
-            // 8. 计算字段控制配置（必填/只读）
-            Map<String, CardDetailResponse.FieldControlDTO> fieldControls =
-                    fieldControlService.computeFieldControls(domainFieldConfigs, operatorId);
-
-            // 9. 获取实体类型信息
-            CardDetailResponse.CardTypeInfoDTO cardTypeInfo = getCardTypeInfo(cardTypeId.value());
-
-            // 10. 获取价值流状态信息（如果卡片有 statusId）
+            // 5. 获取价值流状态信息（如果卡片有 statusId）
             CardDetailResponse.ValueStreamStatusInfoDTO valueStreamStatusInfo = null;
             if (card.getStatusId() != null) {
                 valueStreamStatusInfo = getValueStreamStatusInfo(
+                        valueStreamFuture.join(),
                         cardTypeId,
                         card.getStatusId()
                 );
             }
 
-            // 11. 组装响应
+            // 6. 组装响应
             CardDetailResponse response = CardDetailResponse.builder()
                     .card(card)
-                    .template(template)
-                    .fieldRenderMetas(fieldRenderMetas)
-                    .fieldControls(fieldControls)
-                    .cardTypeInfo(cardTypeInfo)
+                    .template(convertToDTO(templateFuture.join()))
+                    .fieldRenderMetas(fieldRenderMetasFuture.join())
+                    .fieldControls(fieldControlsFuture.join())
+                    .cardTypeInfo(cardTypeInfoFuture.join())
                     .valueStreamStatusInfo(valueStreamStatusInfo)
                     .build();
 
             return Result.success(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("获取卡片详情被中断", e);
+            return Result.failure("INTERNAL_ERROR", "获取卡片详情失败: " + e.getMessage());
+        } catch (ExecutionException e) {
+            logger.error("获取卡片详情失败", e.getCause());
+            return Result.failure("INTERNAL_ERROR", "获取卡片详情失败: " + e.getCause().getMessage());
         } catch (Exception e) {
             logger.error("获取卡片详情失败", e);
             return Result.failure("INTERNAL_ERROR", "获取卡片详情失败: " + e.getMessage());
@@ -141,23 +184,18 @@ public class CardDetailService {
     }
 
     /**
-     * 获取详情模板定义
+     * 获取已配置的详情模板定义
      * <p>
-     * 如果没有配置模板，则根据字段配置创建默认模板
+     * 没有配置模板时返回空，由调用方根据字段配置创建默认模板
      */
-    private CardDetailTemplateDefinition getTemplateDefinition(
-            CardTypeId cardTypeId,
-            List<cn.planka.domain.schema.definition.fieldconfig.FieldConfig> fieldConfigs) {
+    private Optional<CardDetailTemplateDefinition> findConfiguredTemplate(CardTypeId cardTypeId) {
         try {
             List<CardDetailTemplateDefinition> templates = cardDetailTemplateCacheQuery.getByCardTypeId(cardTypeId);
-            Optional<CardDetailTemplateDefinition> selected = CardDetailTemplateEffectiveHelper.selectFromList(templates);
-            if (selected.isPresent()) {
-                return selected.get();
-            }
+            return CardDetailTemplateEffectiveHelper.selectFromList(templates);
         } catch (Exception e) {
             logger.warn("获取详情模板失败: {}", e.getMessage());
         }
-        return DefaultCardDetailTemplateBuilder.build(fieldConfigs);
+        return Optional.empty();
     }
 
     /**
@@ -310,13 +348,25 @@ public class CardDetailService {
         return CardDetailResponse.CardTypeInfoDTO.builder().id(cardTypeId).build();
     }
 
+    /**
+     * 获取价值流定义
+     */
+    private Optional<ValueStreamDefinition> getValueStream(CardTypeId cardTypeId) {
+        try {
+            return valueStreamCacheQuery.getValueStreamByCardTypeId(cardTypeId);
+        } catch (Exception e) {
+            logger.warn("获取价值流定义失败: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
     /**
      * 获取价值流状态信息
      */
-    private CardDetailResponse.ValueStreamStatusInfoDTO getValueStreamStatusInfo(CardTypeId cardTypeId, StatusId statusId) {
+    private CardDetailResponse.ValueStreamStatusInfoDTO getValueStreamStatusInfo(Optional<ValueStreamDefinition> opt,
+                                                                                  CardTypeId cardTypeId,
+                                                                                  StatusId statusId) {
         try {
-            // 获取价值流定义DTO
-            Optional<ValueStreamDefinition> opt = valueStreamCacheQuery.getValueStreamByCardTypeId(cardTypeId);
             if (opt.isPresent()) {
                 ValueStreamDefinition stream = opt.get();
                 // 遍历阶段和状态查找匹配的状态
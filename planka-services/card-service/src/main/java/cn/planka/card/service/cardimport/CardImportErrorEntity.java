@@ -0,0 +1,19 @@
+package cn.planka.card.service.cardimport;
+
+import lombok.Data;
+
+/**
+ * 卡片导入行错误实体
+ */
+@Data
+public class CardImportErrorEntity {
+
+    private String jobId;
+
+    /**
+     * 文件中的行号
+     */
+    private Long rowNo;
+
+    private String message;
+}
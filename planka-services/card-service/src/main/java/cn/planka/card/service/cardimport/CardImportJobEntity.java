@@ -0,0 +1,74 @@
+package cn.planka.card.service.cardimport;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 卡片导入任务实体
+ */
+@Data
+@TableName("card_import_job")
+public class CardImportJobEntity {
+
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    private String orgId;
+
+    private String cardTypeId;
+
+    private String operatorId;
+
+    /**
+     * 原始文件名
+     */
+    private String fileName;
+
+    /**
+     * 上传文件在本地工作目录中的路径
+     */
+    private String filePath;
+
+    /**
+     * 任务状态，见 {@link CardImportJobStatus}
+     */
+    private String status;
+
+    /**
+     * 执行任务的实例
+     */
+    private String owner;
+
+    /**
+     * 已处理的数据行数（不含表头），恢复时从此处继续
+     */
+    private Long processedRows;
+
+    private Long successCount;
+
+    private Long failedCount;
+
+    private Integer chunkCount;
+
+    /**
+     * 正在写入的分块预分配的卡片ID（逗号分隔），分块完成后清空
+     */
+    private String pendingCardIds;
+
+    /**
+     * 被忽略的列（逗号分隔）
+     */
+    private String ignoredColumns;
+
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,15 @@
+package cn.planka.card.service.cardimport;
+
+/**
+ * 卡片导入任务状态
+ */
+public enum CardImportJobStatus {
+    /** 等待执行（含暂时失败、等待重试的任务） */
+    PENDING,
+    /** 执行中 */
+    RUNNING,
+    /** 已完成（可能包含失败行） */
+    COMPLETED,
+    /** 任务失败（文件无法解析等永久错误） */
+    FAILED
+}
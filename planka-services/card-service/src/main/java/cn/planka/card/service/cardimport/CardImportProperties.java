@@ -0,0 +1,57 @@
+package cn.planka.card.service.cardimport;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 卡片导入配置属性
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "planka.card-import")
+public class CardImportProperties {
+
+    /**
+     * 上传文件的本地工作目录，任务结束后删除文件；需要持久化才能在重启后恢复任务
+     */
+    private Path workDir = Path.of(System.getProperty("java.io.tmpdir"), "planka-card-import");
+
+    /**
+     * 每个分块的行数，每个分块一次批量写入并记录一次检查点
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 同时执行的导入任务数
+     */
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * 行转换和校验的并行度
+     */
+    private int validationParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 每个任务最多记录的行错误数，超出部分只计数
+     */
+    private int maxRecordedErrors = 10_000;
+
+    /**
+     * 任务超过该时间未更新进度时，其他实例可以接管
+     */
+    private Duration staleAfter = Duration.ofMinutes(5);
+
+    /**
+     * 数据库或图数据库暂时不可用时的最大重试次数，用完后任务保持等待状态，实例重启时恢复
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 重试的基础延迟，第 n 次重试延迟 n 倍
+     */
+    private Duration retryDelay = Duration.ofSeconds(30);
+}
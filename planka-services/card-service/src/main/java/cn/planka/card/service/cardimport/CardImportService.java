@@ -0,0 +1,640 @@
+package cn.planka.card.service.cardimport;
+
+import cn.planka.api.card.dto.CardImportJobDTO;
+import cn.planka.api.schema.service.FieldConfigQueryService;
+import cn.planka.card.event.CardEventPublisher;
+import cn.planka.card.mapper.CardImportErrorMapper;
+import cn.planka.card.mapper.CardImportJobMapper;
+import cn.planka.card.model.CardEntity;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.card.service.core.CardEntityConverter;
+import cn.planka.card.service.permission.CardPermissionService;
+import cn.planka.card.service.permission.exception.PermissionDeniedException;
+import cn.planka.card.service.validation.FieldValueValidator;
+import cn.planka.common.exception.CommonErrorCode;
+import cn.planka.common.result.Result;
+import cn.planka.common.util.StringUtils;
+import cn.planka.common.util.SystemSchemaIds;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import cn.planka.domain.history.OperationSourceContext;
+import cn.planka.domain.history.source.ImportOperationSource;
+import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
+import cn.planka.domain.schema.definition.permission.PermissionConfig.CardOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import zgraph.driver.exception.ConnectionFailureException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 卡片导入服务
+ * <p>
+ * 上传的 CSV / XLSX 文件先落盘并登记任务，再由导入线程池异步执行：
+ * <ul>
+ *   <li>文件逐行流式读取，按分块处理，内存占用与文件大小无关</li>
+ *   <li>分块内的行并行转换和校验，校验失败的行记录到行错误表</li>
+ *   <li>每个分块的卡片和创建人关联各一次批量写入图数据库，创建事件一次批量发布</li>
+ *   <li>每个分块完成后在同一事务中写入行错误、创建事件和进度检查点</li>
+ * </ul>
+ * 写入图数据库前先把分块预分配的卡片ID记入任务，实例崩溃后从检查点恢复时沿用这些ID，
+ * 已经写入的卡片不会重复创建，缺失的创建人关联会补写；恢复的分块校验结果与预分配数量不一致时任务失败。
+ * <p>
+ * 数据库或图数据库暂时不可用（连接失败、超时）时任务不标记失败：保留上传文件和检查点，任务回到等待状态，
+ * 延迟后从检查点重试；重试次数用完后等待实例重启时恢复。只有文件无法解析等永久错误才标记任务失败并删除文件。
+ */
+@Service
+public class CardImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardImportService.class);
+
+    private static final int ERROR_PAGE_SIZE = 1000;
+    private static final String ID_SEPARATOR = ",";
+
+    private final CardImportJobMapper jobMapper;
+    private final CardImportErrorMapper errorMapper;
+    private final CardRepository cardRepository;
+    private final CardEntityConverter entityConverter;
+    private final CardEventPublisher eventPublisher;
+    private final CardPermissionService permissionService;
+    private final FieldConfigQueryService fieldConfigQueryService;
+    private final FieldValueValidator fieldValueValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final CardImportProperties properties;
+    private final Executor importExecutor;
+    private final Executor validationExecutor;
+    private final String owner;
+
+    /**
+     * 暂时失败的任务已重试次数
+     */
+    private final Map<String, Integer> retryAttempts = new ConcurrentHashMap<>();
+
+    public CardImportService(CardImportJobMapper jobMapper,
+                             CardImportErrorMapper errorMapper,
+                             CardRepository cardRepository,
+                             CardEntityConverter entityConverter,
+                             CardEventPublisher eventPublisher,
+                             CardPermissionService permissionService,
+                             FieldConfigQueryService fieldConfigQueryService,
+                             FieldValueValidator fieldValueValidator,
+                             TransactionTemplate transactionTemplate,
+                             CardImportProperties properties,
+                             @Qualifier("cardImportExecutor") Executor importExecutor,
+                             @Qualifier("cardImportValidationExecutor") Executor validationExecutor) {
+        this.jobMapper = jobMapper;
+        this.errorMapper = errorMapper;
+        this.cardRepository = cardRepository;
+        this.entityConverter = entityConverter;
+        this.eventPublisher = eventPublisher;
+        this.permissionService = permissionService;
+        this.fieldConfigQueryService = fieldConfigQueryService;
+        this.fieldValueValidator = fieldValueValidator;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.importExecutor = importExecutor;
+        this.validationExecutor = validationExecutor;
+        this.owner = resolveOwner();
+    }
+
+    /**
+     * 提交导入任务
+     *
+     * @param file       上传的文件
+     * @param orgId      组织ID
+     * @param typeId     实体类型ID
+     * @param operatorId 操作人ID（成员卡片ID）
+     * @return 导入任务
+     */
+    public Result<CardImportJobDTO> start(MultipartFile file, OrgId orgId, CardTypeId typeId, CardId operatorId) {
+        String fileName = file.getOriginalFilename();
+        String extension = extensionOf(fileName);
+        if (!".csv".equals(extension) && !".xlsx".equals(extension)) {
+            return Result.failure(CommonErrorCode.BAD_REQUEST, "仅支持 .csv 和 .xlsx 文件");
+        }
+        try {
+            permissionService.checkCardOperationForCreate(CardOperation.CREATE, typeId, operatorId);
+
+            String jobId = StringUtils.uuid();
+            Path dir = properties.getWorkDir().resolve(jobId);
+            Files.createDirectories(dir);
+            Path target = dir.resolve("source" + extension);
+            file.transferTo(target);
+
+            LocalDateTime now = LocalDateTime.now();
+            CardImportJobEntity job = new CardImportJobEntity();
+            job.setId(jobId);
+            job.setOrgId(orgId.value());
+            job.setCardTypeId(typeId.value());
+            job.setOperatorId(operatorId.value());
+            job.setFileName(fileName);
+            job.setFilePath(target.toAbsolutePath().toString());
+            job.setStatus(CardImportJobStatus.PENDING.name());
+            job.setOwner(owner);
+            job.setProcessedRows(0L);
+            job.setSuccessCount(0L);
+            job.setFailedCount(0L);
+            job.setChunkCount(0);
+            job.setCreatedAt(now);
+            job.setUpdatedAt(now);
+            jobMapper.insert(job);
+
+            submit(jobId);
+            return Result.success(toDTO(job));
+        } catch (PermissionDeniedException e) {
+            return Result.failure(e.getErrorCode(), e.getMessage());
+        } catch (Exception e) {
+            logger.error("提交卡片导入任务失败: fileName={}", fileName, e);
+            return Result.failure(CommonErrorCode.INTERNAL_ERROR, "提交导入任务失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 查询导入任务
+     */
+    public Result<CardImportJobDTO> getJob(String jobId, String orgId) {
+        CardImportJobEntity job = jobMapper.selectById(jobId);
+        if (job == null || (orgId != null && !orgId.equals(job.getOrgId()))) {
+            return Result.failure(CommonErrorCode.NOT_FOUND, "导入任务不存在: " + jobId);
+        }
+        return Result.success(toDTO(job));
+    }
+
+    /**
+     * 以 CSV 格式输出导入任务的行错误报告
+     *
+     * @return 任务不存在时返回 false
+     */
+    public boolean writeErrorReport(String jobId, String orgId, Writer writer) throws IOException {
+        CardImportJobEntity job = jobMapper.selectById(jobId);
+        if (job == null || (orgId != null && !orgId.equals(job.getOrgId()))) {
+            return false;
+        }
+        writer.write("行号,错误\r\n");
+        long afterRow = 0;
+        while (true) {
+            List<CardImportErrorEntity> page = errorMapper.findByJobId(jobId, afterRow, ERROR_PAGE_SIZE);
+            for (CardImportErrorEntity error : page) {
+                writer.write(error.getRowNo() + "," + escapeCsv(error.getMessage()) + "\r\n");
+            }
+            if (page.size() < ERROR_PAGE_SIZE) {
+                break;
+            }
+            afterRow = page.get(page.size() - 1).getRowNo();
+        }
+        writer.flush();
+        return true;
+    }
+
+    /**
+     * 应用启动后恢复未结束的任务
+     * <p>
+     * 只恢复上传文件仍在本地工作目录中的任务；其他实例的任务需超过接管时间才能认领。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        for (CardImportJobEntity job : jobMapper.findUnfinished()) {
+            if (job.getFilePath() != null && Files.exists(Path.of(job.getFilePath()))) {
+                logger.info("恢复卡片导入任务: jobId={}, processedRows={}", job.getId(), job.getProcessedRows());
+                submit(job.getId());
+            }
+        }
+    }
+
+    private void submit(String jobId) {
+        try {
+            importExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            logger.warn("卡片导入任务排队已满: jobId={}", jobId);
+            finish(jobId, CardImportJobStatus.FAILED, "导入任务排队已满，请稍后重试");
+        }
+    }
+
+    /**
+     * 执行导入任务
+     */
+    void run(String jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobMapper.claim(jobId, owner, now, now.minus(properties.getStaleAfter())) == 0) {
+            logger.info("卡片导入任务已由其他实例执行或已结束: jobId={}", jobId);
+            return;
+        }
+        CardImportJobEntity job = jobMapper.selectById(jobId);
+        markRunning(jobId);
+
+        try (AutoCloseable ignored = OperationSourceContext.with(new ImportOperationSource(jobId, job.getFileName()))) {
+            importFile(job);
+            retryAttempts.remove(jobId);
+            finish(jobId, CardImportJobStatus.COMPLETED, null);
+            deleteWorkFile(job);
+        } catch (Exception e) {
+            if (isRetryable(e)) {
+                logger.warn("卡片导入任务暂时失败，保留检查点等待重试: jobId={}", jobId, e);
+                suspend(jobId, e.getMessage());
+                scheduleRetry(jobId);
+                return;
+            }
+            logger.error("卡片导入任务失败: jobId={}", jobId, e);
+            retryAttempts.remove(jobId);
+            finish(jobId, CardImportJobStatus.FAILED, e.getMessage());
+            deleteWorkFile(job);
+        }
+    }
+
+    /**
+     * 数据库或图数据库暂时不可用导致的失败，从检查点重试可以继续
+     */
+    static boolean isRetryable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause() != t ? t.getCause() : null) {
+            if (t instanceof TransientDataAccessException
+                    || t instanceof RecoverableDataAccessException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof SQLTransientException
+                    || t instanceof SQLRecoverableException
+                    || t instanceof TimeoutException
+                    || t instanceof ConnectionFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 任务回到等待状态，保留检查点和上传文件
+     * <p>
+     * 数据库不可用时更新会失败，任务保持执行中状态，本实例或接管的实例仍可认领。
+     */
+    private void suspend(String jobId, String errorMessage) {
+        try {
+            CardImportJobEntity update = new CardImportJobEntity();
+            update.setId(jobId);
+            update.setStatus(CardImportJobStatus.PENDING.name());
+            update.setErrorMessage(errorMessage);
+            update.setUpdatedAt(LocalDateTime.now());
+            jobMapper.updateById(update);
+        } catch (Exception e) {
+            logger.warn("更新卡片导入任务状态失败: jobId={}", jobId, e);
+        }
+    }
+
+    /**
+     * 延迟后重新提交任务，延迟随重试次数递增；重试次数用完后等待实例重启时恢复
+     */
+    private void scheduleRetry(String jobId) {
+        int attempt = retryAttempts.merge(jobId, 1, Integer::sum);
+        if (attempt > properties.getMaxRetries()) {
+            retryAttempts.remove(jobId);
+            logger.warn("卡片导入任务重试次数已用完，等待实例重启后恢复: jobId={}", jobId);
+            return;
+        }
+        long delayMillis = properties.getRetryDelay().toMillis() * attempt;
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            try {
+                importExecutor.execute(() -> run(jobId));
+            } catch (RejectedExecutionException e) {
+                retryAttempts.remove(jobId);
+                logger.warn("卡片导入任务排队已满，等待实例重启后恢复: jobId={}", jobId);
+            }
+        });
+    }
+
+    private void importFile(CardImportJobEntity job) throws IOException {
+        OrgId orgId = OrgId.of(job.getOrgId());
+        CardTypeId typeId = CardTypeId.of(job.getCardTypeId());
+        List<FieldConfig> fieldConfigs = fieldConfigQueryService.getFieldConfigs(typeId.value());
+
+        try (ImportRowReader reader = ImportRowReader.open(Path.of(job.getFilePath()), job.getFileName())) {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("文件为空");
+            }
+            ImportColumns columns = ImportColumns.resolve(header, fieldConfigs);
+            if (!columns.ignoredHeaders().isEmpty() && job.getIgnoredColumns() == null) {
+                CardImportJobEntity update = new CardImportJobEntity();
+                update.setId(job.getId());
+                update.setIgnoredColumns(String.join(ID_SEPARATOR, columns.ignoredHeaders()));
+                jobMapper.updateById(update);
+            }
+            ImportRowConverter converter = new ImportRowConverter(columns, fieldConfigs, orgId, typeId,
+                    job.getOperatorId(), fieldValueValidator, ZoneId.systemDefault());
+
+            // 跳过已处理的行
+            for (long i = 0; i < job.getProcessedRows(); i++) {
+                if (reader.next() == null) {
+                    return;
+                }
+            }
+
+            ChunkState state = new ChunkState(job);
+            List<String> reservedIds = splitIds(job.getPendingCardIds());
+            List<RawRow> chunk = new ArrayList<>(properties.getChunkSize());
+            List<String> cells;
+            while ((cells = reader.next()) != null) {
+                chunk.add(new RawRow(reader.rowNumber(), cells));
+                if (chunk.size() >= properties.getChunkSize()) {
+                    processChunk(job, state, converter, chunk, reservedIds);
+                    reservedIds = List.of();
+                    chunk = new ArrayList<>(properties.getChunkSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, state, converter, chunk, reservedIds);
+            }
+        }
+    }
+
+    private void processChunk(CardImportJobEntity job,
+                              ChunkState state,
+                              ImportRowConverter converter,
+                              List<RawRow> chunk,
+                              List<String> reservedIds) {
+        List<ImportRowResult> results = convertParallel(converter, chunk);
+        List<ImportRowResult> valid = results.stream().filter(ImportRowResult::isValid).toList();
+        List<CardImportErrorEntity> errors = new ArrayList<>();
+        for (ImportRowResult result : results) {
+            if (!result.isValid()) {
+                errors.add(toError(job.getId(), result.rowNumber(), result.error()));
+            }
+        }
+
+        // 预分配卡片ID并先记入任务，崩溃恢复时沿用，避免重复创建
+        boolean resuming = !reservedIds.isEmpty();
+        if (resuming && reservedIds.size() != valid.size()) {
+            // 重新分配ID会让上次已写入的卡片变成重复卡片，只能中止任务
+            throw new IllegalStateException("恢复的分块与检查点不一致，预分配卡片 " + reservedIds.size()
+                    + " 张，本次校验通过 " + valid.size() + " 行，可能是字段配置已变更");
+        }
+        List<CardId> cardIds = resuming
+                ? reservedIds.stream().map(CardId::of).toList()
+                : valid.stream().map(result -> CardId.generate()).toList();
+        if (!cardIds.isEmpty()) {
+            CardImportJobEntity pending = new CardImportJobEntity();
+            pending.setId(job.getId());
+            pending.setPendingCardIds(cardIds.stream().map(CardId::value).collect(Collectors.joining(ID_SEPARATOR)));
+            pending.setUpdatedAt(LocalDateTime.now());
+            jobMapper.updateById(pending);
+        }
+
+        List<CardEntity> entities = new ArrayList<>(valid.size());
+        Map<CardId, Long> rowNumbers = new HashMap<>();
+        for (int i = 0; i < valid.size(); i++) {
+            entities.add(entityConverter.toCardEntityForCreate(valid.get(i).request(), cardIds.get(i)));
+            rowNumbers.put(cardIds.get(i), valid.get(i).rowNumber());
+        }
+
+        List<CardEntity> created = writeCards(job, entities, resuming, rowNumbers, errors);
+
+        state.processedRows += chunk.size();
+        state.successCount += created.size();
+        state.failedCount += errors.size();
+        state.chunkCount++;
+        List<CardImportErrorEntity> recorded = capErrors(state, errors);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!recorded.isEmpty()) {
+                errorMapper.insertBatch(recorded);
+            }
+            if (!created.isEmpty()) {
+                eventPublisher.publishAllCreated(created, job.getOperatorId());
+            }
+            CardImportJobEntity checkpoint = new CardImportJobEntity();
+            checkpoint.setId(job.getId());
+            checkpoint.setProcessedRows(state.processedRows);
+            checkpoint.setSuccessCount(state.successCount);
+            checkpoint.setFailedCount(state.failedCount);
+            checkpoint.setChunkCount(state.chunkCount);
+            checkpoint.setPendingCardIds("");
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            jobMapper.updateById(checkpoint);
+        });
+        state.recordedErrors += recorded.size();
+    }
+
+    /**
+     * 批量写入卡片和创建人关联
+     *
+     * @return 写入成功的卡片（含恢复时已存在的卡片），写入失败的行追加到 errors
+     */
+    private List<CardEntity> writeCards(CardImportJobEntity job,
+                                        List<CardEntity> entities,
+                                        boolean resuming,
+                                        Map<CardId, Long> rowNumbers,
+                                        List<CardImportErrorEntity> errors) {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+        Set<CardId> existing = resuming
+                ? cardRepository.findBasicInfoByIds(rowNumbers.keySet()).keySet()
+                : Set.of();
+        List<CardEntity> toCreate = entities.stream()
+                .filter(entity -> !existing.contains(entity.getId()))
+                .toList();
+
+        Set<CardId> written = new HashSet<>(existing);
+        if (!toCreate.isEmpty()) {
+            written.addAll(cardRepository.batchCreate(toCreate));
+        }
+        // 恢复时已存在的卡片也补写创建人关联：上次可能在写入卡片后、写入关联前中断，已存在的关联不会重复创建
+        String creatorLinkFieldId = SystemSchemaIds.creatorLinkTypeId(job.getOrgId()) + ":SOURCE";
+        Map<CardId, Map<String, List<String>>> creatorLinks = new LinkedHashMap<>();
+        for (CardEntity entity : entities) {
+            if (written.contains(entity.getId())) {
+                creatorLinks.put(entity.getId(), Map.of(creatorLinkFieldId, List.of(job.getOperatorId())));
+            }
+        }
+        if (!creatorLinks.isEmpty()) {
+            cardRepository.batchCreateLinks(creatorLinks);
+        }
+
+        List<CardEntity> created = new ArrayList<>(entities.size());
+        for (CardEntity entity : entities) {
+            if (written.contains(entity.getId())) {
+                created.add(entity);
+            } else {
+                errors.add(toError(job.getId(), rowNumbers.get(entity.getId()), "写入卡片失败"));
+            }
+        }
+        errors.sort(Comparator.comparing(CardImportErrorEntity::getRowNo));
+        return created;
+    }
+
+    /**
+     * 分块内的行切分后在校验线程池中并行转换，结果保持原有顺序
+     */
+    private List<ImportRowResult> convertParallel(ImportRowConverter converter, List<RawRow> chunk) {
+        int parallelism = Math.max(1, properties.getValidationParallelism());
+        int sliceSize = Math.max(1, (chunk.size() + parallelism - 1) / parallelism);
+        List<CompletableFuture<List<ImportRowResult>>> futures = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<RawRow> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> slice.stream()
+                    .map(row -> converter.convert(row.rowNumber(), row.cells()))
+                    .filter(Objects::nonNull)
+                    .toList(), validationExecutor));
+        }
+        List<ImportRowResult> results = new ArrayList<>(chunk.size());
+        for (CompletableFuture<List<ImportRowResult>> future : futures) {
+            results.addAll(future.join());
+        }
+        return results;
+    }
+
+    private List<CardImportErrorEntity> capErrors(ChunkState state, List<CardImportErrorEntity> errors) {
+        int remaining = properties.getMaxRecordedErrors() - state.recordedErrors;
+        if (remaining <= 0) {
+            return List.of();
+        }
+        return errors.size() <= remaining ? errors : errors.subList(0, remaining);
+    }
+
+    private void markRunning(String jobId) {
+        CardImportJobEntity update = new CardImportJobEntity();
+        update.setId(jobId);
+        update.setStatus(CardImportJobStatus.RUNNING.name());
+        update.setUpdatedAt(LocalDateTime.now());
+        jobMapper.updateById(update);
+    }
+
+    private void finish(String jobId, CardImportJobStatus status, String errorMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        CardImportJobEntity update = new CardImportJobEntity();
+        update.setId(jobId);
+        update.setStatus(status.name());
+        update.setErrorMessage(errorMessage);
+        update.setUpdatedAt(now);
+        update.setFinishedAt(now);
+        jobMapper.updateById(update);
+    }
+
+    private void deleteWorkFile(CardImportJobEntity job) {
+        if (job.getFilePath() == null) {
+            return;
+        }
+        Path file = Path.of(job.getFilePath());
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.getParent());
+        } catch (IOException e) {
+            logger.warn("删除导入文件失败: {}", file, e);
+        }
+    }
+
+    private static CardImportErrorEntity toError(String jobId, long rowNumber, String message) {
+        CardImportErrorEntity error = new CardImportErrorEntity();
+        error.setJobId(jobId);
+        error.setRowNo(rowNumber);
+        error.setMessage(message);
+        return error;
+    }
+
+    private static CardImportJobDTO toDTO(CardImportJobEntity job) {
+        CardImportJobDTO dto = new CardImportJobDTO();
+        dto.setId(job.getId());
+        dto.setCardTypeId(job.getCardTypeId());
+        dto.setFileName(job.getFileName());
+        dto.setStatus(job.getStatus());
+        dto.setProcessedRows(job.getProcessedRows() != null ? job.getProcessedRows() : 0);
+        dto.setSuccessCount(job.getSuccessCount() != null ? job.getSuccessCount() : 0);
+        dto.setFailedCount(job.getFailedCount() != null ? job.getFailedCount() : 0);
+        dto.setChunkCount(job.getChunkCount() != null ? job.getChunkCount() : 0);
+        dto.setIgnoredColumns(splitIds(job.getIgnoredColumns()));
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        return dto;
+    }
+
+    private static List<String> splitIds(String joined) {
+        if (joined == null || joined.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(joined.split(ID_SEPARATOR));
+    }
+
+    private static String extensionOf(String fileName) {
+        if (fileName == null || fileName.lastIndexOf('.') < 0) {
+            return "";
+        }
+        return fileName.substring(fileName.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String resolveOwner() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    private record RawRow(long rowNumber, List<String> cells) {
+    }
+
+    /**
+     * 任务进度，跨分块累计
+     */
+    private static final class ChunkState {
+        private long processedRows;
+        private long successCount;
+        private long failedCount;
+        private int chunkCount;
+        private int recordedErrors;
+
+        private ChunkState(CardImportJobEntity job) {
+            this.processedRows = job.getProcessedRows();
+            this.successCount = job.getSuccessCount();
+            this.failedCount = job.getFailedCount();
+            this.chunkCount = job.getChunkCount();
+            // 恢复的任务按已失败行数保守估计已记录的错误数
+            this.recordedErrors = (int) Math.min(job.getFailedCount(), Integer.MAX_VALUE);
+        }
+    }
+}
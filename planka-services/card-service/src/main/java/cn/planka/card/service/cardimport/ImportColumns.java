@@ -0,0 +1,114 @@
+package cn.planka.card.service.cardimport;
+
+import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
+import cn.planka.domain.schema.definition.fieldconfig.FieldType;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 导入文件的列映射
+ * <p>
+ * 表头依次按属性名称、属性编码、属性ID匹配实体类型的属性配置；
+ * 标题列和描述列按固定表头识别。无法匹配或类型不支持导入的列会被忽略。
+ *
+ * @param titleIndex       标题列序号
+ * @param descriptionIndex 描述列序号，没有描述列时为 -1
+ * @param fieldColumns     属性列
+ * @param ignoredHeaders   被忽略的表头
+ */
+public record ImportColumns(int titleIndex,
+                            int descriptionIndex,
+                            List<FieldColumn> fieldColumns,
+                            List<String> ignoredHeaders) {
+
+    private static final Set<String> TITLE_HEADERS = Set.of("标题", "title");
+    private static final Set<String> DESCRIPTION_HEADERS = Set.of("描述", "description");
+
+    /**
+     * 支持从文本导入的属性类型
+     */
+    static final Set<FieldType> IMPORTABLE_TYPES = EnumSet.of(
+            FieldType.TEXT, FieldType.TEXTAREA, FieldType.MARKDOWN,
+            FieldType.NUMBER, FieldType.DATE, FieldType.ENUM, FieldType.WEB_URL);
+
+    /**
+     * 属性列
+     *
+     * @param index       列序号
+     * @param fieldConfig 属性配置
+     */
+    public record FieldColumn(int index, FieldConfig fieldConfig) {
+    }
+
+    /**
+     * 解析表头
+     *
+     * @param header       表头行
+     * @param fieldConfigs 实体类型的属性配置
+     * @throws IllegalArgumentException 缺少标题列时
+     */
+    public static ImportColumns resolve(List<String> header, List<FieldConfig> fieldConfigs) {
+        Map<String, FieldConfig> byName = new HashMap<>();
+        Map<String, FieldConfig> byCode = new HashMap<>();
+        Map<String, FieldConfig> byId = new HashMap<>();
+        for (FieldConfig fieldConfig : fieldConfigs) {
+            if (!IMPORTABLE_TYPES.contains(fieldConfig.getFieldType())) {
+                continue;
+            }
+            byName.putIfAbsent(normalize(fieldConfig.getName()), fieldConfig);
+            if (fieldConfig.getCode() != null) {
+                byCode.putIfAbsent(normalize(fieldConfig.getCode()), fieldConfig);
+            }
+            byId.putIfAbsent(fieldConfig.getFieldId().value(), fieldConfig);
+        }
+
+        int titleIndex = -1;
+        int descriptionIndex = -1;
+        List<FieldColumn> fieldColumns = new ArrayList<>();
+        List<String> ignoredHeaders = new ArrayList<>();
+        Set<String> mappedFieldIds = new HashSet<>();
+        for (int i = 0; i < header.size(); i++) {
+            String raw = header.get(i) == null ? "" : header.get(i).trim();
+            String key = normalize(raw);
+            if (key.isEmpty()) {
+                continue;
+            }
+            if (titleIndex < 0 && TITLE_HEADERS.contains(key)) {
+                titleIndex = i;
+                continue;
+            }
+            if (descriptionIndex < 0 && DESCRIPTION_HEADERS.contains(key)) {
+                descriptionIndex = i;
+                continue;
+            }
+            FieldConfig fieldConfig = byName.get(key);
+            if (fieldConfig == null) {
+                fieldConfig = byCode.get(key);
+            }
+            if (fieldConfig == null) {
+                fieldConfig = byId.get(raw);
+            }
+            if (fieldConfig == null || !mappedFieldIds.add(fieldConfig.getFieldId().value())) {
+                ignoredHeaders.add(raw);
+                continue;
+            }
+            fieldColumns.add(new FieldColumn(i, fieldConfig));
+        }
+
+        if (titleIndex < 0) {
+            throw new IllegalArgumentException("导入文件缺少标题列（表头为“标题”或“title”）");
+        }
+        return new ImportColumns(titleIndex, descriptionIndex, List.copyOf(fieldColumns), List.copyOf(ignoredHeaders));
+    }
+
+    private static String normalize(String header) {
+        return header == null ? "" : header.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,226 @@
+package cn.planka.card.service.cardimport;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CreateCardRequest;
+import cn.planka.card.service.validation.FieldValueValidator;
+import cn.planka.domain.card.CardDescription;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import cn.planka.domain.field.DateFieldValue;
+import cn.planka.domain.field.EnumFieldValue;
+import cn.planka.domain.field.FieldValue;
+import cn.planka.domain.field.NumberFieldValue;
+import cn.planka.domain.field.TextFieldValue;
+import cn.planka.domain.field.WebLinkFieldValue;
+import cn.planka.domain.schema.definition.fieldconfig.EnumFieldConfig;
+import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 导入行转换器
+ * <p>
+ * 把一行单元格文本转换为创建卡片请求，并按属性配置的校验规则校验。
+ * 无状态，可被多个线程同时使用。
+ */
+public class ImportRowConverter {
+
+    private static final Pattern ENUM_SEPARATOR = Pattern.compile("[,，;；]");
+    private static final Pattern INTEGER = Pattern.compile("-?\\d+");
+    private static final DateTimeFormatter DATETIME_SECOND = DateTimeFormatter.ofPattern("yyyy-M-d H:m:s");
+    private static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-M-d H:m");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-M-d");
+    private static final DateTimeFormatter YEAR_MONTH = DateTimeFormatter.ofPattern("yyyy-M");
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    /** 小于该值的数字按 Excel 日期序列号处理，否则按毫秒时间戳处理 */
+    private static final long EXCEL_SERIAL_LIMIT = 10_000_000L;
+
+    private final ImportColumns columns;
+    private final List<FieldConfig> fieldConfigs;
+    private final OrgId orgId;
+    private final CardTypeId typeId;
+    private final String operatorId;
+    private final FieldValueValidator validator;
+    private final ZoneId zoneId;
+
+    public ImportRowConverter(ImportColumns columns,
+                              List<FieldConfig> fieldConfigs,
+                              OrgId orgId,
+                              CardTypeId typeId,
+                              String operatorId,
+                              FieldValueValidator validator,
+                              ZoneId zoneId) {
+        this.columns = columns;
+        this.fieldConfigs = fieldConfigs;
+        this.orgId = orgId;
+        this.typeId = typeId;
+        this.operatorId = operatorId;
+        this.validator = validator;
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * 转换一行
+     *
+     * @param rowNumber 行号
+     * @param cells     单元格
+     * @return 转换结果，空行返回 null
+     */
+    public ImportRowResult convert(long rowNumber, List<String> cells) {
+        if (cells.stream().allMatch(cell -> cell == null || cell.isBlank())) {
+            return null;
+        }
+
+        String title = cell(cells, columns.titleIndex());
+        if (title.isEmpty()) {
+            return ImportRowResult.failed(rowNumber, "标题不能为空");
+        }
+        String description = columns.descriptionIndex() >= 0 ? cell(cells, columns.descriptionIndex()) : "";
+
+        Map<String, FieldValue<?>> fieldValues = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        for (ImportColumns.FieldColumn column : columns.fieldColumns()) {
+            String text = cell(cells, column.index());
+            if (text.isEmpty()) {
+                continue;
+            }
+            FieldConfig fieldConfig = column.fieldConfig();
+            try {
+                FieldValue<?> value = toFieldValue(fieldConfig, text);
+                fieldValues.put(value.getFieldId(), value);
+            } catch (IllegalArgumentException e) {
+                errors.add(fieldConfig.getName() + ": " + e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ImportRowResult.failed(rowNumber, String.join("; ", errors));
+        }
+
+        CreateCardRequest request = new CreateCardRequest(orgId, typeId, CardTitle.pure(title),
+                description.isEmpty() ? null : description, fieldValues);
+
+        FieldValueValidator.ValidationResult validation = validator.validateCard(
+                toValidationCard(request), fieldConfigs, operatorId);
+        if (!validation.valid()) {
+            return ImportRowResult.failed(rowNumber, validation.getFormattedError());
+        }
+        return ImportRowResult.success(rowNumber, request);
+    }
+
+    private FieldValue<?> toFieldValue(FieldConfig fieldConfig, String text) {
+        String fieldId = fieldConfig.getFieldId().value();
+        return switch (fieldConfig.getFieldType()) {
+            case NUMBER -> new NumberFieldValue(fieldId, parseNumber(text));
+            case DATE -> new DateFieldValue(fieldId, parseDate(text));
+            case ENUM -> new EnumFieldValue(fieldId, parseEnum((EnumFieldConfig) fieldConfig, text));
+            case WEB_URL -> new WebLinkFieldValue(fieldId, text, null);
+            default -> new TextFieldValue(fieldId, text);
+        };
+    }
+
+    private static Double parseNumber(String text) {
+        try {
+            return Double.valueOf(text.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("不是有效的数字: " + text);
+        }
+    }
+
+    /**
+     * 解析日期为毫秒时间戳
+     * <p>
+     * 支持 yyyy-MM-dd [HH:mm[:ss]]、yyyy-MM（/ 分隔亦可）、毫秒时间戳和 Excel 日期序列号。
+     */
+    Long parseDate(String text) {
+        if (INTEGER.matcher(text).matches() || text.matches("\\d+\\.\\d+")) {
+            double number = Double.parseDouble(text);
+            if (number < EXCEL_SERIAL_LIMIT) {
+                long seconds = Math.round(number * 86_400);
+                return EXCEL_EPOCH.atStartOfDay().plusSeconds(seconds).atZone(zoneId).toInstant().toEpochMilli();
+            }
+            return (long) number;
+        }
+
+        String normalized = text.replace('/', '-').replace('T', ' ');
+        try {
+            return switch ((int) normalized.chars().filter(c -> c == ':').count()) {
+                case 2 -> toMillis(LocalDateTime.parse(normalized, DATETIME_SECOND));
+                case 1 -> toMillis(LocalDateTime.parse(normalized, DATETIME));
+                default -> normalized.chars().filter(c -> c == '-').count() == 1
+                        ? toMillis(YearMonth.parse(normalized, YEAR_MONTH).atDay(1).atStartOfDay())
+                        : toMillis(LocalDate.parse(normalized, DATE).atStartOfDay());
+            };
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("不是有效的日期: " + text);
+        }
+    }
+
+    private static List<String> parseEnum(EnumFieldConfig fieldConfig, String text) {
+        Map<String, String> optionIds = new HashMap<>();
+        if (fieldConfig.getOptions() != null) {
+            for (EnumFieldConfig.EnumOptionDefinition option : fieldConfig.getOptions()) {
+                if (!option.enabled()) {
+                    continue;
+                }
+                if (option.label() != null) {
+                    optionIds.putIfAbsent(option.label().trim().toLowerCase(Locale.ROOT), option.id());
+                }
+                if (option.value() != null) {
+                    optionIds.putIfAbsent(option.value().trim().toLowerCase(Locale.ROOT), option.id());
+                }
+            }
+        }
+
+        List<String> ids = new ArrayList<>();
+        for (String part : ENUM_SEPARATOR.split(text)) {
+            String key = part.trim().toLowerCase(Locale.ROOT);
+            if (key.isEmpty()) {
+                continue;
+            }
+            String optionId = optionIds.get(key);
+            if (optionId == null) {
+                throw new IllegalArgumentException("选项不存在: " + part.trim());
+            }
+            if (!ids.contains(optionId)) {
+                ids.add(optionId);
+            }
+        }
+        if (ids.size() > 1 && !fieldConfig.isMultiSelect()) {
+            throw new IllegalArgumentException("不允许多选: " + text);
+        }
+        return ids;
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    private static String cell(List<String> cells, int index) {
+        if (index < 0 || index >= cells.size() || cells.get(index) == null) {
+            return "";
+        }
+        return cells.get(index).trim();
+    }
+
+    private static CardDTO toValidationCard(CreateCardRequest request) {
+        CardDTO card = new CardDTO();
+        card.setTypeId(request.typeId());
+        card.setTitle(request.title());
+        card.setDescription(request.description() != null ? CardDescription.of(request.description()) : null);
+        card.setFieldValues(new HashMap<>(request.fieldValues()));
+        return card;
+    }
+}
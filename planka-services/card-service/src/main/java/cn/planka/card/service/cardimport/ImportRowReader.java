@@ -0,0 +1,44 @@
+package cn.planka.card.service.cardimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 导入文件行读取器
+ * <p>
+ * 逐行流式读取，内存占用与文件行数无关。
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * 读取下一行
+     *
+     * @return 各单元格的文本，没有更多行时返回 null
+     */
+    List<String> next() throws IOException;
+
+    /**
+     * 最近一次读取的行在文件中的行号（从 1 开始）
+     */
+    long rowNumber();
+
+    /**
+     * 按文件扩展名打开读取器
+     *
+     * @param file     文件
+     * @param fileName 原始文件名，用于判断格式
+     */
+    static ImportRowReader open(Path file, String fileName) throws IOException {
+        String lowerName = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (lowerName.endsWith(".xlsx")) {
+            return new XlsxRowReader(file);
+        }
+        if (lowerName.endsWith(".csv")) {
+            return new CsvRowReader(file);
+        }
+        throw new IllegalArgumentException("不支持的文件格式，仅支持 CSV 和 XLSX: " + fileName);
+    }
+}
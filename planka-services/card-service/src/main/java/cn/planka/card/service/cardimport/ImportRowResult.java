@@ -0,0 +1,25 @@
+package cn.planka.card.service.cardimport;
+
+import cn.planka.api.card.request.CreateCardRequest;
+
+/**
+ * 导入行转换结果
+ *
+ * @param rowNumber 行号
+ * @param request   创建卡片请求，转换或校验失败时为 null
+ * @param error     失败原因
+ */
+public record ImportRowResult(long rowNumber, CreateCardRequest request, String error) {
+
+    public static ImportRowResult success(long rowNumber, CreateCardRequest request) {
+        return new ImportRowResult(rowNumber, request, null);
+    }
+
+    public static ImportRowResult failed(long rowNumber, String error) {
+        return new ImportRowResult(rowNumber, null, error);
+    }
+
+    public boolean isValid() {
+        return request != null;
+    }
+}
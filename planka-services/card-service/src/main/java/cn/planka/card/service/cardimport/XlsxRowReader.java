@@ -0,0 +1,218 @@
+package cn.planka.card.service.cardimport;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * XLSX 行读取器
+ * <p>
+ * 直接以 StAX 流式解析工作簿中第一个工作表的 XML，不把整个工作表载入内存。
+ * 共享字符串表需要随机访问，会整体载入，其大小取决于不重复的文本数量而不是行数。
+ * <p>
+ * 单元格按原始值读取：数字（包括 Excel 日期序列号）返回其文本形式，不解析单元格样式。
+ */
+public class XlsxRowReader implements ImportRowReader {
+
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final String FIRST_SHEET = "xl/worksheets/sheet1.xml";
+    private static final String SHEET_PREFIX = "xl/worksheets/sheet";
+
+    private final ZipFile zipFile;
+    private final List<String> sharedStrings;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private long rowNumber;
+
+    public XlsxRowReader(Path file) throws IOException {
+        this.zipFile = new ZipFile(file.toFile());
+        try {
+            XMLInputFactory factory = newInputFactory();
+            this.sharedStrings = readSharedStrings(factory);
+            this.sheetStream = zipFile.getInputStream(findFirstSheet());
+            this.sheet = factory.createXMLStreamReader(sheetStream);
+        } catch (IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        } catch (XMLStreamException e) {
+            zipFile.close();
+            throw new IOException("工作表解析失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    String r = sheet.getAttributeValue(null, "r");
+                    rowNumber = r != null ? Long.parseLong(r) : rowNumber + 1;
+                    return readRow();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("工作表解析失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long rowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // 忽略，随后关闭底层文件
+        }
+        sheetStream.close();
+        zipFile.close();
+    }
+
+    private List<String> readRow() throws XMLStreamException {
+        List<String> cells = new ArrayList<>();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                return cells;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(sheet.getLocalName())) {
+                String ref = sheet.getAttributeValue(null, "r");
+                String type = sheet.getAttributeValue(null, "t");
+                int column = ref != null ? columnIndex(ref) : cells.size();
+                while (cells.size() < column) {
+                    cells.add("");
+                }
+                cells.add(readCell(type));
+            }
+        }
+        return cells;
+    }
+
+    private String readCell(String type) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        boolean inValue = false;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = sheet.getLocalName();
+                inValue = "v".equals(name) || "t".equals(name);
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (inValue) {
+                    value.append(sheet.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = sheet.getLocalName();
+                if ("c".equals(name)) {
+                    break;
+                }
+                if ("v".equals(name) || "t".equals(name)) {
+                    inValue = false;
+                }
+            }
+        }
+
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(value.toString().trim());
+            return index >= 0 && index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value.toString().trim()) ? "TRUE" : "FALSE";
+        }
+        return value.toString();
+    }
+
+    private List<String> readSharedStrings(XMLInputFactory factory) throws IOException, XMLStreamException {
+        ZipEntry entry = zipFile.getEntry(SHARED_STRINGS);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        List<String> strings = new ArrayList<>();
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            StringBuilder current = null;
+            boolean inText = false;
+            boolean inPhonetic = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "si" -> current = new StringBuilder();
+                        case "rPh" -> inPhonetic = true;
+                        case "t" -> inText = !inPhonetic;
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    if (inText && current != null) {
+                        current.append(reader.getText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "si" -> {
+                            strings.add(current != null ? current.toString() : "");
+                            current = null;
+                        }
+                        case "rPh" -> inPhonetic = false;
+                        case "t" -> inText = false;
+                        default -> {
+                        }
+                    }
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    private ZipEntry findFirstSheet() throws IOException {
+        ZipEntry entry = zipFile.getEntry(FIRST_SHEET);
+        if (entry != null) {
+            return entry;
+        }
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry candidate = entries.nextElement();
+            if (candidate.getName().startsWith(SHEET_PREFIX) && candidate.getName().endsWith(".xml")) {
+                return candidate;
+            }
+        }
+        throw new IOException("文件中没有工作表");
+    }
+
+    /**
+     * 单元格引用（如 AB12）的列序号，从 0 开始
+     */
+    static int columnIndex(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char c = cellRef.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
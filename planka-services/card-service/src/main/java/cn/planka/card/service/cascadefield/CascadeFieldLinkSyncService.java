@@ -1,15 +1,19 @@
 package cn.planka.card.service.cascadefield;
 
 import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.QueryContext;
 import cn.planka.api.card.request.UpdateLinkRequest;
 import cn.planka.api.card.request.Yield;
 import cn.planka.api.card.request.YieldLink;
 import cn.planka.card.converter.CascadeFieldValueBuilder;
+import cn.planka.card.model.LinkPathNode;
+import cn.planka.card.model.LinkPathQuery;
 import cn.planka.card.repository.CardRepository;
+import cn.planka.card.repository.LinkPathRepository;
+import cn.planka.card.service.core.CardTypeVersionTracker;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.field.CascadeFieldValue;
 import cn.planka.domain.field.CascadeItem;
-import cn.planka.domain.link.LinkFieldId;
 import cn.planka.domain.link.LinkFieldIdUtils;
 import cn.planka.domain.link.LinkPosition;
 import cn.planka.domain.schema.SchemaType;
@@ -55,17 +59,23 @@ public class CascadeFieldLinkSyncService {
 
     private final SchemaCacheService schemaCacheService;
     private final CardRepository cardRepository;
+    private final LinkPathRepository linkPathRepository;
     private final ZgraphWriteClient writeClient;
     private final EventPublisher eventPublisher;
+    private final CardTypeVersionTracker versionTracker;
 
     public CascadeFieldLinkSyncService(SchemaCacheService schemaCacheService,
                                     CardRepository cardRepository,
+                                    LinkPathRepository linkPathRepository,
                                     ZgraphWriteClient writeClient,
-                                    EventPublisher eventPublisher) {
+                                    EventPublisher eventPublisher,
+                                    CardTypeVersionTracker versionTracker) {
         this.schemaCacheService = schemaCacheService;
         this.cardRepository = cardRepository;
+        this.linkPathRepository = linkPathRepository;
         this.writeClient = writeClient;
         this.eventPublisher = eventPublisher;
+        this.versionTracker = versionTracker;
     }
 
     // ==================== 入口1：关联属性更新时的联动同步 ====================
@@ -124,14 +134,14 @@ public class CascadeFieldLinkSyncService {
             CascadeFieldSyncResult syncResult;
             if (targetCardIds.isEmpty()) {
                 // 清空关联时，清除当前层级以下的所有层级
-                syncResult = clearLowerLevels(cardId, cascadeFieldDef, currentLevel, orgId, operatorId, sourceIp);
+                syncResult = clearLowerLevels(cardId, cardTypeId, cascadeFieldDef, currentLevel, orgId, operatorId, sourceIp);
             } else if (currentLevel > 0) {
                 // 关联非根层级：同步上级
                 String targetCardId = targetCardIds.get(0); // 级联属性应该是单选的
-                syncResult = syncUpperLevels(cardId, match, cascadeRelationDef, targetCardId, orgId, operatorId, sourceIp);
+                syncResult = syncUpperLevels(cardId, cardTypeId, match, cascadeRelationDef, targetCardId, orgId, operatorId, sourceIp);
             } else {
                 // 关联根层级（currentLevel=0）：清除下级
-                syncResult = clearLowerLevels(cardId, cascadeFieldDef, currentLevel, orgId, operatorId, sourceIp);
+                syncResult = clearLowerLevels(cardId, cardTypeId, cascadeFieldDef, currentLevel, orgId, operatorId, sourceIp);
             }
 
             // 合并同步结果
@@ -344,20 +354,20 @@ public class CascadeFieldLinkSyncService {
     /**
      * 关联下级时，向上同步所有上级层级的关联
      * <p>
-     * 例如：用户故事关联小队A时，查询小队A的所属部落，自动更新用户故事的所属部落
+     * 例如：用户故事关联小队A时，查询小队A的所属部落，自动更新用户故事的所属部落。
+     * 整条上级链通过一次路径查询取回，业务卡片的现有关联一次读取，关联变更合并为一次删除和一次创建。
      */
-    private CascadeFieldSyncResult syncUpperLevels(String cardId, CascadeFieldBindingMatch match,
+    private CascadeFieldSyncResult syncUpperLevels(String cardId, String cardTypeId,
+                                                 CascadeFieldBindingMatch match,
                                                  CascadeRelationDefinition cascadeRelationDef,
                                                  String targetCardId,
                                                  String orgId, String operatorId, String sourceIp) {
         CascadeFieldConfig cascadeFieldDef = match.cascadeFieldDef();
         int currentLevel = match.levelIndex();
 
-        Map<String, Set<String>> addedLinks = new HashMap<>();
-        Map<String, Set<String>> removedLinks = new HashMap<>();
-
-        // 从当前层级向上遍历到根层级
-        String currentTargetCardId = targetCardId;
+        // 1. 从当前层级向上收集需要同步的上级绑定，以及级联节点向上追溯的路径
+        List<String> parentLinkFieldIds = new ArrayList<>();
+        List<LinkPathQuery.Hop> hops = new ArrayList<>();
         for (int level = currentLevel; level > 0; level--) {
             int parentLevel = level - 1;
 
@@ -378,40 +388,60 @@ public class CascadeFieldLinkSyncService {
                 break;
             }
 
-            // 查询级联关系节点的上级关联（如小队A的所属部落）
-            String parentCardId = queryParentCard(currentTargetCardId, relationLevel.parentLinkFieldId(), operatorId);
-
-            // 更新业务卡片与上级层级的关联
-            String parentLinkFieldId = parentBindingOpt.get().linkFieldId().value();
-            Set<String> currentParentIds = getCurrentLinkedCardIds(cardId, parentLinkFieldId, operatorId);
+            parentLinkFieldIds.add(parentBindingOpt.get().linkFieldId().value());
+            hops.add(new LinkPathQuery.Hop(relationLevel.parentLinkFieldId().value(), null, false, false, 1));
+        }
+        if (hops.isEmpty()) {
+            return CascadeFieldSyncResult.noSync();
+        }
 
-            // 计算变更
+        // 2. 查询级联节点的所有上级（如小队A的所属部落），已丢弃的上级不参与追溯
+        QueryContext queryContext = new QueryContext();
+        queryContext.setOrgId(orgId);
+        queryContext.setOperatorId(operatorId);
+        List<List<LinkPathNode>> ancestors = linkPathRepository.queryPath(
+                LinkPathQuery.fromCards(List.of(targetCardId), hops), queryContext);
+
+        // 3. 读取业务卡片与各上级层级的现有关联
+        Map<String, Set<String>> currentLinkedIds = getCurrentLinkedCardIds(cardId, parentLinkFieldIds, operatorId);
+
+        // 4. 计算每个上级层级的变更，上级为空的层级之后不再追溯
+        Map<String, Set<String>> addedLinks = new LinkedHashMap<>();
+        Map<String, Set<String>> removedLinks = new LinkedHashMap<>();
+        for (int i = 0; i < parentLinkFieldIds.size(); i++) {
+            String parentLinkFieldId = parentLinkFieldIds.get(i);
+            List<LinkPathNode> parentNodes = ancestors.get(i + 1);
+            String parentCardId = parentNodes.isEmpty() ? null : parentNodes.get(0).cardId();
+
+            Set<String> currentParentIds = currentLinkedIds.getOrDefault(parentLinkFieldId, Set.of());
             Set<String> newParentIds = parentCardId != null ? Set.of(parentCardId) : Set.of();
             Set<String> toRemove = new HashSet<>(currentParentIds);
             toRemove.removeAll(newParentIds);
             Set<String> toAdd = new HashSet<>(newParentIds);
             toAdd.removeAll(currentParentIds);
 
-            // 执行关联变更
             if (!toRemove.isEmpty()) {
-                deleteLinks(cardId, parentLinkFieldId, toRemove);
                 removedLinks.put(parentLinkFieldId, toRemove);
             }
             if (!toAdd.isEmpty()) {
-                createLinks(cardId, parentLinkFieldId, toAdd);
                 addedLinks.put(parentLinkFieldId, toAdd);
-
-                // 发布关联更新事件
-                publishSyncLinkEvent(cardId, parentLinkFieldId, toAdd, toRemove, orgId, operatorId, sourceIp);
             }
 
-            // 继续向上追溯
-            currentTargetCardId = parentCardId;
-            if (currentTargetCardId == null) {
+            if (parentCardId == null) {
                 break; // 上级为空，停止向上追溯
             }
         }
 
+        // 5. 执行关联变更
+        deleteLinks(cardId, removedLinks);
+        createLinks(cardId, addedLinks);
+
+        // 6. 发布关联更新事件
+        for (Map.Entry<String, Set<String>> entry : addedLinks.entrySet()) {
+            publishSyncLinkEvent(cardId, cardTypeId, entry.getKey(), entry.getValue(),
+                    removedLinks.getOrDefault(entry.getKey(), Set.of()), orgId, operatorId, sourceIp);
+        }
+
         return CascadeFieldSyncResult.of(addedLinks, removedLinks);
     }
 
@@ -422,7 +452,7 @@ public class CascadeFieldLinkSyncService {
      * <p>
      * 例如：用户故事直接关联部落时，清除下级的小队关联
      */
-    private CascadeFieldSyncResult clearLowerLevels(String cardId,
+    private CascadeFieldSyncResult clearLowerLevels(String cardId, String cardTypeId,
                                                   CascadeFieldConfig cascadeFieldDef,
                                                   int currentLevel,
                                                   String orgId, String operatorId, String sourceIp) {
@@ -431,24 +461,28 @@ public class CascadeFieldLinkSyncService {
             return CascadeFieldSyncResult.noSync();
         }
 
-        Map<String, Set<String>> removedLinks = new HashMap<>();
+        // 所有比当前层级更深的绑定
+        List<String> lowerLinkFieldIds = bindings.stream()
+                .filter(binding -> binding.levelIndex() > currentLevel)
+                .map(binding -> binding.linkFieldId().value())
+                .distinct()
+                .toList();
+        if (lowerLinkFieldIds.isEmpty()) {
+            return CascadeFieldSyncResult.of(Map.of(), Map.of());
+        }
 
-        // 遍历所有比当前层级更深的绑定
-        for (CascadeRelationLevelBinding binding : bindings) {
-            if (binding.levelIndex() <= currentLevel) {
-                continue;
+        Map<String, Set<String>> removedLinks = new LinkedHashMap<>();
+        getCurrentLinkedCardIds(cardId, lowerLinkFieldIds, operatorId).forEach((linkFieldId, linkedIds) -> {
+            if (!linkedIds.isEmpty()) {
+                removedLinks.put(linkFieldId, linkedIds);
             }
+        });
+        deleteLinks(cardId, removedLinks);
 
-            String linkFieldId = binding.linkFieldId().value();
-            Set<String> currentLinkedIds = getCurrentLinkedCardIds(cardId, linkFieldId, operatorId);
-
-            if (!currentLinkedIds.isEmpty()) {
-                deleteLinks(cardId, linkFieldId, currentLinkedIds);
-                removedLinks.put(linkFieldId, currentLinkedIds);
-
-                // 发布关联更新事件
-                publishSyncLinkEvent(cardId, linkFieldId, Set.of(), currentLinkedIds, orgId, operatorId, sourceIp);
-            }
+        // 发布关联更新事件
+        for (Map.Entry<String, Set<String>> entry : removedLinks.entrySet()) {
+            publishSyncLinkEvent(cardId, cardTypeId, entry.getKey(), Set.of(), entry.getValue(),
+                    orgId, operatorId, sourceIp);
         }
 
         return CascadeFieldSyncResult.of(Map.of(), removedLinks);
@@ -492,36 +526,35 @@ public class CascadeFieldLinkSyncService {
     }
 
     /**
-     * 查询级联节点的上级卡片ID
-     */
-    private String queryParentCard(String cardId, LinkFieldId parentLinkFieldId, String operatorId) {
-        Set<String> parentIds = getCurrentLinkedCardIds(cardId, parentLinkFieldId.value(), operatorId);
-        return parentIds.isEmpty() ? null : parentIds.iterator().next();
-    }
-
-    /**
-     * 获取当前卡片的关联卡片ID集合
+     * 获取当前卡片在多个关联属性下的关联卡片ID集合，一次查询完成
      */
-    private Set<String> getCurrentLinkedCardIds(String cardId, String linkFieldId, String operatorId) {
-        CardId id = CardId.of(cardId);
+    private Map<String, Set<String>> getCurrentLinkedCardIds(String cardId, List<String> linkFieldIds,
+                                                             String operatorId) {
         Yield yield = new Yield();
-        YieldLink yieldLink = new YieldLink();
-        yieldLink.setLinkFieldId(linkFieldId);
-        yield.setLinks(List.of(yieldLink));
-
-        Optional<CardDTO> cardOpt = cardRepository.findById(id, yield, operatorId);
-        if (cardOpt.isEmpty() || cardOpt.get().getLinkedCards() == null) {
-            return Collections.emptySet();
+        List<YieldLink> yieldLinks = new ArrayList<>(linkFieldIds.size());
+        for (String linkFieldId : linkFieldIds) {
+            YieldLink yieldLink = new YieldLink();
+            yieldLink.setLinkFieldId(linkFieldId);
+            yieldLinks.add(yieldLink);
         }
+        yield.setLinks(yieldLinks);
 
-        Set<CardDTO> linkedCards = cardOpt.get().getLinkedCards().get(linkFieldId);
-        if (linkedCards == null) {
-            return Collections.emptySet();
+        Optional<CardDTO> cardOpt = cardRepository.findById(CardId.of(cardId), yield, operatorId);
+        if (cardOpt.isEmpty() || cardOpt.get().getLinkedCards() == null) {
+            return Map.of();
         }
 
-        Set<String> result = new HashSet<>();
-        for (CardDTO card : linkedCards) {
-            result.add(String.valueOf(card.getId().value()));
+        Map<String, Set<String>> result = new HashMap<>();
+        for (String linkFieldId : linkFieldIds) {
+            Set<CardDTO> linkedCards = cardOpt.get().getLinkedCards().get(linkFieldId);
+            if (linkedCards == null) {
+                continue;
+            }
+            Set<String> ids = new HashSet<>();
+            for (CardDTO card : linkedCards) {
+                ids.add(String.valueOf(card.getId().value()));
+            }
+            result.put(linkFieldId, ids);
         }
         return result;
     }
@@ -574,10 +607,11 @@ public class CascadeFieldLinkSyncService {
 
     // ==================== 关联操作 ====================
 
-    private void deleteLinks(String cardId, String linkFieldId, Set<String> targetCardIds) {
-        String linkTypeIdValue = LinkFieldIdUtils.getLinkTypeId(linkFieldId);
-        LinkPosition linkPosition = LinkFieldIdUtils.getPosition(linkFieldId);
-        List<Link> linksToDelete = buildLinks(cardId, linkTypeIdValue, linkPosition, targetCardIds);
+    private void deleteLinks(String cardId, Map<String, Set<String>> targetCardIdsByLinkField) {
+        List<Link> linksToDelete = buildLinks(cardId, targetCardIdsByLinkField);
+        if (linksToDelete.isEmpty()) {
+            return;
+        }
 
         BatchDeleteLinkRequest request = BatchDeleteLinkRequest.newBuilder()
                 .addAllLinks(linksToDelete)
@@ -593,10 +627,11 @@ public class CascadeFieldLinkSyncService {
         }
     }
 
-    private void createLinks(String cardId, String linkFieldId, Set<String> targetCardIds) {
-        String linkTypeIdValue = LinkFieldIdUtils.getLinkTypeId(linkFieldId);
-        LinkPosition linkPosition = LinkFieldIdUtils.getPosition(linkFieldId);
-        List<Link> linksToCreate = buildLinks(cardId, linkTypeIdValue, linkPosition, targetCardIds);
+    private void createLinks(String cardId, Map<String, Set<String>> targetCardIdsByLinkField) {
+        List<Link> linksToCreate = buildLinks(cardId, targetCardIdsByLinkField);
+        if (linksToCreate.isEmpty()) {
+            return;
+        }
 
         BatchCreateLinkRequest request = BatchCreateLinkRequest.newBuilder()
                 .addAllLinks(linksToCreate)
@@ -612,6 +647,16 @@ public class CascadeFieldLinkSyncService {
         }
     }
 
+    private List<Link> buildLinks(String cardId, Map<String, Set<String>> targetCardIdsByLinkField) {
+        List<Link> links = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entry : targetCardIdsByLinkField.entrySet()) {
+            String linkTypeIdValue = LinkFieldIdUtils.getLinkTypeId(entry.getKey());
+            LinkPosition linkPosition = LinkFieldIdUtils.getPosition(entry.getKey());
+            links.addAll(buildLinks(cardId, linkTypeIdValue, linkPosition, entry.getValue()));
+        }
+        return links;
+    }
+
     private List<Link> buildLinks(String cardId, String linkTypeIdValue,
                                    LinkPosition linkPosition, Set<String> targetCardIds) {
         List<Link> links = new ArrayList<>();
@@ -638,17 +683,9 @@ public class CascadeFieldLinkSyncService {
     /**
      * 发布联动产生的关联更新事件
      */
-    private void publishSyncLinkEvent(String cardId, String linkFieldId,
+    private void publishSyncLinkEvent(String cardId, String cardTypeId, String linkFieldId,
                                        Set<String> addedIds, Set<String> removedIds,
                                        String orgId, String operatorId, String sourceIp) {
-        // 获取实体类型
-        CardId id = CardId.of(cardId);
-        Optional<CardDTO> cardOpt = cardRepository.findById(id, Yield.basic(), operatorId);
-        if (cardOpt.isEmpty()) {
-            return;
-        }
-        CardDTO card = cardOpt.get();
-
         // 构建事件
         List<CardLinkUpdatedEvent.LinkedCardRef> addedRefs = new ArrayList<>();
         for (String addedId : addedIds) {
@@ -662,13 +699,15 @@ public class CascadeFieldLinkSyncService {
 
         CardLinkUpdatedEvent event = new CardLinkUpdatedEvent(
                 orgId, operatorId, sourceIp, null,
-                cardId, card.getTypeId().value())
+                cardId, cardTypeId)
                 .withLinkField(linkFieldId, linkFieldId, true)
                 .withAddedCards(addedRefs)
                 .withRemovedCards(removedRefs);
 
         if (event.hasChanges()) {
-            eventPublisher.publish(event);
+            versionTracker.bumpAffected(event);
+            versionTracker.bumpAffected(event);
+        eventPublisher.publish(event);
             logger.debug("发布联动关联更新事件: cardId={}, linkFieldId={}", cardId, linkFieldId);
         }
     }
@@ -699,6 +738,7 @@ public class CascadeFieldLinkSyncService {
                 effectiveOrgId, operatorId, sourceIp, null, cardTypeId, cardId);
         event.addFieldChange(cascadeFieldDef.getId().value(), oldValue, newValue);
 
+        versionTracker.bumpAffected(event);
         eventPublisher.publish(event);
         logger.debug("发布级联属性变更事件: cardId={}, fieldId={}", cardId, cascadeFieldDef.getId());
     }
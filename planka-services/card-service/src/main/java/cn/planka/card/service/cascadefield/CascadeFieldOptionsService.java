@@ -1,24 +1,19 @@
 package cn.planka.card.service.cascadefield;
 
-import cn.planka.api.card.dto.CardDTO;
 import cn.planka.api.card.dto.CascadeNodeDTO;
-import cn.planka.card.repository.CardRepository;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.card.model.LinkPathNode;
+import cn.planka.card.model.LinkPathQuery;
+import cn.planka.card.repository.LinkPathRepository;
 import cn.planka.common.result.Result;
-import cn.planka.domain.card.CardCycle;
-import cn.planka.domain.card.CardTypeId;
 import cn.planka.domain.link.LinkFieldId;
+import cn.planka.domain.link.LinkFieldIdUtils;
 import cn.planka.domain.schema.definition.SchemaDefinition;
 import cn.planka.domain.schema.definition.fieldconfig.CascadeFieldConfig;
 import cn.planka.domain.schema.definition.cascaderelation.CascadeRelationDefinition;
 import cn.planka.domain.schema.definition.cascaderelation.CascadeRelationLevel;
 import cn.planka.infra.cache.schema.SchemaCacheService;
-import cn.planka.api.card.request.CardQueryRequest;
-import cn.planka.api.card.request.QueryContext;
-import cn.planka.api.card.request.QueryScope;
 import cn.planka.api.card.request.CascadeFieldOptionsRequest;
-import cn.planka.api.card.request.Yield;
-import cn.planka.api.card.request.YieldField;
-import cn.planka.api.card.request.YieldLink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -36,12 +31,12 @@ public class CascadeFieldOptionsService {
     private static final Logger logger = LoggerFactory.getLogger(CascadeFieldOptionsService.class);
 
     private final SchemaCacheService schemaCacheService;
-    private final CardRepository cardRepository;
+    private final LinkPathRepository linkPathRepository;
 
     public CascadeFieldOptionsService(SchemaCacheService schemaCacheService,
-                                   CardRepository cardRepository) {
+                                   LinkPathRepository linkPathRepository) {
         this.schemaCacheService = schemaCacheService;
-        this.cardRepository = cardRepository;
+        this.linkPathRepository = linkPathRepository;
     }
 
     /**
@@ -98,154 +93,104 @@ public class CascadeFieldOptionsService {
         if (levels == null || levels.isEmpty()) {
             return Result.success(List.of());
         }
-        Map<Integer, List<CardDTO>> levelCards = queryAllLevelCards(levels, orgId, operatorId);
-        List<CascadeNodeDTO> tree = buildTree(levels, levelCards);
+        List<CascadeRelationLevel> sortedLevels = levels.stream()
+                .sorted(Comparator.comparingInt(CascadeRelationLevel::index))
+                .toList();
+        List<List<LinkPathNode>> levelNodes = queryAllLevelNodes(sortedLevels, orgId, operatorId);
+        List<CascadeNodeDTO> tree = buildTree(sortedLevels, levelNodes);
         return Result.success(tree);
     }
 
     /**
-     * 查询所有层级的卡片
+     * 一次路径查询取回所有层级的卡片
      * <p>
-     * 非根层级需要查询父关联关系，用于构建树形结构
-     */
-    private Map<Integer, List<CardDTO>> queryAllLevelCards(List<CascadeRelationLevel> levels,
-                                                            String orgId, String operatorId) {
-        Map<Integer, List<CardDTO>> result = new HashMap<>();
-
-        for (CascadeRelationLevel level : levels) {
-            List<String> cardTypeIds = List.of(level.cardTypeId().value());
-
-            // 非根层级需要查询父关联
-            String parentLinkFieldId = level.parentLinkFieldId() != null
-                    ? level.parentLinkFieldId().value() : null;
-
-            CardQueryRequest queryRequest = buildCardQueryRequest(
-                    cardTypeIds, parentLinkFieldId, orgId, operatorId);
-            List<CardDTO> cards = cardRepository.query(queryRequest);
-            result.put(level.index(), cards);
-        }
-
-        return result;
-    }
-
-    /**
-     * 构建卡片查询请求
+     * 以根层级的活跃卡片为起点，逐层沿父关联的反方向向下遍历；
+     * 某层级未配置父关联时，其下的层级无法挂到树上，遍历到此为止。
+     *
+     * @return 每个层级的卡片节点，下标与排序后的层级一致
      */
-    private CardQueryRequest buildCardQueryRequest(List<String> cardTypeIds,
-                                                    String parentLinkFieldId,
-                                                    String orgId, String operatorId) {
-        CardQueryRequest request = new CardQueryRequest();
-
-        // 查询上下文
-        QueryContext context = new QueryContext();
-        context.setOrgId(orgId);
-        context.setOperatorId(operatorId);
-        request.setQueryContext(context);
-
-        // 查询范围
-        QueryScope scope = new QueryScope();
-        scope.setCardTypeIds(cardTypeIds);
-        scope.setCardCycles(List.of(CardCycle.ACTIVE));
-        request.setQueryScope(scope);
-
-        // 返回字段
-        Yield yield = new Yield();
-        YieldField field = new YieldField();
-        field.setAllFields(false);
-        yield.setField(field);
-
-        // 如果有父关联，需要查询关联卡片
-        if (parentLinkFieldId != null) {
-            YieldLink link = new YieldLink();
-            link.setLinkFieldId(parentLinkFieldId);
-            yield.setLinks(List.of(link));
+    private List<List<LinkPathNode>> queryAllLevelNodes(List<CascadeRelationLevel> sortedLevels,
+                                                        String orgId, String operatorId) {
+        List<LinkPathQuery.Hop> hops = new ArrayList<>();
+        for (int i = 1; i < sortedLevels.size(); i++) {
+            CascadeRelationLevel level = sortedLevels.get(i);
+            LinkFieldId parentLinkFieldId = level.parentLinkFieldId();
+            if (parentLinkFieldId == null) {
+                break;
+            }
+            // 父关联是从子卡片一侧看的，自上而下遍历需要从父卡片一侧出发
+            String childLinkFieldId = LinkFieldIdUtils.build(
+                    parentLinkFieldId.getLinkTypeId(), parentLinkFieldId.getPosition().opposite());
+            hops.add(new LinkPathQuery.Hop(childLinkFieldId, level.cardTypeId().value(), true, true, 0));
         }
 
-        request.setYield(yield);
-
-        return request;
+        LinkPathQuery query = LinkPathQuery.fromActiveCardsOfType(
+                sortedLevels.get(0).cardTypeId().value(), true, hops);
+        QueryContext queryContext = new QueryContext();
+        queryContext.setOrgId(orgId);
+        queryContext.setOperatorId(operatorId);
+        return linkPathRepository.queryPath(query, queryContext);
     }
 
     /**
      * 构建树形结构
      * <p>
-     * 通过父子关联关系，将平铺的卡片列表构建为树形结构
+     * 路径查询的每个节点都带有上一层级中与其相连的卡片，据此挂到父节点下
      */
-    private List<CascadeNodeDTO> buildTree(List<CascadeRelationLevel> levels,
-                                              Map<Integer, List<CardDTO>> levelCards) {
-        if (levels.isEmpty()) {
-            return List.of();
-        }
-
-        int maxLevel = levels.size() - 1;
-
-        // 按层级从小到大排序
-        List<CascadeRelationLevel> sortedLevels = levels.stream()
-                .sorted(Comparator.comparingInt(CascadeRelationLevel::index))
-                .toList();
+    private List<CascadeNodeDTO> buildTree(List<CascadeRelationLevel> sortedLevels,
+                                              List<List<LinkPathNode>> levelNodes) {
+        int maxLevel = sortedLevels.size() - 1;
 
-        // 构建节点映射 (cardId -> node)
-        Map<String, CascadeNodeDTO> nodeMap = new HashMap<>();
-
-        // 先创建所有节点
-        for (CascadeRelationLevel level : sortedLevels) {
-            List<CardDTO> cards = levelCards.getOrDefault(level.index(), List.of());
+        List<CascadeNodeDTO> roots = new ArrayList<>();
+        Map<String, CascadeNodeDTO> parentNodes = Map.of();
+        for (int i = 0; i < levelNodes.size() && i < sortedLevels.size(); i++) {
+            CascadeRelationLevel level = sortedLevels.get(i);
             boolean isLeaf = level.index() == maxLevel;
 
-            for (CardDTO card : cards) {
+            Map<String, CascadeNodeDTO> currentNodes = new LinkedHashMap<>();
+            for (LinkPathNode pathNode : levelNodes.get(i)) {
+                if (currentNodes.containsKey(pathNode.cardId())) {
+                    continue;
+                }
                 CascadeNodeDTO node = CascadeNodeDTO.builder()
-                        .id(card.getId().asStr())
-                        .name(card.getTitle() != null ? card.getTitle().getDisplayValue() : "")
+                        .id(pathNode.cardId())
+                        .name(pathNode.title() != null ? pathNode.title().getDisplayValue() : "")
                         .levelIndex(level.index())
                         .levelName(level.name())
                         .leaf(isLeaf)
                         .children(isLeaf ? null : new ArrayList<>())
                         .build();
-                nodeMap.put(card.getId().asStr(), node);
-            }
-        }
 
-        // 构建父子关系
-        for (int i = 1; i < sortedLevels.size(); i++) {
-            CascadeRelationLevel level = sortedLevels.get(i);
-            LinkFieldId parentLinkFieldId = level.parentLinkFieldId();
-            if (parentLinkFieldId == null) {
-                continue;
-            }
-
-            List<CardDTO> cards = levelCards.getOrDefault(level.index(), List.of());
-            for (CardDTO card : cards) {
-                String parentId = findParentCardId(card, parentLinkFieldId.value());
-                if (parentId != null) {
-                    CascadeNodeDTO parentNode = nodeMap.get(parentId);
-                    CascadeNodeDTO childNode = nodeMap.get(card.getId().asStr());
-                    if (parentNode != null && childNode != null && parentNode.getChildren() != null) {
-                        parentNode.getChildren().add(childNode);
-                    }
+                if (i == 0) {
+                    roots.add(node);
+                    currentNodes.put(pathNode.cardId(), node);
+                    continue;
+                }
+                // 取第一个父节点（级联关系应该是单选的）
+                CascadeNodeDTO parentNode = findParentNode(pathNode, parentNodes);
+                if (parentNode != null && parentNode.getChildren() != null) {
+                    parentNode.getChildren().add(node);
+                    currentNodes.put(pathNode.cardId(), node);
                 }
             }
+            parentNodes = currentNodes;
         }
-
-        // 返回根节点列表
-        List<CardDTO> rootCards = levelCards.getOrDefault(0, List.of());
-        return rootCards.stream()
-                .map(card -> nodeMap.get(card.getId().asStr()))
-                .filter(Objects::nonNull)
-                .toList();
+        return roots;
     }
 
     /**
-     * 查找父卡片ID
+     * 查找父节点
      */
-    private String findParentCardId(CardDTO card, String parentLinkFieldId) {
-        if (card.getLinkedCards() == null) {
+    private CascadeNodeDTO findParentNode(LinkPathNode pathNode, Map<String, CascadeNodeDTO> parentNodes) {
+        if (pathNode.fromCardIds() == null) {
             return null;
         }
-        Set<CardDTO> linkedCards = card.getLinkedCards().get(parentLinkFieldId);
-        if (linkedCards == null || linkedCards.isEmpty()) {
-            return null;
+        for (String fromCardId : pathNode.fromCardIds()) {
+            CascadeNodeDTO parentNode = parentNodes.get(fromCardId);
+            if (parentNode != null) {
+                return parentNode;
+            }
         }
-        // 取第一个（级联关系应该是单选的）
-        return linkedCards.iterator().next().getId().asStr();
+        return null;
     }
 }
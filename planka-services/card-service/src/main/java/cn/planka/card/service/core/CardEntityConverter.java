@@ -129,7 +129,13 @@ public class CardEntityConverter {
      * 将 CreateCardRequest 转换为 CardEntity
      */
     public CardEntity toCardEntityForCreate(CreateCardRequest request) {
-        CardId cardId = CardId.generate();
+        return toCardEntityForCreate(request, CardId.generate());
+    }
+
+    /**
+     * 使用预先分配的卡片ID构建实体，用于需要在写入前记录卡片ID的场景（如可恢复的批量导入）
+     */
+    public CardEntity toCardEntityForCreate(CreateCardRequest request, CardId cardId) {
         long codeInOrg = sequenceSegmentService.getNextCodeInOrg(request.orgId().value());
         String customCode = null;
 
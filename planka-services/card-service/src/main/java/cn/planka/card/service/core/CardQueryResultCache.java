@@ -0,0 +1,355 @@
+package cn.planka.card.service.core;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardPageQueryRequest;
+import cn.planka.card.service.permission.PermissionConfigCacheService;
+import cn.planka.common.result.PageResult;
+import cn.planka.domain.card.CardTypeId;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 卡片分页查询结果缓存
+ * <p>
+ * 缓存键由规范化的查询请求（排除操作人）和操作人权限指纹组成；缓存值记录查询执行前的版本序列号
+ * 以及结果依赖的实体类型（查询范围 + 结果中出现的卡片和关联卡片类型），
+ * 任一依赖类型在此之后有卡片或关联变更即视为过期，由 {@link CardTypeVersionTracker} 判定。
+ * <p>
+ * 权限指纹：条件不含引用值（如当前成员）且依赖类型都没有权限配置时，结果与操作人无关，所有操作人共享；
+ * 否则按操作人隔离。
+ * <p>
+ * 热点视图的第一页在依赖类型变化后由后台线程主动刷新，轮询请求无需等待 zgraph 查询。
+ * <p>
+ * 缓存值以序列化快照保存，每次命中反序列化出独立的 PageResult/CardDTO，
+ * 调用方（权限过滤、字段补全等）对结果的修改不会影响缓存和其他请求。
+ */
+@Component
+public class CardQueryResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardQueryResultCache.class);
+
+    private static final String SHARED_FINGERPRINT = "*";
+    private static final int MAX_ENTRIES = 2_000;
+    /**
+     * 兜底过期时间：覆盖事件丢失、权限配置变化、动态日期跨天等版本号无法感知的情况
+     */
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofSeconds(60);
+    private static final int HOT_HIT_THRESHOLD = 3;
+    private static final long REFRESH_DELAY_MILLIS = 200;
+    private static final TypeReference<PageResult<CardDTO>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    private final CardTypeVersionTracker versionTracker;
+    private final PermissionConfigCacheService permissionConfigCacheService;
+    private final ObjectMapper keyMapper;
+    private final ObjectMapper valueMapper;
+    private final boolean enabled;
+    private final Cache<String, CachedPage> cache;
+    private final Set<String> pendingRefreshTypes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService refresher;
+
+    public CardQueryResultCache(CardTypeVersionTracker versionTracker,
+                                PermissionConfigCacheService permissionConfigCacheService,
+                                ObjectMapper objectMapper,
+                                @Value("${planka.card.query-cache.enabled:true}") boolean enabled) {
+        this.versionTracker = versionTracker;
+        this.permissionConfigCacheService = permissionConfigCacheService;
+        this.keyMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        // CardDTO 含派生 getter（如 code），反序列化快照时忽略
+        this.valueMapper = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .build();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "card-query-cache-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        versionTracker.addListener(this::onCardTypeChanged);
+    }
+
+    /**
+     * 读取缓存结果，未命中或已过期时执行加载并写入缓存
+     * <p>
+     * 加载函数在刷新热点结果时会被再次调用，必须可以重复执行。
+     * 返回的结果归调用方所有，可以自由修改。
+     *
+     * @param request 分页查询请求（计算缓存键时使用调用方传入的原始请求）
+     * @param loader  实际执行查询的函数
+     * @return 分页结果
+     */
+    public PageResult<CardDTO> getOrLoad(CardPageQueryRequest request, Supplier<PageResult<CardDTO>> loader) {
+        if (!enabled || !isCacheable(request)) {
+            return loader.get();
+        }
+
+        QueryKey queryKey = buildKey(request);
+        if (queryKey == null) {
+            return loader.get();
+        }
+
+        PageResult<CardDTO> cached = readValid(queryKey.sharedKey());
+        if (cached == null) {
+            cached = readValid(queryKey.operatorKey());
+        }
+        if (cached != null) {
+            return cached;
+        }
+        return load(request, queryKey, loader, new AtomicInteger());
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 当前缓存条目数量
+     */
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // ==================== 加载与校验 ====================
+
+    /**
+     * 读取未过期的缓存结果，返回从快照反序列化出的独立副本
+     */
+    private PageResult<CardDTO> readValid(String key) {
+        CachedPage page = cache.getIfPresent(key);
+        if (page == null || !isValid(page)) {
+            return null;
+        }
+        try {
+            PageResult<CardDTO> result = valueMapper.readValue(page.snapshot(), PAGE_TYPE);
+            page.hits().incrementAndGet();
+            return result;
+        } catch (Exception e) {
+            logger.warn("读取查询缓存快照失败，重新查询", e);
+            cache.invalidate(key);
+            return null;
+        }
+    }
+
+    /**
+     * 执行查询并写入快照，返回查询得到的原始结果（缓存中只保存快照，不持有该实例）
+     */
+    private PageResult<CardDTO> load(CardPageQueryRequest request, QueryKey queryKey,
+                                     Supplier<PageResult<CardDTO>> loader, AtomicInteger hits) {
+        // 先记录序列号再查询，查询期间发生的变更会使结果立即过期
+        long sequence = versionTracker.currentSequence();
+        PageResult<CardDTO> result = loader.get();
+
+        byte[] snapshot;
+        try {
+            snapshot = valueMapper.writeValueAsBytes(result);
+        } catch (Exception e) {
+            logger.warn("序列化查询结果失败，跳过缓存", e);
+            return result;
+        }
+        Set<String> dependentTypes = collectDependentTypes(request, result);
+        boolean shared = !queryKey.operatorRelative() && hasNoPermissionConfig(dependentTypes);
+        CachedPage page = new CachedPage(snapshot, sequence, Set.copyOf(dependentTypes), shared,
+                isFirstPage(request), loader, request, queryKey, hits);
+
+        cache.put(shared ? queryKey.sharedKey() : queryKey.operatorKey(), page);
+        return result;
+    }
+
+    private boolean isValid(CachedPage page) {
+        if (!versionTracker.isUnchangedSince(page.dependentTypes(), page.sequence())) {
+            return false;
+        }
+        // 共享结果要求依赖类型仍然没有权限配置
+        return !page.shared() || hasNoPermissionConfig(page.dependentTypes());
+    }
+
+    private boolean isCacheable(CardPageQueryRequest request) {
+        return request.getQueryScope() != null
+                && request.getQueryScope().getCardTypeIds() != null
+                && !request.getQueryScope().getCardTypeIds().isEmpty();
+    }
+
+    private boolean isFirstPage(CardPageQueryRequest request) {
+        return request.getSortAndPage() == null
+                || request.getSortAndPage().getPage() == null
+                || request.getSortAndPage().getPage().getPageNum() == 0;
+    }
+
+    private boolean hasNoPermissionConfig(Collection<String> cardTypeIds) {
+        for (String cardTypeId : cardTypeIds) {
+            if (!permissionConfigCacheService.getPermissionConfigs(CardTypeId.of(cardTypeId)).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<String> collectDependentTypes(CardPageQueryRequest request, PageResult<CardDTO> result) {
+        Set<String> types = new HashSet<>(request.getQueryScope().getCardTypeIds());
+        if (result.getContent() == null) {
+            return types;
+        }
+        Deque<CardDTO> pending = new ArrayDeque<>(result.getContent());
+        Set<CardDTO> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (!pending.isEmpty()) {
+            CardDTO card = pending.poll();
+            if (card == null || !visited.add(card)) {
+                continue;
+            }
+            if (card.getTypeId() != null) {
+                types.add(card.getTypeId().value());
+            }
+            if (card.getLinkedCards() != null) {
+                for (Set<CardDTO> linked : card.getLinkedCards().values()) {
+                    if (linked != null) {
+                        pending.addAll(linked);
+                    }
+                }
+            }
+        }
+        return types;
+    }
+
+    // ==================== 缓存键 ====================
+
+    private QueryKey buildKey(CardPageQueryRequest request) {
+        try {
+            ObjectNode tree = keyMapper.valueToTree(request);
+            String operatorId = null;
+            JsonNode context = tree.get("queryContext");
+            if (context instanceof ObjectNode contextNode) {
+                JsonNode operator = contextNode.remove("operatorId");
+                operatorId = operator != null && !operator.isNull() ? operator.asText() : null;
+            }
+            boolean operatorRelative = containsReferenceValue(tree.get("condition"));
+            String normalized = keyMapper.writeValueAsString(tree);
+            return new QueryKey(normalized + "|" + SHARED_FINGERPRINT, normalized + "|" + operatorId,
+                    operatorRelative);
+        } catch (Exception e) {
+            logger.warn("构建查询缓存键失败，跳过缓存", e);
+            return null;
+        }
+    }
+
+    /**
+     * 条件中是否包含引用值（引用当前成员、当前卡片等），这类条件的结果依赖操作人
+     */
+    private boolean containsReferenceValue(JsonNode node) {
+        if (node == null) {
+            return false;
+        }
+        if (node.isObject()) {
+            JsonNode type = node.get("type");
+            if (type != null && "REFERENCE".equals(type.asText())) {
+                return true;
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                if (containsReferenceValue(fields.next().getValue())) {
+                    return true;
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode child : node) {
+                if (containsReferenceValue(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // ==================== 热点刷新 ====================
+
+    private void onCardTypeChanged(String cardTypeId) {
+        if (!enabled) {
+            return;
+        }
+        pendingRefreshTypes.add(cardTypeId);
+        // 合并短时间内的多次变更，只刷新一次
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.schedule(this::refreshHotPages, REFRESH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refreshHotPages() {
+        refreshScheduled.set(false);
+        Set<String> changedTypes = new HashSet<>(pendingRefreshTypes);
+        pendingRefreshTypes.removeAll(changedTypes);
+
+        List<CachedPage> hotPages = cache.asMap().values().stream()
+                .filter(page -> page.firstPage() && page.hits().get() >= HOT_HIT_THRESHOLD)
+                .filter(page -> page.dependentTypes().stream().anyMatch(changedTypes::contains))
+                .toList();
+        for (CachedPage page : hotPages) {
+            try {
+                // 刷新后热度减半，长期无人访问的页面逐渐退出主动刷新
+                AtomicInteger hits = new AtomicInteger(page.hits().get() / 2);
+                load(page.request(), page.queryKey(), page.loader(), hits);
+            } catch (Exception e) {
+                logger.warn("刷新热点查询结果失败", e);
+            }
+        }
+        if (!hotPages.isEmpty()) {
+            logger.debug("刷新热点查询结果: changedTypes={}, pages={}", changedTypes, hotPages.size());
+        }
+    }
+
+    private record QueryKey(String sharedKey, String operatorKey, boolean operatorRelative) {
+    }
+
+    private record CachedPage(byte[] snapshot,
+                              long sequence,
+                              Set<String> dependentTypes,
+                              boolean shared,
+                              boolean firstPage,
+                              Supplier<PageResult<CardDTO>> loader,
+                              CardPageQueryRequest request,
+                              QueryKey queryKey,
+                              AtomicInteger hits) {
+    }
+}
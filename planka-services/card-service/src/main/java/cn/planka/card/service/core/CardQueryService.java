@@ -5,6 +5,7 @@ import cn.planka.api.card.request.CardCountRequest;
 import cn.planka.api.card.request.CardIdQueryRequest;
 import cn.planka.api.card.request.CardPageQueryRequest;
 import cn.planka.api.card.request.CardQueryRequest;
+import cn.planka.api.card.request.CardTypeaheadRequest;
 import cn.planka.api.card.request.QueryContext;
 import cn.planka.api.card.request.QueryScope;
 import cn.planka.api.card.request.Yield;
@@ -12,6 +13,7 @@ import cn.planka.api.card.request.YieldLink;
 import cn.planka.card.converter.CascadeFieldValueBuilder;
 import cn.planka.card.repository.CardRepository;
 import cn.planka.card.service.permission.CardPermissionService;
+import cn.planka.card.service.typeahead.CardTypeaheadService;
 import cn.planka.common.exception.CommonErrorCode;
 import cn.planka.common.result.PageResult;
 import cn.planka.common.result.Result;
@@ -42,12 +44,18 @@ public class CardQueryService {
     private final CardRepository cardRepository;
     private final YieldEnhancer yieldEnhancer;
     private final CardPermissionService cardPermissionService;
+    private final CardQueryResultCache queryResultCache;
+    private final CardTypeaheadService typeaheadService;
 
     public CardQueryService(CardRepository cardRepository, YieldEnhancer yieldEnhancer,
-                            CardPermissionService cardPermissionService) {
+                            CardPermissionService cardPermissionService,
+                            CardQueryResultCache queryResultCache,
+                            CardTypeaheadService typeaheadService) {
         this.cardRepository = cardRepository;
         this.yieldEnhancer = yieldEnhancer;
         this.cardPermissionService = cardPermissionService;
+        this.queryResultCache = queryResultCache;
+        this.typeaheadService = typeaheadService;
     }
 
     /**
@@ -109,12 +117,17 @@ public class CardQueryService {
     public Result<PageResult<CardDTO>> pageQuery(CardPageQueryRequest request) {
         try {
             Yield originalYield = request.getYield();
-            request.setYield(yieldEnhancer.enhance(originalYield));
-            PageResult<CardDTO> result = cardRepository.pageQuery(request);
-            if (result.getContent() != null) {
-                fillCascadeFieldValuesForList(result.getContent(), originalYield);
-                applyFieldPermissionsFromRequest(result.getContent(), request);
-            }
+            Yield enhancedYield = yieldEnhancer.enhance(originalYield);
+            PageResult<CardDTO> result = queryResultCache.getOrLoad(request, () -> {
+                // 调用方的请求同时是缓存键的来源，不能改写，增强后的返回定义放在副本上
+                CardPageQueryRequest enhancedRequest = withYield(request, enhancedYield);
+                PageResult<CardDTO> page = cardRepository.pageQuery(enhancedRequest);
+                if (page.getContent() != null) {
+                    fillCascadeFieldValuesForList(page.getContent(), originalYield);
+                    applyFieldPermissionsFromRequest(page.getContent(), enhancedRequest);
+                }
+                return page;
+            });
             return Result.success(result);
         } catch (Exception e) {
             logger.error("分页查询卡片失败", e);
@@ -122,6 +135,22 @@ public class CardQueryService {
         }
     }
 
+    /**
+     * 卡片联想搜索
+     */
+    public Result<PageResult<CardDTO>> typeahead(CardTypeaheadRequest request, String operatorId) {
+        try {
+            if (request.getKeyword() == null || request.getKeyword().isBlank()
+                    || request.getCardTypeIds() == null || request.getCardTypeIds().isEmpty()) {
+                return Result.failure(CommonErrorCode.BAD_REQUEST, "搜索关键词和实体类型不能为空");
+            }
+            return Result.success(typeaheadService.search(request, operatorId));
+        } catch (Exception e) {
+            logger.error("卡片联想搜索失败", e);
+            return Result.failure(CommonErrorCode.INTERNAL_ERROR, "卡片联想搜索失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 查询卡片ID列表
      */
@@ -229,6 +258,19 @@ public class CardQueryService {
         }
     }
 
+    /**
+     * 复制分页查询请求并替换返回定义
+     */
+    private static CardPageQueryRequest withYield(CardPageQueryRequest request, Yield yield) {
+        CardPageQueryRequest copy = new CardPageQueryRequest();
+        copy.setQueryContext(request.getQueryContext());
+        copy.setQueryScope(request.getQueryScope());
+        copy.setCondition(request.getCondition());
+        copy.setSortAndPage(request.getSortAndPage());
+        copy.setYield(yield);
+        return copy;
+    }
+
     /**
      * 从请求中提取 operatorId 并应用字段读权限
      */
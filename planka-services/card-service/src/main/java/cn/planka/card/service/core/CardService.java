@@ -101,53 +101,26 @@ public class CardService {
 
             CardEntityConverter.FilteredCreateRequest filtered = entityConverter.filterCascadeFieldValues(request);
             CardEntity cardEntity = entityConverter.toCardEntityForCreate(filtered.request());
-            CardId cardId = cardRepository.create(cardEntity);
 
-            applyCascadeFieldValuesForCreate(cardId, request, filtered.cascadeFieldValues(), operatorId, sourceIp);
-            eventPublisher.publishCreated(cardEntity, String.valueOf(operatorId.value()));
-
-            // 处理关联属性（覆盖式）
+            // 关联属性（覆盖式）和创建人关联随卡片一次写入，创建人关联与其他关联一样经过关联类型和权限校验
+            String creatorLinkFieldId = SystemSchemaIds.creatorLinkTypeId(request.orgId().value()) + ":SOURCE";
+            List<LinkFieldUpdate> linkUpdates = new ArrayList<>();
             if (CollectionUtils.isNotEmpty(request.linkUpdates())) {
-                for (LinkFieldUpdate linkUpdate : request.linkUpdates()) {
-                    UpdateLinkRequest linkRequest = UpdateLinkRequest.builder()
-                            .cardId(cardId.asStr())
-                            .linkFieldId(linkUpdate.linkFieldId())
-                            .targetCardIds(linkUpdate.targetCardIds() != null
-                                    ? linkUpdate.targetCardIds()
-                                    : Collections.emptyList())
-                            .build();
-
-                    Result<Void> linkResult = linkCardService.updateLink(
-                            linkRequest, String.valueOf(request.orgId().value()),
-                            String.valueOf(operatorId.value()), sourceIp);
-
-                    if (!linkResult.isSuccess()) {
-                        logger.error("创建卡片时更新关联属性失败: linkFieldId={}, error={}",
-                                linkUpdate.linkFieldId(), linkResult.getMessage());
-                    }
-                }
+                linkUpdates.addAll(request.linkUpdates());
             }
+            linkUpdates.add(new LinkFieldUpdate(creatorLinkFieldId, List.of(String.valueOf(operatorId.value()))));
+            Map<String, List<String>> links = linkCardService.prepareLinksForCreate(
+                    cardEntity.getId(), linkUpdates, operatorId);
 
-            // 自动设置创建人关联
-            String creatorLinkTypeId = SystemSchemaIds.creatorLinkTypeId(request.orgId().value());
-            String creatorLinkFieldId = creatorLinkTypeId + ":SOURCE";
-            UpdateLinkRequest creatorLinkRequest = UpdateLinkRequest.builder()
-                    .cardId(cardId.asStr())
-                    .linkFieldId(creatorLinkFieldId)
-                    .targetCardIds(List.of(String.valueOf(operatorId.value())))
-                    .build();
+            // 校验不通过的关联已跳过；卡片和校验通过的关联原子写入，写入失败时卡片也不会创建
+            CardId cardId = cardRepository.createWithLinks(cardEntity, links);
 
-            Result<Void> creatorLinkResult = linkCardService.updateLink(
-                    creatorLinkRequest,
-                    request.orgId().value(),
-                    String.valueOf(operatorId.value()),
-                    sourceIp,
-                    true); // 跳过级联同步，避免循环
+            applyCascadeFieldValuesForCreate(cardId, request, filtered.cascadeFieldValues(), operatorId, sourceIp);
+            eventPublisher.publishCreated(cardEntity, String.valueOf(operatorId.value()));
 
-            if (!creatorLinkResult.isSuccess()) {
-                logger.error("设置创建人关联失败: cardId={}, error={}",
-                        cardId, creatorLinkResult.getMessage());
-            }
+            // 创建人关联跳过级联同步，避免循环
+            linkCardService.afterCreateWithLinks(cardEntity, links, Set.of(creatorLinkFieldId),
+                    String.valueOf(operatorId.value()), sourceIp);
 
             return Result.success(cardId);
         } catch (Exception e) {
@@ -0,0 +1,106 @@
+package cn.planka.card.service.core;
+
+import cn.planka.event.card.CardEvent;
+import cn.planka.event.card.CardLinkUpdatedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 实体类型数据版本跟踪器
+ * <p>
+ * 卡片或关联发生变化时递增对应实体类型的版本。版本取自全局递增序列，
+ * 查询结果只需记录执行前的序列号，之后任一依赖类型的版本超过该序列号即视为过期。
+ * <p>
+ * 版本只在本实例内有效：本实例的写操作在发布事件时同步递增，保证写后立即查询不会命中旧结果；
+ * 其他实例的写操作由卡片事件监听器驱动（每个实例独立消费，本实例的事件回流时重复递增无副作用）。
+ */
+@Component
+public class CardTypeVersionTracker {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 当前全局序列号
+     */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * 实体类型的当前版本，从未变化过的类型为 0
+     */
+    public long versionOf(String cardTypeId) {
+        return versions.getOrDefault(cardTypeId, 0L);
+    }
+
+    /**
+     * 判断给定类型在序列号之后是否都未发生变化
+     *
+     * @param cardTypeIds 依赖的实体类型
+     * @param sequence    查询执行前的序列号
+     * @return 所有类型版本都不超过序列号时返回 true
+     */
+    public boolean isUnchangedSince(Collection<String> cardTypeIds, long sequence) {
+        for (String cardTypeId : cardTypeIds) {
+            if (versionOf(cardTypeId) > sequence) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 递增实体类型版本并通知监听者
+     */
+    public void bump(String cardTypeId) {
+        if (cardTypeId == null || cardTypeId.isEmpty()) {
+            return;
+        }
+        versions.put(cardTypeId, sequence.incrementAndGet());
+        for (Consumer<String> listener : listeners) {
+            listener.accept(cardTypeId);
+        }
+    }
+
+    /**
+     * 递增卡片事件影响的实体类型版本
+     * <p>
+     * 关联变更同时影响两端卡片所在的实体类型。
+     */
+    public void bumpAffected(CardEvent event) {
+        Set<String> cardTypeIds = new LinkedHashSet<>();
+        cardTypeIds.add(event.getCardTypeId());
+        if (event instanceof CardLinkUpdatedEvent linkEvent) {
+            collectCardTypeIds(linkEvent.getAddedCards(), cardTypeIds);
+            collectCardTypeIds(linkEvent.getRemovedCards(), cardTypeIds);
+        }
+        cardTypeIds.forEach(this::bump);
+    }
+
+    private void collectCardTypeIds(List<CardLinkUpdatedEvent.LinkedCardRef> refs, Set<String> cardTypeIds) {
+        if (refs == null) {
+            return;
+        }
+        for (CardLinkUpdatedEvent.LinkedCardRef ref : refs) {
+            cardTypeIds.add(ref.getCardTypeId());
+        }
+    }
+
+    /**
+     * 注册版本变化监听者
+     */
+    public void addListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
@@ -1,9 +1,11 @@
 package cn.planka.card.service.core;
 
 import cn.planka.api.card.dto.CardDTO;
+import cn.planka.card.model.CardEntity;
 import cn.planka.card.repository.CardRepository;
 import cn.planka.card.service.permission.CardPermissionService;
 import cn.planka.card.service.permission.exception.PermissionDeniedException;
+import cn.planka.card.service.typeahead.CardTypeaheadService;
 import cn.planka.card.service.cascadefield.CascadeFieldLinkSyncService;
 import cn.planka.card.service.cascadefield.CascadeFieldSyncResult;
 import cn.planka.common.result.PageResult;
@@ -56,19 +58,25 @@ public class LinkCardService {
     private final EventPublisher eventPublisher;
     private final CascadeFieldLinkSyncService cascadeFieldLinkSyncService;
     private final CardPermissionService permissionService;
+    private final CardTypeaheadService typeaheadService;
+    private final CardTypeVersionTracker versionTracker;
 
     public LinkCardService(SchemaCacheService schemaCacheService,
                            CardRepository cardRepository,
                            ZgraphWriteClient writeClient,
                            EventPublisher eventPublisher,
                            CascadeFieldLinkSyncService cascadeFieldLinkSyncService,
-                           CardPermissionService permissionService) {
+                           CardPermissionService permissionService,
+                           CardTypeaheadService typeaheadService,
+                           CardTypeVersionTracker versionTracker) {
         this.schemaCacheService = schemaCacheService;
         this.cardRepository = cardRepository;
         this.writeClient = writeClient;
         this.eventPublisher = eventPublisher;
         this.cascadeFieldLinkSyncService = cascadeFieldLinkSyncService;
         this.permissionService = permissionService;
+        this.typeaheadService = typeaheadService;
+        this.versionTracker = versionTracker;
     }
 
     /**
@@ -109,14 +117,23 @@ public class LinkCardService {
                 return Result.success(PageResult.empty());
             }
 
-            // 4. 构建分页查询请求
-            CardPageQueryRequest queryRequest = buildCardPageQueryRequest(
-                    targetCardTypeIds, request.getKeyword(), orgId, operatorId, request);
-
-            // 5. 执行查询
-            PageResult<CardDTO> cardPage = cardRepository.pageQuery(queryRequest);
+            // 4. 执行查询：有关键字时走联想索引，否则分页查询
+            PageResult<CardDTO> cardPage;
+            if (request.getKeyword() != null && !request.getKeyword().isBlank()) {
+                cardPage = typeaheadService.search(CardTypeaheadRequest.builder()
+                        .orgId(orgId)
+                        .cardTypeIds(targetCardTypeIds.stream().map(CardTypeId::value).toList())
+                        .keyword(request.getKeyword())
+                        .page(request.getPage())
+                        .size(request.getSize())
+                        .build(), operatorId);
+            } else {
+                CardPageQueryRequest queryRequest = buildCardPageQueryRequest(
+                        targetCardTypeIds, request.getKeyword(), orgId, operatorId, request);
+                cardPage = cardRepository.pageQuery(queryRequest);
+            }
 
-            // 6. 转换为 LinkedCard
+            // 5. 转换为 LinkedCard
             List<LinkedCard> linkedCards = cardPage.getContent().stream()
                     .map(this::toLinkedCard)
                     .toList();
@@ -281,6 +298,114 @@ public class LinkCardService {
     }
 
 
+    /**
+     * 校验新建卡片的关联属性
+     * <p>
+     * 关联关系随卡片一并写入，需要在写入前完成校验。关联类型不存在或无权限的关联属性（含创建人关联）
+     * 跳过并记录日志，不影响卡片创建，与创建后逐个更新关联时的行为一致。
+     * 校验通过的关联与卡片原子写入，写入失败时整体失败，卡片不会在缺少部分关联的状态下被创建。
+     *
+     * @param cardId      新建卡片ID
+     * @param linkUpdates 请求中的关联属性
+     * @param operatorId  操作人ID
+     * @return 校验通过的 linkFieldId → 对端卡片ID列表（已去重，不含空列表）
+     */
+    public Map<String, List<String>> prepareLinksForCreate(CardId cardId, List<LinkFieldUpdate> linkUpdates,
+                                                           CardId operatorId) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (LinkFieldUpdate linkUpdate : linkUpdates) {
+            String linkFieldId = linkUpdate.linkFieldId();
+            if (linkUpdate.targetCardIds() == null || linkUpdate.targetCardIds().isEmpty()) {
+                result.remove(linkFieldId);
+                continue;
+            }
+            if (!LinkFieldIdUtils.isValidFormat(linkFieldId)
+                    || getLinkTypeDefinition(LinkFieldIdUtils.getLinkTypeId(linkFieldId)).isEmpty()) {
+                logger.error("创建卡片时更新关联属性失败: linkFieldId={}, error=关联类型不存在", linkFieldId);
+                continue;
+            }
+            List<String> targetCardIds = List.copyOf(new LinkedHashSet<>(linkUpdate.targetCardIds()));
+            try {
+                permissionService.checkLinkFieldEditPermissionForCreate(
+                        cardId, operatorId, Map.of(linkFieldId, targetCardIds));
+            } catch (PermissionDeniedException e) {
+                logger.error("创建卡片时更新关联属性失败: linkFieldId={}, error={}", linkFieldId, e.getMessage());
+                continue;
+            }
+            result.put(linkFieldId, targetCardIds);
+        }
+        return result;
+    }
+
+    /**
+     * 新建卡片的关联关系写入后发布关联事件并执行级联同步
+     * <p>
+     * 新建卡片没有旧关联，无需查询现有关联；所有对端卡片的基本信息一次批量查询。
+     *
+     * @param card                     新建卡片
+     * @param targetCardIdsByLinkField 已写入的 linkFieldId → 对端卡片ID列表
+     * @param skipSyncLinkFieldIds     不执行级联同步的关联属性（如创建人关联）
+     * @param operatorId               操作人ID
+     * @param sourceIp                 来源IP
+     */
+    public void afterCreateWithLinks(CardEntity card, Map<String, List<String>> targetCardIdsByLinkField,
+                                     Set<String> skipSyncLinkFieldIds, String operatorId, String sourceIp) {
+        if (targetCardIdsByLinkField.isEmpty()) {
+            return;
+        }
+        String orgId = card.getOrgId().value();
+        String cardId = card.getId().value();
+        String cardTypeId = card.getTypeId().value();
+
+        CardDTO currentCard = new CardDTO();
+        currentCard.setId(card.getId());
+        currentCard.setTypeId(card.getTypeId());
+        currentCard.setTitle(card.getTitle());
+
+        Set<String> allTargetIds = targetCardIdsByLinkField.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        Map<String, CardDTO> targetCards = getCardsBasicInfo(allTargetIds, operatorId);
+
+        for (Map.Entry<String, List<String>> entry : targetCardIdsByLinkField.entrySet()) {
+            String linkFieldId = entry.getKey();
+            List<String> targetCardIds = entry.getValue();
+            try {
+                Map<String, CardDTO> createdCards = new HashMap<>();
+                for (String targetCardId : targetCardIds) {
+                    CardDTO targetCard = targetCards.get(targetCardId);
+                    if (targetCard != null) {
+                        createdCards.put(targetCardId, targetCard);
+                    }
+                }
+
+                publishLinkUpdatedEvent(
+                        orgId, operatorId, sourceIp,
+                        cardId, cardTypeId,
+                        linkFieldId, getLinkFieldName(linkFieldId),
+                        Map.of(), Set.of(),
+                        createdCards, true
+                );
+                String oppositeLinkFieldId = getOppositeLinkFieldId(linkFieldId);
+                publishOppositeCardEvents(
+                        orgId, operatorId, sourceIp,
+                        cardId, currentCard,
+                        oppositeLinkFieldId, getLinkFieldName(oppositeLinkFieldId),
+                        Map.of(), Set.of(),
+                        createdCards
+                );
+
+                if (!skipSyncLinkFieldIds.contains(linkFieldId)) {
+                    cascadeFieldLinkSyncService.syncCascadeFieldLinks(
+                            cardId, cardTypeId, linkFieldId, targetCardIds,
+                            Map.of(), orgId, operatorId, sourceIp);
+                }
+            } catch (Exception e) {
+                logger.error("创建卡片后处理关联属性失败: cardId={}, linkFieldId={}", cardId, linkFieldId, e);
+            }
+        }
+    }
+
     // ==================== 私有方法 ====================
 
     private Optional<LinkTypeDefinition> getLinkTypeDefinition(String linkTypeId) {
@@ -488,14 +613,12 @@ public class LinkCardService {
      * 批量获取卡片基本信息
      */
     private Map<String, CardDTO> getCardsBasicInfo(Set<String> cardIds, String operatorId) {
-        Map<String, CardDTO> result = new HashMap<>();
-        for (String cardIdStr : cardIds) {
-            CardDTO card = getCardBasicInfo(cardIdStr, operatorId);
-            if (card != null) {
-                result.put(cardIdStr, card);
-            }
+        if (cardIds.isEmpty()) {
+            return Map.of();
         }
-        return result;
+        List<CardId> ids = cardIds.stream().map(CardId::of).toList();
+        return cardRepository.findByIds(ids, Yield.basic(), operatorId).stream()
+                .collect(Collectors.toMap(c -> c.getId().asStr(), c -> c, (a, b) -> a));
     }
 
     /**
@@ -565,7 +688,9 @@ public class LinkCardService {
                 .withAddedCards(addedRefs);
 
         if (event.hasChanges()) {
-            eventPublisher.publish(event);
+            versionTracker.bumpAffected(event);
+            versionTracker.bumpAffected(event);
+        eventPublisher.publish(event);
             logger.debug("发布关联更新事件: cardId={}, linkFieldId={}, initiator={}, added={}, removed={}",
                     cardId, linkFieldId, initiator, addedRefs.size(), removedRefs.size());
         }
@@ -601,7 +726,9 @@ public class LinkCardService {
                     .withRemovedCards(List.of(initiatorRef))
                     .withAddedCards(List.of());
 
-            eventPublisher.publish(event);
+            versionTracker.bumpAffected(event);
+            versionTracker.bumpAffected(event);
+        eventPublisher.publish(event);
             logger.debug("发布对端关联移除事件: cardId={}, linkFieldId={}, removed={}",
                     deletedCardId, oppositeLinkFieldId, initiatorCardId);
         }
@@ -618,7 +745,9 @@ public class LinkCardService {
                     .withAddedCards(List.of(initiatorRef))
                     .withRemovedCards(List.of());
 
-            eventPublisher.publish(event);
+            versionTracker.bumpAffected(event);
+            versionTracker.bumpAffected(event);
+        eventPublisher.publish(event);
             logger.debug("发布对端关联新增事件: cardId={}, linkFieldId={}, added={}",
                     addedCardId, oppositeLinkFieldId, initiatorCardId);
         }
@@ -44,6 +44,39 @@ public class ConditionResolver {
         return new Condition(resolvedRoot);
     }
 
+    /**
+     * 判断条件中是否包含动态日期值
+     * <p>
+     * 动态日期按自然日解析，不包含动态日期的条件解析结果与时间无关，可以长期复用。
+     *
+     * @param condition 原始条件
+     * @return 包含动态日期值时返回 true
+     */
+    public boolean hasDynamicValue(Condition condition) {
+        if (condition == null || condition.isEmpty()) {
+            return false;
+        }
+        return hasDynamicNode(condition.getRoot());
+    }
+
+    private boolean hasDynamicNode(ConditionNode node) {
+        if (node instanceof ConditionGroup group) {
+            if (group.getChildren() == null) {
+                return false;
+            }
+            for (ConditionNode child : group.getChildren()) {
+                if (hasDynamicNode(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (node instanceof DateConditionItem item) {
+            return hasDynamicDateValue(item.getOperator());
+        }
+        return false;
+    }
+
     /**
      * 解析条件节点
      */
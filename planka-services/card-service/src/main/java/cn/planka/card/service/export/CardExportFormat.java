@@ -0,0 +1,54 @@
+package cn.planka.card.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * 导出文件格式
+ */
+public enum CardExportFormat {
+
+    CSV("text/csv;charset=UTF-8", ".csv"),
+
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    CardExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * 打开行写入器
+     */
+    public ExportRowWriter open(OutputStream out) throws IOException {
+        return this == XLSX ? new XlsxExportWriter(out) : new CsvExportWriter(out);
+    }
+
+    /**
+     * 解析格式，为空时默认 CSV
+     *
+     * @throws IllegalArgumentException 不支持的格式
+     */
+    public static CardExportFormat of(String format) {
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的导出格式: " + format);
+        }
+    }
+}
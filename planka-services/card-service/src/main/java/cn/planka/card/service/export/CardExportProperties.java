@@ -0,0 +1,36 @@
+package cn.planka.card.service.export;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 卡片导出配置属性
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "planka.card-export")
+public class CardExportProperties {
+
+    /**
+     * 每次从图数据库读取的卡片数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 同时进行的导出数，超出时立即拒绝，避免导出挤占交互查询
+     */
+    private int maxConcurrentExports = 2;
+
+    /**
+     * 单次导出的最大卡片数
+     */
+    private int maxRows = 1_000_000;
+
+    /**
+     * 上传到对象存储的超时时间
+     */
+    private Duration uploadTimeout = Duration.ofMinutes(10);
+}
@@ -0,0 +1,414 @@
+package cn.planka.card.service.export;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.dto.CardExportFileDTO;
+import cn.planka.api.card.request.CardExportColumn;
+import cn.planka.api.card.request.CardExportRequest;
+import cn.planka.api.card.request.CardIdQueryRequest;
+import cn.planka.api.card.request.CardQueryRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.card.request.QueryScope;
+import cn.planka.api.card.request.Yield;
+import cn.planka.api.card.request.YieldField;
+import cn.planka.api.card.request.YieldLink;
+import cn.planka.api.schema.service.FieldConfigQueryService;
+import cn.planka.card.service.core.CardQueryService;
+import cn.planka.common.exception.CommonErrorCode;
+import cn.planka.common.result.Result;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.field.BuiltinField;
+import cn.planka.domain.link.LinkFieldIdUtils;
+import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
+import cn.planka.domain.schema.definition.stream.StatusConfig;
+import cn.planka.domain.schema.definition.stream.StepConfig;
+import cn.planka.domain.schema.definition.stream.ValueStreamDefinition;
+import cn.planka.infra.cache.schema.query.ValueStreamCacheQuery;
+import cn.planka.oss.api.OssFeignClient;
+import cn.planka.oss.api.dto.PresignedUploadRequest;
+import cn.planka.oss.api.dto.PresignedUploadResponse;
+import cn.planka.oss.plugin.FileCategory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 卡片导出服务
+ * <p>
+ * 导出不走分页查询：先按条件一次查出匹配的卡片ID（只保留为 long 数组，按ID即创建顺序排序），
+ * 再按批次读取所需的列并逐行写入目标流。内存占用只与批次大小有关，每批都是独立的小查询，
+ * 与交互查询公平竞争图数据库；写入阻塞时不会读取下一批，由输出流的消费速度控制读取节奏。
+ * 每批经 {@link CardQueryService} 读取，与列表查询一样补全返回定义、填充级联属性并应用属性读权限。
+ * 同时进行的导出数有上限，超出时立即拒绝。
+ */
+@Service
+public class CardExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardExportService.class);
+
+    /**
+     * 导出名额已满的错误码
+     */
+    public static final String EXPORT_BUSY = "EXPORT_BUSY";
+
+    private static final String DEFAULT_FILE_NAME = "cards";
+
+    private final CardQueryService cardQueryService;
+    private final FieldConfigQueryService fieldConfigQueryService;
+    private final ValueStreamCacheQuery valueStreamCacheQuery;
+    private final OssFeignClient ossFeignClient;
+    private final CardExportProperties properties;
+    private final Semaphore exportPermits;
+    private final HttpClient uploadClient;
+
+    public CardExportService(CardQueryService cardQueryService,
+                             FieldConfigQueryService fieldConfigQueryService,
+                             ValueStreamCacheQuery valueStreamCacheQuery,
+                             OssFeignClient ossFeignClient,
+                             CardExportProperties properties) {
+        this.cardQueryService = cardQueryService;
+        this.fieldConfigQueryService = fieldConfigQueryService;
+        this.valueStreamCacheQuery = valueStreamCacheQuery;
+        this.ossFeignClient = ossFeignClient;
+        this.properties = properties;
+        this.exportPermits = new Semaphore(Math.max(1, properties.getMaxConcurrentExports()));
+        this.uploadClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * 准备导出
+     * <p>
+     * 校验请求、占用导出名额并查出匹配的卡片ID；返回的导出对象必须关闭以释放名额。
+     *
+     * @param request    导出请求
+     * @param orgId      组织ID，取自请求头，覆盖请求体中的组织ID
+     * @param operatorId 操作人ID（成员卡片ID）
+     */
+    public Result<CardExport> open(CardExportRequest request, String orgId, String operatorId) {
+        if (request.getColumns() == null || request.getColumns().isEmpty()) {
+            return Result.failure(CommonErrorCode.BAD_REQUEST, "导出列不能为空");
+        }
+        CardExportFormat format;
+        try {
+            format = CardExportFormat.of(request.getFormat());
+        } catch (IllegalArgumentException e) {
+            return Result.failure(CommonErrorCode.BAD_REQUEST, e.getMessage());
+        }
+        if (!exportPermits.tryAcquire()) {
+            return Result.failure(EXPORT_BUSY, "当前导出任务过多，请稍后重试");
+        }
+
+        try {
+            QueryContext queryContext = request.getQueryContext() != null ? request.getQueryContext() : new QueryContext();
+            queryContext.setOrgId(orgId);
+            queryContext.setOperatorId(operatorId);
+
+            long[] cardIds = queryCardIds(request, queryContext);
+            if (cardIds.length > properties.getMaxRows()) {
+                exportPermits.release();
+                return Result.failure(CommonErrorCode.BAD_REQUEST,
+                        "导出的卡片数 " + cardIds.length + " 超过上限 " + properties.getMaxRows());
+            }
+
+            List<String> cardTypeIds = request.getQueryScope() != null && request.getQueryScope().getCardTypeIds() != null
+                    ? request.getQueryScope().getCardTypeIds()
+                    : List.of();
+            CardExportValueFormatter formatter = new CardExportValueFormatter(
+                    loadFieldConfigs(cardTypeIds), loadStatusNames(cardTypeIds), ZoneId.systemDefault());
+            return Result.success(new CardExport(request, queryContext, format, formatter, cardIds));
+        } catch (RuntimeException e) {
+            exportPermits.release();
+            logger.error("准备卡片导出失败", e);
+            return Result.failure(CommonErrorCode.INTERNAL_ERROR, "导出失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 导出到对象存储
+     * <p>
+     * 先写入本地临时文件（对象存储的预签名上传需要确定的文件长度），再从文件流式上传。
+     */
+    public Result<CardExportFileDTO> exportToOss(CardExportRequest request, String orgId, String operatorId) {
+        Result<CardExport> opened = open(request, orgId, operatorId);
+        if (!opened.isSuccess()) {
+            return Result.failure(opened.getCode(), opened.getMessage());
+        }
+        Path tempFile = null;
+        try (CardExport export = opened.getData()) {
+            Result<PresignedUploadResponse> presigned = ossFeignClient.getPresignedUploadUrl(
+                    PresignedUploadRequest.builder()
+                            .orgId(orgId)
+                            .userId(operatorId)
+                            .category(FileCategory.EXPORT)
+                            .fileName(export.getFileName())
+                            .contentType(export.getContentType())
+                            .expirationSeconds((int) properties.getUploadTimeout().toSeconds())
+                            .build());
+            if (!presigned.isSuccess() || presigned.getData() == null) {
+                return Result.failure(CommonErrorCode.OPERATION_NOT_ALLOWED,
+                        "当前存储不支持导出到对象存储: " + presigned.getMessage());
+            }
+
+            tempFile = Files.createTempFile("planka-export-", export.format.getExtension());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                export.writeTo(out);
+            }
+
+            HttpResponse<Void> response = uploadClient.send(HttpRequest.newBuilder(URI.create(presigned.getData().getUploadUrl()))
+                            .timeout(properties.getUploadTimeout())
+                            .header("Content-Type", export.getContentType())
+                            .PUT(HttpRequest.BodyPublishers.ofFile(tempFile))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                return Result.failure(CommonErrorCode.INTERNAL_ERROR, "上传导出文件失败: HTTP " + response.statusCode());
+            }
+
+            CardExportFileDTO file = new CardExportFileDTO();
+            file.setObjectKey(presigned.getData().getObjectKey());
+            file.setFileName(export.getFileName());
+            file.setRowCount(export.getRowCount());
+            file.setSize(Files.size(tempFile));
+            return Result.success(file);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.failure(CommonErrorCode.INTERNAL_ERROR, "导出被中断");
+        } catch (Exception e) {
+            logger.error("导出卡片到对象存储失败", e);
+            return Result.failure(CommonErrorCode.INTERNAL_ERROR, "导出失败: " + e.getMessage());
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    logger.warn("删除导出临时文件失败: {}", tempFile, e);
+                }
+            }
+        }
+    }
+
+    private long[] queryCardIds(CardExportRequest request, QueryContext queryContext) {
+        CardIdQueryRequest idQuery = new CardIdQueryRequest();
+        idQuery.setQueryContext(queryContext);
+        idQuery.setQueryScope(request.getQueryScope());
+        idQuery.setCondition(request.getCondition());
+        idQuery.setYield(Yield.basic());
+        Result<List<String>> queried = cardQueryService.queryIds(idQuery);
+        if (!queried.isSuccess()) {
+            throw new IllegalStateException(queried.getMessage());
+        }
+        List<String> ids = queried.getData();
+
+        long[] cardIds = new long[ids.size()];
+        for (int i = 0; i < cardIds.length; i++) {
+            cardIds[i] = Long.parseLong(ids.get(i));
+        }
+        Arrays.sort(cardIds);
+        return cardIds;
+    }
+
+    private Map<String, FieldConfig> loadFieldConfigs(List<String> cardTypeIds) {
+        Map<String, FieldConfig> fieldConfigs = new HashMap<>();
+        for (String cardTypeId : cardTypeIds) {
+            for (FieldConfig fieldConfig : fieldConfigQueryService.getFieldConfigs(cardTypeId)) {
+                fieldConfigs.putIfAbsent(fieldConfig.getFieldId().value(), fieldConfig);
+            }
+        }
+        return fieldConfigs;
+    }
+
+    private Map<String, String> loadStatusNames(List<String> cardTypeIds) {
+        Map<String, String> statusNames = new HashMap<>();
+        for (String cardTypeId : cardTypeIds) {
+            ValueStreamDefinition valueStream = valueStreamCacheQuery
+                    .getValueStreamByCardTypeId(CardTypeId.of(cardTypeId))
+                    .orElse(null);
+            if (valueStream == null || valueStream.getStepList() == null) {
+                continue;
+            }
+            for (StepConfig step : valueStream.getStepList()) {
+                if (step.getStatusList() != null) {
+                    for (StatusConfig status : step.getStatusList()) {
+                        statusNames.putIfAbsent(status.getId().value(), status.getName());
+                    }
+                }
+            }
+        }
+        return statusNames;
+    }
+
+    /**
+     * 根据导出列构建返回定义，只读取需要的属性
+     */
+    static Yield buildYield(List<CardExportColumn> columns) {
+        Set<String> fieldIds = new LinkedHashSet<>();
+        Set<String> linkFieldIds = new LinkedHashSet<>();
+        boolean includeDescription = false;
+        for (CardExportColumn column : columns) {
+            String fieldId = column.getFieldId();
+            if (CardExportValueFormatter.DESCRIPTION.equals(fieldId)) {
+                includeDescription = true;
+            } else if (LinkFieldIdUtils.isValidFormat(fieldId)) {
+                linkFieldIds.add(fieldId);
+            } else if (!CardExportValueFormatter.TITLE.equals(fieldId) && !BuiltinField.isBuiltinField(fieldId)) {
+                fieldIds.add(fieldId);
+            }
+        }
+
+        YieldField field = new YieldField();
+        field.setAllFields(false);
+        field.setFieldIds(fieldIds);
+        field.setIncludeDescription(includeDescription);
+        Yield yield = new Yield();
+        yield.setField(field);
+        if (!linkFieldIds.isEmpty()) {
+            List<YieldLink> links = new ArrayList<>();
+            for (String linkFieldId : linkFieldIds) {
+                YieldLink link = new YieldLink();
+                link.setLinkFieldId(linkFieldId);
+                link.setTargetYield(Yield.basic());
+                links.add(link);
+            }
+            yield.setLinks(links);
+        }
+        return yield;
+    }
+
+    /**
+     * 一次已准备好的导出，持有导出名额，关闭时释放
+     */
+    public final class CardExport implements AutoCloseable {
+
+        private final CardExportRequest request;
+        private final QueryContext queryContext;
+        private final CardExportFormat format;
+        private final CardExportValueFormatter formatter;
+        private final long[] cardIds;
+        private final Yield yield;
+        private boolean closed;
+
+        private CardExport(CardExportRequest request,
+                           QueryContext queryContext,
+                           CardExportFormat format,
+                           CardExportValueFormatter formatter,
+                           long[] cardIds) {
+            this.request = request;
+            this.queryContext = queryContext;
+            this.format = format;
+            this.formatter = formatter;
+            this.cardIds = cardIds;
+            this.yield = buildYield(request.getColumns());
+        }
+
+        public String getFileName() {
+            String baseName = request.getFileName() != null && !request.getFileName().isBlank()
+                    ? request.getFileName()
+                    : DEFAULT_FILE_NAME + "-" + LocalDate.now();
+            return baseName + format.getExtension();
+        }
+
+        public String getContentType() {
+            return format.getContentType();
+        }
+
+        public int getRowCount() {
+            return cardIds.length;
+        }
+
+        /**
+         * 按批次读取卡片并写入目标流，不关闭目标流
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            List<CardExportColumn> columns = request.getColumns();
+            ExportRowWriter writer = format.open(out);
+
+            List<String> header = new ArrayList<>(columns.size());
+            for (CardExportColumn column : columns) {
+                header.add(column.getTitle() != null && !column.getTitle().isBlank()
+                        ? column.getTitle()
+                        : formatter.header(column.getFieldId()));
+            }
+            writer.writeRow(header);
+
+            int batchSize = Math.max(1, properties.getBatchSize());
+            List<String> row = new ArrayList<>(columns.size());
+            for (int from = 0; from < cardIds.length; from += batchSize) {
+                List<String> batchIds = new ArrayList<>(batchSize);
+                for (int i = from; i < Math.min(from + batchSize, cardIds.length); i++) {
+                    batchIds.add(Long.toString(cardIds[i]));
+                }
+                Map<String, CardDTO> cards = queryBatch(batchIds);
+
+                for (String cardId : batchIds) {
+                    CardDTO card = cards.get(cardId);
+                    if (card == null) {
+                        // 查询ID后被删除或移出范围的卡片
+                        continue;
+                    }
+                    row.clear();
+                    for (CardExportColumn column : columns) {
+                        row.add(formatter.format(card, column.getFieldId()));
+                    }
+                    writer.writeRow(row);
+                }
+            }
+            writer.finish();
+        }
+
+        private Map<String, CardDTO> queryBatch(List<String> batchIds) throws IOException {
+            QueryScope scope = new QueryScope();
+            scope.setCardIds(batchIds);
+            if (request.getQueryScope() != null) {
+                scope.setCardCycles(request.getQueryScope().getCardCycles());
+            }
+            CardQueryRequest query = new CardQueryRequest();
+            query.setQueryContext(queryContext);
+            query.setQueryScope(scope);
+            query.setYield(yield);
+
+            Result<List<CardDTO>> queried = cardQueryService.query(query);
+            if (!queried.isSuccess()) {
+                throw new IOException(queried.getMessage());
+            }
+
+            Map<String, CardDTO> cards = new HashMap<>(batchIds.size() * 2);
+            Set<String> wanted = new HashSet<>(batchIds);
+            for (CardDTO card : queried.getData()) {
+                if (card.getId() != null && wanted.contains(card.getId().value())) {
+                    cards.put(card.getId().value(), card);
+                }
+            }
+            return cards;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                exportPermits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package cn.planka.card.service.export;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.field.Attachment;
+import cn.planka.domain.field.AttachmentFieldValue;
+import cn.planka.domain.field.BuiltinField;
+import cn.planka.domain.field.CascadeFieldValue;
+import cn.planka.domain.field.CascadeItem;
+import cn.planka.domain.field.DateFieldValue;
+import cn.planka.domain.field.EnumFieldValue;
+import cn.planka.domain.field.FieldPermissionStatus;
+import cn.planka.domain.field.FieldValue;
+import cn.planka.domain.field.NumberFieldValue;
+import cn.planka.domain.field.TextFieldValue;
+import cn.planka.domain.field.WebLinkFieldValue;
+import cn.planka.domain.link.LinkFieldIdUtils;
+import cn.planka.domain.schema.definition.fieldconfig.DateFieldConfig;
+import cn.planka.domain.schema.definition.fieldconfig.EnumFieldConfig;
+import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 导出单元格格式化器
+ * <p>
+ * 把卡片的标题、内置属性、自定义属性和关联属性格式化为单元格文本：
+ * 枚举输出选项名称，日期按属性配置的日期格式输出，关联属性输出关联卡片标题。
+ * 每次导出创建一个实例，无权限查看的属性输出为空。
+ */
+public class CardExportValueFormatter {
+
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+
+    private static final String MULTI_VALUE_SEPARATOR = ", ";
+    private static final DateTimeFormatter DATETIME_SECOND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter YEAR_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final Map<String, FieldConfig> fieldConfigs;
+    private final Map<String, String> statusNames;
+    private final Map<String, Map<String, String>> enumLabels = new HashMap<>();
+    private final ZoneId zoneId;
+
+    /**
+     * @param fieldConfigs 属性ID到属性配置
+     * @param statusNames  价值流状态ID到状态名称
+     * @param zoneId       日期输出时区
+     */
+    public CardExportValueFormatter(Map<String, FieldConfig> fieldConfigs,
+                                    Map<String, String> statusNames,
+                                    ZoneId zoneId) {
+        this.fieldConfigs = fieldConfigs;
+        this.statusNames = statusNames;
+        this.zoneId = zoneId;
+        for (FieldConfig fieldConfig : fieldConfigs.values()) {
+            if (fieldConfig instanceof EnumFieldConfig enumConfig && enumConfig.getOptions() != null) {
+                enumLabels.put(enumConfig.getFieldId().value(), enumConfig.getOptions().stream()
+                        .filter(option -> option.id() != null && option.label() != null)
+                        .collect(Collectors.toMap(EnumFieldConfig.EnumOptionDefinition::id,
+                                EnumFieldConfig.EnumOptionDefinition::label, (a, b) -> a)));
+            }
+        }
+    }
+
+    /**
+     * 列的默认表头
+     */
+    public String header(String fieldId) {
+        if (TITLE.equals(fieldId)) {
+            return "标题";
+        }
+        if (DESCRIPTION.equals(fieldId)) {
+            return "描述";
+        }
+        BuiltinField builtinField = BuiltinField.fromFieldId(fieldId);
+        if (builtinField != null) {
+            return builtinField.getDisplayName();
+        }
+        FieldConfig fieldConfig = fieldConfigs.get(fieldId);
+        return fieldConfig != null ? fieldConfig.getName() : fieldId;
+    }
+
+    /**
+     * 格式化卡片的一列
+     */
+    public String format(CardDTO card, String fieldId) {
+        if (TITLE.equals(fieldId)) {
+            CardTitle title = card.getTitle();
+            return title != null ? nullToEmpty(title.getDisplayValue()) : "";
+        }
+        if (DESCRIPTION.equals(fieldId)) {
+            return card.getDescription() != null ? nullToEmpty(card.getDescription().getValue()) : "";
+        }
+        if (BuiltinField.isBuiltinField(fieldId)) {
+            return formatBuiltin(card, BuiltinField.fromFieldId(fieldId));
+        }
+        if (LinkFieldIdUtils.isValidFormat(fieldId)) {
+            return formatLink(card, fieldId);
+        }
+        FieldValue<?> value = card.getFieldValues() != null ? card.getFieldValues().get(fieldId) : null;
+        if (value == null || value.getPermissionStatus() == FieldPermissionStatus.NO_PERMISSION) {
+            return "";
+        }
+        return formatFieldValue(value);
+    }
+
+    private String formatBuiltin(CardDTO card, BuiltinField field) {
+        if (field == null) {
+            return "";
+        }
+        return switch (field) {
+            case CODE -> nullToEmpty(card.getCode());
+            case CREATED_AT -> formatDateTime(card.getCreatedAt());
+            case UPDATED_AT -> formatDateTime(card.getUpdatedAt());
+            case ARCHIVED_AT -> formatDateTime(card.getArchivedAt());
+            case DISCARDED_AT -> formatDateTime(card.getAbandonedAt());
+            case CARD_CYCLE -> card.getCardCycle() != null ? card.getCardCycle().getDescription() : "";
+            case STATUS_ID -> card.getStatusId() != null
+                    ? statusNames.getOrDefault(card.getStatusId().value(), card.getStatusId().value())
+                    : "";
+        };
+    }
+
+    private String formatLink(CardDTO card, String linkFieldId) {
+        if (card.getLinkedCardPermissions() != null
+                && card.getLinkedCardPermissions().get(linkFieldId) == FieldPermissionStatus.NO_PERMISSION) {
+            return "";
+        }
+        Set<CardDTO> linkedCards = card.getLinkedCards() != null ? card.getLinkedCards().get(linkFieldId) : null;
+        if (linkedCards == null || linkedCards.isEmpty()) {
+            return "";
+        }
+        return linkedCards.stream()
+                .map(CardDTO::getTitle)
+                .map(title -> title != null ? nullToEmpty(title.getDisplayValue()) : "")
+                .collect(Collectors.joining(MULTI_VALUE_SEPARATOR));
+    }
+
+    private String formatFieldValue(FieldValue<?> value) {
+        if (value instanceof TextFieldValue text) {
+            return nullToEmpty(text.getValue());
+        }
+        if (value instanceof NumberFieldValue number) {
+            return number.getValue() != null
+                    ? BigDecimal.valueOf(number.getValue()).stripTrailingZeros().toPlainString()
+                    : "";
+        }
+        if (value instanceof DateFieldValue date) {
+            return date.getValue() != null ? formatDate(date.getFieldId(), date.getValue()) : "";
+        }
+        if (value instanceof EnumFieldValue enumValue) {
+            List<String> optionIds = enumValue.getValue();
+            if (optionIds == null) {
+                return "";
+            }
+            Map<String, String> labels = enumLabels.getOrDefault(enumValue.getFieldId(), Map.of());
+            return optionIds.stream()
+                    .map(id -> labels.getOrDefault(id, id))
+                    .collect(Collectors.joining(MULTI_VALUE_SEPARATOR));
+        }
+        if (value instanceof WebLinkFieldValue webLink) {
+            return webLink.getValue() != null ? nullToEmpty(webLink.getValue().url()) : "";
+        }
+        if (value instanceof CascadeFieldValue cascade) {
+            StringBuilder path = new StringBuilder();
+            for (CascadeItem item = cascade.getValue(); item != null; item = item.getNext()) {
+                if (!path.isEmpty()) {
+                    path.append(" / ");
+                }
+                path.append(nullToEmpty(item.getName()));
+            }
+            return path.toString();
+        }
+        if (value instanceof AttachmentFieldValue attachments) {
+            return attachments.getValue() == null ? "" : attachments.getValue().stream()
+                    .map(Attachment::name)
+                    .collect(Collectors.joining(MULTI_VALUE_SEPARATOR));
+        }
+        return value.getValue() != null ? String.valueOf(value.getValue()) : "";
+    }
+
+    private String formatDate(String fieldId, long millis) {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zoneId);
+        DateFieldConfig.DateFormat dateFormat = fieldConfigs.get(fieldId) instanceof DateFieldConfig dateConfig
+                ? dateConfig.getDateFormat()
+                : null;
+        if (dateFormat == null) {
+            return dateTime.format(DATE);
+        }
+        return switch (dateFormat) {
+            case DATETIME -> dateTime.format(DATETIME);
+            case DATETIME_SECOND -> dateTime.format(DATETIME_SECOND);
+            case YEAR_MONTH -> dateTime.format(YEAR_MONTH);
+            default -> dateTime.format(DATE);
+        };
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATETIME_SECOND) : "";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
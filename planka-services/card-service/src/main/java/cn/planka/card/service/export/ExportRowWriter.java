@@ -0,0 +1,22 @@
+package cn.planka.card.service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 导出文件行写入器
+ * <p>
+ * 逐行写入目标流，不缓存已写入的行。
+ */
+public interface ExportRowWriter {
+
+    /**
+     * 写入一行
+     */
+    void writeRow(List<String> cells) throws IOException;
+
+    /**
+     * 写完文件尾并刷新，不关闭目标流
+     */
+    void finish() throws IOException;
+}
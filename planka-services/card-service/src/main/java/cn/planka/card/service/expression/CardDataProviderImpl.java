@@ -8,6 +8,8 @@ import cn.planka.infra.expression.CardDataProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class CardDataProviderImpl implements CardDataProvider {
@@ -18,4 +20,9 @@ public class CardDataProviderImpl implements CardDataProvider {
     public CardDTO findCardById(CardId cardId, Yield yield) {
         return cardRepository.findById(cardId, yield, "system").orElse(null);
     }
+
+    @Override
+    public List<CardDTO> findCardsByIds(List<CardId> cardIds, Yield yield) {
+        return cardRepository.findByIds(cardIds, yield, "system");
+    }
 }
@@ -0,0 +1,94 @@
+package cn.planka.card.service.outbound;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 单个目标主机的熔断器
+ * <p>
+ * 连续失败达到阈值后熔断，熔断期间直接拒绝请求；熔断时间过后放行一个探测请求，
+ * 探测成功则恢复，失败则重新熔断。
+ * <p>
+ * 每次状态切换都会递增代数，放行时返回当前代数，上报结果时带回该代数；
+ * 代数已过期的结果（例如熔断前发出、在重新熔断后才返回的请求）不再改变状态。
+ */
+final class HostCircuitBreaker {
+
+    /**
+     * 请求被拒绝时 {@link #tryAcquire()} 的返回值
+     */
+    static final long REJECTED = -1;
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private int consecutiveFailures;
+    private long openUntil;
+
+    HostCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 请求是否可以放行
+     *
+     * @return 放行时返回当前代数，上报结果时原样带回；拒绝时返回 {@link #REJECTED}
+     */
+    synchronized long tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return generation;
+            case OPEN:
+                if (nanoClock.getAsLong() - openUntil >= 0) {
+                    transitionTo(State.HALF_OPEN);
+                    return generation;
+                }
+                return REJECTED;
+            default:
+                // 探测请求尚未返回
+                return REJECTED;
+        }
+    }
+
+    synchronized void onSuccess(long acquiredGeneration) {
+        if (acquiredGeneration != generation) {
+            return;
+        }
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    synchronized void onFailure(long acquiredGeneration) {
+        if (acquiredGeneration != generation) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            transitionTo(State.OPEN);
+            openUntil = nanoClock.getAsLong() + openNanos;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        generation++;
+        if (newState != State.OPEN) {
+            consecutiveFailures = 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package cn.planka.card.service.outbound;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * 限制大小的字符串响应体处理器
+ * <p>
+ * 边接收边累计字节数，声明的 Content-Length 或已接收的字节数超过上限时取消订阅（中止读取）并以
+ * {@link OutboundHttpException.Reason#RESPONSE_TOO_LARGE} 失败，不会把超大响应体整体读入内存。
+ * 字符集取 Content-Type 的 charset 参数，未声明或无法识别时按 UTF-8 解码，与 {@code BodyHandlers.ofString()} 一致。
+ */
+class LimitedStringBodyHandler implements HttpResponse.BodyHandler<String> {
+
+    private final long maxBytes;
+
+    LimitedStringBodyHandler(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<String> apply(HttpResponse.ResponseInfo responseInfo) {
+        long declared = responseInfo.headers().firstValueAsLong("Content-Length").orElse(-1L);
+        Charset charset = charsetOf(responseInfo.headers().firstValue("Content-Type").orElse(null));
+        return new LimitedSubscriber(maxBytes, declared > maxBytes, charset);
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        for (String param : contentType.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                try {
+                    return Charset.forName(trimmed.substring("charset=".length()).replace("\"", "").trim());
+                } catch (IllegalArgumentException e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static final class LimitedSubscriber implements HttpResponse.BodySubscriber<String> {
+
+        private final long maxBytes;
+        private final boolean rejectUpfront;
+        private final Charset charset;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private Flow.Subscription subscription;
+
+        private LimitedSubscriber(long maxBytes, boolean rejectUpfront, Charset charset) {
+            this.maxBytes = maxBytes;
+            this.rejectUpfront = rejectUpfront;
+            this.charset = charset;
+        }
+
+        @Override
+        public CompletionStage<String> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (rejectUpfront) {
+                subscription.cancel();
+                result.completeExceptionally(tooLarge());
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (result.isDone()) {
+                return;
+            }
+            for (ByteBuffer item : items) {
+                if (buffer.size() + (long) item.remaining() > maxBytes) {
+                    subscription.cancel();
+                    result.completeExceptionally(tooLarge());
+                    return;
+                }
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                buffer.write(bytes, 0, bytes.length);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(buffer.toString(charset));
+        }
+
+        private OutboundHttpException tooLarge() {
+            return new OutboundHttpException(OutboundHttpException.Reason.RESPONSE_TOO_LARGE,
+                    "响应体超过上限 " + maxBytes + " 字节");
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package cn.planka.card.service.outbound;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 外部接口调用客户端
+ * <p>
+ * 供业务规则和卡片动作调用第三方接口，避免单个慢接口拖垮调用方线程池：
+ * <ul>
+ *   <li>共享一个 JDK HttpClient，按主机复用 keep-alive 连接</li>
+ *   <li>连接超时和读取超时都有上限，读取超时覆盖从发出请求到读完响应体（含重定向）的整个过程</li>
+ *   <li>响应体边接收边计数，超过大小上限时中止读取</li>
+ *   <li>按主机限制并发请求数（隔离舱），超出时立即拒绝而不是排队</li>
+ *   <li>按主机熔断，连续失败后在熔断期内直接拒绝</li>
+ *   <li>重定向由客户端逐跳跟随，每一跳都按目标主机经过隔离舱和熔断</li>
+ *   <li>请求异步发送，调用方线程在请求进行中不被占用</li>
+ * </ul>
+ * 5xx 响应、超时和网络异常计为失败，其余响应计为成功。
+ * <p>
+ * 主机的隔离舱和熔断状态空闲一段时间后清理，仍有请求进行中或处于熔断中的主机不会被清理，
+ * 避免清理后新建的隔离舱放过超出上限的并发请求。
+ */
+public class OutboundHttpClient implements AutoCloseable {
+
+    private static final Duration GUARD_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration GUARD_SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * 最多跟随的重定向次数，与 JDK HttpClient 默认值一致
+     */
+    private static final int MAX_REDIRECTS = 5;
+
+    private final OutboundHttpProperties properties;
+    private final ExecutorService callbackExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final HttpClient httpClient;
+    private final ConcurrentMap<String, HostGuard> guards = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(OutboundHttpProperties properties) {
+        this.properties = properties;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.callbackExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getCallbackThreads()), r -> {
+            Thread thread = new Thread(r, "outbound-http-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "outbound-http-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(callbackExecutor)
+                .build();
+        scheduler.scheduleWithFixedDelay(() -> sweepIdleGuards(GUARD_IDLE_TIMEOUT), GUARD_SWEEP_INTERVAL.toMillis(),
+                GUARD_SWEEP_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 异步发送请求
+     *
+     * @param request 请求
+     * @return 响应；被隔离舱或熔断拒绝、超时、网络异常时以 {@link OutboundHttpException} 异常完成
+     */
+    public CompletableFuture<OutboundHttpResponse> send(OutboundHttpRequest request) {
+        long deadlineNanos = System.nanoTime() + resolveReadTimeout(request.timeout()).toNanos();
+        return send(request, MAX_REDIRECTS, deadlineNanos);
+    }
+
+    private CompletableFuture<OutboundHttpResponse> send(OutboundHttpRequest request, int redirectsLeft,
+                                                         long deadlineNanos) {
+        String host = hostKey(request.uri());
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            return CompletableFuture.failedFuture(new OutboundHttpException(
+                    OutboundHttpException.Reason.TIMEOUT, "读取超时: " + host));
+        }
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request, Duration.ofNanos(remainingNanos));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HostGuard guard = guards.compute(host, (key, existing) -> {
+            HostGuard current = existing != null ? existing : new HostGuard(
+                    new Semaphore(properties.getMaxConcurrentPerHost()),
+                    new HostCircuitBreaker(properties.getCircuitBreaker().getFailureThreshold(),
+                            properties.getCircuitBreaker().getOpenDuration(), System::nanoTime));
+            current.touch();
+            return current;
+        });
+
+        if (!guard.bulkhead().tryAcquire()) {
+            return CompletableFuture.failedFuture(new OutboundHttpException(
+                    OutboundHttpException.Reason.BULKHEAD_FULL, "目标主机并发请求数已满: " + host));
+        }
+        long generation = guard.circuitBreaker().tryAcquire();
+        if (generation == HostCircuitBreaker.REJECTED) {
+            guard.bulkhead().release();
+            return CompletableFuture.failedFuture(new OutboundHttpException(
+                    OutboundHttpException.Reason.CIRCUIT_OPEN, "目标主机已熔断: " + host));
+        }
+
+        // HttpRequest.timeout 只覆盖到收到响应头，响应体的读取由这里的截止时间兜底：到期后取消请求
+        CompletableFuture<HttpResponse<String>> exchange = httpClient.sendAsync(httpRequest,
+                new LimitedStringBodyHandler(properties.getMaxResponseBodySize().toBytes()));
+        AtomicBoolean expired = new AtomicBoolean();
+        ScheduledFuture<?> deadline = scheduler.schedule(() -> {
+            expired.set(true);
+            exchange.cancel(true);
+        }, remainingNanos, TimeUnit.NANOSECONDS);
+
+        return exchange
+                .handle((response, error) -> {
+                    deadline.cancel(false);
+                    guard.bulkhead().release();
+                    if (error != null) {
+                        OutboundHttpException failure = translate(host, error, expired.get());
+                        if (failure.getReason() == OutboundHttpException.Reason.RESPONSE_TOO_LARGE) {
+                            // 主机正常响应，只是响应体超限，不计入熔断
+                            guard.circuitBreaker().onSuccess(generation);
+                        } else {
+                            guard.circuitBreaker().onFailure(generation);
+                        }
+                        throw new CompletionException(failure);
+                    }
+                    if (response.statusCode() >= 500) {
+                        guard.circuitBreaker().onFailure(generation);
+                    } else {
+                        guard.circuitBreaker().onSuccess(generation);
+                    }
+                    return response;
+                })
+                .thenCompose(response -> {
+                    OutboundHttpRequest redirect = redirectOf(request, response);
+                    if (redirect == null || redirectsLeft <= 0) {
+                        return CompletableFuture.completedFuture(
+                                new OutboundHttpResponse(response.statusCode(), response.body()));
+                    }
+                    // 重定向目标按其主机重新经过隔离舱和熔断，共用同一个截止时间
+                    return send(redirect, redirectsLeft - 1, deadlineNanos);
+                });
+    }
+
+    /**
+     * 按 JDK HttpClient 的 NORMAL 策略计算重定向请求：303 以及 301/302 的非 GET/HEAD 请求改为无请求体的 GET，
+     * 307/308 保持原方法和请求体，不允许从 https 降级为 http
+     *
+     * @return 重定向请求；不是重定向响应或不应跟随时返回 null
+     */
+    private static OutboundHttpRequest redirectOf(OutboundHttpRequest request, HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status != 301 && status != 302 && status != 303 && status != 307 && status != 308) {
+            return null;
+        }
+        URI location;
+        try {
+            location = response.headers().firstValue("Location").map(request.uri()::resolve).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (location == null || location.getScheme() == null
+                || ("https".equalsIgnoreCase(request.uri().getScheme())
+                && !"https".equalsIgnoreCase(location.getScheme()))) {
+            return null;
+        }
+        boolean keepMethod = status == 307 || status == 308
+                || (status != 303 && ("GET".equals(request.method()) || "HEAD".equals(request.method())));
+        return keepMethod
+                ? new OutboundHttpRequest(request.method(), location, request.headers(), request.body(), request.timeout())
+                : new OutboundHttpRequest("GET", location, request.headers(), null, request.timeout());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        callbackExecutor.shutdownNow();
+    }
+
+    HostCircuitBreaker.State circuitState(URI uri) {
+        HostGuard guard = guards.get(hostKey(uri));
+        return guard != null ? guard.circuitBreaker().state() : HostCircuitBreaker.State.CLOSED;
+    }
+
+    int guardCount() {
+        return guards.size();
+    }
+
+    /**
+     * 清理空闲的主机状态：超过空闲时间未使用、没有进行中的请求且熔断器处于关闭状态
+     */
+    void sweepIdleGuards(Duration idleTimeout) {
+        long idleBefore = System.nanoTime() - idleTimeout.toNanos();
+        int maxConcurrent = properties.getMaxConcurrentPerHost();
+        for (String host : guards.keySet()) {
+            guards.computeIfPresent(host, (key, guard) ->
+                    guard.lastAccessNanos() - idleBefore < 0
+                            && guard.bulkhead().availablePermits() >= maxConcurrent
+                            && guard.circuitBreaker().state() == HostCircuitBreaker.State.CLOSED
+                            ? null : guard);
+        }
+    }
+
+    private HttpRequest toHttpRequest(OutboundHttpRequest request, Duration timeout) {
+        HttpRequest.BodyPublisher bodyPublisher = request.body() != null
+                ? HttpRequest.BodyPublishers.ofString(request.body())
+                : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.uri())
+                .timeout(timeout)
+                .method(request.method(), bodyPublisher);
+        if (request.headers() != null) {
+            for (Map.Entry<String, String> header : request.headers().entrySet()) {
+                builder.setHeader(header.getKey(), header.getValue());
+            }
+        }
+        return builder.build();
+    }
+
+    private Duration resolveReadTimeout(Duration timeout) {
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            return properties.getDefaultReadTimeout();
+        }
+        return timeout.compareTo(properties.getMaxReadTimeout()) > 0 ? properties.getMaxReadTimeout() : timeout;
+    }
+
+    private static OutboundHttpException translate(String host, Throwable error, boolean expired) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof OutboundHttpException outboundException) {
+            return outboundException;
+        }
+        if (cause instanceof HttpConnectTimeoutException) {
+            return new OutboundHttpException(OutboundHttpException.Reason.TIMEOUT, "连接超时: " + host, cause);
+        }
+        if (cause instanceof HttpTimeoutException || (expired && cause instanceof CancellationException)) {
+            return new OutboundHttpException(OutboundHttpException.Reason.TIMEOUT, "读取超时: " + host, cause);
+        }
+        return new OutboundHttpException(OutboundHttpException.Reason.IO_ERROR,
+                "请求失败: " + host + ", " + cause.getMessage(), cause);
+    }
+
+    private static String hostKey(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * 单个主机的隔离舱和熔断器
+     */
+    private static final class HostGuard {
+
+        private final Semaphore bulkhead;
+        private final HostCircuitBreaker circuitBreaker;
+        private volatile long lastAccessNanos;
+
+        private HostGuard(Semaphore bulkhead, HostCircuitBreaker circuitBreaker) {
+            this.bulkhead = bulkhead;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        Semaphore bulkhead() {
+            return bulkhead;
+        }
+
+        HostCircuitBreaker circuitBreaker() {
+            return circuitBreaker;
+        }
+
+        long lastAccessNanos() {
+            return lastAccessNanos;
+        }
+
+        void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+    }
+}
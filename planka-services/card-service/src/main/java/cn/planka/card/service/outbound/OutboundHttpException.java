@@ -0,0 +1,38 @@
+package cn.planka.card.service.outbound;
+
+import lombok.Getter;
+
+/**
+ * 外部接口调用异常
+ */
+@Getter
+public class OutboundHttpException extends RuntimeException {
+
+    private final Reason reason;
+
+    public OutboundHttpException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public OutboundHttpException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    /**
+     * 失败原因
+     */
+    public enum Reason {
+        /** 目标主机并发请求数已满 */
+        BULKHEAD_FULL,
+        /** 目标主机已熔断 */
+        CIRCUIT_OPEN,
+        /** 连接或读取超时 */
+        TIMEOUT,
+        /** 响应体超过大小上限 */
+        RESPONSE_TOO_LARGE,
+        /** 网络异常 */
+        IO_ERROR
+    }
+}
@@ -0,0 +1,69 @@
+package cn.planka.card.service.outbound;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 外部接口调用配置属性
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "planka.outbound-http")
+public class OutboundHttpProperties {
+
+    /**
+     * 建立连接的超时时间
+     */
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    /**
+     * 动作未指定超时时间时使用的读取超时，覆盖从发出请求到读完响应体的整个过程（含重定向）
+     */
+    private Duration defaultReadTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 读取超时上限，动作配置的超时时间超过该值时按该值处理
+     */
+    private Duration maxReadTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 响应体大小上限，超出时中止读取并失败
+     */
+    private DataSize maxResponseBodySize = DataSize.ofMegabytes(1);
+
+    /**
+     * 同一目标主机允许同时进行的最大请求数，超出时立即拒绝
+     */
+    private int maxConcurrentPerHost = 16;
+
+    /**
+     * 处理响应回调的线程数
+     */
+    private int callbackThreads = 4;
+
+    /**
+     * 熔断配置
+     */
+    private CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+
+    /**
+     * 按目标主机熔断的配置
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreakerProperties {
+        /**
+         * 连续失败多少次后熔断
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * 熔断持续时间，之后放行一个探测请求
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
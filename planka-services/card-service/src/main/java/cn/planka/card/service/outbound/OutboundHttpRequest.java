@@ -0,0 +1,23 @@
+package cn.planka.card.service.outbound;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 外部接口请求
+ *
+ * @param method  HTTP 方法
+ * @param uri     请求地址
+ * @param headers 请求头，可为 null
+ * @param body    请求体，可为 null
+ * @param timeout 读取超时，为 null 时使用默认值
+ */
+public record OutboundHttpRequest(
+        String method,
+        URI uri,
+        Map<String, String> headers,
+        String body,
+        Duration timeout
+) {
+}
@@ -0,0 +1,14 @@
+package cn.planka.card.service.outbound;
+
+/**
+ * 外部接口响应
+ *
+ * @param statusCode HTTP 状态码
+ * @param body       响应体
+ */
+public record OutboundHttpResponse(int statusCode, String body) {
+
+    public boolean is2xxSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+}
@@ -123,6 +123,23 @@ public interface CardPermissionService {
             Map<String, List<String>> targetCardIdsByLinkField
     );
 
+    /**
+     * 新建卡片的关联属性编辑权限校验
+     * <p>
+     * 新建卡片在校验时尚未写入，无法评估当前侧基于卡片数据的权限条件；
+     * 与普通属性在创建时的处理一致，只检查对侧实体类型的权限配置。
+     *
+     * @param newCardId               新建卡片ID
+     * @param operatorId              操作人ID（成员卡片ID）
+     * @param targetCardIdsByLinkField 每个 linkFieldId 对应的对端卡片ID列表
+     * @throws PermissionDeniedException 无权限时抛出
+     */
+    void checkLinkFieldEditPermissionForCreate(
+            CardId newCardId,
+            CardId operatorId,
+            Map<String, List<String>> targetCardIdsByLinkField
+    );
+
     /**
      * 批量应用字段读权限
      * <p>
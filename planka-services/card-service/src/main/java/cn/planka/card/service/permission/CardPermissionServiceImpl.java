@@ -329,6 +329,18 @@ public class CardPermissionServiceImpl implements CardPermissionService {
         checkOppositeSidePermission(targetCardId, operatorId, changedLinkFieldIds, targetCardIdsByLinkField);
     }
 
+    @Override
+    public void checkLinkFieldEditPermissionForCreate(
+            CardId newCardId,
+            CardId operatorId,
+            Map<String, List<String>> targetCardIdsByLinkField) {
+
+        if (targetCardIdsByLinkField.isEmpty()) {
+            return;
+        }
+        checkOppositeSidePermission(newCardId, operatorId, targetCardIdsByLinkField.keySet(), targetCardIdsByLinkField);
+    }
+
     /**
      * 检查对侧实体类型的关联属性编辑权限
      */
@@ -1,8 +1,10 @@
 package cn.planka.card.service.rule.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -11,21 +13,56 @@ import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 业务规则异步执行配置
+ * <p>
+ * 通过 planka.biz-rule.executor.mode 选择执行模型：
+ * <ul>
+ *   <li>PLATFORM：固定大小的平台线程池，队列满时由调用线程执行</li>
+ *   <li>VIRTUAL：每个任务一个虚拟线程，并发由任务数上限和 {@code DownstreamLimiter} 控制，
+ *   达到上限时提交方等待而不是在调用线程执行规则</li>
+ * </ul>
+ * 并发上限会阻塞提交任务的线程，已占用名额的规则任务（以及异步动作的回调线程）不能再向 bizRuleExecutor
+ * 提交任务，否则名额占满时会互相等待。规则的后续执行交给 bizRuleContinuationExecutor，执行日志在规则线程中同步写入。
  */
 @Slf4j
 @Configuration
 @EnableAsync
+@EnableConfigurationProperties(BizRuleExecutorProperties.class)
 public class BizRuleAsyncConfig {
 
     /**
      * 业务规则执行线程池
      */
     @Bean(name = "bizRuleExecutor")
-    public Executor bizRuleExecutor() {
+    public Executor bizRuleExecutor(BizRuleExecutorProperties properties) {
+        if (properties.getMode() == BizRuleExecutorProperties.Mode.VIRTUAL) {
+            return taskPerThreadExecutor(properties);
+        }
+        return platformPoolExecutor(properties);
+    }
+
+    /**
+     * 规则后续执行线程池
+     * <p>
+     * 异步动作完成或重试延迟到期后继续执行规则。这些规则已经通过了 bizRuleExecutor 的准入，
+     * VIRTUAL 模式下不再限制任务数，只受下游准入限制；PLATFORM 模式下沿用规则执行线程池，
+     * 队列满时由调用线程执行，不会阻塞提交方。
+     */
+    @Bean(name = "bizRuleContinuationExecutor")
+    public Executor bizRuleContinuationExecutor(BizRuleExecutorProperties properties) {
+        if (properties.getMode() == BizRuleExecutorProperties.Mode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("biz-rule-cont-");
+            enableVirtualThreads(executor);
+            executor.setTaskTerminationTimeout(properties.getShutdownTimeout().toMillis());
+            return executor;
+        }
+        return bizRuleExecutor(properties);
+    }
+
+    private Executor platformPoolExecutor(BizRuleExecutorProperties properties) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
         executor.setThreadNamePrefix("biz-rule-");
         executor.setKeepAliveSeconds(60);
 
@@ -34,11 +71,37 @@ public class BizRuleAsyncConfig {
 
         // 等待所有任务完成后再关闭
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(30);
+        executor.setAwaitTerminationSeconds((int) properties.getShutdownTimeout().toSeconds());
 
         executor.initialize();
         log.info("初始化业务规则执行线程池: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
-                executor.getCorePoolSize(), executor.getMaxPoolSize(), 100);
+                executor.getCorePoolSize(), executor.getMaxPoolSize(), properties.getQueueCapacity());
         return executor;
     }
+
+    private Executor taskPerThreadExecutor(BizRuleExecutorProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("biz-rule-");
+        boolean virtual = enableVirtualThreads(executor);
+        executor.setConcurrencyLimit(properties.getMaxConcurrentTasks());
+        executor.setTaskTerminationTimeout(properties.getShutdownTimeout().toMillis());
+        log.info("初始化业务规则执行器: mode=VIRTUAL, virtualThreads={}, maxConcurrentTasks={}",
+                virtual, properties.getMaxConcurrentTasks());
+        return executor;
+    }
+
+    /**
+     * 开启虚拟线程，运行时低于 JDK 21 时退化为每任务一个平台线程，仍由并发上限和下游准入限制控制
+     *
+     * @return 是否使用虚拟线程
+     */
+    private static boolean enableVirtualThreads(SimpleAsyncTaskExecutor executor) {
+        try {
+            executor.setVirtualThreads(true);
+            return true;
+        } catch (UnsupportedOperationException e) {
+            log.warn("当前运行时不支持虚拟线程，业务规则执行器使用平台线程: javaVersion={}",
+                    Runtime.version().feature());
+            return false;
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package cn.planka.card.service.rule.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 业务规则执行器配置属性
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "planka.biz-rule.executor")
+public class BizRuleExecutorProperties {
+
+    /**
+     * 执行模型
+     */
+    private Mode mode = Mode.PLATFORM;
+
+    /**
+     * PLATFORM 模式：核心线程数
+     */
+    private int corePoolSize = 5;
+
+    /**
+     * PLATFORM 模式：最大线程数
+     */
+    private int maxPoolSize = 20;
+
+    /**
+     * PLATFORM 模式：队列容量，队列满时由调用线程执行
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * VIRTUAL 模式：同时执行的最大任务数，达到上限时提交方等待
+     */
+    private int maxConcurrentTasks = 1000;
+
+    /**
+     * 关闭时等待任务完成的最长时间
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 各下游的并发准入上限
+     */
+    private Limits limits = new Limits();
+
+    /**
+     * 执行模型
+     */
+    public enum Mode {
+        /** 固定大小的平台线程池 */
+        PLATFORM,
+        /** 每个任务一个虚拟线程（JDK 21+），下游并发由准入限制控制 */
+        VIRTUAL
+    }
+
+    @Getter
+    @Setter
+    public static class Limits {
+
+        /**
+         * 同时访问 zgraph 的动作数
+         */
+        private int zgraph = 64;
+
+        /**
+         * 同时进行的外部接口调用数
+         */
+        private int http = 64;
+
+        /**
+         * 同时访问 MySQL 的任务数，不应超过连接池大小
+         */
+        private int mysql = 8;
+    }
+}
@@ -0,0 +1,30 @@
+package cn.planka.card.service.rule.executor;
+
+import cn.planka.domain.schema.definition.rule.action.RuleAction;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 支持异步执行的规则动作执行器
+ * <p>
+ * 适用于以等待外部 IO 为主的动作（如调用外部接口）。规则执行服务会通过
+ * {@link #executeAsync} 执行此类动作，等待期间不占用规则执行线程。
+ *
+ * @param <T> 动作类型
+ */
+public interface AsyncRuleActionExecutor<T extends RuleAction> extends RuleActionExecutor<T> {
+
+    /**
+     * 异步执行动作
+     *
+     * @param action  动作定义
+     * @param context 执行上下文
+     * @return 执行结果，动作失败时以失败结果正常完成
+     */
+    CompletableFuture<RuleExecutionResult.ActionExecutionResult> executeAsync(T action, RuleExecutionContext context);
+
+    @Override
+    default RuleExecutionResult.ActionExecutionResult execute(T action, RuleExecutionContext context) {
+        return executeAsync(action, context).join();
+    }
+}
@@ -10,28 +10,47 @@ import cn.planka.domain.schema.definition.rule.BizRuleDefinition;
 import cn.planka.domain.schema.definition.rule.RetryConfig;
 import cn.planka.domain.schema.definition.rule.RuleExecutionLog;
 import cn.planka.domain.schema.definition.rule.action.RuleAction;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * 业务规则执行服务
  * <p>
  * 负责执行业务规则，包括条件评估和动作执行。
+ * <p>
+ * 动作按顺序执行；支持异步执行的动作（如调用外部接口）在等待期间释放规则执行线程，
+ * 完成后在 bizRuleContinuationExecutor 中继续执行后续动作。重试等待同样不占用线程。
+ * 后续执行和执行日志都不提交到 bizRuleExecutor：其并发上限会阻塞提交方，名额占满时会死锁。
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class BizRuleExecutionService {
 
     private final RuleActionExecutorRegistry executorRegistry;
     private final ConditionEvaluator conditionEvaluator;
     private final RuleExecutionLogService logService;
+    private final Executor continuationExecutor;
+
+    public BizRuleExecutionService(RuleActionExecutorRegistry executorRegistry,
+                                   ConditionEvaluator conditionEvaluator,
+                                   RuleExecutionLogService logService,
+                                   @Qualifier("bizRuleContinuationExecutor") Executor continuationExecutor) {
+        this.executorRegistry = executorRegistry;
+        this.conditionEvaluator = conditionEvaluator;
+        this.logService = logService;
+        this.continuationExecutor = continuationExecutor;
+    }
 
     /**
      * 同步执行规则
@@ -41,79 +60,86 @@ public class BizRuleExecutionService {
      * @return 执行结果
      */
     public RuleExecutionResult execute(BizRuleDefinition rule, RuleExecutionContext context) {
+        return executeNonBlocking(rule, context).join();
+    }
+
+    /**
+     * 异步执行规则
+     *
+     * @param rule    规则定义
+     * @param context 执行上下文
+     */
+    @Async("bizRuleExecutor")
+    public void executeAsync(BizRuleDefinition rule, RuleExecutionContext context) {
+        log.debug("异步执行规则: ruleId={}, traceId={}", rule.getId(), context.getTraceId());
+        executeNonBlocking(rule, context);
+    }
+
+    /**
+     * 执行规则，遇到异步动作时立即返回
+     */
+    private CompletableFuture<RuleExecutionResult> executeNonBlocking(BizRuleDefinition rule,
+                                                                      RuleExecutionContext context) {
         context.setCurrentRule(rule);
         context.setCurrentRuleId(rule.getId());
         long startTime = System.currentTimeMillis();
 
+        CompletableFuture<RuleExecutionResult> future;
         try {
             // 1. 检查规则是否启用
             if (!rule.isEnabled()) {
                 log.debug("规则已禁用，跳过执行: ruleId={}", rule.getId());
-                return RuleExecutionResult.skipped("规则已禁用");
+                return CompletableFuture.completedFuture(RuleExecutionResult.skipped("规则已禁用"));
             }
 
             // 2. 评估触发条件
             if (!evaluateCondition(rule.getCondition(), context)) {
                 log.debug("规则条件不满足，跳过执行: ruleId={}", rule.getId());
-                return RuleExecutionResult.skipped("条件不满足");
+                return CompletableFuture.completedFuture(RuleExecutionResult.skipped("条件不满足"));
             }
 
             // 3. 执行所有动作（含重试）
-            RuleExecutionResult result = executeActionsWithRetry(rule, context);
-
-            // 4. 记录执行日志
-            recordLog(rule, context, result);
-
-            return result;
+            future = executeActionsWithRetry(rule, context, 0);
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("执行规则失败: ruleId={}, error={}", rule.getId(), e.getMessage(), e);
-            RuleExecutionResult result = RuleExecutionResult.failed(duration, e.getMessage());
-            recordLog(rule, context, result);
-            return result;
+            future = CompletableFuture.failedFuture(e);
         }
-    }
 
-    /**
-     * 异步执行规则
-     *
-     * @param rule    规则定义
-     * @param context 执行上下文
-     */
-    @Async("bizRuleExecutor")
-    public void executeAsync(BizRuleDefinition rule, RuleExecutionContext context) {
-        log.debug("异步执行规则: ruleId={}, traceId={}", rule.getId(), context.getTraceId());
-        execute(rule, context);
+        // 4. 记录执行日志
+        return future.handle((result, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                long duration = System.currentTimeMillis() - startTime;
+                log.error("执行规则失败: ruleId={}, error={}", rule.getId(), cause.getMessage(), cause);
+                result = RuleExecutionResult.failed(duration, cause.getMessage());
+            }
+            recordLog(rule, context, result);
+            return result;
+        });
     }
 
     /**
      * 执行所有动作（含重试逻辑）
      */
-    private RuleExecutionResult executeActionsWithRetry(BizRuleDefinition rule, RuleExecutionContext context) {
+    private CompletableFuture<RuleExecutionResult> executeActionsWithRetry(BizRuleDefinition rule,
+                                                                           RuleExecutionContext context,
+                                                                           int retryCount) {
         RetryConfig retryConfig = rule.getRetryConfig();
         int maxRetries = (retryConfig != null) ? retryConfig.getMaxRetries() : 0;
 
-        RuleExecutionResult result = executeActions(rule, context);
-        int retryCount = 0;
-
-        while (hasActionFailure(result) && retryCount < maxRetries) {
-            retryCount++;
-            long delay = retryConfig.calculateDelay(retryCount);
-            log.info("规则动作执行失败，准备第 {} 次重试（延迟 {}ms）: ruleId={}", retryCount, delay, rule.getId());
-
-            try {
-                Thread.sleep(delay);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("重试等待被中断: ruleId={}, retryCount={}", rule.getId(), retryCount);
-                break;
+        return executeActions(rule, context).thenCompose(result -> {
+            if (!hasActionFailure(result) || retryCount >= maxRetries) {
+                result.setRetryCount(retryCount);
+                return CompletableFuture.completedFuture(result);
             }
 
-            result = executeActions(rule, context);
-        }
+            int nextRetry = retryCount + 1;
+            long delay = retryConfig.calculateDelay(nextRetry);
+            log.info("规则动作执行失败，准备第 {} 次重试（延迟 {}ms）: ruleId={}", nextRetry, delay, rule.getId());
 
-        result.setRetryCount(retryCount);
-        return result;
+            Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, continuationExecutor);
+            return CompletableFuture.supplyAsync(() -> executeActionsWithRetry(rule, context, nextRetry), delayed)
+                    .thenCompose(Function.identity());
+        });
     }
 
     /**
@@ -124,35 +150,6 @@ public class BizRuleExecutionService {
                 || result.getStatus() == RuleExecutionResult.ExecutionStatus.PARTIAL_SUCCESS;
     }
 
-    /**
-     * 执行动作（不使用上下文）- 作为上下文设置失败时的降级方案
-     */
-    private RuleExecutionResult executeActionsWithoutContext(BizRuleDefinition rule,
-                                                              RuleExecutionContext context,
-                                                              List<RuleAction> sortedActions) {
-        List<RuleExecutionResult.ActionExecutionResult> actionResults = new ArrayList<>();
-        boolean hasFailure = false;
-        String lastError = null;
-
-        for (RuleAction action : sortedActions) {
-            RuleExecutionResult.ActionExecutionResult actionResult = executorRegistry.executeAction(action, context);
-            actionResults.add(actionResult);
-
-            if (!actionResult.isSuccess()) {
-                hasFailure = true;
-                lastError = actionResult.getErrorMessage();
-                log.warn("动作执行失败，继续执行后续动作: actionType={}, error={}",
-                        action.getActionType(), actionResult.getErrorMessage());
-            }
-        }
-
-        long duration = context.getDuration();
-        if (hasFailure) {
-            return RuleExecutionResult.partialSuccess(duration, actionResults, lastError);
-        }
-        return RuleExecutionResult.success(duration, actionResults);
-    }
-
     /**
      * 评估条件
      */
@@ -176,11 +173,11 @@ public class BizRuleExecutionService {
     /**
      * 执行所有动作
      */
-    private RuleExecutionResult executeActions(BizRuleDefinition rule, RuleExecutionContext context) {
+    private CompletableFuture<RuleExecutionResult> executeActions(BizRuleDefinition rule, RuleExecutionContext context) {
         List<RuleAction> actions = rule.getActions();
         if (actions == null || actions.isEmpty()) {
             log.debug("规则没有配置动作: ruleId={}", rule.getId());
-            return RuleExecutionResult.success(context.getDuration(), List.of());
+            return CompletableFuture.completedFuture(RuleExecutionResult.success(context.getDuration(), List.of()));
         }
 
         // 按执行顺序排序
@@ -188,42 +185,90 @@ public class BizRuleExecutionService {
                 .sorted(Comparator.comparingInt(RuleAction::getSortOrder))
                 .toList();
 
-        List<RuleExecutionResult.ActionExecutionResult> actionResults = new ArrayList<>();
-        boolean hasFailure = false;
-        String lastError = null;
-
         // 设置操作来源为业务规则，确保所有动作触发的卡片变更都记录正确的来源
         BizRuleOperationSource operationSource = new BizRuleOperationSource(
                 rule.getId().value(),
                 rule.getName()
         );
 
-        try (AutoCloseable ignored = OperationSourceContext.with(operationSource)) {
-            for (RuleAction action : sortedActions) {
-                RuleExecutionResult.ActionExecutionResult actionResult = executorRegistry.executeAction(action, context);
-                actionResults.add(actionResult);
+        List<RuleExecutionResult.ActionExecutionResult> actionResults = new ArrayList<>();
+        return executeActionsFrom(sortedActions, 0, context, operationSource, actionResults)
+                .thenApply(ignored -> summarize(context, actionResults));
+    }
 
-                if (!actionResult.isSuccess()) {
-                    hasFailure = true;
-                    lastError = actionResult.getErrorMessage();
-                    log.warn("动作执行失败，继续执行后续动作: actionType={}, error={}",
-                            action.getActionType(), actionResult.getErrorMessage());
-                }
+    /**
+     * 从指定位置开始依次执行动作
+     * <p>
+     * 同步动作在当前线程执行；遇到异步动作时返回，动作完成后在后续执行线程池中继续执行后续动作。
+     */
+    private CompletableFuture<Void> executeActionsFrom(List<RuleAction> actions,
+                                                       int fromIndex,
+                                                       RuleExecutionContext context,
+                                                       BizRuleOperationSource operationSource,
+                                                       List<RuleExecutionResult.ActionExecutionResult> actionResults) {
+        for (int i = fromIndex; i < actions.size(); i++) {
+            RuleAction action = actions.get(i);
+            if (executorRegistry.supportsAsync(action)) {
+                int nextIndex = i + 1;
+                return executorRegistry.executeActionAsync(action, context)
+                        .thenComposeAsync(actionResult -> {
+                            collectActionResult(action, actionResult, actionResults);
+                            return executeActionsFrom(actions, nextIndex, context, operationSource, actionResults);
+                        }, continuationExecutor);
             }
+            collectActionResult(action, executeWithOperationSource(action, context, operationSource), actionResults);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 在业务规则操作来源上下文中执行同步动作，上下文设置失败时降级为不使用上下文执行
+     */
+    private RuleExecutionResult.ActionExecutionResult executeWithOperationSource(RuleAction action,
+                                                                                 RuleExecutionContext context,
+                                                                                 BizRuleOperationSource operationSource) {
+        AutoCloseable scope;
+        try {
+            scope = OperationSourceContext.with(operationSource);
         } catch (Exception e) {
-            // 区分是上下文设置失败还是动作执行失败
-            if (actionResults.isEmpty()) {
-                // 上下文设置失败，记录错误但继续执行（不使用上下文）
-                log.error("设置操作来源上下文失败: ruleId={}, error={}", rule.getId(), e.getMessage());
-                // 重新执行，不使用上下文
-                return executeActionsWithoutContext(rule, context, sortedActions);
-            } else {
-                // 动作执行过程中抛出异常，需要传播到外层
-                throw new RuntimeException("动作执行失败: " + e.getMessage(), e);
+            log.error("设置操作来源上下文失败: ruleId={}, error={}", context.getCurrentRuleId(), e.getMessage());
+            return executorRegistry.executeAction(action, context);
+        }
+
+        try {
+            return executorRegistry.executeAction(action, context);
+        } finally {
+            try {
+                scope.close();
+            } catch (Exception e) {
+                log.warn("清理操作来源上下文失败: ruleId={}, error={}", context.getCurrentRuleId(), e.getMessage());
             }
         }
+    }
+
+    private void collectActionResult(RuleAction action,
+                                     RuleExecutionResult.ActionExecutionResult actionResult,
+                                     List<RuleExecutionResult.ActionExecutionResult> actionResults) {
+        actionResults.add(actionResult);
+        if (!actionResult.isSuccess()) {
+            log.warn("动作执行失败，继续执行后续动作: actionType={}, error={}",
+                    action.getActionType(), actionResult.getErrorMessage());
+        }
+    }
 
+    /**
+     * 汇总动作执行结果
+     */
+    private RuleExecutionResult summarize(RuleExecutionContext context,
+                                          List<RuleExecutionResult.ActionExecutionResult> actionResults) {
         long duration = context.getDuration();
+        String lastError = null;
+        for (RuleExecutionResult.ActionExecutionResult actionResult : actionResults) {
+            if (!actionResult.isSuccess()) {
+                lastError = actionResult.getErrorMessage();
+            }
+        }
+        boolean hasFailure = actionResults.stream().anyMatch(r -> !r.isSuccess());
         if (hasFailure) {
             // 检查是否全部失败
             boolean allFailed = actionResults.stream().noneMatch(RuleExecutionResult.ActionExecutionResult::isSuccess);
@@ -237,6 +282,14 @@ public class BizRuleExecutionService {
         return RuleExecutionResult.success(duration, actionResults);
     }
 
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
     /**
      * 记录执行日志
      */
@@ -0,0 +1,13 @@
+package cn.planka.card.service.rule.executor;
+
+/**
+ * 规则执行访问的下游
+ */
+public enum Downstream {
+    /** 卡片存储 */
+    ZGRAPH,
+    /** 外部接口 */
+    HTTP,
+    /** 执行日志等关系库数据 */
+    MYSQL
+}
@@ -0,0 +1,87 @@
+package cn.planka.card.service.rule.executor;
+
+import cn.planka.card.service.rule.config.BizRuleExecutorProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * 下游并发准入限制
+ * <p>
+ * 规则执行线程数不再是下游并发的上限（VIRTUAL 模式下任务数可远大于线程数），
+ * 因此按下游分别用信号量限制同时访问的任务数，避免突发事件打满 zgraph、外部接口或数据库连接池。
+ * 超出上限的任务等待准入，而不是失败。
+ */
+@Component
+public class DownstreamLimiter {
+
+    private final Map<Downstream, Semaphore> permits = new EnumMap<>(Downstream.class);
+
+    public DownstreamLimiter(BizRuleExecutorProperties properties) {
+        BizRuleExecutorProperties.Limits limits = properties.getLimits();
+        permits.put(Downstream.ZGRAPH, new Semaphore(Math.max(1, limits.getZgraph()), true));
+        permits.put(Downstream.HTTP, new Semaphore(Math.max(1, limits.getHttp()), true));
+        permits.put(Downstream.MYSQL, new Semaphore(Math.max(1, limits.getMysql()), true));
+    }
+
+    /**
+     * 获得准入后同步执行
+     */
+    public <T> T call(Downstream downstream, Supplier<T> task) {
+        Semaphore semaphore = acquire(downstream);
+        try {
+            return task.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 获得准入后同步执行
+     */
+    public void run(Downstream downstream, Runnable task) {
+        Semaphore semaphore = acquire(downstream);
+        try {
+            task.run();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 获得准入后发起异步调用，调用完成时释放准入
+     */
+    public <T> CompletableFuture<T> callAsync(Downstream downstream, Supplier<CompletableFuture<T>> task) {
+        Semaphore semaphore = acquire(downstream);
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> semaphore.release());
+    }
+
+    /**
+     * 当前可用准入数
+     */
+    public int availablePermits(Downstream downstream) {
+        return permits.get(downstream).availablePermits();
+    }
+
+    private Semaphore acquire(Downstream downstream) {
+        Semaphore semaphore = permits.get(downstream);
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待下游准入被中断: " + downstream, e);
+        }
+        return semaphore;
+    }
+}
@@ -25,4 +25,11 @@ public interface RuleActionExecutor<T extends RuleAction> {
      */
     RuleExecutionResult.ActionExecutionResult execute(T action, RuleExecutionContext context);
 
+    /**
+     * 动作主要访问的下游，用于并发准入限制
+     */
+    default Downstream getDownstream() {
+        return Downstream.ZGRAPH;
+    }
+
 }
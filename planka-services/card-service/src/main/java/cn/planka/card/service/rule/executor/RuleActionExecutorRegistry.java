@@ -8,19 +8,23 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 规则动作执行器注册表
  * <p>
- * 管理所有动作执行器，根据动作类型分发到对应的执行器。
+ * 管理所有动作执行器，根据动作类型分发到对应的执行器。执行前按动作访问的下游获取并发准入。
  */
 @Slf4j
 @Component
 public class RuleActionExecutorRegistry {
 
     private final Map<String, RuleActionExecutor<?>> executorMap = new HashMap<>();
+    private final DownstreamLimiter downstreamLimiter;
 
-    public RuleActionExecutorRegistry(List<RuleActionExecutor<?>> executors) {
+    public RuleActionExecutorRegistry(List<RuleActionExecutor<?>> executors, DownstreamLimiter downstreamLimiter) {
+        this.downstreamLimiter = downstreamLimiter;
         for (RuleActionExecutor<?> executor : executors) {
             String actionType = executor.getActionType();
             if (executorMap.containsKey(actionType)) {
@@ -75,7 +79,7 @@ public class RuleActionExecutorRegistry {
         long startTime = System.currentTimeMillis();
 
         try {
-            return executor.execute(action, context);
+            return downstreamLimiter.call(executor.getDownstream(), () -> executor.execute(action, context));
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             log.error("执行动作失败: actionType={}, error={}", actionType, e.getMessage(), e);
@@ -88,6 +92,47 @@ public class RuleActionExecutorRegistry {
         }
     }
 
+    /**
+     * 动作是否支持异步执行
+     */
+    public boolean supportsAsync(RuleAction action) {
+        return executorMap.get(action.getActionType()) instanceof AsyncRuleActionExecutor<?>;
+    }
+
+    /**
+     * 异步执行动作
+     * <p>
+     * 仅用于 {@link #supportsAsync} 返回 true 的动作；执行异常转换为失败结果。
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<RuleExecutionResult.ActionExecutionResult> executeActionAsync(RuleAction action,
+                                                                                         RuleExecutionContext context) {
+        String actionType = action.getActionType();
+        if (!(executorMap.get(actionType) instanceof AsyncRuleActionExecutor<?> asyncExecutor)) {
+            return CompletableFuture.completedFuture(executeAction(action, context));
+        }
+
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<RuleExecutionResult.ActionExecutionResult> future;
+        try {
+            AsyncRuleActionExecutor<RuleAction> executor = (AsyncRuleActionExecutor<RuleAction>) asyncExecutor;
+            future = downstreamLimiter.callAsync(executor.getDownstream(), () -> executor.executeAsync(action, context));
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            long duration = System.currentTimeMillis() - startTime;
+            log.error("执行动作失败: actionType={}, error={}", actionType, cause.getMessage(), cause);
+            return RuleExecutionResult.ActionExecutionResult.failed(
+                    actionType,
+                    action.getSortOrder(),
+                    duration,
+                    cause.getMessage()
+            );
+        });
+    }
+
     /**
      * 是否存在执行器
      */
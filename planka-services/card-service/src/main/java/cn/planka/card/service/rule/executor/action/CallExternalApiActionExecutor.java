@@ -1,37 +1,45 @@
 package cn.planka.card.service.rule.executor.action;
 
 import cn.planka.api.card.dto.CardDTO;
+import cn.planka.card.service.outbound.OutboundHttpClient;
+import cn.planka.card.service.outbound.OutboundHttpRequest;
 import cn.planka.card.service.rule.executor.ActionTargetResolver;
+import cn.planka.card.service.rule.executor.AsyncRuleActionExecutor;
+import cn.planka.card.service.rule.executor.Downstream;
 import cn.planka.card.service.rule.executor.RuleExecutionContext;
 import cn.planka.card.service.rule.executor.RuleExecutionResult;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.schema.definition.rule.action.CallExternalApiAction;
 import cn.planka.infra.expression.TextExpressionTemplateResolver;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 调用外部API动作执行器
+ * <p>
+ * 通过 {@link OutboundHttpClient} 异步发送请求，等待响应期间不占用规则执行线程。
  */
 @Slf4j
 @Component
-public class CallExternalApiActionExecutor extends AbstractRuleActionExecutor<CallExternalApiAction> {
+public class CallExternalApiActionExecutor extends AbstractRuleActionExecutor<CallExternalApiAction>
+        implements AsyncRuleActionExecutor<CallExternalApiAction> {
 
     private final TextExpressionTemplateResolver templateResolver;
-    private final RestTemplate restTemplate;
+    private final OutboundHttpClient httpClient;
 
     public CallExternalApiActionExecutor(ActionTargetResolver targetResolver,
-                                          TextExpressionTemplateResolver templateResolver) {
+                                          TextExpressionTemplateResolver templateResolver,
+                                          OutboundHttpClient httpClient) {
         super(targetResolver);
         this.templateResolver = templateResolver;
-        this.restTemplate = new RestTemplate();
+        this.httpClient = httpClient;
     }
 
     @Override
@@ -39,34 +47,40 @@ public class CallExternalApiActionExecutor extends AbstractRuleActionExecutor<Ca
         return "CALL_EXTERNAL_API";
     }
 
+    @Override
+    public Downstream getDownstream() {
+        return Downstream.HTTP;
+    }
+
     @Override
     public RuleExecutionResult.ActionExecutionResult execute(CallExternalApiAction action, RuleExecutionContext context) {
+        return executeAsync(action, context).join();
+    }
+
+    @Override
+    public CompletableFuture<RuleExecutionResult.ActionExecutionResult> executeAsync(CallExternalApiAction action,
+                                                                                   RuleExecutionContext context) {
         long startTime = System.currentTimeMillis();
 
+        OutboundHttpRequest request;
         try {
-            CardId memberCardId = context.getOperatorId() != null ? CardId.of(context.getOperatorId()) : null;
-            // 解析URL模板
-            String url = templateResolver.resolve(action.getUrlTemplate(), context.getCardId(), memberCardId);
-
-            // 构建请求头
-            HttpHeaders headers = buildHeaders(action, context);
-
-            // 构建请求体
-            Object body = buildRequestBody(action, context);
-
-            // 执行请求
-            HttpMethod method = resolveMethod(action.getMethod());
-            HttpEntity<?> requestEntity = new HttpEntity<>(body, headers);
-
-            log.info("调用外部API: method={}, url={}", method, url);
+            request = buildRequest(action, context);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failed(action, startTime, e));
+        }
 
-            ResponseEntity<String> response = restTemplate.exchange(url, method, requestEntity, String.class);
+        log.info("调用外部API: method={}, url={}", request.method(), request.uri());
 
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("API调用返回非成功状态码: " + response.getStatusCode());
+        return httpClient.send(request).handle((response, error) -> {
+            if (error != null) {
+                return failed(action, startTime, error);
+            }
+            if (!response.is2xxSuccessful()) {
+                return failed(action, startTime,
+                        new IllegalStateException("API调用返回非成功状态码: " + response.statusCode()));
             }
 
-            log.debug("外部API调用成功: url={}, status={}", url, response.getStatusCode());
+            log.debug("外部API调用成功: url={}, status={}", request.uri(), response.statusCode());
 
             long duration = System.currentTimeMillis() - startTime;
             return RuleExecutionResult.ActionExecutionResult.builder()
@@ -74,18 +88,9 @@ public class CallExternalApiActionExecutor extends AbstractRuleActionExecutor<Ca
                     .sortOrder(action.getSortOrder())
                     .success(true)
                     .durationMs(duration)
-                    .data(response.getBody())
+                    .data(response.body())
                     .build();
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("调用外部API失败: urlTemplate={}, error={}", action.getUrlTemplate(), e.getMessage(), e);
-            return RuleExecutionResult.ActionExecutionResult.failed(
-                    getActionType(),
-                    action.getSortOrder(),
-                    duration,
-                    e.getMessage()
-            );
-        }
+        });
     }
 
     @Override
@@ -94,44 +99,46 @@ public class CallExternalApiActionExecutor extends AbstractRuleActionExecutor<Ca
         return null;
     }
 
-    private HttpHeaders buildHeaders(CallExternalApiAction action, RuleExecutionContext context) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Content-Type", "application/json");
+    private OutboundHttpRequest buildRequest(CallExternalApiAction action, RuleExecutionContext context) {
+        CardId memberCardId = context.getOperatorId() != null ? CardId.of(context.getOperatorId()) : null;
+        // 解析URL模板
+        String url = templateResolver.resolve(action.getUrlTemplate(), context.getCardId(), memberCardId);
 
-        if (action.getHeaders() != null) {
-            CardId memberCardId = context.getOperatorId() != null ? CardId.of(context.getOperatorId()) : null;
-            for (Map.Entry<String, String> entry : action.getHeaders().entrySet()) {
-                // Headers are simple strings, not expression templates
-                headers.set(entry.getKey(), entry.getValue());
-            }
-        }
+        // 构建请求体
+        String body = action.getBodyTemplate() != null
+                ? templateResolver.resolve(action.getBodyTemplate(), context.getCardId(), memberCardId)
+                : null;
 
-        return headers;
+        Duration timeout = action.getTimeoutMs() > 0 ? Duration.ofMillis(action.getTimeoutMs()) : null;
+
+        return new OutboundHttpRequest(resolveMethod(action.getMethod()), URI.create(url), buildHeaders(action), body, timeout);
     }
 
-    private Object buildRequestBody(CallExternalApiAction action, RuleExecutionContext context) {
-        if (action.getBodyTemplate() == null) {
-            return null;
+    private Map<String, String> buildHeaders(CallExternalApiAction action) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+
+        if (action.getHeaders() != null) {
+            // Headers are simple strings, not expression templates
+            headers.putAll(action.getHeaders());
         }
 
-        // 解析模板中的表达式
-        CardId memberCardId = context.getOperatorId() != null ? CardId.of(context.getOperatorId()) : null;
-        String bodyString = templateResolver.resolve(action.getBodyTemplate(), context.getCardId(), memberCardId);
+        return headers;
+    }
 
-        // 如果是JSON格式，可以直接返回字符串
-        return bodyString;
+    private String resolveMethod(CallExternalApiAction.HttpMethod method) {
+        return method != null ? method.name() : "POST";
     }
 
-    private HttpMethod resolveMethod(CallExternalApiAction.HttpMethod method) {
-        if (method == null) {
-            return HttpMethod.POST;
-        }
-        return switch (method) {
-            case GET -> HttpMethod.GET;
-            case POST -> HttpMethod.POST;
-            case PUT -> HttpMethod.PUT;
-            case DELETE -> HttpMethod.DELETE;
-            case PATCH -> HttpMethod.PATCH;
-        };
+    private RuleExecutionResult.ActionExecutionResult failed(CallExternalApiAction action, long startTime, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        long duration = System.currentTimeMillis() - startTime;
+        log.error("调用外部API失败: urlTemplate={}, error={}", action.getUrlTemplate(), cause.getMessage(), cause);
+        return RuleExecutionResult.ActionExecutionResult.failed(
+                getActionType(),
+                action.getSortOrder(),
+                duration,
+                cause.getMessage()
+        );
     }
 }
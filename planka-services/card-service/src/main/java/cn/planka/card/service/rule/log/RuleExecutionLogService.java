@@ -3,6 +3,8 @@ package cn.planka.card.service.rule.log;
 import cn.planka.api.card.dto.RuleExecutionLogDTO;
 import cn.planka.api.card.dto.RuleExecutionLogFiltersDTO;
 import cn.planka.api.card.request.RuleExecutionLogSearchRequest;
+import cn.planka.card.service.rule.executor.Downstream;
+import cn.planka.card.service.rule.executor.DownstreamLimiter;
 import cn.planka.common.result.PageResult;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.card.CardTitle;
@@ -12,7 +14,6 @@ import cn.planka.domain.schema.definition.rule.RuleExecutionLog;
 import cn.planka.infra.cache.card.CardCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -30,14 +31,17 @@ public class RuleExecutionLogService {
 
     private final RuleExecutionLogRepository repository;
     private final CardCacheService cardCacheService;
+    private final DownstreamLimiter downstreamLimiter;
 
     /**
-     * 保存执行日志（异步）
+     * 保存执行日志，失败时只记录错误
+     * <p>
+     * 在规则执行线程中同步写入，不提交到 bizRuleExecutor：规则任务已占用执行器名额，
+     * 名额占满时再提交任务会一直等待。
      */
-    @Async("bizRuleExecutor")
     public void save(RuleExecutionLog executionLog) {
         try {
-            repository.save(executionLog);
+            downstreamLimiter.run(Downstream.MYSQL, () -> repository.save(executionLog));
             log.debug("保存规则执行日志: id={}, ruleId={}, status={}",
                     executionLog.getId(), executionLog.getRuleId(), executionLog.getStatus());
         } catch (Exception e) {
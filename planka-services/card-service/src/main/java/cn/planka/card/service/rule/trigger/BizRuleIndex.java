@@ -0,0 +1,215 @@
+package cn.planka.card.service.rule.trigger;
+
+import cn.planka.api.card.request.Yield;
+import cn.planka.api.card.util.ConditionYieldBuilder;
+import cn.planka.domain.schema.definition.condition.Condition;
+import cn.planka.domain.schema.definition.rule.BizRuleDefinition;
+import cn.planka.domain.schema.definition.rule.BizRuleDefinition.TriggerEvent;
+
+import java.util.*;
+
+/**
+ * 单个实体类型的业务规则索引
+ * <p>
+ * 启用的规则按 触发事件 → 目标状态 / 监听字段 分桶，每个桶预先计算好触发卡片和操作人卡片所需的最小 Yield。
+ * 事件到达时只取命中的桶，不再线性过滤全部规则，也不再按全部规则的条件拼装 Yield。
+ * <p>
+ * 未指定目标状态或监听字段的规则进入通配桶，对该事件的任意状态 / 字段都命中。
+ * 索引不可变，规则定义变化时由 {@link BizRuleIndexCache} 按实体类型重建。
+ */
+public final class BizRuleIndex {
+
+    private static final BizRuleIndex EMPTY = new BizRuleIndex(Map.of(), Map.of());
+
+    /**
+     * 构建索引时各规则的内容版本，用于判断索引是否过期
+     */
+    private final Map<String, Integer> ruleVersions;
+    private final Map<TriggerEvent, EventBucket> buckets;
+
+    private BizRuleIndex(Map<String, Integer> ruleVersions, Map<TriggerEvent, EventBucket> buckets) {
+        this.ruleVersions = ruleVersions;
+        this.buckets = buckets;
+    }
+
+    /**
+     * 根据实体类型下的全部规则构建索引
+     *
+     * @param rules 实体类型下的全部规则（包括禁用的规则）
+     * @return 规则索引
+     */
+    public static BizRuleIndex build(List<BizRuleDefinition> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, Integer> ruleVersions = new HashMap<>(rules.size() * 2);
+        Map<TriggerEvent, BucketBuilder> builders = new EnumMap<>(TriggerEvent.class);
+        for (BizRuleDefinition rule : rules) {
+            ruleVersions.put(rule.getId().value(), rule.getContentVersion());
+            if (!rule.isEnabled() || rule.getTriggerEvent() == null) {
+                continue;
+            }
+            builders.computeIfAbsent(rule.getTriggerEvent(), e -> new BucketBuilder()).add(rule);
+        }
+
+        Map<TriggerEvent, EventBucket> buckets = new EnumMap<>(TriggerEvent.class);
+        builders.forEach((event, builder) -> buckets.put(event, builder.build()));
+        return new BizRuleIndex(ruleVersions, buckets);
+    }
+
+    /**
+     * 判断索引是否与当前规则定义一致
+     *
+     * @param rules 实体类型下的全部规则
+     * @return 规则的数量和内容版本都未变化时返回 true
+     */
+    public boolean isUpToDate(List<BizRuleDefinition> rules) {
+        if (rules.size() != ruleVersions.size()) {
+            return false;
+        }
+        for (BizRuleDefinition rule : rules) {
+            Integer version = ruleVersions.get(rule.getId().value());
+            if (version == null || version != rule.getContentVersion()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 查找命中的规则
+     *
+     * @param event 触发事件
+     * @param keys  目标状态ID或变更字段ID，为空时返回该事件下的全部规则
+     * @return 命中的规则及其所需的 Yield
+     */
+    public Match match(TriggerEvent event, Collection<String> keys) {
+        EventBucket bucket = buckets.get(event);
+        if (bucket == null) {
+            return Match.EMPTY;
+        }
+        if (keys == null || keys.isEmpty()) {
+            return bucket.all();
+        }
+
+        List<Match> hits = new ArrayList<>(keys.size() + 1);
+        if (!bucket.wildcard().rules().isEmpty()) {
+            hits.add(bucket.wildcard());
+        }
+        for (String key : new LinkedHashSet<>(keys)) {
+            Match hit = bucket.byKey().get(key);
+            if (hit != null) {
+                hits.add(hit);
+            }
+        }
+
+        if (hits.isEmpty()) {
+            return Match.EMPTY;
+        }
+        if (hits.size() == 1) {
+            return hits.get(0);
+        }
+        return Match.union(hits, bucket.ordinals());
+    }
+
+    /**
+     * 命中的规则
+     *
+     * @param rules             命中的规则，按规则在实体类型下的顺序排列，不重复
+     * @param triggerCardYield  触发卡片所需的 Yield
+     * @param operatorCardYield 操作人卡片所需的 Yield
+     */
+    public record Match(List<BizRuleDefinition> rules, Yield triggerCardYield, Yield operatorCardYield) {
+
+        static final Match EMPTY = new Match(List.of(), Yield.basic(), Yield.basic());
+
+        public boolean isEmpty() {
+            return rules.isEmpty();
+        }
+
+        static Match of(List<BizRuleDefinition> rules) {
+            List<Condition> conditions = rules.stream()
+                    .map(BizRuleDefinition::getCondition)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return new Match(List.copyOf(rules),
+                    ConditionYieldBuilder.buildYieldForCurrentCard(conditions),
+                    ConditionYieldBuilder.buildYieldForMemberCard(conditions));
+        }
+
+        static Match union(List<Match> hits, Map<BizRuleDefinition, Integer> ordinals) {
+            Set<BizRuleDefinition> rules = Collections.newSetFromMap(new IdentityHashMap<>());
+            Yield[] triggerCardYields = new Yield[hits.size()];
+            Yield[] operatorCardYields = new Yield[hits.size()];
+            for (int i = 0; i < hits.size(); i++) {
+                rules.addAll(hits.get(i).rules());
+                triggerCardYields[i] = hits.get(i).triggerCardYield();
+                operatorCardYields[i] = hits.get(i).operatorCardYield();
+            }
+            List<BizRuleDefinition> sorted = rules.stream()
+                    .sorted(Comparator.comparingInt(ordinals::get))
+                    .toList();
+            return new Match(sorted, Yield.merge(triggerCardYields), Yield.merge(operatorCardYields));
+        }
+    }
+
+    /**
+     * 单个触发事件下的规则分桶
+     *
+     * @param all      该事件下的全部规则
+     * @param wildcard 未指定目标状态 / 监听字段的规则
+     * @param byKey    按目标状态ID / 监听字段ID分桶的规则
+     * @param ordinals 规则在实体类型下的顺序，用于合并多个桶时保持执行顺序
+     */
+    private record EventBucket(Match all, Match wildcard, Map<String, Match> byKey,
+                               Map<BizRuleDefinition, Integer> ordinals) {
+    }
+
+    private static final class BucketBuilder {
+
+        private final List<BizRuleDefinition> all = new ArrayList<>();
+        private final List<BizRuleDefinition> wildcard = new ArrayList<>();
+        private final Map<String, List<BizRuleDefinition>> byKey = new HashMap<>();
+
+        void add(BizRuleDefinition rule) {
+            all.add(rule);
+            List<String> keys = keysOf(rule);
+            if (keys.isEmpty()) {
+                wildcard.add(rule);
+                return;
+            }
+            for (String key : keys) {
+                List<BizRuleDefinition> rules = byKey.computeIfAbsent(key, k -> new ArrayList<>());
+                if (!rules.contains(rule)) {
+                    rules.add(rule);
+                }
+            }
+        }
+
+        EventBucket build() {
+            Map<BizRuleDefinition, Integer> ordinals = new IdentityHashMap<>();
+            for (int i = 0; i < all.size(); i++) {
+                ordinals.put(all.get(i), i);
+            }
+            Map<String, Match> matches = new HashMap<>(byKey.size() * 2);
+            byKey.forEach((key, rules) -> matches.put(key, Match.of(rules)));
+            return new EventBucket(Match.of(all), Match.of(wildcard), matches, ordinals);
+        }
+
+        /**
+         * 规则的分桶键：状态事件取目标状态，字段变更事件取监听字段，其余事件不分桶
+         */
+        private static List<String> keysOf(BizRuleDefinition rule) {
+            return switch (rule.getTriggerEvent()) {
+                case ON_STATUS_MOVE, ON_STATUS_ROLLBACK -> rule.getTargetStatusId() != null
+                        ? List.of(rule.getTargetStatusId().value())
+                        : List.of();
+                case ON_FIELD_CHANGE -> rule.getListenFieldList() != null
+                        ? rule.getListenFieldList()
+                        : List.of();
+                default -> List.of();
+            };
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package cn.planka.card.service.rule.trigger;
+
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.schema.definition.rule.BizRuleDefinition;
+import cn.planka.infra.cache.schema.query.BizRuleCacheQuery;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 业务规则索引缓存
+ * <p>
+ * 按实体类型缓存 {@link BizRuleIndex}。规则定义本身仍由 Schema 缓存负责失效，
+ * 这里每次取索引时比对规则的内容版本，只有发生变化的实体类型才会重建索引。
+ */
+@Slf4j
+@Component
+public class BizRuleIndexCache {
+
+    private static final int MAX_CARD_TYPES = 10_000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    private final BizRuleCacheQuery bizRuleCacheQuery;
+    private final Cache<CardTypeId, BizRuleIndex> indexes;
+
+    public BizRuleIndexCache(BizRuleCacheQuery bizRuleCacheQuery) {
+        this.bizRuleCacheQuery = bizRuleCacheQuery;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(MAX_CARD_TYPES)
+                .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+                .build();
+    }
+
+    /**
+     * 获取实体类型的规则索引
+     *
+     * @param cardTypeId 实体类型ID
+     * @return 与当前规则定义一致的索引
+     */
+    public BizRuleIndex get(CardTypeId cardTypeId) {
+        List<BizRuleDefinition> rules = bizRuleCacheQuery.getByCardTypeId(cardTypeId);
+        BizRuleIndex index = indexes.getIfPresent(cardTypeId);
+        if (index != null && index.isUpToDate(rules)) {
+            return index;
+        }
+
+        log.debug("重建业务规则索引: cardTypeId={}, rules={}", cardTypeId, rules.size());
+        index = BizRuleIndex.build(rules);
+        indexes.put(cardTypeId, index);
+        return index;
+    }
+
+    /**
+     * 失效指定实体类型的索引
+     */
+    public void invalidate(CardTypeId cardTypeId) {
+        indexes.invalidate(cardTypeId);
+    }
+}
@@ -0,0 +1,283 @@
+package cn.planka.card.service.typeahead;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardIdQueryRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.card.request.QueryScope;
+import cn.planka.api.card.request.Yield;
+import cn.planka.api.card.request.YieldField;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.domain.card.CardCycle;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 卡片联想索引
+ * <p>
+ * 按 组织 + 实体类型 分片的内存索引，覆盖活跃卡片的标题和编号。分片在首次检索时异步构建
+ * （构建完成前调用方回退到 zgraph 查询），之后由卡片事件增量维护。
+ * <p>
+ * 构建期间到达的事件直接作用于分片，并记录受影响的卡片，构建时跳过这些卡片，避免旧快照覆盖新数据。
+ * <p>
+ * 分片数量有上限，长时间未检索的分片被淘汰，下次检索时重新构建；增量维护不刷新分片的访问时间。
+ */
+@Component
+public class CardTypeaheadIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardTypeaheadIndex.class);
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 500;
+    private static final String SYSTEM_OPERATOR = "system";
+    private static final int MAX_SHARDS = 500;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofHours(2);
+
+    private final CardRepository cardRepository;
+    private final Cache<String, ShardHolder> shards = Caffeine.newBuilder()
+            .maximumSize(MAX_SHARDS)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+    private final ExecutorService bootstrapExecutor;
+
+    public CardTypeaheadIndex(CardRepository cardRepository) {
+        this.cardRepository = cardRepository;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.bootstrapExecutor = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r, "card-typeahead-bootstrap-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bootstrapExecutor.shutdownNow();
+    }
+
+    /**
+     * 在多个实体类型中检索
+     * <p>
+     * 任一分片尚未就绪时返回 empty（并触发构建），调用方应回退到 zgraph 查询。
+     *
+     * @param orgId       组织ID
+     * @param cardTypeIds 实体类型ID列表
+     * @param keyword     关键字
+     * @param limit       最多返回的结果数
+     * @return 按排名排序的结果
+     */
+    public Optional<TypeaheadResult> search(String orgId, List<String> cardTypeIds, String keyword, int limit) {
+        List<ShardHolder> holders = new ArrayList<>(cardTypeIds.size());
+        boolean ready = true;
+        for (String cardTypeId : cardTypeIds) {
+            ShardHolder holder = shards.get(key(orgId, cardTypeId), k -> startBootstrap(orgId, cardTypeId));
+            holders.add(holder);
+            ready &= holder.ready;
+        }
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        List<TypeaheadHit> hits = new ArrayList<>();
+        int total = 0;
+        for (ShardHolder holder : holders) {
+            TypeaheadShard.SearchResult result = holder.shard.search(keyword, limit);
+            total += result.total();
+            for (TypeaheadShard.Hit hit : result.hits()) {
+                hits.add(new TypeaheadHit(holder.cardTypeId, hit.doc().cardId(), hit.doc().title(),
+                        hit.rank(), hit.doc().updatedAt()));
+            }
+        }
+        hits.sort(TypeaheadHit.RANKING);
+        return Optional.of(new TypeaheadResult(hits.size() > limit ? hits.subList(0, limit) : hits, total));
+    }
+
+    /**
+     * 分片是否已就绪
+     */
+    public boolean isReady(String orgId, String cardTypeId) {
+        ShardHolder holder = peek(orgId, cardTypeId);
+        return holder != null && holder.ready;
+    }
+
+    // ==================== 增量维护 ====================
+
+    /**
+     * 新增卡片（数据来自创建事件，无需回查）
+     */
+    public void onCardCreated(String orgId, String cardTypeId, String cardId, CardTitle title, String code,
+                              Long createdAt) {
+        ShardHolder holder = peek(orgId, cardTypeId);
+        if (holder == null) {
+            return;
+        }
+        long id = Long.parseLong(cardId);
+        holder.touch(id);
+        holder.shard.upsert(TypeaheadShard.TypeaheadDoc.of(id, title, code,
+                createdAt != null ? createdAt : System.currentTimeMillis()));
+    }
+
+    /**
+     * 卡片标题、编号或生命周期发生变化，回查最新数据后更新
+     */
+    public void onCardChanged(String orgId, String cardTypeId, String cardId) {
+        ShardHolder holder = peek(orgId, cardTypeId);
+        if (holder == null) {
+            return;
+        }
+        long id = Long.parseLong(cardId);
+        holder.touch(id);
+        Optional<CardDTO> card = cardRepository.findById(CardId.of(id), basicYield(), SYSTEM_OPERATOR);
+        if (card.isPresent() && card.get().getCardCycle() == CardCycle.ACTIVE) {
+            holder.shard.upsert(toDoc(card.get()));
+        } else {
+            holder.shard.remove(id);
+        }
+    }
+
+    /**
+     * 卡片离开活跃状态（存档、丢弃）
+     */
+    public void onCardRemoved(String orgId, String cardTypeId, String cardId) {
+        ShardHolder holder = peek(orgId, cardTypeId);
+        if (holder == null) {
+            return;
+        }
+        long id = Long.parseLong(cardId);
+        holder.touch(id);
+        holder.shard.remove(id);
+    }
+
+    // ==================== 构建 ====================
+
+    private ShardHolder startBootstrap(String orgId, String cardTypeId) {
+        ShardHolder holder = new ShardHolder(cardTypeId);
+        bootstrapExecutor.execute(() -> bootstrap(orgId, holder));
+        return holder;
+    }
+
+    private void bootstrap(String orgId, ShardHolder holder) {
+        long start = System.currentTimeMillis();
+        try {
+            CardIdQueryRequest request = new CardIdQueryRequest();
+            QueryContext context = new QueryContext();
+            context.setOrgId(orgId);
+            context.setOperatorId(SYSTEM_OPERATOR);
+            request.setQueryContext(context);
+            QueryScope scope = new QueryScope();
+            scope.setCardTypeIds(List.of(holder.cardTypeId));
+            scope.setCardCycles(List.of(CardCycle.ACTIVE));
+            request.setQueryScope(scope);
+
+            List<String> ids = cardRepository.queryIds(request);
+            for (int from = 0; from < ids.size(); from += BOOTSTRAP_BATCH_SIZE) {
+                List<CardId> batch = ids.subList(from, Math.min(from + BOOTSTRAP_BATCH_SIZE, ids.size()))
+                        .stream()
+                        .map(CardId::of)
+                        .toList();
+                for (CardDTO card : cardRepository.findByIds(batch, basicYield(), SYSTEM_OPERATOR)) {
+                    // 构建期间已由事件处理的卡片以事件为准
+                    if (!holder.touched.contains(Long.parseLong(card.getId().value()))) {
+                        holder.shard.upsert(toDoc(card));
+                    }
+                }
+            }
+            holder.ready = true;
+            holder.touched.clear();
+            logger.info("联想索引构建完成: orgId={}, cardTypeId={}, cards={}, cost={}ms",
+                    orgId, holder.cardTypeId, holder.shard.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 移除分片，下次检索时重新构建
+            shards.asMap().remove(key(orgId, holder.cardTypeId), holder);
+            logger.warn("联想索引构建失败: orgId={}, cardTypeId={}", orgId, holder.cardTypeId, e);
+        }
+    }
+
+    private static Yield basicYield() {
+        Yield yield = new Yield();
+        YieldField field = new YieldField();
+        field.setAllFields(false);
+        yield.setField(field);
+        return yield;
+    }
+
+    private static TypeaheadShard.TypeaheadDoc toDoc(CardDTO card) {
+        LocalDateTime updatedAt = card.getUpdatedAt() != null ? card.getUpdatedAt() : card.getCreatedAt();
+        long updatedAtMillis = updatedAt != null
+                ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        return TypeaheadShard.TypeaheadDoc.of(Long.parseLong(card.getId().value()), card.getTitle(), card.getCode(),
+                updatedAtMillis);
+    }
+
+    /**
+     * 读取分片但不刷新访问时间，增量维护不应让无人检索的分片常驻
+     */
+    private ShardHolder peek(String orgId, String cardTypeId) {
+        return shards.policy().getIfPresentQuietly(key(orgId, cardTypeId));
+    }
+
+    private static String key(String orgId, String cardTypeId) {
+        return orgId + ":" + cardTypeId;
+    }
+
+    private static final class ShardHolder {
+        private final String cardTypeId;
+        private final TypeaheadShard shard = new TypeaheadShard();
+        private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+        private volatile boolean ready;
+
+        private ShardHolder(String cardTypeId) {
+            this.cardTypeId = cardTypeId;
+        }
+
+        private void touch(long cardId) {
+            if (!ready) {
+                touched.add(cardId);
+            }
+        }
+    }
+
+    /**
+     * 联想检索命中项
+     *
+     * @param cardTypeId 实体类型ID
+     * @param cardId     卡片ID
+     * @param title      卡片标题
+     * @param rank       匹配等级（越小越靠前）
+     * @param updatedAt  最近更新时间（毫秒）
+     */
+    public record TypeaheadHit(String cardTypeId, long cardId, CardTitle title, int rank, long updatedAt) {
+
+        static final Comparator<TypeaheadHit> RANKING = Comparator
+                .comparingInt(TypeaheadHit::rank)
+                .thenComparing(Comparator.comparingLong(TypeaheadHit::updatedAt).reversed())
+                .thenComparingLong(TypeaheadHit::cardId);
+    }
+
+    /**
+     * 联想检索结果
+     *
+     * @param hits  排名靠前的命中项
+     * @param total 匹配总数
+     */
+    public record TypeaheadResult(List<TypeaheadHit> hits, int total) {
+    }
+}
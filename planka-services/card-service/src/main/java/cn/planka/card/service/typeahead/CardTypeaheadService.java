@@ -0,0 +1,157 @@
+package cn.planka.card.service.typeahead;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardPageQueryRequest;
+import cn.planka.api.card.request.CardTypeaheadRequest;
+import cn.planka.api.card.request.Page;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.card.request.QueryScope;
+import cn.planka.api.card.request.SortAndPage;
+import cn.planka.api.card.request.Yield;
+import cn.planka.api.card.request.YieldField;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.card.service.permission.CardPermissionService;
+import cn.planka.common.result.PageResult;
+import cn.planka.domain.card.CardCycle;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import cn.planka.domain.schema.definition.condition.Condition;
+import cn.planka.domain.schema.definition.condition.TitleConditionItem;
+import cn.planka.domain.schema.definition.permission.PermissionConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 卡片联想搜索服务
+ * <p>
+ * 优先使用内存联想索引检索，索引未就绪时回退到 zgraph 标题包含查询。
+ * 索引结果在分页前按操作人的卡片查看权限过滤（系统调用跳过权限校验）；需要过滤时检索整个结果窗口，
+ * total 为窗口内有权查看的匹配数，与可翻页的结果保持一致。
+ */
+@Service
+public class CardTypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardTypeaheadService.class);
+
+    private static final String SYSTEM_OPERATOR = "system";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    /**
+     * 联想场景只需要前几页，限制单次检索的结果窗口
+     */
+    private static final int MAX_WINDOW = 500;
+
+    private final CardTypeaheadIndex typeaheadIndex;
+    private final CardRepository cardRepository;
+    private final CardPermissionService permissionService;
+
+    public CardTypeaheadService(CardTypeaheadIndex typeaheadIndex,
+                                CardRepository cardRepository,
+                                CardPermissionService permissionService) {
+        this.typeaheadIndex = typeaheadIndex;
+        this.cardRepository = cardRepository;
+        this.permissionService = permissionService;
+    }
+
+    /**
+     * 联想搜索
+     *
+     * @param request    搜索请求
+     * @param operatorId 操作人ID
+     * @return 分页结果（卡片只包含ID、实体类型和标题）
+     */
+    public PageResult<CardDTO> search(CardTypeaheadRequest request, String operatorId) {
+        int page = request.getPage() != null ? Math.max(0, request.getPage()) : 0;
+        int size = request.getSize() != null && request.getSize() > 0 ? request.getSize() : DEFAULT_PAGE_SIZE;
+        boolean filtered = requiresPermissionCheck(operatorId);
+        int window = filtered ? MAX_WINDOW : Math.min((page + 1) * size, MAX_WINDOW);
+
+        Optional<CardTypeaheadIndex.TypeaheadResult> indexed = typeaheadIndex.search(
+                request.getOrgId(), request.getCardTypeIds(), request.getKeyword(), window);
+        if (indexed.isEmpty()) {
+            logger.debug("联想索引未就绪，回退到 zgraph 查询: orgId={}, cardTypeIds={}",
+                    request.getOrgId(), request.getCardTypeIds());
+            return cardRepository.pageQuery(buildFallbackQuery(request, operatorId, page, size));
+        }
+
+        CardTypeaheadIndex.TypeaheadResult result = indexed.get();
+        List<CardDTO> cards = result.hits().stream()
+                .map(hit -> toCardDTO(request.getOrgId(), hit))
+                .toList();
+        List<CardDTO> permitted = filtered ? filterReadable(cards, operatorId) : cards;
+        int total = filtered ? permitted.size() : result.total();
+
+        int from = Math.min(page * size, permitted.size());
+        int to = Math.min(from + size, permitted.size());
+        return PageResult.of(permitted.subList(from, to), page, size, total);
+    }
+
+    private boolean requiresPermissionCheck(String operatorId) {
+        return operatorId != null && !SYSTEM_OPERATOR.equals(operatorId);
+    }
+
+    private List<CardDTO> filterReadable(List<CardDTO> cards, String operatorId) {
+        if (cards.isEmpty()) {
+            return cards;
+        }
+        List<CardId> cardIds = cards.stream().map(CardDTO::getId).toList();
+        Set<CardId> allowed = new HashSet<>(permissionService.batchCheckCardOperation(
+                PermissionConfig.CardOperation.READ, cardIds, CardId.of(operatorId)).getAllowed());
+        if (allowed.size() == cards.size()) {
+            return cards;
+        }
+        return cards.stream().filter(card -> allowed.contains(card.getId())).toList();
+    }
+
+    private CardDTO toCardDTO(String orgId, CardTypeaheadIndex.TypeaheadHit hit) {
+        CardDTO card = new CardDTO();
+        card.setId(CardId.of(hit.cardId()));
+        card.setOrgId(OrgId.of(orgId));
+        card.setTypeId(CardTypeId.of(hit.cardTypeId()));
+        card.setTitle(hit.title());
+        card.setCardCycle(CardCycle.ACTIVE);
+        return card;
+    }
+
+    private CardPageQueryRequest buildFallbackQuery(CardTypeaheadRequest request, String operatorId,
+                                                    int page, int size) {
+        CardPageQueryRequest queryRequest = new CardPageQueryRequest();
+
+        QueryContext queryContext = new QueryContext();
+        queryContext.setOrgId(request.getOrgId());
+        queryContext.setOperatorId(operatorId);
+        queryRequest.setQueryContext(queryContext);
+
+        QueryScope queryScope = new QueryScope();
+        queryScope.setCardTypeIds(request.getCardTypeIds());
+        queryScope.setCardCycles(List.of(CardCycle.ACTIVE));
+        queryRequest.setQueryScope(queryScope);
+
+        TitleConditionItem titleCondition = new TitleConditionItem(
+                new TitleConditionItem.TitleSubject(null),
+                new TitleConditionItem.TitleOperator.Contains(request.getKeyword().trim())
+        );
+        queryRequest.setCondition(Condition.of(titleCondition));
+
+        Yield yield = new Yield();
+        YieldField yieldField = new YieldField();
+        yieldField.setAllFields(false);
+        yield.setField(yieldField);
+        queryRequest.setYield(yield);
+
+        SortAndPage sortAndPage = new SortAndPage();
+        Page pageParam = new Page();
+        pageParam.setPageNum(page);
+        pageParam.setPageSize(size);
+        sortAndPage.setPage(pageParam);
+        queryRequest.setSortAndPage(sortAndPage);
+
+        return queryRequest;
+    }
+}
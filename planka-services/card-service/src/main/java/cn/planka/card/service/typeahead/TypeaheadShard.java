@@ -0,0 +1,304 @@
+package cn.planka.card.service.typeahead;
+
+import cn.planka.domain.card.CardTitle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 单个实体类型的联想索引分片
+ * <p>
+ * 对卡片标题和编号建立 1-gram / 2-gram 倒排索引，倒排表为按文档序号递增的 int 数组。
+ * 卡片更新时分配新的文档序号并把旧序号标记为失效，倒排表只追加、始终有序，
+ * 失效序号在候选校验阶段过滤，失效数量超过有效数量时整体压缩重建。
+ * <p>
+ * 检索：关键字为单字符时直接取 1-gram 倒排表，否则对所有 2-gram 倒排表求交集，
+ * 再以"包含关键字"校验候选；排序规则为编号精确匹配 > 标题前缀 > 编号前缀 > 包含，同级按更新时间倒序。
+ */
+class TypeaheadShard {
+
+    private static final int MIN_COMPACT_DEAD = 1024;
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::rank)
+            .thenComparing(Comparator.comparingLong((Hit hit) -> hit.doc().updatedAt()).reversed())
+            .thenComparingLong(hit -> hit.doc().cardId());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TypeaheadDoc[] docs = new TypeaheadDoc[64];
+    private int docCount;
+    private int deadCount;
+    private final Map<Long, Integer> ordinalByCardId = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    /**
+     * 新增或更新卡片
+     */
+    void upsert(TypeaheadDoc doc) {
+        lock.writeLock().lock();
+        try {
+            Integer old = ordinalByCardId.remove(doc.cardId());
+            if (old != null) {
+                markDead(old);
+            }
+            append(doc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除卡片
+     */
+    void remove(long cardId) {
+        lock.writeLock().lock();
+        try {
+            Integer old = ordinalByCardId.remove(cardId);
+            if (old != null) {
+                markDead(old);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 当前有效卡片数量
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalByCardId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 检索
+     *
+     * @param keyword 原始关键字
+     * @param limit   最多返回的结果数
+     * @return 排名前 limit 的结果以及匹配总数
+     */
+    SearchResult search(String keyword, int limit) {
+        String normalized = normalize(keyword);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(normalized);
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            int total = 0;
+            for (int ordinal : candidates) {
+                TypeaheadDoc doc = docs[ordinal];
+                if (doc == null) {
+                    continue;
+                }
+                int rank = rank(doc, normalized);
+                if (rank < 0) {
+                    continue;
+                }
+                total++;
+                top.offer(new Hit(doc, rank));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(RANKING);
+            return new SearchResult(hits, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== 内部实现（调用方持有锁） ====================
+
+    private void append(TypeaheadDoc doc) {
+        if (docCount == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        int ordinal = docCount++;
+        docs[ordinal] = doc;
+        ordinalByCardId.put(doc.cardId(), ordinal);
+        for (String gram : grams(doc)) {
+            postings.computeIfAbsent(gram, k -> new PostingList()).add(ordinal);
+        }
+    }
+
+    private void markDead(int ordinal) {
+        docs[ordinal] = null;
+        deadCount++;
+    }
+
+    private void compactIfNeeded() {
+        if (deadCount < MIN_COMPACT_DEAD || deadCount < ordinalByCardId.size()) {
+            return;
+        }
+        TypeaheadDoc[] live = new TypeaheadDoc[ordinalByCardId.size()];
+        int i = 0;
+        for (int ordinal = 0; ordinal < docCount; ordinal++) {
+            if (docs[ordinal] != null) {
+                live[i++] = docs[ordinal];
+            }
+        }
+        docs = new TypeaheadDoc[Math.max(64, live.length * 2)];
+        docCount = 0;
+        deadCount = 0;
+        ordinalByCardId.clear();
+        postings.clear();
+        for (TypeaheadDoc doc : live) {
+            append(doc);
+        }
+    }
+
+    private int[] candidates(String normalized) {
+        if (normalized.length() == 1) {
+            PostingList list = postings.get(normalized);
+            return list == null ? new int[0] : list.toArray();
+        }
+        // 从最短的倒排表开始求交集
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            PostingList list = postings.get(normalized.substring(i, i + 2));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        int[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).intersect(result);
+        }
+        return result;
+    }
+
+    private static int rank(TypeaheadDoc doc, String keyword) {
+        String code = doc.normalizedCode();
+        String title = doc.normalizedTitle();
+        if (code != null && code.equals(keyword)) {
+            return 0;
+        }
+        if (title.startsWith(keyword)) {
+            return 1;
+        }
+        if (code != null && code.startsWith(keyword)) {
+            return 2;
+        }
+        if (title.contains(keyword) || (code != null && code.contains(keyword))) {
+            return 3;
+        }
+        return -1;
+    }
+
+    private static Set<String> grams(TypeaheadDoc doc) {
+        Set<String> grams = new HashSet<>();
+        addGrams(doc.normalizedTitle(), grams);
+        addGrams(doc.normalizedCode(), grams);
+        return grams;
+    }
+
+    private static void addGrams(String text, Set<String> grams) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 1 < text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+    }
+
+    /**
+     * 归一化：去除首尾空白并转为小写
+     */
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 索引中的卡片
+     *
+     * @param cardId          卡片ID
+     * @param title           卡片标题
+     * @param normalizedTitle 归一化后的标题
+     * @param normalizedCode  归一化后的编号，可能为 null
+     * @param updatedAt       最近更新时间（毫秒），用于同级排序
+     */
+    record TypeaheadDoc(long cardId, CardTitle title, String normalizedTitle, String normalizedCode,
+                        long updatedAt) {
+
+        static TypeaheadDoc of(long cardId, CardTitle title, String code, long updatedAt) {
+            String displayTitle = title != null ? title.getDisplayValue() : null;
+            return new TypeaheadDoc(cardId, title, normalize(displayTitle),
+                    code != null ? normalize(code) : null, updatedAt);
+        }
+    }
+
+    record Hit(TypeaheadDoc doc, int rank) {
+    }
+
+    record SearchResult(List<Hit> hits, int total) {
+    }
+
+    /**
+     * 有序 int 倒排表
+     */
+    private static final class PostingList {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ordinals, size);
+        }
+
+        int[] intersect(int[] sorted) {
+            int[] result = new int[Math.min(size, sorted.length)];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < size && j < sorted.length) {
+                if (ordinals[i] < sorted[j]) {
+                    i++;
+                } else if (ordinals[i] > sorted[j]) {
+                    j++;
+                } else {
+                    result[k++] = ordinals[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, k);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package cn.planka.card.workflow.engine;
+
+import cn.planka.card.workflow.entity.WorkflowDefinitionSnapshotEntity;
+import cn.planka.card.workflow.repository.WorkflowDefinitionSnapshotMapper;
+import cn.planka.domain.schema.definition.workflow.WorkflowDefinition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * 流程定义快照存储
+ * <p>
+ * 快照按定义 JSON 的 SHA-256 去重存储，同一版本定义启动的所有实例只记录哈希。
+ * 解析后的定义按哈希缓存在内存中，节点推进时不再重复反序列化。
+ * 哈希对应的内容不可变，缓存无需失效，只按容量和访问时间淘汰。
+ * <p>
+ * 缓存中的定义对象在实例间共享，调用方只能读取，不能修改。
+ */
+@Slf4j
+@Component
+public class WorkflowDefinitionSnapshotStore {
+
+    private static final int MAX_CACHED_DEFINITIONS = 1_000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+
+    private final WorkflowDefinitionSnapshotMapper snapshotMapper;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, WorkflowDefinition> definitions;
+
+    public WorkflowDefinitionSnapshotStore(WorkflowDefinitionSnapshotMapper snapshotMapper,
+                                           ObjectMapper objectMapper) {
+        this.snapshotMapper = snapshotMapper;
+        this.objectMapper = objectMapper;
+        this.definitions = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_DEFINITIONS)
+                .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+                .build();
+    }
+
+    /**
+     * 保存定义快照
+     * <p>
+     * 相同内容的快照只存一份。写入在调用方事务内进行，与流程实例一起提交或回滚。
+     *
+     * @param definition 流程定义
+     * @return 快照哈希
+     */
+    public String save(WorkflowDefinition definition) {
+        String json = serialize(definition);
+        String hash = sha256(json);
+
+        WorkflowDefinitionSnapshotEntity entity = new WorkflowDefinitionSnapshotEntity();
+        entity.setDefinitionHash(hash);
+        entity.setWorkflowId(definition.getId().value());
+        entity.setDefinition(json);
+        snapshotMapper.insertIgnore(entity);
+
+        definitions.asMap().putIfAbsent(hash, definition);
+        return hash;
+    }
+
+    /**
+     * 按哈希加载定义快照
+     *
+     * @param hash 快照哈希
+     * @return 流程定义，快照不存在或无法解析时返回 null
+     */
+    public WorkflowDefinition load(String hash) {
+        WorkflowDefinition cached = definitions.getIfPresent(hash);
+        if (cached != null) {
+            return cached;
+        }
+        String json = snapshotMapper.selectDefinitionByHash(hash);
+        if (json == null) {
+            log.error("流程定义快照不存在: hash={}", hash);
+            return null;
+        }
+        WorkflowDefinition definition = deserialize(json);
+        if (definition != null) {
+            definitions.put(hash, definition);
+        }
+        return definition;
+    }
+
+    /**
+     * 解析旧实例上内联存储的定义快照
+     */
+    public WorkflowDefinition parseInline(String json) {
+        return json != null ? deserialize(json) : null;
+    }
+
+    static String sha256(String json) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    private String serialize(WorkflowDefinition definition) {
+        try {
+            return objectMapper.writeValueAsString(definition);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化流程定义失败", e);
+        }
+    }
+
+    private WorkflowDefinition deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, WorkflowDefinition.class);
+        } catch (JsonProcessingException e) {
+            log.error("反序列化流程定义失败: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+}
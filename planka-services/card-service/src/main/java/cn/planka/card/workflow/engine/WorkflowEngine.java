@@ -7,8 +7,6 @@ import cn.planka.card.workflow.repository.WorkflowInstanceMapper;
 import cn.planka.card.workflow.repository.WorkflowNodeInstanceMapper;
 import cn.planka.common.util.SnowflakeIdGenerator;
 import cn.planka.domain.schema.definition.workflow.*;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -33,7 +31,7 @@ public class WorkflowEngine {
     private final WorkflowNodeInstanceMapper nodeInstanceMapper;
     private final WorkflowEventLogMapper eventLogMapper;
     private final NodeExecutorRegistry nodeExecutorRegistry;
-    private final ObjectMapper objectMapper;
+    private final WorkflowDefinitionSnapshotStore snapshotStore;
 
     /**
      * 启动工作流实例
@@ -45,7 +43,7 @@ public class WorkflowEngine {
         definition.validate();
 
         Long instanceId = SnowflakeIdGenerator.generate();
-        String definitionJson = serializeDefinition(definition);
+        String definitionHash = snapshotStore.save(definition);
 
         // 查找开始节点
         NodeDefinition startNode = definition.getNodes().stream()
@@ -63,7 +61,7 @@ public class WorkflowEngine {
         instance.setStatus(WorkflowInstanceStatus.RUNNING.name());
         instance.setTriggerType("MANUAL");
         instance.setCurrentNodeIds("[\"" + startNode.id() + "\"]");
-        instance.setDefinitionSnapshot(definitionJson);
+        instance.setDefinitionHash(definitionHash);
         instance.setStartedBy(initiatorId);
         instance.setStartedAt(LocalDateTime.now());
         instanceMapper.insert(instance);
@@ -170,9 +168,9 @@ public class WorkflowEngine {
             return;
         }
 
-        WorkflowDefinition definition = deserializeDefinition(instance.getDefinitionSnapshot());
+        WorkflowDefinition definition = loadDefinition(instance);
         if (definition == null) {
-            log.error("反序列化流程定义失败: instanceId={}", instanceId);
+            log.error("加载流程定义快照失败: instanceId={}", instanceId);
             return;
         }
 
@@ -287,20 +285,11 @@ public class WorkflowEngine {
         eventLogMapper.insert(logEntity);
     }
 
-    private String serializeDefinition(WorkflowDefinition definition) {
-        try {
-            return objectMapper.writeValueAsString(definition);
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("序列化流程定义失败", e);
-        }
-    }
-
-    private WorkflowDefinition deserializeDefinition(String json) {
-        try {
-            return objectMapper.readValue(json, WorkflowDefinition.class);
-        } catch (JsonProcessingException e) {
-            log.error("反序列化流程定义失败: {}", e.getMessage(), e);
-            return null;
+    private WorkflowDefinition loadDefinition(WorkflowInstanceEntity instance) {
+        if (instance.getDefinitionHash() != null) {
+            return snapshotStore.load(instance.getDefinitionHash());
         }
+        // 引入快照表之前启动的实例，定义内联存储在实例上
+        return snapshotStore.parseInline(instance.getDefinitionSnapshot());
     }
 }
@@ -0,0 +1,12 @@
+package cn.planka.card.workflow.entity;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class WorkflowDefinitionSnapshotEntity {
+    private String definitionHash;
+    private String workflowId;
+    private String definition;
+    private LocalDateTime createdAt;
+}
@@ -15,6 +15,7 @@ public class WorkflowInstanceEntity {
     private String currentNodeIds;
     private String contextData;
     private String definitionSnapshot;
+    private String definitionHash;
     private Integer definitionVersion;
     private Long startedBy;
     private Long completedBy;
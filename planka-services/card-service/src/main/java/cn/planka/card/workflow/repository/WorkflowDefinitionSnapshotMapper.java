@@ -0,0 +1,18 @@
+package cn.planka.card.workflow.repository;
+
+import cn.planka.card.workflow.entity.WorkflowDefinitionSnapshotEntity;
+import org.apache.ibatis.annotations.*;
+
+@Mapper
+public interface WorkflowDefinitionSnapshotMapper {
+
+    /**
+     * 写入快照，相同哈希已存在时忽略
+     */
+    @Insert("INSERT IGNORE INTO workflow_definition_snapshot (definition_hash, workflow_id, definition) " +
+            "VALUES (#{definitionHash}, #{workflowId}, #{definition})")
+    int insertIgnore(WorkflowDefinitionSnapshotEntity entity);
+
+    @Select("SELECT definition FROM workflow_definition_snapshot WHERE definition_hash = #{definitionHash}")
+    String selectDefinitionByHash(@Param("definitionHash") String definitionHash);
+}
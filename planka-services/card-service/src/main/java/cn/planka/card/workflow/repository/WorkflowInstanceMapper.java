@@ -9,10 +9,10 @@ import java.util.List;
 public interface WorkflowInstanceMapper {
 
     @Insert("INSERT INTO workflow_instance (id, org_id, workflow_id, card_id, card_type_id, " +
-            "status, trigger_type, current_node_ids, context_data, definition_snapshot, " +
+            "status, trigger_type, current_node_ids, context_data, definition_hash, " +
             "definition_version, started_by, started_at, version) " +
             "VALUES (#{id}, #{orgId}, #{workflowId}, #{cardId}, #{cardTypeId}, " +
-            "#{status}, #{triggerType}, #{currentNodeIds}, #{contextData}, #{definitionSnapshot}, " +
+            "#{status}, #{triggerType}, #{currentNodeIds}, #{contextData}, #{definitionHash}, " +
             "#{definitionVersion}, #{startedBy}, #{startedAt}, 0)")
     int insert(WorkflowInstanceEntity entity);
 
@@ -0,0 +1,173 @@
+package cn.planka.card.converter;
+
+import cn.planka.api.card.request.CardPageQueryRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.card.request.QueryScope;
+import cn.planka.api.card.request.Yield;
+import cn.planka.api.card.request.YieldField;
+import cn.planka.card.service.evaluator.ConditionResolver;
+import cn.planka.domain.schema.definition.condition.Condition;
+import cn.planka.domain.schema.definition.condition.ConditionNode;
+import cn.planka.domain.schema.definition.condition.DateConditionItem;
+import cn.planka.domain.schema.definition.condition.TextConditionItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * PreparedQueryPlanCache 单元测试
+ */
+@DisplayName("PreparedQueryPlanCache 单元测试")
+class PreparedQueryPlanCacheTest {
+
+    private ConditionResolver conditionResolver;
+    private PreparedQueryPlanCache cache;
+
+    @BeforeEach
+    void setUp() {
+        conditionResolver = spy(new ConditionResolver());
+        cache = new PreparedQueryPlanCache(conditionResolver, new ObjectMapper());
+    }
+
+    private CardPageQueryRequest createRequest(String operatorId, DateConditionItem.DateValue dateValue) {
+        CardPageQueryRequest request = new CardPageQueryRequest();
+        QueryContext context = new QueryContext();
+        context.setOperatorId(operatorId);
+        request.setQueryContext(context);
+
+        QueryScope scope = new QueryScope();
+        scope.setCardTypeIds(List.of("type-1"));
+        request.setQueryScope(scope);
+
+        var subject = new DateConditionItem.DateSubject.FieldDateSubject(null, "dateField");
+        request.setCondition(Condition.of(
+                new DateConditionItem(subject, new DateConditionItem.DateOperator.Equal(dateValue))));
+
+        Yield yield = new Yield();
+        YieldField field = new YieldField();
+        field.setAllFields(true);
+        yield.setField(field);
+        request.setYield(yield);
+        return request;
+    }
+
+    @Test
+    @DisplayName("范围、条件和返回定义相同的请求复用同一个编译计划，与操作人无关")
+    void shouldReusePlanForSameDefinition() {
+        var first = cache.prepare(createRequest("user-1",
+                new DateConditionItem.DateValue.Specific("2024-01-01")));
+        var second = cache.prepare(createRequest("user-2",
+                new DateConditionItem.DateValue.Specific("2024-01-01")));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.queryScope().getCardTypeIdsList()).containsExactly("type-1");
+        assertThat(first.condition().hasRoot()).isTrue();
+        assertThat(first.yield().getYieldedField().getContainsAllCustomField()).isTrue();
+        assertThat(first.resolvedOn()).isNull();
+        verify(conditionResolver, times(1)).resolve(any());
+    }
+
+    @Test
+    @DisplayName("条件不同的请求使用不同的编译计划")
+    void shouldCompileNewPlanForDifferentCondition() {
+        var v1 = cache.prepare(createRequest("user-1",
+                new DateConditionItem.DateValue.Specific("2024-01-01")));
+        var v2 = cache.prepare(createRequest("user-1",
+                new DateConditionItem.DateValue.Specific("2024-01-02")));
+
+        assertThat(v2).isNotSameAs(v1);
+        assertThat(v2.condition()).isNotEqualTo(v1.condition());
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("计划键由请求内容计算，返回定义变化后键随之变化")
+    void shouldDerivePlanKeyFromRequestContent() {
+        CardPageQueryRequest request = createRequest("user-1",
+                new DateConditionItem.DateValue.Specific("2024-01-01"));
+        PreparedQueryPlanCache.PlanKey key = cache.planKey(request);
+
+        assertThat(cache.planKey(createRequest("user-2",
+                new DateConditionItem.DateValue.Specific("2024-01-01")))).isEqualTo(key);
+        request.getYield().getField().setAllFields(false);
+        assertThat(cache.planKey(request)).isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("包含动态日期的计划记录解析日期")
+    void shouldStampResolveDateForDynamicCondition() {
+        var plan = cache.prepare(createRequest("user-1",
+                new DateConditionItem.DateValue.KeyDateValue(DateConditionItem.KeyDate.TODAY)));
+
+        assertThat(plan.resolvedOn()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("基准：命中计划缓存比每次重新转换范围、条件和返回定义更快")
+    void planHitShouldBeFasterThanConversion() {
+        ConditionResolver resolver = new ConditionResolver();
+        PreparedQueryPlanCache benchCache = new PreparedQueryPlanCache(resolver, new ObjectMapper());
+        CardPageQueryRequest request = createViewLikeRequest();
+        int rounds = 2_000;
+
+        long hitNanos = Long.MAX_VALUE;
+        long convertNanos = Long.MAX_VALUE;
+        long sink = 0;
+        for (int trial = 0; trial < 5; trial++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                sink += benchCache.prepare(request).condition().getSerializedSize();
+            }
+            hitNanos = Math.min(hitNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                QueryScopeConverter.toProto(request.getQueryScope());
+                YieldConverter.toProto(request.getYield());
+                sink += ConditionConverter.toProto(resolver.resolve(request.getCondition())).getSerializedSize();
+            }
+            convertNanos = Math.min(convertNanos, System.nanoTime() - start);
+        }
+
+        System.out.printf("plan hit: %d ns/op, conversion: %d ns/op (%d)%n",
+                hitNanos / rounds, convertNanos / rounds, sink);
+        assertThat(hitNanos).isLessThan(convertNanos);
+    }
+
+    /**
+     * 构造与视图查询规模相当的请求：多个过滤条件和列
+     */
+    private CardPageQueryRequest createViewLikeRequest() {
+        CardPageQueryRequest request = createRequest("user-1",
+                new DateConditionItem.DateValue.Specific("2024-01-01"));
+        List<ConditionNode> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new TextConditionItem(new TextConditionItem.TextSubject(null, "text-" + i),
+                    new TextConditionItem.TextOperator.Contains("keyword-" + i)));
+            items.add(new DateConditionItem(new DateConditionItem.DateSubject.FieldDateSubject(null, "date-" + i),
+                    new DateConditionItem.DateOperator.Equal(new DateConditionItem.DateValue.Specific("2024-01-0" + (i % 9 + 1)))));
+        }
+        request.setCondition(Condition.and(items.toArray(ConditionNode[]::new)));
+
+        Set<String> fieldIds = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            fieldIds.add("field-" + i);
+        }
+        request.getYield().getField().setAllFields(false);
+        request.getYield().getField().setFieldIds(fieldIds);
+        return request;
+    }
+}
@@ -0,0 +1,105 @@
+package cn.planka.card.converter;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.field.FieldValue;
+import cn.planka.domain.field.TextFieldValue;
+import cn.planka.domain.link.Path;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zgraph.driver.proto.model.Card;
+import zgraph.driver.proto.model.CardList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ProtoBackedCardDTO 单元测试
+ */
+@DisplayName("ProtoBackedCardDTO 单元测试")
+class ProtoBackedCardDTOTest {
+
+    private static Card protoCard(long id, String title) {
+        return Card.newBuilder()
+                .setId(id)
+                .setOrgId("org-1")
+                .setTypeId("type-a")
+                .setCodeInOrg(id)
+                .setTitle(TitleConverter.toProto(CardTitle.pure(title)))
+                .setCreatedAt(1_700_000_000_000L)
+                .putAllCustomFieldValueMap(FieldValueConverter.toProtoMap(Map.of(
+                        "f1", new TextFieldValue("f1", "v1"),
+                        "f2", new TextFieldValue("f2", "v2"))))
+                .build();
+    }
+
+    private static Card protoCardWithLink() {
+        return protoCard(1, "父卡片").toBuilder()
+                .putLinkCardMap("lt-1:Src", CardList.newBuilder().addCards(protoCard(2, "子卡片")).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("按需解码的属性与 proto 内容一致，关联 key 转换为 linkFieldId")
+    void shouldDecodeFieldsOnAccess() {
+        CardDTO card = CardProtoConverter.toCardDTO(protoCardWithLink());
+
+        assertThat(card).isInstanceOf(ProtoBackedCardDTO.class);
+        assertThat(card.getId()).isEqualTo(CardId.of("1"));
+        assertThat(card.getTitle().getDisplayValue()).isEqualTo("父卡片");
+        assertThat(card.getCreatedAt()).isNotNull();
+        assertThat(card.getArchivedAt()).isNull();
+        assertThat(((TextFieldValue) card.getFieldValue("f2")).getValue()).isEqualTo("v2");
+        assertThat(card.getFieldValue("missing")).isNull();
+
+        Set<CardDTO> linked = card.getLinkedCards(new Path(List.of("lt-1:SOURCE")));
+        assertThat(linked).hasSize(1);
+        assertThat(linked.iterator().next().getTitle().getDisplayValue()).isEqualTo("子卡片");
+    }
+
+    @Test
+    @DisplayName("单个属性解码结果被缓存，完整解码时复用同一对象")
+    void shouldReuseSingleDecodedFieldInFullMap() {
+        CardDTO card = CardProtoConverter.toCardDTO(protoCard(1, "卡片"));
+
+        FieldValue<?> first = card.getFieldValue("f1");
+
+        assertThat(card.getFieldValue("f1")).isSameAs(first);
+        assertThat(card.getFieldValues()).hasSize(2);
+        assertThat(card.getFieldValues().get("f1")).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("setter 覆盖解码结果")
+    void shouldPreferValuesFromSetters() {
+        CardDTO card = CardProtoConverter.toCardDTO(protoCardWithLink());
+
+        card.setFieldValues(Map.of());
+        card.setLinkedCards(null);
+        card.setTitle(CardTitle.pure("新标题"));
+
+        assertThat(card.getFieldValue("f1")).isNull();
+        assertThat(card.getLinkedCards("lt-1:SOURCE")).isNull();
+        assertThat(card.getTitle().getDisplayValue()).isEqualTo("新标题");
+    }
+
+    @Test
+    @DisplayName("materialize 得到普通 CardDTO，序列化结果与延迟卡片一致")
+    void shouldMaterializeToPlainCardDTO() throws Exception {
+        ProtoBackedCardDTO lazy = (ProtoBackedCardDTO) CardProtoConverter.toCardDTO(protoCardWithLink());
+
+        CardDTO plain = lazy.materialize();
+
+        assertThat(plain.getClass()).isEqualTo(CardDTO.class);
+        assertThat(plain.getLinkedCards("lt-1:SOURCE").iterator().next().getClass()).isEqualTo(CardDTO.class);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(lazy)))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(plain)));
+    }
+}
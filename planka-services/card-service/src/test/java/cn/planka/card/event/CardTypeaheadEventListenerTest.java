@@ -0,0 +1,59 @@
+package cn.planka.card.event;
+
+import cn.planka.card.service.typeahead.CardTypeaheadIndex;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.event.card.CardCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * CardTypeaheadEventListener 单元测试
+ */
+@DisplayName("CardTypeaheadEventListener 单元测试")
+class CardTypeaheadEventListenerTest {
+
+    private CardTypeaheadIndex typeaheadIndex;
+    private CardTypeaheadEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        typeaheadIndex = mock(CardTypeaheadIndex.class);
+        listener = new CardTypeaheadEventListener(typeaheadIndex);
+    }
+
+    private static CardCreatedEvent created(long codeInOrg, String customCode) {
+        CardCreatedEvent event = new CardCreatedEvent("org_1", "member_1", null, null, "ct_story", "100");
+        event.setCodeInOrg(codeInOrg);
+        event.setCustomCode(customCode);
+        event.setTitle(CardTitle.pure("需求A"));
+        event.setCreatedAt(1000L);
+        return event;
+    }
+
+    @Test
+    @DisplayName("创建事件携带编号时直接写入索引，自定义编号优先")
+    void shouldIndexCreatedCardWithCode() {
+        listener.handleCardEvent(created(12, null));
+        listener.handleCardEvent(created(13, "STORY-13"));
+
+        verify(typeaheadIndex).onCardCreated(eq("org_1"), eq("ct_story"), eq("100"), any(), eq("12"), eq(1000L));
+        verify(typeaheadIndex).onCardCreated(eq("org_1"), eq("ct_story"), eq("100"), any(), eq("STORY-13"), eq(1000L));
+    }
+
+    @Test
+    @DisplayName("创建事件未携带编号时不写入无效编号，改为回查最新数据")
+    void shouldRequeryWhenCreatedEventHasNoCode() {
+        listener.handleCardEvent(created(0, null));
+
+        verify(typeaheadIndex, never()).onCardCreated(anyString(), anyString(), anyString(), any(), any(), any());
+        verify(typeaheadIndex).onCardChanged("org_1", "ct_story", "100");
+    }
+}
@@ -0,0 +1,157 @@
+package cn.planka.card.event.outbox;
+
+import cn.planka.card.mapper.EventOutboxMapper;
+import cn.planka.event.card.CardArchivedEvent;
+import cn.planka.event.card.CardEvent;
+import cn.planka.event.codec.EventPayloadCodec;
+import cn.planka.event.codec.EventPayloadDeserializer;
+import cn.planka.event.codec.EventPayloadFormat;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 事件发件箱单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("事件发件箱")
+class EventOutboxRelayTest {
+
+    @Mock
+    private EventOutboxMapper outboxMapper;
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private EventOutboxRelay relay;
+    private OutboxEventPublisher publisher;
+    private final List<EventOutboxEntity> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        relay = new EventOutboxRelay(outboxMapper, kafkaTemplate, new EventOutboxProperties());
+        publisher = new OutboxEventPublisher(outboxMapper, new EventPayloadCodec(), EventPayloadFormat.SMILE, relay);
+    }
+
+    private static CardArchivedEvent event(String cardId) {
+        return new CardArchivedEvent("org-1", "member-1", null, null, "type-a", cardId);
+    }
+
+    /**
+     * 模拟写入发件箱并被认领
+     */
+    private void givenPublished(CardArchivedEvent... events) {
+        doAnswer(invocation -> {
+            List<EventOutboxEntity> entries = invocation.getArgument(0);
+            for (EventOutboxEntity entry : entries) {
+                entry.setId((long) stored.size() + 1);
+                stored.add(entry);
+            }
+            return entries.size();
+        }).when(outboxMapper).insertBatch(anyList());
+        publisher.publishAll(List.of(events));
+
+        when(outboxMapper.claim(anyString(), any(), any(), eq(relay.getOwner()), any(), anyInt()))
+                .thenReturn(stored.size());
+        when(outboxMapper.findByClaimToken(anyString())).thenReturn(stored);
+    }
+
+    @Test
+    @DisplayName("批量写入的事件按 Smile 编码发送，消费端反序列化为原事件")
+    void shouldSendClaimedEventsAsSmile() throws Exception {
+        givenPublished(event("1"), event("2"));
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.captor();
+        when(kafkaTemplate.send(captor.capture()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        assertThat(relay.drainOnce()).isEqualTo(2);
+
+        verify(outboxMapper).deleteByIds(List.of(1L, 2L));
+        ProducerRecord<String, byte[]> record = captor.getAllValues().get(0);
+        assertThat(record.topic()).isEqualTo("planka-card-events");
+        assertThat(new String(record.headers().lastHeader(EventPayloadFormat.HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo("smile/1");
+
+        try (EventPayloadDeserializer<CardEvent> deserializer =
+                     new EventPayloadDeserializer<>(CardEvent.class, false)) {
+            CardEvent decoded = deserializer.deserialize(record.topic(), record.headers(), record.value());
+            assertThat(decoded).isInstanceOf(CardArchivedEvent.class);
+            assertThat(decoded.getCardId()).isEqualTo("1");
+            assertThat(decoded.getOrgId()).isEqualTo("org-1");
+        }
+    }
+
+    @Test
+    @DisplayName("发送失败的事件保留在发件箱中等待重试")
+    void shouldKeepFailedEventsInOutbox() throws Exception {
+        givenPublished(event("1"), event("2"));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        assertThat(relay.drainOnce()).isEqualTo(1);
+
+        verify(outboxMapper).deleteByIds(List.of(1L));
+        verify(outboxMapper).releaseClaim(anyString());
+    }
+
+    @Test
+    @DisplayName("批次在第一个失败处截断，之后已发送成功的事件也释放重发")
+    void shouldStopBatchAtFirstFailure() throws Exception {
+        givenPublished(event("1"), event("2"), event("3"));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        assertThat(relay.drainOnce()).isZero();
+
+        verify(outboxMapper, never()).deleteByIds(anyList());
+        verify(outboxMapper).releaseClaim(anyString());
+    }
+
+    @Test
+    @DisplayName("没有可认领的事件时不发送")
+    void shouldSkipWhenNothingClaimed() throws Exception {
+        when(outboxMapper.claim(anyString(), any(), any(), anyString(), any(), anyInt())).thenReturn(0);
+
+        assertThat(relay.drainOnce()).isZero();
+
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    @DisplayName("没有格式头的旧 JSON 消息仍可反序列化")
+    void shouldDeserializeLegacyJson() {
+        byte[] json = new EventPayloadCodec().encode(event("9"), EventPayloadFormat.JSON);
+
+        try (EventPayloadDeserializer<CardEvent> deserializer =
+                     new EventPayloadDeserializer<>(CardEvent.class, false)) {
+            CardEvent decoded = deserializer.deserialize("planka-card-events",
+                    new RecordHeaders(), json);
+            assertThat(decoded.getCardId()).isEqualTo("9");
+        }
+    }
+}
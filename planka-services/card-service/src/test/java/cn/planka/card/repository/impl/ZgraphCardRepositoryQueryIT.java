@@ -1,6 +1,7 @@
 package cn.planka.card.repository.impl;
 
 import cn.planka.api.card.dto.CardDTO;
+import cn.planka.card.converter.PreparedQueryPlanCache;
 import cn.planka.card.model.CardEntity;
 import cn.planka.card.service.evaluator.ConditionResolver;
 import cn.planka.common.result.PageResult;
@@ -9,6 +10,7 @@ import cn.planka.domain.card.CardCycle;
 import cn.planka.domain.field.*;
 import cn.planka.domain.schema.definition.condition.*;
 import cn.planka.api.card.request.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
 import zgraph.driver.ZgraphCardQueryClient;
 import zgraph.driver.ZgraphClient;
@@ -59,7 +61,8 @@ class ZgraphCardRepositoryQueryIT {
         conditionResolver = new ConditionResolver();
 
         // 构造 Repository
-        repository = new ZgraphCardRepository(queryClient, writeClient, conditionResolver);
+        repository = new ZgraphCardRepository(queryClient, writeClient, conditionResolver,
+                new PreparedQueryPlanCache(conditionResolver, new ObjectMapper()));
     }
 
     @AfterAll
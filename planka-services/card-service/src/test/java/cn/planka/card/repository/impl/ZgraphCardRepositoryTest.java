@@ -0,0 +1,78 @@
+package cn.planka.card.repository.impl;
+
+import cn.planka.card.converter.PreparedQueryPlanCache;
+import cn.planka.card.model.CardEntity;
+import cn.planka.card.service.evaluator.ConditionResolver;
+import cn.planka.domain.card.CardCycle;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zgraph.driver.ZgraphCardQueryClient;
+import zgraph.driver.ZgraphWriteClient;
+import zgraph.driver.exception.UnsupportedRequestException;
+import zgraph.driver.proto.write.BatchCardCommonResponse;
+import zgraph.driver.proto.write.BatchCreateLinkRequest;
+import zgraph.driver.proto.write.BatchLinkCommonResponse;
+import zgraph.driver.proto.write.CreateCardWithLinksRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ZgraphCardRepository 写操作单元测试
+ */
+@DisplayName("ZgraphCardRepository 写操作单元测试")
+class ZgraphCardRepositoryTest {
+
+    private ZgraphWriteClient writeClient;
+    private ZgraphCardRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        writeClient = mock(ZgraphWriteClient.class);
+        repository = new ZgraphCardRepository(mock(ZgraphCardQueryClient.class), writeClient,
+                mock(ConditionResolver.class), mock(PreparedQueryPlanCache.class));
+    }
+
+    private CardEntity createCard(long id) {
+        return new CardEntity(CardId.of(id), 0L, null, OrgId.of("org-1"), CardTypeId.of("type-1"),
+                CardTitle.pure("卡片" + id), CardCycle.ACTIVE, null, null, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("服务端不支持 create_card_with_links 时回退为先建卡再建关联，之后不再尝试")
+    void shouldFallBackToCreateThenLinkWhenUnsupported() {
+        when(writeClient.createCardWithLinks(any())).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("请求失败", new UnsupportedRequestException("unsupported"))));
+        when(writeClient.batchCreateCard(any())).thenReturn(CompletableFuture.completedFuture(
+                BatchCardCommonResponse.newBuilder().setSuccess(1).build()));
+        when(writeClient.batchCreateLink(any())).thenReturn(CompletableFuture.completedFuture(
+                BatchLinkCommonResponse.newBuilder().setSuccess(1).build()));
+        Map<String, List<String>> links = Map.of("lt-1:SOURCE", List.of("200"));
+
+        CardId first = repository.createWithLinks(createCard(100L), links);
+        CardId second = repository.createWithLinks(createCard(101L), links);
+
+        assertThat(first).isEqualTo(CardId.of(100L));
+        assertThat(second).isEqualTo(CardId.of(101L));
+        verify(writeClient, times(1)).createCardWithLinks(any(CreateCardWithLinksRequest.class));
+        verify(writeClient, times(2)).batchCreateCard(any());
+        verify(writeClient).batchCreateLink(argThat((BatchCreateLinkRequest request) ->
+                request.getLinksCount() == 1 && request.getLinks(0).getSrcId() == 100L
+                        && request.getLinks(0).getDestId() == 200L));
+    }
+}
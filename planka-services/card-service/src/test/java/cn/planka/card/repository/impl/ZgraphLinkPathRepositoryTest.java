@@ -0,0 +1,193 @@
+package cn.planka.card.repository.impl;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardQueryRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.card.request.Yield;
+import cn.planka.card.model.LinkPathNode;
+import cn.planka.card.model.LinkPathQuery;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.domain.card.CardCycle;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.card.CardTypeId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import zgraph.driver.ZgraphLinkQueryClient;
+import zgraph.driver.exception.UnsupportedRequestException;
+import zgraph.driver.proto.common.CardState;
+import zgraph.driver.proto.linkquery.PathQueryRequest;
+import zgraph.driver.proto.linkquery.PathQueryResponse;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ZgraphLinkPathRepository 单元测试
+ */
+@DisplayName("ZgraphLinkPathRepository 单元测试")
+class ZgraphLinkPathRepositoryTest {
+
+    private static final String LINK_FIELD_ID = "lt_parent:TARGET";
+
+    private ZgraphLinkQueryClient linkQueryClient;
+    private CardRepository cardRepository;
+    private ZgraphLinkPathRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        linkQueryClient = mock(ZgraphLinkQueryClient.class);
+        cardRepository = mock(CardRepository.class);
+        repository = new ZgraphLinkPathRepository(linkQueryClient, cardRepository);
+    }
+
+    private CardDTO card(long id, String typeId, CardCycle cycle) {
+        CardDTO card = new CardDTO();
+        card.setId(CardId.of(id));
+        card.setTypeId(CardTypeId.of(typeId));
+        card.setTitle(CardTitle.pure("卡片" + id));
+        card.setCardCycle(cycle);
+        return card;
+    }
+
+    private static QueryContext context() {
+        QueryContext queryContext = new QueryContext();
+        queryContext.setOrgId("org_1");
+        queryContext.setOperatorId("member_1");
+        return queryContext;
+    }
+
+    private void pathQueryUnsupported() {
+        when(linkQueryClient.queryPath(any())).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("请求失败", new UnsupportedRequestException("unsupported"))));
+    }
+
+    private CardDTO withLinks(CardDTO card, CardDTO... linked) {
+        card.setLinkedCards(Map.of(LINK_FIELD_ID, new LinkedHashSet<>(List.of(linked))));
+        return card;
+    }
+
+    @Test
+    @DisplayName("服务端不支持 path_query 时回退为逐跳查询关联卡片，之后不再尝试")
+    void shouldFallBackToHopByHopQueryWhenUnsupported() {
+        when(linkQueryClient.queryPath(any())).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("请求失败", new UnsupportedRequestException("unsupported"))));
+        CardDTO root = card(100, "ct_tribe", CardCycle.ACTIVE);
+        when(cardRepository.findByIds(eq(List.of(CardId.of(100L))), any(), any())).thenAnswer(invocation -> {
+            Yield yield = invocation.getArgument(1);
+            return yield.getLinks() == null
+                    ? List.of(root)
+                    : List.of(withLinks(card(100, "ct_tribe", CardCycle.ACTIVE),
+                    card(200, "ct_squad", CardCycle.ACTIVE),
+                    card(201, "ct_squad", CardCycle.ARCHIVED),
+                    card(202, "ct_other", CardCycle.ACTIVE)));
+        });
+        LinkPathQuery query = LinkPathQuery.fromCards(List.of("100"), List.of(
+                new LinkPathQuery.Hop(LINK_FIELD_ID, "ct_squad", true, true, 0),
+                LinkPathQuery.Hop.follow("lt_next:SOURCE")));
+
+        List<List<LinkPathNode>> first = repository.queryPath(query, context());
+        repository.queryPath(query, context());
+
+        assertThat(first).hasSize(3);
+        assertThat(first.get(0)).extracting(LinkPathNode::cardId).containsExactly("100");
+        assertThat(first.get(1)).singleElement().satisfies(node -> {
+            assertThat(node.cardId()).isEqualTo("200");
+            assertThat(node.fromCardIds()).containsExactly("100");
+            assertThat(node.title().getDisplayValue()).isEqualTo("卡片200");
+        });
+        assertThat(first.get(2)).isEmpty();
+        verify(linkQueryClient, times(1)).queryPath(any());
+    }
+
+    @Test
+    @DisplayName("逐跳查询时按 limit 截断本跳节点")
+    void shouldLimitNodesInFallback() {
+        when(linkQueryClient.queryPath(any())).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("请求失败", new UnsupportedRequestException("unsupported"))));
+        when(cardRepository.findByIds(any(), any(), any())).thenReturn(List.of(
+                withLinks(card(100, "ct_tribe", CardCycle.ACTIVE),
+                        card(200, "ct_squad", CardCycle.ACTIVE),
+                        card(201, "ct_squad", CardCycle.ACTIVE))));
+
+        List<List<LinkPathNode>> result = repository.queryPath(LinkPathQuery.fromCards(List.of("100"),
+                List.of(new LinkPathQuery.Hop(LINK_FIELD_ID, null, false, false, 1))), context());
+
+        assertThat(result.get(1)).extracting(LinkPathNode::cardId).containsExactly("200");
+        assertThat(result.get(1).get(0).title()).isNull();
+        assertThat(result.get(0).get(0).fromCardIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("逐跳查询时跳过已丢弃的中间卡片，不再沿其关联继续遍历")
+    void shouldSkipDiscardedIntermediateCardsInFallback() {
+        pathQueryUnsupported();
+        when(cardRepository.findByIds(eq(List.of(CardId.of(100L))), any(), any())).thenAnswer(invocation -> {
+            Yield yield = invocation.getArgument(1);
+            return yield.getLinks() == null
+                    ? List.of(card(100, "ct_tribe", CardCycle.ACTIVE))
+                    : List.of(withLinks(card(100, "ct_tribe", CardCycle.ACTIVE),
+                    card(200, "ct_squad", CardCycle.DISCARDED),
+                    card(201, "ct_squad", CardCycle.ARCHIVED)));
+        });
+        when(cardRepository.findByIds(eq(List.of(CardId.of(201L))), any(), any())).thenReturn(List.of(
+                withLinks(card(201, "ct_squad", CardCycle.ARCHIVED), card(300, "ct_team", CardCycle.ACTIVE))));
+
+        List<List<LinkPathNode>> result = repository.queryPath(LinkPathQuery.fromCards(List.of("100"), List.of(
+                LinkPathQuery.Hop.follow(LINK_FIELD_ID), LinkPathQuery.Hop.follow(LINK_FIELD_ID))), context());
+
+        assertThat(result.get(1)).extracting(LinkPathNode::cardId).containsExactly("201");
+        assertThat(result.get(2)).singleElement().satisfies(node -> {
+            assertThat(node.cardId()).isEqualTo("300");
+            assertThat(node.fromCardIds()).containsExactly("201");
+        });
+        verify(cardRepository, times(0)).findByIds(eq(List.of(CardId.of(200L))), any(), any());
+        verify(cardRepository, times(3)).findByIds(any(), any(), eq("member_1"));
+    }
+
+    @Test
+    @DisplayName("逐跳查询起点实体类型的活跃卡片时使用调用方的查询上下文")
+    void shouldUseCallerContextForStartCardsInFallback() {
+        pathQueryUnsupported();
+        when(cardRepository.query(any())).thenReturn(List.of());
+
+        repository.queryPath(LinkPathQuery.fromActiveCardsOfType("ct_tribe", true,
+                List.of(LinkPathQuery.Hop.follow(LINK_FIELD_ID))), context());
+
+        ArgumentCaptor<CardQueryRequest> requestCaptor = ArgumentCaptor.forClass(CardQueryRequest.class);
+        verify(cardRepository).query(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getQueryContext().getOrgId()).isEqualTo("org_1");
+        assertThat(requestCaptor.getValue().getQueryContext().getOperatorId()).isEqualTo("member_1");
+        assertThat(requestCaptor.getValue().getQueryScope().getCardCycles()).containsExactly(CardCycle.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("路径查询的每一跳显式指定状态，不遍历已丢弃的卡片")
+    void shouldExcludeDiscardedStatesInPathQueryRequest() {
+        when(linkQueryClient.queryPath(any())).thenReturn(
+                CompletableFuture.completedFuture(PathQueryResponse.getDefaultInstance()));
+
+        List<List<LinkPathNode>> result = repository.queryPath(LinkPathQuery.fromCards(List.of("100"), List.of(
+                new LinkPathQuery.Hop(LINK_FIELD_ID, "ct_squad", true, true, 0),
+                LinkPathQuery.Hop.follow(LINK_FIELD_ID))), context());
+
+        ArgumentCaptor<PathQueryRequest> requestCaptor = ArgumentCaptor.forClass(PathQueryRequest.class);
+        verify(linkQueryClient).queryPath(requestCaptor.capture());
+        PathQueryRequest request = requestCaptor.getValue();
+        assertThat(request.getHops(0).getStatesList()).containsExactly(CardState.Active);
+        assertThat(request.getHops(1).getStatesList()).containsExactly(CardState.Active, CardState.Archived);
+        assertThat(result).hasSize(3).allSatisfy(hop -> assertThat(hop).isEmpty());
+    }
+}
@@ -6,12 +6,16 @@ import cn.planka.api.card.request.UpdateLinkRequest;
 import cn.planka.card.repository.CardRepository;
 import cn.planka.card.service.core.CardService;
 import cn.planka.card.service.core.LinkCardService;
+import cn.planka.card.service.outbound.OutboundHttpClient;
+import cn.planka.card.service.outbound.OutboundHttpRequest;
+import cn.planka.card.service.outbound.OutboundHttpResponse;
 import cn.planka.common.result.Result;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.card.CardTypeId;
 import cn.planka.domain.card.OrgId;
 import cn.planka.domain.schema.CardActionId;
 import cn.planka.domain.schema.definition.action.ActionCategory;
+import cn.planka.domain.schema.definition.action.CallExternalApiExecution;
 import cn.planka.domain.schema.definition.action.CardActionConfigDefinition;
 import cn.planka.domain.schema.definition.action.CreateLinkedCardExecution;
 import cn.planka.infra.cache.schema.query.CardActionCacheQuery;
@@ -25,7 +29,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,6 +54,8 @@ class CardActionExecutionServiceTest {
     private LinkCardService linkCardService;
     @Mock
     private TextExpressionTemplateResolver templateResolver;
+    @Mock
+    private OutboundHttpClient outboundHttpClient;
 
     private CardActionExecutionService service;
 
@@ -59,7 +67,8 @@ class CardActionExecutionServiceTest {
                 cardService,
                 linkCardService,
                 templateResolver,
-                new ObjectMapper()
+                new ObjectMapper(),
+                outboundHttpClient
         );
     }
 
@@ -116,4 +125,44 @@ class CardActionExecutionServiceTest {
         assertThat(linkCap.getValue().getLinkFieldId()).isEqualTo("263671031548350464:SOURCE");
         assertThat(linkCap.getValue().getTargetCardIds()).containsExactly("300");
     }
+
+    @Test
+    @DisplayName("CALL_EXTERNAL_API：URL、请求头和请求体按当前卡片和操作人解析变量")
+    void execute_callExternalApi_resolvesTemplates() {
+        CardActionId actionId = CardActionId.of("action-2");
+        CardId cardId = CardId.of(100L);
+        CardId operatorId = CardId.of(200L);
+
+        CallExternalApiExecution exec = new CallExternalApiExecution();
+        exec.setUrl("http://example.com/cards/${card.id}");
+        exec.setHeaders(Map.of("X-Operator", "${member.name}"));
+        exec.setBodyTemplate("{\"title\":\"${card.title}\"}");
+
+        CardActionConfigDefinition def = new CardActionConfigDefinition(actionId, "org-1", "同步");
+        def.setBuiltIn(false);
+        def.setActionCategory(ActionCategory.CUSTOM);
+        def.setExecutionType(exec);
+
+        CardDTO card = new CardDTO();
+        card.setId(cardId);
+
+        when(cardActionCacheQuery.getById(actionId)).thenReturn(Optional.of(def));
+        when(cardRepository.findById(eq(cardId), isNull(), eq(operatorId.value()))).thenReturn(Optional.of(card));
+        when(templateResolver.resolve(eq("http://example.com/cards/${card.id}"), eq(cardId), eq(operatorId)))
+                .thenReturn("http://example.com/cards/100");
+        when(templateResolver.resolve(eq("${member.name}"), eq(cardId), eq(operatorId))).thenReturn("张三");
+        when(templateResolver.resolve(eq("{\"title\":\"${card.title}\"}"), eq(cardId), eq(operatorId)))
+                .thenReturn("{\"title\":\"需求\"}");
+        when(outboundHttpClient.send(any(OutboundHttpRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(new OutboundHttpResponse(200, "ok")));
+
+        Result<ActionExecutionResult> result = service.execute(actionId, cardId, operatorId, null, null, null, null);
+
+        assertThat(result.getData().type()).isEqualTo(ActionExecutionResult.ResultType.SUCCESS);
+        ArgumentCaptor<OutboundHttpRequest> requestCap = ArgumentCaptor.forClass(OutboundHttpRequest.class);
+        verify(outboundHttpClient).send(requestCap.capture());
+        assertThat(requestCap.getValue().uri().toString()).isEqualTo("http://example.com/cards/100");
+        assertThat(requestCap.getValue().headers()).containsEntry("X-Operator", "张三");
+        assertThat(requestCap.getValue().body()).isEqualTo("{\"title\":\"需求\"}");
+    }
 }
@@ -0,0 +1,154 @@
+package cn.planka.card.service.cardDetail;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.dto.CardDetailResponse;
+import cn.planka.api.schema.service.FieldConfigQueryService;
+import cn.planka.card.service.core.CardQueryService;
+import cn.planka.common.result.Result;
+import cn.planka.domain.card.CardCycle;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import cn.planka.domain.schema.CardDetailTemplateId;
+import cn.planka.domain.schema.definition.template.CardDetailTemplateDefinition;
+import cn.planka.infra.cache.card.CardCacheService;
+import cn.planka.infra.cache.card.model.CardBasicInfo;
+import cn.planka.infra.cache.schema.SchemaCacheService;
+import cn.planka.infra.cache.schema.query.CardDetailTemplateCacheQuery;
+import cn.planka.infra.cache.schema.query.ValueStreamCacheQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 卡片详情服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("卡片详情服务")
+class CardDetailServiceTest {
+
+    private static final CardId CARD_ID = CardId.of(1001L);
+    private static final CardTypeId CARD_TYPE_ID = CardTypeId.of("org-1:story");
+
+    @Mock
+    private CardQueryService cardQueryService;
+    @Mock
+    private CardCacheService cardCacheService;
+    @Mock
+    private FieldConfigQueryService fieldConfigQueryService;
+    @Mock
+    private FieldControlService fieldControlService;
+    @Mock
+    private FieldRenderConfigService fieldRenderConfigService;
+    @Mock
+    private SchemaCacheService schemaCacheService;
+    @Mock
+    private ValueStreamCacheQuery valueStreamCacheQuery;
+    @Mock
+    private CardDetailTemplateCacheQuery cardDetailTemplateCacheQuery;
+
+    private ExecutorService executor;
+    private CardDetailService cardDetailService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        cardDetailService = new CardDetailService(cardQueryService, cardCacheService, fieldConfigQueryService,
+                fieldControlService, fieldRenderConfigService, schemaCacheService, valueStreamCacheQuery,
+                cardDetailTemplateCacheQuery, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void givenCardInCache() {
+        when(cardCacheService.getBasicInfoById(CARD_ID)).thenReturn(Optional.of(new CardBasicInfo(
+                CARD_ID, OrgId.of("org-1"), CARD_TYPE_ID, CardTitle.pure("需求"), "S-1",
+                CardCycle.ACTIVE, null, null)));
+    }
+
+    private static CardDTO card() {
+        CardDTO card = new CardDTO();
+        card.setId(CARD_ID);
+        card.setTypeId(CARD_TYPE_ID);
+        return card;
+    }
+
+    @Test
+    @DisplayName("配置了模板时卡片数据与字段配置并行加载，卡片数据只查询一次")
+    void shouldLoadCardConcurrentlyWithFieldConfigs() {
+        givenCardInCache();
+        CardDetailTemplateDefinition template = new CardDetailTemplateDefinition(
+                CardDetailTemplateId.of("tpl-1"), "org-1", "详情模板");
+        when(cardDetailTemplateCacheQuery.getByCardTypeId(CARD_TYPE_ID)).thenReturn(List.of(template));
+
+        // 字段配置加载等待卡片数据查询开始，串行加载时会等到超时
+        CountDownLatch cardRequested = new CountDownLatch(1);
+        AtomicBoolean overlapped = new AtomicBoolean();
+        when(fieldConfigQueryService.getFieldConfigs(CARD_TYPE_ID.value())).thenAnswer(invocation -> {
+            overlapped.set(cardRequested.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+        when(cardQueryService.findById(eq(CARD_ID), any(), eq(CardId.of(2002L)))).thenAnswer(invocation -> {
+            cardRequested.countDown();
+            return Result.success(card());
+        });
+
+        Result<CardDetailResponse> result = cardDetailService.getCardDetail(CARD_ID, "2002");
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData().getCard().getId()).isEqualTo(CARD_ID);
+        assertThat(result.getData().getTemplate().getId()).isEqualTo("tpl-1");
+        assertThat(overlapped).isTrue();
+        verify(cardQueryService, times(1)).findById(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("未配置模板时根据字段配置生成默认模板")
+    void shouldBuildDefaultTemplateFromFieldConfigs() {
+        givenCardInCache();
+        when(fieldConfigQueryService.getFieldConfigs(CARD_TYPE_ID.value())).thenReturn(List.of());
+        when(cardQueryService.findById(eq(CARD_ID), any(), any())).thenReturn(Result.success(card()));
+
+        Result<CardDetailResponse> result = cardDetailService.getCardDetail(CARD_ID, "2002");
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData().getTemplate()).isNotNull();
+        verify(cardQueryService, times(1)).findById(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("卡片不存在时直接返回，不加载其他数据")
+    void shouldReturnNotFoundWhenCardMissing() {
+        when(cardCacheService.getBasicInfoById(CARD_ID)).thenReturn(Optional.empty());
+
+        Result<CardDetailResponse> result = cardDetailService.getCardDetail(CARD_ID, "2002");
+
+        assertThat(result.isSuccess()).isFalse();
+        verify(cardQueryService, never()).findById(any(), any(), any());
+        verify(fieldConfigQueryService, never()).getFieldConfigs(any());
+    }
+}
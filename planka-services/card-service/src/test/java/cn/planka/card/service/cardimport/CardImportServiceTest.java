@@ -0,0 +1,201 @@
+package cn.planka.card.service.cardimport;
+
+import cn.planka.api.schema.service.FieldConfigQueryService;
+import cn.planka.card.event.CardEventPublisher;
+import cn.planka.card.mapper.CardImportErrorMapper;
+import cn.planka.card.mapper.CardImportJobMapper;
+import cn.planka.card.model.CardEntity;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.card.service.core.CardEntityConverter;
+import cn.planka.card.service.permission.CardPermissionService;
+import cn.planka.card.service.validation.FieldValueValidator;
+import cn.planka.domain.card.CardId;
+import cn.planka.infra.cache.card.model.CardBasicInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CardImportService 检查点恢复测试
+ */
+@DisplayName("CardImportService 检查点恢复测试")
+class CardImportServiceTest {
+
+    private static final String JOB_ID = "job-1";
+
+    @TempDir
+    Path tempDir;
+
+    private CardImportJobMapper jobMapper;
+    private CardRepository cardRepository;
+    private CardEventPublisher eventPublisher;
+    private CardImportProperties properties;
+    private CardImportService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jobMapper = mock(CardImportJobMapper.class);
+        cardRepository = mock(CardRepository.class);
+        eventPublisher = mock(CardEventPublisher.class);
+
+        CardEntityConverter entityConverter = mock(CardEntityConverter.class);
+        when(entityConverter.toCardEntityForCreate(any(), any(CardId.class))).thenAnswer(invocation -> {
+            CardEntity entity = mock(CardEntity.class);
+            CardId cardId = invocation.getArgument(1);
+            when(entity.getId()).thenReturn(cardId);
+            return entity;
+        });
+        FieldConfigQueryService fieldConfigQueryService = mock(FieldConfigQueryService.class);
+        when(fieldConfigQueryService.getFieldConfigs(anyString())).thenReturn(List.of());
+        FieldValueValidator validator = mock(FieldValueValidator.class);
+        when(validator.validateCard(any(), anyList(), anyString()))
+                .thenReturn(FieldValueValidator.ValidationResult.success());
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jobMapper.claim(eq(JOB_ID), anyString(), any(), any())).thenReturn(1);
+
+        properties = new CardImportProperties();
+        properties.setValidationParallelism(1);
+        service = new CardImportService(jobMapper, mock(CardImportErrorMapper.class), cardRepository,
+                entityConverter, eventPublisher, mock(CardPermissionService.class), fieldConfigQueryService,
+                validator, transactionTemplate, properties, Runnable::run, Runnable::run);
+    }
+
+    private CardImportJobEntity resumedJob(String csv, String pendingCardIds) throws IOException {
+        Path file = tempDir.resolve("source.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        CardImportJobEntity job = new CardImportJobEntity();
+        job.setId(JOB_ID);
+        job.setOrgId("org-1");
+        job.setCardTypeId("type-1");
+        job.setOperatorId("member-1");
+        job.setFileName("import.csv");
+        job.setFilePath(file.toString());
+        job.setProcessedRows(0L);
+        job.setSuccessCount(0L);
+        job.setFailedCount(0L);
+        job.setChunkCount(0);
+        job.setPendingCardIds(pendingCardIds);
+        when(jobMapper.selectById(JOB_ID)).thenReturn(job);
+        return job;
+    }
+
+    private CardImportJobEntity lastUpdate() {
+        ArgumentCaptor<CardImportJobEntity> captor = ArgumentCaptor.forClass(CardImportJobEntity.class);
+        verify(jobMapper, atLeastOnce()).updateById(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("恢复时沿用预分配ID，只创建缺失的卡片，并为全部卡片补写创建人关联")
+    @SuppressWarnings("unchecked")
+    void shouldReuseReservedIds_andLinkExistingCards() throws IOException {
+        resumedJob("标题\n需求A\n需求B\n", "101,102");
+        when(cardRepository.findBasicInfoByIds(any()))
+                .thenReturn(Map.of(CardId.of(101L), mock(CardBasicInfo.class)));
+        when(cardRepository.batchCreate(anyList())).thenReturn(List.of(CardId.of(102L)));
+
+        service.run(JOB_ID);
+
+        ArgumentCaptor<List<CardEntity>> created = ArgumentCaptor.forClass(List.class);
+        verify(cardRepository).batchCreate(created.capture());
+        assertThat(created.getValue()).extracting(CardEntity::getId).containsExactly(CardId.of(102L));
+
+        ArgumentCaptor<Map<CardId, Map<String, List<String>>>> links = ArgumentCaptor.forClass(Map.class);
+        verify(cardRepository).batchCreateLinks(links.capture());
+        assertThat(links.getValue()).containsOnlyKeys(CardId.of(101L), CardId.of(102L));
+
+        verify(eventPublisher).publishAllCreated(anyList(), eq("member-1"));
+        assertThat(lastUpdate().getStatus()).isEqualTo(CardImportJobStatus.COMPLETED.name());
+    }
+
+    @Test
+    @DisplayName("恢复的分块校验通过行数与预分配ID数量不一致时任务失败，不重新分配ID")
+    void shouldFail_whenReservedIdsMismatch() throws IOException {
+        resumedJob("标题\n需求A\n需求B\n", "101");
+
+        service.run(JOB_ID);
+
+        verify(cardRepository, never()).batchCreate(anyList());
+        verify(cardRepository, never()).batchCreateLinks(any());
+        CardImportJobEntity finished = lastUpdate();
+        assertThat(finished.getStatus()).isEqualTo(CardImportJobStatus.FAILED.name());
+        assertThat(finished.getErrorMessage()).contains("检查点不一致");
+    }
+
+    @Test
+    @DisplayName("图数据库超时时任务回到等待状态，保留上传文件以便从检查点恢复")
+    void shouldKeepJobResumable_whenWriteTimesOut() throws IOException {
+        properties.setMaxRetries(0);
+        CardImportJobEntity job = resumedJob("标题\n需求A\n", null);
+        when(cardRepository.batchCreate(anyList()))
+                .thenThrow(new RuntimeException("批量创建卡片失败", new TimeoutException()));
+
+        service.run(JOB_ID);
+
+        CardImportJobEntity suspended = lastUpdate();
+        assertThat(suspended.getStatus()).isEqualTo(CardImportJobStatus.PENDING.name());
+        assertThat(suspended.getFinishedAt()).isNull();
+        assertThat(Path.of(job.getFilePath())).exists();
+    }
+
+    @Test
+    @DisplayName("数据库暂时不可用时延迟重试，恢复后任务完成并删除上传文件")
+    void shouldRetryAndComplete_whenDatabaseRecovers() throws IOException {
+        properties.setMaxRetries(1);
+        properties.setRetryDelay(Duration.ZERO);
+        CardImportJobEntity job = resumedJob("标题\n需求A\n", null);
+        when(cardRepository.batchCreate(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("连接失败"))
+                .thenAnswer(invocation -> invocation.<List<CardEntity>>getArgument(0).stream()
+                        .map(CardEntity::getId).toList());
+
+        service.run(JOB_ID);
+
+        verify(eventPublisher, timeout(5000)).publishAllCreated(anyList(), eq("member-1"));
+        verify(jobMapper, timeout(5000)).updateById(argThat((CardImportJobEntity update) ->
+                CardImportJobStatus.COMPLETED.name().equals(update.getStatus())));
+        assertThat(Path.of(job.getFilePath())).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("区分暂时失败和永久错误")
+    void shouldClassifyRetryableErrors() {
+        assertThat(CardImportService.isRetryable(new RuntimeException(new TimeoutException()))).isTrue();
+        assertThat(CardImportService.isRetryable(new DataAccessResourceFailureException("连接失败"))).isTrue();
+        assertThat(CardImportService.isRetryable(new IllegalArgumentException("文件为空"))).isFalse();
+        assertThat(CardImportService.isRetryable(new IllegalStateException("检查点不一致"))).isFalse();
+    }
+}
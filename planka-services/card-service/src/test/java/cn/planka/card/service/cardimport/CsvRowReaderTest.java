@@ -0,0 +1,70 @@
+package cn.planka.card.service.cardimport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CSV 行读取测试")
+class CsvRowReaderTest {
+
+    private static CsvRowReader reader(String content) {
+        return new CsvRowReader(new StringReader(content));
+    }
+
+    @Test
+    @DisplayName("引号内的逗号和转义引号按单元格内容读取")
+    void shouldReadQuotedFields() throws IOException {
+        try (CsvRowReader reader = reader("标题,描述\n\"登录, 注册\",\"他说\"\"好\"\"\"\n")) {
+            assertThat(reader.next()).containsExactly("标题", "描述");
+            assertThat(reader.next()).containsExactly("登录, 注册", "他说\"好\"");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("引号内换行属于同一行，行号为该行起始行")
+    void shouldKeepEmbeddedNewline() throws IOException {
+        try (CsvRowReader reader = reader("标题,描述\r\n需求A,\"第一行\r\n第二行\"\r\n需求B,无\r\n")) {
+            reader.next();
+            assertThat(reader.next()).containsExactly("需求A", "第一行\r\n第二行");
+            assertThat(reader.rowNumber()).isEqualTo(2);
+            assertThat(reader.next()).containsExactly("需求B", "无");
+            assertThat(reader.rowNumber()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    @DisplayName("跳过文件开头的 BOM")
+    void shouldSkipBom() throws IOException {
+        try (CsvRowReader reader = reader("\uFEFF标题,估算\n需求A,3")) {
+            assertThat(reader.next()).containsExactly("标题", "估算");
+            assertThat(reader.next()).containsExactly("需求A", "3");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("空单元格保留为空字符串")
+    void shouldKeepEmptyCells() throws IOException {
+        try (CsvRowReader reader = reader("a,,c,\n")) {
+            assertThat(reader.next()).isEqualTo(List.of("a", "", "c", ""));
+        }
+    }
+
+    @Test
+    @DisplayName("引号未闭合时报告起始行号")
+    void shouldFail_whenQuoteNotClosed() throws IOException {
+        try (CsvRowReader reader = reader("标题\n\"未闭合\n下一行")) {
+            reader.next();
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("第 2 行");
+        }
+    }
+}
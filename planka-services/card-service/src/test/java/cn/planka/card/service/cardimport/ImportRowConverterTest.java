@@ -0,0 +1,174 @@
+package cn.planka.card.service.cardimport;
+
+import cn.planka.card.service.validation.FieldValueValidator;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.card.OrgId;
+import cn.planka.domain.field.EnumFieldValue;
+import cn.planka.domain.field.FieldConfigId;
+import cn.planka.domain.field.FieldId;
+import cn.planka.domain.field.NumberFieldValue;
+import cn.planka.domain.schema.definition.fieldconfig.EnumFieldConfig;
+import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
+import cn.planka.domain.schema.definition.fieldconfig.NumberFieldConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("卡片导入行转换测试")
+class ImportRowConverterTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    @Mock
+    private FieldValueValidator validator;
+
+    private List<FieldConfig> fieldConfigs;
+
+    @BeforeEach
+    void setUp() {
+        NumberFieldConfig estimate = new NumberFieldConfig(
+                FieldConfigId.of("fc_estimate"), "org_001", "估算", null, FieldId.of("f_estimate"), false);
+        EnumFieldConfig priority = new EnumFieldConfig(
+                FieldConfigId.of("fc_priority"), "org_001", "优先级", null, FieldId.of("f_priority"), false);
+        priority.setOptions(List.of(
+                new EnumFieldConfig.EnumOptionDefinition("opt_high", "高", "high", true, null, 1),
+                new EnumFieldConfig.EnumOptionDefinition("opt_low", "低", "low", true, null, 2)));
+        fieldConfigs = List.of(estimate, priority);
+
+        when(validator.validateCard(any(), anyList(), anyString()))
+                .thenReturn(FieldValueValidator.ValidationResult.success());
+    }
+
+    private ImportRowConverter converter(List<String> header) {
+        ImportColumns columns = ImportColumns.resolve(header, fieldConfigs);
+        return new ImportRowConverter(columns, fieldConfigs, OrgId.of("org_001"), CardTypeId.of("type_001"),
+                "member_001", validator, ZONE);
+    }
+
+    @Nested
+    @DisplayName("列映射")
+    class ColumnTests {
+
+        @Test
+        @DisplayName("按属性名称映射，无法匹配的列被忽略")
+        void shouldResolveColumnsByName() {
+            ImportColumns columns = ImportColumns.resolve(List.of("标题", "估算", "未知列", "优先级"), fieldConfigs);
+
+            assertThat(columns.titleIndex()).isZero();
+            assertThat(columns.descriptionIndex()).isEqualTo(-1);
+            assertThat(columns.fieldColumns()).extracting(ImportColumns.FieldColumn::index).containsExactly(1, 3);
+            assertThat(columns.ignoredHeaders()).containsExactly("未知列");
+        }
+
+        @Test
+        @DisplayName("缺少标题列时拒绝导入")
+        void shouldRejectMissingTitleColumn() {
+            assertThatThrownBy(() -> ImportColumns.resolve(List.of("估算"), fieldConfigs))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("行转换")
+    class ConvertTests {
+
+        @Test
+        @DisplayName("转换数字和枚举属性")
+        void shouldConvertFieldValues() {
+            ImportRowResult result = converter(List.of("标题", "估算", "优先级"))
+                    .convert(2, List.of("卡片A", "1,024.5", "高"));
+
+            assertThat(result.isValid()).isTrue();
+            assertThat(result.request().title().getValue()).isEqualTo("卡片A");
+            assertThat(((NumberFieldValue) result.request().fieldValues().get("f_estimate")).getValue())
+                    .isEqualTo(1024.5);
+            assertThat(((EnumFieldValue) result.request().fieldValues().get("f_priority")).getValue())
+                    .containsExactly("opt_high");
+        }
+
+        @Test
+        @DisplayName("空行返回 null")
+        void shouldSkipBlankRow() {
+            assertThat(converter(List.of("标题")).convert(3, List.of("", " "))).isNull();
+        }
+
+        @Test
+        @DisplayName("属性值无法解析时记录行错误")
+        void shouldFailInvalidValues() {
+            ImportRowResult result = converter(List.of("标题", "估算", "优先级"))
+                    .convert(4, List.of("卡片B", "abc", "高,低"));
+
+            assertThat(result.isValid()).isFalse();
+            assertThat(result.rowNumber()).isEqualTo(4);
+            assertThat(result.error()).contains("估算").contains("优先级");
+        }
+
+        @Test
+        @DisplayName("校验不通过时记录行错误")
+        void shouldFailWhenValidationFails() {
+            when(validator.validateCard(any(), anyList(), anyString()))
+                    .thenReturn(FieldValueValidator.ValidationResult.failure("f_estimate", "估算", "超出范围"));
+
+            ImportRowResult result = converter(List.of("标题", "估算")).convert(5, List.of("卡片C", "99999"));
+
+            assertThat(result.isValid()).isFalse();
+            assertThat(result.error()).contains("超出范围");
+        }
+
+        @Test
+        @DisplayName("解析多种日期格式")
+        void shouldParseDates() {
+            ImportRowConverter converter = converter(List.of("标题"));
+            long expected = java.time.LocalDate.of(2024, 3, 5).atStartOfDay(ZONE).toInstant().toEpochMilli();
+
+            assertThat(converter.parseDate("2024-03-05")).isEqualTo(expected);
+            assertThat(converter.parseDate("2024/3/5")).isEqualTo(expected);
+            assertThat(converter.parseDate("45356")).isEqualTo(expected);
+            assertThat(converter.parseDate(String.valueOf(expected))).isEqualTo(expected);
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV 读取")
+    class CsvTests {
+
+        @Test
+        @DisplayName("支持 BOM、引号内的逗号、换行和转义引号")
+        void shouldReadQuotedCells() throws IOException {
+            String csv = "\uFEFF标题,描述\r\n\"a,b\",\"第一行\n第二行\"\r\n\"say \"\"hi\"\"\",\n";
+            List<List<String>> rows = new ArrayList<>();
+            try (CsvRowReader reader = new CsvRowReader(new StringReader(csv))) {
+                List<String> row;
+                while ((row = reader.next()) != null) {
+                    rows.add(row);
+                }
+            }
+
+            assertThat(rows).containsExactly(
+                    List.of("标题", "描述"),
+                    List.of("a,b", "第一行\n第二行"),
+                    List.of("say \"hi\"", ""));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package cn.planka.card.service.cardimport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("XLSX 行读取测试")
+class XlsxRowReaderTest {
+
+    private static final String SHARED_STRINGS = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <sst xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" count="3" uniqueCount="3">
+              <si><t>标题</t></si>
+              <si><t>估算</t></si>
+              <si><r><t>需求</t></r><r><t>A</t></r><rPh sb="0" eb="2"><t>じゅよう</t></rPh></si>
+            </sst>
+            """;
+
+    private static final String SHEET = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+              <sheetData>
+                <row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="s"><v>1</v></c></row>
+                <row r="2"><c r="A2" t="s"><v>2</v></c><c r="C2"><v>3</v></c><c r="D2" t="b"><v>1</v></c></row>
+                <row r="4"><c r="B4" t="inlineStr"><is><t>内联</t></is></c></row>
+              </sheetData>
+            </worksheet>
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeXlsx(String sharedStrings, String sheet) throws IOException {
+        Path file = tempDir.resolve("import.xlsx");
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            if (sharedStrings != null) {
+                zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+                zip.write(sharedStrings.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            zip.write(sheet.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return file;
+    }
+
+    @Test
+    @DisplayName("共享字符串按索引解析，忽略注音")
+    void shouldResolveSharedStrings() throws IOException {
+        try (XlsxRowReader reader = new XlsxRowReader(writeXlsx(SHARED_STRINGS, SHEET))) {
+            assertThat(reader.next()).containsExactly("标题", "估算");
+            assertThat(reader.next().get(0)).isEqualTo("需求A");
+        }
+    }
+
+    @Test
+    @DisplayName("按单元格引用补齐省略的空单元格，行号取自行引用")
+    void shouldPadEmptyCells() throws IOException {
+        try (XlsxRowReader reader = new XlsxRowReader(writeXlsx(SHARED_STRINGS, SHEET))) {
+            reader.next();
+            assertThat(reader.next()).containsExactly("需求A", "", "3", "TRUE");
+            assertThat(reader.rowNumber()).isEqualTo(2);
+            assertThat(reader.next()).containsExactly("", "内联");
+            assertThat(reader.rowNumber()).isEqualTo(4);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("没有共享字符串表时只读取内联值")
+    void shouldRead_withoutSharedStrings() throws IOException {
+        String sheet = """
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+                  <sheetData><row><c t="inlineStr"><is><t>标题</t></is></c><c><v>1.5</v></c></row></sheetData>
+                </worksheet>
+                """;
+        try (XlsxRowReader reader = new XlsxRowReader(writeXlsx(null, sheet))) {
+            assertThat(reader.next()).containsExactly("标题", "1.5");
+            assertThat(reader.rowNumber()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("单元格引用转换为从 0 开始的列序号")
+    void shouldComputeColumnIndex() {
+        assertThat(XlsxRowReader.columnIndex("A1")).isZero();
+        assertThat(XlsxRowReader.columnIndex("Z9")).isEqualTo(25);
+        assertThat(XlsxRowReader.columnIndex("AB12")).isEqualTo(27);
+    }
+}
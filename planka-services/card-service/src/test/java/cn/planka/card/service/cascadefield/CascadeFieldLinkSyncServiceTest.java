@@ -1,9 +1,14 @@
 package cn.planka.card.service.cascadefield;
 
 import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.QueryContext;
 import cn.planka.api.card.request.UpdateLinkRequest;
 import cn.planka.api.card.request.Yield;
+import cn.planka.card.model.LinkPathNode;
+import cn.planka.card.model.LinkPathQuery;
 import cn.planka.card.repository.CardRepository;
+import cn.planka.card.repository.LinkPathRepository;
+import cn.planka.card.service.core.CardTypeVersionTracker;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.card.CardTypeId;
 import cn.planka.domain.card.OrgId;
@@ -55,6 +60,8 @@ class CascadeFieldLinkSyncServiceTest {
     @Mock
     private CardRepository cardRepository;
     @Mock
+    private LinkPathRepository linkPathRepository;
+    @Mock
     private ZgraphWriteClient writeClient;
     @Mock
     private EventPublisher eventPublisher;
@@ -89,7 +96,8 @@ class CascadeFieldLinkSyncServiceTest {
     @BeforeEach
     void setUp() {
         service = new CascadeFieldLinkSyncService(
-                schemaCacheService, cardRepository, writeClient, eventPublisher);
+                schemaCacheService, cardRepository, linkPathRepository, writeClient, eventPublisher,
+                new CardTypeVersionTracker());
     }
 
     @Nested
@@ -262,6 +270,18 @@ class CascadeFieldLinkSyncServiceTest {
             // 验证同步结果
             assertThat(result.synced()).isTrue();
             assertThat(result.addedLinks()).containsKey(TRIBE_LINK_FIELD_ID);
+            assertThat(result.addedLinks().get(TRIBE_LINK_FIELD_ID)).containsExactly(TRIBE_X_CARD_ID);
+
+            // 验证：上级链通过一次路径查询取回，从小队沿父关联向上
+            ArgumentCaptor<LinkPathQuery> queryCaptor = ArgumentCaptor.forClass(LinkPathQuery.class);
+            ArgumentCaptor<QueryContext> contextCaptor = ArgumentCaptor.forClass(QueryContext.class);
+            verify(linkPathRepository).queryPath(queryCaptor.capture(), contextCaptor.capture());
+            assertThat(queryCaptor.getValue().startCardIds()).containsExactly(SQUAD_CARD_ID);
+            assertThat(queryCaptor.getValue().hops())
+                    .extracting(LinkPathQuery.Hop::linkFieldId)
+                    .containsExactly(PARENT_LINK_FIELD_ID);
+            assertThat(contextCaptor.getValue().getOrgId()).isEqualTo(ORG_ID);
+            assertThat(contextCaptor.getValue().getOperatorId()).isEqualTo(OPERATOR_ID);
         }
 
         @Test
@@ -521,12 +541,11 @@ class CascadeFieldLinkSyncServiceTest {
         when(cardRepository.findById(eq(CardId.of(CARD_ID)), any(Yield.class), eq(OPERATOR_ID)))
                 .thenReturn(Optional.of(currentCard));
 
-        // 模拟小队卡片（有上级部落）
-        CardDTO tribeCard = createCardDTO(TRIBE_X_CARD_ID, "ct_tribe", Map.of());
-        CardDTO squadCard = createCardDTO(SQUAD_CARD_ID, "ct_squad",
-                Map.of(PARENT_LINK_FIELD_ID, Set.of(tribeCard)));
-        when(cardRepository.findById(eq(CardId.of(SQUAD_CARD_ID)), any(Yield.class), eq(OPERATOR_ID)))
-                .thenReturn(Optional.of(squadCard));
+        // 模拟小队卡片的上级路径（小队 → 部落X）
+        LinkPathNode squadNode = new LinkPathNode(SQUAD_CARD_ID, "ct_squad", List.of(), null);
+        LinkPathNode tribeNode = new LinkPathNode(TRIBE_X_CARD_ID, "ct_tribe", List.of(SQUAD_CARD_ID), null);
+        when(linkPathRepository.queryPath(any(LinkPathQuery.class), any(QueryContext.class)))
+                .thenReturn(List.of(List.of(squadNode), List.of(tribeNode)));
     }
 
     private void setupCardWithExistingSquadLink() {
@@ -0,0 +1,92 @@
+package cn.planka.card.service.cascadefield;
+
+import cn.planka.api.card.dto.CascadeNodeDTO;
+import cn.planka.api.card.request.CascadeFieldOptionsRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.card.model.LinkPathNode;
+import cn.planka.card.model.LinkPathQuery;
+import cn.planka.card.repository.LinkPathRepository;
+import cn.planka.common.result.Result;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.link.LinkFieldId;
+import cn.planka.domain.link.LinkPosition;
+import cn.planka.domain.schema.CascadeRelationId;
+import cn.planka.domain.schema.definition.cascaderelation.CascadeRelationDefinition;
+import cn.planka.domain.schema.definition.cascaderelation.CascadeRelationLevel;
+import cn.planka.infra.cache.schema.SchemaCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CascadeFieldOptionsService 单元测试")
+class CascadeFieldOptionsServiceTest {
+
+    private static final String ORG_ID = "org_001";
+    private static final String OPERATOR_ID = "user_001";
+    private static final String RELATION_ID = "struct_001";
+
+    @Mock
+    private SchemaCacheService schemaCacheService;
+    @Mock
+    private LinkPathRepository linkPathRepository;
+
+    private CascadeFieldOptionsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CascadeFieldOptionsService(schemaCacheService, linkPathRepository);
+    }
+
+    @Test
+    @DisplayName("所有层级通过一次路径查询取回，并按上一跳卡片挂到父节点下")
+    void buildsTreeFromSinglePathQuery() {
+        CascadeRelationDefinition def = new CascadeRelationDefinition(
+                CascadeRelationId.of(RELATION_ID), ORG_ID, "测试级联关系");
+        def.setLevels(List.of(
+                new CascadeRelationLevel(1, "小队", CardTypeId.of("ct_squad"),
+                        LinkFieldId.of("lt_parent", LinkPosition.TARGET), null, null, null),
+                new CascadeRelationLevel(0, "部落", CardTypeId.of("ct_tribe"), null, null, null, null)
+        ));
+        when(schemaCacheService.getById(RELATION_ID)).thenReturn(Optional.of(def));
+        when(linkPathRepository.queryPath(any(LinkPathQuery.class), any(QueryContext.class))).thenReturn(List.of(
+                List.of(new LinkPathNode("200", "ct_tribe", List.of(), CardTitle.pure("部落A")),
+                        new LinkPathNode("201", "ct_tribe", List.of(), CardTitle.pure("部落B"))),
+                List.of(new LinkPathNode("300", "ct_squad", List.of("200"), CardTitle.pure("小队A")),
+                        new LinkPathNode("301", "ct_squad", List.of("201"), CardTitle.pure("小队B")))
+        ));
+
+        Result<List<CascadeNodeDTO>> result = service.queryOptions(
+                CascadeFieldOptionsRequest.builder().cascadeRelationId(RELATION_ID).build(), ORG_ID, OPERATOR_ID);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData()).extracting(CascadeNodeDTO::getName).containsExactly("部落A", "部落B");
+        assertThat(result.getData().get(0).getChildren())
+                .extracting(CascadeNodeDTO::getId).containsExactly("300");
+        assertThat(result.getData().get(1).getChildren().get(0).isLeaf()).isTrue();
+
+        // 从根层级出发，沿父关联的反方向向下遍历
+        ArgumentCaptor<LinkPathQuery> queryCaptor = ArgumentCaptor.forClass(LinkPathQuery.class);
+        ArgumentCaptor<QueryContext> contextCaptor = ArgumentCaptor.forClass(QueryContext.class);
+        verify(linkPathRepository, times(1)).queryPath(queryCaptor.capture(), contextCaptor.capture());
+        LinkPathQuery query = queryCaptor.getValue();
+        assertThat(query.startCardTypeId()).isEqualTo("ct_tribe");
+        assertThat(query.hops()).hasSize(1);
+        assertThat(query.hops().get(0).linkFieldId()).isEqualTo("lt_parent:SOURCE");
+        assertThat(query.hops().get(0).cardTypeId()).isEqualTo("ct_squad");
+        assertThat(contextCaptor.getValue().getOrgId()).isEqualTo(ORG_ID);
+        assertThat(contextCaptor.getValue().getOperatorId()).isEqualTo(OPERATOR_ID);
+    }
+}
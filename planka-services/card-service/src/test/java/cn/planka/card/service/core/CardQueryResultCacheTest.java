@@ -0,0 +1,182 @@
+package cn.planka.card.service.core;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardPageQueryRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.card.request.QueryScope;
+import cn.planka.card.service.permission.PermissionConfigCacheService;
+import cn.planka.common.result.PageResult;
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.schema.definition.permission.PermissionConfigDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CardQueryResultCache 单元测试
+ */
+@DisplayName("CardQueryResultCache 单元测试")
+class CardQueryResultCacheTest {
+
+    private CardTypeVersionTracker versionTracker;
+    private PermissionConfigCacheService permissionConfigCacheService;
+    private CardQueryResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        versionTracker = new CardTypeVersionTracker();
+        permissionConfigCacheService = mock(PermissionConfigCacheService.class);
+        when(permissionConfigCacheService.getPermissionConfigs(any())).thenReturn(List.of());
+        cache = new CardQueryResultCache(versionTracker, permissionConfigCacheService, new ObjectMapper(), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    private CardPageQueryRequest createRequest(String operatorId) {
+        CardPageQueryRequest request = new CardPageQueryRequest();
+        QueryContext context = new QueryContext();
+        context.setOrgId("org-1");
+        context.setOperatorId(operatorId);
+        request.setQueryContext(context);
+
+        QueryScope scope = new QueryScope();
+        scope.setCardTypeIds(List.of("type-a"));
+        request.setQueryScope(scope);
+        return request;
+    }
+
+    private PageResult<CardDTO> page(CardDTO... cards) {
+        return PageResult.of(List.of(cards), 0, 20, cards.length);
+    }
+
+    private CardDTO card(String typeId) {
+        CardDTO card = new CardDTO();
+        card.setTypeId(CardTypeId.of(typeId));
+        return card;
+    }
+
+    @Test
+    @DisplayName("版本未变化时复用缓存结果")
+    void shouldServeCachedResultWhileVersionUnchanged() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("实体类型版本变化后重新查询")
+    void shouldReloadAfterCardTypeVersionBumped() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+        versionTracker.bump("type-a");
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("关联卡片所在实体类型变化同样使结果过期")
+    void shouldReloadAfterLinkedCardTypeChanged() {
+        AtomicInteger loads = new AtomicInteger();
+        CardDTO root = card("type-a");
+        root.setLinkedCards(Map.of("link:SOURCE", new HashSet<>(Set.of(card("type-b")))));
+
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(root);
+        });
+        versionTracker.bump("type-c");
+        cache.getOrLoad(createRequest("u1"), () -> page(root));
+        assertThat(loads.get()).isEqualTo(1);
+
+        versionTracker.bump("type-b");
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(root);
+        });
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("无权限配置时不同操作人共享结果，有权限配置时按操作人隔离")
+    void shouldShareResultOnlyWithoutPermissionConfig() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+        cache.getOrLoad(createRequest("u2"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+        assertThat(loads.get()).isEqualTo(1);
+
+        when(permissionConfigCacheService.getPermissionConfigs(eq(CardTypeId.of("type-a"))))
+                .thenReturn(List.of(mock(PermissionConfigDefinition.class)));
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+        cache.getOrLoad(createRequest("u2"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+        cache.getOrLoad(createRequest("u1"), () -> {
+            loads.incrementAndGet();
+            return page(card("type-a"));
+        });
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("调用方修改返回结果不影响缓存内容")
+    void shouldReturnIndependentCopies() {
+        CardDTO loaded = card("type-a");
+        loaded.setCustomCode("A-1");
+
+        PageResult<CardDTO> first = cache.getOrLoad(createRequest("u1"), () -> page(loaded));
+        first.getContent().get(0).setCustomCode("changed-by-caller");
+
+        PageResult<CardDTO> second = cache.getOrLoad(createRequest("u1"), () -> page(card("type-a")));
+        assertThat(second.getContent().get(0).getCustomCode()).isEqualTo("A-1");
+        second.getContent().get(0).setCustomCode("changed-again");
+
+        PageResult<CardDTO> third = cache.getOrLoad(createRequest("u1"), () -> page(card("type-a")));
+        assertThat(third).isNotSameAs(second);
+        assertThat(third.getContent().get(0).getCustomCode()).isEqualTo("A-1");
+    }
+}
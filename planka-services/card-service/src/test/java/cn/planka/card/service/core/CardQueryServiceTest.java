@@ -0,0 +1,69 @@
+package cn.planka.card.service.core;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardPageQueryRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.card.request.Yield;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.card.service.permission.CardPermissionService;
+import cn.planka.card.service.typeahead.CardTypeaheadService;
+import cn.planka.common.result.PageResult;
+import cn.planka.common.result.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CardQueryService 单元测试
+ */
+@DisplayName("CardQueryService 单元测试")
+class CardQueryServiceTest {
+
+    private CardRepository cardRepository;
+    private YieldEnhancer yieldEnhancer;
+    private CardQueryResultCache queryResultCache;
+    private CardQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository = mock(CardRepository.class);
+        yieldEnhancer = mock(YieldEnhancer.class);
+        queryResultCache = mock(CardQueryResultCache.class);
+        when(queryResultCache.getOrLoad(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<PageResult<CardDTO>>>getArgument(1).get());
+        service = new CardQueryService(cardRepository, yieldEnhancer, mock(CardPermissionService.class),
+                queryResultCache, mock(CardTypeaheadService.class));
+    }
+
+    @Test
+    @DisplayName("分页查询加载时不改写调用方的请求，增强后的返回定义只用于查询")
+    void shouldNotMutateCallerRequestWhenLoading() {
+        Yield originalYield = Yield.basic();
+        Yield enhancedYield = Yield.all();
+        when(yieldEnhancer.enhance(originalYield)).thenReturn(enhancedYield);
+        when(cardRepository.pageQuery(any())).thenReturn(PageResult.of(List.of(), 0, 20, 0));
+        CardPageQueryRequest request = new CardPageQueryRequest();
+        request.setQueryContext(new QueryContext());
+        request.setYield(originalYield);
+
+        Result<PageResult<CardDTO>> result = service.pageQuery(request);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(request.getYield()).isSameAs(originalYield);
+        ArgumentCaptor<CardPageQueryRequest> queried = ArgumentCaptor.forClass(CardPageQueryRequest.class);
+        verify(cardRepository).pageQuery(queried.capture());
+        assertThat(queried.getValue()).isNotSameAs(request);
+        assertThat(queried.getValue().getYield()).isSameAs(enhancedYield);
+        assertThat(queried.getValue().getQueryContext()).isSameAs(request.getQueryContext());
+    }
+}
@@ -0,0 +1,92 @@
+package cn.planka.card.service.core;
+
+import cn.planka.api.card.request.LinkFieldUpdate;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.card.service.cascadefield.CascadeFieldLinkSyncService;
+import cn.planka.card.service.permission.CardPermissionService;
+import cn.planka.card.service.permission.exception.PermissionDeniedException;
+import cn.planka.card.service.typeahead.CardTypeaheadService;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.link.LinkTypeId;
+import cn.planka.domain.schema.definition.link.LinkTypeDefinition;
+import cn.planka.event.publisher.EventPublisher;
+import cn.planka.infra.cache.schema.SchemaCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zgraph.driver.ZgraphWriteClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LinkCardService 单元测试
+ */
+@DisplayName("LinkCardService 单元测试")
+class LinkCardServiceTest {
+
+    private static final String ORG_ID = "org_1";
+    private static final CardId CARD_ID = CardId.of(100L);
+    private static final CardId OPERATOR_ID = CardId.of(900L);
+    private static final String STORY_LINK_FIELD_ID = "lt_story:SOURCE";
+    private static final String CREATOR_LINK_FIELD_ID = "lt_creator:SOURCE";
+
+    private SchemaCacheService schemaCacheService;
+    private CardPermissionService permissionService;
+    private LinkCardService service;
+
+    @BeforeEach
+    void setUp() {
+        schemaCacheService = mock(SchemaCacheService.class);
+        permissionService = mock(CardPermissionService.class);
+        service = new LinkCardService(schemaCacheService, mock(CardRepository.class), mock(ZgraphWriteClient.class),
+                mock(EventPublisher.class), mock(CascadeFieldLinkSyncService.class), permissionService,
+                mock(CardTypeaheadService.class), mock(CardTypeVersionTracker.class));
+        when(schemaCacheService.getById("lt_story")).thenReturn(Optional.of(linkType("lt_story")));
+        when(schemaCacheService.getById("lt_creator")).thenReturn(Optional.of(linkType("lt_creator")));
+    }
+
+    private static LinkTypeDefinition linkType(String id) {
+        return new LinkTypeDefinition(LinkTypeId.of(id), ORG_ID, "源端->目标端");
+    }
+
+    @Test
+    @DisplayName("创建人关联同样经过权限校验")
+    void shouldCheckPermissionOfCreatorLink() {
+        Map<String, List<String>> links = service.prepareLinksForCreate(CARD_ID, List.of(
+                new LinkFieldUpdate(STORY_LINK_FIELD_ID, List.of("200", "200")),
+                new LinkFieldUpdate(CREATOR_LINK_FIELD_ID, List.of("900"))), OPERATOR_ID);
+
+        assertThat(links).containsExactly(
+                Map.entry(STORY_LINK_FIELD_ID, List.of("200")),
+                Map.entry(CREATOR_LINK_FIELD_ID, List.of("900")));
+        verify(permissionService).checkLinkFieldEditPermissionForCreate(
+                eq(CARD_ID), eq(OPERATOR_ID), eq(Map.of(CREATOR_LINK_FIELD_ID, List.of("900"))));
+    }
+
+    @Test
+    @DisplayName("无权限的关联（含创建人关联）跳过，其余关联保留")
+    void shouldSkipDeniedLinksWithoutFailingCreate() {
+        doThrow(PermissionDeniedException.fieldEdit(CARD_ID, Set.of(), null))
+                .when(permissionService).checkLinkFieldEditPermissionForCreate(
+                        any(), any(), argThat(links -> links.containsKey(CREATOR_LINK_FIELD_ID)));
+
+        Map<String, List<String>> links = service.prepareLinksForCreate(CARD_ID, List.of(
+                new LinkFieldUpdate(STORY_LINK_FIELD_ID, List.of("200")),
+                new LinkFieldUpdate(CREATOR_LINK_FIELD_ID, List.of("900")),
+                new LinkFieldUpdate("lt_missing:SOURCE", List.of("300"))), OPERATOR_ID);
+
+        assertThat(links).containsOnlyKeys(STORY_LINK_FIELD_ID);
+    }
+}
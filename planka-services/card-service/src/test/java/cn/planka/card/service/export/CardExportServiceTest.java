@@ -0,0 +1,96 @@
+package cn.planka.card.service.export;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardExportColumn;
+import cn.planka.api.card.request.CardExportRequest;
+import cn.planka.api.card.request.CardIdQueryRequest;
+import cn.planka.api.card.request.CardQueryRequest;
+import cn.planka.api.card.request.QueryContext;
+import cn.planka.api.schema.service.FieldConfigQueryService;
+import cn.planka.card.service.core.CardQueryService;
+import cn.planka.common.result.Result;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.infra.cache.schema.query.ValueStreamCacheQuery;
+import cn.planka.oss.api.OssFeignClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CardExportService 单元测试
+ */
+@DisplayName("CardExportService 单元测试")
+class CardExportServiceTest {
+
+    private CardQueryService cardQueryService;
+    private CardExportService service;
+
+    @BeforeEach
+    void setUp() {
+        cardQueryService = mock(CardQueryService.class);
+        service = new CardExportService(cardQueryService, mock(FieldConfigQueryService.class),
+                mock(ValueStreamCacheQuery.class), mock(OssFeignClient.class), new CardExportProperties());
+    }
+
+    private static CardDTO card(long id, String title) {
+        CardDTO card = new CardDTO();
+        card.setId(CardId.of(id));
+        card.setTitle(CardTitle.pure(title));
+        return card;
+    }
+
+    @Test
+    @DisplayName("经卡片查询服务读取批次，组织ID取自请求头")
+    void shouldQueryThroughCardQueryService_withHeaderOrgId() throws IOException {
+        QueryContext bodyContext = new QueryContext();
+        bodyContext.setOrgId("org-other");
+        CardExportRequest request = new CardExportRequest();
+        request.setQueryContext(bodyContext);
+        request.setColumns(List.of(new CardExportColumn("title", "标题")));
+        when(cardQueryService.queryIds(any())).thenReturn(Result.success(List.of("2", "1")));
+        when(cardQueryService.query(any())).thenReturn(Result.success(List.of(card(1, "需求A"), card(2, "需求B"))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Result<CardExportService.CardExport> opened = service.open(request, "org-1", "member-1");
+        try (CardExportService.CardExport export = opened.getData()) {
+            export.writeTo(out);
+        }
+
+        ArgumentCaptor<CardIdQueryRequest> idQuery = ArgumentCaptor.forClass(CardIdQueryRequest.class);
+        verify(cardQueryService).queryIds(idQuery.capture());
+        assertThat(idQuery.getValue().getQueryContext().getOrgId()).isEqualTo("org-1");
+        ArgumentCaptor<CardQueryRequest> batchQuery = ArgumentCaptor.forClass(CardQueryRequest.class);
+        verify(cardQueryService).query(batchQuery.capture());
+        assertThat(batchQuery.getValue().getQueryContext().getOperatorId()).isEqualTo("member-1");
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("需求A\r\n需求B");
+    }
+
+    @Test
+    @DisplayName("批次查询失败时中止导出")
+    void shouldFail_whenBatchQueryFails() {
+        CardExportRequest request = new CardExportRequest();
+        request.setColumns(List.of(new CardExportColumn("title", null)));
+        when(cardQueryService.queryIds(any())).thenReturn(Result.success(List.of("1")));
+        when(cardQueryService.query(any())).thenReturn(Result.failure("INTERNAL_ERROR", "查询卡片列表失败"));
+
+        try (CardExportService.CardExport export = service.open(request, "org-1", "member-1").getData()) {
+            assertThatThrownBy(() -> export.writeTo(new ByteArrayOutputStream()))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("查询卡片列表失败");
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package cn.planka.card.service.export;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardExportColumn;
+import cn.planka.api.card.request.Yield;
+import cn.planka.card.service.cardimport.CsvRowReader;
+import cn.planka.card.service.cardimport.XlsxRowReader;
+import cn.planka.domain.card.CardCycle;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.field.EnumFieldValue;
+import cn.planka.domain.field.FieldConfigId;
+import cn.planka.domain.field.FieldId;
+import cn.planka.domain.field.FieldPermissionStatus;
+import cn.planka.domain.field.FieldValue;
+import cn.planka.domain.field.NumberFieldValue;
+import cn.planka.domain.field.TextFieldValue;
+import cn.planka.domain.schema.definition.fieldconfig.EnumFieldConfig;
+import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
+import cn.planka.domain.stream.StatusId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("卡片导出写入测试")
+class CardExportWriterTest {
+
+    @Nested
+    @DisplayName("文件写入")
+    class WriterTests {
+
+        @Test
+        @DisplayName("CSV 转义特殊字符并阻止公式注入")
+        void shouldEscapeCsvCells() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExportRowWriter writer = CardExportFormat.CSV.open(out);
+            writer.writeRow(List.of("标题", "估算"));
+            writer.writeRow(List.of("a,\"b\"\n第二行", "-3.5"));
+            writer.writeRow(List.of("=SUM(A1)", ""));
+            writer.finish();
+
+            List<List<String>> rows = readCsv(out.toString(StandardCharsets.UTF_8));
+            assertThat(rows).containsExactly(
+                    List.of("标题", "估算"),
+                    List.of("a,\"b\"\n第二行", "-3.5"),
+                    List.of("'=SUM(A1)", ""));
+        }
+
+        @Test
+        @DisplayName("XLSX 可被导入读取器按行读回")
+        void shouldWriteReadableXlsx(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("export.xlsx");
+            try (var out = Files.newOutputStream(file)) {
+                ExportRowWriter writer = CardExportFormat.XLSX.open(out);
+                writer.writeRow(List.of("标题", "描述"));
+                writer.writeRow(List.of("<卡片 & A>", ""));
+                writer.writeRow(List.of("卡片B", "多行\n描述"));
+                writer.finish();
+            }
+
+            List<List<String>> rows = new ArrayList<>();
+            try (XlsxRowReader reader = new XlsxRowReader(file)) {
+                List<String> row;
+                while ((row = reader.next()) != null) {
+                    rows.add(row);
+                }
+            }
+            assertThat(rows).hasSize(3);
+            assertThat(rows.get(0)).containsExactly("标题", "描述");
+            assertThat(rows.get(1).get(0)).isEqualTo("<卡片 & A>");
+            assertThat(rows.get(2)).containsExactly("卡片B", "多行\n描述");
+        }
+
+        @Test
+        @DisplayName("列序号转换为列名")
+        void shouldConvertColumnName() {
+            assertThat(XlsxExportWriter.columnName(0)).isEqualTo("A");
+            assertThat(XlsxExportWriter.columnName(25)).isEqualTo("Z");
+            assertThat(XlsxExportWriter.columnName(26)).isEqualTo("AA");
+            assertThat(XlsxExportWriter.columnName(701)).isEqualTo("ZZ");
+        }
+    }
+
+    @Nested
+    @DisplayName("单元格格式化")
+    class FormatterTests {
+
+        @Test
+        @DisplayName("枚举输出选项名称，数字去掉多余的零，无权限属性输出为空")
+        void shouldFormatFieldValues() {
+            EnumFieldConfig priority = new EnumFieldConfig(
+                    FieldConfigId.of("fc_priority"), "org_001", "优先级", null, FieldId.of("f_priority"), false);
+            priority.setOptions(List.of(
+                    new EnumFieldConfig.EnumOptionDefinition("opt_high", "高", "high", true, null, 1),
+                    new EnumFieldConfig.EnumOptionDefinition("opt_low", "低", "low", true, null, 2)));
+            Map<String, FieldConfig> fieldConfigs = Map.of("f_priority", priority);
+            CardExportValueFormatter formatter = new CardExportValueFormatter(
+                    fieldConfigs, Map.of("status_doing", "进行中"), ZoneId.of("Asia/Shanghai"));
+
+            TextFieldValue secret = new TextFieldValue("f_secret", "机密");
+            secret.setPermissionStatus(FieldPermissionStatus.NO_PERMISSION);
+            Map<String, FieldValue<?>> values = new HashMap<>();
+            values.put("f_priority", new EnumFieldValue("f_priority", List.of("opt_high", "opt_low")));
+            values.put("f_estimate", new NumberFieldValue("f_estimate", 3.0));
+            values.put("f_secret", secret);
+
+            CardDTO card = new CardDTO();
+            card.setTitle(CardTitle.pure("卡片A"));
+            card.setStatusId(StatusId.of("status_doing"));
+            card.setCardCycle(CardCycle.ACTIVE);
+            card.setCreatedAt(LocalDateTime.of(2024, 3, 5, 9, 30));
+            card.setFieldValues(values);
+
+            assertThat(formatter.format(card, "title")).isEqualTo("卡片A");
+            assertThat(formatter.format(card, "f_priority")).isEqualTo("高, 低");
+            assertThat(formatter.format(card, "f_estimate")).isEqualTo("3");
+            assertThat(formatter.format(card, "f_secret")).isEmpty();
+            assertThat(formatter.format(card, "$statusId")).isEqualTo("进行中");
+            assertThat(formatter.format(card, "$createdAt")).isEqualTo("2024-03-05 09:30:00");
+            assertThat(formatter.header("f_priority")).isEqualTo("优先级");
+            assertThat(formatter.header("$createdAt")).isEqualTo("创建时间");
+        }
+
+        @Test
+        @DisplayName("只读取导出列需要的属性")
+        void shouldBuildYieldFromColumns() {
+            Yield yield = CardExportService.buildYield(List.of(
+                    new CardExportColumn("title", null),
+                    new CardExportColumn("description", null),
+                    new CardExportColumn("$code", null),
+                    new CardExportColumn("f_priority", null),
+                    new CardExportColumn("lt_001:SOURCE", null)));
+
+            assertThat(yield.getField().isAllFields()).isFalse();
+            assertThat(yield.getField().isIncludeDescription()).isTrue();
+            assertThat(yield.getField().getFieldIds()).containsExactly("f_priority");
+            assertThat(yield.getLinks()).extracting("linkFieldId").containsExactly("lt_001:SOURCE");
+        }
+    }
+
+    private static List<List<String>> readCsv(String csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (CsvRowReader reader = new CsvRowReader(new StringReader(csv))) {
+            List<String> row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,297 @@
+package cn.planka.card.service.outbound;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OutboundHttpClient 单元测试")
+class OutboundHttpClientTest {
+
+    private HttpServer server;
+    private OutboundHttpClient client;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> respond(exchange, 200, "pong"));
+        server.createContext("/error", exchange -> respond(exchange, 500, "boom"));
+        server.createContext("/big", exchange -> respond(exchange, 200, "x".repeat(4096)));
+        server.createContext("/big-chunked", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < 8; i++) {
+                    out.write("x".repeat(512).getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            }
+        });
+        server.createContext("/trickle", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < 50 && release.getCount() > 0; i++) {
+                    out.write('x');
+                    out.flush();
+                    Thread.sleep(100);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // 客户端已取消请求
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "late");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+    }
+
+    private OutboundHttpProperties properties(int maxConcurrentPerHost, int failureThreshold) {
+        OutboundHttpProperties properties = new OutboundHttpProperties();
+        properties.setMaxConcurrentPerHost(maxConcurrentPerHost);
+        properties.getCircuitBreaker().setFailureThreshold(failureThreshold);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        properties.setMaxResponseBodySize(DataSize.ofKilobytes(1));
+        return properties;
+    }
+
+    private OutboundHttpRequest get(String path, Duration timeout) {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        return new OutboundHttpRequest("GET", uri, Map.of("X-Test", "1"), null, timeout);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static OutboundHttpException.Reason failureReason(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof OutboundHttpException outboundException) {
+                return outboundException.getReason();
+            }
+            throw e;
+        }
+        throw new AssertionError("请求应失败");
+    }
+
+    @Test
+    @DisplayName("正常响应返回状态码和响应体")
+    void shouldReturnResponse() {
+        client = new OutboundHttpClient(properties(4, 3));
+
+        OutboundHttpResponse response = client.send(get("/ok", null)).join();
+
+        assertThat(response.is2xxSuccessful()).isTrue();
+        assertThat(response.body()).isEqualTo("pong");
+    }
+
+    @Test
+    @DisplayName("读取超时以 TIMEOUT 失败")
+    void shouldFailWithTimeout_whenResponseTooSlow() {
+        client = new OutboundHttpClient(properties(4, 3));
+
+        assertThat(failureReason(client.send(get("/slow", Duration.ofMillis(200)))))
+                .isEqualTo(OutboundHttpException.Reason.TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("同一主机并发数已满时立即拒绝")
+    void shouldRejectImmediately_whenBulkheadFull() {
+        client = new OutboundHttpClient(properties(1, 3));
+
+        CompletableFuture<OutboundHttpResponse> inFlight = client.send(get("/slow", Duration.ofSeconds(5)));
+        CompletableFuture<OutboundHttpResponse> rejected = client.send(get("/ok", null));
+
+        assertThat(failureReason(rejected)).isEqualTo(OutboundHttpException.Reason.BULKHEAD_FULL);
+
+        release.countDown();
+        assertThat(inFlight.join().body()).isEqualTo("late");
+        // 请求完成后释放并发名额
+        assertThat(client.send(get("/ok", null)).join().body()).isEqualTo("pong");
+    }
+
+    @Test
+    @DisplayName("连续 5xx 达到阈值后熔断，熔断期间直接拒绝")
+    void shouldOpenCircuit_afterConsecutiveFailures() {
+        client = new OutboundHttpClient(properties(4, 2));
+
+        assertThat(client.send(get("/error", null)).join().statusCode()).isEqualTo(500);
+        assertThat(client.send(get("/error", null)).join().statusCode()).isEqualTo(500);
+
+        assertThat(client.circuitState(get("/ok", null).uri())).isEqualTo(HostCircuitBreaker.State.OPEN);
+        assertThat(failureReason(client.send(get("/ok", null))))
+                .isEqualTo(OutboundHttpException.Reason.CIRCUIT_OPEN);
+    }
+
+    @Test
+    @DisplayName("熔断时间过后放行探测请求，成功则恢复")
+    void shouldCloseCircuit_afterSuccessfulProbe() {
+        AtomicLong now = new AtomicLong();
+        HostCircuitBreaker breaker = new HostCircuitBreaker(1, Duration.ofSeconds(10), now::get);
+
+        breaker.onFailure(breaker.tryAcquire());
+        assertThat(breaker.tryAcquire()).isEqualTo(HostCircuitBreaker.REJECTED);
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        long probe = breaker.tryAcquire();
+        assertThat(probe).isNotEqualTo(HostCircuitBreaker.REJECTED);
+        assertThat(breaker.state()).isEqualTo(HostCircuitBreaker.State.HALF_OPEN);
+        // 探测请求返回前不再放行
+        assertThat(breaker.tryAcquire()).isEqualTo(HostCircuitBreaker.REJECTED);
+
+        breaker.onSuccess(probe);
+        assertThat(breaker.state()).isEqualTo(HostCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isNotEqualTo(HostCircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("探测请求失败则重新熔断")
+    void shouldReopenCircuit_whenProbeFails() {
+        AtomicLong now = new AtomicLong();
+        HostCircuitBreaker breaker = new HostCircuitBreaker(3, Duration.ofSeconds(10), now::get);
+
+        long generation = breaker.tryAcquire();
+        breaker.onFailure(generation);
+        breaker.onFailure(generation);
+        breaker.onFailure(generation);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        long probe = breaker.tryAcquire();
+        assertThat(probe).isNotEqualTo(HostCircuitBreaker.REJECTED);
+
+        breaker.onFailure(probe);
+
+        assertThat(breaker.state()).isEqualTo(HostCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(HostCircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("熔断前发出的请求迟到的成功不会关闭重新熔断的熔断器")
+    void shouldIgnoreLateSuccess_fromEarlierGeneration() {
+        AtomicLong now = new AtomicLong();
+        HostCircuitBreaker breaker = new HostCircuitBreaker(1, Duration.ofSeconds(10), now::get);
+
+        long slowRequest = breaker.tryAcquire();
+        breaker.onFailure(breaker.tryAcquire());
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        breaker.onFailure(breaker.tryAcquire());
+        assertThat(breaker.state()).isEqualTo(HostCircuitBreaker.State.OPEN);
+
+        breaker.onSuccess(slowRequest);
+
+        assertThat(breaker.state()).isEqualTo(HostCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(HostCircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("重定向目标主机同样受隔离舱限制")
+    void shouldApplyBulkhead_toRedirectTarget() throws IOException {
+        client = new OutboundHttpClient(properties(1, 3));
+        String target = "http://127.0.0.1:" + server.getAddress().getPort() + "/ok";
+        HttpServer redirector = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        redirector.createContext("/redirect", exchange -> {
+            exchange.getResponseHeaders().set("Location", target);
+            respond(exchange, 302, "");
+        });
+        redirector.start();
+        try {
+            OutboundHttpRequest redirect = new OutboundHttpRequest("GET",
+                    URI.create("http://127.0.0.1:" + redirector.getAddress().getPort() + "/redirect"),
+                    null, null, null);
+
+            CompletableFuture<OutboundHttpResponse> inFlight = client.send(get("/slow", Duration.ofSeconds(5)));
+            assertThat(failureReason(client.send(redirect)))
+                    .isEqualTo(OutboundHttpException.Reason.BULKHEAD_FULL);
+
+            release.countDown();
+            inFlight.join();
+            assertThat(client.send(redirect).join().body()).isEqualTo("pong");
+        } finally {
+            redirector.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("响应体超过大小上限时以 RESPONSE_TOO_LARGE 失败，不计入熔断")
+    void shouldFailWithTooLarge_whenBodyExceedsLimit() {
+        client = new OutboundHttpClient(properties(1, 1));
+
+        assertThat(failureReason(client.send(get("/big", null))))
+                .isEqualTo(OutboundHttpException.Reason.RESPONSE_TOO_LARGE);
+        assertThat(failureReason(client.send(get("/big-chunked", null))))
+                .isEqualTo(OutboundHttpException.Reason.RESPONSE_TOO_LARGE);
+        assertThat(client.circuitState(get("/ok", null).uri())).isEqualTo(HostCircuitBreaker.State.CLOSED);
+        assertThat(client.send(get("/ok", null)).join().body()).isEqualTo("pong");
+    }
+
+    @Test
+    @DisplayName("响应头及时返回但响应体读取超过超时时间时以 TIMEOUT 失败并释放并发名额")
+    void shouldFailWithTimeout_whenBodyTooSlow() {
+        client = new OutboundHttpClient(properties(1, 3));
+
+        long start = System.nanoTime();
+        assertThat(failureReason(client.send(get("/trickle", Duration.ofMillis(300)))))
+                .isEqualTo(OutboundHttpException.Reason.TIMEOUT);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        assertThat(client.send(get("/ok", null)).join().body()).isEqualTo("pong");
+    }
+
+    @Test
+    @DisplayName("有请求进行中的主机不会被空闲清理，请求结束后才清理")
+    void shouldKeepGuard_whileRequestInFlight() {
+        client = new OutboundHttpClient(properties(1, 3));
+
+        CompletableFuture<OutboundHttpResponse> inFlight = client.send(get("/slow", Duration.ofSeconds(5)));
+        client.sweepIdleGuards(Duration.ZERO);
+
+        assertThat(client.guardCount()).isEqualTo(1);
+        assertThat(failureReason(client.send(get("/ok", null))))
+                .isEqualTo(OutboundHttpException.Reason.BULKHEAD_FULL);
+
+        release.countDown();
+        inFlight.join();
+        client.sweepIdleGuards(Duration.ZERO);
+        assertThat(client.guardCount()).isZero();
+    }
+}
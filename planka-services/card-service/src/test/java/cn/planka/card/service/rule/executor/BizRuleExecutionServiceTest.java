@@ -2,6 +2,8 @@ package cn.planka.card.service.rule.executor;
 
 import cn.planka.api.card.dto.CardDTO;
 import cn.planka.card.service.evaluator.ConditionEvaluator;
+import cn.planka.card.service.rule.config.BizRuleAsyncConfig;
+import cn.planka.card.service.rule.config.BizRuleExecutorProperties;
 import cn.planka.card.service.rule.log.RuleExecutionLogService;
 import cn.planka.domain.card.CardId;
 import cn.planka.domain.card.CardTypeId;
@@ -22,6 +24,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,7 +52,7 @@ class BizRuleExecutionServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new BizRuleExecutionService(executorRegistry, conditionEvaluator, logService);
+        service = new BizRuleExecutionService(executorRegistry, conditionEvaluator, logService, Runnable::run);
     }
 
     private BizRuleDefinition createRule(boolean enabled) {
@@ -213,6 +219,85 @@ class BizRuleExecutionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("异步动作")
+    class AsyncActionTests {
+
+        @Test
+        @DisplayName("异步动作完成后继续执行后续动作")
+        void shouldContinueWithNextAction_afterAsyncActionCompletes() {
+            BizRuleDefinition rule = createRule(true);
+            RuleAction asyncAction = new DiscardCardAction(
+                    new ActionTargetSelector(ActionTargetSelector.TargetType.CURRENT_CARD, null, null), null, null, 0);
+            RuleAction syncAction = new DiscardCardAction(
+                    new ActionTargetSelector(ActionTargetSelector.TargetType.CURRENT_CARD, null, null), null, null, 1);
+            rule.setActions(List.of(syncAction, asyncAction));
+            RuleExecutionContext context = createContext();
+
+            CompletableFuture<RuleExecutionResult.ActionExecutionResult> pending = new CompletableFuture<>();
+            when(executorRegistry.supportsAsync(asyncAction)).thenReturn(true);
+            when(executorRegistry.supportsAsync(syncAction)).thenReturn(false);
+            when(executorRegistry.executeActionAsync(asyncAction, context)).thenReturn(pending);
+            when(executorRegistry.executeAction(syncAction, context))
+                    .thenReturn(RuleExecutionResult.ActionExecutionResult.success("DISCARD_CARD", 1, 10, List.of()));
+
+            service.executeAsync(rule, context);
+
+            // 异步动作未完成时不执行后续动作，也不记录日志
+            verify(executorRegistry, never()).executeAction(any(), any());
+            verify(logService, never()).save(any());
+
+            pending.complete(RuleExecutionResult.ActionExecutionResult.success("CALL_EXTERNAL_API", 0, 10, List.of()));
+
+            verify(executorRegistry).executeAction(syncAction, context);
+            verify(logService).save(any(RuleExecutionLog.class));
+        }
+
+        @Test
+        @DisplayName("规则执行器名额占满时，异步动作的后续执行仍能完成")
+        void shouldFinish_whenAllPermitsHeld() throws Exception {
+            int permits = 2;
+            BizRuleExecutorProperties properties = new BizRuleExecutorProperties();
+            properties.setMode(BizRuleExecutorProperties.Mode.VIRTUAL);
+            properties.setMaxConcurrentTasks(permits);
+            BizRuleAsyncConfig config = new BizRuleAsyncConfig();
+            Executor ruleExecutor = config.bizRuleExecutor(properties);
+            BizRuleExecutionService throttledService = new BizRuleExecutionService(
+                    executorRegistry, conditionEvaluator, logService, config.bizRuleContinuationExecutor(properties));
+
+            RuleAction asyncAction = createAction();
+            when(executorRegistry.supportsAsync(asyncAction)).thenReturn(true);
+            // 所有规则任务都占住名额后，异步动作才在其他线程完成
+            CountDownLatch allStarted = new CountDownLatch(permits);
+            when(executorRegistry.executeActionAsync(eq(asyncAction), any())).thenAnswer(invocation -> {
+                allStarted.countDown();
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        allStarted.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return RuleExecutionResult.ActionExecutionResult.success("CALL_EXTERNAL_API", 0, 10, List.of());
+                });
+            });
+
+            CountDownLatch finished = new CountDownLatch(permits);
+            for (int i = 0; i < permits; i++) {
+                BizRuleDefinition rule = createRule(true);
+                rule.setActions(List.of(asyncAction));
+                ruleExecutor.execute(() -> {
+                    // 同步等待规则结束，执行期间一直占用名额
+                    if (throttledService.execute(rule, createContext()).isSuccess()) {
+                        finished.countDown();
+                    }
+                });
+            }
+
+            assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+            verify(logService, times(permits)).save(any(RuleExecutionLog.class));
+        }
+    }
+
     @Nested
     @DisplayName("重试逻辑")
     class RetryTests {
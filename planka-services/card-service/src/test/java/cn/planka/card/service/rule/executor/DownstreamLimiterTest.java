@@ -0,0 +1,60 @@
+package cn.planka.card.service.rule.executor;
+
+import cn.planka.card.service.rule.config.BizRuleExecutorProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DownstreamLimiter 单元测试")
+class DownstreamLimiterTest {
+
+    private DownstreamLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        BizRuleExecutorProperties properties = new BizRuleExecutorProperties();
+        properties.getLimits().setHttp(1);
+        properties.getLimits().setZgraph(2);
+        limiter = new DownstreamLimiter(properties);
+    }
+
+    @Test
+    @DisplayName("异步调用在完成时才释放准入，期间其他任务等待")
+    void shouldHoldPermitUntilAsyncCallCompletes() throws Exception {
+        CompletableFuture<String> inFlight = new CompletableFuture<>();
+        CompletableFuture<String> first = limiter.callAsync(Downstream.HTTP, () -> inFlight);
+        assertThat(limiter.availablePermits(Downstream.HTTP)).isZero();
+
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(
+                () -> limiter.call(Downstream.HTTP, () -> "second"));
+        Thread.sleep(50);
+        assertThat(waiting).isNotDone();
+
+        inFlight.complete("first");
+
+        assertThat(first.join()).isEqualTo("first");
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(limiter.availablePermits(Downstream.HTTP)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("任务异常时释放准入，且不同下游互不影响")
+    void shouldReleasePermit_whenTaskFails() {
+        assertThatThrownBy(() -> limiter.call(Downstream.ZGRAPH, () -> {
+            throw new IllegalStateException("失败");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> limiter.callAsync(Downstream.HTTP, () -> {
+            throw new IllegalStateException("失败");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(limiter.availablePermits(Downstream.ZGRAPH)).isEqualTo(2);
+        assertThat(limiter.availablePermits(Downstream.HTTP)).isEqualTo(1);
+        assertThat(limiter.availablePermits(Downstream.MYSQL)).isEqualTo(8);
+    }
+}
@@ -0,0 +1,77 @@
+package cn.planka.card.service.rule.trigger;
+
+import cn.planka.domain.card.CardTypeId;
+import cn.planka.domain.schema.BizRuleId;
+import cn.planka.domain.schema.definition.rule.BizRuleDefinition;
+import cn.planka.domain.schema.definition.rule.BizRuleDefinition.TriggerEvent;
+import cn.planka.infra.cache.schema.query.BizRuleCacheQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BizRuleIndexCache 单元测试")
+class BizRuleIndexCacheTest {
+
+    private static final CardTypeId CARD_TYPE_ID = CardTypeId.of("ct-001");
+
+    @Mock
+    private BizRuleCacheQuery bizRuleCacheQuery;
+
+    private BizRuleIndexCache indexCache;
+
+    @BeforeEach
+    void setUp() {
+        indexCache = new BizRuleIndexCache(bizRuleCacheQuery);
+    }
+
+    private BizRuleDefinition createRule(String id, TriggerEvent event, List<String> listenFields) {
+        BizRuleDefinition rule = new BizRuleDefinition(BizRuleId.of(id), "org-001", "规则-" + id);
+        rule.setCardTypeId(CARD_TYPE_ID);
+        rule.setTriggerEvent(event);
+        rule.setListenFieldList(listenFields);
+        return rule;
+    }
+
+    @Test
+    @DisplayName("多个变更字段命中的规则去重，并保持规则原有顺序")
+    void shouldUnionBucketsInRuleOrder() {
+        BizRuleDefinition wildcard = createRule("r1", TriggerEvent.ON_FIELD_CHANGE, null);
+        BizRuleDefinition both = createRule("r2", TriggerEvent.ON_FIELD_CHANGE, List.of("field-a", "field-b"));
+        BizRuleDefinition onlyB = createRule("r3", TriggerEvent.ON_FIELD_CHANGE, List.of("field-b"));
+        BizRuleDefinition onlyC = createRule("r4", TriggerEvent.ON_FIELD_CHANGE, List.of("field-c"));
+        when(bizRuleCacheQuery.getByCardTypeId(CARD_TYPE_ID)).thenReturn(List.of(wildcard, both, onlyB, onlyC));
+
+        BizRuleIndex.Match match = indexCache.get(CARD_TYPE_ID)
+                .match(TriggerEvent.ON_FIELD_CHANGE, List.of("field-b", "field-a"));
+
+        assertThat(match.rules()).containsExactly(wildcard, both, onlyB);
+    }
+
+    @Test
+    @DisplayName("规则版本未变化时复用索引，版本变化后重建")
+    void shouldRebuildOnlyWhenRuleVersionChanges() {
+        BizRuleDefinition rule = createRule("r1", TriggerEvent.ON_CREATE, null);
+        when(bizRuleCacheQuery.getByCardTypeId(CARD_TYPE_ID)).thenReturn(List.of(rule));
+
+        BizRuleIndex first = indexCache.get(CARD_TYPE_ID);
+        assertThat(indexCache.get(CARD_TYPE_ID)).isSameAs(first);
+
+        BizRuleDefinition updated = createRule("r1", TriggerEvent.ON_CREATE, null);
+        updated.setEnabled(false);
+        updated.setContentVersion(rule.getContentVersion() + 1);
+        when(bizRuleCacheQuery.getByCardTypeId(CARD_TYPE_ID)).thenReturn(List.of(updated));
+
+        BizRuleIndex rebuilt = indexCache.get(CARD_TYPE_ID);
+        assertThat(rebuilt).isNotSameAs(first);
+        assertThat(rebuilt.match(TriggerEvent.ON_CREATE, null).isEmpty()).isTrue();
+    }
+}
@@ -61,7 +61,7 @@ class BizRuleTriggerServiceTest {
 
     @BeforeEach
     void setUp() {
-        triggerService = new BizRuleTriggerService(bizRuleCacheQuery, executionService, cardRepository, valueStreamHelper);
+        triggerService = new BizRuleTriggerService(new BizRuleIndexCache(bizRuleCacheQuery), executionService, cardRepository, valueStreamHelper);
         valueStream = buildValueStream();
     }
 
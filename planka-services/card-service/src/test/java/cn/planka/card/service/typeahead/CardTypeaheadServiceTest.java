@@ -0,0 +1,85 @@
+package cn.planka.card.service.typeahead;
+
+import cn.planka.api.card.dto.CardDTO;
+import cn.planka.api.card.request.CardTypeaheadRequest;
+import cn.planka.card.repository.CardRepository;
+import cn.planka.card.service.permission.CardPermissionService;
+import cn.planka.card.service.permission.model.BatchPermissionCheckResult;
+import cn.planka.common.result.PageResult;
+import cn.planka.domain.card.CardId;
+import cn.planka.domain.card.CardTitle;
+import cn.planka.domain.schema.definition.permission.PermissionConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * CardTypeaheadService 单元测试
+ */
+@DisplayName("CardTypeaheadService 单元测试")
+class CardTypeaheadServiceTest {
+
+    private CardTypeaheadIndex typeaheadIndex;
+    private CardPermissionService permissionService;
+    private CardTypeaheadService service;
+
+    @BeforeEach
+    void setUp() {
+        typeaheadIndex = mock(CardTypeaheadIndex.class);
+        permissionService = mock(CardPermissionService.class);
+        service = new CardTypeaheadService(typeaheadIndex, mock(CardRepository.class), permissionService);
+    }
+
+    private CardTypeaheadRequest createRequest(int size) {
+        CardTypeaheadRequest request = new CardTypeaheadRequest();
+        request.setOrgId("org-1");
+        request.setCardTypeIds(List.of("type-1"));
+        request.setKeyword("需求");
+        request.setSize(size);
+        return request;
+    }
+
+    private CardTypeaheadIndex.TypeaheadHit hit(long cardId) {
+        return new CardTypeaheadIndex.TypeaheadHit("type-1", cardId, CardTitle.pure("需求" + cardId), 0, cardId);
+    }
+
+    @Test
+    @DisplayName("total 为权限过滤后的匹配数")
+    void shouldCountTotalAfterPermissionFilter() {
+        when(typeaheadIndex.search(eq("org-1"), any(), eq("需求"), anyInt())).thenReturn(Optional.of(
+                new CardTypeaheadIndex.TypeaheadResult(List.of(hit(1), hit(2), hit(3)), 3)));
+        when(permissionService.batchCheckCardOperation(eq(PermissionConfig.CardOperation.READ), any(), any()))
+                .thenReturn(BatchPermissionCheckResult.allAllowed(List.of(CardId.of(1L), CardId.of(3L))));
+
+        PageResult<CardDTO> result = service.search(createRequest(1), "100");
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(card -> card.getId().value()).containsExactly("1");
+        verify(typeaheadIndex).search(eq("org-1"), any(), eq("需求"), eq(500));
+    }
+
+    @Test
+    @DisplayName("系统调用不做权限过滤，total 取索引匹配总数")
+    void shouldUseIndexTotalForSystemOperator() {
+        when(typeaheadIndex.search(eq("org-1"), any(), eq("需求"), anyInt())).thenReturn(Optional.of(
+                new CardTypeaheadIndex.TypeaheadResult(List.of(hit(1)), 42)));
+
+        PageResult<CardDTO> result = service.search(createRequest(1), "system");
+
+        assertThat(result.getTotal()).isEqualTo(42);
+        verify(typeaheadIndex).search(eq("org-1"), any(), eq("需求"), eq(1));
+        verifyNoInteractions(permissionService);
+    }
+}
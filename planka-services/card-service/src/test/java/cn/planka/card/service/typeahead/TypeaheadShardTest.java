@@ -0,0 +1,93 @@
+package cn.planka.card.service.typeahead;
+
+import cn.planka.domain.card.CardTitle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TypeaheadShard 单元测试
+ */
+@DisplayName("TypeaheadShard 单元测试")
+class TypeaheadShardTest {
+
+    private TypeaheadShard shard;
+
+    @BeforeEach
+    void setUp() {
+        shard = new TypeaheadShard();
+    }
+
+    private void put(long cardId, String title, String code, long updatedAt) {
+        shard.upsert(TypeaheadShard.TypeaheadDoc.of(cardId, CardTitle.pure(title), code, updatedAt));
+    }
+
+    private long[] ids(TypeaheadShard.SearchResult result) {
+        return result.hits().stream().mapToLong(hit -> hit.doc().cardId()).toArray();
+    }
+
+    @Test
+    @DisplayName("前缀匹配排在包含匹配之前，同级按更新时间倒序")
+    void shouldRankPrefixBeforeContainsThenRecency() {
+        put(1, "修复登录问题", "101", 100);
+        put(2, "登录页改版", "102", 100);
+        put(3, "登录接口限流", "103", 200);
+
+        TypeaheadShard.SearchResult result = shard.search("登录", 10);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(ids(result)).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    @DisplayName("支持单字符、大小写不敏感以及编号匹配")
+    void shouldMatchSingleCharCaseInsensitiveAndCode() {
+        put(1, "Payment Gateway", "PAY-1", 100);
+        put(2, "Order Service", "ORD-7", 100);
+
+        assertThat(ids(shard.search("gate", 10))).containsExactly(1);
+        assertThat(ids(shard.search("ord-7", 10))).containsExactly(2);
+        assertThat(shard.search("y", 10).total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("二元组都命中但不连续时不返回")
+    void shouldVerifyCandidatesBySubstring() {
+        put(1, "abxxbc", null, 100);
+
+        assertThat(shard.search("abc", 10).total()).isZero();
+        assertThat(shard.search("xb", 10).total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("更新标题后旧标题不再命中，移除后不再返回")
+    void shouldReflectUpdatesAndRemovals() {
+        put(1, "旧标题", null, 100);
+        put(1, "新标题", null, 200);
+
+        assertThat(shard.search("旧", 10).total()).isZero();
+        assertThat(ids(shard.search("新标", 10))).containsExactly(1);
+
+        shard.remove(1);
+        assertThat(shard.search("标题", 10).total()).isZero();
+        assertThat(shard.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("只返回前 limit 条，总数统计全部匹配；大量更新后压缩不影响结果")
+    void shouldLimitResultsAndSurviveCompaction() {
+        for (int round = 0; round < 3; round++) {
+            for (long id = 1; id <= 1000; id++) {
+                put(id, "task " + id, null, round * 1000L + id);
+            }
+        }
+
+        TypeaheadShard.SearchResult result = shard.search("task", 5);
+
+        assertThat(result.total()).isEqualTo(1000);
+        assertThat(ids(result)).containsExactly(1000, 999, 998, 997, 996);
+        assertThat(shard.size()).isEqualTo(1000);
+    }
+}
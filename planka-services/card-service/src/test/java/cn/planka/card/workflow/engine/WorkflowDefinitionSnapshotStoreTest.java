@@ -0,0 +1,95 @@
+package cn.planka.card.workflow.engine;
+
+import cn.planka.card.workflow.entity.WorkflowDefinitionSnapshotEntity;
+import cn.planka.card.workflow.repository.WorkflowDefinitionSnapshotMapper;
+import cn.planka.domain.schema.WorkflowId;
+import cn.planka.domain.schema.definition.workflow.WorkflowDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WorkflowDefinitionSnapshotStore 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkflowDefinitionSnapshotStore 单元测试")
+class WorkflowDefinitionSnapshotStoreTest {
+
+    private static final String DEFINITION_JSON = "{\"id\":\"wf-1\",\"name\":\"审批流程\"}";
+
+    @Mock
+    private WorkflowDefinitionSnapshotMapper snapshotMapper;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    private WorkflowDefinitionSnapshotStore store;
+    private WorkflowDefinition definition;
+
+    @BeforeEach
+    void setUp() {
+        store = new WorkflowDefinitionSnapshotStore(snapshotMapper, objectMapper);
+        definition = new WorkflowDefinition(WorkflowId.of("wf-1"), "org-1", "审批流程");
+    }
+
+    @Test
+    @DisplayName("相同内容的定义得到相同哈希，快照按哈希写入")
+    void shouldStoreSnapshotByContentHash() throws Exception {
+        when(objectMapper.writeValueAsString(definition)).thenReturn(DEFINITION_JSON);
+
+        String first = store.save(definition);
+        String second = store.save(definition);
+
+        assertThat(first).isEqualTo(second).hasSize(64);
+        ArgumentCaptor<WorkflowDefinitionSnapshotEntity> captor =
+                ArgumentCaptor.forClass(WorkflowDefinitionSnapshotEntity.class);
+        verify(snapshotMapper, times(2)).insertIgnore(captor.capture());
+        assertThat(captor.getValue().getDefinitionHash()).isEqualTo(first);
+        assertThat(captor.getValue().getWorkflowId()).isEqualTo("wf-1");
+        assertThat(captor.getValue().getDefinition()).isEqualTo(DEFINITION_JSON);
+    }
+
+    @Test
+    @DisplayName("保存后按哈希加载直接命中缓存")
+    void shouldLoadSavedDefinitionFromCache() throws Exception {
+        when(objectMapper.writeValueAsString(definition)).thenReturn(DEFINITION_JSON);
+
+        String hash = store.save(definition);
+
+        assertThat(store.load(hash)).isSameAs(definition);
+        verify(snapshotMapper, never()).selectDefinitionByHash(anyString());
+    }
+
+    @Test
+    @DisplayName("缓存未命中时只查询和解析一次")
+    void shouldParseSnapshotOnceOnCacheMiss() throws Exception {
+        String hash = WorkflowDefinitionSnapshotStore.sha256(DEFINITION_JSON);
+        when(snapshotMapper.selectDefinitionByHash(hash)).thenReturn(DEFINITION_JSON);
+        when(objectMapper.readValue(DEFINITION_JSON, WorkflowDefinition.class)).thenReturn(definition);
+
+        assertThat(store.load(hash)).isSameAs(definition);
+        assertThat(store.load(hash)).isSameAs(definition);
+
+        verify(snapshotMapper, times(1)).selectDefinitionByHash(hash);
+        verify(objectMapper, times(1)).readValue(anyString(), any(Class.class));
+    }
+
+    @Test
+    @DisplayName("快照不存在时返回 null")
+    void shouldReturnNullWhenSnapshotMissing() {
+        assertThat(store.load("missing")).isNull();
+    }
+}
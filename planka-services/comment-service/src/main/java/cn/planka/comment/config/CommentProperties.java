@@ -15,6 +15,16 @@ public class CommentProperties {
      */
     private int withdrawTimeLimit = 120;
 
+    /**
+     * 评论列表缓存有效期（秒），默认 60 秒；其他实例通过评论变更事件失效，事件丢失时最多延迟该时长
+     */
+    private int pageCacheTtl = 60;
+
+    /**
+     * 评论列表缓存的最大卡片数，默认 10000
+     */
+    private int pageCacheMaxCards = 10_000;
+
     public int getWithdrawTimeLimit() {
         return withdrawTimeLimit;
     }
@@ -22,4 +32,20 @@ public class CommentProperties {
     public void setWithdrawTimeLimit(int withdrawTimeLimit) {
         this.withdrawTimeLimit = withdrawTimeLimit;
     }
+
+    public int getPageCacheTtl() {
+        return pageCacheTtl;
+    }
+
+    public void setPageCacheTtl(int pageCacheTtl) {
+        this.pageCacheTtl = pageCacheTtl;
+    }
+
+    public int getPageCacheMaxCards() {
+        return pageCacheMaxCards;
+    }
+
+    public void setPageCacheMaxCards(int pageCacheMaxCards) {
+        this.pageCacheMaxCards = pageCacheMaxCards;
+    }
 }
@@ -0,0 +1,34 @@
+package cn.planka.comment.listener;
+
+import cn.planka.comment.service.CommentPageCache;
+import cn.planka.event.comment.CommentEvent;
+import cn.planka.event.comment.CommentsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 评论列表缓存失效监听器
+ * <p>
+ * 每个服务实例独立消费评论事件，收到评论变更事件后失效本地的评论列表缓存。
+ * 本实例的写操作已在提交时同步失效，这里主要处理其他实例的写操作。
+ * 使用 latest 策略，重启时本地缓存为空，无需处理历史消息。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentPageCacheEventListener {
+
+    private final CommentPageCache pageCache;
+
+    @KafkaListener(topics = "planka-comment-events",
+            groupId = "${spring.application.name}-comment-page-cache-#{@schemaCacheInstanceId}",
+            properties = "auto.offset.reset=latest")
+    public void handleCommentEvent(CommentEvent event) {
+        if (event instanceof CommentsChangedEvent e) {
+            log.debug("评论列表缓存失效: orgId={}, cardId={}", e.getOrgId(), e.getCardId());
+            pageCache.evict(e.getOrgId(), e.getCardId());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package cn.planka.comment.service;
+
+import cn.planka.api.comment.dto.CommentDTO;
+import cn.planka.api.comment.dto.CommentListResponse;
+import cn.planka.comment.config.CommentProperties;
+import cn.planka.event.comment.CommentsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 卡片评论列表缓存
+ * <p>
+ * 按卡片缓存根评论总数和已组装的评论分页。评论写入时整张卡片的缓存一起失效：
+ * 失效时直接替换卡片条目，失效前开始的读取只会写回已被丢弃的旧条目，不会把旧数据放回缓存。
+ * <p>
+ * 写入提交后发布 {@link CommentsChangedEvent}，各实例按实例独立的消费组收到后失效本地条目；
+ * Kafka 不可用时由较短的过期时间兜底。
+ * <p>
+ * 每张卡片只缓存前 {@link #MAX_CACHED_PAGES} 页，且最多 {@link #MAX_PAGES_PER_CARD} 个 page/size 组合，
+ * 超出范围的分页直接查询，避免任意 page/size 组合撑大单个条目。
+ * 缓存中的分页不直接交给调用方，每次返回副本。
+ */
+@Slf4j
+@Component
+public class CommentPageCache {
+
+    static final int MAX_CACHED_PAGES = 5;
+    static final int MAX_PAGES_PER_CARD = 16;
+
+    private final Cache<String, CardComments> cards;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public CommentPageCache(CommentProperties properties,
+                            @Autowired(required = false) KafkaTemplate<String, Object> kafkaTemplate) {
+        this.cards = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getPageCacheMaxCards()))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(0, properties.getPageCacheTtl())))
+                .build();
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    /**
+     * 获取卡片的缓存条目，不存在时创建空条目
+     */
+    CardComments get(String orgId, String cardId) {
+        return cards.get(key(orgId, cardId), k -> new CardComments());
+    }
+
+    /**
+     * 失效卡片的评论缓存并通知其他实例
+     * <p>
+     * 立即失效一次；处于事务中时在提交后再失效一次并发布变更事件，避免提交前的并发读取把旧数据写回缓存，
+     * 也避免其他实例在提交前重新加载到旧数据。
+     */
+    void invalidate(String orgId, String cardId, String operatorId) {
+        evict(orgId, cardId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(orgId, cardId);
+                    publishChanged(orgId, cardId, operatorId);
+                }
+            });
+        } else {
+            publishChanged(orgId, cardId, operatorId);
+        }
+    }
+
+    /**
+     * 只失效本实例的评论缓存（收到其他实例的变更事件时调用）
+     */
+    public void evict(String orgId, String cardId) {
+        cards.invalidate(key(orgId, cardId));
+    }
+
+    private void publishChanged(String orgId, String cardId, String operatorId) {
+        if (kafkaTemplate == null) {
+            return;
+        }
+        CommentsChangedEvent event = new CommentsChangedEvent(orgId, operatorId, null, null, cardId);
+        kafkaTemplate.send(event.getTopic(), event.getPartitionKey(), event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.warn("发布评论变更事件失败，其他实例的评论缓存将在过期后刷新: cardId={}", cardId, ex);
+                    }
+                });
+    }
+
+    private static String key(String orgId, String cardId) {
+        return orgId + ":" + cardId;
+    }
+
+    /**
+     * 复制评论分页，调用方修改返回值不影响缓存
+     */
+    static CommentListResponse copyOf(CommentListResponse response) {
+        return new CommentListResponse(copyComments(response.comments()), response.total(),
+                response.page(), response.size(), response.hasMore());
+    }
+
+    private static List<CommentDTO> copyComments(List<CommentDTO> comments) {
+        if (comments == null) {
+            return null;
+        }
+        List<CommentDTO> copies = new ArrayList<>(comments.size());
+        for (CommentDTO c : comments) {
+            copies.add(new CommentDTO(c.id(), c.orgId(), c.cardId(), c.cardTypeId(), c.parentId(), c.rootId(),
+                    c.replyToMemberId(), c.replyToMemberName(), c.content(), c.status(), c.editCount(),
+                    c.lastEditedAt(), c.authorId(), c.authorName(), c.authorAvatar(), c.createdAt(), c.updatedAt(),
+                    c.mentions() != null ? new ArrayList<>(c.mentions()) : null,
+                    c.cardRefs() != null ? new ArrayList<>(c.cardRefs()) : null,
+                    copyComments(c.replies()), c.operationSource()));
+        }
+        return copies;
+    }
+
+    /**
+     * 单张卡片的缓存条目
+     */
+    static final class CardComments {
+
+        private final Map<Long, CommentListResponse> pages = new ConcurrentHashMap<>();
+        private volatile Long total;
+
+        Long total() {
+            return total;
+        }
+
+        void total(long total) {
+            this.total = total;
+        }
+
+        CommentListResponse page(int page, int size) {
+            CommentListResponse cached = pages.get(pageKey(page, size));
+            return cached != null ? copyOf(cached) : null;
+        }
+
+        void page(int page, int size, CommentListResponse response) {
+            if (page < 0 || page >= MAX_CACHED_PAGES) {
+                return;
+            }
+            long key = pageKey(page, size);
+            if (pages.size() >= MAX_PAGES_PER_CARD && !pages.containsKey(key)) {
+                return;
+            }
+            pages.put(key, copyOf(response));
+        }
+
+        private static long pageKey(int page, int size) {
+            return ((long) page << 32) | (size & 0xFFFFFFFFL);
+        }
+    }
+}
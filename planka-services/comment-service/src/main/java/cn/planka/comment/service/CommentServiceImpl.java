@@ -45,6 +45,16 @@ public class CommentServiceImpl implements CommentService {
     private record RuleNameInfo(String name, boolean deleted) {
     }
 
+    /**
+     * 一批评论组装所需的预加载数据
+     */
+    private record ThreadContext(Map<Long, List<CommentEntity>> repliesByRoot,
+                                 Map<Long, List<CommentMentionEntity>> mentionsByComment,
+                                 Map<Long, List<CommentCardRefEntity>> cardRefsByComment,
+                                 Map<String, CardBasicInfo> cardInfoMap,
+                                 Map<String, RuleNameInfo> ruleNameMap) {
+    }
+
     private static final String STATUS_ACTIVE = "ACTIVE";
     private static final String STATUS_WITHDRAWN = "WITHDRAWN";
     private static final String STATUS_DELETED = "DELETED";
@@ -56,6 +66,7 @@ public class CommentServiceImpl implements CommentService {
     private final CardCacheService cardCacheService;
     private final ObjectMapper objectMapper;
     private final BizRuleCacheQuery bizRuleCacheQuery;
+    private final CommentPageCache pageCache;
 
     public CommentServiceImpl(CommentRepository commentRepository,
                               CommentMentionRepository mentionRepository,
@@ -63,7 +74,8 @@ public class CommentServiceImpl implements CommentService {
                               CommentProperties commentProperties,
                               CardCacheService cardCacheService,
                               ObjectMapper objectMapper,
-                              BizRuleCacheQuery bizRuleCacheQuery) {
+                              BizRuleCacheQuery bizRuleCacheQuery,
+                              CommentPageCache pageCache) {
         this.commentRepository = commentRepository;
         this.mentionRepository = mentionRepository;
         this.cardRefRepository = cardRefRepository;
@@ -71,12 +83,24 @@ public class CommentServiceImpl implements CommentService {
         this.cardCacheService = cardCacheService;
         this.objectMapper = objectMapper;
         this.bizRuleCacheQuery = bizRuleCacheQuery;
+        this.pageCache = pageCache;
     }
 
     @Override
     public CommentListResponse listComments(String orgId, String cardId, int page, int size) {
+        CommentPageCache.CardComments cached = pageCache.get(orgId, cardId);
+        CommentListResponse cachedPage = cached.page(page, size);
+        if (cachedPage != null) {
+            return cachedPage;
+        }
+
         // MyBatis Plus 分页从 1 开始，前端传的 page 从 0 开始
         Page<CommentEntity> pageParam = new Page<>(page + 1, size);
+        // 已缓存根评论总数时跳过 count 查询
+        Long cachedTotal = cached.total();
+        if (cachedTotal != null) {
+            pageParam.setSearchCount(false);
+        }
         LambdaQueryWrapper<CommentEntity> query = new LambdaQueryWrapper<CommentEntity>()
                 .eq(CommentEntity::getOrgId, orgId)
                 .eq(CommentEntity::getCardId, cardId)
@@ -85,79 +109,100 @@ public class CommentServiceImpl implements CommentService {
                 .orderByAsc(CommentEntity::getCreatedAt);
 
         Page<CommentEntity> result = commentRepository.selectPage(pageParam, query);
+        long total = cachedTotal != null ? cachedTotal : result.getTotal();
 
-        // 收集所有需要查询的成员卡片ID
-        Set<String> memberCardIds = new HashSet<>();
-        for (CommentEntity comment : result.getRecords()) {
-            collectMemberCardIds(comment, memberCardIds);
-        }
-
-        // 批量查询成员信息
-        Map<String, CardBasicInfo> memberInfoMap = getMemberInfoMap(memberCardIds);
-
-        // 批量查询业务规则名称
-        Map<String, RuleNameInfo> ruleNameMap = fetchBizRuleNames(result.getRecords());
-
-        List<CommentDTO> comments = result.getRecords().stream()
-                .map(entity -> convertToDTO(entity, memberInfoMap, ruleNameMap))
-                .collect(Collectors.toList());
-
-        return new CommentListResponse(
-                comments,
-                result.getTotal(),
+        CommentListResponse response = new CommentListResponse(
+                toDTOs(result.getRecords()),
+                total,
                 page,
                 size,
-                result.hasNext()
+                (long) (page + 1) * size < total
         );
+        cached.total(total);
+        cached.page(page, size, response);
+        return response;
     }
 
     /**
-     * 递归收集评论及其回复中的所有成员卡片ID
+     * 批量组装评论 DTO
+     * <p>
+     * 根评论的回复、所有评论的@提及和卡片引用各一次查询，成员和引用卡片信息一次批量获取，
+     * 再在内存中按根评论组装回复列表。查询次数与评论数量无关。
+     *
+     * @param entities 评论实体列表，根评论会带上其全部回复
+     * @return 评论 DTO 列表，与 entities 顺序一致
      */
-    private void collectMemberCardIds(CommentEntity entity, Set<String> memberCardIds) {
-        memberCardIds.add(entity.getAuthorId());
-        if (entity.getReplyToMemberId() != null) {
-            memberCardIds.add(entity.getReplyToMemberId());
+    private List<CommentDTO> toDTOs(List<CommentEntity> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // 查询回复
-        if (entity.getParentId() == null) {
-            List<CommentEntity> replies = commentRepository.selectList(
-                    new LambdaQueryWrapper<CommentEntity>()
-                            .eq(CommentEntity::getRootId, entity.getId())
-                            .ne(CommentEntity::getStatus, STATUS_DELETED)
-            );
-            for (CommentEntity reply : replies) {
-                memberCardIds.add(reply.getAuthorId());
-                if (reply.getReplyToMemberId() != null) {
-                    memberCardIds.add(reply.getReplyToMemberId());
-                }
+        // 一次查询所有根评论的回复
+        List<Long> rootIds = entities.stream()
+                .filter(entity -> entity.getParentId() == null)
+                .map(CommentEntity::getId)
+                .toList();
+        Map<Long, List<CommentEntity>> repliesByRoot = rootIds.isEmpty()
+                ? Collections.emptyMap()
+                : commentRepository.selectList(
+                        new LambdaQueryWrapper<CommentEntity>()
+                                .in(CommentEntity::getRootId, rootIds)
+                                .ne(CommentEntity::getStatus, STATUS_DELETED)
+                                .orderByAsc(CommentEntity::getCreatedAt)
+                ).stream().collect(Collectors.groupingBy(CommentEntity::getRootId));
+
+        List<CommentEntity> allComments = new ArrayList<>(entities);
+        repliesByRoot.values().forEach(allComments::addAll);
+        List<Long> commentIds = allComments.stream().map(CommentEntity::getId).distinct().toList();
+
+        // 一次查询所有评论的 mentions 和 cardRefs
+        Map<Long, List<CommentMentionEntity>> mentionsByComment = mentionRepository.selectList(
+                new LambdaQueryWrapper<CommentMentionEntity>()
+                        .in(CommentMentionEntity::getCommentId, commentIds)
+        ).stream().collect(Collectors.groupingBy(CommentMentionEntity::getCommentId));
+        Map<Long, List<CommentCardRefEntity>> cardRefsByComment = cardRefRepository.selectList(
+                new LambdaQueryWrapper<CommentCardRefEntity>()
+                        .in(CommentCardRefEntity::getCommentId, commentIds)
+        ).stream().collect(Collectors.groupingBy(CommentCardRefEntity::getCommentId));
+
+        // 成员卡片和引用卡片一次批量获取
+        Set<String> cardIds = new HashSet<>();
+        for (CommentEntity comment : allComments) {
+            cardIds.add(comment.getAuthorId());
+            if (comment.getReplyToMemberId() != null) {
+                cardIds.add(comment.getReplyToMemberId());
             }
         }
+        mentionsByComment.values().forEach(mentions ->
+                mentions.forEach(mention -> cardIds.add(mention.getMentionedMemberId())));
+        cardRefsByComment.values().forEach(cardRefs ->
+                cardRefs.forEach(cardRef -> cardIds.add(cardRef.getRefCardId())));
+        Map<String, CardBasicInfo> cardInfoMap = getCardInfoMap(cardIds);
 
-        // 查询 mentions
-        List<CommentMentionEntity> mentions = mentionRepository.selectList(
-                new LambdaQueryWrapper<CommentMentionEntity>()
-                        .eq(CommentMentionEntity::getCommentId, entity.getId())
-        );
-        for (CommentMentionEntity mention : mentions) {
-            memberCardIds.add(mention.getMentionedMemberId());
-        }
+        // 批量查询业务规则名称
+        Map<String, RuleNameInfo> ruleNameMap = fetchBizRuleNames(allComments);
+
+        ThreadContext context = new ThreadContext(repliesByRoot, mentionsByComment, cardRefsByComment,
+                cardInfoMap, ruleNameMap);
+        return entities.stream()
+                .map(entity -> toDTO(entity, context))
+                .collect(Collectors.toList());
     }
 
     /**
-     * 批量获取成员信息
+     * 批量获取卡片基础信息（成员卡片和引用卡片）
      */
-    private Map<String, CardBasicInfo> getMemberInfoMap(Set<String> memberCardIds) {
-        if (memberCardIds.isEmpty()) {
+    private Map<String, CardBasicInfo> getCardInfoMap(Set<String> cardIds) {
+        cardIds.remove(null);
+        if (cardIds.isEmpty()) {
             return Collections.emptyMap();
         }
 
-        Set<CardId> cardIds = memberCardIds.stream()
+        Set<CardId> ids = cardIds.stream()
                 .map(CardId::of)
                 .collect(Collectors.toSet());
 
-        Map<CardId, CardBasicInfo> cardInfoMap = cardCacheService.getBasicInfoByIds(cardIds);
+        Map<CardId, CardBasicInfo> cardInfoMap = cardCacheService.getBasicInfoByIds(ids);
 
         return cardInfoMap.entrySet().stream()
                 .collect(Collectors.toMap(
@@ -167,13 +212,13 @@ public class CommentServiceImpl implements CommentService {
     }
 
     /**
-     * 从成员信息中获取名称
+     * 从卡片信息中获取标题（成员名称或引用卡片标题）
      */
-    private String getMemberName(String memberId, Map<String, CardBasicInfo> memberInfoMap) {
-        if (memberId == null) {
+    private String getCardTitle(String cardId, Map<String, CardBasicInfo> cardInfoMap) {
+        if (cardId == null) {
             return null;
         }
-        CardBasicInfo info = memberInfoMap.get(memberId);
+        CardBasicInfo info = cardInfoMap.get(cardId);
         return info != null ? info.title().getDisplayValue() : null;
     }
 
@@ -309,18 +354,8 @@ public class CommentServiceImpl implements CommentService {
             }
         }
 
-        // 查询成员信息
-        Set<String> memberCardIds = new HashSet<>();
-        memberCardIds.add(entity.getAuthorId());
-        if (entity.getReplyToMemberId() != null) {
-            memberCardIds.add(entity.getReplyToMemberId());
-        }
-        Map<String, CardBasicInfo> memberInfoMap = getMemberInfoMap(memberCardIds);
-
-        // 查询业务规则名称
-        Map<String, RuleNameInfo> ruleNameMap = fetchBizRuleNames(Collections.singletonList(entity));
-
-        return convertToDTO(entity, memberInfoMap, ruleNameMap);
+        pageCache.invalidate(orgId, entity.getCardId(), memberId);
+        return toDTOs(Collections.singletonList(entity)).get(0);
     }
 
     @Override
@@ -381,17 +416,8 @@ public class CommentServiceImpl implements CommentService {
             }
         }
 
-        // 查询成员信息
-        Set<String> memberCardIds = new HashSet<>();
-        memberCardIds.add(entity.getAuthorId());
-        if (entity.getReplyToMemberId() != null) {
-            memberCardIds.add(entity.getReplyToMemberId());
-        }
-        Map<String, CardBasicInfo> memberInfoMap = getMemberInfoMap(memberCardIds);
-
-        Map<String, RuleNameInfo> ruleNameMap = fetchBizRuleNames(Collections.singletonList(entity));
-
-        return convertToDTO(entity, memberInfoMap, ruleNameMap);
+        pageCache.invalidate(orgId, entity.getCardId(), memberId);
+        return toDTOs(Collections.singletonList(entity)).get(0);
     }
 
     @Override
@@ -418,14 +444,8 @@ public class CommentServiceImpl implements CommentService {
         entity.setUpdatedAt(LocalDateTime.now());
         commentRepository.updateById(entity);
 
-        // 查询成员信息
-        Set<String> memberCardIds = new HashSet<>();
-        memberCardIds.add(entity.getAuthorId());
-        Map<String, CardBasicInfo> memberInfoMap = getMemberInfoMap(memberCardIds);
-
-        Map<String, RuleNameInfo> ruleNameMap = fetchBizRuleNames(Collections.singletonList(entity));
-
-        return convertToDTO(entity, memberInfoMap, ruleNameMap);
+        pageCache.invalidate(orgId, entity.getCardId(), memberId);
+        return toDTOs(Collections.singletonList(entity)).get(0);
     }
 
     @Override
@@ -439,73 +459,40 @@ public class CommentServiceImpl implements CommentService {
         entity.setStatus(STATUS_DELETED);
         entity.setUpdatedAt(LocalDateTime.now());
         commentRepository.updateById(entity);
+        pageCache.invalidate(orgId, entity.getCardId(), memberId);
     }
 
-    private CommentDTO convertToDTO(CommentEntity entity, Map<String, CardBasicInfo> memberInfoMap,
-                                      Map<String, RuleNameInfo> ruleNameMap) {
-        return convertToDTOInternal(entity, memberInfoMap, ruleNameMap, new HashSet<>());
-    }
-
-    private CommentDTO convertToDTOInternal(CommentEntity entity, Map<String, CardBasicInfo> memberInfoMap,
-                                            Map<String, RuleNameInfo> ruleNameMap, Set<Long> processedIds) {
-        // 防止循环引用
-        if (processedIds.contains(entity.getId())) {
-            return null;
-        }
-        processedIds.add(entity.getId());
+    private CommentDTO toDTO(CommentEntity entity, ThreadContext context) {
+        Map<String, CardBasicInfo> cardInfoMap = context.cardInfoMap();
 
         // 获取作者信息
-        String authorName = getMemberName(entity.getAuthorId(), memberInfoMap);
+        String authorName = getCardTitle(entity.getAuthorId(), cardInfoMap);
         String authorAvatar = null; // 成员卡片没有头像字段，保持为 null
 
         // 获取被回复人名称
-        String replyToMemberName = getMemberName(entity.getReplyToMemberId(), memberInfoMap);
+        String replyToMemberName = getCardTitle(entity.getReplyToMemberId(), cardInfoMap);
 
-        // 查询 mentions
-        List<CommentMentionEntity> mentionEntities = mentionRepository.selectList(
-                new LambdaQueryWrapper<CommentMentionEntity>()
-                        .eq(CommentMentionEntity::getCommentId, entity.getId())
-        );
-        List<MentionDTO> mentions = mentionEntities.stream()
-                .map(m -> CommentConverter.toMentionDTO(m, getMemberName(m.getMentionedMemberId(), memberInfoMap)))
+        List<MentionDTO> mentions = context.mentionsByComment()
+                .getOrDefault(entity.getId(), Collections.emptyList()).stream()
+                .map(m -> CommentConverter.toMentionDTO(m, getCardTitle(m.getMentionedMemberId(), cardInfoMap)))
                 .collect(Collectors.toList());
 
-        // 查询 cardRefs
-        List<CommentCardRefEntity> cardRefEntities = cardRefRepository.selectList(
-                new LambdaQueryWrapper<CommentCardRefEntity>()
-                        .eq(CommentCardRefEntity::getCommentId, entity.getId())
-        );
-        // 获取引用卡片的标题
-        Set<String> refCardIds = cardRefEntities.stream()
-                .map(CommentCardRefEntity::getRefCardId)
-                .collect(Collectors.toSet());
-        Map<String, CardBasicInfo> refCardInfoMap = getMemberInfoMap(refCardIds);
-
-        List<CardRefDTO> cardRefs = cardRefEntities.stream()
-                .map(c -> {
-                    CardBasicInfo cardInfo = refCardInfoMap.get(c.getRefCardId());
-                    String cardTitle = cardInfo != null ? cardInfo.title().getDisplayValue() : null;
-                    return CommentConverter.toCardRefDTO(c, cardTitle);
-                })
+        List<CardRefDTO> cardRefs = context.cardRefsByComment()
+                .getOrDefault(entity.getId(), Collections.emptyList()).stream()
+                .map(c -> CommentConverter.toCardRefDTO(c, getCardTitle(c.getRefCardId(), cardInfoMap)))
                 .collect(Collectors.toList());
 
-        // 查询回复
+        // 根评论带上全部回复，回复本身不再嵌套
         List<CommentDTO> replies = new ArrayList<>();
         if (entity.getParentId() == null) {
-            List<CommentEntity> replyEntities = commentRepository.selectList(
-                    new LambdaQueryWrapper<CommentEntity>()
-                            .eq(CommentEntity::getRootId, entity.getId())
-                            .ne(CommentEntity::getStatus, STATUS_DELETED)
-                            .orderByAsc(CommentEntity::getCreatedAt)
-            );
-            replies = replyEntities.stream()
-                    .map(reply -> convertToDTOInternal(reply, memberInfoMap, ruleNameMap, processedIds))
-                    .filter(Objects::nonNull)
+            replies = context.repliesByRoot().getOrDefault(entity.getId(), Collections.emptyList()).stream()
+                    .filter(reply -> !reply.getId().equals(entity.getId()))
+                    .map(reply -> toDTO(reply, context))
                     .collect(Collectors.toList());
         }
 
         // 解析并更新操作来源
-        OperationSource operationSource = resolveOperationSource(entity, ruleNameMap);
+        OperationSource operationSource = resolveOperationSource(entity, context.ruleNameMap());
 
         return CommentConverter.toDTO(entity, authorName, authorAvatar, replyToMemberName, mentions, cardRefs, replies, operationSource);
     }
@@ -1,34 +1,45 @@
 package cn.planka.comment.service;
 
 import cn.planka.api.comment.dto.CommentDTO;
+import cn.planka.api.comment.dto.CommentListResponse;
 import cn.planka.api.comment.request.CreateCommentRequest;
 import cn.planka.api.comment.request.UpdateCommentRequest;
 import cn.planka.comment.service.CommentServiceImpl;
 import cn.planka.event.comment.UserOperationSource;
 import cn.planka.comment.config.CommentProperties;
+import cn.planka.comment.listener.CommentPageCacheEventListener;
+import cn.planka.event.comment.CommentsChangedEvent;
+import cn.planka.comment.model.CommentCardRefEntity;
 import cn.planka.comment.model.CommentEntity;
+import cn.planka.comment.model.CommentMentionEntity;
 import cn.planka.comment.repository.CommentCardRefRepository;
 import cn.planka.comment.repository.CommentMentionRepository;
 import cn.planka.comment.repository.CommentRepository;
 import cn.planka.infra.cache.card.CardCacheService;
 import cn.planka.infra.cache.schema.query.BizRuleCacheQuery;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -58,6 +69,9 @@ class CommentServiceTest {
     @Mock
     private BizRuleCacheQuery bizRuleCacheQuery;
 
+    @Spy
+    private CommentPageCache pageCache = new CommentPageCache(new CommentProperties(), null);
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -257,6 +271,164 @@ class CommentServiceTest {
         verify(commentRepository).updateById(any(CommentEntity.class));
     }
 
+    @Test
+    @DisplayName("评论列表批量加载回复、@提及、卡片引用和卡片信息")
+    @SuppressWarnings("unchecked")
+    void listComments_loadsThreadsInBatch() {
+        // Given
+        CommentEntity root1 = createCommentEntity(1L, null);
+        CommentEntity root2 = createCommentEntity(2L, null);
+        CommentEntity reply1 = createCommentEntity(11L, 1L);
+        CommentEntity reply2 = createCommentEntity(21L, 2L);
+        CommentEntity reply3 = createCommentEntity(22L, 2L);
+
+        Page<CommentEntity> page = new Page<>(1, 10);
+        page.setRecords(List.of(root1, root2));
+        page.setTotal(2);
+        when(commentRepository.selectPage(any(), any())).thenReturn(page);
+        when(commentRepository.selectList(any())).thenReturn(List.of(reply1, reply2, reply3));
+
+        CommentMentionEntity mention = new CommentMentionEntity();
+        mention.setCommentId(21L);
+        mention.setMentionedMemberId("member-2");
+        when(mentionRepository.selectList(any())).thenReturn(List.of(mention));
+
+        CommentCardRefEntity cardRef = new CommentCardRefEntity();
+        cardRef.setCommentId(1L);
+        cardRef.setRefCardId("card-2");
+        when(cardRefRepository.selectList(any())).thenReturn(List.of(cardRef));
+
+        // When
+        CommentListResponse response = commentService.listComments(ORG_ID, CARD_ID, 0, 10);
+
+        // Then
+        assertThat(response.comments()).hasSize(2);
+        assertThat(response.comments().get(0).replies()).hasSize(1);
+        assertThat(response.comments().get(0).cardRefs()).hasSize(1);
+        assertThat(response.comments().get(1).replies()).hasSize(2);
+        assertThat(response.comments().get(1).replies().get(0).mentions()).hasSize(1);
+        assertThat(response.total()).isEqualTo(2);
+        assertThat(response.hasMore()).isFalse();
+
+        verify(commentRepository, times(1)).selectList(any());
+        verify(mentionRepository, times(1)).selectList(any());
+        verify(cardRefRepository, times(1)).selectList(any());
+        verify(cardCacheService, times(1)).getBasicInfoByIds(any());
+    }
+
+    @Test
+    @DisplayName("评论列表命中缓存，写入评论后失效")
+    void listComments_cachedUntilCommentWritten() {
+        // Given
+        CommentEntity root = createCommentEntity(1L, null);
+        Page<CommentEntity> page = new Page<>(1, 10);
+        page.setRecords(List.of(root));
+        page.setTotal(1);
+        when(commentRepository.selectPage(any(), any())).thenReturn(page);
+        when(commentRepository.selectList(any())).thenReturn(Collections.emptyList());
+        when(mentionRepository.selectList(any())).thenReturn(Collections.emptyList());
+        when(cardRefRepository.selectList(any())).thenReturn(Collections.emptyList());
+        when(commentRepository.selectById(1L)).thenReturn(root);
+
+        // When
+        CommentListResponse first = commentService.listComments(ORG_ID, CARD_ID, 0, 10);
+        CommentListResponse second = commentService.listComments(ORG_ID, CARD_ID, 0, 10);
+        commentService.deleteComment(1L, ORG_ID, USER_ID);
+        commentService.listComments(ORG_ID, CARD_ID, 0, 10);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        verify(commentRepository, times(2)).selectPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("命中缓存时返回副本，调用方修改不影响缓存")
+    void listComments_returnsCopyOfCachedPage() {
+        // Given
+        mockSingleRootPage();
+
+        // When
+        commentService.listComments(ORG_ID, CARD_ID, 0, 10).comments().clear();
+        CommentListResponse cached = commentService.listComments(ORG_ID, CARD_ID, 0, 10);
+        cached.comments().get(0).replies().add(cached.comments().get(0));
+        CommentListResponse again = commentService.listComments(ORG_ID, CARD_ID, 0, 10);
+
+        // Then
+        assertThat(again.comments()).hasSize(1);
+        assertThat(again.comments().get(0).replies()).isEmpty();
+        verify(commentRepository, times(1)).selectPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("超出缓存范围的分页不缓存")
+    void listComments_doesNotCacheDeepPages() {
+        // Given
+        mockSingleRootPage();
+
+        // When
+        commentService.listComments(ORG_ID, CARD_ID, CommentPageCache.MAX_CACHED_PAGES, 10);
+        commentService.listComments(ORG_ID, CARD_ID, CommentPageCache.MAX_CACHED_PAGES, 10);
+
+        // Then
+        verify(commentRepository, times(2)).selectPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("单张卡片缓存的分页数量有上限")
+    void listComments_boundsCachedPagesPerCard() {
+        // Given
+        mockSingleRootPage();
+        for (int size = 1; size <= CommentPageCache.MAX_PAGES_PER_CARD; size++) {
+            commentService.listComments(ORG_ID, CARD_ID, 0, size);
+        }
+
+        // When
+        int extraSize = CommentPageCache.MAX_PAGES_PER_CARD + 1;
+        commentService.listComments(ORG_ID, CARD_ID, 0, extraSize);
+        commentService.listComments(ORG_ID, CARD_ID, 0, extraSize);
+        commentService.listComments(ORG_ID, CARD_ID, 0, 1);
+
+        // Then
+        verify(commentRepository, times(CommentPageCache.MAX_PAGES_PER_CARD + 2)).selectPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("写入评论后广播变更事件，收到事件的实例失效本地缓存")
+    @SuppressWarnings("unchecked")
+    void invalidate_publishesChangedEventAndEvictsOnReceive() {
+        // Given
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        CommentPageCache writer = new CommentPageCache(new CommentProperties(), kafkaTemplate);
+        CommentPageCache reader = new CommentPageCache(new CommentProperties(), null);
+        CommentListResponse response = new CommentListResponse(List.of(), 0, 0, 10, false);
+        reader.get(ORG_ID, CARD_ID).page(0, 10, response);
+
+        // When
+        writer.invalidate(ORG_ID, CARD_ID, USER_ID);
+
+        // Then
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq("planka-comment-events"), anyString(), event.capture());
+        assertThat(event.getValue()).isInstanceOfSatisfying(CommentsChangedEvent.class, e -> {
+            assertThat(e.getOrgId()).isEqualTo(ORG_ID);
+            assertThat(e.getCardId()).isEqualTo(CARD_ID);
+        });
+
+        new CommentPageCacheEventListener(reader).handleCommentEvent((CommentsChangedEvent) event.getValue());
+        assertThat(reader.get(ORG_ID, CARD_ID).page(0, 10)).isNull();
+    }
+
+    private void mockSingleRootPage() {
+        Page<CommentEntity> page = new Page<>(1, 10);
+        page.setRecords(List.of(createCommentEntity(1L, null)));
+        page.setTotal(1);
+        when(commentRepository.selectPage(any(), any())).thenReturn(page);
+        when(commentRepository.selectList(any())).thenReturn(Collections.emptyList());
+        when(mentionRepository.selectList(any())).thenReturn(Collections.emptyList());
+        when(cardRefRepository.selectList(any())).thenReturn(Collections.emptyList());
+    }
+
     private CommentEntity createCommentEntity(Long id, Long parentId) {
         CommentEntity entity = new CommentEntity();
         entity.setId(id);
@@ -0,0 +1,41 @@
+package cn.planka.config;
+
+import cn.planka.common.feign.InternalSmileDecoder;
+import cn.planka.common.feign.SmileAcceptInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Feign 配置
+ * <p>
+ * 内部调用优先以 Smile 二进制格式接收响应，服务端不支持时回退为 JSON。
+ */
+@Configuration
+public class FeignConfig {
+
+    @Bean
+    public RequestInterceptor smileAcceptInterceptor() {
+        return new SmileAcceptInterceptor();
+    }
+
+    /**
+     * 在默认解码链中加入 Smile 解码
+     */
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers,
+                                ObjectMapper objectMapper) {
+        return new OptionalDecoder(new ResponseEntityDecoder(
+                new InternalSmileDecoder(new SpringDecoder(messageConverters, customizers), objectMapper)));
+    }
+}
@@ -27,5 +27,10 @@ public enum FileCategory {
     /**
      * 描述图片（Tiptap 富文本）
      */
-    DESCRIPTION_IMAGE
+    DESCRIPTION_IMAGE,
+
+    /**
+     * 数据导出文件
+     */
+    EXPORT
 }
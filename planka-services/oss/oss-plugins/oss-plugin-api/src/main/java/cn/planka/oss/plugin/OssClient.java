@@ -1,7 +1,14 @@
 package cn.planka.oss.plugin;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,6 +32,100 @@ public interface OssClient {
      */
     Optional<InputStream> download(String objectKey);
 
+    /**
+     * 把文件的指定区间写入目标通道
+     * <p>
+     * 默认实现跳过前 offset 个字节后按固定缓冲区复制，插件应尽量覆盖为原生的区间读取。
+     *
+     * @param objectKey 对象 Key
+     * @param offset    起始偏移（字节）
+     * @param length    读取长度（字节）
+     * @param target    目标通道
+     * @return 实际写入的字节数
+     * @throws IOException 文件不存在或读写失败
+     */
+    default long transferTo(String objectKey, long offset, long length, WritableByteChannel target) throws IOException {
+        InputStream inputStream = download(objectKey).orElseThrow(() -> new FileNotFoundException(objectKey));
+        try (inputStream) {
+            inputStream.skipNBytes(offset);
+            OutputStream outputStream = Channels.newOutputStream(target);
+            byte[] buffer = new byte[8192];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                outputStream.write(buffer, 0, read);
+                remaining -= read;
+            }
+            return length - remaining;
+        }
+    }
+
+    /**
+     * 获取对象对应的本地文件
+     * <p>
+     * 仅本地文件系统存储返回，服务端可据此让容器直接发送文件（sendfile）。
+     *
+     * @param objectKey 对象 Key
+     * @return 本地文件路径，文件不存在或非本地存储时为空
+     */
+    default Optional<Path> localFile(String objectKey) {
+        return Optional.empty();
+    }
+
+    /**
+     * 初始化分片上传
+     *
+     * @param objectKey   对象 Key
+     * @param contentType 内容类型
+     * @return 分片上传 ID，不支持或失败时为空
+     */
+    default Optional<String> initiateMultipartUpload(String objectKey, String contentType) {
+        return Optional.empty();
+    }
+
+    /**
+     * 上传分片，同一分片号重复上传时覆盖之前的内容
+     *
+     * @param objectKey   对象 Key
+     * @param uploadId    分片上传 ID
+     * @param partNumber  分片号，从 1 开始
+     * @param inputStream 分片内容
+     * @param size        分片大小（字节）
+     * @return 分片 ETag，失败时为空
+     */
+    default Optional<String> uploadPart(String objectKey, String uploadId, int partNumber,
+                                        InputStream inputStream, long size) {
+        return Optional.empty();
+    }
+
+    /**
+     * 按分片号顺序合并分片，生成最终对象
+     *
+     * @param objectKey   对象 Key
+     * @param uploadId    分片上传 ID
+     * @param parts       已上传的分片
+     * @param contentType 内容类型
+     * @return 上传结果
+     */
+    default UploadResult completeMultipartUpload(String objectKey, String uploadId, List<UploadedPart> parts,
+                                                 String contentType) {
+        return UploadResult.failure("当前存储插件不支持分片上传");
+    }
+
+    /**
+     * 取消分片上传并清理已上传的分片
+     *
+     * @param objectKey 对象 Key
+     * @param uploadId  分片上传 ID
+     * @return 是否取消成功
+     */
+    default boolean abortMultipartUpload(String objectKey, String uploadId) {
+        return false;
+    }
+
     /**
      * 删除文件
      *
@@ -62,4 +62,11 @@ public interface OssPlugin {
     default boolean supportsPresignedUrl() {
         return false;
     }
+
+    /**
+     * 是否支持分片上传
+     */
+    default boolean supportsMultipartUpload() {
+        return false;
+    }
 }
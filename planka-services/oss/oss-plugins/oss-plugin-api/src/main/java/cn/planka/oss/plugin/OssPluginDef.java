@@ -39,4 +39,9 @@ public class OssPluginDef {
      * 是否支持预签名 URL
      */
     private final boolean supportsPresignedUrl;
+
+    /**
+     * 是否支持分片上传
+     */
+    private final boolean supportsMultipartUpload;
 }
@@ -0,0 +1,11 @@
+package cn.planka.oss.plugin;
+
+/**
+ * 已上传的分片
+ *
+ * @param partNumber 分片号，从 1 开始
+ * @param etag       上传分片时存储插件返回的 ETag
+ * @param size       分片大小（字节）
+ */
+public record UploadedPart(int partNumber, String etag, long size) {
+}
@@ -4,20 +4,28 @@ import cn.planka.oss.plugin.FileCategory;
 import cn.planka.oss.plugin.OssClient;
 import cn.planka.oss.plugin.UploadRequest;
 import cn.planka.oss.plugin.UploadResult;
+import cn.planka.oss.plugin.UploadedPart;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * 本地文件系统存储客户端
@@ -27,6 +35,11 @@ public class LocalOssClient implements OssClient {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd");
 
+    /**
+     * 分片暂存目录，位于存储根目录下，每个分片上传一个子目录
+     */
+    private static final String MULTIPART_DIR = ".multipart";
+
     private final String basePath;
     private final String baseUrl;
 
@@ -97,6 +110,117 @@ public class LocalOssClient implements OssClient {
         }
     }
 
+    /**
+     * 使用 FileChannel 直接把文件区间传输到目标通道，不经过堆内缓冲区
+     */
+    @Override
+    public long transferTo(String objectKey, long offset, long length, WritableByteChannel target) throws IOException {
+        Path filePath = Paths.get(basePath, objectKey);
+        if (!Files.exists(filePath)) {
+            throw new FileNotFoundException(objectKey);
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long position = offset;
+            long end = Math.min(offset + length, channel.size());
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            return position - offset;
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(String objectKey) {
+        Path filePath = Paths.get(basePath, objectKey);
+        return Files.isRegularFile(filePath) ? Optional.of(filePath) : Optional.empty();
+    }
+
+    @Override
+    public Optional<String> initiateMultipartUpload(String objectKey, String contentType) {
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(multipartDir(uploadId));
+            return Optional.of(uploadId);
+        } catch (IOException e) {
+            log.error("初始化分片上传失败: {}", objectKey, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<String> uploadPart(String objectKey, String uploadId, int partNumber,
+                                       InputStream inputStream, long size) {
+        Path partPath = partPath(uploadId, partNumber);
+        try (inputStream) {
+            if (!Files.isDirectory(partPath.getParent())) {
+                log.warn("分片上传不存在: uploadId={}", uploadId);
+                return Optional.empty();
+            }
+            long written = Files.copy(inputStream, partPath, StandardCopyOption.REPLACE_EXISTING);
+            if (written != size) {
+                Files.deleteIfExists(partPath);
+                log.warn("分片大小不一致: uploadId={}, partNumber={}, expected={}, actual={}",
+                    uploadId, partNumber, size, written);
+                return Optional.empty();
+            }
+            return Optional.of(partPath.getFileName().toString());
+        } catch (IOException e) {
+            log.error("分片上传失败: uploadId={}, partNumber={}", uploadId, partNumber, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 分片先合并到临时文件再移动到目标位置，合并过程中目标对象不可见
+     */
+    @Override
+    public UploadResult completeMultipartUpload(String objectKey, String uploadId, List<UploadedPart> parts,
+                                                String contentType) {
+        Path filePath = Paths.get(basePath, objectKey);
+        Path mergingPath = multipartDir(uploadId).resolve("merging");
+        try {
+            long size = 0;
+            try (FileChannel target = FileChannel.open(mergingPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (UploadedPart part : parts.stream().sorted(Comparator.comparingInt(UploadedPart::partNumber)).toList()) {
+                    try (FileChannel source = FileChannel.open(partPath(uploadId, part.partNumber()), StandardOpenOption.READ)) {
+                        long partSize = source.size();
+                        long position = 0;
+                        while (position < partSize) {
+                            position += source.transferTo(position, partSize - position, target);
+                        }
+                        size += partSize;
+                    }
+                }
+            }
+            Files.createDirectories(filePath.getParent());
+            Files.move(mergingPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+            deleteMultipartDir(uploadId);
+
+            String url = buildUrl(objectKey);
+            log.debug("分片合并成功: objectKey={}, parts={}", objectKey, parts.size());
+            return UploadResult.success(objectKey, url, size, contentType);
+        } catch (IOException e) {
+            log.error("分片合并失败: objectKey={}, uploadId={}", objectKey, uploadId, e);
+            return UploadResult.failure("分片合并失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean abortMultipartUpload(String objectKey, String uploadId) {
+        try {
+            deleteMultipartDir(uploadId);
+            return true;
+        } catch (IOException e) {
+            log.error("取消分片上传失败: uploadId={}", uploadId, e);
+            return false;
+        }
+    }
+
     @Override
     public boolean delete(String objectKey) {
         try {
@@ -130,6 +254,26 @@ public class LocalOssClient implements OssClient {
         return Optional.of(buildUrl(objectKey));
     }
 
+    private Path multipartDir(String uploadId) {
+        return Paths.get(basePath, MULTIPART_DIR, uploadId);
+    }
+
+    private Path partPath(String uploadId, int partNumber) {
+        return multipartDir(uploadId).resolve(partNumber + ".part");
+    }
+
+    private void deleteMultipartDir(String uploadId) throws IOException {
+        Path dir = multipartDir(uploadId);
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
     private String generateObjectKey(UploadRequest request) {
         if (StringUtils.isNotBlank(request.getCustomObjectKey())) {
             return request.getCustomObjectKey();
@@ -150,6 +294,7 @@ public class LocalOssClient implements OssClient {
             case ORG_LOGO -> "logos";
             case COMMENT_IMAGE -> "comments";
             case DESCRIPTION_IMAGE -> "descriptions";
+            case EXPORT -> "exports";
         };
     }
 
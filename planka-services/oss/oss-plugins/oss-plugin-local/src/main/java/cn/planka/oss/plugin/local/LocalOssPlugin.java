@@ -26,6 +26,7 @@ public class LocalOssPlugin implements OssPlugin {
             .version(version())
             .provider(provider())
             .supportsPresignedUrl(false)
+            .supportsMultipartUpload(true)
             .build();
         log.info("本地存储插件初始化完成: basePath={}", properties.getBasePath());
     }
@@ -59,4 +60,9 @@ public class LocalOssPlugin implements OssPlugin {
     public boolean supportsPresignedUrl() {
         return false;
     }
+
+    @Override
+    public boolean supportsMultipartUpload() {
+        return true;
+    }
 }
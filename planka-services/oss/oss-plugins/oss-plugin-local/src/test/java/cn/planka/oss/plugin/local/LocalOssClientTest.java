@@ -3,15 +3,20 @@ package cn.planka.oss.plugin.local;
 import cn.planka.oss.plugin.FileCategory;
 import cn.planka.oss.plugin.UploadRequest;
 import cn.planka.oss.plugin.UploadResult;
+import cn.planka.oss.plugin.UploadedPart;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -182,4 +187,79 @@ class LocalOssClientTest {
         // Then
         assertThat(exists).isFalse();
     }
+
+    @Test
+    void transferTo_range_shouldWriteOnlyRequestedBytes() throws Exception {
+        // Given
+        String content = "0123456789";
+        UploadResult uploaded = client.upload(UploadRequest.builder()
+            .orgId("org-1")
+            .category(FileCategory.ATTACHMENT)
+            .originalName("range.txt")
+            .contentType("text/plain")
+            .size(content.length())
+            .inputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))
+            .build());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long transferred = client.transferTo(uploaded.getObjectKey(), 3, 4, Channels.newChannel(output));
+
+        // Then
+        assertThat(transferred).isEqualTo(4);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("3456");
+    }
+
+    @Test
+    void completeMultipartUpload_shouldMergePartsInOrder() throws Exception {
+        // Given
+        String objectKey = "org-1/attachments/multipart.txt";
+        String uploadId = client.initiateMultipartUpload(objectKey, "text/plain").orElseThrow();
+        String etag2 = client.uploadPart(objectKey, uploadId, 2, part("World"), 5).orElseThrow();
+        String etag1 = client.uploadPart(objectKey, uploadId, 1, part("Hello, "), 7).orElseThrow();
+
+        // When
+        UploadResult result = client.completeMultipartUpload(objectKey, uploadId, List.of(
+            new UploadedPart(2, etag2, 5),
+            new UploadedPart(1, etag1, 7)), "text/plain");
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getSize()).isEqualTo(12);
+        assertThat(Files.readString(tempDir.resolve(objectKey))).isEqualTo("Hello, World");
+        assertThat(tempDir.resolve(".multipart").resolve(uploadId)).doesNotExist();
+    }
+
+    @Test
+    void uploadPart_sizeMismatch_shouldReturnEmpty() {
+        // Given
+        String objectKey = "org-1/attachments/mismatch.txt";
+        String uploadId = client.initiateMultipartUpload(objectKey, "text/plain").orElseThrow();
+
+        // When
+        var etag = client.uploadPart(objectKey, uploadId, 1, part("short"), 10);
+
+        // Then
+        assertThat(etag).isEmpty();
+    }
+
+    @Test
+    void abortMultipartUpload_shouldRemoveParts() {
+        // Given
+        String objectKey = "org-1/attachments/abort.txt";
+        String uploadId = client.initiateMultipartUpload(objectKey, "text/plain").orElseThrow();
+        client.uploadPart(objectKey, uploadId, 1, part("data"), 4);
+
+        // When
+        boolean aborted = client.abortMultipartUpload(objectKey, uploadId);
+
+        // Then
+        assertThat(aborted).isTrue();
+        assertThat(tempDir.resolve(".multipart").resolve(uploadId)).doesNotExist();
+        assertThat(client.exists(objectKey)).isFalse();
+    }
+
+    private static InputStream part(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
 }
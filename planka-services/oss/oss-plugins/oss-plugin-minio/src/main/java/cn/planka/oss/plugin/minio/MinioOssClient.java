@@ -4,15 +4,26 @@ import cn.planka.oss.plugin.FileCategory;
 import cn.planka.oss.plugin.OssClient;
 import cn.planka.oss.plugin.UploadRequest;
 import cn.planka.oss.plugin.UploadResult;
+import cn.planka.oss.plugin.UploadedPart;
 import io.minio.*;
 import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -25,6 +36,11 @@ public class MinioOssClient implements OssClient {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd");
 
+    /**
+     * 分片暂存对象前缀，每个分片上传一个子前缀
+     */
+    private static final String MULTIPART_PREFIX = ".multipart/";
+
     private final MinioClient minioClient;
     private final String bucket;
     private final String endpoint;
@@ -94,6 +110,95 @@ public class MinioOssClient implements OssClient {
         }
     }
 
+    /**
+     * 使用 GetObject 的 offset/length 只读取请求的区间
+     */
+    @Override
+    public long transferTo(String objectKey, long offset, long length, WritableByteChannel target) throws IOException {
+        try (InputStream inputStream = minioClient.getObject(GetObjectArgs.builder()
+            .bucket(bucket)
+            .object(objectKey)
+            .offset(offset)
+            .length(length)
+            .build())) {
+            return inputStream.transferTo(Channels.newOutputStream(target));
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("文件读取失败: " + objectKey, e);
+        }
+    }
+
+    @Override
+    public Optional<String> initiateMultipartUpload(String objectKey, String contentType) {
+        return Optional.of(UUID.randomUUID().toString());
+    }
+
+    /**
+     * 每个分片作为独立的暂存对象上传，合并时使用服务端 compose，分片数据不经过本服务
+     */
+    @Override
+    public Optional<String> uploadPart(String objectKey, String uploadId, int partNumber,
+                                       InputStream inputStream, long size) {
+        try (inputStream) {
+            ObjectWriteResponse response = minioClient.putObject(PutObjectArgs.builder()
+                .bucket(bucket)
+                .object(partObjectKey(uploadId, partNumber))
+                .stream(inputStream, size, -1)
+                .build());
+            return Optional.ofNullable(response.etag());
+        } catch (Exception e) {
+            log.error("分片上传失败: uploadId={}, partNumber={}", uploadId, partNumber, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * compose 要求除最后一个分片外每个分片不小于 5MB
+     */
+    @Override
+    public UploadResult completeMultipartUpload(String objectKey, String uploadId, List<UploadedPart> parts,
+                                                String contentType) {
+        List<UploadedPart> sortedParts = parts.stream()
+            .sorted(Comparator.comparingInt(UploadedPart::partNumber))
+            .toList();
+        List<ComposeSource> sources = sortedParts.stream()
+            .map(part -> ComposeSource.builder()
+                .bucket(bucket)
+                .object(partObjectKey(uploadId, part.partNumber()))
+                .build())
+            .toList();
+        try {
+            ComposeObjectArgs.Builder builder = ComposeObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectKey)
+                .sources(sources);
+            if (StringUtils.isNotBlank(contentType)) {
+                builder.headers(Map.of("Content-Type", contentType));
+            }
+            minioClient.composeObject(builder.build());
+            removePartObjects(uploadId);
+
+            long size = sortedParts.stream().mapToLong(UploadedPart::size).sum();
+            log.debug("分片合并成功: objectKey={}, parts={}", objectKey, parts.size());
+            return UploadResult.success(objectKey, buildUrl(objectKey), size, contentType);
+        } catch (Exception e) {
+            log.error("分片合并失败: objectKey={}, uploadId={}", objectKey, uploadId, e);
+            return UploadResult.failure("分片合并失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean abortMultipartUpload(String objectKey, String uploadId) {
+        try {
+            removePartObjects(uploadId);
+            return true;
+        } catch (Exception e) {
+            log.error("取消分片上传失败: uploadId={}", uploadId, e);
+            return false;
+        }
+    }
+
     @Override
     public boolean delete(String objectKey) {
         try {
@@ -154,6 +259,32 @@ public class MinioOssClient implements OssClient {
         }
     }
 
+    private String partObjectKey(String uploadId, int partNumber) {
+        return MULTIPART_PREFIX + uploadId + "/" + partNumber;
+    }
+
+    private void removePartObjects(String uploadId) throws Exception {
+        List<DeleteObject> objects = new ArrayList<>();
+        for (Result<Item> item : minioClient.listObjects(ListObjectsArgs.builder()
+            .bucket(bucket)
+            .prefix(MULTIPART_PREFIX + uploadId + "/")
+            .recursive(true)
+            .build())) {
+            objects.add(new DeleteObject(item.get().objectName()));
+        }
+        if (objects.isEmpty()) {
+            return;
+        }
+        // removeObjects 惰性执行，需要遍历结果才会真正删除
+        for (Result<DeleteError> result : minioClient.removeObjects(RemoveObjectsArgs.builder()
+            .bucket(bucket)
+            .objects(objects)
+            .build())) {
+            DeleteError error = result.get();
+            log.warn("删除分片失败: object={}, message={}", error.objectName(), error.message());
+        }
+    }
+
     private String generateObjectKey(UploadRequest request) {
         if (StringUtils.isNotBlank(request.getCustomObjectKey())) {
             return request.getCustomObjectKey();
@@ -174,6 +305,7 @@ public class MinioOssClient implements OssClient {
             case ORG_LOGO -> "logos";
             case COMMENT_IMAGE -> "comments";
             case DESCRIPTION_IMAGE -> "descriptions";
+            case EXPORT -> "exports";
         };
     }
 
@@ -26,6 +26,7 @@ public class MinioOssPlugin implements OssPlugin {
             .version(version())
             .provider(provider())
             .supportsPresignedUrl(true)
+            .supportsMultipartUpload(true)
             .build();
         log.info("MinIO 存储插件初始化完成: endpoint={}, bucket={}",
             properties.getEndpoint(), properties.getBucket());
@@ -60,4 +61,9 @@ public class MinioOssPlugin implements OssPlugin {
     public boolean supportsPresignedUrl() {
         return true;
     }
+
+    @Override
+    public boolean supportsMultipartUpload() {
+        return true;
+    }
 }
@@ -23,4 +23,64 @@ public class OssProperties {
      * 最大文件大小 (MB)
      */
     private int maxFileSize = 100;
+
+    /**
+     * 分片上传配置
+     */
+    private UploadSession uploadSession = new UploadSession();
+
+    /**
+     * 缩略图配置
+     */
+    private Thumbnail thumbnail = new Thumbnail();
+
+    @Getter
+    @Setter
+    public static class UploadSession {
+
+        /**
+         * 分片大小 (MB)，MinIO 合并分片要求除最后一个分片外不小于 5MB
+         */
+        private int partSize = 8;
+
+        /**
+         * 分片上传允许的最大文件大小 (MB)
+         */
+        private int maxFileSize = 10240;
+
+        /**
+         * 会话有效期（小时），过期后未完成的会话会被取消并清理分片
+         */
+        private int expireHours = 24;
+    }
+
+    @Getter
+    @Setter
+    public static class Thumbnail {
+
+        /**
+         * 缩略图本地缓存目录
+         */
+        private String cacheDir = "~/planka-data/oss-thumbnails";
+
+        /**
+         * 生成缩略图的工作线程数
+         */
+        private int workerThreads = 2;
+
+        /**
+         * 等待生成的任务队列长度，队列满时放弃本次生成，下次访问时重新提交
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * 生成缩略图的原图大小上限 (MB)，超过时直接返回原图
+         */
+        private int maxSourceSize = 20;
+
+        /**
+         * 生成缩略图的原图像素上限（百万像素），防止解码超大图片
+         */
+        private int maxSourceMegapixels = 100;
+    }
 }
@@ -2,25 +2,38 @@ package cn.planka.oss.controller;
 
 import cn.planka.common.result.Result;
 import cn.planka.oss.plugin.FileCategory;
+import cn.planka.oss.service.FileContent;
 import cn.planka.oss.service.FileService;
+import cn.planka.oss.service.ThumbnailSize;
 import cn.planka.oss.api.dto.DownloadUrlResponse;
 import cn.planka.oss.api.dto.FileDTO;
 import cn.planka.oss.api.dto.PresignedUploadRequest;
 import cn.planka.oss.api.dto.PresignedUploadResponse;
-import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.InputStreamResource;
+import org.apache.catalina.Globals;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.InputStream;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 
@@ -94,25 +107,41 @@ public class FileController {
     }
 
     /**
-     * 获取文件内容（用于图片等资源的直接访问）
+     * 获取文件内容（用于图片等资源的直接访问），支持 Range 请求
      */
     @GetMapping("/{fileId}/content")
-    public ResponseEntity<?> getContent(@PathVariable String fileId) {
-        Optional<FileDTO> fileOpt = fileService.getFile(fileId);
-        if (fileOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<StreamingResponseBody> getContent(@PathVariable String fileId,
+                                                            HttpServletRequest request,
+                                                            ServletWebRequest webRequest) {
+        return serveContent(fileId, false, request, webRequest);
+    }
 
-        Optional<InputStream> inputStreamOpt = fileService.download(fileId);
-        if (inputStreamOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    /**
+     * 获取图片缩略图
+     * <p>
+     * 缩略图在后台生成，尚未生成或不支持生成时返回原图内容，客户端无需区分。
+     */
+    @GetMapping("/{fileId}/thumbnail")
+    public ResponseEntity<StreamingResponseBody> getThumbnail(@PathVariable String fileId,
+                                                              @RequestParam(defaultValue = "SMALL") ThumbnailSize size,
+                                                              HttpServletRequest request,
+                                                              ServletWebRequest webRequest) {
+        Optional<Path> thumbnail = fileService.getThumbnail(fileId, size);
+        if (thumbnail.isEmpty()) {
+            return serveContent(fileId, false, request, webRequest);
         }
 
-        FileDTO file = fileOpt.get();
+        // 缩略图由内容决定，同一文件的缩略图不会变化
+        String etag = "\"" + fileId + "-" + size.name().toLowerCase() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        Path path = thumbnail.get();
         return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(file.getContentType()))
-            .contentLength(file.getSize())
-            .body(new InputStreamResource(inputStreamOpt.get()));
+            .contentType(MediaType.IMAGE_JPEG)
+            .eTag(etag)
+            .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate())
+            .body(outputStream -> Files.copy(path, outputStream));
     }
 
     /**
@@ -129,28 +158,13 @@ public class FileController {
     }
 
     /**
-     * 下载文件
+     * 下载文件，支持 Range 请求断点续传
      */
     @GetMapping("/{fileId}/download")
-    public ResponseEntity<?> download(@PathVariable String fileId, HttpServletResponse response) {
-        Optional<FileDTO> fileOpt = fileService.getFile(fileId);
-        if (fileOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-
-        Optional<InputStream> inputStreamOpt = fileService.download(fileId);
-        if (inputStreamOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-
-        FileDTO file = fileOpt.get();
-        String encodedFileName = URLEncoder.encode(file.getOriginalName(), StandardCharsets.UTF_8);
-
-        return ResponseEntity.ok()
-            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFileName)
-            .contentType(MediaType.parseMediaType(file.getContentType()))
-            .contentLength(file.getSize())
-            .body(new InputStreamResource(inputStreamOpt.get()));
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable String fileId,
+                                                          HttpServletRequest request,
+                                                          ServletWebRequest webRequest) {
+        return serveContent(fileId, true, request, webRequest);
     }
 
     /**
@@ -164,4 +178,113 @@ public class FileController {
         }
         return Result.failure("FILE_DELETE_FAILED", "文件不存在或删除失败");
     }
+
+    /**
+     * 输出文件内容
+     * <p>
+     * 支持单个区间的 Range 请求（206），区间不满足时返回 416；If-Range 与 ETag 或 Last-Modified 不匹配时返回完整内容。
+     * 本地存储且容器支持 sendfile 时由容器直接发送文件，不占用请求线程；
+     * 其他情况在异步线程中通过存储插件的区间读取写出，内存占用与文件大小无关。
+     */
+    private ResponseEntity<StreamingResponseBody> serveContent(String fileId, boolean attachment,
+                                                               HttpServletRequest request,
+                                                               ServletWebRequest webRequest) {
+        Optional<FileContent> contentOpt = fileService.openContent(fileId);
+        if (contentOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        FileContent content = contentOpt.get();
+        FileDTO file = content.file();
+
+        // 文件内容上传后不再变化，文件 ID 即可作为强 ETag
+        String etag = "\"" + file.getId() + "\"";
+        long lastModified = file.getCreatedAt() != null
+            ? file.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : -1;
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            // 304 或 412 已写入响应
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(file.getContentType() != null
+            ? MediaType.parseMediaType(file.getContentType())
+            : MediaType.APPLICATION_OCTET_STREAM);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setETag(etag);
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        if (attachment) {
+            String encodedFileName = URLEncoder.encode(file.getOriginalName(), StandardCharsets.UTF_8);
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFileName);
+        }
+
+        long size = file.getSize();
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                // 无法解析的 Range 按规范忽略
+                ranges = List.of();
+            }
+            // 多区间（multipart/byteranges）不支持，返回完整内容
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(size);
+                    end = range.getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+                }
+                status = HttpStatus.PARTIAL_CONTENT;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+        headers.setContentLength(length);
+
+        if (length > 0 && "GET".equals(request.getMethod())
+            && Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            Optional<Path> localFile = content.localFile();
+            if (localFile.isPresent()) {
+                // 结束位置不包含在内
+                request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, localFile.get().toAbsolutePath().toString());
+                request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+                request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, end + 1);
+                return ResponseEntity.status(status).headers(headers).build();
+            }
+        }
+
+        long offset = start;
+        StreamingResponseBody body = outputStream -> content.transferTo(offset, length, Channels.newChannel(outputStream));
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    /**
+     * If-Range 为空，或与当前 ETag / Last-Modified 一致时才按区间返回
+     */
+    private boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(etag);
+        }
+        try {
+            // HTTP 日期精确到秒
+            long date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified >= 0 && date == lastModified / 1000 * 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
 }
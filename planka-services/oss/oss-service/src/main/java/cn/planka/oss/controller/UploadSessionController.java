@@ -0,0 +1,80 @@
+package cn.planka.oss.controller;
+
+import cn.planka.common.result.Result;
+import cn.planka.oss.api.dto.FileDTO;
+import cn.planka.oss.api.dto.UploadPartDTO;
+import cn.planka.oss.api.dto.UploadSessionCreateRequest;
+import cn.planka.oss.api.dto.UploadSessionDTO;
+import cn.planka.oss.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 分片上传会话 Controller
+ * <p>
+ * 流程：创建会话 → 按 partSize 切分后逐片 PUT（请求头携带分片 SHA-256）→ 合并；
+ * 中断后查询会话，只补传 uploadedParts 中缺少的分片。
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/files/upload-sessions")
+@RequiredArgsConstructor
+public class UploadSessionController {
+
+    /**
+     * 分片校验和请求头，值为分片内容的 SHA-256（十六进制）
+     */
+    public static final String CHECKSUM_HEADER = "X-Checksum-SHA256";
+
+    private final UploadSessionService uploadSessionService;
+
+    /**
+     * 创建分片上传会话
+     */
+    @PostMapping
+    public Result<UploadSessionDTO> create(@Valid @RequestBody UploadSessionCreateRequest request) {
+        return uploadSessionService.create(request);
+    }
+
+    /**
+     * 查询会话及已上传的分片
+     */
+    @GetMapping("/{sessionId}")
+    public Result<UploadSessionDTO> get(@PathVariable String sessionId) {
+        return uploadSessionService.get(sessionId);
+    }
+
+    /**
+     * 上传分片，请求体为分片的原始字节，直接从请求流写入存储插件
+     */
+    @PutMapping("/{sessionId}/parts/{partNumber}")
+    public Result<UploadPartDTO> uploadPart(
+        @PathVariable String sessionId,
+        @PathVariable int partNumber,
+        @RequestHeader(CHECKSUM_HEADER) String checksum,
+        HttpServletRequest request) throws IOException {
+
+        return uploadSessionService.uploadPart(sessionId, partNumber, request.getInputStream(), checksum);
+    }
+
+    /**
+     * 合并分片并生成文件
+     */
+    @PostMapping("/{sessionId}/complete")
+    public Result<FileDTO> complete(@PathVariable String sessionId) {
+        return uploadSessionService.complete(sessionId);
+    }
+
+    /**
+     * 取消会话
+     */
+    @DeleteMapping("/{sessionId}")
+    public Result<Boolean> abort(@PathVariable String sessionId) {
+        return uploadSessionService.abort(sessionId);
+    }
+}
@@ -0,0 +1,45 @@
+package cn.planka.oss.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文件内容实体
+ * <p>
+ * 同一组织、同一存储插件内内容相同的文件共用一个存储对象，按引用数回收。
+ */
+@Data
+@TableName("sys_file_blob")
+public class FileBlob {
+
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    private String orgId;
+
+    private String storagePlugin;
+
+    /**
+     * 内容 SHA-256（十六进制）
+     */
+    private String contentHash;
+
+    private String objectKey;
+
+    private String url;
+
+    private Long size;
+
+    private String contentType;
+
+    /**
+     * 引用该对象的文件元数据数量
+     */
+    private Integer refCount;
+
+    private LocalDateTime createdAt;
+}
@@ -41,5 +41,10 @@ public class FileMeta {
 
     private String storagePlugin;
 
+    /**
+     * 内容 SHA-256，为空表示独占存储对象（历史数据或分片上传），删除时直接删除对象
+     */
+    private String contentHash;
+
     private LocalDateTime createdAt;
 }
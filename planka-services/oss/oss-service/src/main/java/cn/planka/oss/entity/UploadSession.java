@@ -0,0 +1,65 @@
+package cn.planka.oss.entity;
+
+import cn.planka.oss.api.dto.UploadSessionStatus;
+import cn.planka.oss.plugin.FileCategory;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 分片上传会话实体
+ */
+@Data
+@TableName("sys_upload_session")
+public class UploadSession {
+
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    private String orgId;
+
+    /**
+     * 操作者 ID（当前用户在当前组织对应的成员卡 ID，即当前成员 ID，不是用户 ID）
+     */
+    private String operatorId;
+
+    @TableField("category")
+    private FileCategory category;
+
+    private String originalName;
+
+    private String contentType;
+
+    private Long totalSize;
+
+    /**
+     * 分片大小（字节），最后一个分片可以更小
+     */
+    private Long partSize;
+
+    private Integer partCount;
+
+    private String objectKey;
+
+    private String storagePlugin;
+
+    /**
+     * 存储插件返回的分片上传 ID
+     */
+    private String pluginUploadId;
+
+    private UploadSessionStatus status;
+
+    /**
+     * 完成后生成的文件 ID
+     */
+    private String fileId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,34 @@
+package cn.planka.oss.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 分片上传分片实体，只记录校验通过的分片
+ */
+@Data
+@TableName("sys_upload_session_part")
+public class UploadSessionPart {
+
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    private String sessionId;
+
+    private Integer partNumber;
+
+    private Long size;
+
+    /**
+     * 分片 SHA-256 校验和（十六进制）
+     */
+    private String checksum;
+
+    private String etag;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package cn.planka.oss.repository;
+
+import cn.planka.oss.entity.FileBlob;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 文件内容 Repository
+ */
+@Mapper
+public interface FileBlobRepository extends BaseMapper<FileBlob> {
+
+    /**
+     * 增加引用，引用数已归零（即将被回收）的内容不再复用
+     *
+     * @return 更新行数
+     */
+    @Update("UPDATE sys_file_blob SET ref_count = ref_count + 1 WHERE id = #{id} AND ref_count > 0")
+    int incrementRefCount(@Param("id") String id);
+
+    /**
+     * 减少引用
+     *
+     * @return 更新行数
+     */
+    @Update("UPDATE sys_file_blob SET ref_count = ref_count - 1 WHERE id = #{id} AND ref_count > 0")
+    int decrementRefCount(@Param("id") String id);
+
+    /**
+     * 删除引用数为零的内容
+     *
+     * @return 删除行数，为 1 时由调用方删除存储对象
+     */
+    @Delete("DELETE FROM sys_file_blob WHERE id = #{id} AND ref_count = 0")
+    int deleteIfUnreferenced(@Param("id") String id);
+}
@@ -0,0 +1,24 @@
+package cn.planka.oss.repository;
+
+import cn.planka.oss.entity.UploadSessionPart;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 分片上传分片 Repository
+ */
+@Mapper
+public interface UploadSessionPartRepository extends BaseMapper<UploadSessionPart> {
+
+    /**
+     * 记录分片，同一分片已有记录时覆盖（同一分片并发上传时以最后写入的为准）
+     *
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO sys_upload_session_part (id, session_id, part_number, size, checksum, etag, created_at) " +
+            "VALUES (#{id}, #{sessionId}, #{partNumber}, #{size}, #{checksum}, #{etag}, #{createdAt}) " +
+            "ON DUPLICATE KEY UPDATE size = VALUES(size), checksum = VALUES(checksum), " +
+            "etag = VALUES(etag), created_at = VALUES(created_at)")
+    int upsert(UploadSessionPart part);
+}
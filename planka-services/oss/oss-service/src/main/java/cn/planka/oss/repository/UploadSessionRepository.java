@@ -0,0 +1,23 @@
+package cn.planka.oss.repository;
+
+import cn.planka.oss.entity.UploadSession;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 分片上传会话 Repository
+ */
+@Mapper
+public interface UploadSessionRepository extends BaseMapper<UploadSession> {
+
+    /**
+     * 认领完成：仍在上传中的会话标记为已完成
+     *
+     * @return 更新行数，为 0 表示会话已被其他请求完成或已取消
+     */
+    @Update("UPDATE sys_upload_session SET status = 'COMPLETED', file_id = #{fileId} " +
+            "WHERE id = #{id} AND status = 'UPLOADING'")
+    int markCompleted(@Param("id") String id, @Param("fileId") String fileId);
+}
@@ -0,0 +1,146 @@
+package cn.planka.oss.service;
+
+import cn.planka.oss.entity.FileBlob;
+import cn.planka.oss.entity.FileMeta;
+import cn.planka.oss.plugin.OssPlugin;
+import cn.planka.oss.plugin.UploadRequest;
+import cn.planka.oss.plugin.UploadResult;
+import cn.planka.oss.repository.FileBlobRepository;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 内容寻址的文件存储
+ * <p>
+ * 上传时计算内容 SHA-256，同一组织、同一存储插件内已存在相同内容时只增加引用数，不再写入存储；
+ * 删除文件时减少引用数，归零后才删除存储对象和缩略图。
+ * 并发上传相同的新内容时，只有一个上传者登记成功，其他上传者的对象作为独占对象保存，不参与去重。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileBlobService {
+
+    private final FileBlobRepository fileBlobRepository;
+    private final ThumbnailService thumbnailService;
+
+    /**
+     * 存储文件内容
+     *
+     * @param plugin  存储插件
+     * @param request 上传请求，输入流由 content 提供
+     * @param content 打开文件内容，计算哈希和写入存储时各读取一次
+     * @return 存储结果，contentHash 为空表示作为独占对象保存
+     */
+    public StoredBlob store(OssPlugin plugin, UploadRequest request, InputStreamSource content) throws IOException {
+        String contentHash = sha256(content);
+
+        FileBlob existing = findBlob(request.getOrgId(), plugin.pluginId(), contentHash);
+        if (existing != null && fileBlobRepository.incrementRefCount(existing.getId()) == 1) {
+            log.debug("复用已有内容: hash={}, objectKey={}", contentHash, existing.getObjectKey());
+            return new StoredBlob(contentHash, UploadResult.success(
+                existing.getObjectKey(), existing.getUrl(), existing.getSize(), request.getContentType()));
+        }
+
+        UploadResult result;
+        try (InputStream inputStream = content.getInputStream()) {
+            result = plugin.getClient().upload(UploadRequest.builder()
+                .orgId(request.getOrgId())
+                .operatorId(request.getOperatorId())
+                .category(request.getCategory())
+                .originalName(request.getOriginalName())
+                .contentType(request.getContentType())
+                .size(request.getSize())
+                .inputStream(inputStream)
+                .customObjectKey(request.getCustomObjectKey())
+                .build());
+        }
+        if (!result.isSuccess()) {
+            return new StoredBlob(null, result);
+        }
+
+        FileBlob blob = new FileBlob();
+        blob.setId(UUID.randomUUID().toString());
+        blob.setOrgId(request.getOrgId());
+        blob.setStoragePlugin(plugin.pluginId());
+        blob.setContentHash(contentHash);
+        blob.setObjectKey(result.getObjectKey());
+        blob.setUrl(result.getUrl());
+        blob.setSize(result.getSize());
+        blob.setContentType(result.getContentType());
+        blob.setRefCount(1);
+        blob.setCreatedAt(LocalDateTime.now());
+        try {
+            fileBlobRepository.insert(blob);
+        } catch (DuplicateKeyException e) {
+            log.debug("相同内容已被并发登记，作为独占对象保存: hash={}", contentHash);
+            return new StoredBlob(null, result);
+        }
+        return new StoredBlob(contentHash, result);
+    }
+
+    /**
+     * 释放文件对内容的引用，最后一个引用释放时删除存储对象
+     *
+     * @return 是否释放成功
+     */
+    public boolean release(OssPlugin plugin, FileMeta fileMeta) {
+        FileBlob blob = findBlob(fileMeta.getOrgId(), fileMeta.getStoragePlugin(), fileMeta.getContentHash());
+        if (blob == null) {
+            log.warn("文件内容不存在，直接删除对象: fileId={}, hash={}", fileMeta.getId(), fileMeta.getContentHash());
+            return plugin.getClient().delete(fileMeta.getObjectKey());
+        }
+
+        fileBlobRepository.decrementRefCount(blob.getId());
+        if (fileBlobRepository.deleteIfUnreferenced(blob.getId()) == 1) {
+            if (!plugin.getClient().delete(blob.getObjectKey())) {
+                log.warn("删除存储对象失败: objectKey={}", blob.getObjectKey());
+            }
+            thumbnailService.evict(blob.getContentHash());
+        }
+        return true;
+    }
+
+    private FileBlob findBlob(String orgId, String storagePlugin, String contentHash) {
+        return fileBlobRepository.selectOne(new LambdaQueryWrapper<FileBlob>()
+            .eq(FileBlob::getOrgId, orgId)
+            .eq(FileBlob::getStoragePlugin, storagePlugin)
+            .eq(FileBlob::getContentHash, contentHash));
+    }
+
+    private static String sha256(InputStreamSource content) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+        try (InputStream in = new DigestInputStream(content.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 存储结果
+     *
+     * @param contentHash 内容哈希，为空表示独占对象
+     * @param result      上传结果
+     */
+    public record StoredBlob(String contentHash, UploadResult result) {
+    }
+}
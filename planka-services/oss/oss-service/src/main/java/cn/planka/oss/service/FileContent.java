@@ -0,0 +1,33 @@
+package cn.planka.oss.service;
+
+import cn.planka.oss.api.dto.FileDTO;
+import cn.planka.oss.plugin.OssClient;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 可区间读取的文件内容
+ *
+ * @param file      文件信息
+ * @param client    文件所在插件的存储客户端
+ * @param objectKey 对象 Key
+ */
+public record FileContent(FileDTO file, OssClient client, String objectKey) {
+
+    /**
+     * 文件对应的本地文件，仅本地存储存在
+     */
+    public Optional<Path> localFile() {
+        return client.localFile(objectKey);
+    }
+
+    /**
+     * 把文件的指定区间写入目标通道
+     */
+    public long transferTo(long offset, long length, WritableByteChannel target) throws IOException {
+        return client.transferTo(objectKey, offset, length, target);
+    }
+}
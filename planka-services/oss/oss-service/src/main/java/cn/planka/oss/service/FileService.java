@@ -19,6 +19,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -36,9 +37,11 @@ public class FileService {
     private final OssPluginRegistry pluginRegistry;
     private final OssProperties ossProperties;
     private final FileMetaRepository fileMetaRepository;
+    private final FileBlobService fileBlobService;
+    private final ThumbnailService thumbnailService;
 
     /**
-     * 上传文件
+     * 上传文件，同一组织内内容相同的文件共用存储对象
      *
      * @param file       文件
      * @param orgId      组织 ID
@@ -57,31 +60,17 @@ public class FileService {
                 .originalName(file.getOriginalFilename())
                 .contentType(file.getContentType())
                 .size(file.getSize())
-                .inputStream(file.getInputStream())
                 .build();
 
-            UploadResult result = plugin.getClient().upload(request);
+            FileBlobService.StoredBlob stored = fileBlobService.store(plugin, request, file);
+            UploadResult result = stored.result();
 
             if (!result.isSuccess()) {
                 throw new RuntimeException(result.getErrorMessage());
             }
 
-            FileMeta fileMeta = new FileMeta();
-            fileMeta.setId(UUID.randomUUID().toString());
-            fileMeta.setOrgId(orgId);
-            fileMeta.setOperatorId(operatorId);
-            fileMeta.setCategory(category);
-            fileMeta.setOriginalName(file.getOriginalFilename());
-            fileMeta.setObjectKey(result.getObjectKey());
-            fileMeta.setUrl(result.getUrl());
-            fileMeta.setSize(result.getSize());
-            fileMeta.setContentType(result.getContentType());
-            fileMeta.setStoragePlugin(plugin.pluginId());
-            fileMeta.setCreatedAt(LocalDateTime.now());
-
-            fileMetaRepository.insert(fileMeta);
-
-            return toDTO(fileMeta);
+            return saveFileMeta(plugin, orgId, operatorId, category, file.getOriginalFilename(), result,
+                stored.contentHash());
         } catch (IOException e) {
             log.error("文件上传失败: {}", file.getOriginalFilename(), e);
             throw new RuntimeException("文件上传失败", e);
@@ -129,6 +118,37 @@ public class FileService {
         return plugin.getClient().download(fileMeta.getObjectKey());
     }
 
+    /**
+     * 打开文件内容，用于区间读取
+     */
+    public Optional<FileContent> openContent(String fileId) {
+        FileMeta fileMeta = fileMetaRepository.selectById(fileId);
+        if (fileMeta == null) {
+            return Optional.empty();
+        }
+
+        OssPlugin plugin = pluginRegistry.getPlugin(fileMeta.getStoragePlugin())
+            .orElseThrow(() -> new RuntimeException("存储插件不存在: " + fileMeta.getStoragePlugin()));
+
+        return Optional.of(new FileContent(toDTO(fileMeta), plugin.getClient(), fileMeta.getObjectKey()));
+    }
+
+    /**
+     * 获取缩略图，尚未生成时提交后台生成并返回空
+     */
+    public Optional<Path> getThumbnail(String fileId, ThumbnailSize size) {
+        FileMeta fileMeta = fileMetaRepository.selectById(fileId);
+        if (fileMeta == null) {
+            return Optional.empty();
+        }
+
+        OssPlugin plugin = pluginRegistry.getPlugin(fileMeta.getStoragePlugin())
+            .orElseThrow(() -> new RuntimeException("存储插件不存在: " + fileMeta.getStoragePlugin()));
+
+        return thumbnailService.getOrSchedule(fileMeta, size,
+            () -> plugin.getClient().download(fileMeta.getObjectKey()));
+    }
+
     /**
      * 获取下载 URL
      */
@@ -161,7 +181,13 @@ public class FileService {
         OssPlugin plugin = pluginRegistry.getPlugin(fileMeta.getStoragePlugin())
             .orElseThrow(() -> new RuntimeException("存储插件不存在: " + fileMeta.getStoragePlugin()));
 
-        boolean deleted = plugin.getClient().delete(fileMeta.getObjectKey());
+        boolean deleted;
+        if (fileMeta.getContentHash() != null) {
+            deleted = fileBlobService.release(plugin, fileMeta);
+        } else {
+            deleted = plugin.getClient().delete(fileMeta.getObjectKey());
+            thumbnailService.evict(ThumbnailService.cacheKey(fileMeta));
+        }
         if (deleted) {
             fileMetaRepository.deleteById(fileId);
         }
@@ -190,18 +216,46 @@ public class FileService {
                 .build());
     }
 
-    private OssPlugin getActivePlugin() {
+    /**
+     * 保存上传成功的文件元数据，图片同时提交缩略图生成
+     *
+     * @param contentHash 内容哈希，为空表示独占存储对象
+     */
+    FileDTO saveFileMeta(OssPlugin plugin, String orgId, String operatorId, FileCategory category,
+                         String originalName, UploadResult result, String contentHash) {
+        FileMeta fileMeta = new FileMeta();
+        fileMeta.setId(UUID.randomUUID().toString());
+        fileMeta.setOrgId(orgId);
+        fileMeta.setOperatorId(operatorId);
+        fileMeta.setCategory(category);
+        fileMeta.setOriginalName(originalName);
+        fileMeta.setObjectKey(result.getObjectKey());
+        fileMeta.setUrl(result.getUrl());
+        fileMeta.setSize(result.getSize());
+        fileMeta.setContentType(result.getContentType());
+        fileMeta.setStoragePlugin(plugin.pluginId());
+        fileMeta.setContentHash(contentHash);
+        fileMeta.setCreatedAt(LocalDateTime.now());
+
+        fileMetaRepository.insert(fileMeta);
+
+        thumbnailService.schedule(fileMeta, () -> plugin.getClient().download(result.getObjectKey()));
+        return toDTO(fileMeta);
+    }
+
+    OssPlugin getActivePlugin() {
         return pluginRegistry.getPlugin(ossProperties.getActivePlugin())
             .orElseThrow(() -> new RuntimeException("存储插件不存在: " + ossProperties.getActivePlugin()));
     }
 
-    private String generateObjectKey(String orgId, FileCategory category, String fileName) {
+    String generateObjectKey(String orgId, FileCategory category, String fileName) {
         String categoryPath = switch (category) {
             case ATTACHMENT -> "attachments";
             case AVATAR -> "avatars";
             case ORG_LOGO -> "logos";
             case COMMENT_IMAGE -> "comments";
             case DESCRIPTION_IMAGE -> "descriptions";
+            case EXPORT -> "exports";
         };
         String uuid = UUID.randomUUID().toString();
         String extension = getFileExtension(fileName);
@@ -231,6 +285,9 @@ public class FileService {
             .url(contentUrl)
             .size(fileMeta.getSize())
             .contentType(fileMeta.getContentType())
+            .thumbnailUrl(ThumbnailService.supports(fileMeta.getContentType())
+                ? "/api/v1/files/" + fileMeta.getId() + "/thumbnail"
+                : null)
             .createdAt(fileMeta.getCreatedAt())
             .build();
     }
@@ -0,0 +1,343 @@
+package cn.planka.oss.service;
+
+import cn.planka.oss.config.OssProperties;
+import cn.planka.oss.entity.FileMeta;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 缩略图服务
+ * <p>
+ * 图片的固定尺寸缩略图在后台线程中生成，缓存在本地目录，看板封面等场景只需下载几十 KB 的缩略图。
+ * <ul>
+ *   <li>缓存按内容哈希命名，内容相同的文件共用缩略图；没有内容哈希的文件按文件 ID 命名</li>
+ *   <li>一次解码生成所有尺寸，解码时按目标尺寸降采样，内存占用与原图大小无关</li>
+ *   <li>缩略图未生成时提交任务并返回空，调用方先返回原图；同一内容同时只有一个任务</li>
+ *   <li>无法解码的内容写入失败标记，不再重复尝试；读写出错时不标记，下次请求时重试</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    private static final Set<String> SUPPORTED_CONTENT_TYPES = Set.of(
+        "image/jpeg", "image/jpg", "image/png", "image/gif", "image/bmp");
+
+    private static final String FAILED_SUFFIX = ".failed";
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final long MB = 1024L * 1024;
+
+    private final OssProperties.Thumbnail config;
+    private final Path cacheDir;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailService(OssProperties ossProperties) {
+        this.config = ossProperties.getThumbnail();
+        this.cacheDir = Paths.get(expandPath(config.getCacheDir()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threads = Math.max(1, config.getWorkerThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())), r -> {
+                Thread thread = new Thread(r, "oss-thumbnail-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * 内容类型是否支持生成缩略图
+     */
+    public static boolean supports(String contentType) {
+        return contentType != null && SUPPORTED_CONTENT_TYPES.contains(contentType.toLowerCase());
+    }
+
+    /**
+     * 文件对应的缩略图缓存 Key
+     */
+    public static String cacheKey(FileMeta fileMeta) {
+        return fileMeta.getContentHash() != null ? fileMeta.getContentHash() : "file-" + fileMeta.getId();
+    }
+
+    /**
+     * 获取已生成的缩略图，未生成时提交生成任务
+     *
+     * @param fileMeta 文件元数据
+     * @param size     缩略图尺寸
+     * @param source   打开原图内容
+     * @return 缩略图文件，尚未生成、不支持或生成失败时为空
+     */
+    public Optional<Path> getOrSchedule(FileMeta fileMeta, ThumbnailSize size, Supplier<Optional<InputStream>> source) {
+        if (!supports(fileMeta.getContentType())) {
+            return Optional.empty();
+        }
+        String key = cacheKey(fileMeta);
+        Path thumbnail = thumbnailPath(key, size);
+        if (Files.isRegularFile(thumbnail)) {
+            return Optional.of(thumbnail);
+        }
+        schedule(fileMeta, source);
+        return Optional.empty();
+    }
+
+    /**
+     * 提交缩略图生成任务，已生成、正在生成或不适合生成时忽略
+     */
+    public void schedule(FileMeta fileMeta, Supplier<Optional<InputStream>> source) {
+        if (!supports(fileMeta.getContentType())
+            || fileMeta.getSize() == null || fileMeta.getSize() > config.getMaxSourceSize() * MB) {
+            return;
+        }
+        String key = cacheKey(fileMeta);
+        if (isGenerated(key) || Files.exists(failedMarker(key)) || !inFlight.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(key, source);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            log.debug("缩略图任务队列已满，放弃本次生成: {}", key);
+        }
+    }
+
+    /**
+     * 删除缓存的缩略图
+     */
+    public void evict(String key) {
+        try {
+            for (ThumbnailSize size : ThumbnailSize.values()) {
+                Files.deleteIfExists(thumbnailPath(key, size));
+            }
+            Files.deleteIfExists(failedMarker(key));
+        } catch (IOException e) {
+            log.warn("删除缩略图失败: {}", key, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void generate(String key, Supplier<Optional<InputStream>> source) {
+        Optional<InputStream> inputStream = source.get();
+        if (inputStream.isEmpty()) {
+            return;
+        }
+        try (ReadErrorTrackingInputStream in = new ReadErrorTrackingInputStream(inputStream.get());
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            BufferedImage image = imageInput != null ? decode(imageInput) : null;
+            if (image == null) {
+                // ImageIO 探测格式时会吞掉读取异常，读取出错导致的解码失败不算无法解码
+                in.rethrowReadError();
+                markFailed(key);
+                return;
+            }
+            for (ThumbnailSize size : ThumbnailSize.values()) {
+                writeJpeg(resize(image, size.getMaxEdge()), thumbnailPath(key, size));
+            }
+            log.debug("缩略图生成成功: {}", key);
+        } catch (IOException | RuntimeException e) {
+            // 读取源文件或写入缓存出错可能是暂时的，不写失败标记，下次请求时重试
+            log.warn("缩略图生成失败: {}", key, e);
+        }
+    }
+
+    /**
+     * 解码图片，按最大缩略图尺寸的两倍降采样
+     */
+    private BufferedImage decode(ImageInputStream imageInput) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(imageInput, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > config.getMaxSourceMegapixels() * 1_000_000L) {
+                return null;
+            }
+            int targetEdge = largestEdge() * 2;
+            int subsampling = Math.max(1, Math.max(width, height) / targetEdge);
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * 等比缩放到不超过 maxEdge 的正方形内，透明背景填充为白色
+     */
+    static BufferedImage resize(BufferedImage image, int maxEdge) {
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    /**
+     * 先写临时文件再移动，读取方不会看到写了一半的缩略图
+     */
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "thumb", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void markFailed(String key) {
+        try {
+            Path marker = failedMarker(key);
+            Files.createDirectories(marker.getParent());
+            Files.write(marker, new byte[0]);
+        } catch (IOException e) {
+            log.warn("写入缩略图失败标记失败: {}", key, e);
+        }
+    }
+
+    private boolean isGenerated(String key) {
+        for (ThumbnailSize size : ThumbnailSize.values()) {
+            if (!Files.isRegularFile(thumbnailPath(key, size))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path thumbnailPath(String key, ThumbnailSize size) {
+        return keyDir(key).resolve(key + "-" + size.name().toLowerCase() + ".jpg");
+    }
+
+    private Path failedMarker(String key) {
+        return keyDir(key).resolve(key + FAILED_SUFFIX);
+    }
+
+    /**
+     * 按 Key 前两位分目录，避免单个目录文件过多
+     */
+    private Path keyDir(String key) {
+        String prefix = key.startsWith("file-") ? key.substring(5, Math.min(7, key.length())) : key.substring(0, 2);
+        return cacheDir.resolve(prefix);
+    }
+
+    private static int largestEdge() {
+        int largest = 0;
+        for (ThumbnailSize size : ThumbnailSize.values()) {
+            largest = Math.max(largest, size.getMaxEdge());
+        }
+        return largest;
+    }
+
+    /**
+     * 记录读取源文件时发生的异常
+     */
+    private static final class ReadErrorTrackingInputStream extends FilterInputStream {
+
+        private IOException readError;
+
+        ReadErrorTrackingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                readError = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                readError = e;
+                throw e;
+            }
+        }
+
+        void rethrowReadError() throws IOException {
+            if (readError != null) {
+                throw readError;
+            }
+        }
+    }
+
+    /**
+     * 展开路径中的 ~ 为用户主目录
+     */
+    private static String expandPath(String path) {
+        if (path != null && path.startsWith("~")) {
+            return System.getProperty("user.home") + path.substring(1);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,27 @@
+package cn.planka.oss.service;
+
+/**
+ * 缩略图尺寸，图片按比例缩放到不超过边长的正方形内，不放大
+ */
+public enum ThumbnailSize {
+
+    /**
+     * 小图，用于卡片封面、列表
+     */
+    SMALL(160),
+
+    /**
+     * 中图，用于预览
+     */
+    MEDIUM(480);
+
+    private final int maxEdge;
+
+    ThumbnailSize(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+}
@@ -0,0 +1,381 @@
+package cn.planka.oss.service;
+
+import cn.planka.common.result.Result;
+import cn.planka.oss.api.dto.FileDTO;
+import cn.planka.oss.api.dto.UploadPartDTO;
+import cn.planka.oss.api.dto.UploadSessionCreateRequest;
+import cn.planka.oss.api.dto.UploadSessionDTO;
+import cn.planka.oss.api.dto.UploadSessionStatus;
+import cn.planka.oss.config.OssPluginRegistry;
+import cn.planka.oss.config.OssProperties;
+import cn.planka.oss.entity.UploadSession;
+import cn.planka.oss.entity.UploadSessionPart;
+import cn.planka.oss.plugin.OssClient;
+import cn.planka.oss.plugin.OssPlugin;
+import cn.planka.oss.plugin.UploadResult;
+import cn.planka.oss.plugin.UploadedPart;
+import cn.planka.oss.repository.UploadSessionPartRepository;
+import cn.planka.oss.repository.UploadSessionRepository;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 分片上传会话服务
+ * <p>
+ * 大文件按固定大小切分后逐片上传，每个分片单独校验 SHA-256，只有校验通过的分片才会记录；
+ * 上传中断后客户端查询会话即可知道还缺哪些分片，全部上传后由存储插件合并为最终文件。
+ * 每次请求只处理一个分片，单个请求占用的内存和时间与分片大小相关，与文件大小无关。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionService {
+
+    private static final long MB = 1024L * 1024;
+
+    /**
+     * 创建会话时顺带清理的过期会话数量上限
+     */
+    private static final int EXPIRED_CLEANUP_BATCH = 20;
+
+    private final FileService fileService;
+    private final OssPluginRegistry pluginRegistry;
+    private final OssProperties ossProperties;
+    private final UploadSessionRepository sessionRepository;
+    private final UploadSessionPartRepository partRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 创建分片上传会话
+     */
+    @Transactional
+    public Result<UploadSessionDTO> create(UploadSessionCreateRequest request) {
+        OssProperties.UploadSession config = ossProperties.getUploadSession();
+        if (request.getSize() <= 0) {
+            return Result.failure("INVALID_FILE_SIZE", "文件大小必须大于 0");
+        }
+        if (request.getSize() > config.getMaxFileSize() * MB) {
+            return Result.failure("FILE_TOO_LARGE", "文件大小超过限制: " + config.getMaxFileSize() + "MB");
+        }
+
+        OssPlugin plugin = fileService.getActivePlugin();
+        if (!plugin.supportsMultipartUpload()) {
+            return Result.failure("MULTIPART_NOT_SUPPORTED", "当前存储插件不支持分片上传");
+        }
+
+        cleanupExpired();
+
+        String objectKey = fileService.generateObjectKey(request.getOrgId(), request.getCategory(), request.getFileName());
+        Optional<String> uploadId = plugin.getClient().initiateMultipartUpload(objectKey, request.getContentType());
+        if (uploadId.isEmpty()) {
+            return Result.failure("MULTIPART_INIT_FAILED", "初始化分片上传失败");
+        }
+
+        long partSize = config.getPartSize() * MB;
+        LocalDateTime now = LocalDateTime.now();
+
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setOrgId(request.getOrgId());
+        session.setOperatorId(request.getOperatorId());
+        session.setCategory(request.getCategory());
+        session.setOriginalName(request.getFileName());
+        session.setContentType(request.getContentType());
+        session.setTotalSize(request.getSize());
+        session.setPartSize(partSize);
+        session.setPartCount((int) ((request.getSize() + partSize - 1) / partSize));
+        session.setObjectKey(objectKey);
+        session.setStoragePlugin(plugin.pluginId());
+        session.setPluginUploadId(uploadId.get());
+        session.setStatus(UploadSessionStatus.UPLOADING);
+        session.setCreatedAt(now);
+        session.setExpiresAt(now.plusHours(config.getExpireHours()));
+        sessionRepository.insert(session);
+
+        return Result.success(toDTO(session, List.of()));
+    }
+
+    /**
+     * 查询会话及已上传的分片，用于断点续传
+     */
+    public Result<UploadSessionDTO> get(String sessionId) {
+        UploadSession session = sessionRepository.selectById(sessionId);
+        if (session == null) {
+            return Result.failure("UPLOAD_SESSION_NOT_FOUND", "上传会话不存在");
+        }
+        expireIfNeeded(session);
+        return Result.success(toDTO(session, listParts(sessionId)));
+    }
+
+    /**
+     * 上传分片
+     * <p>
+     * 边上传边计算 SHA-256，大小或校验和不一致时不记录该分片，客户端重新上传即可覆盖。
+     * 不开启事务，避免上传分片期间一直占用数据库连接。
+     *
+     * @param sessionId   会话 ID
+     * @param partNumber  分片号，从 1 开始
+     * @param inputStream 分片内容
+     * @param checksum    客户端计算的分片 SHA-256（十六进制）
+     */
+    public Result<UploadPartDTO> uploadPart(String sessionId, int partNumber, InputStream inputStream, String checksum) {
+        Result<UploadSession> sessionResult = getUploadingSession(sessionId);
+        if (!sessionResult.isSuccess()) {
+            return Result.failure(sessionResult.getCode(), sessionResult.getMessage());
+        }
+        UploadSession session = sessionResult.getData();
+        if (partNumber < 1 || partNumber > session.getPartCount()) {
+            return Result.failure("INVALID_PART_NUMBER", "分片号超出范围: " + partNumber);
+        }
+
+        // 先删除旧记录，重新上传失败时该分片视为未上传
+        partRepository.delete(partQuery(sessionId).eq(UploadSessionPart::getPartNumber, partNumber));
+
+        long expectedSize = expectedPartSize(session, partNumber);
+        ChecksumInputStream checksumStream = new ChecksumInputStream(inputStream);
+        Optional<String> etag = getClient(session).uploadPart(
+            session.getObjectKey(), session.getPluginUploadId(), partNumber, checksumStream, expectedSize);
+        if (etag.isEmpty()) {
+            return Result.failure("PART_UPLOAD_FAILED", "分片上传失败: " + partNumber);
+        }
+        if (checksumStream.getCount() != expectedSize) {
+            return Result.failure("PART_SIZE_MISMATCH",
+                "分片大小不正确: 期望 " + expectedSize + "，实际 " + checksumStream.getCount());
+        }
+        String actualChecksum = checksumStream.getChecksum();
+        if (!actualChecksum.equalsIgnoreCase(checksum)) {
+            return Result.failure("PART_CHECKSUM_MISMATCH", "分片校验和不一致: " + partNumber);
+        }
+
+        UploadSessionPart part = new UploadSessionPart();
+        part.setId(UUID.randomUUID().toString());
+        part.setSessionId(sessionId);
+        part.setPartNumber(partNumber);
+        part.setSize(expectedSize);
+        part.setChecksum(actualChecksum);
+        part.setEtag(etag.get());
+        part.setCreatedAt(LocalDateTime.now());
+        partRepository.upsert(part);
+
+        return Result.success(toPartDTO(part));
+    }
+
+    /**
+     * 合并分片并生成文件
+     * <p>
+     * 合并由存储插件完成，耗时与文件大小相关，不在事务中执行；合并成功后在一个短事务中
+     * 保存文件元数据、标记会话完成并清理分片记录。并发完成同一会话时只有一个请求能标记成功，其余请求回滚。
+     */
+    public Result<FileDTO> complete(String sessionId) {
+        Result<UploadSession> sessionResult = getUploadingSession(sessionId);
+        if (!sessionResult.isSuccess()) {
+            return Result.failure(sessionResult.getCode(), sessionResult.getMessage());
+        }
+        UploadSession session = sessionResult.getData();
+
+        List<UploadSessionPart> parts = listParts(sessionId);
+        if (parts.size() != session.getPartCount()) {
+            return Result.failure("PARTS_INCOMPLETE",
+                "分片未上传完整: " + parts.size() + "/" + session.getPartCount());
+        }
+
+        OssPlugin plugin = getPlugin(session);
+        List<UploadedPart> uploadedParts = parts.stream()
+            .map(part -> new UploadedPart(part.getPartNumber(), part.getEtag(), part.getSize()))
+            .toList();
+        UploadResult result = plugin.getClient().completeMultipartUpload(
+            session.getObjectKey(), session.getPluginUploadId(), uploadedParts, session.getContentType());
+        if (!result.isSuccess()) {
+            return Result.failure("MULTIPART_COMPLETE_FAILED", result.getErrorMessage());
+        }
+
+        FileDTO file = transactionTemplate.execute(status -> {
+            FileDTO saved = fileService.saveFileMeta(plugin, session.getOrgId(), session.getOperatorId(),
+                session.getCategory(), session.getOriginalName(), result, null);
+            if (sessionRepository.markCompleted(sessionId, saved.getId()) == 0) {
+                // 会话已被并发请求完成或已取消，撤销本次保存的文件元数据
+                status.setRollbackOnly();
+                return null;
+            }
+            partRepository.delete(partQuery(sessionId));
+            return saved;
+        });
+        if (file == null) {
+            return Result.failure("UPLOAD_SESSION_CLOSED", "上传会话已结束");
+        }
+        return Result.success(file);
+    }
+
+    /**
+     * 取消会话并清理已上传的分片
+     */
+    @Transactional
+    public Result<Boolean> abort(String sessionId) {
+        Result<UploadSession> sessionResult = getUploadingSession(sessionId);
+        if (!sessionResult.isSuccess()) {
+            return Result.failure(sessionResult.getCode(), sessionResult.getMessage());
+        }
+        abortSession(sessionResult.getData());
+        return Result.success(true);
+    }
+
+    private Result<UploadSession> getUploadingSession(String sessionId) {
+        UploadSession session = sessionRepository.selectById(sessionId);
+        if (session == null) {
+            return Result.failure("UPLOAD_SESSION_NOT_FOUND", "上传会话不存在");
+        }
+        expireIfNeeded(session);
+        if (session.getStatus() != UploadSessionStatus.UPLOADING) {
+            return Result.failure("UPLOAD_SESSION_CLOSED", "上传会话已结束: " + session.getStatus());
+        }
+        return Result.success(session);
+    }
+
+    private void expireIfNeeded(UploadSession session) {
+        if (session.getStatus() == UploadSessionStatus.UPLOADING
+            && session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            log.info("上传会话已过期: sessionId={}", session.getId());
+            abortSession(session);
+        }
+    }
+
+    /**
+     * 没有定时任务，创建新会话时顺带清理一批过期会话，避免分片长期残留
+     */
+    private void cleanupExpired() {
+        List<UploadSession> expired = sessionRepository.selectList(new LambdaQueryWrapper<UploadSession>()
+            .eq(UploadSession::getStatus, UploadSessionStatus.UPLOADING)
+            .lt(UploadSession::getExpiresAt, LocalDateTime.now())
+            .last("LIMIT " + EXPIRED_CLEANUP_BATCH));
+        for (UploadSession session : expired) {
+            abortSession(session);
+        }
+    }
+
+    private void abortSession(UploadSession session) {
+        if (!getClient(session).abortMultipartUpload(session.getObjectKey(), session.getPluginUploadId())) {
+            log.warn("清理分片失败: sessionId={}", session.getId());
+        }
+        session.setStatus(UploadSessionStatus.ABORTED);
+        sessionRepository.updateById(session);
+        partRepository.delete(partQuery(session.getId()));
+    }
+
+    private long expectedPartSize(UploadSession session, int partNumber) {
+        if (partNumber < session.getPartCount()) {
+            return session.getPartSize();
+        }
+        return session.getTotalSize() - session.getPartSize() * (session.getPartCount() - 1);
+    }
+
+    private List<UploadSessionPart> listParts(String sessionId) {
+        return partRepository.selectList(partQuery(sessionId).orderByAsc(UploadSessionPart::getPartNumber));
+    }
+
+    private LambdaQueryWrapper<UploadSessionPart> partQuery(String sessionId) {
+        return new LambdaQueryWrapper<UploadSessionPart>().eq(UploadSessionPart::getSessionId, sessionId);
+    }
+
+    private OssPlugin getPlugin(UploadSession session) {
+        return pluginRegistry.getPlugin(session.getStoragePlugin())
+            .orElseThrow(() -> new RuntimeException("存储插件不存在: " + session.getStoragePlugin()));
+    }
+
+    private OssClient getClient(UploadSession session) {
+        return getPlugin(session).getClient();
+    }
+
+    private UploadSessionDTO toDTO(UploadSession session, List<UploadSessionPart> parts) {
+        return UploadSessionDTO.builder()
+            .sessionId(session.getId())
+            .fileName(session.getOriginalName())
+            .size(session.getTotalSize())
+            .partSize(session.getPartSize())
+            .partCount(session.getPartCount())
+            .status(session.getStatus())
+            .uploadedParts(parts.stream().map(this::toPartDTO).toList())
+            .fileId(session.getFileId())
+            .expiresAt(session.getExpiresAt())
+            .build();
+    }
+
+    private UploadPartDTO toPartDTO(UploadSessionPart part) {
+        return UploadPartDTO.builder()
+            .partNumber(part.getPartNumber())
+            .size(part.getSize())
+            .checksum(part.getChecksum())
+            .build();
+    }
+
+    /**
+     * 读取时同步计算 SHA-256 和字节数
+     */
+    private static final class ChecksumInputStream extends FilterInputStream {
+
+        private final MessageDigest digest;
+        private long count;
+
+        ChecksumInputStream(InputStream in) {
+            super(in);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 不可用", e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                digest.update((byte) b);
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                digest.update(b, off, read);
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 跳过的字节无法计入校验和
+            return 0;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        String getChecksum() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+}
@@ -3,7 +3,9 @@ package cn.planka.oss.service;
 import cn.planka.oss.api.dto.FileDTO;
 import cn.planka.oss.config.OssPluginRegistry;
 import cn.planka.oss.config.OssProperties;
+import cn.planka.oss.entity.FileBlob;
 import cn.planka.oss.entity.FileMeta;
+import cn.planka.oss.repository.FileBlobRepository;
 import cn.planka.oss.repository.FileMetaRepository;
 import cn.planka.oss.plugin.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,15 +14,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -36,6 +42,12 @@ class FileServiceTest {
     @Mock
     private FileMetaRepository fileMetaRepository;
 
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
     @Mock
     private OssPlugin ossPlugin;
 
@@ -46,7 +58,8 @@ class FileServiceTest {
 
     @BeforeEach
     void setUp() {
-        fileService = new FileService(pluginRegistry, ossProperties, fileMetaRepository);
+        fileService = new FileService(pluginRegistry, ossProperties, fileMetaRepository,
+            new FileBlobService(fileBlobRepository, thumbnailService), thumbnailService);
     }
 
     @Test
@@ -218,4 +231,122 @@ class FileServiceTest {
         assertThat(result).isPresent();
         assertThat(result.get()).isEqualTo("/files/org-1/attachments/test.txt");
     }
+
+    @Test
+    void upload_duplicateContent_shouldReuseExistingObject() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "copy.txt",
+            "text/plain",
+            "same content".getBytes(StandardCharsets.UTF_8)
+        );
+        FileBlob blob = new FileBlob();
+        blob.setId("blob-1");
+        blob.setObjectKey("org-1/attachments/original.txt");
+        blob.setUrl("/files/org-1/attachments/original.txt");
+        blob.setSize(12L);
+
+        when(ossProperties.getActivePlugin()).thenReturn("local");
+        when(pluginRegistry.getPlugin("local")).thenReturn(Optional.of(ossPlugin));
+        when(ossPlugin.pluginId()).thenReturn("local");
+        when(fileBlobRepository.selectOne(any())).thenReturn(blob);
+        when(fileBlobRepository.incrementRefCount("blob-1")).thenReturn(1);
+
+        // When
+        FileDTO result = fileService.upload(file, "org-1", "member-1", FileCategory.ATTACHMENT);
+
+        // Then
+        assertThat(result.getOriginalName()).isEqualTo("copy.txt");
+        verify(ossClient, never()).upload(any(UploadRequest.class));
+        ArgumentCaptor<FileMeta> fileMetaCaptor = ArgumentCaptor.forClass(FileMeta.class);
+        verify(fileMetaRepository).insert(fileMetaCaptor.capture());
+        assertThat(fileMetaCaptor.getValue().getObjectKey()).isEqualTo("org-1/attachments/original.txt");
+        assertThat(fileMetaCaptor.getValue().getContentHash()).hasSize(64);
+    }
+
+    @Test
+    void storeBlob_shouldCloseUploadStreamEvenWhenUploadFails() throws Exception {
+        // Given
+        byte[] bytes = "stream content".getBytes(StandardCharsets.UTF_8);
+        List<Boolean> closed = new ArrayList<>();
+        InputStreamSource content = () -> new ByteArrayInputStream(bytes) {
+            @Override
+            public void close() {
+                closed.add(true);
+            }
+        };
+        when(ossPlugin.getClient()).thenReturn(ossClient);
+        when(ossPlugin.pluginId()).thenReturn("local");
+        when(ossClient.upload(any(UploadRequest.class))).thenThrow(new IllegalStateException("存储不可用"));
+
+        // When
+        FileBlobService fileBlobService = new FileBlobService(fileBlobRepository, thumbnailService);
+        UploadRequest request = UploadRequest.builder().orgId("org-1").originalName("a.txt").build();
+
+        // Then
+        assertThatThrownBy(() -> fileBlobService.store(ossPlugin, request, content))
+            .isInstanceOf(IllegalStateException.class);
+        // 计算哈希和上传各打开一次，两次都已关闭
+        assertThat(closed).hasSize(2);
+    }
+
+    @Test
+    void delete_sharedContent_shouldKeepObjectWhileReferenced() {
+        // Given
+        FileMeta fileMeta = sharedFileMeta();
+        FileBlob blob = new FileBlob();
+        blob.setId("blob-1");
+        blob.setObjectKey("org-1/attachments/test.txt");
+
+        when(fileMetaRepository.selectById("file-1")).thenReturn(fileMeta);
+        when(pluginRegistry.getPlugin("local")).thenReturn(Optional.of(ossPlugin));
+        when(fileBlobRepository.selectOne(any())).thenReturn(blob);
+        when(fileBlobRepository.deleteIfUnreferenced("blob-1")).thenReturn(0);
+
+        // When
+        boolean result = fileService.delete("file-1");
+
+        // Then
+        assertThat(result).isTrue();
+        verify(fileBlobRepository).decrementRefCount("blob-1");
+        verify(ossClient, never()).delete(any());
+        verify(fileMetaRepository).deleteById("file-1");
+    }
+
+    @Test
+    void delete_lastReference_shouldDeleteObjectAndThumbnails() {
+        // Given
+        FileMeta fileMeta = sharedFileMeta();
+        FileBlob blob = new FileBlob();
+        blob.setId("blob-1");
+        blob.setContentHash(fileMeta.getContentHash());
+        blob.setObjectKey("org-1/attachments/test.txt");
+
+        when(fileMetaRepository.selectById("file-1")).thenReturn(fileMeta);
+        when(pluginRegistry.getPlugin("local")).thenReturn(Optional.of(ossPlugin));
+        when(ossPlugin.getClient()).thenReturn(ossClient);
+        when(fileBlobRepository.selectOne(any())).thenReturn(blob);
+        when(fileBlobRepository.deleteIfUnreferenced("blob-1")).thenReturn(1);
+        when(ossClient.delete("org-1/attachments/test.txt")).thenReturn(true);
+
+        // When
+        boolean result = fileService.delete("file-1");
+
+        // Then
+        assertThat(result).isTrue();
+        verify(ossClient).delete("org-1/attachments/test.txt");
+        verify(thumbnailService).evict(fileMeta.getContentHash());
+        verify(fileMetaRepository).deleteById("file-1");
+    }
+
+    private FileMeta sharedFileMeta() {
+        FileMeta fileMeta = new FileMeta();
+        fileMeta.setId("file-1");
+        fileMeta.setOrgId("org-1");
+        fileMeta.setObjectKey("org-1/attachments/test.txt");
+        fileMeta.setStoragePlugin("local");
+        fileMeta.setContentHash("a".repeat(64));
+        return fileMeta;
+    }
 }
@@ -0,0 +1,147 @@
+package cn.planka.oss.service;
+
+import cn.planka.oss.config.OssProperties;
+import cn.planka.oss.entity.FileMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        OssProperties properties = new OssProperties();
+        properties.getThumbnail().setCacheDir(tempDir.toString());
+        thumbnailService = new ThumbnailService(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    void generate_shouldWriteAllSizesWithinMaxEdge() throws Exception {
+        // Given
+        FileMeta fileMeta = imageMeta("a".repeat(64));
+        byte[] png = png(2000, 1000);
+
+        // When
+        thumbnailService.generate(ThumbnailService.cacheKey(fileMeta), () -> Optional.of(new ByteArrayInputStream(png)));
+
+        // Then
+        Path small = thumbnailService.getOrSchedule(fileMeta, ThumbnailSize.SMALL, Optional::empty).orElseThrow();
+        BufferedImage smallImage = ImageIO.read(small.toFile());
+        assertThat(smallImage.getWidth()).isEqualTo(160);
+        assertThat(smallImage.getHeight()).isEqualTo(80);
+
+        Path medium = thumbnailService.getOrSchedule(fileMeta, ThumbnailSize.MEDIUM, Optional::empty).orElseThrow();
+        assertThat(ImageIO.read(medium.toFile()).getWidth()).isEqualTo(480);
+    }
+
+    @Test
+    void generate_smallImage_shouldNotUpscale() throws Exception {
+        // Given
+        FileMeta fileMeta = imageMeta("b".repeat(64));
+        byte[] png = png(100, 50);
+
+        // When
+        thumbnailService.generate(ThumbnailService.cacheKey(fileMeta), () -> Optional.of(new ByteArrayInputStream(png)));
+
+        // Then
+        Path medium = thumbnailService.getOrSchedule(fileMeta, ThumbnailSize.MEDIUM, Optional::empty).orElseThrow();
+        assertThat(ImageIO.read(medium.toFile()).getWidth()).isEqualTo(100);
+    }
+
+    @Test
+    void generate_invalidImage_shouldMarkFailedAndNotRetry() {
+        // Given
+        FileMeta fileMeta = imageMeta("c".repeat(64));
+        byte[] notImage = "not an image".getBytes(StandardCharsets.UTF_8);
+        thumbnailService.generate(ThumbnailService.cacheKey(fileMeta), () -> Optional.of(new ByteArrayInputStream(notImage)));
+
+        // When
+        boolean[] opened = {false};
+        Optional<Path> result = thumbnailService.getOrSchedule(fileMeta, ThumbnailSize.SMALL, () -> {
+            opened[0] = true;
+            return Optional.empty();
+        });
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(opened[0]).isFalse();
+    }
+
+    @Test
+    void generate_readError_shouldNotMarkFailedAndRetry() throws Exception {
+        // Given
+        FileMeta fileMeta = imageMeta("e".repeat(64));
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+        thumbnailService.generate(ThumbnailService.cacheKey(fileMeta), () -> Optional.of(broken));
+
+        // When
+        CountDownLatch opened = new CountDownLatch(1);
+        Optional<Path> result = thumbnailService.getOrSchedule(fileMeta, ThumbnailSize.SMALL, () -> {
+            opened.countDown();
+            return Optional.empty();
+        });
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(opened.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void getOrSchedule_nonImage_shouldReturnEmpty() {
+        // Given
+        FileMeta fileMeta = imageMeta("d".repeat(64));
+        fileMeta.setContentType("application/pdf");
+
+        // When
+        Optional<Path> result = thumbnailService.getOrSchedule(fileMeta, ThumbnailSize.SMALL, Optional::empty);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    private FileMeta imageMeta(String contentHash) {
+        FileMeta fileMeta = new FileMeta();
+        fileMeta.setId("file-1");
+        fileMeta.setContentType("image/png");
+        fileMeta.setSize(1024L);
+        fileMeta.setContentHash(contentHash);
+        return fileMeta;
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
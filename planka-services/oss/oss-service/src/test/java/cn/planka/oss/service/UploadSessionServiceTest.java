@@ -0,0 +1,265 @@
+package cn.planka.oss.service;
+
+import cn.planka.common.result.Result;
+import cn.planka.oss.api.dto.FileDTO;
+import cn.planka.oss.api.dto.UploadPartDTO;
+import cn.planka.oss.api.dto.UploadSessionCreateRequest;
+import cn.planka.oss.api.dto.UploadSessionDTO;
+import cn.planka.oss.api.dto.UploadSessionStatus;
+import cn.planka.oss.config.OssPluginRegistry;
+import cn.planka.oss.config.OssProperties;
+import cn.planka.oss.entity.UploadSession;
+import cn.planka.oss.entity.UploadSessionPart;
+import cn.planka.oss.plugin.FileCategory;
+import cn.planka.oss.plugin.OssClient;
+import cn.planka.oss.plugin.OssPlugin;
+import cn.planka.oss.plugin.UploadResult;
+import cn.planka.oss.repository.UploadSessionPartRepository;
+import cn.planka.oss.repository.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceTest {
+
+    private static final long MB = 1024L * 1024;
+
+    @Mock
+    private FileService fileService;
+
+    @Mock
+    private OssPluginRegistry pluginRegistry;
+
+    @Mock
+    private UploadSessionRepository sessionRepository;
+
+    @Mock
+    private UploadSessionPartRepository partRepository;
+
+    @Mock
+    private OssPlugin ossPlugin;
+
+    @Mock
+    private OssClient ossClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private UploadSessionService uploadSessionService;
+
+    @BeforeEach
+    void setUp() {
+        uploadSessionService = new UploadSessionService(
+            fileService, pluginRegistry, new OssProperties(), sessionRepository, partRepository, transactionTemplate);
+    }
+
+    @Test
+    void create_shouldSplitFileIntoParts() {
+        // Given
+        UploadSessionCreateRequest request = UploadSessionCreateRequest.builder()
+            .orgId("org-1")
+            .operatorId("member-1")
+            .category(FileCategory.ATTACHMENT)
+            .fileName("video.mp4")
+            .contentType("video/mp4")
+            .size(20 * MB + 1)
+            .build();
+        when(fileService.getActivePlugin()).thenReturn(ossPlugin);
+        when(ossPlugin.supportsMultipartUpload()).thenReturn(true);
+        when(ossPlugin.getClient()).thenReturn(ossClient);
+        when(ossPlugin.pluginId()).thenReturn("local");
+        when(fileService.generateObjectKey("org-1", FileCategory.ATTACHMENT, "video.mp4"))
+            .thenReturn("org-1/attachments/uuid.mp4");
+        when(ossClient.initiateMultipartUpload("org-1/attachments/uuid.mp4", "video/mp4"))
+            .thenReturn(Optional.of("upload-1"));
+
+        // When
+        Result<UploadSessionDTO> result = uploadSessionService.create(request);
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData().getPartSize()).isEqualTo(8 * MB);
+        assertThat(result.getData().getPartCount()).isEqualTo(3);
+        assertThat(result.getData().getStatus()).isEqualTo(UploadSessionStatus.UPLOADING);
+        verify(sessionRepository).insert(any(UploadSession.class));
+    }
+
+    @Test
+    void uploadPart_checksumMatches_shouldRecordPart() throws Exception {
+        // Given
+        byte[] content = "last part".getBytes(StandardCharsets.UTF_8);
+        UploadSession session = uploadingSession(8 * MB + content.length);
+        mockSessionClient(session);
+
+        // When
+        Result<UploadPartDTO> result = uploadSessionService.uploadPart(
+            "session-1", 2, new ByteArrayInputStream(content), sha256(content));
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData().getSize()).isEqualTo(content.length);
+        ArgumentCaptor<UploadSessionPart> partCaptor = ArgumentCaptor.forClass(UploadSessionPart.class);
+        verify(partRepository).upsert(partCaptor.capture());
+        assertThat(partCaptor.getValue().getPartNumber()).isEqualTo(2);
+        assertThat(partCaptor.getValue().getEtag()).isEqualTo("etag-2");
+    }
+
+    @Test
+    void uploadPart_checksumMismatch_shouldNotRecordPart() {
+        // Given
+        byte[] content = "last part".getBytes(StandardCharsets.UTF_8);
+        UploadSession session = uploadingSession(8 * MB + content.length);
+        mockSessionClient(session);
+
+        // When
+        Result<UploadPartDTO> result = uploadSessionService.uploadPart(
+            "session-1", 2, new ByteArrayInputStream(content), "0".repeat(64));
+
+        // Then
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getCode()).isEqualTo("PART_CHECKSUM_MISMATCH");
+        verify(partRepository, never()).upsert(any(UploadSessionPart.class));
+    }
+
+    @Test
+    void complete_missingParts_shouldFail() {
+        // Given
+        UploadSession session = uploadingSession(8 * MB + 10);
+        when(sessionRepository.selectById("session-1")).thenReturn(session);
+        UploadSessionPart part = new UploadSessionPart();
+        part.setPartNumber(1);
+        part.setSize(8 * MB);
+        part.setEtag("etag-1");
+        when(partRepository.selectList(any())).thenReturn(List.of(part));
+
+        // When
+        Result<FileDTO> result = uploadSessionService.complete("session-1");
+
+        // Then
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getCode()).isEqualTo("PARTS_INCOMPLETE");
+        verifyNoInteractions(pluginRegistry);
+    }
+
+    @Test
+    void complete_allParts_shouldMergeBeforeTransaction() {
+        // Given
+        UploadSession session = uploadingSession(8 * MB + 10);
+        mockCompletableSession(session);
+        when(sessionRepository.markCompleted("session-1", "file-1")).thenReturn(1);
+        FileDTO file = new FileDTO();
+        file.setId("file-1");
+        when(fileService.saveFileMeta(eq(ossPlugin), eq("org-1"), eq("member-1"), eq(FileCategory.ATTACHMENT),
+            eq("video.mp4"), any(UploadResult.class), isNull())).thenReturn(file);
+
+        // When
+        Result<FileDTO> result = uploadSessionService.complete("session-1");
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData().getId()).isEqualTo("file-1");
+        var inOrder = inOrder(ossClient, transactionTemplate, fileService);
+        inOrder.verify(ossClient).completeMultipartUpload(any(), any(), anyList(), any());
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(fileService).saveFileMeta(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void complete_sessionClaimedConcurrently_shouldRollback() {
+        // Given
+        UploadSession session = uploadingSession(8 * MB + 10);
+        mockCompletableSession(session);
+        FileDTO file = new FileDTO();
+        file.setId("file-1");
+        when(fileService.saveFileMeta(any(), any(), any(), any(), any(), any(), any())).thenReturn(file);
+        when(sessionRepository.markCompleted("session-1", "file-1")).thenReturn(0);
+
+        // When
+        Result<FileDTO> result = uploadSessionService.complete("session-1");
+
+        // Then
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getCode()).isEqualTo("UPLOAD_SESSION_CLOSED");
+        verify(transactionStatus).setRollbackOnly();
+        verify(partRepository, never()).delete(any());
+    }
+
+    private void mockCompletableSession(UploadSession session) {
+        when(sessionRepository.selectById("session-1")).thenReturn(session);
+        UploadSessionPart first = new UploadSessionPart();
+        first.setPartNumber(1);
+        first.setSize(8 * MB);
+        first.setEtag("etag-1");
+        UploadSessionPart second = new UploadSessionPart();
+        second.setPartNumber(2);
+        second.setSize(10L);
+        second.setEtag("etag-2");
+        when(partRepository.selectList(any())).thenReturn(List.of(first, second));
+        when(pluginRegistry.getPlugin("local")).thenReturn(Optional.of(ossPlugin));
+        when(ossPlugin.getClient()).thenReturn(ossClient);
+        when(ossClient.completeMultipartUpload(any(), any(), anyList(), any()))
+            .thenReturn(UploadResult.success("org-1/attachments/uuid.mp4", null, 8 * MB + 10, "video/mp4"));
+        when(transactionTemplate.execute(any())).thenAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+    }
+
+    private UploadSession uploadingSession(long totalSize) {
+        UploadSession session = new UploadSession();
+        session.setId("session-1");
+        session.setOrgId("org-1");
+        session.setOperatorId("member-1");
+        session.setCategory(FileCategory.ATTACHMENT);
+        session.setOriginalName("video.mp4");
+        session.setTotalSize(totalSize);
+        session.setPartSize(8 * MB);
+        session.setPartCount(2);
+        session.setObjectKey("org-1/attachments/uuid.mp4");
+        session.setStoragePlugin("local");
+        session.setPluginUploadId("upload-1");
+        session.setStatus(UploadSessionStatus.UPLOADING);
+        session.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return session;
+    }
+
+    private void mockSessionClient(UploadSession session) {
+        when(sessionRepository.selectById("session-1")).thenReturn(session);
+        when(pluginRegistry.getPlugin("local")).thenReturn(Optional.of(ossPlugin));
+        when(ossPlugin.getClient()).thenReturn(ossClient);
+        when(ossClient.uploadPart(eq("org-1/attachments/uuid.mp4"), eq("upload-1"), eq(2), any(InputStream.class), anyLong()))
+            .thenAnswer(invocation -> {
+                invocation.getArgument(3, InputStream.class).readAllBytes();
+                return Optional.of("etag-2");
+            });
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,54 @@
+package cn.planka.schema.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 二级索引变更日志清理配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "schema.index-change-log")
+public class SchemaIndexChangeLogProperties {
+
+    /**
+     * 变更日志保留时长，默认 1 天；需明显长于消费方加载快照并追上增量所需的时间，
+     * 水位早于保留期的消费方会被要求重新加载快照
+     */
+    private Duration retention = Duration.ofDays(1);
+
+    /**
+     * 清理间隔，默认 10 分钟
+     */
+    private Duration pruneInterval = Duration.ofMinutes(10);
+
+    /**
+     * 每批删除的最大行数，默认 5000
+     */
+    private int pruneBatchSize = 5000;
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getPruneInterval() {
+        return pruneInterval;
+    }
+
+    public void setPruneInterval(Duration pruneInterval) {
+        this.pruneInterval = pruneInterval;
+    }
+
+    public int getPruneBatchSize() {
+        return pruneBatchSize;
+    }
+
+    public void setPruneBatchSize(int pruneBatchSize) {
+        this.pruneBatchSize = pruneBatchSize;
+    }
+}
@@ -1,12 +1,19 @@
 package cn.planka.schema.controller;
 
+import cn.planka.api.schema.dto.SecondaryIndexPageDTO;
+import cn.planka.api.schema.dto.SecondaryIndexRowDTO;
+import cn.planka.common.exception.CommonErrorCode;
 import cn.planka.common.result.Result;
+import cn.planka.schema.mapper.SchemaIndexChangeLogMapper;
 import cn.planka.schema.mapper.SchemaIndexMapper;
+import cn.planka.schema.model.SchemaIndexChange;
 import cn.planka.schema.model.SchemaIndexEntity;
+import cn.planka.schema.model.SchemaIndexRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.*;
@@ -14,7 +21,7 @@ import java.util.*;
 /**
  * 二级索引查询控制器
  * <p>
- * 提供全量二级索引查询接口，供其他服务启动时加载到本地内存。
+ * 提供二级索引快照、增量同步和单键查询接口，供其他服务加载到本地内存。
  */
 @Slf4j
 @RestController
@@ -22,7 +29,10 @@ import java.util.*;
 @RequiredArgsConstructor
 public class SecondaryIndexController {
 
+    private static final int MAX_PAGE_LIMIT = 5000;
+
     private final SchemaIndexMapper schemaIndexMapper;
+    private final SchemaIndexChangeLogMapper changeLogMapper;
 
     /**
      * 获取全量二级索引数据
@@ -30,7 +40,9 @@ public class SecondaryIndexController {
      * 返回结构: indexType -> (indexKey -> Set<schemaId>)
      *
      * @return 全量二级索引映射
+     * @deprecated 使用 {@link #getSnapshotPage} + {@link #getChangesSince} 替代
      */
+    @Deprecated
     @GetMapping("/all")
     public Result<Map<String, Map<String, Set<String>>>> getAllSecondaryIndexes() {
         log.info("Loading all secondary indexes...");
@@ -52,4 +64,129 @@ public class SecondaryIndexController {
 
         return Result.success(result);
     }
+
+    /**
+     * 分页获取二级索引快照
+     * <p>
+     * 首页不传 highWaterMark，由服务端在读取数据前取当前变更版本作为高水位，后续页原样回传。
+     * 快照读取的是当前数据，可能已包含高水位之后的变更；消费方从高水位开始增量同步会重放这些变更，
+     * 按内容版本比较后幂等生效，不会遗漏。已删除的 Schema 不会出现在快照中。
+     *
+     * @param cursor        上一页返回的 schemaId 游标
+     * @param highWaterMark 首页返回的高水位
+     * @param limit         每页 Schema 数量
+     */
+    @GetMapping("/snapshot")
+    public Result<SecondaryIndexPageDTO> getSnapshotPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "highWaterMark", required = false) Long highWaterMark,
+            @RequestParam("limit") int limit) {
+        int pageLimit = normalizeLimit(limit);
+        long waterMark = highWaterMark != null ? highWaterMark : changeLogMapper.findCurrentVersion();
+
+        List<String> schemaIds = schemaIndexMapper.findSnapshotSchemaIds(cursor, pageLimit);
+        List<SecondaryIndexRowDTO> rows = schemaIds.isEmpty()
+                ? List.of()
+                : schemaIndexMapper.findRowsBySchemaIds(schemaIds).stream()
+                        .filter(row -> !isDeleted(row))
+                        .map(this::toRowDTO)
+                        .toList();
+
+        boolean hasMore = schemaIds.size() == pageLimit;
+        return Result.success(SecondaryIndexPageDTO.builder()
+                .highWaterMark(waterMark)
+                .nextCursor(hasMore ? schemaIds.get(schemaIds.size() - 1) : null)
+                .hasMore(hasMore)
+                .rows(rows)
+                .build());
+    }
+
+    /**
+     * 获取变更版本之后发生变更的 Schema 的全部索引行
+     * <p>
+     * 每个变更的 Schema 返回其当前全部索引行；索引已被清空或 Schema 已被物理删除时，
+     * 返回一条不含 indexType/indexKey 的墓碑行，供消费方移除该 Schema 的索引。
+     * 已删除的 Schema 也会返回（deleted = true）。
+     * <p>
+     * 变更日志超过保留期会被清理，变更版本低于清理下限时返回失败，消费方需要重新加载快照。
+     *
+     * @param sinceWaterMark 变更版本（不含）
+     * @param limit          最多返回的 Schema 数量
+     */
+    @GetMapping("/changes")
+    public Result<SecondaryIndexPageDTO> getChangesSince(
+            @RequestParam("sinceWaterMark") long sinceWaterMark,
+            @RequestParam("limit") int limit) {
+        int pageLimit = normalizeLimit(limit);
+        long prunedVersion = changeLogMapper.findPrunedVersion();
+        if (sinceWaterMark < prunedVersion) {
+            log.warn("增量同步水位已被清理: sinceWaterMark={}, prunedVersion={}", sinceWaterMark, prunedVersion);
+            return Result.failure(CommonErrorCode.CONFLICT, "变更日志已清理，需要重新加载快照");
+        }
+        List<SchemaIndexChange> changes = changeLogMapper.findChangedSince(sinceWaterMark, pageLimit);
+        if (changes.isEmpty()) {
+            return Result.success(SecondaryIndexPageDTO.builder()
+                    .highWaterMark(sinceWaterMark)
+                    .hasMore(false)
+                    .rows(List.of())
+                    .build());
+        }
+
+        List<String> schemaIds = changes.stream().map(SchemaIndexChange::getSchemaId).toList();
+        Map<String, List<SchemaIndexRow>> rowsBySchema = new HashMap<>();
+        for (SchemaIndexRow row : schemaIndexMapper.findRowsBySchemaIds(schemaIds)) {
+            rowsBySchema.computeIfAbsent(row.getSchemaId(), k -> new ArrayList<>()).add(row);
+        }
+
+        List<SecondaryIndexRowDTO> rows = new ArrayList<>();
+        for (SchemaIndexChange change : changes) {
+            List<SchemaIndexRow> schemaRows = rowsBySchema.get(change.getSchemaId());
+            if (schemaRows == null) {
+                rows.add(toTombstoneDTO(change));
+            } else {
+                schemaRows.forEach(row -> rows.add(toRowDTO(row)));
+            }
+        }
+
+        return Result.success(SecondaryIndexPageDTO.builder()
+                .highWaterMark(changes.get(changes.size() - 1).getVersion())
+                .hasMore(changes.size() == pageLimit)
+                .rows(rows)
+                .build());
+    }
+
+    /**
+     * 按索引键查询 Schema ID 集合
+     */
+    @GetMapping("/lookup")
+    public Result<Set<String>> getSchemaIds(@RequestParam("indexType") String indexType,
+                                            @RequestParam("indexKey") String indexKey) {
+        return Result.success(new HashSet<>(schemaIndexMapper.findSchemaIdsByTypeAndKey(indexType, indexKey)));
+    }
+
+    private int normalizeLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+    }
+
+    private boolean isDeleted(SchemaIndexRow row) {
+        return "DELETED".equals(row.getState());
+    }
+
+    private SecondaryIndexRowDTO toRowDTO(SchemaIndexRow row) {
+        return SecondaryIndexRowDTO.builder()
+                .schemaId(row.getSchemaId())
+                .indexType(row.getIndexType())
+                .indexKey(row.getIndexKey())
+                .contentVersion(row.getContentVersion() != null ? row.getContentVersion() : 0)
+                .deleted(isDeleted(row))
+                .build();
+    }
+
+    private SecondaryIndexRowDTO toTombstoneDTO(SchemaIndexChange change) {
+        return SecondaryIndexRowDTO.builder()
+                .schemaId(change.getSchemaId())
+                .contentVersion(change.getContentVersion() != null ? change.getContentVersion() : 0)
+                .deleted(Boolean.TRUE.equals(change.getDeleted()))
+                .build();
+    }
 }
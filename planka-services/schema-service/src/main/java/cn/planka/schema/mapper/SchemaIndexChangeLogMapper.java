@@ -0,0 +1,95 @@
+package cn.planka.schema.mapper;
+
+import cn.planka.schema.model.SchemaIndexChange;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Schema 二级索引变更日志 Mapper
+ * <p>
+ * 版本号来自单行计数器：递增时持有行锁直到事务提交，后一个写事务只能在前一个提交后拿到更大的版本，
+ * 因此读方看到某个版本时，所有更小的版本都已提交，按版本分页不会漏掉仍在进行中的写入。
+ * <p>
+ * 日志定期清理：同一 Schema 被更新的旧记录不影响增量查询，可随时删除；超过保留期的记录删除前
+ * 先把清理下限写入计数器表的第 2 行，水位低于下限的消费方需要重新加载快照。
+ */
+@Mapper
+public interface SchemaIndexChangeLogMapper {
+
+    /**
+     * 递增版本计数器（必须在写索引的事务内调用）
+     */
+    @Update("UPDATE schema_index_version SET version = LAST_INSERT_ID(version + 1) WHERE id = 1")
+    int incrementVersion();
+
+    /**
+     * 读取本连接上一次 {@link #incrementVersion} 得到的版本
+     */
+    @Select("SELECT LAST_INSERT_ID()")
+    long lastIncrementedVersion();
+
+    /**
+     * 当前已提交的最大版本（作为快照高水位）
+     */
+    @Select("SELECT version FROM schema_index_version WHERE id = 1")
+    long findCurrentVersion();
+
+    /**
+     * 写入变更日志
+     */
+    @Insert("INSERT INTO schema_index_change_log (version, schema_id, content_version, deleted) " +
+            "VALUES (#{version}, #{schemaId}, #{contentVersion}, #{deleted})")
+    int insert(@Param("version") long version,
+               @Param("schemaId") String schemaId,
+               @Param("contentVersion") int contentVersion,
+               @Param("deleted") boolean deleted);
+
+    /**
+     * 查询版本之后有变更的 Schema，每个 Schema 只返回最后一条变更，按版本排序
+     */
+    @Select("SELECT l.version, l.schema_id, l.content_version, l.deleted FROM schema_index_change_log l " +
+            "JOIN (SELECT schema_id, MAX(version) AS max_version FROM schema_index_change_log " +
+            "      WHERE version > #{sinceVersion} GROUP BY schema_id ORDER BY max_version LIMIT #{limit}) m " +
+            "ON l.version = m.max_version ORDER BY l.version")
+    List<SchemaIndexChange> findChangedSince(@Param("sinceVersion") long sinceVersion, @Param("limit") int limit);
+
+    /**
+     * 已清理的最大版本（没有清理过时为 0），水位低于该版本的增量查询会漏掉被清理的变更
+     */
+    @Select("SELECT COALESCE(MAX(version), 0) FROM schema_index_version WHERE id = 2")
+    long findPrunedVersion();
+
+    /**
+     * 推进清理下限（只增不减），必须在删除日志之前调用
+     */
+    @Insert("INSERT INTO schema_index_version (id, version) VALUES (2, #{version}) " +
+            "ON DUPLICATE KEY UPDATE version = GREATEST(version, VALUES(version))")
+    int updatePrunedVersion(@Param("version") long version);
+
+    /**
+     * 指定时间之前写入的最大版本，没有时返回 null
+     */
+    @Select("SELECT MAX(version) FROM schema_index_change_log WHERE created_at < #{before}")
+    Long findMaxVersionBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * 删除已被同一 Schema 更新版本覆盖的记录（增量查询只返回每个 Schema 的最后一条变更）
+     */
+    @Delete("DELETE l FROM schema_index_change_log l " +
+            "JOIN (SELECT schema_id, MAX(version) AS max_version FROM schema_index_change_log GROUP BY schema_id) m " +
+            "ON l.schema_id = m.schema_id AND l.version < m.max_version")
+    int deleteSuperseded();
+
+    /**
+     * 分批删除不超过指定版本的记录
+     */
+    @Delete("DELETE FROM schema_index_change_log WHERE version <= #{version} ORDER BY version LIMIT #{limit}")
+    int deleteUpTo(@Param("version") long version, @Param("limit") int limit);
+}
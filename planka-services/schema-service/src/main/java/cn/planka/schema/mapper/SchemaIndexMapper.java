@@ -1,6 +1,7 @@
 package cn.planka.schema.mapper;
 
 import cn.planka.schema.model.SchemaIndexEntity;
+import cn.planka.schema.model.SchemaIndexRow;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
@@ -38,4 +39,27 @@ public interface SchemaIndexMapper extends BaseMapper<SchemaIndexEntity> {
      */
     @Select("SELECT * FROM schema_index")
     List<SchemaIndexEntity> findAll();
+
+    /**
+     * 按 schemaId 游标分页查询快照中的 Schema ID
+     */
+    @Select("<script>" +
+            "SELECT DISTINCT schema_id FROM schema_index" +
+            "<if test='cursor != null'> WHERE schema_id &gt; #{cursor}</if>" +
+            " ORDER BY schema_id LIMIT #{limit}" +
+            "</script>")
+    List<String> findSnapshotSchemaIds(@Param("cursor") String cursor, @Param("limit") int limit);
+
+    /**
+     * 批量查询索引行，附带 Schema 版本号与状态
+     */
+    @Select("<script>" +
+            "SELECT i.schema_id, i.index_type, i.index_key, s.content_version, s.state " +
+            "FROM schema_index i JOIN schema_definition s ON s.id = i.schema_id " +
+            "WHERE i.schema_id IN " +
+            "<foreach collection='schemaIds' item='id' open='(' separator=',' close=')'>" +
+            "#{id}" +
+            "</foreach>" +
+            "</script>")
+    List<SchemaIndexRow> findRowsBySchemaIds(@Param("schemaIds") List<String> schemaIds);
 }
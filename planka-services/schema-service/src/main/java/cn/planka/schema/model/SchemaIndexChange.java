@@ -0,0 +1,20 @@
+package cn.planka.schema.model;
+
+import lombok.Data;
+
+/**
+ * Schema 二级索引变更日志投影
+ * <p>
+ * 对应 schema_index_change_log 的一行，version 按事务提交顺序分配，用于增量同步分页。
+ */
+@Data
+public class SchemaIndexChange {
+
+    private Long version;
+
+    private String schemaId;
+
+    private Integer contentVersion;
+
+    private Boolean deleted;
+}
@@ -0,0 +1,22 @@
+package cn.planka.schema.model;
+
+import lombok.Data;
+
+/**
+ * Schema 二级索引行（附带 Schema 版本与状态）
+ * <p>
+ * schema_index 与 schema_definition 的联合查询投影，用于索引快照和增量同步。
+ */
+@Data
+public class SchemaIndexRow {
+
+    private String schemaId;
+
+    private String indexType;
+
+    private String indexKey;
+
+    private Integer contentVersion;
+
+    private String state;
+}
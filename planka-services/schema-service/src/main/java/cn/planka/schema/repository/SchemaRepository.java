@@ -3,6 +3,7 @@ package cn.planka.schema.repository;
 import cn.planka.domain.schema.SchemaId;
 import cn.planka.domain.schema.definition.AbstractSchemaDefinition;
 import cn.planka.domain.schema.definition.SchemaDefinition;
+import cn.planka.schema.mapper.SchemaIndexChangeLogMapper;
 import cn.planka.schema.mapper.SchemaIndexMapper;
 import cn.planka.schema.mapper.SchemaMapper;
 import cn.planka.schema.mapper.SchemaReferenceMapper;
@@ -41,6 +42,7 @@ public class SchemaRepository {
 
     private final SchemaMapper schemaMapper;
     private final SchemaIndexMapper indexMapper;
+    private final SchemaIndexChangeLogMapper indexChangeLogMapper;
     private final SchemaReferenceMapper referenceMapper;
     private final ObjectMapper objectMapper;
 
@@ -100,6 +102,7 @@ public class SchemaRepository {
     public void deleteById(String id) {
         // 删除索引
         indexMapper.deleteBySchemaId(id);
+        logIndexChange(id, 0, true);
         // 删除引用关系
         referenceMapper.deleteBySourceId(id);
         // 删除Schema
@@ -145,6 +148,16 @@ public class SchemaRepository {
                 indexMapper.insert(indexEntity);
             }
         }
+        logIndexChange(schemaIdValue, schema.getContentVersion(), "DELETED".equals(schema.getState().name()));
+    }
+
+    /**
+     * 记录二级索引变更，版本号在当前事务内分配，供其他服务增量同步
+     */
+    private void logIndexChange(String schemaId, int contentVersion, boolean deleted) {
+        indexChangeLogMapper.incrementVersion();
+        long version = indexChangeLogMapper.lastIncrementedVersion();
+        indexChangeLogMapper.insert(version, schemaId, contentVersion, deleted);
     }
 
     private SchemaEntity toEntity(AbstractSchemaDefinition<?> schema) {
@@ -10,6 +10,8 @@ import cn.planka.common.result.Result;
 import cn.planka.domain.schema.EntityState;
 import cn.planka.domain.schema.SchemaType;
 import cn.planka.domain.schema.changelog.ChangeDetail;
+import cn.planka.domain.schema.changelog.FieldChange;
+import cn.planka.domain.schema.changelog.SemanticChange;
 import cn.planka.domain.schema.definition.AbstractSchemaDefinition;
 import cn.planka.domain.schema.definition.SchemaDefinition;
 import cn.planka.domain.schema.definition.cardtype.CardTypeDefinition;
@@ -19,6 +21,7 @@ import cn.planka.domain.schema.definition.fieldconfig.FieldConfig;
 import cn.planka.domain.schema.definition.link.LinkTypeDefinition;
 import cn.planka.event.schema.SchemaCreatedEvent;
 import cn.planka.event.schema.SchemaDeletedEvent;
+import cn.planka.event.schema.SchemaIndexKey;
 import cn.planka.event.schema.SchemaUpdatedEvent;
 import cn.planka.schema.mapper.SchemaChangelogMapper;
 import cn.planka.schema.mapper.SchemaReferenceMapper;
@@ -38,9 +41,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -252,10 +257,10 @@ public class SchemaCommonService {
         saveReferences(schema.getId().value(), schema.getSchemaType(), refs);
 
         // 记录变更日志
-        saveChangelog(schema, "UPDATE", beforeSnapshot);
+        ChangeDetail changeDetail = saveChangelog(schema, "UPDATE", beforeSnapshot);
 
         // 发送事件
-        publishSchemaUpdatedEvent(schema, beforeSnapshot);
+        publishSchemaUpdatedEvent(oldSchema, schema, changeDetail);
 
         // 生命周期处理器 - 更新后
         SchemaLifecycleHandler<SchemaDefinition<?>> updateHandler = lifecycleHandlerRegistry.getHandler(schema.getSchemaSubType());
@@ -326,7 +331,7 @@ public class SchemaCommonService {
         saveChangelog(schema, "DELETE", beforeSnapshot);
 
         // 发送事件
-        publishSchemaDeletedEvent(schema, beforeSnapshot);
+        publishSchemaDeletedEvent(schema);
 
         // 生命周期处理器 - 删除后
         handler.afterDelete(schema);
@@ -579,7 +584,12 @@ public class SchemaCommonService {
         }
     }
 
-    private void saveChangelog(AbstractSchemaDefinition<?> schema, String action, String beforeSnapshot) {
+    /**
+     * 记录变更日志
+     *
+     * @return 结构化变更详情，供事件发布复用
+     */
+    private ChangeDetail saveChangelog(AbstractSchemaDefinition<?> schema, String action, String beforeSnapshot) {
         String afterSnapshot = assembler.serializeDefinition(schema);
 
         // 使用差异服务生成结构化变更详情
@@ -601,6 +611,7 @@ public class SchemaCommonService {
         logEntity.setChangedAt(LocalDateTime.now());
         logEntity.setChangedBy(schema.getUpdatedBy());
         changelogMapper.insert(logEntity);
+        return changeDetail;
     }
 
     private String generateChangeSummary(String action, String schemaName, ChangeDetail changeDetail) {
@@ -627,7 +638,6 @@ public class SchemaCommonService {
             log.debug("Kafka disabled, skip publishing SchemaCreatedEvent for {}", schema.getId().value());
             return;
         }
-        String content = assembler.serializeDefinition(schema);
         SchemaCreatedEvent event = new SchemaCreatedEvent(
                 schema.getOrgId(),
                 schema.getCreatedBy(),
@@ -635,31 +645,36 @@ public class SchemaCommonService {
                 null, // traceId
                 schema.getId().value(),
                 schema.getName(),
-                content);
-        event.withSchemaType(schema.getSchemaType().name());
+                schema.hasBelongTo() ? schema.belongTo().value() : null);
+        event.withSchemaType(schema.getSchemaType().name())
+                .withContentVersion(schema.getContentVersion())
+                .withSecondaryKeys(SchemaIndexKey.fromSchemaIds(schema.secondKeys()));
         kafkaTemplate.send(KAFKA_TOPIC, schema.getOrgId(), event);
     }
 
-    private void publishSchemaUpdatedEvent(AbstractSchemaDefinition<?> schema, String beforeSnapshot) {
+    private void publishSchemaUpdatedEvent(AbstractSchemaDefinition<?> oldSchema, AbstractSchemaDefinition<?> schema,
+                                           ChangeDetail changeDetail) {
         if (kafkaTemplate == null) {
             log.debug("Kafka disabled, skip publishing SchemaUpdatedEvent for {}", schema.getId().value());
             return;
         }
-        String afterContent = assembler.serializeDefinition(schema);
+        boolean secondaryKeysChanged = !Objects.equals(oldSchema.secondKeys(), schema.secondKeys());
         SchemaUpdatedEvent event = new SchemaUpdatedEvent(
                 schema.getOrgId(),
                 schema.getUpdatedBy(),
                 null, // sourceIp
                 null, // traceId
                 schema.getId().value(),
-                beforeSnapshot,
-                afterContent,
-                schema.getContentVersion());
-        event.withSchemaType(schema.getSchemaType().name());
+                extractChangedPaths(changeDetail),
+                secondaryKeysChanged);
+        event.setChangeSummary(changeDetail != null ? diffService.generateSummaryText(changeDetail) : null);
+        event.withSchemaType(schema.getSchemaType().name())
+                .withContentVersion(schema.getContentVersion())
+                .withSecondaryKeys(SchemaIndexKey.fromSchemaIds(schema.secondKeys()));
         kafkaTemplate.send(KAFKA_TOPIC, schema.getOrgId(), event);
     }
 
-    private void publishSchemaDeletedEvent(AbstractSchemaDefinition<?> schema, String lastSnapshot) {
+    private void publishSchemaDeletedEvent(AbstractSchemaDefinition<?> schema) {
         if (kafkaTemplate == null) {
             log.debug("Kafka disabled, skip publishing SchemaDeletedEvent for {}", schema.getId().value());
             return;
@@ -669,10 +684,37 @@ public class SchemaCommonService {
                 schema.getUpdatedBy(),
                 null, // sourceIp
                 null, // traceId
-                schema.getId().value(),
-                lastSnapshot,
-                schema.getContentVersion());
-        event.withSchemaType(schema.getSchemaType().name());
+                schema.getId().value());
+        event.withSchemaType(schema.getSchemaType().name())
+                .withContentVersion(schema.getContentVersion())
+                .withSecondaryKeys(List.of());
         kafkaTemplate.send(KAFKA_TOPIC, schema.getOrgId(), event);
     }
+
+    /**
+     * 从变更详情中提取变更路径摘要
+     * <p>
+     * 字段级变更取 fieldPath，语义级变更取 category，保持出现顺序并去重。
+     */
+    private List<String> extractChangedPaths(ChangeDetail changeDetail) {
+        if (changeDetail == null) {
+            return List.of();
+        }
+        Set<String> paths = new LinkedHashSet<>();
+        if (changeDetail.getChanges() != null) {
+            for (FieldChange change : changeDetail.getChanges()) {
+                if (change.getFieldPath() != null) {
+                    paths.add(change.getFieldPath());
+                }
+            }
+        }
+        if (changeDetail.getSemanticChanges() != null) {
+            for (SemanticChange change : changeDetail.getSemanticChanges()) {
+                if (change.getCategory() != null) {
+                    paths.add(change.getCategory());
+                }
+            }
+        }
+        return List.copyOf(paths);
+    }
 }
@@ -0,0 +1,90 @@
+package cn.planka.schema.service.common;
+
+import cn.planka.schema.config.SchemaIndexChangeLogProperties;
+import cn.planka.schema.mapper.SchemaIndexChangeLogMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二级索引变更日志清理
+ * <p>
+ * 定期执行两类清理：
+ * <ul>
+ *   <li>同一 Schema 已被更新版本覆盖的记录：增量查询只返回每个 Schema 的最后一条变更，删除后结果不变</li>
+ *   <li>超过保留期的记录：先推进清理下限再分批删除，水位低于下限的增量查询会被拒绝，消费方重新加载快照</li>
+ * </ul>
+ * 多实例同时清理时删除是幂等的，清理下限只增不减。
+ */
+@Slf4j
+@Component
+public class SchemaIndexChangeLogPruner implements AutoCloseable {
+
+    private final SchemaIndexChangeLogMapper changeLogMapper;
+    private final SchemaIndexChangeLogProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    public SchemaIndexChangeLogPruner(SchemaIndexChangeLogMapper changeLogMapper,
+                                      SchemaIndexChangeLogProperties properties) {
+        this(changeLogMapper, properties, Clock.systemDefaultZone());
+    }
+
+    SchemaIndexChangeLogPruner(SchemaIndexChangeLogMapper changeLogMapper,
+                               SchemaIndexChangeLogProperties properties, Clock clock) {
+        this.changeLogMapper = changeLogMapper;
+        this.properties = properties;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "schema-index-change-log-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1000L, properties.getPruneInterval().toMillis());
+        scheduler.scheduleWithFixedDelay(this::pruneQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void pruneQuietly() {
+        try {
+            prune();
+        } catch (Exception e) {
+            log.warn("清理二级索引变更日志失败，下次继续", e);
+        }
+    }
+
+    /**
+     * 执行一次清理
+     *
+     * @return 删除的记录数
+     */
+    int prune() {
+        int deleted = changeLogMapper.deleteSuperseded();
+
+        LocalDateTime before = LocalDateTime.now(clock).minus(properties.getRetention());
+        Long expiredVersion = changeLogMapper.findMaxVersionBefore(before);
+        if (expiredVersion != null) {
+            changeLogMapper.updatePrunedVersion(expiredVersion);
+            int batchSize = Math.max(1, properties.getPruneBatchSize());
+            int batch;
+            do {
+                batch = changeLogMapper.deleteUpTo(expiredVersion, batchSize);
+                deleted += batch;
+            } while (batch == batchSize);
+        }
+
+        if (deleted > 0) {
+            log.info("清理二级索引变更日志 {} 条，清理下限: {}", deleted, expiredVersion);
+        }
+        return deleted;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package cn.planka.schema.service.common;
+
+import cn.planka.schema.config.SchemaIndexChangeLogProperties;
+import cn.planka.schema.mapper.SchemaIndexChangeLogMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SchemaIndexChangeLogPruner 单元测试
+ */
+@DisplayName("SchemaIndexChangeLogPruner 单元测试")
+class SchemaIndexChangeLogPrunerTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 2, 12, 0);
+
+    private SchemaIndexChangeLogMapper mapper;
+    private SchemaIndexChangeLogPruner pruner;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(SchemaIndexChangeLogMapper.class);
+        SchemaIndexChangeLogProperties properties = new SchemaIndexChangeLogProperties();
+        properties.setRetention(Duration.ofDays(1));
+        properties.setPruneBatchSize(2);
+        Clock clock = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+        pruner = new SchemaIndexChangeLogPruner(mapper, properties, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pruner.close();
+    }
+
+    @Test
+    @DisplayName("先推进清理下限再分批删除超过保留期的记录")
+    void shouldRecordPrunedVersionBeforeDeletingExpiredRows() {
+        when(mapper.deleteSuperseded()).thenReturn(3);
+        when(mapper.findMaxVersionBefore(NOW.minusDays(1))).thenReturn(50L);
+        when(mapper.deleteUpTo(50L, 2)).thenReturn(2, 2, 1);
+
+        int deleted = pruner.prune();
+
+        assertThat(deleted).isEqualTo(8);
+        InOrder order = inOrder(mapper);
+        order.verify(mapper).updatePrunedVersion(50L);
+        order.verify(mapper, times(3)).deleteUpTo(50L, 2);
+    }
+
+    @Test
+    @DisplayName("没有超过保留期的记录时只删除被覆盖的记录，不推进清理下限")
+    void shouldOnlyDeleteSupersededRowsWhenNothingExpired() {
+        when(mapper.deleteSuperseded()).thenReturn(4);
+        when(mapper.findMaxVersionBefore(NOW.minusDays(1))).thenReturn(null);
+
+        int deleted = pruner.prune();
+
+        assertThat(deleted).isEqualTo(4);
+        verify(mapper, never()).updatePrunedVersion(anyLong());
+        verify(mapper, never()).deleteUpTo(anyLong(), anyInt());
+    }
+}
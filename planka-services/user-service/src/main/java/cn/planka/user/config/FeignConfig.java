@@ -1,7 +1,18 @@
 package cn.planka.user.config;
 
 import cn.planka.common.feign.InternalRequestInterceptor;
+import cn.planka.common.feign.InternalSmileDecoder;
+import cn.planka.common.feign.SmileAcceptInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,6 +21,8 @@ import org.springframework.context.annotation.Configuration;
  * <p>
  * 配置内部服务调用时自动添加 X-Internal-Request 请求头，
  * 以便 schema-service 识别请求来源并决定查询范围。
+ * <p>
+ * 内部调用优先以 Smile 二进制格式接收响应，服务端不支持时回退为 JSON。
  */
 @Configuration
 public class FeignConfig {
@@ -18,4 +31,20 @@ public class FeignConfig {
     public RequestInterceptor internalRequestInterceptor() {
         return new InternalRequestInterceptor();
     }
+
+    @Bean
+    public RequestInterceptor smileAcceptInterceptor() {
+        return new SmileAcceptInterceptor();
+    }
+
+    /**
+     * 在默认解码链中加入 Smile 解码
+     */
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers,
+                                ObjectMapper objectMapper) {
+        return new OptionalDecoder(new ResponseEntityDecoder(
+                new InternalSmileDecoder(new SpringDecoder(messageConverters, customizers), objectMapper)));
+    }
 }
@@ -103,17 +103,27 @@ public class MemberService {
         // 1. 获取成员实体类型 ID
         String memberCardTypeId = SystemSchemaIds.memberCardTypeId(orgId);
 
-        // 2. 构建查询请求
-        CardPageQueryRequest queryRequest = buildMemberOptionsQueryRequest(orgId, memberCardTypeId, keyword, page, size);
-
-        // 3. 调用 CardServiceClient 查询
-        Result<PageResult<CardDTO>> result = cardServiceClient.pageQuery("system", queryRequest);
+        // 2. 调用 CardServiceClient 查询：有关键字时走联想搜索，否则按名称分页
+        Result<PageResult<CardDTO>> result;
+        if (keyword != null && !keyword.isBlank()) {
+            CardTypeaheadRequest typeaheadRequest = CardTypeaheadRequest.builder()
+                    .orgId(orgId)
+                    .cardTypeIds(List.of(memberCardTypeId))
+                    .keyword(keyword.trim())
+                    .page(page)
+                    .size(size)
+                    .build();
+            result = cardServiceClient.typeahead("system", typeaheadRequest);
+        } else {
+            CardPageQueryRequest queryRequest = buildMemberOptionsQueryRequest(orgId, memberCardTypeId, keyword, page, size);
+            result = cardServiceClient.pageQuery("system", queryRequest);
+        }
         if (!result.isSuccess()) {
             log.error("Failed to query member cards: {}", result.getMessage());
             return Result.failure(result.getCode(), result.getMessage());
         }
 
-        // 4. 转换为 MemberOptionDTO
+        // 3. 转换为 MemberOptionDTO
         PageResult<CardDTO> cardPageResult = result.getData();
         List<MemberOptionDTO> options = cardPageResult.getContent().stream()
                 .map(card -> new MemberOptionDTO(card.getId().value(), card.getTitle().getDisplayValue()))
@@ -0,0 +1,106 @@
+package cn.planka.view.controller;
+
+import cn.planka.api.card.CardExportClient;
+import cn.planka.api.card.dto.CardExportFileDTO;
+import cn.planka.api.card.request.CardExportRequest;
+import cn.planka.api.view.request.ViewDataRequest;
+import cn.planka.common.result.Result;
+import cn.planka.view.service.ViewExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 视图导出控制器
+ * <p>
+ * 按视图的条件和列导出卡片。文件由 card-service 流式生成，这里边读边转发，不在内存中缓存文件。
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/view-data")
+@RequiredArgsConstructor
+public class ViewExportController {
+
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_DISPOSITION);
+
+    private final ViewExportService viewExportService;
+    private final CardExportClient cardExportClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 导出视图数据为 CSV / XLSX 文件
+     */
+    @PostMapping("/{viewId}/export")
+    public void export(
+            @PathVariable("viewId") String viewId,
+            @RequestHeader("X-Org-Id") String orgId,
+            @RequestHeader("X-Member-Card-Id") String operatorId,
+            @RequestParam(value = "format", defaultValue = "CSV") String format,
+            @RequestParam(value = "cascadeRelationNodeId", required = false) String cascadeRelationNodeId,
+            @RequestBody(required = false) ViewDataRequest request,
+            HttpServletResponse response) throws IOException {
+        log.debug("导出视图数据, viewId={}, format={}, operatorId={}", viewId, format, operatorId);
+        Result<CardExportRequest> exportRequest = viewExportService.buildExportRequest(
+                viewId, request, format, operatorId, orgId, cascadeRelationNodeId);
+        if (!exportRequest.isSuccess()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), exportRequest);
+            return;
+        }
+
+        try (Response upstream = cardExportClient.export(operatorId, exportRequest.getData())) {
+            response.setStatus(upstream.status());
+            for (String name : FORWARDED_HEADERS) {
+                Collection<String> values = upstream.headers().get(name.toLowerCase());
+                if (values == null) {
+                    values = upstream.headers().get(name);
+                }
+                if (values != null && !values.isEmpty()) {
+                    response.setHeader(name, values.iterator().next());
+                }
+            }
+            if (upstream.body() == null) {
+                return;
+            }
+            try (InputStream in = upstream.body().asInputStream()) {
+                OutputStream out = response.getOutputStream();
+                in.transferTo(out);
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * 导出视图数据到对象存储
+     */
+    @PostMapping("/{viewId}/export/oss")
+    public Result<CardExportFileDTO> exportToOss(
+            @PathVariable("viewId") String viewId,
+            @RequestHeader("X-Org-Id") String orgId,
+            @RequestHeader("X-Member-Card-Id") String operatorId,
+            @RequestParam(value = "format", defaultValue = "CSV") String format,
+            @RequestParam(value = "cascadeRelationNodeId", required = false) String cascadeRelationNodeId,
+            @RequestBody(required = false) ViewDataRequest request) {
+        Result<CardExportRequest> exportRequest = viewExportService.buildExportRequest(
+                viewId, request, format, operatorId, orgId, cascadeRelationNodeId);
+        if (!exportRequest.isSuccess()) {
+            return Result.failure(exportRequest.getCode(), exportRequest.getMessage());
+        }
+        return cardExportClient.exportToOss(operatorId, exportRequest.getData());
+    }
+}
@@ -0,0 +1,89 @@
+package cn.planka.view.service;
+
+import cn.planka.api.card.request.CardExportColumn;
+import cn.planka.api.card.request.CardExportRequest;
+import cn.planka.api.card.request.CardPageQueryRequest;
+import cn.planka.api.view.request.ViewDataRequest;
+import cn.planka.common.exception.CommonErrorCode;
+import cn.planka.common.result.Result;
+import cn.planka.domain.schema.definition.SchemaDefinition;
+import cn.planka.domain.schema.definition.view.ListViewDefinition;
+import cn.planka.infra.cache.schema.SchemaCacheService;
+import cn.planka.view.converter.ViewToQueryConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 视图导出服务
+ * <p>
+ * 把列表视图的条件（含用户附加条件）和列配置转换为卡片导出请求，由 card-service 流式生成文件。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewExportService {
+
+    private static final String TITLE_FIELD_ID = "title";
+
+    private final SchemaCacheService schemaCacheService;
+    private final ViewDataVisibilityService viewDataVisibilityService;
+    private final ViewToQueryConverter queryConverter;
+
+    /**
+     * 构建视图的导出请求
+     *
+     * @param viewId     视图ID
+     * @param request    查询请求（附加条件），可为 null
+     * @param format     文件格式：CSV / XLSX
+     * @param operatorId 操作人ID
+     * @param orgId      组织ID
+     * @return 卡片导出请求
+     */
+    public Result<CardExportRequest> buildExportRequest(String viewId,
+                                                        ViewDataRequest request,
+                                                        String format,
+                                                        String operatorId,
+                                                        String orgId,
+                                                        String cascadeRelationNodeId) {
+        SchemaDefinition<?> schema = schemaCacheService.getById(viewId).orElse(null);
+        if (!(schema instanceof ListViewDefinition viewDef)) {
+            return Result.failure(CommonErrorCode.BAD_REQUEST, "视图不存在或不支持导出: " + viewId);
+        }
+        if (orgId != null && !orgId.equals(viewDef.getOrgId())) {
+            return Result.failure(CommonErrorCode.OPERATION_NOT_ALLOWED, "组织与视图不匹配");
+        }
+        if (!viewDataVisibilityService.canQuery(viewDef, operatorId, cascadeRelationNodeId)) {
+            return Result.failure(CommonErrorCode.OPERATION_NOT_ALLOWED, "无权访问该视图");
+        }
+
+        CardPageQueryRequest query = queryConverter.convert(viewDef, request, operatorId);
+        CardExportRequest exportRequest = new CardExportRequest();
+        exportRequest.setQueryContext(query.getQueryContext());
+        exportRequest.setQueryScope(query.getQueryScope());
+        exportRequest.setCondition(query.getCondition());
+        exportRequest.setColumns(buildColumns(viewDef));
+        exportRequest.setFormat(format);
+        exportRequest.setFileName(viewDef.getName());
+        return Result.success(exportRequest);
+    }
+
+    /**
+     * 导出列与列表视图一致：标题列在前，其余按列配置顺序，表头由 card-service 按属性名称填充
+     */
+    private List<CardExportColumn> buildColumns(ListViewDefinition viewDef) {
+        List<CardExportColumn> columns = new ArrayList<>();
+        columns.add(new CardExportColumn(TITLE_FIELD_ID, null));
+        if (viewDef.getColumnConfigs() != null) {
+            for (ListViewDefinition.ColumnConfig config : viewDef.getColumnConfigs()) {
+                if (!TITLE_FIELD_ID.equals(config.getFieldId())) {
+                    columns.add(new CardExportColumn(config.getFieldId(), null));
+                }
+            }
+        }
+        return columns;
+    }
+}
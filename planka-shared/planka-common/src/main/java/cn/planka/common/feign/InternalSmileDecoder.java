@@ -0,0 +1,56 @@
+package cn.planka.common.feign;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Feign Smile 解码器
+ * <p>
+ * 响应 Content-Type 为 {@link InternalSmileCodec#MEDIA_TYPE} 时用 Smile ObjectMapper 解码，
+ * 其余响应（JSON、文本等）交给被包装的解码器。应包装在 OptionalDecoder / ResponseEntityDecoder 之内。
+ */
+public class InternalSmileDecoder implements Decoder {
+
+    private static final String HEADER_CONTENT_TYPE = "Content-Type";
+
+    private final Decoder delegate;
+    private final ObjectMapper smileMapper;
+
+    /**
+     * @param delegate   非 Smile 响应的解码器
+     * @param jsonMapper 应用的 JSON ObjectMapper，Smile 解码复用其模块和配置
+     */
+    public InternalSmileDecoder(Decoder delegate, ObjectMapper jsonMapper) {
+        this.delegate = delegate;
+        this.smileMapper = InternalSmileCodec.createMapper(jsonMapper);
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.body() == null || !isSmile(response)) {
+            return delegate.decode(response, type);
+        }
+        try (InputStream in = response.body().asInputStream()) {
+            return smileMapper.readValue(in, smileMapper.constructType(type));
+        }
+    }
+
+    private static boolean isSmile(Response response) {
+        Collection<String> contentTypes = response.headers().get(HEADER_CONTENT_TYPE);
+        if (contentTypes == null) {
+            return false;
+        }
+        for (String contentType : contentTypes) {
+            if (contentType != null && contentType.startsWith(InternalSmileCodec.MEDIA_TYPE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package cn.planka.common.feign;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Feign Smile 协商拦截器
+ * <p>
+ * 为内部服务调用添加 Accept 请求头，优先接受 {@link InternalSmileCodec#MEDIA_TYPE}，其次 JSON。
+ * 已显式声明 Accept（如 produces）的请求保持不变。
+ * 需要与注册了 Smile 转换器的 Feign 解码器配合使用。
+ */
+public class SmileAcceptInterceptor implements RequestInterceptor {
+
+    private static final String HEADER_ACCEPT = "Accept";
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (template.headers().containsKey(HEADER_ACCEPT)) {
+            return;
+        }
+        template.header(HEADER_ACCEPT, InternalSmileCodec.ACCEPT);
+    }
+}
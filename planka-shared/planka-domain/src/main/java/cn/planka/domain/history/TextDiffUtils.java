@@ -6,18 +6,30 @@ import cn.planka.domain.history.HistoryArgument.TextDiffArg.DiffLine;
 import cn.planka.domain.history.HistoryArgument.TextDiffArg.DiffLineType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文本差异计算工具类
  * <p>
- * 使用基于行的 LCS（最长公共子序列）算法计算文本差异。
+ * 基于行的 Myers O(ND) 差异算法（线性空间的中间蛇分治实现）：
+ * <ul>
+ *   <li>先裁掉公共前缀和公共后缀，只对中间变化区域计算差异</li>
+ *   <li>行内容映射为整数后比较，内存占用与行数成线性关系</li>
+ *   <li>编辑距离超过上限时，剩余区域按整体替换（先删除后新增）输出</li>
+ * </ul>
+ * 耗时与变化规模相关，而不是与文档长度的平方相关。
  */
 public final class TextDiffUtils {
 
     /** 上下文行数（差异块前后保留的未变化行数） */
     private static final int CONTEXT_LINES = 2;
 
+    /** 编辑距离上限（行），超过后按整体替换输出 */
+    private static final int MAX_EDIT_DISTANCE = 2_000;
+
     private TextDiffUtils() {
     }
 
@@ -32,11 +44,11 @@ public final class TextDiffUtils {
         String[] oldLines = splitLines(oldText);
         String[] newLines = splitLines(newText);
 
-        // 计算 LCS 并生成差异
-        List<DiffLine> allDiffLines = computeDiffLines(oldLines, newLines);
+        // 计算未变化的行区间
+        List<Match> matches = computeMatches(oldLines, newLines);
 
-        // 将连续的差异行分组为 hunks
-        List<DiffHunk> hunks = groupIntoHunks(allDiffLines, oldLines.length, newLines.length);
+        // 将变化区域及其上下文分组为 hunks
+        List<DiffHunk> hunks = groupIntoHunks(matches, oldLines, newLines);
 
         return new TextDiffArg(hunks);
     }
@@ -52,129 +64,270 @@ public final class TextDiffUtils {
     }
 
     /**
-     * 使用 LCS 算法计算差异行
+     * 计算两侧未变化的行区间，按位置升序；区间之间的部分即为变化（删除旧行、新增新行）
      */
-    private static List<DiffLine> computeDiffLines(String[] oldLines, String[] newLines) {
-        int m = oldLines.length;
-        int n = newLines.length;
-
-        // 计算 LCS 矩阵
-        int[][] dp = new int[m + 1][n + 1];
-        for (int i = 1; i <= m; i++) {
-            for (int j = 1; j <= n; j++) {
-                if (oldLines[i - 1].equals(newLines[j - 1])) {
-                    dp[i][j] = dp[i - 1][j - 1] + 1;
-                } else {
-                    dp[i][j] = Math.max(dp[i - 1][j], dp[i][j - 1]);
-                }
-            }
+    private static List<Match> computeMatches(String[] oldLines, String[] newLines) {
+        int oldLength = oldLines.length;
+        int newLength = newLines.length;
+
+        int prefix = 0;
+        while (prefix < oldLength && prefix < newLength && oldLines[prefix].equals(newLines[prefix])) {
+            prefix++;
         }
+        int suffix = 0;
+        while (suffix < oldLength - prefix && suffix < newLength - prefix
+                && oldLines[oldLength - 1 - suffix].equals(newLines[newLength - 1 - suffix])) {
+            suffix++;
+        }
+
+        MatchCollector matches = new MatchCollector(prefix, prefix);
+        if (prefix > 0) {
+            matches.add(-prefix, -prefix, prefix);
+        }
+
+        // 中间区域的行映射为整数，后续比较只比较整数
+        Map<String, Integer> lineIds = new HashMap<>();
+        int[] a = internLines(oldLines, prefix, oldLength - suffix, lineIds);
+        int[] b = internLines(newLines, prefix, newLength - suffix, lineIds);
+        diff(a, 0, a.length, b, 0, b.length, matches);
 
-        // 回溯生成差异
-        List<DiffLine> result = new ArrayList<>();
-        int i = m, j = n;
-
-        while (i > 0 || j > 0) {
-            if (i > 0 && j > 0 && oldLines[i - 1].equals(newLines[j - 1])) {
-                result.add(0, new DiffLine(DiffLineType.CONTEXT, oldLines[i - 1]));
-                i--;
-                j--;
-            } else if (j > 0 && (i == 0 || dp[i][j - 1] >= dp[i - 1][j])) {
-                result.add(0, new DiffLine(DiffLineType.ADD, newLines[j - 1]));
-                j--;
-            } else {
-                result.add(0, new DiffLine(DiffLineType.DELETE, oldLines[i - 1]));
-                i--;
+        if (suffix > 0) {
+            matches.add(a.length, b.length, suffix);
+        }
+        return matches.matches;
+    }
+
+    private static int[] internLines(String[] lines, int from, int to, Map<String, Integer> lineIds) {
+        int[] ids = new int[to - from];
+        for (int i = from; i < to; i++) {
+            ids[i - from] = lineIds.computeIfAbsent(lines[i], key -> lineIds.size());
+        }
+        return ids;
+    }
+
+    /**
+     * 计算 a[aLo, aHi) 与 b[bLo, bHi) 的差异，未变化的区间按顺序写入 matches
+     */
+    private static void diff(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi, MatchCollector matches) {
+        int prefix = 0;
+        while (aLo + prefix < aHi && bLo + prefix < bHi && a[aLo + prefix] == b[bLo + prefix]) {
+            prefix++;
+        }
+        if (prefix > 0) {
+            matches.add(aLo, bLo, prefix);
+            aLo += prefix;
+            bLo += prefix;
+        }
+        int suffix = 0;
+        while (aLo < aHi - suffix && bLo < bHi - suffix && a[aHi - 1 - suffix] == b[bHi - 1 - suffix]) {
+            suffix++;
+        }
+        aHi -= suffix;
+        bHi -= suffix;
+
+        if (aLo < aHi && bLo < bHi) {
+            int[] split = bisect(a, aLo, aHi, b, bLo, bHi);
+            // 找不到分割点（超过编辑距离上限或没有公共行）时整体替换，不记录匹配
+            if (split != null) {
+                diff(a, aLo, split[0], b, bLo, split[1], matches);
+                diff(a, split[0], aHi, b, split[1], bHi, matches);
             }
         }
 
-        return result;
+        if (suffix > 0) {
+            matches.add(aHi, bHi, suffix);
+        }
     }
 
     /**
-     * 将差异行分组为 hunks
+     * 查找中间蛇：从两端同时搜索最短编辑路径，返回路径相遇处的分割点 {aSplit, bSplit}
      * <p>
-     * 每个 hunk 包含变化的行及其周围的上下文行
+     * 只保存当前步数的前向/后向 V 数组，空间为 O(N+M)。搜索步数超过上限时返回 null。
      */
-    private static List<DiffHunk> groupIntoHunks(List<DiffLine> allLines, int oldTotalLines, int newTotalLines) {
-        List<DiffHunk> hunks = new ArrayList<>();
+    private static int[] bisect(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi) {
+        int n = aHi - aLo;
+        int m = bHi - bLo;
+        int maxD = Math.min((n + m + 1) / 2, MAX_EDIT_DISTANCE / 2 + 1);
+        int vOffset = maxD;
+        int[] forward = new int[2 * maxD + 2];
+        int[] backward = new int[2 * maxD + 2];
+        Arrays.fill(forward, -1);
+        Arrays.fill(backward, -1);
+        forward[vOffset + 1] = 0;
+        backward[vOffset + 1] = 0;
 
-        // 找出所有变化行的索引
-        List<Integer> changeIndices = new ArrayList<>();
-        for (int i = 0; i < allLines.size(); i++) {
-            if (allLines.get(i).type() != DiffLineType.CONTEXT) {
-                changeIndices.add(i);
+        int delta = n - m;
+        // 两侧长度差为奇数时在前向搜索中检查相遇，否则在后向搜索中检查
+        boolean checkInForward = (delta & 1) != 0;
+        int forwardStart = 0;
+        int forwardEnd = 0;
+        int backwardStart = 0;
+        int backwardEnd = 0;
+
+        for (int d = 0; d < maxD; d++) {
+            for (int k = -d + forwardStart; k <= d - forwardEnd; k += 2) {
+                int kOffset = vOffset + k;
+                int x = (k == -d || (k != d && forward[kOffset - 1] < forward[kOffset + 1]))
+                        ? forward[kOffset + 1]
+                        : forward[kOffset - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[aLo + x] == b[bLo + y]) {
+                    x++;
+                    y++;
+                }
+                forward[kOffset] = x;
+                if (x > n) {
+                    forwardEnd += 2;
+                } else if (y > m) {
+                    forwardStart += 2;
+                } else if (checkInForward) {
+                    int backwardOffset = vOffset + delta - k;
+                    if (backwardOffset >= 0 && backwardOffset < backward.length && backward[backwardOffset] != -1
+                            && x >= n - backward[backwardOffset]) {
+                        return new int[]{aLo + x, bLo + y};
+                    }
+                }
+            }
+
+            for (int k = -d + backwardStart; k <= d - backwardEnd; k += 2) {
+                int kOffset = vOffset + k;
+                int x = (k == -d || (k != d && backward[kOffset - 1] < backward[kOffset + 1]))
+                        ? backward[kOffset + 1]
+                        : backward[kOffset - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[aHi - 1 - x] == b[bHi - 1 - y]) {
+                    x++;
+                    y++;
+                }
+                backward[kOffset] = x;
+                if (x > n) {
+                    backwardEnd += 2;
+                } else if (y > m) {
+                    backwardStart += 2;
+                } else if (!checkInForward) {
+                    int forwardOffset = vOffset + delta - k;
+                    if (forwardOffset >= 0 && forwardOffset < forward.length && forward[forwardOffset] != -1) {
+                        int forwardX = forward[forwardOffset];
+                        int forwardY = vOffset + forwardX - forwardOffset;
+                        if (forwardX >= n - x) {
+                            return new int[]{aLo + forwardX, bLo + forwardY};
+                        }
+                    }
+                }
             }
         }
+        return null;
+    }
 
-        if (changeIndices.isEmpty()) {
-            // 没有变化
-            return hunks;
+    /**
+     * 将变化区域分组为 hunks
+     * <p>
+     * 每个 hunk 包含变化的行及其前后各 {@link #CONTEXT_LINES} 行上下文；
+     * 两处变化之间的未变化行不超过两倍上下文行数时合并为同一个 hunk。
+     * 同一变化区域内先输出删除行，再输出新增行。
+     */
+    private static List<DiffHunk> groupIntoHunks(List<Match> matches, String[] oldLines, String[] newLines) {
+        // 变化区域：相邻两个未变化区间之间的部分
+        List<Change> changes = new ArrayList<>();
+        int oldPos = 0;
+        int newPos = 0;
+        for (Match match : matches) {
+            if (match.oldStart() > oldPos || match.newStart() > newPos) {
+                changes.add(new Change(oldPos, match.oldStart(), newPos, match.newStart()));
+            }
+            oldPos = match.oldStart() + match.length();
+            newPos = match.newStart() + match.length();
+        }
+        if (oldPos < oldLines.length || newPos < newLines.length) {
+            changes.add(new Change(oldPos, oldLines.length, newPos, newLines.length));
         }
 
-        // 按照间隔分组
-        int hunkStart = Math.max(0, changeIndices.get(0) - CONTEXT_LINES);
-        int hunkEnd = Math.min(allLines.size() - 1, changeIndices.get(0) + CONTEXT_LINES);
+        List<DiffHunk> hunks = new ArrayList<>();
+        int i = 0;
+        while (i < changes.size()) {
+            Change first = changes.get(i);
+            int leading = Math.min(CONTEXT_LINES, first.oldStart() - (i > 0 ? changes.get(i - 1).oldEnd() : 0));
+            int hunkOldStart = first.oldStart() - leading;
+            int hunkNewStart = first.newStart() - leading;
 
-        for (int k = 1; k < changeIndices.size(); k++) {
-            int changeIdx = changeIndices.get(k);
-            int changeStart = Math.max(0, changeIdx - CONTEXT_LINES);
-            int changeEnd = Math.min(allLines.size() - 1, changeIdx + CONTEXT_LINES);
+            List<DiffLine> lines = new ArrayList<>();
+            appendContext(lines, oldLines, hunkOldStart, first.oldStart());
+            appendChange(lines, first, oldLines, newLines);
 
-            if (changeStart <= hunkEnd + 1) {
-                // 合并到当前 hunk
-                hunkEnd = changeEnd;
-            } else {
-                // 创建新 hunk
-                hunks.add(createHunk(allLines, hunkStart, hunkEnd));
-                hunkStart = changeStart;
-                hunkEnd = changeEnd;
+            Change last = first;
+            while (i + 1 < changes.size()
+                    && changes.get(i + 1).oldStart() - last.oldEnd() <= 2 * CONTEXT_LINES) {
+                Change next = changes.get(++i);
+                appendContext(lines, oldLines, last.oldEnd(), next.oldStart());
+                appendChange(lines, next, oldLines, newLines);
+                last = next;
             }
-        }
 
-        // 添加最后一个 hunk
-        hunks.add(createHunk(allLines, hunkStart, hunkEnd));
+            int nextStart = i + 1 < changes.size() ? changes.get(i + 1).oldStart() : oldLines.length;
+            int trailing = Math.min(CONTEXT_LINES, nextStart - last.oldEnd());
+            appendContext(lines, oldLines, last.oldEnd(), last.oldEnd() + trailing);
 
+            int hunkOldEnd = last.oldEnd() + trailing;
+            int hunkNewEnd = last.newEnd() + trailing;
+            hunks.add(new DiffHunk(hunkOldStart + 1, hunkOldEnd - hunkOldStart,
+                    hunkNewStart + 1, hunkNewEnd - hunkNewStart, lines));
+            i++;
+        }
         return hunks;
     }
 
+    private static void appendContext(List<DiffLine> lines, String[] oldLines, int from, int to) {
+        for (int i = from; i < to; i++) {
+            lines.add(new DiffLine(DiffLineType.CONTEXT, oldLines[i]));
+        }
+    }
+
+    private static void appendChange(List<DiffLine> lines, Change change, String[] oldLines, String[] newLines) {
+        for (int i = change.oldStart(); i < change.oldEnd(); i++) {
+            lines.add(new DiffLine(DiffLineType.DELETE, oldLines[i]));
+        }
+        for (int i = change.newStart(); i < change.newEnd(); i++) {
+            lines.add(new DiffLine(DiffLineType.ADD, newLines[i]));
+        }
+    }
+
     /**
-     * 创建一个 hunk
+     * 未变化的行区间（0 起始）
      */
-    private static DiffHunk createHunk(List<DiffLine> allLines, int start, int end) {
-        List<DiffLine> hunkLines = new ArrayList<>();
-        int oldStart = 1;
-        int newStart = 1;
-        int oldCount = 0;
-        int newCount = 0;
-
-        // 计算起始行号
-        for (int i = 0; i < start; i++) {
-            DiffLine line = allLines.get(i);
-            switch (line.type()) {
-                case CONTEXT -> {
-                    oldStart++;
-                    newStart++;
-                }
-                case DELETE -> oldStart++;
-                case ADD -> newStart++;
-            }
+    private record Match(int oldStart, int newStart, int length) {
+    }
+
+    /**
+     * 变化区域：删除旧行 [oldStart, oldEnd)，新增新行 [newStart, newEnd)
+     */
+    private record Change(int oldStart, int oldEnd, int newStart, int newEnd) {
+    }
+
+    /**
+     * 按顺序收集未变化区间，合并首尾相接的区间；位置加上偏移量换算为全文行号
+     */
+    private static final class MatchCollector {
+
+        private final List<Match> matches = new ArrayList<>();
+        private final int oldOffset;
+        private final int newOffset;
+
+        private MatchCollector(int oldOffset, int newOffset) {
+            this.oldOffset = oldOffset;
+            this.newOffset = newOffset;
         }
 
-        // 收集 hunk 中的行并统计行数
-        for (int i = start; i <= end; i++) {
-            DiffLine line = allLines.get(i);
-            hunkLines.add(line);
-            switch (line.type()) {
-                case CONTEXT -> {
-                    oldCount++;
-                    newCount++;
+        void add(int oldStart, int newStart, int length) {
+            int absOldStart = oldStart + oldOffset;
+            int absNewStart = newStart + newOffset;
+            if (!matches.isEmpty()) {
+                Match last = matches.get(matches.size() - 1);
+                if (last.oldStart() + last.length() == absOldStart && last.newStart() + last.length() == absNewStart) {
+                    matches.set(matches.size() - 1, new Match(last.oldStart(), last.newStart(), last.length() + length));
+                    return;
                 }
-                case DELETE -> oldCount++;
-                case ADD -> newCount++;
             }
+            matches.add(new Match(absOldStart, absNewStart, length));
         }
-
-        return new DiffHunk(oldStart, oldCount, newStart, newCount, hunkLines);
     }
 }
@@ -0,0 +1,158 @@
+package cn.planka.domain.history;
+
+import cn.planka.domain.history.HistoryArgument.TextDiffArg;
+import cn.planka.domain.history.HistoryArgument.TextDiffArg.DiffHunk;
+import cn.planka.domain.history.HistoryArgument.TextDiffArg.DiffLine;
+import cn.planka.domain.history.HistoryArgument.TextDiffArg.DiffLineType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TextDiffUtils 单元测试")
+class TextDiffUtilsTest {
+
+    @Test
+    @DisplayName("文本相同时没有差异块")
+    void shouldReturnNoHunks_whenTextUnchanged() {
+        assertThat(TextDiffUtils.computeDiff("a\nb\nc", "a\nb\nc").hunks()).isEmpty();
+        assertThat(TextDiffUtils.computeDiff(null, "").hunks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("修改一行时输出删除、新增及前后两行上下文")
+    void shouldProduceHunkWithContext_whenOneLineChanged() {
+        TextDiffArg diff = TextDiffUtils.computeDiff("1\n2\n3\n4\n5\n6\n7", "1\n2\n3\nX\n5\n6\n7");
+
+        assertThat(diff.hunks()).hasSize(1);
+        DiffHunk hunk = diff.hunks().get(0);
+        assertThat(hunk.oldStart()).isEqualTo(2);
+        assertThat(hunk.oldCount()).isEqualTo(5);
+        assertThat(hunk.newStart()).isEqualTo(2);
+        assertThat(hunk.newCount()).isEqualTo(5);
+        assertThat(hunk.lines()).containsExactly(
+                new DiffLine(DiffLineType.CONTEXT, "2"),
+                new DiffLine(DiffLineType.CONTEXT, "3"),
+                new DiffLine(DiffLineType.DELETE, "4"),
+                new DiffLine(DiffLineType.ADD, "X"),
+                new DiffLine(DiffLineType.CONTEXT, "5"),
+                new DiffLine(DiffLineType.CONTEXT, "6"));
+    }
+
+    @Test
+    @DisplayName("相距较远的变化拆分为多个差异块，相近的合并")
+    void shouldSplitDistantChangesIntoHunks() {
+        TextDiffArg diff = TextDiffUtils.computeDiff(
+                "a\nb\nc\nd\ne\nf\ng\nh\ni\nj",
+                "A\nb\nc\nd\ne\nf\ng\nH\ni\nj\nk");
+
+        assertThat(diff.hunks()).hasSize(2);
+        assertThat(diff.hunks().get(0).oldStart()).isEqualTo(1);
+        assertThat(diff.hunks().get(0).oldCount()).isEqualTo(3);
+        assertThat(diff.hunks().get(1).oldStart()).isEqualTo(6);
+        assertThat(diff.hunks().get(1).oldCount()).isEqualTo(5);
+        assertThat(diff.hunks().get(1).newCount()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("随机文本的差异可以还原出新文本，且变化行数最少")
+    void shouldProduceMinimalDiffThatReconstructsNewText() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2_000; round++) {
+            String[] oldLines = randomLines(random, random.nextInt(25));
+            String[] newLines = randomLines(random, random.nextInt(25));
+
+            TextDiffArg diff = TextDiffUtils.computeDiff(String.join("\n", oldLines), String.join("\n", newLines));
+
+            assertThat(apply(oldLines, diff)).containsExactly(newLines);
+            assertThat(changedLines(diff)).isEqualTo(oldLines.length + newLines.length
+                    - 2 * lcsLength(oldLines, newLines));
+        }
+    }
+
+    @Test
+    @DisplayName("大文档中的小修改只输出修改附近的行")
+    void shouldOnlyOutputNearbyLines_whenLargeDocumentSlightlyChanged() {
+        String[] oldLines = new String[100_000];
+        for (int i = 0; i < oldLines.length; i++) {
+            oldLines[i] = "line " + i;
+        }
+        String[] newLines = oldLines.clone();
+        newLines[50_000] = "changed";
+
+        TextDiffArg diff = TextDiffUtils.computeDiff(String.join("\n", oldLines), String.join("\n", newLines));
+
+        assertThat(diff.hunks()).hasSize(1);
+        assertThat(diff.hunks().get(0).oldStart()).isEqualTo(49_999);
+        assertThat(diff.hunks().get(0).lines()).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("编辑距离超过上限时整体替换，差异仍然正确")
+    void shouldFallBackToReplace_whenEditDistanceTooLarge() {
+        String[] oldLines = new String[6_000];
+        String[] newLines = new String[6_000];
+        for (int i = 0; i < oldLines.length; i++) {
+            oldLines[i] = i % 2 == 0 ? "same " + i : "old " + i;
+            newLines[i] = i % 2 == 0 ? "same " + i : "new " + i;
+        }
+
+        TextDiffArg diff = TextDiffUtils.computeDiff(String.join("\n", oldLines), String.join("\n", newLines));
+
+        assertThat(apply(oldLines, diff)).containsExactly(newLines);
+    }
+
+    private static String[] randomLines(Random random, int count) {
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = String.valueOf((char) ('a' + random.nextInt(4)));
+        }
+        return lines;
+    }
+
+    private static List<String> apply(String[] oldLines, TextDiffArg diff) {
+        List<String> result = new ArrayList<>();
+        int pos = 0;
+        for (DiffHunk hunk : diff.hunks()) {
+            while (pos < hunk.oldStart() - 1) {
+                result.add(oldLines[pos++]);
+            }
+            assertThat(result).hasSize(hunk.newStart() - 1);
+            for (DiffLine line : hunk.lines()) {
+                switch (line.type()) {
+                    case CONTEXT -> {
+                        assertThat(oldLines[pos]).isEqualTo(line.content());
+                        result.add(oldLines[pos++]);
+                    }
+                    case DELETE -> assertThat(oldLines[pos++]).isEqualTo(line.content());
+                    case ADD -> result.add(line.content());
+                }
+            }
+        }
+        while (pos < oldLines.length) {
+            result.add(oldLines[pos++]);
+        }
+        return result;
+    }
+
+    private static long changedLines(TextDiffArg diff) {
+        return diff.hunks().stream()
+                .flatMap(hunk -> hunk.lines().stream())
+                .filter(line -> line.type() != DiffLineType.CONTEXT)
+                .count();
+    }
+
+    private static int lcsLength(String[] a, String[] b) {
+        int[][] dp = new int[a.length + 1][b.length + 1];
+        for (int i = 1; i <= a.length; i++) {
+            for (int j = 1; j <= b.length; j++) {
+                dp[i][j] = a[i - 1].equals(b[j - 1]) ? dp[i - 1][j - 1] + 1 : Math.max(dp[i - 1][j], dp[i][j - 1]);
+            }
+        }
+        return dp[a.length][b.length];
+    }
+}
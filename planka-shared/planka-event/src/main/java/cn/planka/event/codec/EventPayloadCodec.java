@@ -0,0 +1,51 @@
+package cn.planka.event.codec;
+
+import cn.planka.common.feign.InternalSmileCodec;
+import cn.planka.event.DomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.kafka.support.JacksonUtils;
+
+/**
+ * 事件消息体编码
+ * <p>
+ * JSON 编码与 Spring Kafka 默认的 JsonSerializer 使用相同的 ObjectMapper 配置，
+ * Smile 编码复制同一配置，两种格式可由 {@link EventPayloadDeserializer} 解码为同样的事件对象。
+ */
+public class EventPayloadCodec {
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+
+    public EventPayloadCodec() {
+        this(JacksonUtils.enhancedObjectMapper());
+    }
+
+    public EventPayloadCodec(ObjectMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = InternalSmileCodec.createMapper(jsonMapper);
+    }
+
+    /**
+     * 编码事件
+     *
+     * @param event  领域事件
+     * @param format 消息体格式
+     * @return 编码后的消息体
+     */
+    public byte[] encode(DomainEvent event, EventPayloadFormat format) {
+        try {
+            return mapper(format).writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode event: type=" + event.getEventType()
+                    + ", eventId=" + event.getEventId(), e);
+        }
+    }
+
+    /**
+     * 获取指定格式的 ObjectMapper
+     */
+    public ObjectMapper mapper(EventPayloadFormat format) {
+        return format == EventPayloadFormat.SMILE ? smileMapper : jsonMapper;
+    }
+}
@@ -0,0 +1,69 @@
+package cn.planka.event.codec;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * 按消息格式头解码的事件反序列化器
+ * <p>
+ * 可直接替换 JsonDeserializer（支持相同的配置项，如 spring.json.trusted.packages）：
+ * 带 {@code X-Event-Format: smile/1} 头的消息按 Smile 解码，其余消息按 JSON 解码，
+ * 生产者从 JSON 切换到 Smile 的过程中两种消息可以共存。
+ *
+ * @param <T> 事件类型
+ */
+public class EventPayloadDeserializer<T> implements Deserializer<T> {
+
+    private final JsonDeserializer<T> jsonDeserializer;
+    private final JsonDeserializer<T> smileDeserializer;
+
+    /**
+     * 由 Kafka 通过配置项实例化时使用
+     */
+    public EventPayloadDeserializer() {
+        EventPayloadCodec codec = new EventPayloadCodec();
+        this.jsonDeserializer = new JsonDeserializer<>(codec.mapper(EventPayloadFormat.JSON));
+        this.smileDeserializer = new JsonDeserializer<>(codec.mapper(EventPayloadFormat.SMILE));
+    }
+
+    /**
+     * @param targetType          目标类型
+     * @param useHeadersIfPresent 是否优先使用消息头中的类型信息
+     */
+    public EventPayloadDeserializer(Class<? super T> targetType, boolean useHeadersIfPresent) {
+        EventPayloadCodec codec = new EventPayloadCodec();
+        this.jsonDeserializer = new JsonDeserializer<>(targetType,
+                codec.mapper(EventPayloadFormat.JSON), useHeadersIfPresent);
+        this.smileDeserializer = new JsonDeserializer<>(targetType,
+                codec.mapper(EventPayloadFormat.SMILE), useHeadersIfPresent);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+        smileDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        Header formatHeader = headers != null ? headers.lastHeader(EventPayloadFormat.HEADER) : null;
+        EventPayloadFormat format = EventPayloadFormat.fromHeader(formatHeader != null ? formatHeader.value() : null);
+        JsonDeserializer<T> delegate = format == EventPayloadFormat.SMILE ? smileDeserializer : jsonDeserializer;
+        return delegate.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+        smileDeserializer.close();
+    }
+}
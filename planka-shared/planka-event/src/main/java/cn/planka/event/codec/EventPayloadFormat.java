@@ -0,0 +1,60 @@
+package cn.planka.event.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 事件消息体格式
+ * <p>
+ * 格式和版本通过 Kafka 消息头 {@link #HEADER} 传递，没有该消息头的消息按 JSON 处理（兼容旧生产者）。
+ */
+public enum EventPayloadFormat {
+
+    /**
+     * JSON 文本
+     */
+    JSON("json/1"),
+
+    /**
+     * Jackson Smile 二进制，数据模型与 JSON 一致
+     */
+    SMILE("smile/1");
+
+    /**
+     * 消息格式头
+     */
+    public static final String HEADER = "X-Event-Format";
+
+    private final String headerValue;
+
+    EventPayloadFormat(String headerValue) {
+        this.headerValue = headerValue;
+    }
+
+    public String getHeaderValue() {
+        return headerValue;
+    }
+
+    public byte[] headerBytes() {
+        return headerValue.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 根据消息头解析格式
+     *
+     * @param headerValue 消息头的值，为 null 时视为 JSON
+     * @return 消息体格式
+     * @throws IllegalArgumentException 未知的格式或版本
+     */
+    public static EventPayloadFormat fromHeader(byte[] headerValue) {
+        if (headerValue == null) {
+            return JSON;
+        }
+        String value = new String(headerValue, StandardCharsets.UTF_8);
+        for (EventPayloadFormat format : values()) {
+            if (format.headerValue.equals(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported event payload format: " + value);
+    }
+}
@@ -14,6 +14,7 @@ import lombok.Setter;
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "eventType")
 @JsonSubTypes({
     @JsonSubTypes.Type(value = CommentCreationRequestedEvent.class, name = "comment.creation.requested"),
+    @JsonSubTypes.Type(value = CommentsChangedEvent.class, name = "comment.changed"),
 })
 public abstract class CommentEvent extends DomainEvent {
 
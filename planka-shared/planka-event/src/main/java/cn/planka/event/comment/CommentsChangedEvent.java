@@ -0,0 +1,34 @@
+package cn.planka.event.comment;
+
+import cn.planka.common.util.AssertUtils;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+/**
+ * 卡片评论变更事件
+ * <p>
+ * 评论创建、编辑、撤回、删除提交后由评论服务发布，各评论服务实例据此失效本地的评论列表缓存。
+ */
+@Getter
+public class CommentsChangedEvent extends CommentEvent {
+
+    private static final String EVENT_TYPE = "comment.changed";
+
+    private final String cardId;
+
+    @JsonCreator
+    public CommentsChangedEvent(@JsonProperty("orgId") String orgId,
+                                @JsonProperty("operatorId") String operatorId,
+                                @JsonProperty("sourceIp") String sourceIp,
+                                @JsonProperty("traceId") String traceId,
+                                @JsonProperty("cardId") String cardId) {
+        super(orgId, operatorId, sourceIp, traceId);
+        this.cardId = AssertUtils.requireNotBlank(cardId, "cardId can't be blank");
+    }
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
@@ -19,9 +19,6 @@ public class SchemaCreatedEvent extends SchemaEvent {
     /** Schema 名称 */
     private String name;
 
-    /** Schema 内容（JSON） */
-    private String content;
-
     /** 所属 Schema ID（组合关系的宿主） */
     private String belongTo;
 
@@ -36,10 +33,10 @@ public class SchemaCreatedEvent extends SchemaEvent {
     }
 
     public SchemaCreatedEvent(String orgId, String operatorId, String sourceIp, String traceId,
-                              String schemaId, String name, String content) {
+                              String schemaId, String name, String belongTo) {
         super(orgId, operatorId, sourceIp, traceId, schemaId);
         this.name = name;
-        this.content = content;
+        this.belongTo = belongTo;
     }
 
     @Override
@@ -16,12 +16,6 @@ public class SchemaDeletedEvent extends SchemaEvent {
 
     private static final String EVENT_TYPE = "schema.deleted";
 
-    /** 删除前的最后内容（JSON） */
-    private String lastContent;
-
-    /** 删除前的最后版本号 */
-    private int lastVersion;
-
     @JsonCreator
     public SchemaDeletedEvent(
             @JsonProperty("orgId") String orgId,
@@ -32,13 +26,6 @@ public class SchemaDeletedEvent extends SchemaEvent {
         super(orgId, operatorId, sourceIp, traceId, schemaId);
     }
 
-    public SchemaDeletedEvent(String orgId, String operatorId, String sourceIp, String traceId,
-                              String schemaId, String lastContent, int lastVersion) {
-        super(orgId, operatorId, sourceIp, traceId, schemaId);
-        this.lastContent = lastContent;
-        this.lastVersion = lastVersion;
-    }
-
     @Override
     public String getEventType() {
         return EVENT_TYPE;
@@ -1,18 +1,25 @@
 package cn.planka.event.schema;
 
 import cn.planka.event.DomainEvent;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 /**
  * Schema 事件基类
  * <p>
  * 所有 Schema 领域事件的抽象基类。
+ * <p>
+ * 事件只携带 Schema 的标识、版本号和二级索引键，不再携带完整的 Schema 内容。
+ * 消费方如需完整定义，应通过 SchemaCacheService 按需加载。
  */
 @Getter
 @Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "eventType")
 @JsonSubTypes({
         @JsonSubTypes.Type(value = SchemaCreatedEvent.class, name = "schema.created"),
@@ -31,6 +38,16 @@ public abstract class SchemaEvent extends DomainEvent {
     /** Schema 类型 */
     private String schemaType;
 
+    /** 事件对应的 Schema 内容版本号 */
+    private int contentVersion;
+
+    /**
+     * 事件发生后 Schema 的全部二级索引键
+     * <p>
+     * 为 null 表示发布方未提供（旧格式事件），消费方需自行加载 Schema 定义获取。
+     */
+    private List<SchemaIndexKey> secondaryKeys;
+
     protected SchemaEvent(String orgId, String operatorId, String sourceIp, String traceId, String schemaId) {
         super(orgId, operatorId, sourceIp, traceId);
         this.schemaId = schemaId;
@@ -53,4 +70,20 @@ public abstract class SchemaEvent extends DomainEvent {
         this.schemaType = schemaType;
         return this;
     }
+
+    /**
+     * 设置内容版本号并返回自身（链式调用）
+     */
+    public SchemaEvent withContentVersion(int contentVersion) {
+        this.contentVersion = contentVersion;
+        return this;
+    }
+
+    /**
+     * 设置二级索引键并返回自身（链式调用）
+     */
+    public SchemaEvent withSecondaryKeys(List<SchemaIndexKey> secondaryKeys) {
+        this.secondaryKeys = secondaryKeys;
+        return this;
+    }
 }
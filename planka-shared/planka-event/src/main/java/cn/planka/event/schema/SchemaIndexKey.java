@@ -0,0 +1,38 @@
+package cn.planka.event.schema;
+
+import cn.planka.domain.schema.SchemaId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Schema 二级索引键
+ * <p>
+ * 事件中只携带索引键本身，消费方无需再反序列化 Schema 内容即可维护二级索引。
+ *
+ * @param indexType 索引类型（如 "CARD_TYPE"）
+ * @param indexKey  索引值（如 cardTypeId）
+ */
+public record SchemaIndexKey(String indexType, String indexKey) {
+
+    public static SchemaIndexKey of(SchemaId schemaId) {
+        return new SchemaIndexKey(schemaId.schemaType().name(), schemaId.value());
+    }
+
+    /**
+     * 将 Schema 的二级索引键集合转换为事件中的紧凑表示
+     */
+    public static List<SchemaIndexKey> fromSchemaIds(Set<? extends SchemaId> schemaIds) {
+        if (schemaIds == null || schemaIds.isEmpty()) {
+            return List.of();
+        }
+        List<SchemaIndexKey> keys = new ArrayList<>(schemaIds.size());
+        for (SchemaId schemaId : schemaIds) {
+            if (schemaId != null && schemaId.value() != null) {
+                keys.add(of(schemaId));
+            }
+        }
+        return keys;
+    }
+}
@@ -5,10 +5,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 /**
  * Schema 更新事件
  * <p>
  * 当 Schema 的内容或名称被更新时发布此事件。
+ * <p>
+ * 事件只携带变更摘要（变更路径、二级索引是否变化），更新前后的完整内容已记录在变更日志中。
  */
 @Getter
 @Setter
@@ -16,14 +20,11 @@ public class SchemaUpdatedEvent extends SchemaEvent {
 
     private static final String EVENT_TYPE = "schema.updated";
 
-    /** 更新前的内容（JSON） */
-    private String beforeContent;
-
-    /** 更新后的内容（JSON） */
-    private String afterContent;
+    /** 变更的属性路径（如 "name", "enumConfig.items"） */
+    private List<String> changedPaths;
 
-    /** 更新后的版本号 */
-    private int newVersion;
+    /** 二级索引键是否发生变化，未变化时消费方可跳过索引维护 */
+    private boolean secondaryKeysChanged = true;
 
     /** 变更摘要（人可读） */
     private String changeSummary;
@@ -39,11 +40,10 @@ public class SchemaUpdatedEvent extends SchemaEvent {
     }
 
     public SchemaUpdatedEvent(String orgId, String operatorId, String sourceIp, String traceId,
-                              String schemaId, String beforeContent, String afterContent, int newVersion) {
+                              String schemaId, List<String> changedPaths, boolean secondaryKeysChanged) {
         super(orgId, operatorId, sourceIp, traceId, schemaId);
-        this.beforeContent = beforeContent;
-        this.afterContent = afterContent;
-        this.newVersion = newVersion;
+        this.changedPaths = changedPaths;
+        this.secondaryKeysChanged = secondaryKeysChanged;
     }
 
     @Override
@@ -27,6 +27,8 @@ export interface FileDTO {
   url: string
   size: number
   contentType: string
+  /** 缩略图 URL，仅支持生成缩略图的图片有值，可追加 size=SMALL|MEDIUM 参数 */
+  thumbnailUrl?: string
   createdAt: string
 }
 
@@ -0,0 +1,171 @@
+package zgraph.driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写请求合并器
+ * <p>
+ * 收集同一类写操作的并发小批量请求，在时间窗口到期或累计条数达到上限时合并成一个批量请求发送，
+ * 再按各调用方提交的数据拆分批量结果。发送失败时同一批次的所有调用方都会收到该异常。
+ *
+ * @param <I> 批量请求中的单条数据类型
+ * @param <R> 批量响应类型
+ */
+final class WriteCoalescer<I, R> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteCoalescer.class);
+
+    /**
+     * 批量发送器
+     */
+    @FunctionalInterface
+    interface BatchSender<I, R> {
+        CompletableFuture<R> send(List<I> items);
+    }
+
+    /**
+     * 结果拆分器：从合并后的批量响应中取出某个调用方那部分数据的结果
+     */
+    @FunctionalInterface
+    interface ResultSplitter<I, R> {
+        R split(R merged, List<I> items);
+    }
+
+    private final String name;
+    private final int windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final BatchSender<I, R> sender;
+    private final ResultSplitter<I, R> splitter;
+
+    private final Object lock = new Object();
+    private List<Pending<I, R>> pending = new ArrayList<>();
+    private int pendingItemCount;
+    private boolean flushScheduled;
+
+    WriteCoalescer(String name, int windowMillis, int maxBatchSize, ScheduledExecutorService scheduler,
+                   BatchSender<I, R> sender, ResultSplitter<I, R> splitter) {
+        this.name = name;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.splitter = splitter;
+    }
+
+    /**
+     * 提交一组数据，返回只包含这组数据结果的 future
+     * <p>
+     * 数据条数达到单批上限时直接发送，不参与合并。
+     */
+    CompletableFuture<R> submit(List<I> items) {
+        if (items.size() >= maxBatchSize) {
+            return send(items);
+        }
+
+        Pending<I, R> entry = new Pending<>(items);
+        List<Pending<I, R>> ready = null;
+        synchronized (lock) {
+            if (pendingItemCount + items.size() > maxBatchSize) {
+                ready = drain();
+            }
+            pending.add(entry);
+            pendingItemCount += items.size();
+            if (ready == null && pendingItemCount >= maxBatchSize) {
+                ready = drain();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return entry.future;
+    }
+
+    /**
+     * 立即发送当前积攒的请求
+     */
+    void flush() {
+        List<Pending<I, R>> ready;
+        synchronized (lock) {
+            ready = drain();
+        }
+        dispatch(ready);
+    }
+
+    /**
+     * 调用方持有锁
+     */
+    private List<Pending<I, R>> drain() {
+        List<Pending<I, R>> ready = pending;
+        pending = new ArrayList<>();
+        pendingItemCount = 0;
+        flushScheduled = false;
+        return ready;
+    }
+
+    private void dispatch(List<Pending<I, R>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            Pending<I, R> only = batch.get(0);
+            send(only.items).whenComplete((response, error) -> {
+                if (error != null) {
+                    only.future.completeExceptionally(error);
+                } else {
+                    only.future.complete(response);
+                }
+            });
+            return;
+        }
+
+        List<I> merged = new ArrayList<>();
+        for (Pending<I, R> entry : batch) {
+            merged.addAll(entry.items);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("合并写请求[{}]: requests={}, items={}", name, batch.size(), merged.size());
+        }
+
+        send(merged).whenComplete((response, error) -> {
+            for (Pending<I, R> entry : batch) {
+                if (error != null) {
+                    entry.future.completeExceptionally(error);
+                    continue;
+                }
+                try {
+                    entry.future.complete(splitter.split(response, entry.items));
+                } catch (Exception e) {
+                    entry.future.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private CompletableFuture<R> send(List<I> items) {
+        try {
+            return sender.send(items);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static final class Pending<I, R> {
+        private final List<I> items;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        private Pending(List<I> items) {
+            this.items = items;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package zgraph.driver;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.channel.pool.FixedChannelPool;
@@ -20,17 +23,25 @@ import zgraph.driver.exception.AuthenticationException;
 import zgraph.driver.handler.AuthChannelHandler;
 import zgraph.driver.handler.BusinessChannelHandler;
 import zgraph.driver.handler.IdleConnectionHandler;
+import zgraph.driver.handler.PingChannelHandler;
 import zgraph.driver.handler.ZgraphChannelPoolHandler;
 import zgraph.driver.loadbalancer.HealthCheckLoadBalancer;
 import zgraph.driver.loadbalancer.LoadBalancer;
 import zgraph.driver.loadbalancer.LoadBalancerFactory;
+import zgraph.driver.metrics.MetricTags;
+import zgraph.driver.metrics.ZgraphMetricsRecorder;
+import zgraph.driver.metrics.ZgraphPoolStats;
+import zgraph.driver.pool.ChannelPoolWarmer;
 import zgraph.driver.pool.MultiAddressChannelPool;
 import zgraph.driver.pool.ZgraphChannelHealthChecker;
+import zgraph.driver.proto.admin.PingRequest;
 import zgraph.driver.proto.auth.AuthRequest;
 import zgraph.driver.proto.request.Request;
 import zgraph.driver.proto.response.Response;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -42,6 +53,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 2. 使用Netty官方连接池管理，复用TCP连接
  * 3. 使用LengthFieldBasedFrameDecoder处理帧拆包
  * 4. 支持超时控制和异常处理
+ * 5. 通过 {@link ZgraphMetricsRecorder} 输出请求耗时、连接池等待、帧大小和连接池状态指标
+ * 6. Linux 下优先使用 epoll 原生传输；可按地址预热并保活最小数量的已认证连接
  */
 public class ZgraphClient {
 
@@ -54,6 +67,11 @@ public class ZgraphClient {
     private final EventLoopGroup group;
     private final ChannelPool channelPool;
     private final Bootstrap bootstrap;
+    private final Class<? extends SocketChannel> channelClass;
+    private final ZgraphMetricsRecorder metrics;
+    private final Map<String, ChannelPool> addressPools = new LinkedHashMap<>();
+    private ChannelPoolWarmer poolWarmer;
+    private CompletableFuture<Integer> warmUpFuture = CompletableFuture.completedFuture(0);
     private volatile boolean closed = false;
     private LoadBalancer loadBalancer;
 
@@ -71,13 +89,82 @@ public class ZgraphClient {
     }
 
     public ZgraphClient(ZgraphClientConfig config) {
+        this(config, ZgraphMetricsRecorder.NOOP);
+    }
+
+    public ZgraphClient(ZgraphClientConfig config, ZgraphMetricsRecorder metrics) {
         this.config = config;
+        this.metrics = metrics != null ? metrics : ZgraphMetricsRecorder.NOOP;
         logger.info("zgraph配置：{}", config);
 
-        this.group = new NioEventLoopGroup();
+        boolean useEpoll = config.getConnectionConfig().isPreferNativeTransport() && Epoll.isAvailable();
+        if (useEpoll) {
+            this.group = new EpollEventLoopGroup();
+            this.channelClass = EpollSocketChannel.class;
+        } else {
+            this.group = new NioEventLoopGroup();
+            this.channelClass = NioSocketChannel.class;
+        }
+        logger.info("zgraph传输层：{}", useEpoll ? "epoll" : "nio");
+
         this.bootstrap = initializeBootstrap();
         this.channelPool = createChannelPool();
+        bindPoolStats();
         startConnectionPoolMonitor();
+        startPoolWarmer();
+    }
+
+    /**
+     * 启动时预热每个地址的最小连接数，并按保活间隔定期刷新这些连接
+     */
+    private void startPoolWarmer() {
+        int minIdle = config.getConnectionConfig().getMinIdlePerAddress();
+        if (minIdle <= 0) {
+            return;
+        }
+        this.poolWarmer = new ChannelPoolWarmer(addressPools, minIdle, this::prepareChannel);
+        long start = System.currentTimeMillis();
+        this.warmUpFuture = poolWarmer.touchAll();
+        warmUpFuture.thenAccept(ready -> logger.info("连接预热完成: 地址数={}, 就绪连接={}, 耗时={}ms",
+                addressPools.size(), ready, System.currentTimeMillis() - start));
+
+        long interval = config.getConnectionConfig().getKeepaliveIntervalMillis();
+        monitorScheduler.scheduleAtFixedRate(() -> {
+            if (!closed) {
+                poolWarmer.touchAll();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 启动预热的结果（就绪的连接数），未开启预热时立即完成
+     */
+    public CompletableFuture<Integer> getWarmUpFuture() {
+        return warmUpFuture;
+    }
+
+    private void bindPoolStats() {
+        metrics.bindPoolStats(new ZgraphPoolStats() {
+            @Override
+            public int activeConnections() {
+                return getActiveConnectionCount();
+            }
+
+            @Override
+            public int aliveConnections() {
+                return getAliveConnectionCount();
+            }
+
+            @Override
+            public int maxConnections() {
+                return config.getConnectionConfig().getMaxPoolSize();
+            }
+
+            @Override
+            public int totalCreatedConnections() {
+                return getTotalCreatedConnectionCount();
+            }
+        });
     }
 
     private ChannelPool createChannelPool() {
@@ -88,7 +175,7 @@ public class ZgraphClient {
         if (serverAddresses.size() == 1) {
             ServerAddress serverAddress = serverAddresses.get(0);
             logger.info("创建单地址连接池，服务器: {}", serverAddress);
-            return new FixedChannelPool(
+            FixedChannelPool pool = new FixedChannelPool(
                     bootstrap.remoteAddress(serverAddress.getHost(), serverAddress.getPort()),
                     poolHandler,
                     ZgraphChannelHealthChecker.defaultChecker(),
@@ -96,6 +183,8 @@ public class ZgraphClient {
                     config.getConnectionConfig().getAcquireTimeoutMillis(),
                     config.getConnectionConfig().getMaxPoolSize(),
                     config.getConnectionConfig().getMaxPendingAcquires());
+            addressPools.put(serverAddress.toString(), pool);
+            return pool;
         } else {
             logger.info("创建多地址连接池，服务器列表: {}, 负载均衡策略: {}",
                     serverAddresses, config.getLoadBalanceStrategy());
@@ -111,6 +200,7 @@ public class ZgraphClient {
                     config.getConnectionConfig().getMaxPoolSize(),
                     config.getConnectionConfig().getMaxPendingAcquires());
 
+            multiPool.getAddressPools().forEach((address, pool) -> addressPools.put(address.toString(), pool));
             this.loadBalancer = lb;
             return multiPool;
         }
@@ -147,7 +237,7 @@ public class ZgraphClient {
     private Bootstrap initializeBootstrap() {
         Bootstrap bootstrap = new Bootstrap();
         bootstrap.group(group)
-                .channel(NioSocketChannel.class)
+                .channel(channelClass)
                 .option(ChannelOption.TCP_NODELAY, true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.getConnectionConfig().getAcquireTimeoutMillis())
                 .handler(new ChannelInitializer<SocketChannel>() {
@@ -160,6 +250,66 @@ public class ZgraphClient {
         return bootstrap;
     }
 
+    /**
+     * 预热与保活的连接准备动作：新连接执行认证，已认证的连接发送保活请求
+     * <p>
+     * 服务端只在连接的第一条消息处理认证请求，对已认证的连接重复认证会收到 400 响应，
+     * 因此保活不能复用认证请求。
+     */
+    private CompletableFuture<Boolean> prepareChannel(Channel channel) {
+        if (Boolean.TRUE.equals(channel.attr(AUTHENTICATED_KEY).get())) {
+            return pingChannel(channel);
+        }
+        return authenticateAndMark(channel);
+    }
+
+    /**
+     * 在已认证的连接上发送一次保活请求
+     */
+    private CompletableFuture<Boolean> pingChannel(Channel channel) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        Request request = RequestBuilder.create()
+                .setPing(PingRequest.getDefaultInstance())
+                .build();
+
+        channel.pipeline().addLast(PingChannelHandler.NAME, new PingChannelHandler(
+                channel, future, request,
+                config.getConnectionConfig().getAcquireTimeoutMillis(), metrics));
+
+        try {
+            sendRawRequest(channel, request);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            try {
+                channel.pipeline().remove(PingChannelHandler.NAME);
+            } catch (Exception ex) {
+                // 忽略
+            }
+        }
+
+        return future;
+    }
+
+    /**
+     * 认证通道，成功后标记为已认证并添加空闲检测处理器
+     */
+    private CompletableFuture<Boolean> authenticateAndMark(Channel channel) {
+        return authenticateChannel(channel).thenApply(authSuccess -> {
+            if (authSuccess) {
+                channel.attr(AUTHENTICATED_KEY).set(true);
+
+                if (channel.pipeline().get("idleStateHandler") == null) {
+                    channel.pipeline().addFirst("idleStateHandler",
+                            new IdleStateHandler(0, 0, 30, TimeUnit.SECONDS));
+                    channel.pipeline().addAfter("idleStateHandler", "idleConnectionHandler",
+                            IdleConnectionHandler.withDefaultStrategy());
+                }
+            }
+            return authSuccess;
+        });
+    }
+
     /**
      * 对通道进行认证
      */
@@ -177,7 +327,7 @@ public class ZgraphClient {
 
         ChannelHandler authHandler = new AuthChannelHandler(
                 channel, future, request,
-                config.getConnectionConfig().getAcquireTimeoutMillis());
+                config.getConnectionConfig().getAcquireTimeoutMillis(), metrics);
 
         channel.pipeline().addLast("authHandler", authHandler);
 
@@ -200,6 +350,8 @@ public class ZgraphClient {
      */
     private void sendRawRequest(Channel channel, Request request) {
         byte[] requestBytes = request.toByteArray();
+        metrics.recordFrameSize(MetricTags.requestType(request), ZgraphMetricsRecorder.Direction.OUTBOUND,
+                requestBytes.length);
         channel.writeAndFlush(Unpooled.wrappedBuffer(requestBytes));
     }
 
@@ -227,8 +379,10 @@ public class ZgraphClient {
             logger.debug("request:{}", request.getRequestId());
         }
 
+        long acquireStart = System.nanoTime();
         Future<Channel> channelFuture = channelPool.acquire();
         channelFuture.addListener((FutureListener<Channel>) cf -> {
+            metrics.recordPoolAcquire(cf.isSuccess(), System.nanoTime() - acquireStart);
             if (!cf.isSuccess()) {
                 future.completeExceptionally(new RuntimeException("获取连接失败", cf.cause()));
                 return;
@@ -238,18 +392,8 @@ public class ZgraphClient {
 
             Boolean authenticated = channel.attr(AUTHENTICATED_KEY).get();
             if (authenticated == null || !authenticated) {
-                authenticateChannel(channel).thenAccept(authSuccess -> {
+                authenticateAndMark(channel).thenAccept(authSuccess -> {
                     if (authSuccess) {
-                        channel.attr(AUTHENTICATED_KEY).set(true);
-
-                        // 认证成功后添加空闲检测处理器
-                        if (channel.pipeline().get("idleStateHandler") == null) {
-                            channel.pipeline().addFirst("idleStateHandler",
-                                    new IdleStateHandler(0, 0, 30, TimeUnit.SECONDS));
-                            channel.pipeline().addAfter("idleStateHandler", "idleConnectionHandler",
-                                    IdleConnectionHandler.withDefaultStrategy());
-                        }
-
                         doSendBusinessRequest(channel, request, responseProcessor, timeout, future);
                     } else {
                         channelPool.release(channel);
@@ -280,7 +424,8 @@ public class ZgraphClient {
             CompletableFuture<T> future) {
 
         channel.pipeline().addLast("businessHandler",
-                new BusinessChannelHandler<>(channel, request, responseProcessor, timeout, future, channelPool));
+                new BusinessChannelHandler<>(channel, request, responseProcessor, timeout, future, channelPool,
+                        metrics));
 
         try {
             sendRawRequest(channel, request);
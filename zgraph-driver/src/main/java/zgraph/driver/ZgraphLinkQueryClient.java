@@ -3,6 +3,8 @@ package zgraph.driver;
 import zgraph.driver.proto.linkquery.LinkFetchRequest;
 import zgraph.driver.proto.linkquery.LinkQueryRequest;
 import zgraph.driver.proto.linkquery.LinkQueryResponse;
+import zgraph.driver.proto.linkquery.PathQueryRequest;
+import zgraph.driver.proto.linkquery.PathQueryResponse;
 import zgraph.driver.proto.request.Request;
 
 import java.util.concurrent.CompletableFuture;
@@ -71,4 +73,29 @@ public class ZgraphLinkQueryClient {
         );
     }
 
-} 
\ No newline at end of file
+    /**
+     * 发送路径查询请求
+     * <p>
+     * 从起点出发按顺序遍历多跳关联关系，一次请求返回每一跳可达的节点
+     *
+     * @param request 路径查询请求
+     */
+    public CompletableFuture<PathQueryResponse> queryPath(PathQueryRequest request) {
+        Request fullRequest = RequestBuilder.create()
+                .setPathQuery(request)
+                .build();
+
+        return client.sendRequest(
+                fullRequest,
+                response -> {
+                    if (response.hasPathQueryResponse()) {
+                        return response.getPathQueryResponse();
+                    } else {
+                        throw new RuntimeException("响应中不包含路径查询结果");
+                    }
+                },
+                client.getConfig().getHandleTimeoutMillis()
+        );
+    }
+
+}
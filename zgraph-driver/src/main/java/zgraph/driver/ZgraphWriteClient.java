@@ -1,24 +1,98 @@
 package zgraph.driver;
 
+import zgraph.driver.config.ZgraphClientConfig;
+import zgraph.driver.proto.model.Card;
+import zgraph.driver.proto.model.Link;
 import zgraph.driver.proto.request.Request;
 import zgraph.driver.proto.write.*;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.ToLongFunction;
 
 /**
  * @author penghs
  */
-public class ZgraphWriteClient {
+public class ZgraphWriteClient implements AutoCloseable {
 
     private final ZgraphClient client;
 
+    /**
+     * 写请求合并，未开启时以下字段均为 null
+     */
+    private final ScheduledExecutorService coalesceScheduler;
+    private final WriteCoalescer<Card, BatchCardCommonResponse> createCardCoalescer;
+    private final WriteCoalescer<Card, BatchCardCommonResponse> updateCardCoalescer;
+    private final WriteCoalescer<UpdateCardFieldRequest, BatchCardCommonResponse> updateCardFieldCoalescer;
+    private final WriteCoalescer<Link, BatchLinkCommonResponse> createLinkCoalescer;
+    private final WriteCoalescer<Link, BatchLinkCommonResponse> updateLinkCoalescer;
+
     /**
      * 构造函数
+     * <p>
+     * 配置中开启写请求合并（{@link ZgraphClientConfig#getWriteCoalesceConfig()}）时，
+     * 并发的小批量写请求会被合并后发送，调用方式和返回结果不变。
      *
      * @param client 底层通信客户端
      */
     public ZgraphWriteClient(ZgraphClient client) {
         this.client = client;
+
+        ZgraphClientConfig.WriteCoalesceConfig coalesceConfig = client.getConfig().getWriteCoalesceConfig();
+        if (coalesceConfig == null || !coalesceConfig.isEnabled()) {
+            this.coalesceScheduler = null;
+            this.createCardCoalescer = null;
+            this.updateCardCoalescer = null;
+            this.updateCardFieldCoalescer = null;
+            this.createLinkCoalescer = null;
+            this.updateLinkCoalescer = null;
+            return;
+        }
+
+        int window = coalesceConfig.getWindowMillis();
+        int maxBatchSize = coalesceConfig.getMaxBatchSize();
+        this.coalesceScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "zgraph-write-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.createCardCoalescer = new WriteCoalescer<>("batchCreateCard", window, maxBatchSize, coalesceScheduler,
+                cards -> sendBatchCreateCard(BatchCreateCardRequest.newBuilder().addAllCards(cards).build()),
+                (merged, cards) -> splitCardResponse(merged, cards, Card::getId));
+        this.updateCardCoalescer = new WriteCoalescer<>("batchUpdateCard", window, maxBatchSize, coalesceScheduler,
+                cards -> sendBatchUpdateCard(BatchUpdateCardRequest.newBuilder().addAllCards(cards).build()),
+                (merged, cards) -> splitCardResponse(merged, cards, Card::getId));
+        this.updateCardFieldCoalescer = new WriteCoalescer<>("batchUpdateCardField", window, maxBatchSize,
+                coalesceScheduler,
+                requests -> sendBatchUpdateCardField(
+                        BatchUpdateCardFieldRequest.newBuilder().addAllRequests(requests).build()),
+                (merged, requests) -> splitCardResponse(merged, requests, UpdateCardFieldRequest::getCardId));
+        this.createLinkCoalescer = new WriteCoalescer<>("batchCreateLink", window, maxBatchSize, coalesceScheduler,
+                links -> sendBatchCreateLink(BatchCreateLinkRequest.newBuilder().addAllLinks(links).build()),
+                ZgraphWriteClient::splitLinkResponse);
+        this.updateLinkCoalescer = new WriteCoalescer<>("batchUpdateLink", window, maxBatchSize, coalesceScheduler,
+                links -> sendBatchUpdateLink(BatchUpdateLinkRequest.newBuilder().addAllLinks(links).build()),
+                ZgraphWriteClient::splitLinkResponse);
+    }
+
+    /**
+     * 发送尚未发出的合并请求并停止合并调度线程
+     */
+    @Override
+    public void close() {
+        if (coalesceScheduler == null) {
+            return;
+        }
+        createCardCoalescer.flush();
+        updateCardCoalescer.flush();
+        updateCardFieldCoalescer.flush();
+        createLinkCoalescer.flush();
+        updateLinkCoalescer.flush();
+        coalesceScheduler.shutdown();
     }
 
 
@@ -29,6 +103,13 @@ public class ZgraphWriteClient {
      * @return 返回成功创建的卡片数量和失败的卡片id
      */
     public CompletableFuture<BatchCardCommonResponse> batchCreateCard(BatchCreateCardRequest request) {
+        if (createCardCoalescer != null) {
+            return createCardCoalescer.submit(request.getCardsList());
+        }
+        return sendBatchCreateCard(request);
+    }
+
+    private CompletableFuture<BatchCardCommonResponse> sendBatchCreateCard(BatchCreateCardRequest request) {
         Request fullRequest = RequestBuilder.create()
                 .setBatchCreateCard(request)
                 .build();
@@ -46,6 +127,32 @@ public class ZgraphWriteClient {
         );
     }
 
+    /**
+     * 发送创建卡片并关联请求
+     * <p>
+     * 卡片和关联关系在一次请求中原子写入，不参与写请求合并。
+     *
+     * @param request 创建卡片并关联请求
+     * @return 成功时 success 为 1，失败时 failedIds 包含该卡片id
+     */
+    public CompletableFuture<BatchCardCommonResponse> createCardWithLinks(CreateCardWithLinksRequest request) {
+        Request fullRequest = RequestBuilder.create()
+                .setCreateCardWithLinks(request)
+                .build();
+
+        return client.sendRequest(
+                fullRequest,
+                response -> {
+                    if (response.hasBatchCardCommonResponse()) {
+                        return response.getBatchCardCommonResponse();
+                    } else {
+                        throw new RuntimeException("响应中不包含创建卡片并关联结果");
+                    }
+                },
+                client.getConfig().getHandleTimeoutMillis()
+        );
+    }
+
     /**
      * 发送批量更新卡片请求
      *
@@ -53,6 +160,13 @@ public class ZgraphWriteClient {
      * @return 返回成功更新的卡片数量和失败的卡片id
      */
     public CompletableFuture<BatchCardCommonResponse> batchUpdateCard(BatchUpdateCardRequest request) {
+        if (updateCardCoalescer != null) {
+            return updateCardCoalescer.submit(request.getCardsList());
+        }
+        return sendBatchUpdateCard(request);
+    }
+
+    private CompletableFuture<BatchCardCommonResponse> sendBatchUpdateCard(BatchUpdateCardRequest request) {
         Request fullRequest = RequestBuilder.create()
                 .setBatchUpdateCard(request)
                 .build();
@@ -78,6 +192,13 @@ public class ZgraphWriteClient {
      * @return 返回成功更新的卡片数量和失败的卡片id
      */
     public CompletableFuture<BatchCardCommonResponse> batchUpdateCardField(BatchUpdateCardFieldRequest request) {
+        if (updateCardFieldCoalescer != null) {
+            return updateCardFieldCoalescer.submit(request.getRequestsList());
+        }
+        return sendBatchUpdateCardField(request);
+    }
+
+    private CompletableFuture<BatchCardCommonResponse> sendBatchUpdateCardField(BatchUpdateCardFieldRequest request) {
         Request fullRequest = RequestBuilder.create()
                 .setBatchUpdateCardFields(request)
                 .build();
@@ -126,6 +247,13 @@ public class ZgraphWriteClient {
      * @return 返回成功创建的数量和失败的Link
      */
     public CompletableFuture<BatchLinkCommonResponse> batchCreateLink(BatchCreateLinkRequest request) {
+        if (createLinkCoalescer != null) {
+            return createLinkCoalescer.submit(request.getLinksList());
+        }
+        return sendBatchCreateLink(request);
+    }
+
+    private CompletableFuture<BatchLinkCommonResponse> sendBatchCreateLink(BatchCreateLinkRequest request) {
         Request fullRequest = RequestBuilder.create()
                 .setBatchCreateLink(request)
                 .build();
@@ -150,6 +278,13 @@ public class ZgraphWriteClient {
      * @return 返回成功更新的数量和失败的Link
      */
     public CompletableFuture<BatchLinkCommonResponse> batchUpdateLink(BatchUpdateLinkRequest request) {
+        if (updateLinkCoalescer != null) {
+            return updateLinkCoalescer.submit(request.getLinksList());
+        }
+        return sendBatchUpdateLink(request);
+    }
+
+    private CompletableFuture<BatchLinkCommonResponse> sendBatchUpdateLink(BatchUpdateLinkRequest request) {
         Request fullRequest = RequestBuilder.create()
                 .setBatchUpdateLink(request)
                 .build();
@@ -191,4 +326,57 @@ public class ZgraphWriteClient {
         );
     }
 
-} 
\ No newline at end of file
+    // ==================== 合并结果拆分 ====================
+
+    /**
+     * 从合并后的卡片批量响应中取出指定数据对应的结果
+     */
+    private static <I> BatchCardCommonResponse splitCardResponse(BatchCardCommonResponse merged, List<I> items,
+                                                                 ToLongFunction<I> cardIdGetter) {
+        if (merged.getFailedIdsCount() == 0) {
+            return BatchCardCommonResponse.newBuilder().setSuccess(items.size()).build();
+        }
+        Set<Long> failedIds = new HashSet<>(merged.getFailedIdsList());
+        BatchCardCommonResponse.Builder builder = BatchCardCommonResponse.newBuilder();
+        int success = 0;
+        for (I item : items) {
+            long cardId = cardIdGetter.applyAsLong(item);
+            if (failedIds.contains(cardId)) {
+                builder.addFailedIds(cardId);
+            } else {
+                success++;
+            }
+        }
+        return builder.setSuccess(success).build();
+    }
+
+    /**
+     * 从合并后的关联关系批量响应中取出指定数据对应的结果，失败的关联关系按 关联类型+源卡片+目标卡片 匹配
+     */
+    private static BatchLinkCommonResponse splitLinkResponse(BatchLinkCommonResponse merged, List<Link> links) {
+        if (merged.getFailedLinksCount() == 0) {
+            return BatchLinkCommonResponse.newBuilder().setSuccess(links.size()).build();
+        }
+        Set<LinkKey> failedKeys = new HashSet<>();
+        for (Link failed : merged.getFailedLinksList()) {
+            failedKeys.add(LinkKey.of(failed));
+        }
+        BatchLinkCommonResponse.Builder builder = BatchLinkCommonResponse.newBuilder();
+        int success = 0;
+        for (Link link : links) {
+            if (failedKeys.contains(LinkKey.of(link))) {
+                builder.addFailedLinks(link);
+            } else {
+                success++;
+            }
+        }
+        return builder.setSuccess(success).build();
+    }
+
+    private record LinkKey(String ltId, long srcId, long destId) {
+
+        static LinkKey of(Link link) {
+            return new LinkKey(link.getLtId(), link.getSrcId(), link.getDestId());
+        }
+    }
+}
@@ -17,6 +17,8 @@ public class ZgraphClientConfig {
     private final ConnectionConfig connectionConfig;
     // 负载均衡策略
     private final LoadBalanceStrategy loadBalanceStrategy;
+    // 写请求合并配置
+    private final WriteCoalesceConfig writeCoalesceConfig;
 
     /**
      * 服务器地址信息
@@ -81,8 +83,19 @@ public class ZgraphClientConfig {
         private final int acquireTimeoutMillis;
         // 最大等待获取连接的队列大小
         private final int maxPendingAcquires;
+        // 每个服务器地址启动时预先建立并认证、之后持续保活的连接数，0 表示不预热
+        private final int minIdlePerAddress;
+        // 保活间隔（毫秒），需小于空闲连接关闭时间（30秒）
+        private final int keepaliveIntervalMillis;
+        // Linux 下优先使用 epoll 原生传输，不可用时回退到 NIO
+        private final boolean preferNativeTransport;
 
         public ConnectionConfig(int maxPoolSize, int acquireTimeoutMillis, int maxPendingAcquires) {
+            this(maxPoolSize, acquireTimeoutMillis, maxPendingAcquires, 0, 20 * 1000, true);
+        }
+
+        public ConnectionConfig(int maxPoolSize, int acquireTimeoutMillis, int maxPendingAcquires,
+                                int minIdlePerAddress, int keepaliveIntervalMillis, boolean preferNativeTransport) {
             if (maxPoolSize <= 0) {
                 throw new IllegalArgumentException("maxPoolSize must be greater than 0");
             }
@@ -92,10 +105,19 @@ public class ZgraphClientConfig {
             if (maxPendingAcquires <= 0) {
                 throw new IllegalArgumentException("maxPendingAcquires must be greater than 0");
             }
+            if (minIdlePerAddress < 0 || minIdlePerAddress > maxPoolSize) {
+                throw new IllegalArgumentException("minIdlePerAddress must be between 0 and maxPoolSize");
+            }
+            if (keepaliveIntervalMillis <= 0) {
+                throw new IllegalArgumentException("keepaliveIntervalMillis must be greater than 0");
+            }
 
             this.maxPoolSize = maxPoolSize;
             this.acquireTimeoutMillis = acquireTimeoutMillis;
             this.maxPendingAcquires = maxPendingAcquires;
+            this.minIdlePerAddress = minIdlePerAddress;
+            this.keepaliveIntervalMillis = keepaliveIntervalMillis;
+            this.preferNativeTransport = preferNativeTransport;
         }
 
         public int getMaxPoolSize() {
@@ -110,12 +132,27 @@ public class ZgraphClientConfig {
             return maxPendingAcquires;
         }
 
+        public int getMinIdlePerAddress() {
+            return minIdlePerAddress;
+        }
+
+        public int getKeepaliveIntervalMillis() {
+            return keepaliveIntervalMillis;
+        }
+
+        public boolean isPreferNativeTransport() {
+            return preferNativeTransport;
+        }
+
         @Override
         public String toString() {
             return "ChannelPoolConfig{" +
                     "maxPoolSize=" + maxPoolSize +
                     ", acquireTimeoutMillis=" + acquireTimeoutMillis +
                     ", maxPendingAcquires=" + maxPendingAcquires +
+                    ", minIdlePerAddress=" + minIdlePerAddress +
+                    ", keepaliveIntervalMillis=" + keepaliveIntervalMillis +
+                    ", preferNativeTransport=" + preferNativeTransport +
                     '}';
         }
 
@@ -145,6 +182,9 @@ public class ZgraphClientConfig {
             private int maxPoolSize = 100;
             private int acquireTimeoutMillis = 30 * 1000;
             private int maxPendingAcquires = 1000;
+            private int minIdlePerAddress = 0;
+            private int keepaliveIntervalMillis = 20 * 1000;
+            private boolean preferNativeTransport = true;
 
             public ChannelPoolConfigBuilder maxPoolSize(int maxPoolSize) {
                 this.maxPoolSize = maxPoolSize;
@@ -161,10 +201,81 @@ public class ZgraphClientConfig {
                 return this;
             }
 
+            public ChannelPoolConfigBuilder minIdlePerAddress(int minIdlePerAddress) {
+                this.minIdlePerAddress = minIdlePerAddress;
+                return this;
+            }
+
+            public ChannelPoolConfigBuilder keepaliveIntervalMillis(int keepaliveIntervalMillis) {
+                this.keepaliveIntervalMillis = keepaliveIntervalMillis;
+                return this;
+            }
+
+            public ChannelPoolConfigBuilder preferNativeTransport(boolean preferNativeTransport) {
+                this.preferNativeTransport = preferNativeTransport;
+                return this;
+            }
+
             public ConnectionConfig build() {
                 return new ConnectionConfig(maxPoolSize, acquireTimeoutMillis,
-                        maxPendingAcquires);
+                        maxPendingAcquires, minIdlePerAddress, keepaliveIntervalMillis, preferNativeTransport);
+            }
+        }
+    }
+
+    /**
+     * 写请求合并配置
+     * <p>
+     * 开启后，并发的小批量写请求（创建/更新卡片、部分更新卡片属性、创建/更新关联关系）会在
+     * windowMillis 时间窗口内或累计达到 maxBatchSize 条时合并为一个批量请求发送，
+     * 各调用方仍然只拿到自己那部分数据的结果。默认关闭。
+     */
+    public static class WriteCoalesceConfig {
+        // 是否开启
+        private final boolean enabled;
+        // 合并时间窗口（毫秒）
+        private final int windowMillis;
+        // 单个合并批次的最大条数，超过该条数的请求不参与合并
+        private final int maxBatchSize;
+
+        public WriteCoalesceConfig(boolean enabled, int windowMillis, int maxBatchSize) {
+            if (windowMillis <= 0) {
+                throw new IllegalArgumentException("windowMillis must be greater than 0");
+            }
+            if (maxBatchSize <= 1) {
+                throw new IllegalArgumentException("maxBatchSize must be greater than 1");
             }
+            this.enabled = enabled;
+            this.windowMillis = windowMillis;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getWindowMillis() {
+            return windowMillis;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        @Override
+        public String toString() {
+            return "WriteCoalesceConfig{" +
+                    "enabled=" + enabled +
+                    ", windowMillis=" + windowMillis +
+                    ", maxBatchSize=" + maxBatchSize +
+                    '}';
+        }
+
+        /**
+         * 默认配置：关闭，窗口 2 毫秒，单批最多 200 条
+         */
+        public static WriteCoalesceConfig disabled() {
+            return new WriteCoalesceConfig(false, 2, 200);
         }
     }
 
@@ -185,6 +296,7 @@ public class ZgraphClientConfig {
                 ", handleTimeoutMillis=" + handleTimeoutMillis +
                 ", connectionConfig=" + connectionConfig +
                 ", loadBalanceStrategy=" + loadBalanceStrategy +
+                ", writeCoalesceConfig=" + writeCoalesceConfig +
                 '}';
     }
 
@@ -203,6 +315,17 @@ public class ZgraphClientConfig {
                               int handleTimeoutMillis,
                               ConnectionConfig connectionConfig,
                               LoadBalanceStrategy loadBalanceStrategy) {
+        this(serverAddresses, username, password, handleTimeoutMillis, connectionConfig, loadBalanceStrategy,
+                WriteCoalesceConfig.disabled());
+    }
+
+    public ZgraphClientConfig(List<ServerAddress> serverAddresses,
+                              String username,
+                              String password,
+                              int handleTimeoutMillis,
+                              ConnectionConfig connectionConfig,
+                              LoadBalanceStrategy loadBalanceStrategy,
+                              WriteCoalesceConfig writeCoalesceConfig) {
         if (serverAddresses == null || serverAddresses.isEmpty()) {
             throw new IllegalArgumentException("serverAddresses cannot be empty");
         }
@@ -221,6 +344,9 @@ public class ZgraphClientConfig {
         if (loadBalanceStrategy == null) {
             throw new IllegalArgumentException("loadBalanceStrategy cannot be null");
         }
+        if (writeCoalesceConfig == null) {
+            throw new IllegalArgumentException("writeCoalesceConfig cannot be null");
+        }
 
         this.serverAddresses = serverAddresses;
         this.handleTimeoutMillis = handleTimeoutMillis;
@@ -228,6 +354,7 @@ public class ZgraphClientConfig {
         this.password = password;
         this.connectionConfig = connectionConfig;
         this.loadBalanceStrategy = loadBalanceStrategy;
+        this.writeCoalesceConfig = writeCoalesceConfig;
     }
 
 
@@ -255,6 +382,10 @@ public class ZgraphClientConfig {
         return loadBalanceStrategy;
     }
 
+    public WriteCoalesceConfig getWriteCoalesceConfig() {
+        return writeCoalesceConfig;
+    }
+
     /**
      * ZgraphClientConfig 的构建器类
      * 提供流式API创建配置对象
@@ -267,6 +398,7 @@ public class ZgraphClientConfig {
         private int handleTimeoutMillis = 60 * 1000;
         private ConnectionConfig connectionConfig = ConnectionConfig.defaultConfig();
         private LoadBalanceStrategy loadBalanceStrategy = LoadBalanceStrategy.RANDOM;
+        private WriteCoalesceConfig writeCoalesceConfig = WriteCoalesceConfig.disabled();
 
         private Builder() {
             // 私有构造函数，通过 ZgraphClientConfig.builder() 创建
@@ -349,6 +481,17 @@ public class ZgraphClientConfig {
             return this;
         }
 
+        /**
+         * 设置写请求合并配置
+         *
+         * @param writeCoalesceConfig 写请求合并配置
+         * @return Builder实例
+         */
+        public Builder writeCoalesceConfig(WriteCoalesceConfig writeCoalesceConfig) {
+            this.writeCoalesceConfig = writeCoalesceConfig;
+            return this;
+        }
+
         /**
          * 构建 ZgraphClientConfig 实例
          *
@@ -361,7 +504,8 @@ public class ZgraphClientConfig {
                     password,
                     handleTimeoutMillis,
                     connectionConfig,
-                    loadBalanceStrategy
+                    loadBalanceStrategy,
+                    writeCoalesceConfig
             );
         }
     }
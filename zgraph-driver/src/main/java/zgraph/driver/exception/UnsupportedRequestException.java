@@ -0,0 +1,40 @@
+package zgraph.driver.exception;
+
+/**
+ * 当服务端不支持请求类型时抛出此异常（旧版本服务端收到新增的请求类型）
+ * <p>
+ * 调用方可据此回退到旧版本服务端支持的请求组合。
+ */
+public class UnsupportedRequestException extends RuntimeException {
+
+    /**
+     * 服务端对未知请求类型返回的响应码
+     */
+    public static final int RESPONSE_CODE = 400;
+
+    /**
+     * 服务端对未知请求类型返回的消息
+     */
+    public static final String RESPONSE_MESSAGE = "Unsupported request type";
+
+    public UnsupportedRequestException(String message) {
+        super(message);
+    }
+
+    /**
+     * 判断异常链中是否包含 UnsupportedRequestException
+     * @param throwable 异常
+     * @return 是否因服务端不支持请求类型而失败
+     */
+    public static boolean isCausedBy(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof UnsupportedRequestException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
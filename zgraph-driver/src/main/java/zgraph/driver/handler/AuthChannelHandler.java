@@ -6,6 +6,9 @@ import io.netty.channel.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import zgraph.driver.exception.RequestIdMismatchException;
+import zgraph.driver.metrics.MetricTags;
+import zgraph.driver.metrics.ZgraphMetricsRecorder;
+import zgraph.driver.metrics.ZgraphMetricsRecorder.Outcome;
 import zgraph.driver.pool.ZgraphChannelHealthChecker;
 import zgraph.driver.proto.auth.AuthResponse;
 import zgraph.driver.proto.request.Request;
@@ -31,22 +34,49 @@ public class AuthChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
     private final CompletableFuture<Boolean> future;
     private final Request request;
     private final ScheduledFuture<?> timeoutFuture;
+    private final ZgraphMetricsRecorder metrics;
+    private final long startNanos;
+    private boolean recorded;
 
     public AuthChannelHandler(Channel channel,
                               CompletableFuture<Boolean> future,
                               Request request,
                               long timeoutMillis) {
+        this(channel, future, request, timeoutMillis, ZgraphMetricsRecorder.NOOP);
+    }
+
+    public AuthChannelHandler(Channel channel,
+                              CompletableFuture<Boolean> future,
+                              Request request,
+                              long timeoutMillis,
+                              ZgraphMetricsRecorder metrics) {
         this.channel = channel;
         this.future = future;
         this.request = request;
+        this.metrics = metrics;
+        this.startNanos = System.nanoTime();
         this.timeoutFuture = channel.eventLoop().schedule(() -> {
             if (!future.isDone()) {
                 future.completeExceptionally(new TimeoutException("认证超时"));
+                recordOutcome(Outcome.TIMEOUT);
                 cleanupHandler();
             }
         }, timeoutMillis, TimeUnit.MILLISECONDS);
     }
 
+    private void recordOutcome(Outcome outcome) {
+        if (recorded) {
+            return;
+        }
+        recorded = true;
+        try {
+            metrics.recordRequest(MetricTags.requestType(request), MetricTags.address(channel), outcome,
+                    System.nanoTime() - startNanos);
+        } catch (Exception e) {
+            logger.warn("记录认证指标失败: {}", e.getMessage());
+        }
+    }
+
     private void cleanupHandler() {
         if (!timeoutFuture.isDone()) {
             timeoutFuture.cancel(false);
@@ -78,13 +108,16 @@ public class AuthChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
                     if (response.hasAuthResponse()) {
                         AuthResponse authResponse = response.getAuthResponse();
                         future.complete(authResponse.getSuccess());
+                        recordOutcome(authResponse.getSuccess() ? Outcome.SUCCESS : Outcome.ERROR);
                         ZgraphChannelHealthChecker.markActive(channel);
                     } else {
                         future.completeExceptionally(
                                 new RuntimeException("响应中不包含认证信息"));
+                        recordOutcome(Outcome.ERROR);
                     }
                 } catch (Exception e) {
                     future.completeExceptionally(e);
+                    recordOutcome(Outcome.ERROR);
                 }
             }
 
@@ -93,6 +126,7 @@ public class AuthChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
             logger.error("认证响应解析失败: {}", e.getMessage());
             if (!future.isDone()) {
                 future.completeExceptionally(e);
+                recordOutcome(Outcome.ERROR);
             }
             cleanupHandler();
         }
@@ -102,6 +136,7 @@ public class AuthChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         if (!future.isDone()) {
             future.completeExceptionally(cause);
+            recordOutcome(Outcome.ERROR);
         }
         cleanupHandler();
     }
@@ -110,6 +145,7 @@ public class AuthChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
     public void channelInactive(ChannelHandlerContext ctx) {
         if (!future.isDone()) {
             future.completeExceptionally(new RuntimeException("连接关闭，但未完成认证"));
+            recordOutcome(Outcome.CONNECTION_CLOSED);
         }
         cleanupHandler();
     }
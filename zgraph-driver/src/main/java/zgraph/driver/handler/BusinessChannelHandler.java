@@ -8,6 +8,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import zgraph.driver.ZgraphClient.ResponseProcessor;
 import zgraph.driver.exception.RequestIdMismatchException;
+import zgraph.driver.exception.UnsupportedRequestException;
+import zgraph.driver.metrics.MetricTags;
+import zgraph.driver.metrics.ZgraphMetricsRecorder;
+import zgraph.driver.metrics.ZgraphMetricsRecorder.Outcome;
 import zgraph.driver.pool.ZgraphChannelHealthChecker;
 import zgraph.driver.proto.request.Request;
 import zgraph.driver.proto.response.Response;
@@ -22,6 +26,8 @@ import java.util.concurrent.TimeUnit;
  * 处理业务请求的响应。
  * 前置条件：pipeline 中已有 LengthFieldBasedFrameDecoder，
  * 因此 channelRead0 接收到的 ByteBuf 是完整的帧（不含长度前缀）。
+ * <p>
+ * 请求结束（成功、失败、超时、连接关闭）时向 {@link ZgraphMetricsRecorder} 记录耗时和结果，只记录一次。
  */
 public class BusinessChannelHandler<T> extends SimpleChannelInboundHandler<ByteBuf> {
 
@@ -33,6 +39,10 @@ public class BusinessChannelHandler<T> extends SimpleChannelInboundHandler<ByteB
     private final CompletableFuture<T> future;
     private final ChannelPool channelPool;
     private final ScheduledFuture<?> timeoutFuture;
+    private final ZgraphMetricsRecorder metrics;
+    private final String requestType;
+    private final long startNanos;
+    private boolean recorded;
 
     public BusinessChannelHandler(Channel channel,
                                   Request request,
@@ -40,22 +50,49 @@ public class BusinessChannelHandler<T> extends SimpleChannelInboundHandler<ByteB
                                   int timeout,
                                   CompletableFuture<T> future,
                                   ChannelPool channelPool) {
+        this(channel, request, responseProcessor, timeout, future, channelPool, ZgraphMetricsRecorder.NOOP);
+    }
+
+    public BusinessChannelHandler(Channel channel,
+                                  Request request,
+                                  ResponseProcessor<T> responseProcessor,
+                                  int timeout,
+                                  CompletableFuture<T> future,
+                                  ChannelPool channelPool,
+                                  ZgraphMetricsRecorder metrics) {
         this.channel = channel;
         this.request = request;
         this.responseProcessor = responseProcessor;
         this.future = future;
         this.channelPool = channelPool;
+        this.metrics = metrics;
+        this.requestType = MetricTags.requestType(request);
+        this.startNanos = System.nanoTime();
 
         this.timeoutFuture = channel.eventLoop().schedule(() -> {
             if (!future.isDone()) {
                 logger.warn("请求超时了，TCP连接状态：{}-active={}-open={}", channel.id(), channel.isActive(),
                         channel.isOpen());
                 future.completeExceptionally(new RuntimeException("请求超时"));
+                recordOutcome(Outcome.TIMEOUT);
                 cleanupAndReleaseConnection();
             }
         }, timeout, TimeUnit.MILLISECONDS);
     }
 
+    private void recordOutcome(Outcome outcome) {
+        if (recorded) {
+            return;
+        }
+        recorded = true;
+        try {
+            metrics.recordRequest(requestType, MetricTags.address(channel), outcome,
+                    System.nanoTime() - startNanos);
+        } catch (Exception e) {
+            logger.warn("记录请求指标失败: {}", e.getMessage());
+        }
+    }
+
     private void cleanupAndReleaseConnection() {
         if (!timeoutFuture.isDone()) {
             timeoutFuture.cancel(false);
@@ -76,6 +113,7 @@ public class BusinessChannelHandler<T> extends SimpleChannelInboundHandler<ByteB
         // LengthFieldBasedFrameDecoder 已完成帧拆包，msg 是完整的 protobuf 数据
         byte[] responseBytes = new byte[msg.readableBytes()];
         msg.readBytes(responseBytes);
+        metrics.recordFrameSize(requestType, ZgraphMetricsRecorder.Direction.INBOUND, responseBytes.length);
 
         try {
             Response response = Response.parseFrom(responseBytes);
@@ -87,10 +125,12 @@ public class BusinessChannelHandler<T> extends SimpleChannelInboundHandler<ByteB
 
                     T result = responseProcessor.process(response);
                     future.complete(result);
+                    recordOutcome(Outcome.SUCCESS);
                     ZgraphChannelHealthChecker.markActive(channel);
                 } catch (Exception e) {
                     future.completeExceptionally(
                             new RuntimeException("请求失败: " + e.getMessage(), e));
+                    recordOutcome(Outcome.ERROR);
                 }
             }
 
@@ -105,6 +145,7 @@ public class BusinessChannelHandler<T> extends SimpleChannelInboundHandler<ByteB
             }
             if (!future.isDone()) {
                 future.completeExceptionally(e);
+                recordOutcome(Outcome.ERROR);
             }
             cleanupAndReleaseConnection();
         }
@@ -114,6 +155,7 @@ public class BusinessChannelHandler<T> extends SimpleChannelInboundHandler<ByteB
     public void channelInactive(ChannelHandlerContext ctx) {
         if (!future.isDone()) {
             future.completeExceptionally(new RuntimeException("连接关闭，但未收到完整响应"));
+            recordOutcome(Outcome.CONNECTION_CLOSED);
         }
         cleanupAndReleaseConnection();
     }
@@ -122,11 +164,16 @@ public class BusinessChannelHandler<T> extends SimpleChannelInboundHandler<ByteB
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         if (!future.isDone()) {
             future.completeExceptionally(cause);
+            recordOutcome(Outcome.ERROR);
         }
         cleanupAndReleaseConnection();
     }
 
     private void checkResponseStatus(Response response) {
+        if (response.getCode() == UnsupportedRequestException.RESPONSE_CODE
+                && UnsupportedRequestException.RESPONSE_MESSAGE.equals(response.getMessage())) {
+            throw new UnsupportedRequestException("请求失败，服务端不支持该请求类型: " + request.getRequestTypeCase());
+        }
         if (response.getCode() != 200) {
             throw new RuntimeException("请求失败，响应码: " + response.getCode() +
                     "，消息: " + response.getMessage());
@@ -0,0 +1,149 @@
+package zgraph.driver.handler;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zgraph.driver.exception.UnsupportedRequestException;
+import zgraph.driver.metrics.MetricTags;
+import zgraph.driver.metrics.ZgraphMetricsRecorder;
+import zgraph.driver.metrics.ZgraphMetricsRecorder.Outcome;
+import zgraph.driver.pool.ZgraphChannelHealthChecker;
+import zgraph.driver.proto.request.Request;
+import zgraph.driver.proto.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 保活处理器
+ * <p>
+ * 在已认证的连接上发送 PingRequest 并等待响应，用于连接保活。
+ * 请求ID匹配的 200 响应视为连接可用；旧版本服务端不识别 PingRequest 会返回 400 "Unsupported request type"，
+ * 此时连接的请求往返同样已完成，也视为可用，不关闭连接。
+ * 前置条件：pipeline 中已有 LengthFieldBasedFrameDecoder，
+ * 因此 channelRead0 接收到的 ByteBuf 是完整的帧（不含长度前缀）。
+ */
+public class PingChannelHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+    public static final String NAME = "pingHandler";
+
+    private static final Logger logger = LoggerFactory.getLogger(PingChannelHandler.class);
+
+    private final Channel channel;
+    private final CompletableFuture<Boolean> future;
+    private final Request request;
+    private final ScheduledFuture<?> timeoutFuture;
+    private final ZgraphMetricsRecorder metrics;
+    private final long startNanos;
+    private boolean recorded;
+
+    public PingChannelHandler(Channel channel,
+                              CompletableFuture<Boolean> future,
+                              Request request,
+                              long timeoutMillis,
+                              ZgraphMetricsRecorder metrics) {
+        this.channel = channel;
+        this.future = future;
+        this.request = request;
+        this.metrics = metrics;
+        this.startNanos = System.nanoTime();
+        this.timeoutFuture = channel.eventLoop().schedule(() -> {
+            if (!future.isDone()) {
+                future.completeExceptionally(new TimeoutException("保活请求超时"));
+                recordOutcome(Outcome.TIMEOUT);
+                cleanupHandler();
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void recordOutcome(Outcome outcome) {
+        if (recorded) {
+            return;
+        }
+        recorded = true;
+        try {
+            metrics.recordRequest(MetricTags.requestType(request), MetricTags.address(channel), outcome,
+                    System.nanoTime() - startNanos);
+        } catch (Exception e) {
+            logger.warn("记录保活指标失败: {}", e.getMessage());
+        }
+    }
+
+    private void cleanupHandler() {
+        if (!timeoutFuture.isDone()) {
+            timeoutFuture.cancel(false);
+        }
+        try {
+            ChannelPipeline pipeline = channel.pipeline();
+            if (pipeline.context(NAME) != null) {
+                pipeline.remove(NAME);
+            }
+        } catch (Exception e) {
+            logger.error("移除保活处理器失败", e);
+        }
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+        byte[] responseBytes = new byte[msg.readableBytes()];
+        msg.readBytes(responseBytes);
+
+        try {
+            Response response = Response.parseFrom(responseBytes);
+
+            if (!future.isDone()) {
+                if (!request.getRequestId().equals(response.getRequestId())) {
+                    logger.warn("保活响应请求ID不匹配: 请求={}, 响应={}",
+                            request.getRequestId(), response.getRequestId());
+                    future.complete(false);
+                    recordOutcome(Outcome.ERROR);
+                } else if (isAlive(response)) {
+                    future.complete(true);
+                    recordOutcome(Outcome.SUCCESS);
+                    ZgraphChannelHealthChecker.markActive(channel);
+                } else {
+                    logger.warn("保活请求失败，响应码: {}，消息: {}", response.getCode(), response.getMessage());
+                    future.complete(false);
+                    recordOutcome(Outcome.ERROR);
+                }
+            }
+
+            cleanupHandler();
+        } catch (InvalidProtocolBufferException e) {
+            logger.error("保活响应解析失败: {}", e.getMessage());
+            if (!future.isDone()) {
+                future.completeExceptionally(e);
+                recordOutcome(Outcome.ERROR);
+            }
+            cleanupHandler();
+        }
+    }
+
+    private static boolean isAlive(Response response) {
+        return response.getCode() == 200
+                || (response.getCode() == UnsupportedRequestException.RESPONSE_CODE
+                && UnsupportedRequestException.RESPONSE_MESSAGE.equals(response.getMessage()));
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        if (!future.isDone()) {
+            future.completeExceptionally(cause);
+            recordOutcome(Outcome.ERROR);
+        }
+        cleanupHandler();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        if (!future.isDone()) {
+            future.completeExceptionally(new RuntimeException("连接关闭，但未完成保活请求"));
+            recordOutcome(Outcome.CONNECTION_CLOSED);
+        }
+        cleanupHandler();
+    }
+}
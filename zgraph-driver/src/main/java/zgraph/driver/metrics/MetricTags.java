@@ -0,0 +1,41 @@
+package zgraph.driver.metrics;
+
+import io.netty.channel.Channel;
+import zgraph.driver.proto.request.Request;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Locale;
+
+/**
+ * 指标标签工具
+ */
+public final class MetricTags {
+
+    private static final String UNKNOWN = "unknown";
+
+    private MetricTags() {
+    }
+
+    /**
+     * 请求类型：请求 oneof 字段名，如 card_query、batch_create_card
+     */
+    public static String requestType(Request request) {
+        Request.RequestTypeCase requestCase = request.getRequestTypeCase();
+        if (requestCase == Request.RequestTypeCase.REQUESTTYPE_NOT_SET) {
+            return UNKNOWN;
+        }
+        return requestCase.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 连接的目标服务器地址（host:port）
+     */
+    public static String address(Channel channel) {
+        SocketAddress remote = channel.remoteAddress();
+        if (remote instanceof InetSocketAddress inet) {
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return remote != null ? remote.toString() : UNKNOWN;
+    }
+}
@@ -0,0 +1,85 @@
+package zgraph.driver.metrics;
+
+/**
+ * Zgraph 客户端指标记录器
+ * <p>
+ * 驱动本身不依赖任何指标库，调用方实现该接口后通过
+ * {@link zgraph.driver.ZgraphClient#ZgraphClient(zgraph.driver.config.ZgraphClientConfig, ZgraphMetricsRecorder)}
+ * 注入，即可把指标桥接到 Micrometer 等监控系统。所有方法都在 Netty IO 线程上调用，实现必须是非阻塞的。
+ * <p>
+ * 标签约定：
+ * <ul>
+ *     <li>requestType：请求 oneof 类型，如 card_query、batch_create_card、auth</li>
+ *     <li>address：目标服务器地址（host:port）</li>
+ * </ul>
+ */
+public interface ZgraphMetricsRecorder {
+
+    /**
+     * 不记录任何指标
+     */
+    ZgraphMetricsRecorder NOOP = new ZgraphMetricsRecorder() {
+    };
+
+    /**
+     * 请求结果
+     */
+    enum Outcome {
+        /** 收到成功响应 */
+        SUCCESS,
+        /** 服务端返回错误、响应解析失败或连接异常 */
+        ERROR,
+        /** 超时未收到响应 */
+        TIMEOUT,
+        /** 收到响应前连接被关闭 */
+        CONNECTION_CLOSED
+    }
+
+    /**
+     * 帧方向
+     */
+    enum Direction {
+        /** 发往服务器的请求帧 */
+        OUTBOUND,
+        /** 服务器返回的响应帧 */
+        INBOUND
+    }
+
+    /**
+     * 记录一次请求（从写出请求到收到响应或失败，不含获取连接的等待时间）
+     *
+     * @param requestType  请求类型
+     * @param address      目标服务器地址
+     * @param outcome      请求结果
+     * @param latencyNanos 耗时（纳秒）
+     */
+    default void recordRequest(String requestType, String address, Outcome outcome, long latencyNanos) {
+    }
+
+    /**
+     * 记录一次从连接池获取连接
+     *
+     * @param success   是否获取成功
+     * @param waitNanos 等待耗时（纳秒）
+     */
+    default void recordPoolAcquire(boolean success, long waitNanos) {
+    }
+
+    /**
+     * 记录一个帧的大小（不含 4 字节长度前缀）
+     *
+     * @param requestType 请求类型
+     * @param direction   帧方向
+     * @param bytes       字节数
+     */
+    default void recordFrameSize(String requestType, Direction direction, int bytes) {
+    }
+
+    /**
+     * 绑定连接池状态，用于注册连接池相关的 gauge，客户端创建时调用一次
+     *
+     * @param poolStats 连接池状态
+     */
+    default void bindPoolStats(ZgraphPoolStats poolStats) {
+    }
+}
@@ -0,0 +1,27 @@
+package zgraph.driver.metrics;
+
+/**
+ * 连接池状态（实时读取）
+ */
+public interface ZgraphPoolStats {
+
+    /**
+     * 正在使用中的连接数
+     */
+    int activeConnections();
+
+    /**
+     * 存活的连接数（已建立且未关闭）
+     */
+    int aliveConnections();
+
+    /**
+     * 连接池最大连接数
+     */
+    int maxConnections();
+
+    /**
+     * 累计创建的连接数
+     */
+    int totalCreatedConnections();
+}
@@ -0,0 +1,112 @@
+package zgraph.driver.pool;
+
+import io.netty.channel.Channel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 连接池预热与保活
+ * <p>
+ * 对每个服务器地址的连接池同时获取 minIdle 个连接（不足时由连接池新建），逐个执行准备动作后归还：
+ * <ul>
+ *     <li>预热：启动时执行，新连接完成建连和认证，首批业务请求不再承担建连 + 认证的耗时</li>
+ *     <li>保活：按固定间隔执行，已认证的连接发送保活请求，让这些连接在空闲检测关闭前产生一次请求往返，
+ *     避免连接池在流量低谷后交出需要重新建立的冷连接</li>
+ * </ul>
+ * 准备动作失败的连接会被关闭，连接池在下次获取时自动替换。
+ */
+public class ChannelPoolWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelPoolWarmer.class);
+
+    private final Map<String, ChannelPool> poolsByAddress;
+    private final int minIdle;
+    private final Function<Channel, CompletableFuture<Boolean>> preparer;
+
+    /**
+     * @param poolsByAddress 服务器地址 -> 单地址连接池
+     * @param minIdle        每个地址保持的连接数
+     * @param preparer       连接准备动作（新连接认证，已认证连接发送保活请求），返回是否成功
+     */
+    public ChannelPoolWarmer(Map<String, ChannelPool> poolsByAddress,
+                             int minIdle,
+                             Function<Channel, CompletableFuture<Boolean>> preparer) {
+        this.poolsByAddress = poolsByAddress;
+        this.minIdle = minIdle;
+        this.preparer = preparer;
+    }
+
+    /**
+     * 对所有地址执行一轮预热或保活
+     *
+     * @return 成功准备的连接总数
+     */
+    public CompletableFuture<Integer> touchAll() {
+        if (minIdle <= 0) {
+            return CompletableFuture.completedFuture(0);
+        }
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(poolsByAddress.size());
+        for (Map.Entry<String, ChannelPool> entry : poolsByAddress.entrySet()) {
+            futures.add(touch(entry.getKey(), entry.getValue()));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    private CompletableFuture<Integer> touch(String address, ChannelPool pool) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(minIdle);
+        AtomicInteger prepared = new AtomicInteger();
+
+        Runnable onDone = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                if (prepared.get() < minIdle) {
+                    logger.warn("连接预热/保活未全部成功: address={}, ready={}/{}", address, prepared.get(), minIdle);
+                } else if (logger.isDebugEnabled()) {
+                    logger.debug("连接预热/保活完成: address={}, ready={}", address, prepared.get());
+                }
+                result.complete(prepared.get());
+            }
+        };
+
+        // 同时持有 minIdle 个连接，确保准备的是不同的连接
+        for (int i = 0; i < minIdle; i++) {
+            Future<Channel> acquireFuture = pool.acquire();
+            acquireFuture.addListener((FutureListener<Channel>) f -> {
+                if (!f.isSuccess()) {
+                    logger.debug("预热/保活获取连接失败: address={}, cause={}", address, f.cause().getMessage());
+                    onDone.run();
+                    return;
+                }
+                Channel channel = f.getNow();
+                CompletableFuture<Boolean> prepareFuture;
+                try {
+                    prepareFuture = preparer.apply(channel);
+                } catch (Exception e) {
+                    prepareFuture = CompletableFuture.failedFuture(e);
+                }
+                prepareFuture.whenComplete((success, error) -> {
+                    if (error == null && Boolean.TRUE.equals(success)) {
+                        prepared.incrementAndGet();
+                    } else {
+                        logger.debug("预热/保活连接失败，关闭连接: address={}, channel={}", address, channel.id());
+                        channel.close();
+                    }
+                    pool.release(channel);
+                    onDone.run();
+                });
+            });
+        }
+        return result;
+    }
+}
@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import zgraph.driver.config.ZgraphClientConfig.ServerAddress;
 import zgraph.driver.loadbalancer.LoadBalancer;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -135,6 +136,15 @@ public class MultiAddressChannelPool implements ChannelPool {
         return pool.release(channel, promise);
     }
     
+    /**
+     * 各服务器地址对应的连接池（只读），用于按地址预热和保活
+     * <p>
+     * 直接从单地址连接池获取的连接必须归还到同一个单地址连接池。
+     */
+    public Map<ServerAddress, ChannelPool> getAddressPools() {
+        return Collections.unmodifiableMap(poolMap);
+    }
+
     @Override
     public void close() {
         for (Map.Entry<ServerAddress, ChannelPool> entry : poolMap.entrySet()) {
@@ -0,0 +1,189 @@
+package zgraph.driver;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zgraph.driver.config.ZgraphClientConfig;
+import zgraph.driver.proto.auth.AuthResponse;
+import zgraph.driver.proto.request.Request;
+import zgraph.driver.proto.response.Response;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ZgraphClient 连接保活测试
+ * <p>
+ * 模拟服务端按 zgraph router 的协议处理请求：认证只在连接的第一条消息处理，
+ * 之后收到认证请求或不识别的请求类型返回 400 "Unsupported request type"。
+ */
+@DisplayName("ZgraphClient 连接保活")
+class ZgraphClientKeepaliveTest {
+
+    private static final int MIN_IDLE = 2;
+    private static final int KEEPALIVE_INTERVAL_MILLIS = 100;
+
+    private MockRouterServer server;
+    private ZgraphClient client;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("保活只对新连接认证，已认证的连接发送保活请求且不被关闭")
+    void shouldPingAuthenticatedChannelsWithoutReauthenticating() throws Exception {
+        server = new MockRouterServer(true);
+        server.start();
+        client = newClient(server.port());
+
+        assertEquals(MIN_IDLE, client.getWarmUpFuture().get(5, TimeUnit.SECONDS));
+        waitUntil(() -> server.pings.get() >= MIN_IDLE * 3);
+
+        // 每个连接只认证一次，保活不会让连接被关闭重建
+        assertEquals(server.connections.get(), server.auths.get());
+        assertEquals(0, server.unsupported.get());
+        assertEquals(0, server.closed.get());
+    }
+
+    @Test
+    @DisplayName("旧版本服务端不识别保活请求返回 400 时，连接仍保留")
+    void shouldKeepChannelsWhenServerDoesNotSupportPing() throws Exception {
+        server = new MockRouterServer(false);
+        server.start();
+        client = newClient(server.port());
+
+        assertEquals(MIN_IDLE, client.getWarmUpFuture().get(5, TimeUnit.SECONDS));
+        waitUntil(() -> server.unsupported.get() >= MIN_IDLE * 3);
+
+        // 每个连接只认证一次，保活不会让连接被关闭重建
+        assertEquals(server.connections.get(), server.auths.get());
+        assertEquals(0, server.closed.get());
+    }
+
+    private static ZgraphClient newClient(int port) {
+        ZgraphClientConfig config = ZgraphClientConfig.builder()
+                .serverAddresses(new ZgraphClientConfig.ServerAddress("127.0.0.1", port))
+                .username("zgraph")
+                .password("zgraph")
+                .channelPoolConfig(ZgraphClientConfig.ConnectionConfig.builder()
+                        .maxPoolSize(4)
+                        .acquireTimeoutMillis(2000)
+                        .minIdlePerAddress(MIN_IDLE)
+                        .keepaliveIntervalMillis(KEEPALIVE_INTERVAL_MILLIS)
+                        .build())
+                .build();
+        return new ZgraphClient(config);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("等待保活请求超时");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * 按 zgraph router 协议响应的模拟服务端
+     */
+    private static class MockRouterServer {
+        private final boolean supportsPing;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger auths = new AtomicInteger();
+        private final AtomicInteger pings = new AtomicInteger();
+        private final AtomicInteger unsupported = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+        private EventLoopGroup group;
+        private Channel serverChannel;
+
+        MockRouterServer(boolean supportsPing) {
+            this.supportsPing = supportsPing;
+        }
+
+        void start() throws InterruptedException {
+            group = new NioEventLoopGroup(1);
+            serverChannel = new ServerBootstrap()
+                    .group(group)
+                    .channel(NioServerSocketChannel.class)
+                    .childHandler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        protected void initChannel(SocketChannel ch) {
+                            connections.incrementAndGet();
+                            ch.closeFuture().addListener(future -> closed.incrementAndGet());
+                            ch.pipeline()
+                                    .addLast(new LengthFieldBasedFrameDecoder(64 * 1024 * 1024, 0, 4, 0, 4))
+                                    .addLast(new LengthFieldPrepender(4))
+                                    .addLast(new RouterHandler());
+                        }
+                    })
+                    .bind("127.0.0.1", 0).sync().channel();
+        }
+
+        int port() {
+            return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+        }
+
+        void stop() throws InterruptedException {
+            if (serverChannel != null) {
+                serverChannel.close().sync();
+            }
+            if (group != null) {
+                group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+            }
+        }
+
+        private class RouterHandler extends SimpleChannelInboundHandler<ByteBuf> {
+            private boolean authenticated;
+
+            @Override
+            protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+                Request request = Request.parseFrom(ByteBufUtil.getBytes(msg));
+                Response.Builder response = Response.newBuilder().setRequestId(request.getRequestId());
+                if (!authenticated) {
+                    if (!request.hasAuth()) {
+                        write(ctx, response.setCode(401).setMessage("Authentication required before sending requests"));
+                        ctx.close();
+                        return;
+                    }
+                    authenticated = true;
+                    auths.incrementAndGet();
+                    write(ctx, response.setCode(200).setMessage("Authentication successful")
+                            .setAuthResponse(AuthResponse.newBuilder().setSuccess(true).build()));
+                } else if (request.hasPing() && supportsPing) {
+                    pings.incrementAndGet();
+                    write(ctx, response.setCode(200).setMessage("pong"));
+                } else {
+                    unsupported.incrementAndGet();
+                    write(ctx, response.setCode(400).setMessage("Unsupported request type"));
+                }
+            }
+
+            private void write(ChannelHandlerContext ctx, Response.Builder response) {
+                ctx.writeAndFlush(Unpooled.wrappedBuffer(response.build().toByteArray()));
+            }
+        }
+    }
+}
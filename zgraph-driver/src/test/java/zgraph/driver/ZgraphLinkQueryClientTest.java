@@ -0,0 +1,99 @@
+package zgraph.driver;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zgraph.driver.config.ZgraphClientConfig;
+import zgraph.driver.proto.common.LinkPosition;
+import zgraph.driver.proto.linkquery.LinkQueryResponse;
+import zgraph.driver.proto.linkquery.LtWithPosition;
+import zgraph.driver.proto.linkquery.PathHop;
+import zgraph.driver.proto.linkquery.PathHopResult;
+import zgraph.driver.proto.linkquery.PathNodeResult;
+import zgraph.driver.proto.linkquery.PathQueryRequest;
+import zgraph.driver.proto.linkquery.PathQueryResponse;
+import zgraph.driver.proto.request.Request;
+import zgraph.driver.proto.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ZgraphLinkQueryClient 路径查询单元测试
+ */
+@DisplayName("ZgraphLinkQueryClient 路径查询")
+class ZgraphLinkQueryClientTest {
+
+    private final List<Request> sentRequests = new ArrayList<>();
+    private Response response;
+    private ZgraphLinkQueryClient linkQueryClient;
+
+    @BeforeEach
+    void setUp() {
+        ZgraphClient client = mock(ZgraphClient.class);
+        when(client.getConfig()).thenReturn(ZgraphClientConfig.builder().build());
+        when(client.sendRequest(any(), any(), anyInt())).thenAnswer(invocation -> {
+            sentRequests.add(invocation.getArgument(0));
+            ZgraphClient.ResponseProcessor<?> processor = invocation.getArgument(1);
+            try {
+                return CompletableFuture.completedFuture(processor.process(response));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        linkQueryClient = new ZgraphLinkQueryClient(client);
+    }
+
+    private static PathHop hop(String ltId, LinkPosition position) {
+        return PathHop.newBuilder()
+                .setLtWithPosition(LtWithPosition.newBuilder().setLtId(ltId).setPosition(position))
+                .build();
+    }
+
+    @Test
+    @DisplayName("多跳路径在一次请求中发送，并返回每一跳的节点")
+    void shouldSendAllHopsInSingleRequest() throws Exception {
+        response = Response.newBuilder()
+                .setPathQueryResponse(PathQueryResponse.newBuilder()
+                        .addHops(PathHopResult.newBuilder()
+                                .addNodes(PathNodeResult.newBuilder().setCardId(1)))
+                        .addHops(PathHopResult.newBuilder()
+                                .addNodes(PathNodeResult.newBuilder().setCardId(2).addFromCardIds(1)))
+                        .addHops(PathHopResult.newBuilder()
+                                .addNodes(PathNodeResult.newBuilder().setCardId(3).addFromCardIds(2))))
+                .build();
+
+        PathQueryResponse result = linkQueryClient.queryPath(PathQueryRequest.newBuilder()
+                .addStartCardIds(1)
+                .addHops(hop("lt-squad", LinkPosition.Src))
+                .addHops(hop("lt-tribe", LinkPosition.Src))
+                .build()).get();
+
+        assertEquals(1, sentRequests.size());
+        assertTrue(sentRequests.get(0).hasPathQuery());
+        assertEquals(2, sentRequests.get(0).getPathQuery().getHopsCount());
+        assertEquals(3, result.getHopsCount());
+        assertEquals(List.of(2L), result.getHops(2).getNodes(0).getFromCardIdsList());
+    }
+
+    @Test
+    @DisplayName("响应中没有路径查询结果时返回异常")
+    void shouldFailWhenResponseTypeMismatch() {
+        response = Response.newBuilder()
+                .setLinkQueryResponse(LinkQueryResponse.getDefaultInstance())
+                .build();
+
+        CompletableFuture<PathQueryResponse> future = linkQueryClient.queryPath(PathQueryRequest.getDefaultInstance());
+
+        ExecutionException error = assertThrows(ExecutionException.class, future::get);
+        assertEquals("响应中不包含路径查询结果", error.getCause().getMessage());
+    }
+}
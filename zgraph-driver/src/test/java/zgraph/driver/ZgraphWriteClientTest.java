@@ -0,0 +1,179 @@
+package zgraph.driver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zgraph.driver.config.ZgraphClientConfig;
+import zgraph.driver.proto.model.Card;
+import zgraph.driver.proto.model.Link;
+import zgraph.driver.proto.request.Request;
+import zgraph.driver.proto.write.BatchCardCommonResponse;
+import zgraph.driver.proto.write.BatchCreateCardRequest;
+import zgraph.driver.proto.write.BatchCreateLinkRequest;
+import zgraph.driver.proto.write.BatchLinkCommonResponse;
+import zgraph.driver.proto.write.CreateCardWithLinksRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ZgraphWriteClient 写请求合并单元测试
+ */
+@DisplayName("ZgraphWriteClient 写请求合并")
+class ZgraphWriteClientTest {
+
+    private final List<Request> sentRequests = new ArrayList<>();
+    private ZgraphWriteClient writeClient;
+
+    @AfterEach
+    void tearDown() {
+        if (writeClient != null) {
+            writeClient.close();
+        }
+    }
+
+    private ZgraphWriteClient createClient(ZgraphClientConfig.WriteCoalesceConfig coalesceConfig,
+                                           Function<Request, CompletableFuture<?>> responder) {
+        ZgraphClientConfig config = ZgraphClientConfig.builder()
+                .writeCoalesceConfig(coalesceConfig)
+                .build();
+        ZgraphClient client = mock(ZgraphClient.class);
+        when(client.getConfig()).thenReturn(config);
+        when(client.sendRequest(any(), any(), anyInt())).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            synchronized (sentRequests) {
+                sentRequests.add(request);
+            }
+            return responder.apply(request);
+        });
+        return new ZgraphWriteClient(client);
+    }
+
+    private static BatchCreateCardRequest createCard(long cardId) {
+        return BatchCreateCardRequest.newBuilder()
+                .addCards(Card.newBuilder().setId(cardId).build())
+                .build();
+    }
+
+    private static Link link(String ltId, long srcId, long destId) {
+        return Link.newBuilder().setLtId(ltId).setSrcId(srcId).setDestId(destId).build();
+    }
+
+    @Test
+    @DisplayName("未开启合并时每次调用单独发送")
+    void shouldSendEachRequestWhenDisabled() throws Exception {
+        writeClient = createClient(ZgraphClientConfig.WriteCoalesceConfig.disabled(),
+                request -> CompletableFuture.completedFuture(
+                        BatchCardCommonResponse.newBuilder().setSuccess(1).build()));
+
+        writeClient.batchCreateCard(createCard(1)).get();
+        writeClient.batchCreateCard(createCard(2)).get();
+
+        assertEquals(2, sentRequests.size());
+    }
+
+    @Test
+    @DisplayName("时间窗口内的请求合并发送，并按调用方拆分失败的卡片")
+    void shouldMergeWithinWindowAndSplitFailedIds() throws Exception {
+        writeClient = createClient(new ZgraphClientConfig.WriteCoalesceConfig(true, 60_000, 100),
+                request -> CompletableFuture.completedFuture(BatchCardCommonResponse.newBuilder()
+                        .setSuccess(2)
+                        .addFailedIds(2)
+                        .build()));
+
+        CompletableFuture<BatchCardCommonResponse> first = writeClient.batchCreateCard(createCard(1));
+        CompletableFuture<BatchCardCommonResponse> second = writeClient.batchCreateCard(createCard(2));
+        CompletableFuture<BatchCardCommonResponse> third = writeClient.batchCreateCard(createCard(3));
+        assertFalse(first.isDone());
+
+        writeClient.close();
+
+        assertEquals(1, sentRequests.size());
+        assertEquals(3, sentRequests.get(0).getBatchCreateCard().getCardsCount());
+        assertEquals(1, first.get().getSuccess());
+        assertEquals(0, first.get().getFailedIdsCount());
+        assertEquals(0, second.get().getSuccess());
+        assertEquals(List.of(2L), second.get().getFailedIdsList());
+        assertEquals(1, third.get().getSuccess());
+    }
+
+    @Test
+    @DisplayName("累计达到单批上限时立即发送")
+    void shouldFlushWhenBatchSizeReached() {
+        writeClient = createClient(new ZgraphClientConfig.WriteCoalesceConfig(true, 60_000, 2),
+                request -> CompletableFuture.completedFuture(
+                        BatchCardCommonResponse.newBuilder().setSuccess(2).build()));
+
+        CompletableFuture<BatchCardCommonResponse> first = writeClient.batchCreateCard(createCard(1));
+        CompletableFuture<BatchCardCommonResponse> second = writeClient.batchCreateCard(createCard(2));
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(1, sentRequests.size());
+    }
+
+    @Test
+    @DisplayName("合并请求发送失败时所有调用方都收到异常")
+    void shouldFailAllCallersOnTransportError() {
+        writeClient = createClient(new ZgraphClientConfig.WriteCoalesceConfig(true, 60_000, 100),
+                request -> CompletableFuture.failedFuture(new RuntimeException("连接断开")));
+
+        CompletableFuture<BatchCardCommonResponse> first = writeClient.batchCreateCard(createCard(1));
+        CompletableFuture<BatchCardCommonResponse> second = writeClient.batchCreateCard(createCard(2));
+        writeClient.close();
+
+        ExecutionException error = assertThrows(ExecutionException.class, first::get);
+        assertEquals("连接断开", error.getCause().getMessage());
+        assertThrows(ExecutionException.class, second::get);
+    }
+
+    @Test
+    @DisplayName("关联关系按 关联类型+源卡片+目标卡片 拆分失败项")
+    void shouldSplitFailedLinks() throws Exception {
+        writeClient = createClient(new ZgraphClientConfig.WriteCoalesceConfig(true, 60_000, 100),
+                request -> CompletableFuture.completedFuture(BatchLinkCommonResponse.newBuilder()
+                        .setSuccess(1)
+                        .addFailedLinks(link("lt-1", 1, 3).toBuilder().setId(99).build())
+                        .build()));
+
+        CompletableFuture<BatchLinkCommonResponse> first = writeClient.batchCreateLink(
+                BatchCreateLinkRequest.newBuilder().addLinks(link("lt-1", 1, 2)).build());
+        CompletableFuture<BatchLinkCommonResponse> second = writeClient.batchCreateLink(
+                BatchCreateLinkRequest.newBuilder().addLinks(link("lt-1", 1, 3)).build());
+        writeClient.close();
+
+        assertEquals(1, sentRequests.size());
+        assertEquals(1, first.get().getSuccess());
+        assertEquals(0, first.get().getFailedLinksCount());
+        assertEquals(0, second.get().getSuccess());
+        assertEquals(1, second.get().getFailedLinksCount());
+    }
+
+    @Test
+    @DisplayName("创建卡片并关联在一次请求中发送，不参与合并")
+    void shouldSendCardWithLinksInSingleRequest() throws Exception {
+        writeClient = createClient(new ZgraphClientConfig.WriteCoalesceConfig(true, 60_000, 100),
+                request -> CompletableFuture.completedFuture(
+                        BatchCardCommonResponse.newBuilder().setSuccess(1).build()));
+
+        BatchCardCommonResponse response = writeClient.createCardWithLinks(CreateCardWithLinksRequest.newBuilder()
+                .setCard(Card.newBuilder().setId(1).build())
+                .addLinks(link("lt-1", 1, 2))
+                .addLinks(link("lt-2", 3, 1))
+                .build()).get();
+
+        assertEquals(1, response.getSuccess());
+        assertEquals(1, sentRequests.size());
+        assertTrue(sentRequests.get(0).hasCreateCardWithLinks());
+        assertEquals(2, sentRequests.get(0).getCreateCardWithLinks().getLinksCount());
+    }
+}
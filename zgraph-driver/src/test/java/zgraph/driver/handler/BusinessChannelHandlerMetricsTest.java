@@ -0,0 +1,127 @@
+package zgraph.driver.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.pool.ChannelPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zgraph.driver.exception.UnsupportedRequestException;
+import zgraph.driver.metrics.ZgraphMetricsRecorder;
+import zgraph.driver.metrics.ZgraphMetricsRecorder.Direction;
+import zgraph.driver.metrics.ZgraphMetricsRecorder.Outcome;
+import zgraph.driver.proto.request.Request;
+import zgraph.driver.proto.response.Response;
+import zgraph.driver.proto.write.BatchCardCommonResponse;
+import zgraph.driver.proto.write.BatchCreateCardRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * BusinessChannelHandler 指标记录单元测试
+ */
+@DisplayName("BusinessChannelHandler 指标记录")
+class BusinessChannelHandlerMetricsTest {
+
+    private final List<String> requests = new ArrayList<>();
+    private final List<String> frames = new ArrayList<>();
+    private ZgraphMetricsRecorder recorder;
+    private EmbeddedChannel channel;
+    private Request request;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new ZgraphMetricsRecorder() {
+            @Override
+            public void recordRequest(String requestType, String address, Outcome outcome, long latencyNanos) {
+                assertTrue(latencyNanos >= 0);
+                requests.add(requestType + ":" + outcome);
+            }
+
+            @Override
+            public void recordFrameSize(String requestType, Direction direction, int bytes) {
+                frames.add(requestType + ":" + direction + ":" + bytes);
+            }
+        };
+        channel = new EmbeddedChannel();
+        request = Request.newBuilder()
+                .setRequestId("req-1")
+                .setBatchCreateCard(BatchCreateCardRequest.getDefaultInstance())
+                .build();
+    }
+
+    private CompletableFuture<BatchCardCommonResponse> install() {
+        CompletableFuture<BatchCardCommonResponse> future = new CompletableFuture<>();
+        channel.pipeline().addLast("businessHandler", new BusinessChannelHandler<>(channel, request,
+                Response::getBatchCardCommonResponse, 60_000, future, mock(ChannelPool.class), recorder));
+        return future;
+    }
+
+    @Test
+    @DisplayName("收到成功响应时按请求类型记录成功和响应帧大小")
+    void shouldRecordSuccessAndInboundFrame() {
+        CompletableFuture<BatchCardCommonResponse> future = install();
+        byte[] response = Response.newBuilder()
+                .setCode(200)
+                .setRequestId("req-1")
+                .setBatchCardCommonResponse(BatchCardCommonResponse.newBuilder().setSuccess(1))
+                .build()
+                .toByteArray();
+
+        channel.writeInbound(Unpooled.wrappedBuffer(response));
+
+        assertTrue(future.isDone());
+        assertEquals(List.of("batch_create_card:SUCCESS"), requests);
+        assertEquals(List.of("batch_create_card:INBOUND:" + response.length), frames);
+    }
+
+    @Test
+    @DisplayName("服务端返回错误码时记录失败")
+    void shouldRecordErrorOnFailedResponse() {
+        CompletableFuture<BatchCardCommonResponse> future = install();
+
+        channel.writeInbound(Unpooled.wrappedBuffer(Response.newBuilder()
+                .setCode(500)
+                .setRequestId("req-1")
+                .build()
+                .toByteArray()));
+
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(List.of("batch_create_card:ERROR"), requests);
+    }
+
+    @Test
+    @DisplayName("服务端不支持请求类型时以 UnsupportedRequestException 失败")
+    void shouldFailWithUnsupportedRequestException() {
+        CompletableFuture<BatchCardCommonResponse> future = install();
+
+        channel.writeInbound(Unpooled.wrappedBuffer(Response.newBuilder()
+                .setCode(UnsupportedRequestException.RESPONSE_CODE)
+                .setRequestId("req-1")
+                .setMessage(UnsupportedRequestException.RESPONSE_MESSAGE)
+                .build()
+                .toByteArray()));
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(UnsupportedRequestException.isCausedBy(e));
+        assertEquals(List.of("batch_create_card:ERROR"), requests);
+    }
+
+    @Test
+    @DisplayName("未收到响应连接即关闭时只记录一次连接关闭")
+    void shouldRecordConnectionClosedOnce() {
+        CompletableFuture<BatchCardCommonResponse> future = install();
+
+        channel.close();
+        channel.pipeline().fireChannelInactive();
+
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(List.of("batch_create_card:CONNECTION_CLOSED"), requests);
+    }
+}
@@ -0,0 +1,77 @@
+package zgraph.driver.pool;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ChannelPoolWarmer 单元测试
+ */
+@DisplayName("ChannelPoolWarmer 连接预热与保活")
+class ChannelPoolWarmerTest {
+
+    @Test
+    @DisplayName("每个地址同时获取 minIdle 个连接，准备完成后全部归还")
+    void shouldPrepareMinIdleChannelsPerAddress() {
+        EmbeddedChannel first = new EmbeddedChannel();
+        EmbeddedChannel second = new EmbeddedChannel();
+        ChannelPool pool = mock(ChannelPool.class);
+        when(pool.acquire()).thenReturn(
+                ImmediateEventExecutor.INSTANCE.newSucceededFuture(first),
+                ImmediateEventExecutor.INSTANCE.newSucceededFuture(second));
+        List<Channel> prepared = new ArrayList<>();
+
+        ChannelPoolWarmer warmer = new ChannelPoolWarmer(Map.of("127.0.0.1:3897", pool), 2, channel -> {
+            prepared.add(channel);
+            return CompletableFuture.completedFuture(true);
+        });
+
+        assertEquals(2, warmer.touchAll().join());
+        assertEquals(List.of(first, second), prepared);
+        verify(pool).release(first);
+        verify(pool).release(second);
+    }
+
+    @Test
+    @DisplayName("准备失败的连接被关闭后归还，获取失败不影响其他连接")
+    void shouldCloseChannelWhenPrepareFails() {
+        EmbeddedChannel healthy = new EmbeddedChannel();
+        EmbeddedChannel broken = new EmbeddedChannel();
+        ChannelPool pool = mock(ChannelPool.class);
+        when(pool.acquire()).thenReturn(
+                ImmediateEventExecutor.INSTANCE.newSucceededFuture(healthy),
+                ImmediateEventExecutor.INSTANCE.newSucceededFuture(broken),
+                ImmediateEventExecutor.INSTANCE.newFailedFuture(new RuntimeException("连接池已满")));
+
+        ChannelPoolWarmer warmer = new ChannelPoolWarmer(Map.of("127.0.0.1:3897", pool), 3,
+                channel -> CompletableFuture.completedFuture(channel == healthy));
+
+        assertEquals(1, warmer.touchAll().join());
+        assertTrue(healthy.isOpen());
+        assertFalse(broken.isOpen());
+        verify(pool).release(broken);
+    }
+
+    @Test
+    @DisplayName("minIdle 为 0 时不获取连接")
+    void shouldSkipWhenMinIdleIsZero() {
+        ChannelPool pool = mock(ChannelPool.class);
+
+        ChannelPoolWarmer warmer = new ChannelPoolWarmer(Map.of("127.0.0.1:3897", pool), 0,
+                channel -> CompletableFuture.completedFuture(true));
+
+        assertEquals(0, warmer.touchAll().join());
+        verifyNoInteractions(pool);
+    }
+}
@@ -67,6 +67,10 @@ pub enum Request {
     BatchDeleteLinks {
         request: crate::proto::zgraph::write::BatchDeleteLinkRequest,
     },
+    // 创建卡片并关联请求
+    CreateCardWithLinks {
+        request: crate::proto::zgraph::write::CreateCardWithLinksRequest,
+    },
 }
 
 impl std::fmt::Display for Request {
@@ -93,6 +97,9 @@ impl std::fmt::Display for Request {
             Request::BatchDeleteLinks { request } => {
                 write!(f, "BatchDeleteLinks(count={})", request.links.len())
             }
+            Request::CreateCardWithLinks { request } => {
+                write!(f, "CreateCardWithLinks(links={})", request.links.len())
+            }
         }
     }
 }
@@ -818,6 +825,30 @@ impl RaftStateMachine<TypeConfig> for StateMachineStore {
                             )),
                         }
                     }
+
+                    // 处理创建卡片并关联请求
+                    Request::CreateCardWithLinks { request } => {
+                        tracing::debug!(
+                            "Applying create card with links request via Raft, link count: {}",
+                            request.links.len()
+                        );
+
+                        let resp = {
+                            let graph_db = self.graph_db.read().await;
+                            crate::server::writes::create_card_with_links(
+                                request.clone(),
+                                &**graph_db,
+                                None,
+                            )
+                            .await
+                        };
+                        Response {
+                            value: Some(format!(
+                                "Processed create card with links request, success count: {}",
+                                resp.success
+                            )),
+                        }
+                    }
                 },
 
                 EntryPayload::Membership(membership) => {
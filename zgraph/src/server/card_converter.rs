@@ -169,7 +169,7 @@ fn do_fill_linked_cards<'a, T: Transaction<'a>>(
 }
 
 /// 将Vertex的字段值转换为Proto的字段值
-fn vertex_field_value_to_proto_field_value(
+pub(crate) fn vertex_field_value_to_proto_field_value(
     field_id: &Identifier,
     field_value: &crate::database::model::FieldValue,
 ) -> Option<crate::proto::zgraph::field::FieldValue> {
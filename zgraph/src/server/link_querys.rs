@@ -1,9 +1,15 @@
 use crate::database::errors::DbResult;
-use crate::database::model::{CardState, Edge, EdgeDescriptor, EdgeDirection, Identifier, NeighborQuery, VertexId};
+use crate::database::model::{CardState, Edge, EdgeDescriptor, EdgeDirection, Identifier, NeighborQuery, Vertex, VertexId, VertexQuery};
 use crate::database::transaction::Transaction;
-use crate::proto::zgraph::linkquery::{LinkFetchRequest, LinkQueryRequest, LinkQueryResponse};
+use crate::proto::zgraph::linkquery::{
+    HopProjection, LinkFetchRequest, LinkQueryRequest, LinkQueryResponse, PathHopResult, PathNodeResult,
+    PathQueryRequest, PathQueryResponse,
+};
 use crate::proto::zgraph::model::Link;
-use tracing::{debug, error, info};
+use crate::server::card_converter::{vertex_field_value_to_proto_field_value, vertex_title_to_proto_title};
+use std::collections::HashMap;
+use std::sync::Arc;
+use tracing::{debug, error, info, warn};
 
 /// 从给定的卡片id出发，沿着给定的关联关系+方向，查询关联关系
 pub fn query_links<'a, T: Transaction<'a>>(
@@ -91,6 +97,191 @@ pub fn fetch_links<'a, T: Transaction<'a>>(
     LinkQueryResponse { links: all_links }
 }
 
+/// 路径查询：从起点出发，按顺序沿每一跳的关联关系+方向遍历，返回每一跳可达的节点
+///
+/// 响应中下标 0 为起点，下标 i 为第 i 跳；某一跳没有节点时省略之后的跳
+pub fn query_path<'a, T: Transaction<'a>>(
+    request: PathQueryRequest,
+    txn: &'a T,
+) -> Result<PathQueryResponse, String> {
+    debug!(
+        "Executing path query, start card IDs: {:?}, start scope: {:?}, hops: {}",
+        request.start_card_ids,
+        request.start_scope,
+        request.hops.len()
+    );
+
+    // 起点：优先使用卡片id，否则按实体类型和状态选取
+    let start_vertices = if !request.start_card_ids.is_empty() {
+        txn.get_specific_vertices(&request.start_card_ids)
+            .map_err(|e| format!("failed to load start cards: {:?}", e))?
+    } else if let Some(scope) = &request.start_scope {
+        if scope.card_type_ids.is_empty() {
+            return Err("start_scope.card_type_ids cannot be empty".to_string());
+        }
+        txn.query_vertices(VertexQuery {
+            card_ids: None,
+            vertex_ids: None,
+            card_type_ids: scope.card_type_ids.iter().map(|id| Identifier::new(id)).collect(),
+            container_ids: None,
+            states: to_card_states(&scope.states),
+        })
+        .map_err(|e| format!("failed to query start cards: {:?}", e))?
+    } else {
+        return Ok(PathQueryResponse { hops: Vec::new() });
+    };
+
+    let mut hops = Vec::with_capacity(request.hops.len() + 1);
+    let mut current_ids: Vec<VertexId> = start_vertices.iter().map(|v| v.card_id).collect();
+    hops.push(PathHopResult {
+        nodes: start_vertices
+            .iter()
+            .map(|v| vertex_to_path_node(v, Vec::new(), request.start_projection.as_ref()))
+            .collect(),
+        truncated: false,
+    });
+
+    for (index, hop) in request.hops.iter().enumerate() {
+        if current_ids.is_empty() {
+            break;
+        }
+        let lt_with_position = hop
+            .lt_with_position
+            .as_ref()
+            .ok_or_else(|| format!("hop {} has no lt_with_position", index + 1))?;
+        let edge_descriptor = EdgeDescriptor {
+            t: Identifier::new(&lt_with_position.lt_id),
+            direction: match lt_with_position.position {
+                1 => EdgeDirection::Dest, // 目标向
+                _ => EdgeDirection::Src,  // 默认为源向
+            },
+        };
+        // 未指定状态时与 query_links 一致，只沿活跃和归档的节点遍历，丢弃的节点不出现在路径中
+        let dest_vertex_states = to_card_states(&hop.states)
+            .or_else(|| Some(vec![CardState::Active, CardState::Archived]));
+
+        // 逐个上一跳节点查询邻居，记录每个邻居来自哪些上一跳节点
+        let mut reached: Vec<VertexId> = Vec::new();
+        let mut from_card_ids: HashMap<VertexId, Vec<VertexId>> = HashMap::new();
+        for &src_id in &current_ids {
+            let query = NeighborQuery {
+                src_vertex_ids: vec![src_id],
+                edge_descriptor,
+                dest_vertex_states: dest_vertex_states.clone(),
+            };
+            let neighbor_ids = txn
+                .query_neighbor_vertex_ids(&query)
+                .map_err(|e| format!("failed to query hop {}: {:?}", index + 1, e))?;
+            for neighbor_id in neighbor_ids {
+                let from = from_card_ids.entry(neighbor_id).or_insert_with(|| {
+                    reached.push(neighbor_id);
+                    Vec::new()
+                });
+                if !from.contains(&src_id) {
+                    from.push(src_id);
+                }
+            }
+        }
+
+        let vertices: HashMap<VertexId, Arc<Vertex>> = if reached.is_empty() {
+            HashMap::new()
+        } else {
+            txn.get_specific_vertices(&reached)
+                .map_err(|e| format!("failed to load cards of hop {}: {:?}", index + 1, e))?
+                .into_iter()
+                .map(|v| (v.card_id, v))
+                .collect()
+        };
+
+        let mut nodes = Vec::new();
+        let mut truncated = false;
+        for vertex_id in reached {
+            let vertex = match vertices.get(&vertex_id) {
+                Some(vertex) => vertex,
+                None => {
+                    warn!("Card {} reached by path query not found, skipping", vertex_id);
+                    continue;
+                }
+            };
+            if !hop.card_type_ids.is_empty()
+                && !hop.card_type_ids.iter().any(|id| id == vertex.card_type_id.as_str())
+            {
+                continue;
+            }
+            if hop.limit > 0 && nodes.len() >= hop.limit as usize {
+                truncated = true;
+                break;
+            }
+            let from = from_card_ids.remove(&vertex_id).unwrap_or_default();
+            nodes.push(vertex_to_path_node(vertex, from, hop.projection.as_ref()));
+        }
+
+        current_ids = nodes.iter().map(|node| node.card_id).collect();
+        hops.push(PathHopResult { nodes, truncated });
+    }
+
+    info!(
+        "Path query completed, hops: {}, nodes: {}",
+        hops.len(),
+        hops.iter().map(|hop| hop.nodes.len()).sum::<usize>()
+    );
+
+    Ok(PathQueryResponse { hops })
+}
+
+/// 将proto中的卡片状态转换为节点状态，为空时返回None表示不过滤
+fn to_card_states(states: &[i32]) -> Option<Vec<CardState>> {
+    if states.is_empty() {
+        return None;
+    }
+    Some(
+        states
+            .iter()
+            .filter_map(|&state| match state {
+                0 => Some(CardState::Active),
+                1 => Some(CardState::Discarded),
+                2 => Some(CardState::Archived),
+                _ => {
+                    warn!("Unknown state code: {}, ignored", state);
+                    None
+                }
+            })
+            .collect(),
+    )
+}
+
+/// 将节点转换为路径节点，按返回定义填充标题和自定义字段
+fn vertex_to_path_node(
+    vertex: &Vertex,
+    from_card_ids: Vec<VertexId>,
+    projection: Option<&HopProjection>,
+) -> PathNodeResult {
+    let mut node = PathNodeResult {
+        card_id: vertex.card_id,
+        type_id: vertex.card_type_id.to_string(),
+        from_card_ids,
+        title: None,
+        custom_field_value_map: HashMap::new(),
+    };
+    if let Some(projection) = projection {
+        if projection.contains_title {
+            node.title = Some(vertex_title_to_proto_title(&vertex.title));
+        }
+        if let Some(field_values) = &vertex.field_values {
+            for field_id in &projection.custom_fields {
+                let id = Identifier::new(field_id);
+                if let Some(value) = field_values
+                    .get(&id)
+                    .and_then(|value| vertex_field_value_to_proto_field_value(&id, value))
+                {
+                    node.custom_field_value_map.insert(field_id.clone(), value);
+                }
+            }
+        }
+    }
+    node
+}
+
 /// 将Edge转换为Link
 fn edge_to_link<'a, T: Transaction<'a>>(edge: Edge, direction: EdgeDirection, _txn: &'a T) -> Option<Link> {
     // 现在 vertex_id 就是 card_id，无需转换
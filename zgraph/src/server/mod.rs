@@ -24,12 +24,12 @@ use crate::raft::start_raft_node;
 pub use card_converter::convert_to_cards;
 pub use card_converter::vertex_title_to_proto_title;
 pub use card_converter::vertex_to_card_with_yield;
-pub use link_querys::{fetch_links, query_links};
+pub use link_querys::{fetch_links, query_links, query_path};
 pub use page::SortPageProcessor;
 pub use querys::{count_cards, count_cards_by_group, query_card_ids, query_card_titles, query_cards};
 pub use writes::{
     batch_create_cards, batch_create_links, batch_delete_links, batch_update_card_field,
-    batch_update_card_titles, batch_update_cards, batch_update_links,
+    batch_update_card_titles, batch_update_cards, batch_update_links, create_card_with_links,
 };
 
 // 启动TCP服务器，使用tokio异步处理连接，支持graceful shutdown
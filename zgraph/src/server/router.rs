@@ -16,12 +16,12 @@ use crate::proto::{
     zgraph::{
         admin::{UpdateLogLevelRequest, DatabaseStatsRequest},
         auth::AuthResponse,
-        linkquery::{LinkFetchRequest, LinkQueryRequest},
+        linkquery::{LinkFetchRequest, LinkQueryRequest, PathQueryRequest},
         query::{CardCountByGroupRequest, CardCountRequest, CardIdQueryRequest, CardQueryRequest, QueryCardTitlesRequest},
         write::{
             BatchCreateCardRequest, BatchCreateLinkRequest, BatchDeleteLinkRequest,
             BatchUpdateCardFieldRequest, BatchUpdateCardRequest, BatchUpdateCardTitleRequest,
-            BatchUpdateLinkRequest,
+            BatchUpdateLinkRequest, CreateCardWithLinksRequest,
         },
     },
     Request, Response,
@@ -29,8 +29,8 @@ use crate::proto::{
 
 use super::{
     batch_create_cards, batch_create_links, batch_delete_links,
-    batch_update_card_titles, batch_update_cards, batch_update_links, fetch_links, query_card_titles, query_cards,
-    query_links,
+    batch_update_card_titles, batch_update_cards, batch_update_links, create_card_with_links, fetch_links,
+    query_card_titles, query_cards, query_links, query_path,
 };
 
 /// 向客户端发送响应
@@ -564,6 +564,28 @@ async fn process_request(
             )
             .await;
         }
+        request::RequestType::PathQuery(req) => {
+            handle_path_query_request(
+                req,
+                request_id,
+                stream,
+                &db_instance,
+            )
+            .await;
+        }
+        request::RequestType::Ping(_) => {
+            handle_ping_request(request_id, stream).await;
+        }
+        request::RequestType::CreateCardWithLinks(req) => {
+            handle_create_card_with_links_request(
+                req,
+                request_id,
+                stream,
+                &db_instance,
+                raft_client,
+            )
+            .await;
+        }
         _ => {
             debug!("Unsupported request type");
             send_error_response(
@@ -577,6 +599,19 @@ async fn process_request(
     }
 }
 
+// 处理连接保活请求：已认证连接上的轻量往返，不访问数据库
+async fn handle_ping_request(request_id: String, stream: &mut TcpStream) {
+    let response = Response {
+        code: 200,
+        request_id,
+        message: "pong".to_string(),
+        response_type: None,
+    };
+    if let Err(e) = send_response(stream, response).await {
+        error!("Failed to send ping response: {}", e);
+    }
+}
+
 // 处理CardQueryRequest
 async fn handle_card_query_request(
     request: CardQueryRequest,
@@ -752,6 +787,40 @@ async fn handle_batch_create_card_request(
     }
 }
 
+/// 处理创建卡片并关联请求，卡片与关联在同一事务内写入
+async fn handle_create_card_with_links_request(
+    request: CreateCardWithLinksRequest,
+    request_id: String,
+    stream: &mut TcpStream,
+    db: &Arc<RocksDatabase>,
+    raft_client: Option<&crate::raft::client::RaftClient>,
+) {
+    debug!("Received CreateCardWithLinksRequest: request={:?}", request);
+    let start_time = Instant::now();
+
+    let response = create_card_with_links(request, &**db, raft_client).await;
+
+    let elapsed = start_time.elapsed();
+
+    debug!(
+        "Create card with links request completed in {}ms, success: {}, failure: {}",
+        elapsed.as_millis(),
+        response.success,
+        response.failed_ids.len()
+    );
+
+    let proto_response = Response {
+        code: 200,
+        request_id,
+        message: "Create card with links operation completed".to_string(),
+        response_type: Some(response::ResponseType::BatchCardCommonResponse(response)),
+    };
+
+    if let Err(e) = send_response(stream, proto_response).await {
+        error!("Failed to send response: {}", e);
+    }
+}
+
 /// 处理卡片批量更新请求
 async fn handle_batch_update_card_request(
     request: BatchUpdateCardRequest,
@@ -943,6 +1012,42 @@ async fn handle_link_query_request(
     }
 }
 
+// 处理PathQueryRequest
+async fn handle_path_query_request(
+    request: PathQueryRequest,
+    request_id: String,
+    stream: &mut TcpStream,
+    db: &Arc<RocksDatabase>,
+) {
+    debug!("Received PathQueryRequest: request={:?}", request);
+    let start_time = Instant::now();
+
+    let txn = db.transaction();
+
+    match query_path(request, &txn) {
+        Ok(query_response) => {
+            let hops_count = query_response.hops.len();
+            let response = Response {
+                code: 200,
+                request_id,
+                message: "Path query successful".to_string(),
+                response_type: Some(response::ResponseType::PathQueryResponse(query_response)),
+            };
+
+            if let Err(e) = send_response(stream, response).await {
+                error!("Failed to send path query response: {}", e);
+            } else {
+                let elapsed = start_time.elapsed();
+                debug!("PathQuery returned {} hops, cost: {:?}", hops_count, elapsed);
+            }
+        }
+        Err(e) => {
+            error!("Path query failed: {}", e);
+            send_error_response(stream, 400, request_id, &format!("Path query failed: {}", e)).await;
+        }
+    }
+}
+
 // 处理LinkFetchRequest
 async fn handle_link_fetch_request(
     request: LinkFetchRequest,
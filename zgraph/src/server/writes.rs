@@ -8,7 +8,7 @@ use crate::proto::zgraph::model::{title::TitleType, Card, Link};
 use crate::proto::zgraph::write::{
     BatchCardCommonResponse, BatchCreateCardRequest, BatchCreateLinkRequest, BatchDeleteLinkRequest,
     BatchLinkCommonResponse, BatchUpdateCardFieldRequest, BatchUpdateCardRequest, BatchUpdateCardTitleRequest,
-    BatchUpdateLinkRequest, UpdateCardFieldRequest,
+    BatchUpdateLinkRequest, CreateCardWithLinksRequest, UpdateCardFieldRequest,
 };
 use crate::proto::{field_value, field_value_on_link, FieldValueOnLink, Title};
 use std::{
@@ -387,6 +387,137 @@ async fn process_batch_create_links_via_raft(
     }
 }
 
+/// 创建卡片并同时创建其关联关系
+///
+/// 卡片节点与全部关联边在同一个事务中写入，任一环节失败则整体回滚
+///
+/// # 参数
+/// * `request` - 创建卡片并关联请求
+/// * `db` - 数据库实例
+/// * `raft_client` - 可选的Raft客户端，如果提供则使用Raft共识协议
+///
+/// # 返回
+/// 成功时 success 为 1；失败时 success 为 0，failed_ids 中包含该卡片ID
+pub async fn create_card_with_links<D: Database>(
+    request: CreateCardWithLinksRequest,
+    db: &D,
+    raft_client: Option<&crate::raft::client::RaftClient>,
+) -> BatchCardCommonResponse {
+    if let Some(client) = raft_client {
+        return process_create_card_with_links_via_raft(request, client).await;
+    }
+    do_create_card_with_links(request, db)
+}
+
+fn do_create_card_with_links<D: Database>(
+    request: CreateCardWithLinksRequest,
+    db: &D,
+) -> BatchCardCommonResponse {
+    let card = match &request.card {
+        Some(card) => card,
+        None => {
+            warn!("Create card with links request without card");
+            return BatchCardCommonResponse {
+                success: 0,
+                failed_ids: Vec::new(),
+            };
+        }
+    };
+    let failed = || BatchCardCommonResponse {
+        success: 0,
+        failed_ids: vec![card.id.clone()],
+    };
+
+    let mut txn = db.transaction();
+    if let Err(e) = write_card_with_links(card, &request.links, &mut txn) {
+        error!("Failed to create card with links: {}, error: {}", card.id, e);
+        if let Err(e) = txn.rollback() {
+            error!("Create card with links transaction rollback failed: {:?}", e);
+        }
+        return failed();
+    }
+
+    match txn.commit() {
+        Ok(_) => {
+            debug!(
+                "Create card with links transaction committed successfully, card: {}, links: {}",
+                card.id,
+                request.links.len()
+            );
+            BatchCardCommonResponse {
+                success: 1,
+                failed_ids: Vec::new(),
+            }
+        }
+        Err(e) => {
+            error!("Create card with links transaction commit failed: {:?}", e);
+            failed()
+        }
+    }
+}
+
+/// 在同一事务内写入卡片节点及其关联边，卡片已存在或任一关联已存在/写入失败均视为失败
+fn write_card_with_links<'a, T: Transaction<'a>>(card: &Card, links: &[Link], txn: &mut T) -> Result<(), String> {
+    let mut vertex = card_to_vertex(card, None, txn)?;
+    match txn.create_vertex(&mut vertex) {
+        Ok(true) => {}
+        Ok(false) => return Err("card already exists".to_string()),
+        Err(e) => return Err(format!("{:?}", e)),
+    }
+
+    for link in links {
+        let edge = link_to_edge(link, txn)?;
+        match txn.create_edge(&edge) {
+            Ok(true) => {}
+            Ok(false) => {
+                return Err(format!(
+                    "link already exists: {}-{}-{}",
+                    link.src_id, link.lt_id, link.dest_id
+                ))
+            }
+            Err(e) => {
+                return Err(format!(
+                    "failed to create link {}-{}-{}: {:?}",
+                    link.src_id, link.lt_id, link.dest_id, e
+                ))
+            }
+        }
+    }
+    Ok(())
+}
+
+/// 通过Raft共识协议创建卡片并关联
+async fn process_create_card_with_links_via_raft(
+    request: CreateCardWithLinksRequest,
+    client: &crate::raft::client::RaftClient,
+) -> BatchCardCommonResponse {
+    let card_id = request.card.as_ref().map(|card| card.id.clone());
+    let raft_request = crate::raft::store::Request::CreateCardWithLinks {
+        request: request.clone(),
+    };
+
+    debug!(
+        "Submitting create card with links request to Raft cluster, link count: {}",
+        request.links.len()
+    );
+    match client.write(&raft_request).await {
+        Ok(_) => {
+            debug!("Raft consensus achieved for create card with links");
+            BatchCardCommonResponse {
+                success: 1,
+                failed_ids: Vec::new(),
+            }
+        }
+        Err(e) => {
+            error!("Raft error in create_card_with_links: {}", e);
+            BatchCardCommonResponse {
+                success: 0,
+                failed_ids: card_id.into_iter().collect(),
+            }
+        }
+    }
+}
+
 /// 批量更新关联关系
 ///
 /// 根据请求更新数据库中已存在的关联关系